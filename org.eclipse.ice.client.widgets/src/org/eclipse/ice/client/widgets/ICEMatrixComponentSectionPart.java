@@ -818,15 +818,9 @@ public class ICEMatrixComponentSectionPart extends SectionPart
 								.numberOfRows()];
 						for (int i = 0; i < matrixComponent
 								.numberOfRows(); i++) {
-							logger.info("Row: ");
-							for (int j = 0; j < matrixComponent
-									.numberOfColumns(); j++) {
-								logger.info(
-										matrixComponent.getRow(i).get(j) + " ");
-							}
-							logger.info("");
-							newRows[i] = new RowWrapper(
-									matrixComponent.getRow(i), i);
+							ArrayList<Double> row = matrixComponent.getRow(i);
+							logger.info("Row: " + row);
+							newRows[i] = new RowWrapper(row, i);
 						}
 
 					}
@@ -839,12 +833,14 @@ public class ICEMatrixComponentSectionPart extends SectionPart
 						col.setWidth(columnWidth);
 					}
 
-					// Make sure the individual matrix elements are correct
+					// Make sure the individual matrix elements are correct.
+					// Reuse one buffer for all of the rows.
+					double[] values = null;
 					for (int i = 0; i < newRows.length; i++) {
+						values = matrixComponent.getRowValues(i, values);
 						for (int j = 0; j < matrixComponent
 								.numberOfColumns(); j++) {
-							newRows[i].getRowWrapper().set(j,
-									matrixComponent.getElementValue(i, j));
+							newRows[i].getRowWrapper().set(j, values[j]);
 						}
 					}
 
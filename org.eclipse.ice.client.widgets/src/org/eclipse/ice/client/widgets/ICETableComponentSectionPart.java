@@ -827,10 +827,11 @@ public class ICETableComponentSectionPart extends SectionPart
 				if (rows.length == tableComponent.numberOfRows()) {
 					for (int j = 0; j < rows.length; j++) {
 						List<IEntry> rowList = rows[j].list;
+						List<IEntry> row = tableComponent.getRow(j);
 
 						// If the number of entries are not the same, needs to
 						// be fixed.
-						if (rowList.size() != tableComponent.getRow(j).size()) {
+						if (rowList.size() != row.size()) {
 							rowStatus = false;
 							break;
 						}
@@ -838,8 +839,7 @@ public class ICETableComponentSectionPart extends SectionPart
 						// Check the entries
 						for (int k = 0; k < rowList.size(); k++) {
 							// If the entries are not equal, refresh
-							if (rowList.get(k)
-									.equals(tableComponent.getRow(j).get(k))) {
+							if (rowList.get(k).equals(row.get(k))) {
 								rowStatus = false;
 								break;
 							}
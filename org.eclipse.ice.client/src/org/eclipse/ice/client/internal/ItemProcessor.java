@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemListener;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.iclient.IItemProcessor;
@@ -54,6 +55,12 @@ import org.slf4j.LoggerFactory;
  * and if a streaming text widget is not set the ItemProcessor will not push the
  * output.
  * </p>
+ * <p>
+ * The ItemProcessor subscribes to the Item so that the ICore pushes the changes
+ * of its status and its output as they happen. It only polls the ICore, once
+ * every poll time, if the ICore does not publish changes, and it only wakes up
+ * after the poll time while it waits on the IExtraInfoWidget.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -99,6 +106,13 @@ public class ItemProcessor
 	 */
 	private int pollTime = 100;
 
+	/**
+	 * The longest time in milliseconds that the ItemProcessor waits for the
+	 * Core to push a change before it asks for the status of the Item itself,
+	 * in case the pushed changes stopped.
+	 */
+	private static final long EVENT_TIMEOUT = 30000;
+
 	/**
 	 * This AtomicBoolean is true if the IExtraInfoWidget used by the
 	 * ItemProcessor was closed OK and is false otherwise.
@@ -117,6 +131,122 @@ public class ItemProcessor
 	 */
 	private IStreamingTextWidget streamingTextWidget;
 
+	/**
+	 * The changes that the ICore has published for the Item or null if the
+	 * ICore does not publish them.
+	 */
+	private volatile ItemEvents events;
+
+	/**
+	 * True if the streaming text widget has been displayed.
+	 */
+	private boolean streamingTextWidgetDisplayed = false;
+
+	/**
+	 * This class collects the changes that the ICore publishes for the Item
+	 * and lets the ItemProcessor wait for them.
+	 */
+	private static class ItemEvents implements IItemListener {
+
+		/**
+		 * The last status that was published or null if none has been.
+		 */
+		private FormStatus status = null;
+
+		/**
+		 * The output that has been published but not taken.
+		 */
+		private final StringBuilder output = new StringBuilder();
+
+		/**
+		 * True if something happened since the last wait.
+		 */
+		private boolean changed = false;
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see org.eclipse.ice.core.iCore.IItemListener#statusChanged(int,
+		 * org.eclipse.ice.datastructures.form.FormStatus)
+		 */
+		@Override
+		public synchronized void statusChanged(int itemId,
+				FormStatus newStatus) {
+			status = newStatus;
+			wake();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see org.eclipse.ice.core.iCore.IItemListener#outputAppended(int,
+		 * java.lang.String)
+		 */
+		@Override
+		public synchronized void outputAppended(int itemId, String text) {
+			output.append(text);
+			wake();
+		}
+
+		/**
+		 * This operation wakes up the thread that waits for the changes.
+		 */
+		private synchronized void wake() {
+			changed = true;
+			notifyAll();
+		}
+
+		/**
+		 * This operation waits until something happens.
+		 * 
+		 * @param timeout
+		 *            The longest time to wait in milliseconds or 0 to wait
+		 *            until something happens
+		 * @return True if something happened, false if the wait timed out
+		 * @throws InterruptedException
+		 */
+		private synchronized boolean await(long timeout)
+				throws InterruptedException {
+			long deadline = System.currentTimeMillis() + timeout;
+			while (!changed) {
+				if (timeout > 0) {
+					long remaining = deadline - System.currentTimeMillis();
+					if (remaining <= 0) {
+						break;
+					}
+					wait(remaining);
+				} else {
+					wait();
+				}
+			}
+			boolean happened = changed;
+			changed = false;
+			return happened;
+		}
+
+		/**
+		 * This operation returns the last status that was published.
+		 * 
+		 * @param defaultStatus
+		 *            The status to return if none has been published
+		 * @return The status
+		 */
+		private synchronized FormStatus getStatus(FormStatus defaultStatus) {
+			return (status != null) ? status : defaultStatus;
+		}
+
+		/**
+		 * This operation takes the output that has been published.
+		 * 
+		 * @return The output, which is empty if there is none
+		 */
+		private synchronized String takeOutput() {
+			String text = output.toString();
+			output.setLength(0);
+			return text;
+		}
+	}
+
 	/**
 	 * The constructor
 	 */
@@ -361,122 +491,158 @@ public class ItemProcessor
 		// Try processing the Item - FIXME - client id is hardwired
 		status = iceCore.processItem(itemId, actionName, 1);
 
-		// Grab the output file handle
-		outputFile = iceCore.getItemOutputFile(itemId);
-		// Open the file if it is available
-		if (outputFile != null && outputFile.exists()
-				&& streamingTextWidget != null) {
-			try {
-				// Create the readers
-				outputFileReader = new FileReader(outputFile);
-				outputFileBufferedReader = new BufferedReader(outputFileReader);
-				// Set the widget label
-				streamingTextWidget.setLabel(formWidget.getForm().getName()
-						+ " " + formWidget.getForm().getId() + " Live Output");
-				// Open the widget
-				streamingTextWidget.display();
-			} catch (FileNotFoundException e) {
-				// Complain that the file could not be opened
-				logger.error(getClass().getName() + " Exception!", e);
+		// Subscribe to the Item so that the Core pushes its changes. Fall back
+		// to polling if it does not.
+		ItemEvents itemEvents = new ItemEvents();
+		events = iceCore.subscribe(itemId, itemEvents) ? itemEvents : null;
+
+		try {
+			// Grab the output file handle if the output is not pushed
+			outputFile = (events == null) ? iceCore.getItemOutputFile(itemId)
+					: null;
+			// Open the file if it is available
+			if (outputFile != null && outputFile.exists()
+					&& streamingTextWidget != null) {
+				try {
+					// Create the readers
+					outputFileReader = new FileReader(outputFile);
+					outputFileBufferedReader = new BufferedReader(
+							outputFileReader);
+					// Open the widget
+					displayStreamingTextWidget();
+				} catch (FileNotFoundException e) {
+					// Complain that the file could not be opened
+					logger.error(getClass().getName() + " Exception!", e);
+				}
 			}
-		}
 
-		// The event loop - until status != FormStatus.NeedsInfo or
-		// FormStatus.Processing
-		posted.set(false);
-		while (status.equals(FormStatus.NeedsInfo)
-				|| status.equals(FormStatus.Processing)) {
-
-			// Throw up the extra info widget if more information is needed
-			if (status.equals(FormStatus.NeedsInfo)) {
-				// Check whether or not to post to the info widget to the screen
-				if (!posted.get()) {
-					// Set the Form for the InfoWidget
-					form = iceCore.getItem(itemId);
-					infoWidget.setForm(form);
-					// Register as a listener of the infoWidget
-					infoWidget.setCloseListener(this);
-					// Display the widget
-					infoWidget.display();
-					// Set the posted flag so that widget does not continue to
-					// be displayed
-					posted.set(true);
-				} else {
-					// FIXME This is a potential design flaw, as any attempt to
-					// cancel will be ignored if the widget is closed
-					// "successfully" before this thread makes it to this if
-					// condition.
-					// Otherwise if the widget has been posted, see if it has
-					// been closed ok.
-					if (widgetClosedOK.get()) {
-						// Return the extra information
-						iceCore.updateItem(form, 1); // FIXME - hardwired
-														// client id!
-						// Reset the posted flag and the widgetClosedOK flag so
-						// that the widget can be shown again if needed.
-						posted.set(false);
-						widgetClosedOK.set(false);
-					} else if (widgetCancelled.get()) {
-						// If the widget was cancelled, try to kill the task
-						iceCore.cancelItemProcess(itemId, actionName);
-						// Update the status
-						status = iceCore.getItemStatus(itemId);
-						// Update the IFormWidget's status
-						formWidget.updateStatus(statusMessageMap.get(status));
-						return;
+			// The event loop - until status != FormStatus.NeedsInfo or
+			// FormStatus.Processing
+			posted.set(false);
+			while (status.equals(FormStatus.NeedsInfo)
+					|| status.equals(FormStatus.Processing)) {
+
+				// Throw up the extra info widget if more information is needed
+				if (status.equals(FormStatus.NeedsInfo)) {
+					// Check whether or not to post to the info widget to the
+					// screen
+					if (!posted.get()) {
+						// Set the Form for the InfoWidget
+						form = iceCore.getItem(itemId);
+						infoWidget.setForm(form);
+						// Register as a listener of the infoWidget
+						infoWidget.setCloseListener(this);
+						// Display the widget
+						infoWidget.display();
+						// Set the posted flag so that widget does not continue
+						// to be displayed
+						posted.set(true);
+					} else {
+						// FIXME This is a potential design flaw, as any attempt
+						// to cancel will be ignored if the widget is closed
+						// "successfully" before this thread makes it to this if
+						// condition.
+						// Otherwise if the widget has been posted, see if it
+						// has been closed ok.
+						if (widgetClosedOK.get()) {
+							// Return the extra information
+							iceCore.updateItem(form, 1); // FIXME - hardwired
+															// client id!
+							// Reset the posted flag and the widgetClosedOK flag
+							// so that the widget can be shown again if needed.
+							posted.set(false);
+							widgetClosedOK.set(false);
+						} else if (widgetCancelled.get()) {
+							// If the widget was cancelled, try to kill the task
+							iceCore.cancelItemProcess(itemId, actionName);
+							// Update the status
+							status = iceCore.getItemStatus(itemId);
+							// Update the IFormWidget's status
+							formWidget
+									.updateStatus(statusMessageMap.get(status));
+							return;
+						}
 					}
 				}
-			}
-
-			// Update the status
-			status = iceCore.getItemStatus(itemId);
 
-			// Update the IFormWidget's status
-			formWidget.updateStatus(statusMessageMap.get(status));
+				if (events != null) {
+					// Wait for the Core to push a change. Wake up often while
+					// waiting on the info widget and otherwise only check the
+					// status directly if nothing has been pushed for a while.
+					boolean changed;
+					try {
+						changed = events
+								.await(status.equals(FormStatus.NeedsInfo)
+										? pollTime : EVENT_TIMEOUT);
+					} catch (InterruptedException e) {
+						logger.error(getClass().getName() + " Exception!", e);
+						Thread.currentThread().interrupt();
+						break;
+					}
+					// Update the status
+					if (changed || status.equals(FormStatus.NeedsInfo)) {
+						status = events.getStatus(status);
+					} else {
+						status = iceCore.getItemStatus(itemId);
+					}
+					// Post the new output
+					postOutput(events.takeOutput());
+				} else {
+					// Update the status
+					status = iceCore.getItemStatus(itemId);
+				}
 
-			// Read the file if it was opened correctly
-			if (outputFileBufferedReader != null
-					&& streamingTextWidget != null) {
-				// Get everything currently there
-				try {
-					while ((nextLine = outputFileBufferedReader
-							.readLine()) != null) {
-						// Write it to the streaming text widget
-						streamingTextWidget.postText(nextLine);
+				// Update the IFormWidget's status
+				formWidget.updateStatus(statusMessageMap.get(status));
+
+				// Read the file if it was opened correctly
+				if (outputFileBufferedReader != null
+						&& streamingTextWidget != null) {
+					// Get everything currently there
+					try {
+						while ((nextLine = outputFileBufferedReader
+								.readLine()) != null) {
+							// Write it to the streaming text widget
+							streamingTextWidget.postText(nextLine);
+						}
+					} catch (IOException e) {
+						// Complain because the next line could not be read
+						logger.error(getClass().getName() + " Exception!", e);
 					}
-				} catch (IOException e) {
-					// Complain because the next line could not be read
-					logger.error(getClass().getName() + " Exception!", e);
 				}
-			}
 
-			// The Form is completely processed, it is time to break out of the
-			// loop.
-			if (status.equals(FormStatus.Processed)) {
-				try {
-					// Close the readers
-					if (outputFileBufferedReader != null) {
-						outputFileBufferedReader.close();
-						outputFileReader.close();
+				// The Form is completely processed, it is time to break out of
+				// the loop.
+				if (status.equals(FormStatus.Processed)) {
+					break;
+				} else if (events == null) {
+					// Otherwise, put the thread to sleep for a bit so that it
+					// does not spam requests incessantly.
+					try {
+						Thread.sleep(pollTime);
+					} catch (InterruptedException e) {
+						// TODO Auto-generated catch block
+						logger.error(getClass().getName() + " Exception!", e);
 					}
-				} catch (IOException e) {
-					// Complain
-					logger.error(getClass().getName() + " Exception!", e);
 				}
 
-				break;
-			} else {
-				// Otherwise, put the thread to sleep for a bit so that it does
-				// not spam requests incessantly.
-				try {
-					Thread.sleep(pollTime);
-				} catch (InterruptedException e) {
-					// TODO Auto-generated catch block
-					logger.error(getClass().getName() + " Exception!", e);
+			}
+		} finally {
+			// Stop listening to the Item
+			if (events != null) {
+				iceCore.unsubscribe(itemId, events);
+				events = null;
+			}
+			// Close the readers
+			try {
+				if (outputFileBufferedReader != null) {
+					outputFileBufferedReader.close();
+					outputFileReader.close();
 				}
+			} catch (IOException e) {
+				// Complain
+				logger.error(getClass().getName() + " Exception!", e);
 			}
-			// Print a debug message for now
-
 		}
 
 		// Update the IFormWidget's status one final time
@@ -489,6 +655,37 @@ public class ItemProcessor
 
 	}
 
+	/**
+	 * This operation sets the label of the streaming text widget and displays
+	 * it if it has not been displayed yet.
+	 */
+	private void displayStreamingTextWidget() {
+		if (!streamingTextWidgetDisplayed) {
+			// Set the widget label
+			streamingTextWidget.setLabel(formWidget.getForm().getName() + " "
+					+ formWidget.getForm().getId() + " Live Output");
+			// Open the widget
+			streamingTextWidget.display();
+			streamingTextWidgetDisplayed = true;
+		}
+	}
+
+	/**
+	 * This operation posts output that was pushed by the Core to the streaming
+	 * text widget one line at a time, displaying the widget first if needed.
+	 * 
+	 * @param output
+	 *            The output
+	 */
+	private void postOutput(String output) {
+		if (streamingTextWidget != null && !output.isEmpty()) {
+			displayStreamingTextWidget();
+			for (String line : output.split("\r?\n")) {
+				streamingTextWidget.postText(line);
+			}
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -497,8 +694,9 @@ public class ItemProcessor
 	@Override
 	public void closedOK() {
 
-		// Set the flag
+		// Set the flag and wake up the processor
 		widgetClosedOK.set(true);
+		wakeUp();
 
 		return;
 	}
@@ -511,12 +709,24 @@ public class ItemProcessor
 	@Override
 	public void cancelled() {
 
-		// Set the flag
+		// Set the flag and wake up the processor
 		widgetCancelled.set(true);
+		wakeUp();
 
 		return;
 	}
 
+	/**
+	 * This operation wakes up the processor if it is waiting for the Core to
+	 * push a change.
+	 */
+	private void wakeUp() {
+		ItemEvents itemEvents = events;
+		if (itemEvents != null) {
+			itemEvents.wake();
+		}
+	}
+
 	@Override
 	public void launch() {
 		Thread processorThread = new Thread(this);
@@ -15,12 +15,26 @@ package org.eclipse.ice.client.internal;
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
-
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemListener;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.form.Form;
@@ -30,8 +44,16 @@ import org.eclipse.ice.item.ItemBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.UniformInterfaceException;
 import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.client.filter.GZIPContentEncodingFilter;
 import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
 
 /**
@@ -57,6 +79,14 @@ import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
  * The exact mechanism by which the HTTPS connection is made and utilized is not
  * modeled here. It is sufficient to say that ICE 2.0 uses the Jersey Client.
  * </p>
+ * <p>
+ * The proxy shares one Jersey Client among all of its requests, so the
+ * connections to the server are kept alive and reused between requests. It
+ * asks for gzipped responses and keeps the last copy of each Form that it
+ * retrieved along with its ETag so that getItem() only downloads a Form again
+ * if it has changed on the server. The operations that can take a long time
+ * also have asynchronous versions that return Futures.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -114,6 +144,235 @@ public class RemoteCoreProxy implements ICore {
 
 	/** ----- **/
 
+	/**
+	 * The number of threads that run the asynchronous requests. The JDK keeps
+	 * up to five idle connections to a server alive, so this leaves one for
+	 * the calling thread.
+	 */
+	private static final int NUM_ASYNC_THREADS = 4;
+
+	/**
+	 * The first delay in milliseconds before a failed subscription request is
+	 * retried. It doubles after each failure up to MAX_RETRY_DELAY.
+	 */
+	private static final long RETRY_DELAY = 1000;
+
+	/**
+	 * The longest delay in milliseconds before a failed subscription request
+	 * is retried.
+	 */
+	private static final long MAX_RETRY_DELAY = 30000;
+
+	/**
+	 * The number of server errors in a row after which a subscription gives
+	 * up.
+	 */
+	private static final int MAX_SERVER_ERRORS = 8;
+
+	/**
+	 * A Form retrieved from the server and its ETag.
+	 */
+	private static class CachedForm {
+
+		/**
+		 * The ETag of the Form.
+		 */
+		private final String tag;
+
+		/**
+		 * A copy of the Form that is never given to clients.
+		 */
+		private final Form form;
+
+		/**
+		 * The Constructor
+		 * 
+		 * @param tag
+		 *            The ETag of the Form
+		 * @param form
+		 *            A copy of the Form
+		 */
+		private CachedForm(String tag, Form form) {
+			this.tag = tag;
+			this.form = form;
+		}
+	}
+
+	/**
+	 * The last Forms retrieved from the server, keyed by Item id.
+	 */
+	private final ConcurrentMap<Integer, CachedForm> formCache = new ConcurrentHashMap<Integer, CachedForm>();
+
+	/**
+	 * The threads that run the asynchronous requests. They stop when they are
+	 * idle.
+	 */
+	private final ThreadPoolExecutor asyncExecutor;
+
+	/**
+	 * The subscriptions to the changes of Items on the server.
+	 */
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+
+	/**
+	 * A subscription to the changes of an Item on the server. It repeats a
+	 * long-poll request for the changes of the Item on its own thread and
+	 * passes them to the listener until it is cancelled. Failed requests and
+	 * server errors are retried with a growing delay. If the server stops
+	 * answering for the Item while it is still being processed, the listener
+	 * is told that the status changed to FormStatus.InfoError.
+	 */
+	private class Subscription implements Runnable {
+
+		/**
+		 * The id of the Item.
+		 */
+		private final int itemId;
+
+		/**
+		 * The listener.
+		 */
+		private final IItemListener listener;
+
+		/**
+		 * True if the subscription has been cancelled.
+		 */
+		private volatile boolean cancelled = false;
+
+		/**
+		 * The Constructor
+		 * 
+		 * @param itemId
+		 *            The id of the Item
+		 * @param listener
+		 *            The listener
+		 */
+		private Subscription(int itemId, IItemListener listener) {
+			this.itemId = itemId;
+			this.listener = listener;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+
+			// Local Declarations
+			JsonParser parser = new JsonParser();
+			FormStatus status = null;
+			long offset = 0;
+			long retryDelay = RETRY_DELAY;
+			int serverErrors = 0;
+			WebResource resource = baseResource
+					.path("/items/" + itemId + "/events");
+
+			while (!cancelled) {
+				try {
+					// Ask for whatever differs from what has been seen
+					WebResource request = resource.queryParam("offset",
+							String.valueOf(offset));
+					if (status != null) {
+						request = request.queryParam("status", status.name());
+					}
+					ClientResponse response = request
+							.accept(MediaType.APPLICATION_JSON)
+							.get(ClientResponse.class);
+
+					// Retry server errors for a while since they may pass
+					if (response.getStatus() >= 500
+							&& ++serverErrors < MAX_SERVER_ERRORS) {
+						logger.error("RemoteCoreProxy Message: Server error "
+								+ response.getStatus() + " for the events of "
+								+ "Item " + itemId + ". Retrying in "
+								+ retryDelay + " ms.");
+						response.close();
+						if (!sleep(retryDelay)) {
+							break;
+						}
+						retryDelay = Math.min(2 * retryDelay, MAX_RETRY_DELAY);
+						continue;
+					}
+
+					// Stop if the Item is gone or the server keeps failing.
+					// Tell the listener so that it does not wait forever.
+					if (response.getStatus() != 200) {
+						logger.error("RemoteCoreProxy Message: Stopped "
+								+ "listening to Item " + itemId
+								+ " after response " + response.getStatus()
+								+ ".");
+						response.close();
+						if (!cancelled && (status == null
+								|| status.equals(FormStatus.Processing)
+								|| status.equals(FormStatus.NeedsInfo))) {
+							listener.statusChanged(itemId,
+									FormStatus.InfoError);
+						}
+						break;
+					}
+					JsonObject json = parser
+							.parse(response.getEntity(String.class))
+							.getAsJsonObject();
+					if (cancelled) {
+						break;
+					}
+					serverErrors = 0;
+					retryDelay = RETRY_DELAY;
+
+					// Pass on the output and then the status
+					if (json.has("output") && json.has("offset")) {
+						String output = json.get("output").getAsString();
+						offset = json.get("offset").getAsLong();
+						if (!output.isEmpty()) {
+							listener.outputAppended(itemId, output);
+						}
+					}
+					JsonElement statusElement = json.get("status");
+					if (statusElement != null) {
+						FormStatus newStatus = FormStatus
+								.valueOf(statusElement.getAsString());
+						if (newStatus != status) {
+							status = newStatus;
+							listener.statusChanged(itemId, status);
+						}
+					}
+				} catch (ClientHandlerException | JsonParseException
+						| IllegalStateException | IllegalArgumentException e) {
+					// Complain and wait a bit before trying again
+					logger.error(getClass().getName() + " Exception!", e);
+					if (!sleep(retryDelay)) {
+						break;
+					}
+					retryDelay = Math.min(2 * retryDelay, MAX_RETRY_DELAY);
+				}
+			}
+
+			subscriptions.remove(this);
+
+			return;
+		}
+
+		/**
+		 * This operation waits before a request is retried.
+		 * 
+		 * @param delay
+		 *            The delay in milliseconds
+		 * @return True if the request should be retried, false if the thread
+		 *         was interrupted
+		 */
+		private boolean sleep(long delay) {
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			return true;
+		}
+	}
+
 	/**
 	 * <p>
 	 * The Constructor.
@@ -122,8 +381,29 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	public RemoteCoreProxy() {
 
-		// Create the client
-		client = new Client();
+		// Create the client. Requests that take longer than the timeout,
+		// including the long-poll requests, fail instead of hanging.
+		// Responses are gzipped if the server supports it.
+		client = Client.create();
+		client.setReadTimeout(timeout);
+		client.addFilter(new GZIPContentEncodingFilter(false));
+
+		// Create the threads for the asynchronous requests
+		asyncExecutor = new ThreadPoolExecutor(NUM_ASYNC_THREADS,
+				NUM_ASYNC_THREADS, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"ICE Remote Core Proxy "
+										+ count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		asyncExecutor.allowCoreThreadTimeOut(true);
 
 	}
 
@@ -257,7 +537,15 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public void disconnect(int uniqueClientId) {
-		// TODO Auto-generated method stub
+
+		// Cancel the subscriptions
+		for (Subscription subscription : subscriptions) {
+			subscription.cancelled = true;
+		}
+		subscriptions.clear();
+
+		// Forget the Forms
+		formCache.clear();
 
 	}
 
@@ -330,8 +618,20 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public void deleteItem(String itemId) {
-		// TODO Auto-generated method stub
 
+		// Only make the request if the hostname is valid
+		WebResource resource = getResource("/items/" + itemId);
+		if (resource != null) {
+			try {
+				resource.header("X-FOO", "BAR").delete();
+				formCache.remove(Integer.valueOf(itemId));
+			} catch (UniformInterfaceException | ClientHandlerException
+					| NumberFormatException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+
+		return;
 	}
 
 	/**
@@ -341,8 +641,15 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public FormStatus getItemStatus(Integer id) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Only make the request if the hostname is valid
+		WebResource resource = getResource("/items/" + id + "/status");
+		if (resource == null) {
+			return null;
+		}
+
+		return requestStatus(resource.accept(MediaType.TEXT_PLAIN)
+				.header("X-FOO", "BAR"), "GET", null);
 	}
 
 	/**
@@ -356,21 +663,72 @@ public class RemoteCoreProxy implements ICore {
 		// Local Declarations
 		Form itemForm = null;
 		WebResource resource = null;
+		WebResource.Builder request = null;
+		ClientResponse response = null;
 		String id = String.valueOf(itemId);
 
 		// Only load the resource if the hostname is valid
 		if (host != null) {
 			resource = baseResource.path("/items/" + id);
 
-			// Get the available ItemTypes
-			itemForm = resource.accept(MediaType.APPLICATION_XML)
-					.header("X-FOO", "BAR").get(Form.class);
-
+			// Ask for the Form only if it has changed since it was cached
+			CachedForm cachedForm = formCache.get(itemId);
+			request = resource.accept(MediaType.APPLICATION_XML)
+					.header("X-FOO", "BAR");
+			if (cachedForm != null) {
+				request = request.header(HttpHeaders.IF_NONE_MATCH,
+						cachedForm.tag);
+			}
+			response = request.get(ClientResponse.class);
+
+			try {
+				if (response.getStatus() == Response.Status.NOT_MODIFIED
+						.getStatusCode() && cachedForm != null) {
+					// Use the cached copy
+					itemForm = (Form) cachedForm.form.clone();
+				} else if (response.getStatus() == Response.Status.OK
+						.getStatusCode()) {
+					// Read the Form and cache a copy if it is tagged
+					itemForm = response.getEntity(Form.class);
+					String tag = response.getHeaders()
+							.getFirst(HttpHeaders.ETAG);
+					if (tag != null) {
+						formCache.put(itemId,
+								new CachedForm(tag, (Form) itemForm.clone()));
+					} else {
+						formCache.remove(itemId);
+					}
+				} else {
+					formCache.remove(itemId);
+					logger.error("RemoteCoreProxy Message: Unable to get Item "
+							+ id + ". Server returned " + response.getStatus());
+				}
+			} finally {
+				// Release the connection
+				response.close();
+			}
 		}
 
 		return itemForm;
 	}
 
+	/**
+	 * This operation retrieves a Form from the server on another thread.
+	 * 
+	 * @param itemId
+	 *            The id of the Item
+	 * @return The Form that will be returned by getItem()
+	 * @see #getItem(int)
+	 */
+	public Future<Form> getItemAsync(final int itemId) {
+		return asyncExecutor.submit(new Callable<Form>() {
+			@Override
+			public Form call() {
+				return getItem(itemId);
+			}
+		});
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -403,8 +761,37 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public FormStatus updateItem(Form form, int uniqueClientId) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Only make the request if the hostname is valid
+		WebResource resource = getResource("/items");
+		if (resource == null || form == null) {
+			return null;
+		}
+
+		return requestStatus(resource
+				.queryParam("client", String.valueOf(uniqueClientId))
+				.accept(MediaType.TEXT_PLAIN).type(MediaType.APPLICATION_XML)
+				.header("X-FOO", "BAR"), "PUT", form);
+	}
+
+	/**
+	 * This operation updates an Item on another thread.
+	 * 
+	 * @param form
+	 *            The Form with the updates
+	 * @param uniqueClientId
+	 *            The id of the client
+	 * @return The status that will be returned by updateItem()
+	 * @see #updateItem(Form, int)
+	 */
+	public Future<FormStatus> updateItemAsync(final Form form,
+			final int uniqueClientId) {
+		return asyncExecutor.submit(new Callable<FormStatus>() {
+			@Override
+			public FormStatus call() {
+				return updateItem(form, uniqueClientId);
+			}
+		});
 	}
 
 	/**
@@ -415,8 +802,39 @@ public class RemoteCoreProxy implements ICore {
 	@Override
 	public FormStatus processItem(int itemId, String actionName,
 			int uniqueClientId) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Only make the request if the hostname is valid
+		WebResource resource = getResource("/items/" + itemId + "/process");
+		if (resource == null || actionName == null) {
+			return null;
+		}
+
+		return requestStatus(resource.queryParam("action", actionName)
+				.queryParam("client", String.valueOf(uniqueClientId))
+				.accept(MediaType.TEXT_PLAIN).header("X-FOO", "BAR"), "POST",
+				null);
+	}
+
+	/**
+	 * This operation processes an Item on another thread.
+	 * 
+	 * @param itemId
+	 *            The id of the Item
+	 * @param actionName
+	 *            The name of the action
+	 * @param uniqueClientId
+	 *            The id of the client
+	 * @return The status that will be returned by processItem()
+	 * @see #processItem(int, String, int)
+	 */
+	public Future<FormStatus> processItemAsync(final int itemId,
+			final String actionName, final int uniqueClientId) {
+		return asyncExecutor.submit(new Callable<FormStatus>() {
+			@Override
+			public FormStatus call() {
+				return processItem(itemId, actionName, uniqueClientId);
+			}
+		});
 	}
 
 	/**
@@ -448,8 +866,58 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public FormStatus cancelItemProcess(int itemId, String actionName) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Only make the request if the hostname is valid
+		WebResource resource = getResource("/items/" + itemId + "/cancel");
+		if (resource == null || actionName == null) {
+			return null;
+		}
+
+		return requestStatus(resource.queryParam("action", actionName)
+				.accept(MediaType.TEXT_PLAIN).header("X-FOO", "BAR"), "POST",
+				null);
+	}
+
+	/**
+	 * This operation returns the resource at a path under the base resource.
+	 * 
+	 * @param path
+	 *            The path
+	 * @return The resource or null if the proxy is not connected
+	 */
+	private WebResource getResource(String path) {
+		return (host != null && baseResource != null)
+				? baseResource.path(path) : null;
+	}
+
+	/**
+	 * This operation makes a request that returns a FormStatus as plain text.
+	 * 
+	 * @param request
+	 *            The request
+	 * @param method
+	 *            The HTTP method
+	 * @param entity
+	 *            The body of the request or null if there is none
+	 * @return The status or null if the request failed
+	 */
+	private FormStatus requestStatus(WebResource.Builder request,
+			String method, Object entity) {
+
+		// Local Declarations
+		FormStatus status = null;
+
+		try {
+			String name = (entity != null)
+					? request.method(method, String.class, entity)
+					: request.method(method, String.class);
+			status = FormStatus.valueOf(name.trim());
+		} catch (UniformInterfaceException | ClientHandlerException
+				| IllegalArgumentException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+
+		return status;
 	}
 
 	/**
@@ -471,8 +939,94 @@ public class RemoteCoreProxy implements ICore {
 
 	@Override
 	public String postUpdateMessage(String message) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Only make the request if the hostname is valid
+		WebResource resource = getResource("/update");
+		if (resource == null) {
+			return null;
+		}
+
+		return resource.type(MediaType.APPLICATION_FORM_URLENCODED_TYPE)
+				.accept(MediaType.TEXT_PLAIN).header("X-FOO", "BAR")
+				.post(String.class, message);
+	}
+
+	@Override
+	public String postUpdateMessages(String messages) {
+
+		// Only make the request if the hostname is valid
+		WebResource resource = getResource("/updates");
+		if (resource == null) {
+			return null;
+		}
+
+		return resource.type(MediaType.APPLICATION_JSON_TYPE)
+				.accept(MediaType.TEXT_PLAIN).header("X-FOO", "BAR")
+				.post(String.class, messages);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#subscribe(int itemId, IItemListener listener)
+	 */
+	@Override
+	public boolean subscribe(int itemId, IItemListener listener) {
+
+		// Only subscribe if the hostname is valid
+		if (host == null || baseResource == null || listener == null) {
+			return false;
+		}
+
+		// Start the long-poll requests for the subscription
+		Subscription subscription = new Subscription(itemId, listener);
+		subscriptions.add(subscription);
+		Thread thread = new Thread(subscription,
+				"ICE Remote Subscription " + itemId);
+		thread.setDaemon(true);
+		thread.start();
+
+		return true;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#unsubscribe(int itemId, IItemListener listener)
+	 */
+	@Override
+	public void unsubscribe(int itemId, IItemListener listener) {
+		for (Subscription subscription : subscriptions) {
+			if (subscription.itemId == itemId
+					&& subscription.listener == listener) {
+				subscription.cancelled = true;
+				subscriptions.remove(subscription);
+			}
+		}
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#pollItemEvents(int itemId, String status, long offset)
+	 */
+	@Override
+	public String pollItemEvents(int itemId, String status, long offset) {
+
+		// Local Declarations
+		WebResource resource = null;
+
+		// Only make the request if the hostname is valid
+		if (host == null || baseResource == null) {
+			return null;
+		}
+		resource = baseResource.path("/items/" + itemId + "/events")
+				.queryParam("offset", String.valueOf(offset));
+		if (status != null) {
+			resource = resource.queryParam("status", status);
+		}
+
+		return resource.accept(MediaType.APPLICATION_JSON).get(String.class);
 	}
 
 	@Override
@@ -521,7 +1075,18 @@ public class RemoteCoreProxy implements ICore {
 
 	@Override
 	public void renameItem(int itemID, String name) {
-		// TODO Auto-generated method stub
-		
+
+		// Only make the request if the hostname is valid
+		WebResource resource = getResource("/items/" + itemID + "/name");
+		if (resource != null && name != null) {
+			try {
+				resource.type(MediaType.TEXT_PLAIN).header("X-FOO", "BAR")
+						.post(name);
+			} catch (UniformInterfaceException | ClientHandlerException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+
+		return;
 	}
 }
\ No newline at end of file
@@ -17,11 +17,14 @@ import java.net.URI;
 import java.util.ArrayList;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -43,7 +46,11 @@ import org.eclipse.ice.item.ItemBuilder;
  *
  * Realizations of ICore are intended to be used as web-APIs and, to that end,
  * many of the arguments in the operations are Strings that should be safe to
- * cast to integers.
+ * cast to integers. Only the operations annotated with an HTTP method are
+ * published by the Core's web service. The rest, such as those that take
+ * Eclipse resources or ItemBuilders, can only be used in the same process as
+ * the Core. FormStatus values are sent over the web as their names in plain
+ * text.
  *
  * @author Jay Jay Billings
  */
@@ -154,7 +161,9 @@ public interface ICore {
 	 *            given as a String. It is safe to parse this string as an
 	 *            integer.
 	 */
-	public void deleteItem(String itemId);
+	@DELETE
+	@Path("items/{id}")
+	public void deleteItem(@PathParam("id") String itemId);
 
 	/**
 	 * This operation returns the status an Item.
@@ -163,7 +172,10 @@ public interface ICore {
 	 *            The identification number of the Item that should be checked.
 	 * @return The status of the Item.
 	 */
-	public FormStatus getItemStatus(Integer id);
+	@GET
+	@Path("items/{id}/status")
+	@Produces("text/plain")
+	public FormStatus getItemStatus(@PathParam("id") Integer id);
 
 	/**
 	 * This operation loads an Item from the file and returns the Form that
@@ -225,7 +237,12 @@ public interface ICore {
 	 *            request.
 	 * @return The status of the updated Item.
 	 */
-	public FormStatus updateItem(Form form, int uniqueClientId);
+	@PUT
+	@Path("items")
+	@Consumes("application/xml")
+	@Produces("text/plain")
+	public FormStatus updateItem(Form form,
+			@QueryParam("client") int uniqueClientId);
 
 	/**
 	 * This operation directs the Core to process the Item with the specified id
@@ -252,8 +269,12 @@ public interface ICore {
 	 *
 	 * @return The status of the Item after the action was performed.
 	 */
-	public FormStatus processItem(int itemId, String actionName,
-			int uniqueClientId);
+	@POST
+	@Path("items/{id}/process")
+	@Produces("text/plain")
+	public FormStatus processItem(@PathParam("id") int itemId,
+			@QueryParam("action") String actionName,
+			@QueryParam("client") int uniqueClientId);
 
 	/**
 	 * This operation returns the list of Items that have been created in ICE.
@@ -293,7 +314,11 @@ public interface ICore {
 	 *            specified Item.
 	 * @return The status
 	 */
-	public FormStatus cancelItemProcess(int itemId, String actionName);
+	@POST
+	@Path("items/{id}/cancel")
+	@Produces("text/plain")
+	public FormStatus cancelItemProcess(@PathParam("id") int itemId,
+			@QueryParam("action") String actionName);
 
 	/**
 	 * This operation directs the core to import a file into its workspace.
@@ -403,8 +428,65 @@ public interface ICore {
 	 * @param name
 	 *            The new name of the Item. 
 	 */
-	public void renameItem(int itemID, String name);
+	@POST
+	@Path("items/{id}/name")
+	@Consumes("text/plain")
+	public void renameItem(@PathParam("id") int itemID, String name);
 	
+	/**
+	 * This operation subscribes a listener to an Item in the same process as
+	 * the Core. The listener is told the status of the Item and given its
+	 * output so far right away, and after that it is told about every change
+	 * of status and given the output as it is written, so that clients like
+	 * the ItemProcessor do not need to poll getItemStatus() and the output
+	 * file.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param listener
+	 *            The listener
+	 * @return True if the changes of the Item will be published to the
+	 *         listener, false if this ICore does not publish them and the
+	 *         client must poll for them instead.
+	 */
+	public boolean subscribe(int itemId, IItemListener listener);
+
+	/**
+	 * This operation cancels the subscriptions of a listener to an Item.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param listener
+	 *            The listener
+	 */
+	public void unsubscribe(int itemId, IItemListener listener);
+
+	/**
+	 * This operation is the remote form of subscribe(). It is a long-poll
+	 * request that waits until the Item differs from what the client last
+	 * saw, or until it times out after several seconds, and then returns the
+	 * differences as JSON of the form
+	 * {"status":"Processing","offset":1024,"output":"..."}. The status is the
+	 * name of the FormStatus, the output is the text appended to the output
+	 * file after the offset that was given and the offset is the one that
+	 * should be given in the next request.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param status
+	 *            The name of the FormStatus that the client last saw or null
+	 *            if it has not seen one
+	 * @param offset
+	 *            The number of bytes of output that the client has
+	 * @return The JSON message or null if the Item does not exist
+	 */
+	@GET
+	@Path("items/{id}/events")
+	@Produces("application/json")
+	public String pollItemEvents(@PathParam("id") int itemId,
+			@QueryParam("status") String status,
+			@QueryParam("offset") long offset);
+
 	/**
 	 * This operation posts a message containing an update to the ICE Item
 	 * designated in the body of the message.
@@ -413,17 +495,48 @@ public interface ICore {
 	 * the Core from remote processes. The message format can be found in the
 	 * documentation for the Updater.
 	 *
+	 * The message is delivered to the Item asynchronously, after this operation
+	 * returns, but the messages for any one Item are always delivered in the
+	 * order in which they were posted.
+	 *
 	 * @param message
 	 *            The message that should be passed on to the specified Item.
 	 *            This string must be in JSON and conform to the message format
 	 *            of the ICE Updater.
-	 * @return "OK" if the post was successful, null if not to conform to JAX-RS
-	 *         HTTP 200/204 return code conversion.
+	 * @return "OK" if the post was successful, "BUSY" if the Core has too many
+	 *         undelivered updates to accept it and it should be sent again
+	 *         later, or null if not to conform to JAX-RS HTTP 200/204 return
+	 *         code conversion.
 	 */
 	@POST
 	@Path("update")
 	@Consumes("application/x-www-form-urlencoded")
 	@Produces("text/plain")
 	public String postUpdateMessage(String message);
+
+	/**
+	 * This operation posts a batch of updates to the ICE Items designated in
+	 * the body of the message. It accepts the same JSON as
+	 * postUpdateMessage(), but as the plain body of the request instead of a
+	 * form field, so that an ICE Updater can send many updates in a single
+	 * request.
+	 *
+	 * Besides "posts," the message may contain "points," an array of
+	 * Postprocessor values of the form {"name":..., "time":..., "value":...}.
+	 * Each point is posted as a MESSAGE_POSTED message.
+	 *
+	 * @param messages
+	 *            The JSON message with the updates that should be passed on
+	 *            to the specified Item.
+	 * @return "OK" if the post was successful, "BUSY" if the Core has too many
+	 *         undelivered updates to accept it and it should be sent again
+	 *         later, or null if not to conform to JAX-RS HTTP 200/204 return
+	 *         code conversion.
+	 */
+	@POST
+	@Path("updates")
+	@Consumes("application/json")
+	@Produces("text/plain")
+	public String postUpdateMessages(String messages);
 	
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.iCore;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+
+/**
+ * This interface is implemented by clients that subscribe to an Item through
+ * ICore.subscribe() to be told when its status changes and when its output
+ * file grows instead of asking the Core for them over and over.
+ *
+ * The operations are called on a thread owned by the Core and should return
+ * quickly. They are never called for one subscription by two threads at once.
+ *
+ * @author Jay Jay Billings
+ */
+public interface IItemListener {
+
+	/**
+	 * This operation is called when the status of the Item changes. It is
+	 * also called once with the current status right after the subscription
+	 * is made.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param status
+	 *            The new status of the Item
+	 */
+	public void statusChanged(int itemId, FormStatus status);
+
+	/**
+	 * This operation is called with text that has been appended to the output
+	 * file of the Item. The text always ends at the end of a line unless the
+	 * Item has stopped processing. The first call after the subscription is
+	 * made carries the output that was written before it.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param text
+	 *            The new text
+	 */
+	public void outputAppended(int itemId, String text);
+
+}
@@ -18,11 +18,11 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.inject.Inject;
 import javax.servlet.ServletException;
@@ -41,6 +41,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemListener;
 import org.eclipse.ice.core.internal.itemmanager.ItemManager;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
@@ -73,6 +74,9 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.sun.jersey.api.container.filter.GZIPContentEncodingFilter;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
 import com.sun.jersey.spi.container.servlet.ServletContainer;
 
 /**
@@ -92,6 +96,18 @@ public class Core extends Application implements ICore, BundleActivator {
 	 */
 	private static final Logger logger = LoggerFactory.getLogger(Core.class);
 
+	/**
+	 * The JSON parser for update messages. It is shared by all updates since
+	 * it keeps no state.
+	 */
+	private static final JsonParser jsonParser = new JsonParser();
+
+	/**
+	 * The Gson utility that marshals update messages into Messages. It is
+	 * thread-safe and shared by all updates.
+	 */
+	private static final Gson gson = new GsonBuilder().create();
+
 	/**
 	 * Reference to the ItemManager responsible for creating, querying, and
 	 * updating available Items.
@@ -144,10 +160,22 @@ public class Core extends Application implements ICore, BundleActivator {
 	private IPersistenceProvider provider;
 
 	/**
-	 * An AtomicBoolean to lock and unlock the update operation with hardware.
-	 * True if locked, false if not.
+	 * The router that delivers update messages to the Items on its own
+	 * threads so that the HTTP threads that receive them are not blocked.
 	 */
-	private AtomicBoolean updateLock;
+	private MessageRouter messageRouter;
+
+	/**
+	 * The publisher that pushes the status changes and output of Items to the
+	 * clients that subscribe to them.
+	 */
+	private ItemEventPublisher eventPublisher;
+
+	/**
+	 * The longest time in milliseconds that a long-poll request for the
+	 * changes of an Item waits before it returns without any.
+	 */
+	private static final long POLL_TIMEOUT = 25000;
 
 	/**
 	 * This is the service registration used to register the Core as a service
@@ -179,8 +207,9 @@ public class Core extends Application implements ICore, BundleActivator {
 			throw new RuntimeException("ICore Message: Unable to load workspace!");
 		}
 
-		// Set the update lock
-		updateLock = new AtomicBoolean(false);
+		// Create the message router and the event publisher
+		messageRouter = createMessageRouter();
+		eventPublisher = createEventPublisher();
 
 		return;
 	}
@@ -200,12 +229,49 @@ public class Core extends Application implements ICore, BundleActivator {
 			throw new RuntimeException("ICore Message: Unable to load workspace!");
 		}
 
-		// Set the update lock
-		updateLock = new AtomicBoolean(false);
+		// Create the message router and the event publisher
+		messageRouter = createMessageRouter();
+		eventPublisher = createEventPublisher();
 
 		return;
 	}
 
+	/**
+	 * This operation creates the router that delivers update messages to the
+	 * ItemManager.
+	 *
+	 * @return The router
+	 */
+	private MessageRouter createMessageRouter() {
+		return new MessageRouter(new MessageRouter.Destination() {
+			@Override
+			public void deliver(Message message) {
+				itemManager.postUpdateMessage(message);
+				eventPublisher.poke(message.getItemId());
+			}
+		});
+	}
+
+	/**
+	 * This operation creates the publisher that pushes the status changes and
+	 * output of the Items in the ItemManager to their subscribers.
+	 *
+	 * @return The publisher
+	 */
+	private ItemEventPublisher createEventPublisher() {
+		return new ItemEventPublisher(new ItemEventPublisher.ItemSource() {
+			@Override
+			public FormStatus getStatus(int itemId) {
+				return itemManager.getItemStatus(itemId);
+			}
+
+			@Override
+			public File getOutputFile(int itemId) {
+				return itemManager.getOutputFile(itemId);
+			}
+		});
+	}
+
 	/**
 	 * This operation starts the Core, sets the component context and starts the
 	 * web client if the HTTP service is available.
@@ -301,6 +367,10 @@ public class Core extends Application implements ICore, BundleActivator {
 	 */
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		// Stop taking update messages and publishing changes
+		messageRouter.shutdown();
+		eventPublisher.shutdown();
+
 		// Update everything in the ItemManager that requires it
 		itemManager.persistItems();
 
@@ -469,6 +539,9 @@ public class Core extends Application implements ICore, BundleActivator {
 
 		// Process the update request
 		status = itemManager.updateItem(form);
+		if (form != null) {
+			eventPublisher.poke(form.getItemID());
+		}
 
 		return status;
 	}
@@ -488,6 +561,7 @@ public class Core extends Application implements ICore, BundleActivator {
 		if (itemId > 0 && actionName != null) {
 			// Process the Item
 			status = itemManager.processItem(itemId, actionName);
+			eventPublisher.poke(itemId);
 		}
 
 		return status;
@@ -520,7 +594,77 @@ public class Core extends Application implements ICore, BundleActivator {
 	 */
 	@Override
 	public FormStatus cancelItemProcess(int itemId, String actionName) {
-		return itemManager.cancelItemProcess(itemId, actionName);
+		FormStatus status = itemManager.cancelItemProcess(itemId, actionName);
+		eventPublisher.poke(itemId);
+		return status;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#subscribe(int itemId, IItemListener listener)
+	 */
+	@Override
+	public boolean subscribe(int itemId, IItemListener listener) {
+		eventPublisher.subscribe(itemId, listener);
+		return true;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#unsubscribe(int itemId, IItemListener listener)
+	 */
+	@Override
+	public void unsubscribe(int itemId, IItemListener listener) {
+		eventPublisher.unsubscribe(itemId, listener);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#pollItemEvents(int itemId, String status, long offset)
+	 */
+	@Override
+	public String pollItemEvents(int itemId, String status, long offset) {
+
+		// Local Declarations
+		FormStatus lastStatus = null;
+		ItemEventPublisher.Update update = null;
+
+		// Make sure the Item exists
+		if (itemManager.getItemStatus(itemId) == null) {
+			return null;
+		}
+
+		// Read the status that the client has
+		if (status != null) {
+			try {
+				lastStatus = FormStatus.valueOf(status);
+			} catch (IllegalArgumentException e) {
+				// Treat an unknown status as no status
+				logger.debug("Core Message: Unknown status " + status + " in event request.");
+			}
+		}
+
+		// Wait for something to change
+		try {
+			update = eventPublisher.awaitUpdate(itemId, lastStatus, offset, POLL_TIMEOUT);
+		} catch (InterruptedException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			Thread.currentThread().interrupt();
+			return null;
+		}
+
+		// Write the update
+		JsonObject json = new JsonObject();
+		if (update.getStatus() != null) {
+			json.addProperty("status", update.getStatus().name());
+		}
+		json.addProperty("offset", update.getOffset());
+		json.addProperty("output", update.getOutput());
+
+		return gson.toJson(json);
 	}
 
 	/*
@@ -664,7 +808,8 @@ public class Core extends Application implements ICore, BundleActivator {
 					configFileURL = FileLocator.resolve(configFileURL);
 					HttpContext httpContext = new BasicAuthSecuredContext(resourceURL, configFileURL,
 							"ICE Core Server Configuration");
-					httpService.registerServlet("/ice", new ServletContainer(this), servletParams, httpContext);
+					httpService.registerServlet("/ice", new ServletContainer(createResourceConfig()), servletParams,
+							httpContext);
 				} catch (ServletException | NamespaceException | IOException e) {
 					logger.error(getClass().getName() + " Exception!", e);
 				}
@@ -679,19 +824,39 @@ public class Core extends Application implements ICore, BundleActivator {
 		return;
 	}
 
+	/**
+	 * This operation creates the configuration of the web service. It
+	 * publishes the singletons of the Core and adds filters that compress the
+	 * requests and responses when the client supports gzip and that tag Forms
+	 * with ETags so that clients can cache them.
+	 *
+	 * @return The configuration
+	 */
+	private ResourceConfig createResourceConfig() {
+		ResourceConfig config = new DefaultResourceConfig();
+		config.getSingletons().addAll(getSingletons());
+		config.getProperties().put(ResourceConfig.PROPERTY_CONTAINER_REQUEST_FILTERS,
+				Arrays.<Object> asList(new GZIPContentEncodingFilter()));
+		config.getProperties().put(ResourceConfig.PROPERTY_CONTAINER_RESPONSE_FILTERS,
+				Arrays.<Object> asList(new FormETagFilter(), new GZIPContentEncodingFilter()));
+		return config;
+	}
+
 	/**
 	 * This operation returns the current instance of the ICE core to the HTTP
 	 * service so that it can be published. It overrides
 	 * Application.getSingletons().
 	 *
-	 * @return The set of "singletons" - in this case just the running instance
-	 *         of the Core.
+	 * @return The set of "singletons" - in this case the running instance of
+	 *         the Core and the provider that reads and writes FormStatus
+	 *         values as text.
 	 */
 	@Override
 	public Set<Object> getSingletons() {
 		// Create a set that just points to this class as the servlet
 		Set<Object> result = new HashSet<>();
 		result.add(this);
+		result.add(new FormStatusProvider());
 		return result;
 	}
 
@@ -817,16 +982,11 @@ public class Core extends Application implements ICore, BundleActivator {
 		// Create the ArrayList of messages
 		ArrayList<Message> messages = new ArrayList<>();
 
-		// Create the parser and gson utility
-		JsonParser parser = new JsonParser();
-		GsonBuilder builder = new GsonBuilder();
-		Gson gson = builder.create();
-
 		// Catch any exceptions and return the empty list
 		try {
 
 			// Make the string a json string
-			JsonElement messageJson = parser.parse(messageString);
+			JsonElement messageJson = jsonParser.parse(messageString);
 			JsonObject messageJsonObject = messageJson.getAsJsonObject();
 
 			// Get the Item id from the json
@@ -837,19 +997,44 @@ public class Core extends Application implements ICore, BundleActivator {
 			JsonArray jsonMessagesList = messageJsonObject.getAsJsonArray("posts");
 
 			// Load the list
-			for (int i = 0; i < jsonMessagesList.size(); i++) {
-				// Get the message as a json element
-				JsonElement jsonMessage = jsonMessagesList.get(i);
-				// Marshal it into a message
-				Message tmpMessage = gson.fromJson(jsonMessage, Message.class);
-				// Set the item id
-				if (tmpMessage != null) {
-					tmpMessage.setItemId(itemId);
-					// Put it in the list
-					messages.add(tmpMessage);
+			if (jsonMessagesList != null) {
+				messages.ensureCapacity(jsonMessagesList.size());
+				for (int i = 0; i < jsonMessagesList.size(); i++) {
+					// Get the message as a json element
+					JsonElement jsonMessage = jsonMessagesList.get(i);
+					// Marshal it into a message
+					Message tmpMessage = gson.fromJson(jsonMessage, Message.class);
+					// Set the item id
+					if (tmpMessage != null) {
+						tmpMessage.setItemId(itemId);
+						// Put it in the list
+						messages.add(tmpMessage);
+					}
+				}
+			}
+
+			// Get the array of Postprocessor values from the message. Each
+			// one is posted as a MESSAGE_POSTED message of the form
+			// name:time:value.
+			JsonArray jsonPointsList = messageJsonObject.getAsJsonArray("points");
+			if (jsonPointsList != null) {
+				messages.ensureCapacity(messages.size() + jsonPointsList.size());
+				for (int i = 0; i < jsonPointsList.size(); i++) {
+					JsonObject jsonPoint = jsonPointsList.get(i).getAsJsonObject();
+					JsonElement name = jsonPoint.get("name");
+					JsonElement time = jsonPoint.get("time");
+					JsonElement value = jsonPoint.get("value");
+					if (name != null && time != null && value != null) {
+						Message tmpMessage = new Message();
+						tmpMessage.setItemId(itemId);
+						tmpMessage.setType("MESSAGE_POSTED");
+						tmpMessage.setMessage(
+								name.getAsString() + ":" + time.getAsString() + ":" + value.getAsString());
+						messages.add(tmpMessage);
+					}
 				}
 			}
-		} catch (JsonParseException e) {
+		} catch (JsonParseException | IllegalStateException | ClassCastException e) {
 			// Log the message
 			String err = "Core Message: " + "JSON parsing failed for message " + messageString;
 			logger.error(getClass().getName() + " Exception!", e);
@@ -867,16 +1052,11 @@ public class Core extends Application implements ICore, BundleActivator {
 	@Override
 	public String postUpdateMessage(String message) {
 
-		// Lock the operation
-		updateLock.set(true);
-
 		// Local Declarations
 		String retVal = null;
 
 		// Print the message if debugging is enabled
-		// if (debuggingEnabled) {
-		logger.info("Core Message: " + "Update received with message: " + message);
-		// }
+		logger.debug("Core Message: " + "Update received with message: " + message);
 
 		// Only process the message if it exists and is not empty
 		if (message != null && !message.isEmpty() && message.contains("=")) {
@@ -884,22 +1064,59 @@ public class Core extends Application implements ICore, BundleActivator {
 			// application/x-www-form-encoded
 			String[] messageParts = message.split("=");
 			if (messageParts.length > 1) {
-				// Get the message object.
-				ArrayList<Message> msgList = buildMessagesFromString(messageParts[1]);
-				// Post the messages if there are any. Fail otherwise.
-				if (!msgList.isEmpty()) {
-					for (int i = 0; i < msgList.size(); i++) {
-						Message msg = msgList.get(i);
-						itemManager.postUpdateMessage(msg);
-					}
-					// Set the return value
-					retVal = "OK";
-				}
+				// Post the messages
+				retVal = postMessages(buildMessagesFromString(messageParts[1]));
 			}
 		}
 
-		// Unlock the operation and return safely
-		return (updateLock.getAndSet(false)) ? retVal : null;
+		return retVal;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#postUpdateMessages(String messages)
+	 */
+	@Override
+	public String postUpdateMessages(String messages) {
+
+		// Local Declarations
+		String retVal = null;
+
+		logger.debug("Core Message: " + "Update batch received with message: " + messages);
+
+		// The body is plain json, so it can be built directly
+		if (messages != null && !messages.isEmpty()) {
+			retVal = postMessages(buildMessagesFromString(messages));
+		}
+
+		return retVal;
+	}
+
+	/**
+	 * This private operation routes a list of messages to their Items.
+	 *
+	 * @param msgList
+	 *            The messages
+	 * @return "OK" if the messages were accepted, "BUSY" if the Core is
+	 *         holding too many undelivered messages to accept them, or null if
+	 *         there were no messages or the Core is stopping
+	 */
+	private String postMessages(ArrayList<Message> msgList) {
+
+		// Post the messages if there are any. Fail otherwise.
+		if (msgList.isEmpty()) {
+			return null;
+		}
+		switch (messageRouter.route(msgList)) {
+		case ACCEPTED:
+			return "OK";
+		case BUSY:
+			logger.warn("Core Message: Too many undelivered updates. Refused " + msgList.size() + " messages.");
+			return "BUSY";
+		default:
+			return null;
+		}
 	}
 
 	/**
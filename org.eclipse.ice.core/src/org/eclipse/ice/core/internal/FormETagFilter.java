@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.xml.bind.JAXBException;
+
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.jaxbclassprovider.JAXBContextRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerResponse;
+import com.sun.jersey.spi.container.ContainerResponseFilter;
+
+/**
+ * This class is a filter for the web service that tags the Forms it returns
+ * with an ETag, a digest of their XML, so that clients can cache them. If a
+ * GET request for a Form carries an If-None-Match header with the tag of the
+ * Form, the filter answers with 304 Not Modified and no body instead of
+ * sending the Form again.
+ * <p>
+ * The filter writes the XML itself to compute the tag, so the Form is only
+ * marshalled once per request.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class FormETagFilter implements ContainerResponseFilter {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(FormETagFilter.class);
+
+	/**
+	 * The classes bound to the JAXB context used to write Forms.
+	 */
+	private static final List<Class<?>> formClasses = Collections
+			.<Class<?>> singletonList(Form.class);
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * com.sun.jersey.spi.container.ContainerResponseFilter#filter(com.sun.
+	 * jersey.spi.container.ContainerRequest,
+	 * com.sun.jersey.spi.container.ContainerResponse)
+	 */
+	@Override
+	public ContainerResponse filter(ContainerRequest request,
+			ContainerResponse response) {
+
+		// Only tag Forms that were successfully retrieved
+		if (!"GET".equals(request.getMethod()) || response.getStatus() != 200
+				|| !(response.getEntity() instanceof Form)) {
+			return response;
+		}
+
+		try {
+			// Write the Form and tag it
+			byte[] xml = marshal((Form) response.getEntity());
+			String tag = createTag(xml);
+			response.getHttpHeaders().putSingle(HttpHeaders.ETAG, tag);
+
+			// Skip the body if the client has the same Form
+			String clientTag = request
+					.getHeaderValue(HttpHeaders.IF_NONE_MATCH);
+			if (tag.equals(clientTag)) {
+				response.setStatus(
+						Response.Status.NOT_MODIFIED.getStatusCode());
+				response.setEntity(null);
+			} else {
+				response.setEntity(xml);
+				response.getHttpHeaders().putSingle(HttpHeaders.CONTENT_TYPE,
+						MediaType.APPLICATION_XML_TYPE);
+			}
+		} catch (JAXBException | NoSuchAlgorithmException e) {
+			// Send the Form as usual
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+
+		return response;
+	}
+
+	/**
+	 * This operation writes a Form as XML with the shared context and a
+	 * pooled Marshaller.
+	 *
+	 * @param form
+	 *            The Form
+	 * @return The XML
+	 * @throws JAXBException
+	 */
+	private byte[] marshal(Form form) throws JAXBException {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream(4096);
+		JAXBContextRegistry.getInstance().marshal(form, formClasses, stream);
+		return stream.toByteArray();
+	}
+
+	/**
+	 * This operation creates the ETag of some XML. It is a quoted hex SHA-1
+	 * digest of the bytes.
+	 *
+	 * @param xml
+	 *            The XML
+	 * @return The tag
+	 * @throws NoSuchAlgorithmException
+	 */
+	private static String createTag(byte[] xml)
+			throws NoSuchAlgorithmException {
+		byte[] digest = MessageDigest.getInstance("SHA-1").digest(xml);
+		StringBuilder tag = new StringBuilder(digest.length * 2 + 2);
+		tag.append('"');
+		for (byte b : digest) {
+			tag.append(Character.forDigit((b >> 4) & 0xF, 16));
+			tag.append(Character.forDigit(b & 0xF, 16));
+		}
+		tag.append('"');
+		return tag.toString();
+	}
+
+}
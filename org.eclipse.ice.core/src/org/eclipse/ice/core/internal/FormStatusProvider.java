@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+
+/**
+ * This class lets the web service read and write FormStatus values as plain
+ * text so that the ICore operations that return a FormStatus can be called
+ * remotely. A status is written as the name of the constant, such as
+ * "Processed".
+ *
+ * @author Jay Jay Billings
+ */
+@Provider
+@Produces("text/plain")
+@Consumes("text/plain")
+public class FormStatusProvider
+		implements MessageBodyWriter<FormStatus>, MessageBodyReader<FormStatus> {
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.ws.rs.ext.MessageBodyWriter#isWriteable(java.lang.Class,
+	 * java.lang.reflect.Type, java.lang.annotation.Annotation[],
+	 * javax.ws.rs.core.MediaType)
+	 */
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType,
+			Annotation[] annotations, MediaType mediaType) {
+		return type == FormStatus.class;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.ws.rs.ext.MessageBodyWriter#getSize(java.lang.Object,
+	 * java.lang.Class, java.lang.reflect.Type,
+	 * java.lang.annotation.Annotation[], javax.ws.rs.core.MediaType)
+	 */
+	@Override
+	public long getSize(FormStatus status, Class<?> type, Type genericType,
+			Annotation[] annotations, MediaType mediaType) {
+		return status.name().length();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.ws.rs.ext.MessageBodyWriter#writeTo(java.lang.Object,
+	 * java.lang.Class, java.lang.reflect.Type,
+	 * java.lang.annotation.Annotation[], javax.ws.rs.core.MediaType,
+	 * javax.ws.rs.core.MultivaluedMap, java.io.OutputStream)
+	 */
+	@Override
+	public void writeTo(FormStatus status, Class<?> type, Type genericType,
+			Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, Object> httpHeaders,
+			OutputStream entityStream) throws IOException {
+		entityStream.write(status.name().getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.ws.rs.ext.MessageBodyReader#isReadable(java.lang.Class,
+	 * java.lang.reflect.Type, java.lang.annotation.Annotation[],
+	 * javax.ws.rs.core.MediaType)
+	 */
+	@Override
+	public boolean isReadable(Class<?> type, Type genericType,
+			Annotation[] annotations, MediaType mediaType) {
+		return type == FormStatus.class;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.ws.rs.ext.MessageBodyReader#readFrom(java.lang.Class,
+	 * java.lang.reflect.Type, java.lang.annotation.Annotation[],
+	 * javax.ws.rs.core.MediaType, javax.ws.rs.core.MultivaluedMap,
+	 * java.io.InputStream)
+	 */
+	@Override
+	public FormStatus readFrom(Class<FormStatus> type, Type genericType,
+			Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, String> httpHeaders, InputStream entityStream)
+			throws IOException {
+
+		// Read the name
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+		byte[] buffer = new byte[64];
+		int count;
+		while ((count = entityStream.read(buffer)) != -1) {
+			bytes.write(buffer, 0, count);
+		}
+		String name = new String(bytes.toByteArray(), StandardCharsets.US_ASCII)
+				.trim();
+
+		// Convert it
+		try {
+			return FormStatus.valueOf(name);
+		} catch (IllegalArgumentException e) {
+			throw new WebApplicationException(e, Response.Status.BAD_REQUEST);
+		}
+	}
+
+}
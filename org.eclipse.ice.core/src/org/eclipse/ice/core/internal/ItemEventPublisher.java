@@ -0,0 +1,598 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ice.core.iCore.IItemListener;
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class publishes the status changes and the new output of Items to the
+ * IItemListeners that have subscribed to them so that clients do not have to
+ * poll the Core.
+ * <p>
+ * Only Items with subscribers are watched. They are all watched by a single
+ * thread that checks the status of each Item in memory and reads only the
+ * bytes that have been appended to its output file since the last check. An
+ * Item is checked often while it changes and less and less often while it is
+ * idle. The Core pokes the publisher when it knows that an Item has changed,
+ * for example after it has been processed or updated, so that the change is
+ * published right away.
+ * </p>
+ * <p>
+ * The publisher also serves long-poll requests. A request blocks until the
+ * Item differs from what the client last saw or the request times out, so a
+ * remote client gets changes as soon as they happen with one request per
+ * change instead of one per poll.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class ItemEventPublisher {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(ItemEventPublisher.class);
+
+	/**
+	 * The shortest time in milliseconds between two checks of an Item.
+	 */
+	public static final long MIN_CHECK_INTERVAL = 20;
+
+	/**
+	 * The longest time in milliseconds between two checks of an idle Item.
+	 */
+	public static final long MAX_CHECK_INTERVAL = 1000;
+
+	/**
+	 * The most bytes of output that are read in one chunk.
+	 */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * This interface is implemented by the source of the status and output
+	 * files of the Items, such as the ItemManager.
+	 */
+	public interface ItemSource {
+
+		/**
+		 * This operation returns the status of an Item.
+		 *
+		 * @param itemId
+		 *            The id of the Item
+		 * @return The status or null if the Item does not exist
+		 */
+		FormStatus getStatus(int itemId);
+
+		/**
+		 * This operation returns the output file of an Item.
+		 *
+		 * @param itemId
+		 *            The id of the Item
+		 * @return The output file or null if it does not have one
+		 */
+		File getOutputFile(int itemId);
+	}
+
+	/**
+	 * The changes of an Item that were found by a long-poll request.
+	 */
+	public static class Update {
+
+		/**
+		 * The status of the Item.
+		 */
+		private FormStatus status;
+
+		/**
+		 * The number of bytes of output that have been read.
+		 */
+		private long offset;
+
+		/**
+		 * The output that was appended after the offset given in the request.
+		 */
+		private final StringBuilder output = new StringBuilder();
+
+		/**
+		 * This operation returns the status of the Item.
+		 *
+		 * @return The status or null if the Item does not exist
+		 */
+		public FormStatus getStatus() {
+			return status;
+		}
+
+		/**
+		 * This operation returns the offset in the output file up to which
+		 * the output has been read. It should be given in the next request.
+		 *
+		 * @return The offset in bytes
+		 */
+		public long getOffset() {
+			return offset;
+		}
+
+		/**
+		 * This operation returns the new output.
+		 *
+		 * @return The output, which is empty if there was none
+		 */
+		public String getOutput() {
+			return output.toString();
+		}
+	}
+
+	/**
+	 * A subscription of a listener to an Item. It keeps track of what the
+	 * listener has been told and checks the Item for changes.
+	 */
+	private class Subscription implements Runnable {
+
+		/**
+		 * The id of the Item.
+		 */
+		private final int itemId;
+
+		/**
+		 * The listener.
+		 */
+		private final IItemListener listener;
+
+		/**
+		 * The last status that the listener was told about.
+		 */
+		private FormStatus lastStatus;
+
+		/**
+		 * The number of bytes of output that the listener has been given.
+		 */
+		private long offset;
+
+		/**
+		 * The time to wait until the next check.
+		 */
+		private long interval = MIN_CHECK_INTERVAL;
+
+		/**
+		 * The next scheduled check. It is only used on the publisher thread.
+		 */
+		private ScheduledFuture<?> nextCheck;
+
+		/**
+		 * True if the subscription has been cancelled.
+		 */
+		private volatile boolean cancelled = false;
+
+		/**
+		 * The Constructor
+		 *
+		 * @param itemId
+		 *            The id of the Item
+		 * @param listener
+		 *            The listener
+		 * @param lastStatus
+		 *            The last status that the listener knows about or null
+		 * @param offset
+		 *            The number of bytes of output that the listener has
+		 */
+		private Subscription(int itemId, IItemListener listener,
+				FormStatus lastStatus, long offset) {
+			this.itemId = itemId;
+			this.listener = listener;
+			this.lastStatus = lastStatus;
+			this.offset = Math.max(offset, 0);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+
+			if (cancelled) {
+				return;
+			}
+
+			// Check the Item and check it again sooner if it changed
+			boolean changed = false;
+			try {
+				changed = check();
+			} catch (RuntimeException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+			interval = changed ? MIN_CHECK_INTERVAL
+					: Math.min(interval * 2, MAX_CHECK_INTERVAL);
+			if (changed) {
+				checked();
+			}
+
+			// Schedule the next check
+			if (!cancelled) {
+				try {
+					nextCheck = scheduler.schedule(this, interval,
+							TimeUnit.MILLISECONDS);
+				} catch (RejectedExecutionException e) {
+					// The publisher has been shut down
+				}
+			}
+		}
+
+		/**
+		 * This operation is called after a check that found changes, once
+		 * the listener has been told about all of them. It does nothing by
+		 * default.
+		 */
+		protected void checked() {
+			// Nothing to do
+		}
+
+		/**
+		 * This operation checks the Item right away, restarting the fast
+		 * checks. It is only called on the publisher thread.
+		 */
+		private void poke() {
+			if (nextCheck != null) {
+				nextCheck.cancel(false);
+			}
+			interval = MIN_CHECK_INTERVAL;
+			run();
+		}
+
+		/**
+		 * This operation tells the listener about any new output and a change
+		 * of status.
+		 *
+		 * @return True if anything changed
+		 */
+		private boolean check() {
+
+			// Get the status first so that the output written before it
+			// changed is published before the change
+			FormStatus status = source.getStatus(itemId);
+			boolean running = status == FormStatus.Processing
+					|| status == FormStatus.NeedsInfo;
+			boolean changed = false;
+
+			// Publish the new output. Partial lines are held back until the
+			// Item stops running.
+			File outputFile = source.getOutputFile(itemId);
+			if (outputFile != null) {
+				String text;
+				while ((text = readOutput(outputFile, !running)) != null) {
+					listener.outputAppended(itemId, text);
+					changed = true;
+				}
+			}
+
+			// Publish the status
+			if (status != null && status != lastStatus) {
+				lastStatus = status;
+				listener.statusChanged(itemId, status);
+				changed = true;
+			}
+
+			return changed;
+		}
+
+		/**
+		 * This operation reads the next chunk of output from the output file.
+		 *
+		 * @param outputFile
+		 *            The output file
+		 * @param partialLines
+		 *            True if a line that has not been finished should be
+		 *            returned too
+		 * @return The output or null if there is none
+		 */
+		private String readOutput(File outputFile, boolean partialLines) {
+
+			// Start over if the file was replaced by a shorter one
+			long length = outputFile.length();
+			if (length < offset) {
+				offset = 0;
+			}
+			if (length == offset) {
+				return null;
+			}
+
+			// Read the bytes after the offset
+			byte[] bytes = new byte[(int) Math.min(length - offset,
+					CHUNK_SIZE)];
+			try (RandomAccessFile file = new RandomAccessFile(outputFile,
+					"r")) {
+				file.seek(offset);
+				file.readFully(bytes);
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+				return null;
+			}
+
+			// Only keep whole lines unless the chunk is full of one line
+			int count = bytes.length;
+			if (!partialLines && count < CHUNK_SIZE) {
+				while (count > 0 && bytes[count - 1] != '\n') {
+					count--;
+				}
+				if (count == 0) {
+					return null;
+				}
+			}
+			offset += count;
+
+			return new String(bytes, 0, count, Charset.defaultCharset());
+		}
+	}
+
+	/**
+	 * The source of the status and output of the Items.
+	 */
+	private final ItemSource source;
+
+	/**
+	 * The subscriptions, keyed by Item id.
+	 */
+	private final ConcurrentMap<Integer, List<Subscription>> subscriptions = new ConcurrentHashMap<Integer, List<Subscription>>();
+
+	/**
+	 * The thread that checks the Items and calls the listeners.
+	 */
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * The Constructor
+	 *
+	 * @param source
+	 *            The source of the status and output of the Items
+	 */
+	public ItemEventPublisher(ItemSource source) {
+		this.source = source;
+		scheduler = Executors
+				.newSingleThreadScheduledExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"ICE Item Event Publisher");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+	}
+
+	/**
+	 * This operation subscribes a listener to an Item. The listener is told
+	 * the current status of the Item and given its output so far right away.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param listener
+	 *            The listener
+	 */
+	public void subscribe(int itemId, IItemListener listener) {
+		if (listener != null) {
+			add(new Subscription(itemId, listener, null, 0));
+		}
+	}
+
+	/**
+	 * This operation cancels every subscription of a listener to an Item.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param listener
+	 *            The listener
+	 */
+	public void unsubscribe(int itemId, IItemListener listener) {
+		List<Subscription> itemSubscriptions = subscriptions.get(itemId);
+		if (itemSubscriptions != null) {
+			for (Subscription subscription : itemSubscriptions) {
+				if (subscription.listener == listener) {
+					remove(subscription);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This operation checks the subscriptions to an Item right away. It should
+	 * be called when the Item is known to have changed.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 */
+	public void poke(int itemId) {
+		final List<Subscription> itemSubscriptions = subscriptions
+				.get(itemId);
+		if (itemSubscriptions != null && !itemSubscriptions.isEmpty()) {
+			try {
+				scheduler.execute(new Runnable() {
+					@Override
+					public void run() {
+						for (Subscription subscription : itemSubscriptions) {
+							subscription.poke();
+						}
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				// The publisher has been shut down
+			}
+		}
+	}
+
+	/**
+	 * This operation waits until an Item differs from what a client last saw
+	 * and returns the differences.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param lastStatus
+	 *            The status that the client last saw or null if it has not
+	 *            seen one
+	 * @param offset
+	 *            The number of bytes of output that the client has
+	 * @param timeout
+	 *            The longest time to wait in milliseconds
+	 * @return The status, offset and new output of the Item. The output is
+	 *         empty and the status is the same if the request timed out.
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while it waits
+	 */
+	public Update awaitUpdate(int itemId, FormStatus lastStatus, long offset,
+			long timeout) throws InterruptedException {
+
+		final Update update = new Update();
+		update.status = lastStatus;
+		update.offset = Math.max(offset, 0);
+
+		// Collect the changes with a temporary subscription. The lock keeps
+		// the output and the offset in step and the flags tell the listener
+		// when the request has been answered.
+		final Object lock = new Object();
+		final boolean[] changed = new boolean[1];
+		final boolean[] answered = new boolean[1];
+		final Subscription[] subscription = new Subscription[1];
+		subscription[0] = new Subscription(itemId, new IItemListener() {
+			@Override
+			public void statusChanged(int id, FormStatus status) {
+				synchronized (lock) {
+					if (!answered[0]) {
+						update.status = status;
+					}
+				}
+			}
+
+			@Override
+			public void outputAppended(int id, String text) {
+				synchronized (lock) {
+					if (!answered[0]) {
+						update.output.append(text);
+						update.offset = subscription[0].offset;
+					}
+				}
+			}
+		}, lastStatus, offset) {
+			@Override
+			protected void checked() {
+				// Answer once all of the changes found by a check are in
+				synchronized (lock) {
+					changed[0] = true;
+					lock.notifyAll();
+				}
+			}
+		};
+		add(subscription[0]);
+
+		// Wait for them
+		try {
+			long deadline = System.currentTimeMillis() + timeout;
+			synchronized (lock) {
+				long remaining = timeout;
+				while (!changed[0] && remaining > 0) {
+					lock.wait(remaining);
+					remaining = deadline - System.currentTimeMillis();
+				}
+				answered[0] = true;
+			}
+		} finally {
+			remove(subscription[0]);
+		}
+
+		return update;
+	}
+
+	/**
+	 * This operation stops the publisher. The listeners are not called after
+	 * it returns.
+	 */
+	public void shutdown() {
+		for (List<Subscription> itemSubscriptions : subscriptions.values()) {
+			for (Subscription subscription : itemSubscriptions) {
+				subscription.cancelled = true;
+			}
+		}
+		subscriptions.clear();
+		scheduler.shutdownNow();
+	}
+
+	/**
+	 * This operation adds a subscription and starts checking its Item.
+	 *
+	 * @param subscription
+	 *            The subscription
+	 */
+	private void add(Subscription subscription) {
+		List<Subscription> itemSubscriptions = subscriptions
+				.get(subscription.itemId);
+		if (itemSubscriptions == null) {
+			List<Subscription> newList = new CopyOnWriteArrayList<Subscription>();
+			itemSubscriptions = subscriptions
+					.putIfAbsent(subscription.itemId, newList);
+			if (itemSubscriptions == null) {
+				itemSubscriptions = newList;
+			}
+		}
+		itemSubscriptions.add(subscription);
+		try {
+			scheduler.execute(subscription);
+		} catch (RejectedExecutionException e) {
+			// The publisher has been shut down
+			subscription.cancelled = true;
+		}
+	}
+
+	/**
+	 * This operation cancels a subscription.
+	 *
+	 * @param subscription
+	 *            The subscription
+	 */
+	private void remove(final Subscription subscription) {
+		subscription.cancelled = true;
+		List<Subscription> itemSubscriptions = subscriptions
+				.get(subscription.itemId);
+		if (itemSubscriptions != null) {
+			itemSubscriptions.remove(subscription);
+		}
+		try {
+			scheduler.execute(new Runnable() {
+				@Override
+				public void run() {
+					if (subscription.nextCheck != null) {
+						subscription.nextCheck.cancel(false);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// The publisher has been shut down
+		}
+	}
+
+}
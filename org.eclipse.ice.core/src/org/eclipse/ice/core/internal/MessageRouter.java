@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ice.item.messaging.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class routes update Messages from the ICE Updater to their Items
+ * without blocking the HTTP threads that receive them.
+ * <p>
+ * Each Item has a mailbox. The messages of an Item are delivered one at a time
+ * in the order in which they were routed, but the mailboxes of different Items
+ * are drained at the same time by a bounded pool of worker threads, so many
+ * running jobs can post updates at once. A worker delivers at most a small
+ * batch of messages from a mailbox before moving on so that one busy Item
+ * cannot starve the others.
+ * </p>
+ * <p>
+ * The router holds at most a fixed number of undelivered messages. A batch
+ * that would exceed it is refused as a whole with {@link Status#BUSY} so that
+ * the caller can slow down and retry instead of the Core running out of
+ * memory.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class MessageRouter {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(MessageRouter.class);
+
+	/**
+	 * The default number of undelivered messages that the router will hold.
+	 */
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	/**
+	 * The most messages that a worker delivers from one mailbox before it lets
+	 * the other mailboxes have a turn.
+	 */
+	private static final int BATCH_SIZE = 64;
+
+	/**
+	 * The result of routing a batch of messages.
+	 */
+	public enum Status {
+		/**
+		 * The messages were accepted and will be delivered.
+		 */
+		ACCEPTED,
+		/**
+		 * The router is full and the messages were refused. They should be
+		 * sent again later.
+		 */
+		BUSY,
+		/**
+		 * The router has been shut down and the messages were refused.
+		 */
+		STOPPED
+	}
+
+	/**
+	 * This interface is implemented by the destination to which the messages
+	 * are delivered, such as the ItemManager.
+	 */
+	public interface Destination {
+
+		/**
+		 * This operation delivers a message. It is called on a worker thread
+		 * and is never called for two messages of the same Item at once.
+		 *
+		 * @param message
+		 *            The message
+		 */
+		void deliver(Message message);
+	}
+
+	/**
+	 * The messages of one Item that have not been delivered.
+	 */
+	private class Mailbox implements Runnable {
+
+		/**
+		 * The messages. It is guarded by the mailbox.
+		 */
+		private final ArrayDeque<Message> messages = new ArrayDeque<Message>();
+
+		/**
+		 * True if the mailbox is waiting for or being drained by a worker. It
+		 * is guarded by the mailbox.
+		 */
+		private boolean scheduled = false;
+
+		/**
+		 * This operation adds messages to the mailbox and schedules it if it
+		 * is not scheduled already.
+		 *
+		 * @param newMessages
+		 *            The messages to add
+		 */
+		private void post(List<Message> newMessages) {
+			boolean schedule;
+			synchronized (this) {
+				messages.addAll(newMessages);
+				schedule = !scheduled;
+				scheduled = true;
+			}
+			if (schedule) {
+				workers.execute(this);
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+
+			Message message;
+			int delivered = 0;
+			while (true) {
+
+				// Get the next message or stop if there are none
+				synchronized (this) {
+					message = messages.poll();
+					if (message == null) {
+						scheduled = false;
+						return;
+					}
+				}
+
+				// Deliver it
+				try {
+					destination.deliver(message);
+				} catch (RuntimeException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				} finally {
+					pending.decrementAndGet();
+				}
+
+				// Give the other mailboxes a turn after each batch
+				if (++delivered == BATCH_SIZE) {
+					delivered = 0;
+					synchronized (this) {
+						if (messages.isEmpty()) {
+							scheduled = false;
+							return;
+						}
+					}
+					try {
+						workers.execute(this);
+						return;
+					} catch (RejectedExecutionException e) {
+						// The router is shutting down, so deliver the rest
+						// on this thread.
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The destination of the messages.
+	 */
+	private final Destination destination;
+
+	/**
+	 * The number of undelivered messages that the router will hold.
+	 */
+	private final int capacity;
+
+	/**
+	 * The number of messages that have been accepted but not delivered.
+	 */
+	private final AtomicInteger pending = new AtomicInteger();
+
+	/**
+	 * The mailboxes, keyed by Item id.
+	 */
+	private final ConcurrentMap<Integer, Mailbox> mailboxes = new ConcurrentHashMap<Integer, Mailbox>();
+
+	/**
+	 * The workers that drain the mailboxes. Their threads stop when they are
+	 * idle.
+	 */
+	private final ThreadPoolExecutor workers;
+
+	/**
+	 * The Constructor. The router uses one worker per core and holds up to
+	 * {@link #DEFAULT_CAPACITY} messages.
+	 *
+	 * @param destination
+	 *            The destination of the messages
+	 */
+	public MessageRouter(Destination destination) {
+		this(destination, Runtime.getRuntime().availableProcessors(),
+				DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * The Constructor
+	 *
+	 * @param destination
+	 *            The destination of the messages
+	 * @param numWorkers
+	 *            The number of worker threads. It must be positive.
+	 * @param capacity
+	 *            The number of undelivered messages that the router will
+	 *            hold. It must be positive.
+	 */
+	public MessageRouter(Destination destination, int numWorkers,
+			int capacity) {
+		this.destination = destination;
+		this.capacity = capacity;
+		workers = new ThreadPoolExecutor(numWorkers, numWorkers, 30,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"ICE Message Router " + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		workers.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * This operation routes a batch of messages to the mailboxes of their
+	 * Items. The messages are either all accepted or all refused.
+	 *
+	 * @param messages
+	 *            The messages
+	 * @return The status of the batch
+	 */
+	public Status route(List<Message> messages) {
+
+		if (workers.isShutdown()) {
+			return Status.STOPPED;
+		}
+
+		// Reserve room for the batch or refuse it
+		int size = messages.size();
+		if (pending.addAndGet(size) > capacity && size > 0) {
+			pending.addAndGet(-size);
+			return Status.BUSY;
+		}
+
+		// Post the messages in order, one run of the same Item at a time
+		int start = 0;
+		try {
+			while (start < size) {
+				int itemId = messages.get(start).getItemId();
+				int end = start + 1;
+				while (end < size && messages.get(end).getItemId() == itemId) {
+					end++;
+				}
+				getMailbox(itemId).post(messages.subList(start, end));
+				start = end;
+			}
+		} catch (RejectedExecutionException e) {
+			// The router was shut down while posting, so nothing else will
+			// be delivered
+			pending.addAndGet(start - size);
+			return Status.STOPPED;
+		}
+
+		return Status.ACCEPTED;
+	}
+
+	/**
+	 * This operation returns the mailbox of an Item, creating it if needed.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @return The mailbox
+	 */
+	private Mailbox getMailbox(int itemId) {
+		Mailbox mailbox = mailboxes.get(itemId);
+		if (mailbox == null) {
+			Mailbox newMailbox = new Mailbox();
+			mailbox = mailboxes.putIfAbsent(itemId, newMailbox);
+			if (mailbox == null) {
+				mailbox = newMailbox;
+			}
+		}
+		return mailbox;
+	}
+
+	/**
+	 * This operation returns the number of messages that have been accepted
+	 * but not yet delivered.
+	 *
+	 * @return The number of undelivered messages
+	 */
+	public int getPendingCount() {
+		return pending.get();
+	}
+
+	/**
+	 * This operation stops the router. Messages that were already accepted are
+	 * still delivered, but new messages are refused.
+	 */
+	public void shutdown() {
+		workers.shutdown();
+	}
+
+}
@@ -14,12 +14,15 @@ package org.eclipse.ice.core.internal.itemmanager;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.ice.datastructures.ICEObject.ICEObject;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
@@ -30,7 +33,9 @@ import org.eclipse.ice.item.ItemBuilder;
 import org.eclipse.ice.item.ItemListener;
 import org.eclipse.ice.item.ItemType;
 import org.eclipse.ice.item.messaging.Message;
+import org.eclipse.ice.item.persistence.IItemLoadListener;
 import org.eclipse.ice.item.persistence.IPersistenceProvider;
+import org.eclipse.ice.item.persistence.ItemSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +54,14 @@ import org.slf4j.LoggerFactory;
  * persists all currently active Items by calling persistItems().
  * </p>
  * <p>
+ * If the provider can summarize its Items, loadItems() only reads the
+ * summaries and each Item is loaded from the provider the first time it is
+ * needed. Items that have only been read are held softly and may be dropped
+ * under memory pressure, to be loaded again later, since the provider has an
+ * up to date copy of them. Items that are created, updated, processed,
+ * renamed or sent messages are held until they are deleted.
+ * </p>
+ * <p>
  * The process output file of an Item can be retrieved by calling
  * getOutputFile() and passing the id of the Item as an argument. Retrieving an
  * output file and retrieving a Form are separated because they are treated as
@@ -67,15 +80,38 @@ public class ItemManager implements ItemListener {
 
 	/**
 	 * This is a list of all of the items that are managed by the ItemManger.
-	 * The key is the Item Id and the value is a reference to the Item.
+	 * The key is the Item Id and the value is a reference to the Item. It is
+	 * concurrent because update messages for the Items are delivered from
+	 * several threads.
+	 */
+	private ConcurrentHashMap<Integer, Item> itemList;
+
+	/**
+	 * The summaries of the persisted Items that are not in the itemList. The
+	 * key is the Item Id. These Items are loaded from the persistence provider
+	 * when they are needed.
+	 */
+	private ConcurrentHashMap<Integer, ItemSummary> itemIndex;
+
+	/**
+	 * The persisted Items that have been loaded from the provider to be read
+	 * but have not been modified. They are held by soft references so that
+	 * they can be reclaimed if memory runs low. Every key is also a key in
+	 * the itemIndex.
+	 */
+	private ConcurrentHashMap<Integer, SoftReference<Item>> softItems;
+
+	/**
+	 * The lock that guards loading Items from the itemIndex and moving them to
+	 * the itemList.
 	 */
-	private HashMap<Integer, Item> itemList;
+	private final Object indexLock = new Object();
 
 	/**
 	 * The list of ItemBuilders that can be used to create items. The keys are
 	 * the names of the builders and the values are the builders.
 	 */
-	private HashMap<String, ItemBuilder> itemBuilderList;
+	private ConcurrentHashMap<String, ItemBuilder> itemBuilderList;
 
 	/**
 	 * <p>
@@ -92,7 +128,7 @@ public class ItemManager implements ItemListener {
 	 * This private list is used to store the ids of Items that have been
 	 * deleted from the system so that they may be reused without have to
 	 * compute their values, which would require a time consuming search over
-	 * all Items.
+	 * all Items. It also guards nextSequentialId.
 	 * </p>
 	 *
 	 */
@@ -106,7 +142,7 @@ public class ItemManager implements ItemListener {
 	 * </p>
 	 *
 	 */
-	private ArrayList<ICompositeItemBuilder> compositeBuilders;
+	private CopyOnWriteArrayList<ICompositeItemBuilder> compositeBuilders;
 
 	/**
 	 * <p>
@@ -135,9 +171,11 @@ public class ItemManager implements ItemListener {
 		reusableIds = new ArrayList<Integer>();
 
 		// Setup the lists
-		itemBuilderList = new HashMap<String, ItemBuilder>();
-		compositeBuilders = new ArrayList<ICompositeItemBuilder>();
-		itemList = new HashMap<Integer, Item>();
+		itemBuilderList = new ConcurrentHashMap<String, ItemBuilder>();
+		compositeBuilders = new CopyOnWriteArrayList<ICompositeItemBuilder>();
+		itemList = new ConcurrentHashMap<Integer, Item>();
+		itemIndex = new ConcurrentHashMap<Integer, ItemSummary>();
+		softItems = new ConcurrentHashMap<Integer, SoftReference<Item>>();
 
 	}
 
@@ -183,7 +221,7 @@ public class ItemManager implements ItemListener {
 		// list of items is small.
 		if (newItemType != null) {
 			for (ItemBuilder i : itemBuilderList.values()) {
-				if (i.getItemName().equals(newItemType)) {
+				if (newItemType.equals(i.getItemName())) {
 					item = i.build(project);
 				}
 			}
@@ -192,15 +230,17 @@ public class ItemManager implements ItemListener {
 		// Set the Item's id if it was created, add it to the list and
 		// update the return value.
 		if (item != null) {
-			// Set the id to a previously used id if one is available
-			if (!(reusableIds.isEmpty())) {
-				item.setId(reusableIds.get(0));
-				reusableIds.remove(0);
-			} else {
-				// Set the id to the next sequential id
-				item.setId(nextSequentialId);
-				// Update the next sequential id
-				++nextSequentialId;
+			synchronized (reusableIds) {
+				// Set the id to a previously used id if one is available
+				if (!(reusableIds.isEmpty())) {
+					item.setId(reusableIds.get(0));
+					reusableIds.remove(0);
+				} else {
+					// Set the id to the next sequential id
+					item.setId(nextSequentialId);
+					// Update the next sequential id
+					++nextSequentialId;
+				}
 			}
 			// Register as an observer of the Item
 			item.addListener(this);
@@ -311,8 +351,9 @@ public class ItemManager implements ItemListener {
 
 		// Retrieve the Form if and only if the Item id is greater than zero and
 		// is also in the list of Items.
-		if (itemID > 0 && this.itemList.containsKey(itemID)) {
-			form = this.itemList.get(itemID).getForm();
+		Item item = getItem(itemID);
+		if (item != null) {
+			form = item.getForm();
 		}
 
 		return form;
@@ -333,11 +374,18 @@ public class ItemManager implements ItemListener {
 	 */
 	public void registerBuilder(ItemBuilder builder) {
 
+		// Reject builders without names. The map does not allow null keys.
+		if (builder != null && builder.getItemName() == null) {
+			logger.error("ItemManager Message: Builder "
+					+ builder.getClass().getName()
+					+ " has no Item name and will not be registered.");
+			return;
+		}
+
 		// Make sure the builder is not null and add it to the list, if it's not
 		// there already.
-		if (builder != null
-				&& !itemBuilderList.containsKey(builder.getItemName())) {
-			itemBuilderList.put(builder.getItemName(), builder);
+		if (builder != null && itemBuilderList
+				.putIfAbsent(builder.getItemName(), builder) == null) {
 			// Notify the composite Items of the updated builder list
 			for (ICompositeItemBuilder compositeBuilder : compositeBuilders) {
 				compositeBuilder.addBuilders(
@@ -345,11 +393,12 @@ public class ItemManager implements ItemListener {
 			}
 			// Get the list of Items and see if any disabled ones can be
 			// re-enabled because this builder is their parent.
-			for (int i = 0; i < itemList.values().size(); i++) {
-				Item item = (Item) itemList.values().toArray()[i];
-				if (!item.isEnabled() && item.getItemBuilderName()
-						.equals(builder.getItemName())) {
-					rebuildItem(builder, item, loadedProject);
+			for (Item item : new ArrayList<Item>(itemList.values())) {
+				if (!item.isEnabled() && builder.getItemName()
+						.equals(item.getItemBuilderName())) {
+					Item rebuiltItem = rebuildItem(builder, item,
+							loadedProject);
+					itemList.put(rebuiltItem.getId(), rebuiltItem);
 					item.disable(false);
 					logger.info("ItemManager Message: "
 							+ "Enabling orphaned Item " + item.getName() + " "
@@ -358,6 +407,15 @@ public class ItemManager implements ItemListener {
 				}
 
 			}
+			// Drop the disabled Items that were only read so that they will
+			// be rebuilt the next time they are loaded.
+			for (Integer id : softItems.keySet()) {
+				Item item = getSoftItem(id);
+				if (item != null && !item.isEnabled() && builder.getItemName()
+						.equals(item.getItemBuilderName())) {
+					softItems.remove(id);
+				}
+			}
 		}
 
 		return;
@@ -403,7 +461,7 @@ public class ItemManager implements ItemListener {
 	 */
 	public void unregisterBuilder(ItemBuilder builder) {
 
-		if (builder != null
+		if (builder != null && builder.getItemName() != null
 				&& this.itemBuilderList.containsKey(builder.getItemName())) {
 			this.itemBuilderList.remove(builder.getItemName());
 		}
@@ -430,7 +488,7 @@ public class ItemManager implements ItemListener {
 		ArrayList<String> builders = new ArrayList<String>();
 
 		// Pack the list of ItemBuilders into an arraylist, but copy the values
-		// to new Strings since HashMap.keySet() returns the set of keys by
+		// to new Strings since ConcurrentHashMap.keySet() returns the set of keys by
 		// reference and changes to that list would cause the map to change.
 		for (String j : this.itemBuilderList.keySet()) {
 			if (itemBuilderList.get(j).isPublishable()) {
@@ -464,7 +522,7 @@ public class ItemManager implements ItemListener {
 		ArrayList<String> builders = new ArrayList<String>();
 
 		// Pack the list of ItemBuilders into an arraylist, but copy the values
-		// to new Strings since HashMap.keySet() returns the set of keys by
+		// to new Strings since ConcurrentHashMap.keySet() returns the set of keys by
 		// reference and changes to that list would cause the map to change.
 		// For this operation only the ones with a specific Item type are
 		// required and a linear search is fine since the number of Builders is
@@ -499,7 +557,7 @@ public class ItemManager implements ItemListener {
 		// Check the id
 		if (itemId > 0) {
 			// Get the Item
-			item = itemList.get(itemId);
+			item = getItem(itemId);
 			if (item != null) {
 				// Set the status if the Item is actually in the map
 				status = item.getStatus();
@@ -531,14 +589,13 @@ public class ItemManager implements ItemListener {
 
 	/**
 	 * This operation rebuilds an Item from its builder and the current project
-	 * space.
+	 * space and returns the rebuilt Item. It does not add it to the list.
 	 */
-	private void rebuildItem(ItemBuilder builder, Item item,
+	private Item rebuildItem(ItemBuilder builder, Item item,
 			IProject projectSpace) {
 
 		// Build the proper Item
-		Item rebuiltItem = itemBuilderList.get(item.getItemBuilderName())
-				.build(projectSpace);
+		Item rebuiltItem = builder.build(projectSpace);
 
 		// Give the project to this temp Item
 		item.setProject(projectSpace);
@@ -553,8 +610,8 @@ public class ItemManager implements ItemListener {
 		rebuiltItem.submitForm(rebuiltItem.getForm());
 		// Register as a observer of the Item
 		rebuiltItem.addListener(this);
-		// Load the Item into the list
-		itemList.put(rebuiltItem.getId(), rebuiltItem);
+
+		return rebuiltItem;
 	}
 
 	/**
@@ -579,16 +636,45 @@ public class ItemManager implements ItemListener {
 	 *            may be null, but it shouldn't be.
 	 *            </p>
 	 */
-	public void loadItems(IProject projectSpace) {
+	public void loadItems(final IProject projectSpace) {
 
 		// Make sure the persistence provider is available before requesting
 		// information from it.
 		if (provider != null) {
-			// Get all of the Items
-			ArrayList<Item> oldItems = provider.loadItems();
-			loadItems(oldItems, projectSpace);
-			// Save the project space
+			// Save the project space first since the Items may be loaded as
+			// soon as they are indexed.
 			loadedProject = projectSpace;
+			// Only index the Items if the provider can summarize them
+			ArrayList<ItemSummary> summaries = provider.loadItemSummaries();
+			if (summaries != null) {
+				for (ItemSummary summary : summaries) {
+					if (!itemList.containsKey(summary.getId())) {
+						itemIndex.put(summary.getId(), summary);
+					}
+				}
+				logger.info("ItemManager Message: Indexed " + summaries.size()
+						+ " Items. They will be loaded when they are needed.");
+				updateIds(summaries.size());
+			} else {
+				// Get all of the Items, rebuilding each one as soon as the
+				// provider hands it over.
+				final ArrayList<Item> oldItems = new ArrayList<Item>();
+				provider.loadItems(new IItemLoadListener() {
+					@Override
+					public void itemLoaded(Item item) {
+						loadItem(item, projectSpace);
+						oldItems.add(item);
+					}
+
+					@Override
+					public void itemLoadFailed(String source,
+							Exception exception) {
+						logger.info("ItemManager Message: Unable to load Item "
+								+ "from " + source + ". It will be skipped.");
+					}
+				});
+				updateIds(oldItems.size());
+			}
 
 		}
 
@@ -635,39 +721,212 @@ public class ItemManager implements ItemListener {
 		if (oldItems != null && !(oldItems.isEmpty())) {
 			// Loop over each Item and load it up
 			for (Item item : oldItems) {
-				// Reconstruct the Item to use the proper subclass by
-				// searching the builders for the builder with the
-				// appropriate name.
-				if (itemBuilderList.containsKey(item.getItemBuilderName())) {
-					ItemBuilder builder = itemBuilderList
-							.get(item.getItemBuilderName());
-					rebuildItem(builder, item, projectSpace);
-				} else {
-					logger.info("ItemManager Message: "
-							+ "Builder not found for " + item.getName() + " "
-							+ item.getId() + " with builder "
-							+ item.getItemBuilderName()
-							+ ". It will be disabled.");
-					// Otherwise just put the Item in the list, but disable
-					// it. It can still be read, just not processed.
-					item.disable(true);
-					itemList.put(item.getId(), item);
+				loadItem(item, projectSpace);
+			}
+		}
+		updateIds((oldItems != null) ? oldItems.size() : 0);
+
+		return;
+	}
+
+	/**
+	 * This operation loads a single persisted Item into the ItemManager by
+	 * rebuilding it with its builder. If the builder is not available, the
+	 * Item is added as-is, but disabled.
+	 *
+	 * @param item
+	 *            the persisted Item to load. It may not be null.
+	 * @param projectSpace
+	 *            the project space that holds the Item
+	 */
+	private void loadItem(Item item, IProject projectSpace) {
+		Item loadedItem = restoreItem(item, projectSpace);
+		synchronized (indexLock) {
+			itemIndex.remove(loadedItem.getId());
+			softItems.remove(loadedItem.getId());
+			itemList.put(loadedItem.getId(), loadedItem);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation prepares a persisted Item for use by rebuilding it with
+	 * its builder. If the builder is not available, the Item is returned
+	 * as-is, but disabled.
+	 *
+	 * @param item
+	 *            the persisted Item. It may not be null.
+	 * @param projectSpace
+	 *            the project space that holds the Item
+	 * @return the Item that should be managed
+	 */
+	private Item restoreItem(Item item, IProject projectSpace) {
+		// Reconstruct the Item to use the proper subclass by
+		// searching the builders for the builder with the
+		// appropriate name.
+		String builderName = item.getItemBuilderName();
+		ItemBuilder builder = (builderName != null)
+				? itemBuilderList.get(builderName) : null;
+		if (builder != null) {
+			return rebuildItem(builder, item, projectSpace);
+		}
+
+		logger.info("ItemManager Message: " + "Builder not found for "
+				+ item.getName() + " " + item.getId() + " with builder "
+				+ item.getItemBuilderName() + ". It will be disabled.");
+		// Otherwise just use the Item, but disable it. It can still be read,
+		// just not processed.
+		item.disable(true);
+
+		return item;
+	}
+
+	/**
+	 * This operation returns the Item with the specified id. If the Item has
+	 * only been indexed, it is loaded from the persistence provider and held
+	 * softly until it is modified.
+	 *
+	 * @param itemId
+	 *            the id of the Item
+	 * @return the Item or null if there is no Item with the id or it could not
+	 *         be loaded
+	 */
+	private Item getItem(int itemId) {
+
+		// Check the managed Items first
+		Item item = itemList.get(itemId);
+		if (item == null && itemIndex.containsKey(itemId)) {
+			item = getSoftItem(itemId);
+			if (item == null) {
+				synchronized (indexLock) {
+					// Check again in case another thread loaded it
+					item = itemList.get(itemId);
+					if (item == null) {
+						item = getSoftItem(itemId);
+					}
+					if (item == null && itemIndex.containsKey(itemId)) {
+						item = hydrateItem(itemId);
+					}
+				}
+			}
+		}
+
+		return item;
+	}
+
+	/**
+	 * This operation returns the Item with the specified id and makes sure
+	 * that it is held by the ItemManager until it is deleted. It should be
+	 * used instead of getItem() by operations that modify the Item.
+	 *
+	 * @param itemId
+	 *            the id of the Item
+	 * @return the Item or null if there is no Item with the id or it could not
+	 *         be loaded
+	 */
+	private Item pinItem(int itemId) {
+
+		Item item = itemList.get(itemId);
+		if (item == null && itemIndex.containsKey(itemId)) {
+			synchronized (indexLock) {
+				item = getItem(itemId);
+				if (item != null) {
+					itemList.put(itemId, item);
+					itemIndex.remove(itemId);
+					softItems.remove(itemId);
 				}
 			}
-			// Get the keys from the map and sort them
+		}
+
+		return item;
+	}
+
+	/**
+	 * This operation returns the Item with the specified id from the soft
+	 * cache if it is there and has not been reclaimed.
+	 *
+	 * @param itemId
+	 *            the id of the Item
+	 * @return the Item or null if it is not in the cache
+	 */
+	private Item getSoftItem(int itemId) {
+		SoftReference<Item> reference = softItems.get(itemId);
+		return (reference != null) ? reference.get() : null;
+	}
+
+	/**
+	 * This operation loads an indexed Item from the persistence provider and
+	 * puts it in the soft cache. It must be called while holding the
+	 * indexLock.
+	 *
+	 * @param itemId
+	 *            the id of the Item
+	 * @return the Item or null if it could not be loaded
+	 */
+	private Item hydrateItem(int itemId) {
+
+		Item item = null;
+
+		Item persistedItem = (provider != null) ? provider.loadItem(itemId)
+				: null;
+		if (persistedItem != null) {
+			item = restoreItem(persistedItem, loadedProject);
+			softItems.put(itemId, new SoftReference<Item>(item));
+			logger.debug("ItemManager Message: Loaded Item " + itemId
+					+ " from the persistence provider.");
+		} else {
+			logger.info("ItemManager Message: Unable to load Item " + itemId
+					+ " from the persistence provider.");
+		}
+
+		return item;
+	}
+
+	/**
+	 * This operation returns all of the Items that are currently in memory,
+	 * which are the Items in the itemList and the Items in the soft cache that
+	 * have not been reclaimed.
+	 *
+	 * @return the Items
+	 */
+	private ArrayList<Item> getLoadedItems() {
+		ArrayList<Item> items = new ArrayList<Item>(itemList.values());
+		for (SoftReference<Item> reference : softItems.values()) {
+			Item item = reference.get();
+			if (item != null) {
+				items.add(item);
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * This operation updates the next sequential id and the list of reusable
+	 * ids after Items have been loaded.
+	 *
+	 * @param numLoaded
+	 *            the number of persisted Items that were loaded or indexed
+	 */
+	private void updateIds(int numLoaded) {
+		if (numLoaded > 0) {
+			// Get the keys from the maps and sort them
 			TreeSet<Integer> keys = new TreeSet<Integer>(itemList.keySet());
-			// Set the next sequential id such that it is equal to one plus
-			// the last id in the set of Items from the provider. This will
-			// keep any new items from possibly colliding with old ones in
-			// the map.
-			nextSequentialId = keys.last() + 1;
-			// Loop over the set of ids and figure out if there are any
-			// gaps, which can be reused to keep the ids from fragmenting.
-			for (int i = 1; i < nextSequentialId; i++) {
-				// If the set doesn't contain i, add it to the reusable id
-				// list
-				if (!keys.contains(i)) {
-					reusableIds.add(i);
+			keys.addAll(itemIndex.keySet());
+			synchronized (reusableIds) {
+				// Set the next sequential id such that it is equal to one
+				// plus the last id in the set of Items from the provider.
+				// This will keep any new items from possibly colliding with
+				// old ones in the map.
+				nextSequentialId = keys.last() + 1;
+				// Loop over the set of ids and figure out if there are any
+				// gaps, which can be reused to keep the ids from fragmenting.
+				for (int i = 1; i < nextSequentialId; i++) {
+					// If the set doesn't contain i, add it to the reusable id
+					// list
+					if (!keys.contains(i)) {
+						reusableIds.add(i);
+					}
 				}
 			}
 		} else {
@@ -705,7 +964,7 @@ public class ItemManager implements ItemListener {
 		if (provider != null) {
 			logger.info("ItemManager Message: Updating all Items with "
 					+ "Persistence Provider.");
-			for (Item item : itemList.values()) {
+			for (Item item : getLoadedItems()) {
 				logger.info("ItemManager Message: Persisting " + item.getName());
 				provider.updateItem(item);
 			}
@@ -740,8 +999,9 @@ public class ItemManager implements ItemListener {
 		// Local Declarations
 		File outputFile = null;
 
-		if (itemList.containsKey(id)) {
-			outputFile = itemList.get(id).getOutputFile();
+		Item item = getItem(id);
+		if (item != null) {
+			outputFile = item.getOutputFile();
 		}
 
 		return outputFile;
@@ -773,8 +1033,8 @@ public class ItemManager implements ItemListener {
 		FormStatus status = FormStatus.InfoError;
 
 		// Find the item if the id is valid
-		if (itemList.keySet().contains(itemId)) {
-			Item item = itemList.get(itemId);
+		Item item = getItem(itemId);
+		if (item != null) {
 			// Try to cancel the task. This kills all processes regardless of
 			// name for now.
 			status = item.cancelProcess();
@@ -793,7 +1053,7 @@ public class ItemManager implements ItemListener {
 	public void reloadItemData() {
 
 		// Send a reload signal to all of the Items
-		for (Item item : itemList.values()) {
+		for (Item item : getLoadedItems()) {
 			item.reloadProjectData();
 		}
 
@@ -823,11 +1083,10 @@ public class ItemManager implements ItemListener {
 		boolean retVal = false;
 		int itemId = msg.getItemId();
 
-		logger.info("Update Message Item Id is " + itemId);
+		logger.debug("Update Message Item Id is " + itemId);
 		// Push the message if possible
-		if (itemList.containsKey(itemId)) {
-			// Grab the Item
-			Item messagedItem = itemList.get(itemId);
+		Item messagedItem = pinItem(itemId);
+		if (messagedItem != null) {
 			// Post the message
 			retVal = messagedItem.update(msg);
 		}
@@ -848,7 +1107,7 @@ public class ItemManager implements ItemListener {
 		// Direct all of the Items to reload their data
 		logger.info(
 				"ItemManager Message: " + "Reloading all Item project data.");
-		for (Item item : itemList.values()) {
+		for (Item item : getLoadedItems()) {
 			item.reloadProjectData();
 		}
 
@@ -876,6 +1135,15 @@ public class ItemManager implements ItemListener {
 		for (Identifiable i : this.itemList.values()) {
 			items.add(i);
 		}
+		// Describe the Items that have only been indexed with their summaries
+		// so that they are not loaded.
+		for (ItemSummary summary : itemIndex.values()) {
+			ICEObject handle = new ICEObject();
+			handle.setId(summary.getId());
+			handle.setName(summary.getName());
+			handle.setDescription(summary.getDescription());
+			items.add(handle);
+		}
 
 		return items;
 	}
@@ -914,8 +1182,8 @@ public class ItemManager implements ItemListener {
 		id = form.getItemID();
 
 		// Make sure the Id is valid and then find its parent
-		if (itemList.containsKey(id)) {
-			currentItem = itemList.get(id);
+		currentItem = pinItem(id);
+		if (currentItem != null) {
 			status = currentItem.submitForm(form);
 		}
 
@@ -976,7 +1244,7 @@ public class ItemManager implements ItemListener {
 		// Check the Item id and actionName for validity
 		if (itemId > 0 && actionName != null) {
 			// Retrieve the Item from the map if it exists
-			tmpItem = itemList.get(itemId);
+			tmpItem = pinItem(itemId);
 			if (tmpItem != null) {
 				status = tmpItem.process(actionName);
 			}
@@ -1016,19 +1284,27 @@ public class ItemManager implements ItemListener {
 
 		// Try to delete the Item if and only if the Item's id is greater than
 		// zero and it is in the list of Items and set the return value.
-		if (itemID > 0 && this.itemList.containsKey(itemID)) {
+		Item item = (itemID > 0) ? getItem(itemID) : null;
+		if (item != null) {
 			// If the provider exists, delete the Item from the provider
 			if (this.provider != null) {
-				Item item = itemList.get(itemID);
 				logger.info(
 						"ItemManager Message: Deleting Item " + item.getName()
 								+ " " + item.getId() + " from provider");
-				provider.deleteItem(itemList.get(itemID));
+				provider.deleteItem(item);
+			}
+			// Remove the Item from the lists
+			synchronized (indexLock) {
+				softItems.remove(itemID);
+				retVal = (this.itemIndex.remove(itemID) != null);
+				retVal |= (this.itemList.remove(itemID) != null);
 			}
-			// Remove the Item from the list
-			retVal = (this.itemList.remove(itemID) != null || false);
 			// Add the id to the list so that it can be reused
-			reusableIds.add(itemID);
+			if (retVal) {
+				synchronized (reusableIds) {
+					reusableIds.add(itemID);
+				}
+			}
 		}
 
 		return retVal;
@@ -1044,8 +1320,9 @@ public class ItemManager implements ItemListener {
 	 *            The new name of the Item.
 	 */
 	public void renameItem(int itemID, String name) {
-		itemList.get(itemID).setName(name);
-		provider.renameItem(itemList.get(itemID), name);
+		Item item = pinItem(itemID);
+		item.setName(name);
+		provider.renameItem(item, name);
 	}
 
 	/**
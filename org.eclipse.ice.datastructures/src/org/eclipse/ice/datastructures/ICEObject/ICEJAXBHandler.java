@@ -16,10 +16,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
+
+import org.eclipse.ice.datastructures.jaxbclassprovider.JAXBContextRegistry;
 
 /**
  * This class is responsible for reading and writing JAXB-annotated classes into
@@ -46,10 +45,6 @@ public class ICEJAXBHandler {
 	public Object read(ArrayList<Class> classList, InputStream inputStream)
 			throws NullPointerException, JAXBException, IOException {
 
-		// Initialize local variables
-		JAXBContext context;
-		Class[] clazzArray = {};
-
 		// If the input args are null, throw an exception
 		if (classList == null) {
 			throw new NullPointerException("NullPointerException: "
@@ -60,11 +55,10 @@ public class ICEJAXBHandler {
 					+ "inputStream argument can not be null");
 		}
 
-		// Create new instance of object from file and then return it.
-		context = JAXBContext.newInstance(classList.toArray(clazzArray));
-		Unmarshaller unmarshaller = context.createUnmarshaller();
-		// New object created
-		Object dataFromFile = unmarshaller.unmarshal(inputStream);
+		// Create new instance of object from file and then return it. The
+		// context is shared with every other read of the same classes.
+		Object dataFromFile = JAXBContextRegistry.getInstance()
+				.unmarshal(classList, inputStream);
 
 		// Return object
 		return dataFromFile;
@@ -91,9 +85,6 @@ public class ICEJAXBHandler {
 			OutputStream outputStream) throws NullPointerException,
 			JAXBException, IOException {
 
-		JAXBContext jaxbContext = null;
-		Class[] classArray = {};
-
 		// Throw exceptions if input args are null
 		if (dataObject == null) {
 			throw new NullPointerException(
@@ -125,13 +116,9 @@ public class ICEJAXBHandler {
 
 		// Create the context and marshal the data if classes were determined
 		if (classList.size() > 0) {
-			jaxbContext = JAXBContext
-					.newInstance(classList.toArray(classArray));
-			Marshaller marshaller = jaxbContext.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,
-					Boolean.TRUE);
 			// Write to file
-			marshaller.marshal(dataObject, outputStream);
+			JAXBContextRegistry.getInstance().marshal(dataObject, classList,
+					outputStream);
 		}
 
 		return;
@@ -222,26 +222,15 @@ public class ICEObject implements IUpdateable {
 
 	/**
 	 * This protected operation notifies the listeners of the ICEObject that its
-	 * state has changed.
+	 * state has changed. The notifications are delivered by the shared
+	 * {@link NotificationDispatcher}.
 	 */
 	protected void notifyListeners() {
 
 		// Only process the update if there are listeners
 		if (listeners != null && !listeners.isEmpty()) {
-			// Create a thread on which to notify the listeners.
-			Thread notifierThread = new Thread() {
-				@Override
-				public void run() {
-					// Loop over all listeners and update them
-					for (int i = 0; i < listeners.size(); i++) {
-						listeners.get(i).update(ICEObject.this);
-					}
-					return;
-				}
-			};
-
-			// Launch the thread and do the notifications
-			notifierThread.start();
+			NotificationDispatcher.getInstance().notifyListeners(this,
+					listeners);
 		}
 
 		return;
@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.ICEObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The NotificationDispatcher is the shared mechanism that ICEObjects,
+ * AbstractEntries and other IUpdateables use to notify their
+ * IUpdateableListeners. It replaces the practice of launching a new thread for
+ * every notification.
+ * <p>
+ * Notifications are delivered on a small, bounded pool of daemon threads.
+ * Each listener has its own queue of pending sources that is drained by at
+ * most one pool thread at a time, so a listener always receives its updates in
+ * the order in which they were posted. If a source posts a notification while
+ * an earlier notification from the same source is still waiting in a
+ * listener's queue, the two are coalesced since the listener will see the
+ * latest state of the source when the pending update is delivered.
+ * </p>
+ * <p>
+ * Clients that make many changes at once, such as deep copies or bulk loads,
+ * can suspend notifications on the current thread by calling
+ * {@link #suspend()} and {@link #resume()} around the work. All notifications
+ * posted on that thread in between are collected and each source notifies its
+ * listeners exactly once when the outermost suspension is resumed. Calls must
+ * be balanced, so the typical pattern is:
+ * </p>
+ *
+ * <pre>
+ * NotificationDispatcher dispatcher = NotificationDispatcher.getInstance();
+ * dispatcher.suspend();
+ * try {
+ * 	// Make lots of changes
+ * } finally {
+ * 	dispatcher.resume();
+ * }
+ * </pre>
+ *
+ * @author Jay Jay Billings
+ */
+public class NotificationDispatcher {
+
+	/**
+	 * The shared instance used by all ICE data structures.
+	 */
+	private static final NotificationDispatcher instance = new NotificationDispatcher();
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private final Logger logger = LoggerFactory
+			.getLogger(NotificationDispatcher.class);
+
+	/**
+	 * The bounded pool of threads on which listeners are notified.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * The queues of pending sources for each listener that currently has
+	 * undelivered notifications. Listeners are keyed by identity since many
+	 * of them (ICEObjects, for example) override equals() and hashCode() with
+	 * mutable state. A listener is removed from this map as soon as its queue
+	 * is drained. Access must be synchronized on the map.
+	 */
+	private final Map<IUpdateableListener, ListenerQueue> queues;
+
+	/**
+	 * The notifications that have been posted on each thread while
+	 * notifications are suspended on that thread.
+	 */
+	private final ThreadLocal<Batch> batches;
+
+	/**
+	 * The Constructor
+	 */
+	private NotificationDispatcher() {
+
+		// Use a few threads per core, but never fewer than four so that a
+		// slow listener does not starve the others on small machines.
+		int numThreads = Math.max(4,
+				2 * Runtime.getRuntime().availableProcessors());
+
+		// Create the thread factory. The threads must be daemons so that they
+		// do not keep the JVM alive.
+		final AtomicInteger threadCount = new AtomicInteger();
+		ThreadFactory factory = new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable,
+						"ICE Notification Dispatcher "
+								+ threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+
+		// Create the pool and let idle threads die off
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(numThreads,
+				numThreads, 30L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), factory);
+		pool.allowCoreThreadTimeOut(true);
+		executor = pool;
+
+		queues = new IdentityHashMap<IUpdateableListener, ListenerQueue>();
+		batches = new ThreadLocal<Batch>();
+
+		return;
+	}
+
+	/**
+	 * This operation returns the shared NotificationDispatcher.
+	 *
+	 * @return The dispatcher
+	 */
+	public static NotificationDispatcher getInstance() {
+		return instance;
+	}
+
+	/**
+	 * This operation notifies the listeners that the source has changed. The
+	 * notifications are delivered asynchronously, unless notifications have
+	 * been suspended on the calling thread, in which case they are delivered
+	 * when the calling thread resumes notifications.
+	 *
+	 * @param source
+	 *            The IUpdateable that changed and that will be passed to
+	 *            IUpdateableListener.update().
+	 * @param listeners
+	 *            The listeners that should be notified. This list is copied
+	 *            before it is used.
+	 */
+	public void notifyListeners(IUpdateable source,
+			List<IUpdateableListener> listeners) {
+
+		// Only process the update if there are listeners
+		if (source == null || listeners == null || listeners.isEmpty()) {
+			return;
+		}
+
+		// Defer the notification if the thread is in a batch
+		Batch batch = batches.get();
+		if (batch != null) {
+			batch.pending.put(new SourceKey(source), listeners);
+			return;
+		}
+
+		// Otherwise post it to each listener's queue
+		post(source, new ArrayList<IUpdateableListener>(listeners));
+
+		return;
+	}
+
+	/**
+	 * This operation suspends notifications on the calling thread until
+	 * {@link #resume()} is called. Suspensions may be nested and notifications
+	 * are only sent when the outermost suspension is resumed.
+	 */
+	public void suspend() {
+
+		Batch batch = batches.get();
+		if (batch == null) {
+			batch = new Batch();
+			batches.set(batch);
+		}
+		batch.depth++;
+
+		return;
+	}
+
+	/**
+	 * This operation resumes notifications on the calling thread. If this
+	 * call closes the outermost suspension, every source that posted
+	 * notifications while suspended notifies its current listeners once.
+	 */
+	public void resume() {
+
+		Batch batch = batches.get();
+		if (batch == null) {
+			logger.warn("NotificationDispatcher Message: resume() called "
+					+ "without a matching call to suspend().");
+			return;
+		}
+
+		// Flush the batch if this is the outermost suspension
+		batch.depth--;
+		if (batch.depth == 0) {
+			batches.remove();
+			for (Map.Entry<SourceKey, List<IUpdateableListener>> pending : batch.pending
+					.entrySet()) {
+				notifyListeners(pending.getKey().source, pending.getValue());
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns true if notifications are currently suspended on
+	 * the calling thread.
+	 *
+	 * @return True if notifications are suspended, false otherwise
+	 */
+	public boolean isSuspended() {
+		return batches.get() != null;
+	}
+
+	/**
+	 * This operation returns true if every notification that has been posted
+	 * has been delivered. Since a listener's queue is not retired until its
+	 * update() returns, this includes any notifications that the listeners
+	 * posted in turn. Notifications held by threads that have suspended
+	 * notifications are not counted since they have not been posted yet.
+	 *
+	 * @return True if no notifications are waiting or being delivered, false
+	 *         otherwise
+	 */
+	public boolean isIdle() {
+		synchronized (queues) {
+			return queues.isEmpty();
+		}
+	}
+
+	/**
+	 * This operation queues the source for each listener and schedules the
+	 * drain of any queue that is not already being drained.
+	 *
+	 * @param source
+	 *            The source of the update
+	 * @param listeners
+	 *            A private copy of the listeners to notify
+	 */
+	private void post(IUpdateable source, List<IUpdateableListener> listeners) {
+
+		List<ListenerQueue> toSchedule = new ArrayList<ListenerQueue>();
+
+		synchronized (queues) {
+			for (IUpdateableListener listener : listeners) {
+				if (listener == null) {
+					continue;
+				}
+				ListenerQueue queue = queues.get(listener);
+				if (queue == null) {
+					queue = new ListenerQueue(listener);
+					queues.put(listener, queue);
+					toSchedule.add(queue);
+				}
+				// Coalesce the update if this source is already waiting
+				if (queue.pendingSources.add(source)) {
+					queue.sources.add(source);
+				}
+			}
+		}
+
+		// Start draining the new queues
+		for (ListenerQueue queue : toSchedule) {
+			executor.execute(queue);
+		}
+
+		return;
+	}
+
+	/**
+	 * The queue of pending sources for a single listener. It is drained on a
+	 * pool thread and removes itself from the set of queues when empty.
+	 */
+	private class ListenerQueue implements Runnable {
+
+		/**
+		 * The listener that receives the updates.
+		 */
+		private final IUpdateableListener listener;
+
+		/**
+		 * The sources waiting to be delivered, in order.
+		 */
+		private final ArrayDeque<IUpdateable> sources = new ArrayDeque<IUpdateable>();
+
+		/**
+		 * The same sources as an identity set for fast coalescing.
+		 */
+		private final Set<IUpdateable> pendingSources = Collections
+				.newSetFromMap(new IdentityHashMap<IUpdateable, Boolean>());
+
+		/**
+		 * The Constructor
+		 *
+		 * @param listener
+		 *            The listener that receives the updates
+		 */
+		private ListenerQueue(IUpdateableListener listener) {
+			this.listener = listener;
+		}
+
+		/**
+		 * This operation delivers the queued updates until the queue is
+		 * empty.
+		 */
+		@Override
+		public void run() {
+
+			while (true) {
+				// Grab the next source or retire the queue
+				IUpdateable source;
+				synchronized (queues) {
+					source = sources.poll();
+					if (source == null) {
+						queues.remove(listener);
+						return;
+					}
+					pendingSources.remove(source);
+				}
+
+				// Notify the listener, making sure that one bad listener
+				// cannot kill the queue.
+				try {
+					listener.update(source);
+				} catch (RuntimeException e) {
+					logger.error("NotificationDispatcher Message: Listener "
+							+ listener + " failed to process an update.", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The notifications collected on a thread while notifications are
+	 * suspended.
+	 */
+	private static class Batch {
+
+		/**
+		 * The suspension depth.
+		 */
+		private int depth = 0;
+
+		/**
+		 * The pending sources, in the order in which they first posted, and
+		 * the live lists of listeners that they will notify.
+		 */
+		private final Map<SourceKey, List<IUpdateableListener>> pending = new LinkedHashMap<SourceKey, List<IUpdateableListener>>();
+	}
+
+	/**
+	 * A key that compares sources by identity so that the LinkedHashMap in
+	 * the Batch keeps insertion order without relying on equals().
+	 */
+	private static class SourceKey {
+
+		/**
+		 * The source.
+		 */
+		private final IUpdateable source;
+
+		/**
+		 * The Constructor
+		 *
+		 * @param source
+		 *            The source
+		 */
+		private SourceKey(IUpdateable source) {
+			this.source = source;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof SourceKey
+					&& ((SourceKey) other).source == source;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(source);
+		}
+	}
+}
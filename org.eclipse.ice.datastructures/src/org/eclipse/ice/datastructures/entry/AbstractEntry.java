@@ -15,6 +15,7 @@ package org.eclipse.ice.datastructures.entry;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -26,6 +27,7 @@ import javax.xml.bind.annotation.XmlTransient;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
+import org.eclipse.ice.datastructures.ICEObject.NotificationDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +52,13 @@ public abstract class AbstractEntry implements IEntry {
 	@XmlTransient
 	protected final Logger logger;
 
+	/**
+	 * The listeners that are notified, on the renaming thread, when the Entry
+	 * is renamed.
+	 */
+	@XmlTransient
+	private final CopyOnWriteArrayList<IEntryNameListener> nameListeners = new CopyOnWriteArrayList<IEntryNameListener>();
+
 	/**
 	 * The unique identification number of the ICEObject.
 	 * 
@@ -195,6 +204,46 @@ public abstract class AbstractEntry implements IEntry {
 		return uniqueId;
 	}
 
+	/**
+	 * This operation registers a listener that is notified, before setName()
+	 * or copy() returns, when the Entry is renamed. A listener is only
+	 * registered once.
+	 * 
+	 * @param listener
+	 *            The listener
+	 */
+	public void addNameListener(IEntryNameListener listener) {
+		if (listener != null) {
+			nameListeners.addIfAbsent(listener);
+		}
+	}
+
+	/**
+	 * This operation unregisters a listener that was registered with
+	 * addNameListener().
+	 * 
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeNameListener(IEntryNameListener listener) {
+		nameListeners.remove(listener);
+	}
+
+	/**
+	 * This operation notifies the name listeners if the name of the Entry has
+	 * changed.
+	 * 
+	 * @param oldName
+	 *            The name of the Entry before it changed
+	 */
+	private void notifyNameListeners(String oldName) {
+		if (objectName != null && !objectName.equals(oldName)) {
+			for (IEntryNameListener listener : nameListeners) {
+				listener.entryRenamed(this, oldName);
+			}
+		}
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -204,7 +253,9 @@ public abstract class AbstractEntry implements IEntry {
 	public void setName(String name) {
 
 		if (name != null) {
+			String oldName = objectName;
 			objectName = name;
+			notifyNameListeners(oldName);
 			// Notify the listeners that the object has changed.
 			notifyListeners();
 		}
@@ -265,7 +316,9 @@ public abstract class AbstractEntry implements IEntry {
 		}
 		// Copy contents of entity to this ICEObject.
 		this.objectDescription = entity.objectDescription;
+		String oldName = this.objectName;
 		this.objectName = entity.objectName;
+		notifyNameListeners(oldName);
 		this.uniqueId = entity.uniqueId;
 		this.comment = entity.comment;
 		this.defaultValue = entity.defaultValue;
@@ -281,7 +334,8 @@ public abstract class AbstractEntry implements IEntry {
 	/**
 	 * <p>
 	 * This protected operation notifies the listeners of the ICEObject that its
-	 * state has changed.
+	 * state has changed. The notifications are delivered by the shared
+	 * {@link NotificationDispatcher}.
 	 * </p>
 	 * 
 	 */
@@ -289,20 +343,8 @@ public abstract class AbstractEntry implements IEntry {
 
 		// Only process the update if there are listeners
 		if (listeners != null && !listeners.isEmpty()) {
-			// Create a thread on which to notify the listeners.
-			Thread notifierThread = new Thread() {
-				@Override
-				public void run() {
-					// Loop over all listeners and update them
-					for (int i = 0; i < listeners.size(); i++) {
-						listeners.get(i).update(AbstractEntry.this);
-					}
-					return;
-				}
-			};
-
-			// Launch the thread and do the notifications
-			notifierThread.start();
+			NotificationDispatcher.getInstance().notifyListeners(this,
+					listeners);
 		}
 
 		return;
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.entry;
+
+/**
+ * <p>
+ * The IEntryNameListener interface is realized by containers that index their
+ * Entries by name, like the DataComponent. Unlike the IUpdateableListener,
+ * which is notified asynchronously through the NotificationDispatcher, it is
+ * notified on the thread that renames the Entry before setName() returns, so
+ * the index is never stale.
+ * </p>
+ * 
+ * @author Jay Jay Billings
+ */
+public interface IEntryNameListener {
+
+	/**
+	 * This operation notifies the listener that an Entry was renamed.
+	 * 
+	 * @param entry
+	 *            The Entry that was renamed
+	 * @param oldName
+	 *            The name of the Entry before it was renamed
+	 */
+	public void entryRenamed(IEntry entry, String oldName);
+
+}
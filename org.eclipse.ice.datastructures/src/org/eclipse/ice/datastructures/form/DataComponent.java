@@ -13,17 +13,26 @@
 package org.eclipse.ice.datastructures.form;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import javax.xml.bind.annotation.XmlAnyElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
+import org.eclipse.ice.datastructures.ICEObject.NotificationDispatcher;
 import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
+import org.eclipse.ice.datastructures.entry.AbstractEntry;
 import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.IEntryNameListener;
 
 /**
  * <p>
@@ -32,6 +41,12 @@ import org.eclipse.ice.datastructures.entry.IEntry;
  * Entries that are related to each other in some way and to accept updates from
  * dispatched from the Registry.
  * </p>
+ * <p>
+ * Entries are found by name with a hash index that is updated as Entries are
+ * added, removed and renamed, so lookups take constant time and never change
+ * the DataComponent. If several Entries have the same name, the first one in
+ * the list is found, just as if the list was searched.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -45,6 +60,159 @@ public class DataComponent extends ICEObject
 	@XmlAnyElement(lax = true)
 	private ArrayList<IEntry> entries;
 
+	/**
+	 * The index of the Entries by name, which holds the first Entry with each
+	 * name. It is only changed by the threads that change the list of Entries
+	 * or rename an Entry, never by the threads that look Entries up.
+	 */
+	@XmlTransient
+	private volatile ConcurrentHashMap<String, IEntry> entryIndex = new ConcurrentHashMap<String, IEntry>();
+
+	/**
+	 * The lock that is held while the index is changed.
+	 */
+	@XmlTransient
+	private final Object indexLock = new Object();
+
+	/**
+	 * The listener that updates the index when one of the Entries is renamed.
+	 * Only the DataComponents that hold the Entry are notified.
+	 */
+	@XmlTransient
+	private final IEntryNameListener nameListener = new IEntryNameListener() {
+		@Override
+		public void entryRenamed(IEntry entry, String oldName) {
+			synchronized (indexLock) {
+				removeFromIndex(entry, oldName);
+				addToIndex(entry);
+			}
+		}
+	};
+
+	/**
+	 * <p>
+	 * The list that stores the Entries. It updates the name index whenever it
+	 * is changed, even if it is changed through the reference returned by
+	 * retrieveAllEntries(). Single Entries are added to and removed from the
+	 * index one at a time. Bulk changes rebuild it.
+	 * </p>
+	 */
+	private class EntryList extends ArrayList<IEntry> {
+
+		/**
+		 * The serial version id.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public boolean add(IEntry entry) {
+			boolean added = super.add(entry);
+			entryAdded(entry);
+			return added;
+		}
+
+		@Override
+		public void add(int index, IEntry entry) {
+			super.add(index, entry);
+			entryAdded(entry);
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends IEntry> newEntries) {
+			boolean added = super.addAll(newEntries);
+			for (IEntry entry : newEntries) {
+				entryAdded(entry);
+			}
+			return added;
+		}
+
+		@Override
+		public boolean addAll(int index,
+				Collection<? extends IEntry> newEntries) {
+			boolean added = super.addAll(index, newEntries);
+			for (IEntry entry : newEntries) {
+				entryAdded(entry);
+			}
+			return added;
+		}
+
+		@Override
+		public IEntry set(int index, IEntry entry) {
+			IEntry oldEntry = super.set(index, entry);
+			entryRemoved(oldEntry);
+			entryAdded(entry);
+			return oldEntry;
+		}
+
+		@Override
+		public IEntry remove(int index) {
+			IEntry oldEntry = super.remove(index);
+			entryRemoved(oldEntry);
+			return oldEntry;
+		}
+
+		@Override
+		public boolean remove(Object entry) {
+			int index = indexOf(entry);
+			if (index < 0) {
+				return false;
+			}
+			remove(index);
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			ArrayList<IEntry> oldEntries = new ArrayList<IEntry>(this);
+			super.clear();
+			entriesChanged(oldEntries);
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> oldEntries) {
+			ArrayList<IEntry> previousEntries = new ArrayList<IEntry>(this);
+			boolean removed = super.removeAll(oldEntries);
+			entriesChanged(previousEntries);
+			return removed;
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> keptEntries) {
+			ArrayList<IEntry> previousEntries = new ArrayList<IEntry>(this);
+			boolean removed = super.retainAll(keptEntries);
+			entriesChanged(previousEntries);
+			return removed;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super IEntry> filter) {
+			ArrayList<IEntry> previousEntries = new ArrayList<IEntry>(this);
+			boolean removed = super.removeIf(filter);
+			entriesChanged(previousEntries);
+			return removed;
+		}
+
+		@Override
+		public void replaceAll(UnaryOperator<IEntry> operator) {
+			ArrayList<IEntry> previousEntries = new ArrayList<IEntry>(this);
+			super.replaceAll(operator);
+			entriesChanged(previousEntries);
+		}
+
+		@Override
+		public void sort(Comparator<? super IEntry> comparator) {
+			super.sort(comparator);
+			entriesChanged(new ArrayList<IEntry>(this));
+		}
+
+		@Override
+		protected void removeRange(int fromIndex, int toIndex) {
+			ArrayList<IEntry> previousEntries = new ArrayList<IEntry>(this);
+			super.removeRange(fromIndex, toIndex);
+			entriesChanged(previousEntries);
+		}
+	}
+
 	/**
 	 * <p>
 	 * The Constructor
@@ -54,10 +222,154 @@ public class DataComponent extends ICEObject
 	public DataComponent() {
 
 		// Setup the list of Entries
-		entries = new ArrayList<IEntry>();
+		entries = new EntryList();
 
 	}
 
+	/**
+	 * This operation updates the index after an Entry was added to the list.
+	 * 
+	 * @param entry
+	 *            The Entry
+	 */
+	private void entryAdded(IEntry entry) {
+		if (entry != null) {
+			synchronized (indexLock) {
+				if (entry instanceof AbstractEntry) {
+					((AbstractEntry) entry).addNameListener(nameListener);
+				}
+				addToIndex(entry);
+			}
+		}
+	}
+
+	/**
+	 * This operation updates the index after an Entry was removed from the
+	 * list.
+	 * 
+	 * @param entry
+	 *            The Entry
+	 */
+	private void entryRemoved(IEntry entry) {
+		if (entry != null) {
+			synchronized (indexLock) {
+				if (indexOfEntry(entry) >= 0) {
+					// The same Entry is still in the list somewhere else
+					rebuildIndex();
+				} else {
+					if (entry instanceof AbstractEntry) {
+						((AbstractEntry) entry)
+								.removeNameListener(nameListener);
+					}
+					removeFromIndex(entry, entry.getName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * This operation rebuilds the index after a bulk change to the list.
+	 * 
+	 * @param previousEntries
+	 *            The Entries that were in the list before it changed
+	 */
+	private void entriesChanged(ArrayList<IEntry> previousEntries) {
+		synchronized (indexLock) {
+			for (IEntry entry : previousEntries) {
+				if (entry instanceof AbstractEntry) {
+					((AbstractEntry) entry).removeNameListener(nameListener);
+				}
+			}
+			for (IEntry entry : entries) {
+				if (entry instanceof AbstractEntry) {
+					((AbstractEntry) entry).addNameListener(nameListener);
+				}
+			}
+			rebuildIndex();
+		}
+	}
+
+	/**
+	 * This operation replaces the index with a new one built from the list.
+	 * The lock must be held.
+	 */
+	private void rebuildIndex() {
+		ConcurrentHashMap<String, IEntry> index = new ConcurrentHashMap<String, IEntry>(
+				entries.size() * 2);
+		for (IEntry entry : entries) {
+			String name = (entry != null) ? entry.getName() : null;
+			if (name != null) {
+				index.putIfAbsent(name, entry);
+			}
+		}
+		entryIndex = index;
+	}
+
+	/**
+	 * This operation indexes an Entry under its name if it is the first Entry
+	 * in the list with that name. The lock must be held.
+	 * 
+	 * @param entry
+	 *            The Entry
+	 */
+	private void addToIndex(IEntry entry) {
+		String name = entry.getName();
+		if (name != null) {
+			IEntry indexedEntry = entryIndex.putIfAbsent(name, entry);
+			if (indexedEntry != null && indexedEntry != entry) {
+				int position = indexOfEntry(entry);
+				if (position >= 0 && position < indexOfEntry(indexedEntry)) {
+					entryIndex.put(name, entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This operation removes an Entry from the index under the given name and
+	 * indexes the next Entry in the list with that name instead, if there is
+	 * one. The lock must be held.
+	 * 
+	 * @param entry
+	 *            The Entry
+	 * @param name
+	 *            The name under which it may be indexed
+	 */
+	private void removeFromIndex(IEntry entry, String name) {
+		if (name != null && entryIndex.get(name) == entry) {
+			IEntry nextEntry = null;
+			for (IEntry otherEntry : entries) {
+				if (otherEntry != entry && otherEntry != null
+						&& name.equals(otherEntry.getName())) {
+					nextEntry = otherEntry;
+					break;
+				}
+			}
+			if (nextEntry != null) {
+				entryIndex.put(name, nextEntry);
+			} else {
+				entryIndex.remove(name);
+			}
+		}
+	}
+
+	/**
+	 * This operation finds an Entry in the list by identity instead of by
+	 * equality.
+	 * 
+	 * @param entry
+	 *            The Entry
+	 * @return The position of the Entry or -1 if it is not in the list
+	 */
+	private int indexOfEntry(IEntry entry) {
+		for (int i = 0; i < entries.size(); i++) {
+			if (entries.get(i) == entry) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * <p>
 	 * This operation adds an entry to the DataComponent.
@@ -81,6 +393,38 @@ public class DataComponent extends ICEObject
 
 	}
 
+	/**
+	 * <p>
+	 * This operation adds a set of Entries to the DataComponent. It is
+	 * equivalent to calling {@link #addEntry(IEntry)} for each Entry, but the
+	 * listeners of the DataComponent are only notified once.
+	 * </p>
+	 * 
+	 * @param newEntries
+	 *            <p>
+	 *            The new Entries that will be added to the Form. Null Entries
+	 *            are ignored.
+	 *            </p>
+	 */
+	public void addEntries(Collection<? extends IEntry> newEntries) {
+
+		// Add the Entries if there are any
+		if (newEntries != null && !newEntries.isEmpty()) {
+			NotificationDispatcher dispatcher = NotificationDispatcher
+					.getInstance();
+			dispatcher.suspend();
+			try {
+				for (IEntry newEntry : newEntries) {
+					addEntry(newEntry);
+				}
+			} finally {
+				dispatcher.resume();
+			}
+		}
+
+		return;
+	}
+
 	/**
 	 * <p>
 	 * This operation adds an Entry to the DataComponent and specifies the name
@@ -170,14 +514,7 @@ public class DataComponent extends ICEObject
 	 *         </p>
 	 */
 	public IEntry retrieveEntry(String entryName) {
-
-		for (IEntry j : entries) {
-			if (j.getName().equals(entryName)) {
-				return j;
-			}
-		}
-
-		return null;
+		return (entryName != null) ? entryIndex.get(entryName) : null;
 	}
 
 	/**
@@ -243,14 +580,7 @@ public class DataComponent extends ICEObject
 	 *         </p>
 	 */
 	public boolean contains(String entryName) {
-
-		for (IEntry i : entries) {
-			if (i.getName().equals(entryName)) {
-				return true;
-			}
-		}
-
-		return false;
+		return (entryName != null) && entryIndex.containsKey(entryName);
 	}
 
 	/**
@@ -344,18 +674,28 @@ public class DataComponent extends ICEObject
 		// Return if otherDataComponenet is null
 		if (otherDataComponent != null) {
 
-			// Copy contents into super and current object
-			super.copy(otherDataComponent);
-
-			// reset entries
-			entries.clear();
+			// Suspend notifications so that the cloned Entries do not fire
+			// one event each.
+			NotificationDispatcher dispatcher = NotificationDispatcher
+					.getInstance();
+			dispatcher.suspend();
+			try {
+				// Copy contents into super and current object
+				super.copy(otherDataComponent);
+
+				// reset entries
+				entries.clear();
+
+				// Copy entries
+				for (int i = 0; i < otherDataComponent.entries.size(); i++) {
+					entries.add(
+							(IEntry) otherDataComponent.entries.get(i).clone());
+				}
 
-			// Copy entries
-			for (int i = 0; i < otherDataComponent.entries.size(); i++) {
-				entries.add((IEntry) otherDataComponent.entries.get(i).clone());
+				notifyListeners();
+			} finally {
+				dispatcher.resume();
 			}
-
-			notifyListeners();
 		}
 		return;
 	}
@@ -12,7 +12,10 @@
  *******************************************************************************/
 package org.eclipse.ice.datastructures.form;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +42,13 @@ import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
  * an element of a desired set of elements, or the matrix elements must exist
  * within a given range of values.
  * </p>
+ * <p>
+ * The elements are stored in a flat array of doubles in row-major order that
+ * grows geometrically as rows and columns are added. Clients that read or
+ * write many values should use the bulk operations, such as getRowValues() and
+ * setElementValues(), which do not box the values and which notify listeners
+ * only once.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -56,13 +66,35 @@ public class MatrixComponent extends ICEObject implements Component {
 
 	/**
 	 * <p>
-	 * The individual elements of this matrix. This is a list of n*m double
-	 * values for a given matrix of size nxm.
+	 * The individual elements of this matrix. This is an array of at least n*m
+	 * double values for a given matrix of size nxm, stored in row-major order.
+	 * Only the first size values are used.
 	 * </p>
 	 * 
 	 */
-	@XmlElement
-	private ArrayList<Double> elements;
+	@XmlTransient
+	private double[] elements;
+
+	/**
+	 * <p>
+	 * The number of values in the elements array that are in use. It is always
+	 * nRows*nCols except while the matrix is being read from XML.
+	 * </p>
+	 * 
+	 */
+	@XmlTransient
+	private int size;
+
+	/**
+	 * <p>
+	 * A live list view of the elements that is used to persist them. It keeps
+	 * the XML identical to the XML written when the elements were stored in a
+	 * list of Doubles.
+	 * </p>
+	 * 
+	 */
+	@XmlTransient
+	private final ElementList elementList = new ElementList();
 	/**
 	 * <p>
 	 * Reference to the current number of rows in this matrix.
@@ -185,8 +217,8 @@ public class MatrixComponent extends ICEObject implements Component {
 		this.valueType = allowedValueType;
 
 		// Setup a 1x1 matrix.
-		this.elements = new ArrayList<Double>();
-		elements.add(0.0);
+		this.elements = new double[] { 0.0 };
+		this.size = 1;
 		this.nCols = 1;
 		this.nRows = 1;
 
@@ -228,21 +260,20 @@ public class MatrixComponent extends ICEObject implements Component {
 
 		// If there is only 1 element in the list and its not default, delete
 		// the whole entity and reset
-		if (elements.size() == 1 && elements.get(0) != defaultValue) {
-			this.elements = new ArrayList<Double>();
-			this.elements.add(defaultValue);
+		if (size == 1 && elements[0] != defaultValue) {
+			this.elements[0] = defaultValue;
 			return true; // Return
-		} else if (elements.size() == 1 && elements.get(0) == defaultValue) {
+		} else if (size == 1 && elements[0] == defaultValue) {
 			return false; // Nothing to delete, return
 		}
 
 		// If there is only one row, delete whole row, reset to 1x1 matrix, and
 		// return true
-		if (elements.size() == this.nCols) {
+		if (size == this.nCols) {
 			this.nCols = 1;
 			this.nRows = 1;
-			this.elements = new ArrayList<Double>();
-			this.elements.add(defaultValue);
+			this.elements = new double[] { defaultValue };
+			this.size = 1;
 			return true; // Return
 		}
 
@@ -320,11 +351,11 @@ public class MatrixComponent extends ICEObject implements Component {
 		}
 		if (otherMatrixComponent.elements == null) {
 			this.elements = otherMatrixComponent.elements;
+			this.size = 0;
 		} else {
-			this.elements = new ArrayList<Double>();
-			for (int i = 0; i < otherMatrixComponent.elements.size(); i++) {
-				this.elements.add(otherMatrixComponent.elements.get(i));
-			}
+			this.elements = Arrays.copyOf(otherMatrixComponent.elements,
+					otherMatrixComponent.size);
+			this.size = otherMatrixComponent.size;
 		}
 
 		// get other attributes
@@ -398,7 +429,7 @@ public class MatrixComponent extends ICEObject implements Component {
 		retVal = (this.isSquare == castedComponent.isSquare)
 				&& (this.resizable == castedComponent.resizable)
 				&& (this.allowedValues.equals(castedComponent.allowedValues))
-				&& (this.elements.equals(castedComponent.elements))
+				&& elementsEqual(castedComponent)
 				&& (this.nCols == castedComponent.nCols)
 				&& (this.nRows == castedComponent.nRows)
 				&& (this.valueType == castedComponent.valueType);
@@ -436,9 +467,15 @@ public class MatrixComponent extends ICEObject implements Component {
 			hash = 31 * hash + this.allowedValues.hashCode();
 		}
 
-		// if elements are not null
+		// if elements are not null. This matches the hash of a list of the
+		// same values.
 		if (this.elements != null) {
-			hash = 31 * hash + this.elements.hashCode();
+			int elementHash = 1;
+			for (int i = 0; i < size; i++) {
+				long bits = Double.doubleToLongBits(elements[i]);
+				elementHash = 31 * elementHash + (int) (bits ^ (bits >>> 32));
+			}
+			hash = 31 * hash + elementHash;
 		}
 
 		// Value type
@@ -532,21 +569,20 @@ public class MatrixComponent extends ICEObject implements Component {
 
 		// If there is only 1 element in the list and its not default, delete
 		// the whole entity and reset
-		if (elements.size() == 1 && elements.get(0) != defaultValue) {
-			this.elements = new ArrayList<Double>();
-			this.elements.add(defaultValue);
+		if (size == 1 && elements[0] != defaultValue) {
+			this.elements[0] = defaultValue;
 			return true; // Return
-		} else if (elements.size() == 1 && elements.get(0) == defaultValue) {
+		} else if (size == 1 && elements[0] == defaultValue) {
 			return false; // Nothing to delete, return
 		}
 
 		// If there is only one col, delete whole col, reset to 1x1 matrix, and
 		// return true
-		if (elements.size() == this.nRows) {
+		if (size == this.nRows) {
 			this.nCols = 1;
 			this.nRows = 1;
-			this.elements = new ArrayList<Double>();
-			this.elements.add(defaultValue);
+			this.elements = new double[] { defaultValue };
+			this.size = 1;
 			return true; // Return
 		}
 
@@ -622,7 +658,7 @@ public class MatrixComponent extends ICEObject implements Component {
 			return false;
 		}
 
-		elements.set(nCols * rowIndex + colIndex, value);
+		elements[nCols * rowIndex + colIndex] = value;
 
 		// notify listeners
 		this.notifyListeners();
@@ -667,7 +703,7 @@ public class MatrixComponent extends ICEObject implements Component {
 			return null;
 		}
 
-		return this.elements.get(nCols * rowIndex + colIndex);
+		return this.elements[nCols * rowIndex + colIndex];
 
 	}
 
@@ -708,11 +744,11 @@ public class MatrixComponent extends ICEObject implements Component {
 		// This should not happen, but this is a safety feature. Values can only
 		// be set IFF there is
 		// only a fresh matrix
-		if (this.elements.size() > 1 || this.elements.isEmpty()) {
+		if (size > 1 || size == 0) {
 			return;
 		}
 
-		elements.set(0, values.get(0));
+		elements[0] = values.get(0);
 
 		// Set values - Do a copy
 		this.allowedValues = new ArrayList<Double>();
@@ -736,8 +772,8 @@ public class MatrixComponent extends ICEObject implements Component {
 		this.valueType = AllowedValueType.Undefined;
 
 		// Setup a 1x1 matrix.
-		this.elements = new ArrayList<Double>();
-		elements.add(0.0);
+		this.elements = new double[] { 0.0 };
+		this.size = 1;
 		this.nCols = 1;
 		this.nRows = 1;
 
@@ -760,8 +796,8 @@ public class MatrixComponent extends ICEObject implements Component {
 		this.valueType = AllowedValueType.Undefined;
 
 		// Setup a 1x1 matrix.
-		this.elements = new ArrayList<Double>();
-		elements.add(0.0);
+		this.elements = new double[] { 0.0 };
+		this.size = 1;
 		this.nCols = 1;
 		this.nRows = 1;
 
@@ -791,14 +827,14 @@ public class MatrixComponent extends ICEObject implements Component {
 		}
 
 		// create a new double array
-		rowArray = new ArrayList<Double>();
+		rowArray = new ArrayList<Double>(this.nCols);
 
 		// Figure out where in the elements list the item is
 		placeInElements = this.nCols * index;
 
 		// copy contents of row
 		for (int i = placeInElements; i < this.nCols * (index + 1); i++) {
-			rowArray.add(this.elements.get(i));
+			rowArray.add(this.elements[i]);
 		}
 
 		// return array
@@ -807,7 +843,8 @@ public class MatrixComponent extends ICEObject implements Component {
 
 	/**
 	 * <p>
-	 * Get a column of values at the given index.
+	 * Get a column of values at the given index. The values are ordered by
+	 * row.
 	 * </p>
 	 * 
 	 * @param index
@@ -821,7 +858,6 @@ public class MatrixComponent extends ICEObject implements Component {
 	public ArrayList<Double> getColumn(int index) {
 		// Local declarations
 		ArrayList<Double> colArray;
-		int placeInElements = -1;
 
 		// If the index is negative or out of range, return null
 		if (index < 0 || index >= nCols) {
@@ -829,20 +865,403 @@ public class MatrixComponent extends ICEObject implements Component {
 		}
 
 		// create a new double array
-		colArray = new ArrayList<Double>();
+		colArray = new ArrayList<Double>(this.nRows);
 
-		// Figure out where in the elements list the item is
-		placeInElements = this.nRows * index;
-
-		// copy contents of row
-		for (int i = placeInElements; i < this.nRows * (index + 1); i++) {
-			colArray.add(this.elements.get(i));
+		// copy the value from each row
+		for (int i = index; i < this.nRows * this.nCols; i += this.nCols) {
+			colArray.add(this.elements[i]);
 		}
 
 		// return array
 		return colArray;
 	}
 
+	/**
+	 * <p>
+	 * Copies the row at the given index into an array without boxing the
+	 * values. The array is reused if it is large enough, so clients that read
+	 * every row can avoid allocating a new array for each one.
+	 * </p>
+	 * 
+	 * @param index
+	 *            <p>
+	 *            The index of the row.
+	 *            </p>
+	 * @param values
+	 *            <p>
+	 *            The array to fill. A new array is created if it is null or
+	 *            shorter than the number of columns.
+	 *            </p>
+	 * @return <p>
+	 *         The array holding the row or null if the index is out of range.
+	 *         </p>
+	 */
+	public double[] getRowValues(int index, double[] values) {
+
+		// If the index is negative or out of range, return null
+		if (index < 0 || index >= nRows) {
+			return null;
+		}
+
+		double[] rowValues = (values != null && values.length >= nCols)
+				? values : new double[nCols];
+		System.arraycopy(elements, nCols * index, rowValues, 0, nCols);
+
+		return rowValues;
+	}
+
+	/**
+	 * <p>
+	 * Copies the column at the given index into an array without boxing the
+	 * values. The array is reused if it is large enough.
+	 * </p>
+	 * 
+	 * @param index
+	 *            <p>
+	 *            The index of the column.
+	 *            </p>
+	 * @param values
+	 *            <p>
+	 *            The array to fill. A new array is created if it is null or
+	 *            shorter than the number of rows.
+	 *            </p>
+	 * @return <p>
+	 *         The array holding the column or null if the index is out of
+	 *         range.
+	 *         </p>
+	 */
+	public double[] getColumnValues(int index, double[] values) {
+
+		// If the index is negative or out of range, return null
+		if (index < 0 || index >= nCols) {
+			return null;
+		}
+
+		double[] colValues = (values != null && values.length >= nRows)
+				? values : new double[nRows];
+		for (int i = 0; i < nRows; i++) {
+			colValues[i] = elements[nCols * i + index];
+		}
+
+		return colValues;
+	}
+
+	/**
+	 * <p>
+	 * Copies all of the elements of the matrix into an array in row-major
+	 * order without boxing the values. The array is reused if it is large
+	 * enough.
+	 * </p>
+	 * 
+	 * @param values
+	 *            <p>
+	 *            The array to fill. A new array is created if it is null or
+	 *            shorter than the number of elements.
+	 *            </p>
+	 * @return <p>
+	 *         The array holding the elements.
+	 *         </p>
+	 */
+	public double[] getElementValues(double[] values) {
+		int count = nRows * nCols;
+		double[] allValues = (values != null && values.length >= count)
+				? values : new double[count];
+		System.arraycopy(elements, 0, allValues, 0, count);
+		return allValues;
+	}
+
+	/**
+	 * <p>
+	 * Sets every value in the row at the given index and notifies listeners
+	 * once. Nothing is changed if any of the values is not allowed.
+	 * </p>
+	 * 
+	 * @param index
+	 *            <p>
+	 *            The index of the row.
+	 *            </p>
+	 * @param values
+	 *            <p>
+	 *            The new values of the row. There must be one for each column.
+	 *            </p>
+	 * @return <p>
+	 *         True if the row was set, false otherwise.
+	 *         </p>
+	 */
+	public boolean setRowValues(int index, double[] values) {
+
+		// Return if the index or the values are bad
+		if (index < 0 || index >= nRows || values == null
+				|| values.length != nCols || !areAllowed(values)) {
+			return false;
+		}
+
+		System.arraycopy(values, 0, elements, nCols * index, nCols);
+
+		// notify listeners
+		this.notifyListeners();
+
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Sets every value in the column at the given index and notifies
+	 * listeners once. Nothing is changed if any of the values is not allowed.
+	 * </p>
+	 * 
+	 * @param index
+	 *            <p>
+	 *            The index of the column.
+	 *            </p>
+	 * @param values
+	 *            <p>
+	 *            The new values of the column. There must be one for each row.
+	 *            </p>
+	 * @return <p>
+	 *         True if the column was set, false otherwise.
+	 *         </p>
+	 */
+	public boolean setColumnValues(int index, double[] values) {
+
+		// Return if the index or the values are bad
+		if (index < 0 || index >= nCols || values == null
+				|| values.length != nRows || !areAllowed(values)) {
+			return false;
+		}
+
+		for (int i = 0; i < nRows; i++) {
+			elements[nCols * i + index] = values[i];
+		}
+
+		// notify listeners
+		this.notifyListeners();
+
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Sets every element of the matrix from an array in row-major order and
+	 * notifies listeners once. Nothing is changed if any of the values is not
+	 * allowed.
+	 * </p>
+	 * 
+	 * @param values
+	 *            <p>
+	 *            The new values. There must be exactly one for each element.
+	 *            </p>
+	 * @return <p>
+	 *         True if the elements were set, false otherwise.
+	 *         </p>
+	 */
+	public boolean setElementValues(double[] values) {
+
+		// Return if the values are bad
+		if (values == null || values.length != nRows * nCols
+				|| !areAllowed(values)) {
+			return false;
+		}
+
+		System.arraycopy(values, 0, elements, 0, values.length);
+
+		// notify listeners
+		this.notifyListeners();
+
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Private operation that checks values against the allowed values of this
+	 * matrix. It returns false if the allowed values are required but have
+	 * not been set.
+	 * </p>
+	 * 
+	 * @param values
+	 *            <p>
+	 *            The values to check.
+	 *            </p>
+	 * @return <p>
+	 *         True if every value is allowed, false otherwise.
+	 *         </p>
+	 */
+	private boolean areAllowed(double[] values) {
+
+		// Nothing is allowed if the allowed values are needed but not set
+		if (this.valueType != AllowedValueType.Undefined
+				&& this.allowedValues == null) {
+			return false;
+		}
+
+		if (this.valueType == AllowedValueType.Continuous) {
+			double lower = this.allowedValues.get(0);
+			double upper = this.allowedValues.get(1);
+			for (double value : values) {
+				if (value < lower || value > upper) {
+					return false;
+				}
+			}
+		} else if (this.valueType == AllowedValueType.Discrete) {
+			for (double value : values) {
+				if (!this.allowedValues.contains(value)) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Private operation that grows the elements array so that it holds at
+	 * least the given number of values. The array at least doubles in size
+	 * when it grows so that adding rows and columns is cheap on average.
+	 * </p>
+	 * 
+	 * @param capacity
+	 *            <p>
+	 *            The number of values that must fit.
+	 *            </p>
+	 */
+	private void ensureCapacity(int capacity) {
+		if (elements == null) {
+			elements = new double[Math.max(capacity, 1)];
+		} else if (elements.length < capacity) {
+			elements = Arrays.copyOf(elements,
+					Math.max(capacity, 2 * elements.length));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Private operation that compares the elements of this matrix to those of
+	 * another. Values are compared the same way that Double.equals() compares
+	 * them.
+	 * </p>
+	 * 
+	 * @param other
+	 *            <p>
+	 *            The other matrix.
+	 *            </p>
+	 * @return <p>
+	 *         True if the elements are equal, false otherwise.
+	 *         </p>
+	 */
+	private boolean elementsEqual(MatrixComponent other) {
+		if (elements == null || other.elements == null) {
+			return elements == other.elements;
+		} else if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (Double.doubleToLongBits(elements[i]) != Double
+					.doubleToLongBits(other.elements[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Returns the live list view of the elements that JAXB uses to write and
+	 * read them.
+	 * </p>
+	 * 
+	 * @return <p>
+	 *         The elements as a list.
+	 *         </p>
+	 */
+	@XmlElement(name = "elements")
+	private List<Double> getElementList() {
+		return elementList;
+	}
+
+	/**
+	 * <p>
+	 * Replaces the elements with the values in a list. This is only used by
+	 * JAXB.
+	 * </p>
+	 * 
+	 * @param values
+	 *            <p>
+	 *            The values.
+	 *            </p>
+	 */
+	private void setElementList(List<Double> values) {
+		if (values != elementList) {
+			elementList.clear();
+			elementList.addAll(values);
+		}
+	}
+
+	/**
+	 * <p>
+	 * A list view of the elements array. It boxes values on demand and is only
+	 * used for persistence.
+	 * </p>
+	 * 
+	 */
+	private class ElementList extends AbstractList<Double> {
+
+		@Override
+		public Double get(int index) {
+			checkIndex(index, size);
+			return elements[index];
+		}
+
+		@Override
+		public Double set(int index, Double value) {
+			checkIndex(index, size);
+			double oldValue = elements[index];
+			elements[index] = value;
+			return oldValue;
+		}
+
+		@Override
+		public void add(int index, Double value) {
+			checkIndex(index, size + 1);
+			ensureCapacity(size + 1);
+			System.arraycopy(elements, index, elements, index + 1,
+					size - index);
+			elements[index] = value;
+			size++;
+		}
+
+		@Override
+		public Double remove(int index) {
+			checkIndex(index, size);
+			double oldValue = elements[index];
+			System.arraycopy(elements, index + 1, elements, index,
+					size - index - 1);
+			size--;
+			return oldValue;
+		}
+
+		@Override
+		public void clear() {
+			size = 0;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Throws an IndexOutOfBoundsException if the index is not less than
+		 * the limit.
+		 */
+		private void checkIndex(int index, int limit) {
+			if (index < 0 || index >= limit) {
+				throw new IndexOutOfBoundsException(
+						"Index: " + index + ", Size: " + size);
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * Private operation to add or remove a row to the array of double valued
@@ -858,7 +1277,6 @@ public class MatrixComponent extends ICEObject implements Component {
 	private void resizeRow(boolean addOrRemove) {
 
 		// Local Declaration
-		int i, j;
 		double defaultValue = 0.0;
 
 		// Get the defaultValue
@@ -867,20 +1285,19 @@ public class MatrixComponent extends ICEObject implements Component {
 			defaultValue = this.allowedValues.get(0);
 		}
 
-		// If true, add to the arraylist
+		// If true, add to the array
 		if (addOrRemove) {
 
 			// Add for the number of columns
-			for (i = 0; i < this.nCols; i++) {
-				this.elements.add(defaultValue);
-			}
+			ensureCapacity(this.size + this.nCols);
+			Arrays.fill(this.elements, this.size, this.size + this.nCols,
+					defaultValue);
+			this.size += this.nCols;
 			// Add to the row
 			this.nRows += 1;
 		} else {
 			// Remove for the number of columns
-			for (i = 0; i < this.nCols; i++) {
-				this.elements.remove(this.elements.size() - 1);
-			}
+			this.size -= this.nCols;
 			// Remove a row
 			this.nRows -= 1;
 		}
@@ -901,7 +1318,7 @@ public class MatrixComponent extends ICEObject implements Component {
 	 */
 	private void resizeColumn(boolean addOrRemove) {
 		// Local Declaration
-		int i, j;
+		int i, newCols;
 		double defaultValue = 0.0;
 
 		// Get the defaultValue
@@ -910,23 +1327,31 @@ public class MatrixComponent extends ICEObject implements Component {
 			defaultValue = this.allowedValues.get(0);
 		}
 
-		// If true, add to the arraylist
+		// If true, add to the array
 		if (addOrRemove) {
 
-			// Add for the number of rows
-			for (i = 0; i < this.nRows; i++) {
-				this.elements.add(((i + 1) * this.nCols) + i, defaultValue);
+			// Shift each row to its new place, starting with the last row so
+			// that nothing is overwritten, and add the new value to its end.
+			newCols = this.nCols + 1;
+			ensureCapacity(this.nRows * newCols);
+			for (i = this.nRows - 1; i >= 0; i--) {
+				System.arraycopy(this.elements, i * this.nCols, this.elements,
+						i * newCols, this.nCols);
+				this.elements[i * newCols + this.nCols] = defaultValue;
 			}
 			// Add to the cols
-			this.nCols += 1;
+			this.nCols = newCols;
 		} else {
-			// Remove for the number of rows
-			for (i = 0; i < this.nRows; i++) {
-				this.elements.remove(((i + 1) * this.nCols) - i - 1);
+			// Shift each row down over the last value of the previous row
+			newCols = this.nCols - 1;
+			for (i = 1; i < this.nRows; i++) {
+				System.arraycopy(this.elements, i * this.nCols, this.elements,
+						i * newCols, newCols);
 			}
 			// Remove a Column
-			this.nCols -= 1;
+			this.nCols = newCols;
 		}
+		this.size = this.nRows * this.nCols;
 
 	}
 
@@ -33,6 +33,7 @@ import org.eclipse.eavp.viz.service.mesh.datastructures.MeshDescription;
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
+import org.eclipse.ice.datastructures.ICEObject.NotificationDispatcher;
 import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
 
 /**
@@ -398,20 +399,8 @@ public class MeshComponent extends ICEObject
 
 		// Only process the update if there are listeners
 		if (listeners != null && !listeners.isEmpty()) {
-			// Create a thread on which to notify the listeners.
-			Thread notifierThread = new Thread() {
-				@Override
-				public void run() {
-					// Loop over all listeners and update them
-					for (int i = 0; i < listeners.size(); i++) {
-						listeners.get(i).update(component);
-					}
-					return;
-				}
-			};
-
-			// Launch the thread and do the notifications
-			notifierThread.start();
+			NotificationDispatcher.getInstance().notifyListeners(component,
+					listeners);
 		}
 
 		return;
@@ -13,12 +13,17 @@
 package org.eclipse.ice.datastructures.form;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.List;
 
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
@@ -45,6 +50,12 @@ import org.eclipse.ice.datastructures.entry.IEntry;
  * if a row is deleted it will result in the entire table being re-ordered to
  * keep the row numbers sequential.
  * </p>
+ * <p>
+ * Individual cells can be read with getEntry() by row index and either column
+ * index or column name and whole rows with getRowEntries(), none of which copy
+ * the row. Column names and row ids are indexed as the table changes, so
+ * looking them up does not require a search of the table.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -88,6 +99,20 @@ public class TableComponent extends ICEObject implements Component {
 	@XmlElement(name = "SelectedRow")
 	private ArrayList<Integer> selectedRows;
 
+	/**
+	 * The index of each column by name. It is updated when the row template is
+	 * set and rebuilt after copying or unmarshalling.
+	 */
+	@XmlTransient
+	private HashMap<String, Integer> columnIndices;
+
+	/**
+	 * The row DataComponents by id. It is updated as rows are added and
+	 * deleted and rebuilt after copying or unmarshalling.
+	 */
+	@XmlTransient
+	private HashMap<Integer, DataComponent> rowsById;
+
 	/**
 	 * <p>
 	 * The constructor
@@ -99,6 +124,8 @@ public class TableComponent extends ICEObject implements Component {
 		rowComponents = new ArrayList<DataComponent>();
 		listeners = new ArrayList<IUpdateableListener>();
 		selectedRows = new ArrayList<Integer>();
+		columnIndices = new HashMap<String, Integer>();
+		rowsById = new HashMap<Integer, DataComponent>();
 	}
 
 	/**
@@ -143,7 +170,8 @@ public class TableComponent extends ICEObject implements Component {
 	 * returned as a collection of Entries that represent each element in the
 	 * row. The collection is a new collection, but the Entries are references
 	 * of the values currently stored in the TableComponent. (This prevents the
-	 * rows from being re-ordered.)
+	 * rows from being re-ordered.) Callers that only read the row should use
+	 * getRowEntries() or getEntry() instead, which do not copy it.
 	 * </p>
 	 * 
 	 * @param index
@@ -165,20 +193,172 @@ public class TableComponent extends ICEObject implements Component {
 			return null;
 		}
 
-		// create a new arraylist
-		ArrayList<IEntry> rowArray = new ArrayList<IEntry>();
-
-		// copy entries into rowArray
+		// Copy the entries into a new list
 		// Index shift -> index 0 of rowComponents are the column tags and are
 		// not considered rows.
 		// Add one to index to compensate.
-		for (int i = 0; i < rowComponents.get(index + 1).retrieveAllEntries()
-				.size(); i++) {
-			rowArray.add(rowComponents.get(index + 1).retrieveAllEntries()
-					.get(i));
+		return new ArrayList<IEntry>(
+				rowComponents.get(index + 1).retrieveAllEntries());
+	}
+
+	/**
+	 * <p>
+	 * This operation retrieves an individual row from the Table without
+	 * copying it. The returned list is a read-only view of the Entries in the
+	 * row, so the row can not be re-ordered through it, but the Entries
+	 * themselves may be edited.
+	 * </p>
+	 * 
+	 * @param index
+	 *            <p>
+	 *            The row's index in the table.
+	 *            </p>
+	 * @return <p>
+	 *         A read-only view of the Entries in the row or null if the index
+	 *         is out of range.
+	 *         </p>
+	 */
+	public List<IEntry> getRowEntries(int index) {
+
+		// Index shift -> index 0 of rowComponents are the column tags and are
+		// not considered rows.
+		if (index < 0 || index >= rowComponents.size() - 1) {
+			return null;
 		}
 
-		return rowArray;
+		return Collections.unmodifiableList(
+				rowComponents.get(index + 1).retrieveAllEntries());
+	}
+
+	/**
+	 * <p>
+	 * This operation retrieves a single Entry from the Table without copying
+	 * the row that contains it.
+	 * </p>
+	 * 
+	 * @param row
+	 *            <p>
+	 *            The row's index in the table.
+	 *            </p>
+	 * @param column
+	 *            <p>
+	 *            The column's index in the table.
+	 *            </p>
+	 * @return <p>
+	 *         The Entry or null if either index is out of range.
+	 *         </p>
+	 */
+	public IEntry getEntry(int row, int column) {
+
+		// Index shift -> index 0 of rowComponents are the column tags and are
+		// not considered rows.
+		if (row < 0 || row >= rowComponents.size() - 1 || column < 0) {
+			return null;
+		}
+
+		ArrayList<IEntry> entries = rowComponents.get(row + 1)
+				.retrieveAllEntries();
+		return (column < entries.size()) ? entries.get(column) : null;
+	}
+
+	/**
+	 * <p>
+	 * This operation retrieves a single Entry from the Table by the name of
+	 * its column without copying the row that contains it.
+	 * </p>
+	 * 
+	 * @param row
+	 *            <p>
+	 *            The row's index in the table.
+	 *            </p>
+	 * @param columnName
+	 *            <p>
+	 *            The name of the column.
+	 *            </p>
+	 * @return <p>
+	 *         The Entry or null if the row or column does not exist.
+	 *         </p>
+	 */
+	public IEntry getEntry(int row, String columnName) {
+		return getEntry(row, getColumnIndex(columnName));
+	}
+
+	/**
+	 * <p>
+	 * This operation returns the index of the column with the given name.
+	 * </p>
+	 * 
+	 * @param columnName
+	 *            <p>
+	 *            The name of the column.
+	 *            </p>
+	 * @return <p>
+	 *         The index of the first column with that name or -1 if there is
+	 *         no such column.
+	 *         </p>
+	 */
+	public int getColumnIndex(String columnName) {
+		Integer index = columnIndices.get(columnName);
+		return (index != null) ? index : -1;
+	}
+
+	/**
+	 * <p>
+	 * This operation retrieves a row from the Table by its id, as returned by
+	 * getRowIds(), instead of its index. The row is returned in the same way as
+	 * getRow().
+	 * </p>
+	 * 
+	 * @param id
+	 *            <p>
+	 *            The row's id.
+	 *            </p>
+	 * @return <p>
+	 *         The set of Entries that represent the row in the table or null if
+	 *         there is no row with that id.
+	 *         </p>
+	 */
+	public ArrayList<IEntry> getRowById(int id) {
+		DataComponent row = rowsById.get(id);
+		return (row != null)
+				? new ArrayList<IEntry>(row.retrieveAllEntries()) : null;
+	}
+
+	/**
+	 * This operation rebuilds the column and row id indices from the column
+	 * names and rows. It is only needed when those are replaced wholesale, as
+	 * they are by copying and unmarshalling.
+	 */
+	private void rebuildIndices() {
+
+		// Index the columns, keeping the first column with each name
+		columnIndices.clear();
+		for (int i = columnNames.size() - 1; i >= 0; i--) {
+			columnIndices.put(columnNames.get(i), i);
+		}
+
+		// Index the rows, keeping the first row with each id. Index shift ->
+		// index 0 of rowComponents are the column tags and are not considered
+		// rows.
+		rowsById.clear();
+		for (int i = rowComponents.size() - 1; i >= 1; i--) {
+			rowsById.put(rowComponents.get(i).getId(), rowComponents.get(i));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation is called by JAXB after the TableComponent has been
+	 * unmarshalled to rebuild its indices, which are not persisted.
+	 * 
+	 * @param unmarshaller
+	 *            The Unmarshaller that read the TableComponent
+	 * @param parent
+	 *            The object that contains the TableComponent, if any
+	 */
+	void afterUnmarshal(Unmarshaller unmarshaller, Object parent) {
+		rebuildIndices();
 	}
 
 	/**
@@ -224,6 +404,9 @@ public class TableComponent extends ICEObject implements Component {
 		}
 
 		rowComponents.add(dataComponent);
+		if (!rowsById.containsKey(dataComponent.getId())) {
+			rowsById.put(dataComponent.getId(), dataComponent);
+		}
 		notifyListeners();
 
 		// Index shift -> index 0 of rowComponents are the column tags and are
@@ -262,7 +445,19 @@ public class TableComponent extends ICEObject implements Component {
 		// delete row
 		// Index shift -> index 0 of rowComponents are the column tags and are
 		// not considered rows.
-		rowComponents.remove(index + 1);
+		DataComponent deletedRow = rowComponents.remove(index + 1);
+		if (rowsById.get(deletedRow.getId()) == deletedRow) {
+			rowsById.remove(deletedRow.getId());
+		}
+
+		// Drop the old ids of the rows that follow from the index before
+		// renumbering them
+		for (int i = index + 1; i < rowComponents.size(); i++) {
+			DataComponent row = rowComponents.get(i);
+			if (rowsById.get(row.getId()) == row) {
+				rowsById.remove(row.getId());
+			}
+		}
 
 		// set indexes up
 		// Index shift -> index 0 of rowComponents are the column tags and are
@@ -270,6 +465,7 @@ public class TableComponent extends ICEObject implements Component {
 		// Add one to make adjustments into rowComponents index
 		for (int i = index + 1; i < rowComponents.size(); i++) {
 			rowComponents.get(i).setId(i);
+			rowsById.put(i, rowComponents.get(i));
 		}
 
 		notifyListeners();
@@ -312,6 +508,9 @@ public class TableComponent extends ICEObject implements Component {
 		// Set Column Names
 		for (i = 0; i < template.size(); i++) {
 			this.columnNames.add(template.get(i).getName());
+			if (!columnIndices.containsKey(template.get(i).getName())) {
+				columnIndices.put(template.get(i).getName(), i);
+			}
 		}
 
 		// copy contents of template to dataComponent
@@ -336,8 +535,6 @@ public class TableComponent extends ICEObject implements Component {
 	 *         </p>
 	 */
 	public ArrayList<IEntry> getRowTemplate() {
-		// Local Declarations
-		int i = 0;
 
 		// Return null if the rowTemplate has not been set
 		if (this.columnNames.isEmpty()) {
@@ -345,13 +542,7 @@ public class TableComponent extends ICEObject implements Component {
 		}
 
 		// Create a new ArrayList and return it.
-		ArrayList<IEntry> rowTemplate = new ArrayList<IEntry>();
-
-		for (i = 0; i < rowComponents.get(0).retrieveAllEntries().size(); i++) {
-			rowTemplate.add(rowComponents.get(0).retrieveAllEntries().get(i));
-		}
-
-		return rowTemplate;
+		return new ArrayList<IEntry>(rowComponents.get(0).retrieveAllEntries());
 	}
 
 	/**
@@ -439,6 +630,7 @@ public class TableComponent extends ICEObject implements Component {
 					.add((DataComponent) otherTableComponent.rowComponents.get(
 							i).clone());
 		}
+		rebuildIndices();
 
 		// Copy the selected rows
 		setSelectedRows(otherTableComponent.getSelectedRows());
@@ -33,6 +33,7 @@ import org.eclipse.ice.datastructures.ICEObject.ICEObject;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
 import org.eclipse.ice.datastructures.ICEObject.ListComponent;
+import org.eclipse.ice.datastructures.ICEObject.NotificationDispatcher;
 import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
 import org.eclipse.ice.datastructures.componentVisitor.IReactorComponent;
 import org.eclipse.ice.datastructures.entry.IEntry;
@@ -805,6 +806,34 @@ public class TreeComposite extends ICEObject implements Composite,
 			return;
 		}
 
+		// Suspend notifications on this thread so that the children and data
+		// nodes created below do not fire one event each. The listeners of
+		// this tree are notified once when the copy is complete.
+		NotificationDispatcher dispatcher = NotificationDispatcher
+				.getInstance();
+		dispatcher.suspend();
+		try {
+			copyContents(otherTreeComposite, copyInPlace);
+		} finally {
+			dispatcher.resume();
+		}
+
+		return;
+	}
+
+	/**
+	 * This private operation performs the work of
+	 * {@link #copy(TreeComposite, boolean)} while notifications are suspended.
+	 * 
+	 * @param otherTreeComposite
+	 *            The other TreeComposite from which information should be
+	 *            copied.
+	 * @param copyInPlace
+	 *            Whether or not familial references should be retained.
+	 */
+	private void copyContents(TreeComposite otherTreeComposite,
+			boolean copyInPlace) {
+
 		// We need to temporarily unregister all listeners. This has two
 		// benefits/purposes:
 		// (1) The listeners are not notified during the copy operation.
@@ -0,0 +1,386 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.jaxbclassprovider;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.core.runtime.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The JAXBContextRegistry is the shared source of JAXBContexts for ICE.
+ * Creating a JAXBContext requires reflecting over every class that it is
+ * bound to, which is far more expensive than the marshalling or unmarshalling
+ * that it is used for, so contexts are created once for each distinct set of
+ * classes and kept for the life of the platform. JAXBContexts are thread-safe,
+ * but Marshallers and Unmarshallers are not, so the registry also keeps a small
+ * pool of each for every context and clients that only need to read or write
+ * an object should use {@link #marshal(Object, Collection, OutputStream)} and
+ * {@link #unmarshal(Collection, InputStream)} instead of creating their own.
+ * <p>
+ * The registry also provides the set of classes published by all of the
+ * registered IJAXBClassProviders. That set is rebuilt when providers are added
+ * to or removed from the extension registry, and removing a provider drops all
+ * of the cached contexts so that classes from stopped bundles are not kept.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class JAXBContextRegistry {
+
+	/**
+	 * The shared instance used by all of ICE.
+	 */
+	private static final JAXBContextRegistry instance = new JAXBContextRegistry();
+
+	/**
+	 * The id of the IJAXBClassProvider extension point.
+	 */
+	private static final String providerPointId = "org.eclipse.ice.datastructures.jaxbClassProvider";
+
+	/**
+	 * The maximum number of idle Marshallers or Unmarshallers kept for each
+	 * context.
+	 */
+	private static final int maxPoolSize = 8;
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private final Logger logger = LoggerFactory
+			.getLogger(JAXBContextRegistry.class);
+
+	/**
+	 * The contexts and their pools, keyed by the set of classes that they are
+	 * bound to.
+	 */
+	private final Map<Set<Class<?>>, PooledContext> contexts = new ConcurrentHashMap<Set<Class<?>>, PooledContext>();
+
+	/**
+	 * The classes published by the registered IJAXBClassProviders or null if
+	 * they must be collected again.
+	 */
+	private volatile Set<Class<?>> providerClasses;
+
+	/**
+	 * True if the registry is listening for changes to the IJAXBClassProvider
+	 * extension point.
+	 */
+	private boolean listening = false;
+
+	/**
+	 * The Constructor
+	 */
+	private JAXBContextRegistry() {
+	}
+
+	/**
+	 * This operation returns the shared registry.
+	 *
+	 * @return The registry
+	 */
+	public static JAXBContextRegistry getInstance() {
+		return instance;
+	}
+
+	/**
+	 * This operation returns the JAXBContext for a set of classes, creating
+	 * it if it does not already exist. The order of the classes and any
+	 * duplicates do not matter.
+	 *
+	 * @param classes
+	 *            The classes that the context should be bound to
+	 * @return The context
+	 * @throws JAXBException
+	 *             An exception indicating that the context could not be
+	 *             created
+	 */
+	public JAXBContext getContext(Collection<? extends Class> classes)
+			throws JAXBException {
+		return getPooledContext(classes).context;
+	}
+
+	/**
+	 * This operation returns the JAXBContext for the classes published by all
+	 * of the registered IJAXBClassProviders and any additional classes.
+	 *
+	 * @param additionalClasses
+	 *            Classes that the context should be bound to in addition to
+	 *            those of the providers
+	 * @return The context
+	 * @throws JAXBException
+	 *             An exception indicating that the context could not be
+	 *             created
+	 */
+	public JAXBContext getProviderContext(Class<?>... additionalClasses)
+			throws JAXBException {
+
+		// Combine the provider classes with the others
+		Set<Class<?>> classes = new HashSet<Class<?>>(getProviderClasses());
+		classes.addAll(Arrays.asList(additionalClasses));
+
+		return getContext(classes);
+	}
+
+	/**
+	 * This operation returns the classes published by the ICEJAXBClassProvider
+	 * and by every IJAXBClassProvider registered at the extension point.
+	 *
+	 * @return The classes. This set can not be modified.
+	 */
+	public Set<Class<?>> getProviderClasses() {
+
+		Set<Class<?>> classes = providerClasses;
+		if (classes == null) {
+			// Start with the data structures
+			classes = new HashSet<Class<?>>();
+			addClasses(new ICEJAXBClassProvider().getClasses(), classes);
+
+			// Add the classes from the extension point if the platform is
+			// running
+			IExtensionRegistry registry = Platform.getExtensionRegistry();
+			if (registry != null) {
+				listenForProviders(registry);
+				try {
+					IJAXBClassProvider[] providers = IJAXBClassProvider
+							.getJAXBProviders();
+					if (providers != null) {
+						for (IJAXBClassProvider provider : providers) {
+							addClasses(provider.getClasses(), classes);
+						}
+					}
+				} catch (CoreException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
+			}
+
+			classes = Collections.unmodifiableSet(classes);
+			providerClasses = classes;
+		}
+
+		return classes;
+	}
+
+	/**
+	 * This operation writes an object as formatted XML with a pooled
+	 * Marshaller.
+	 *
+	 * @param dataObject
+	 *            The object to write
+	 * @param classes
+	 *            The classes that the context should be bound to
+	 * @param outputStream
+	 *            The stream to which the XML should be written
+	 * @throws JAXBException
+	 *             An exception indicating that the object could not be written
+	 */
+	public void marshal(Object dataObject, Collection<? extends Class> classes,
+			OutputStream outputStream) throws JAXBException {
+
+		// Local Declarations
+		PooledContext pooledContext = getPooledContext(classes);
+		Marshaller marshaller = pooledContext.marshallers.poll();
+
+		// Create a new Marshaller if none are idle
+		if (marshaller == null) {
+			marshaller = pooledContext.context.createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,
+					Boolean.TRUE);
+		}
+
+		// Write the object. The Marshaller is only returned to the pool if
+		// it succeeded.
+		marshaller.marshal(dataObject, outputStream);
+		if (pooledContext.marshallers.size() < maxPoolSize) {
+			pooledContext.marshallers.offer(marshaller);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation reads an object from XML with a pooled Unmarshaller.
+	 *
+	 * @param classes
+	 *            The classes that the context should be bound to
+	 * @param inputStream
+	 *            The stream from which the XML should be read
+	 * @return The object
+	 * @throws JAXBException
+	 *             An exception indicating that the object could not be read
+	 */
+	public Object unmarshal(Collection<? extends Class> classes,
+			InputStream inputStream) throws JAXBException {
+
+		// Local Declarations
+		PooledContext pooledContext = getPooledContext(classes);
+		Unmarshaller unmarshaller = pooledContext.unmarshallers.poll();
+
+		// Create a new Unmarshaller if none are idle
+		if (unmarshaller == null) {
+			unmarshaller = pooledContext.context.createUnmarshaller();
+		}
+
+		// Read the object. The Unmarshaller is only returned to the pool if
+		// it succeeded.
+		Object dataObject = unmarshaller.unmarshal(inputStream);
+		if (pooledContext.unmarshallers.size() < maxPoolSize) {
+			pooledContext.unmarshallers.offer(unmarshaller);
+		}
+
+		return dataObject;
+	}
+
+	/**
+	 * This operation returns the context and pools for a set of classes,
+	 * creating them if they do not already exist.
+	 *
+	 * @param classes
+	 *            The classes that the context should be bound to
+	 * @return The context and its pools
+	 * @throws JAXBException
+	 *             An exception indicating that the context could not be
+	 *             created
+	 */
+	private PooledContext getPooledContext(Collection<? extends Class> classes)
+			throws JAXBException {
+
+		// Key the context on the set of classes
+		Set<Class<?>> key = new HashSet<Class<?>>();
+		addClasses(classes, key);
+
+		// Only one context is created for each set, even if several threads
+		// ask for it at once
+		PooledContext pooledContext = contexts.get(key);
+		if (pooledContext == null) {
+			synchronized (contexts) {
+				pooledContext = contexts.get(key);
+				if (pooledContext == null) {
+					pooledContext = new PooledContext(JAXBContext
+							.newInstance(key.toArray(new Class[key.size()])));
+					contexts.put(Collections.unmodifiableSet(key),
+							pooledContext);
+				}
+			}
+		}
+
+		return pooledContext;
+	}
+
+	/**
+	 * This operation adds a raw list of classes, such as those returned by
+	 * IJAXBClassProvider.getClasses(), to a set of classes.
+	 *
+	 * @param classes
+	 *            The classes to add
+	 * @param classSet
+	 *            The set to which they should be added
+	 */
+	private void addClasses(Collection<? extends Class> classes,
+			Set<Class<?>> classSet) {
+		for (Class<?> clazz : classes) {
+			classSet.add(clazz);
+		}
+	}
+
+	/**
+	 * This operation registers a listener with the extension registry that
+	 * forgets the provider classes when IJAXBClassProviders are added or
+	 * removed. It only registers the listener once.
+	 *
+	 * @param registry
+	 *            The extension registry
+	 */
+	private synchronized void listenForProviders(IExtensionRegistry registry) {
+
+		if (!listening) {
+			registry.addListener(new IRegistryEventListener() {
+				@Override
+				public void added(IExtension[] extensions) {
+					providerClasses = null;
+				}
+
+				@Override
+				public void removed(IExtension[] extensions) {
+					// Drop everything that might hold the removed classes
+					providerClasses = null;
+					contexts.clear();
+				}
+
+				@Override
+				public void added(IExtensionPoint[] extensionPoints) {
+					// Nothing to do
+				}
+
+				@Override
+				public void removed(IExtensionPoint[] extensionPoints) {
+					// Nothing to do
+				}
+			}, providerPointId);
+			listening = true;
+		}
+
+		return;
+	}
+
+	/**
+	 * This class holds a JAXBContext with its idle Marshallers and
+	 * Unmarshallers.
+	 */
+	private static class PooledContext {
+
+		/**
+		 * The context.
+		 */
+		final JAXBContext context;
+
+		/**
+		 * The idle Marshallers.
+		 */
+		final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<Marshaller>();
+
+		/**
+		 * The idle Unmarshallers.
+		 */
+		final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<Unmarshaller>();
+
+		/**
+		 * The Constructor
+		 *
+		 * @param context
+		 *            The context
+		 */
+		PooledContext(JAXBContext context) {
+			this.context = context;
+		}
+	}
+}
@@ -0,0 +1,921 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.io.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.ice.io.csv.DelimitedColumns.ColumnType;
+
+/**
+ * This class reads the numeric columns of a delimited text file into primitive
+ * arrays. Unlike the DelimitedReader, it never creates a String for a line or a
+ * cell. Files on the local file system are memory-mapped and other files are
+ * read into a single large buffer. Large files are split into chunks at line
+ * boundaries and the chunks are parsed in parallel on the common fork-join
+ * pool before being joined, in order, into a DelimitedColumns.
+ *
+ * Comments begin with the "#" character and run to the end of the line. Cells
+ * are trimmed. If the delimiter is a space or a tab, any run of spaces and tabs
+ * separates two cells. Otherwise every delimiter separates two cells and an
+ * empty cell is missing. Lines without a single numeric cell, such as blank
+ * lines and column headers, are skipped.
+ *
+ * Columns hold doubles unless they are set to ColumnType.LONG with
+ * setColumnTypes(). Cells in long columns that are written as floating point
+ * numbers are truncated. Cells that are missing or cannot be parsed are NaN in
+ * double columns and zero in long columns.
+ *
+ * The file must use an ASCII-compatible encoding such as UTF-8.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class DelimitedColumnReader {
+
+	/**
+	 * The smallest number of bytes that will be parsed as a separate chunk.
+	 * Files smaller than twice this size are parsed on the calling thread.
+	 */
+	private static final long MIN_CHUNK_SIZE = 1L << 20;
+
+	/**
+	 * The largest number of bytes that will be parsed as one chunk, which
+	 * keeps every chunk within a single buffer.
+	 */
+	private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+	/**
+	 * The initial size of the buffer used to read files that cannot be
+	 * memory-mapped.
+	 */
+	private static final int READ_BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The initial number of rows allocated for each column of a chunk.
+	 */
+	private static final int INITIAL_ROWS = 1024;
+
+	/**
+	 * The largest number of significant digits that the fast path of
+	 * parseDouble() handles. Any such mantissa is exact as a double.
+	 */
+	private static final int MAX_FAST_DIGITS = 15;
+
+	/**
+	 * The powers of ten that are exact as doubles.
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4,
+			1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+			1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * The delimiter.
+	 */
+	private final byte delimiter;
+
+	/**
+	 * True if the delimiter is a space or a tab, in which case runs of spaces
+	 * and tabs are a single delimiter.
+	 */
+	private final boolean whitespaceDelimited;
+
+	/**
+	 * The types of the columns. Columns beyond the end of this array are
+	 * double columns.
+	 */
+	private ColumnType[] columnTypes = new ColumnType[0];
+
+	/**
+	 * The largest number of chunks into which a file will be split.
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * A source of the bytes of a file that can be viewed one region at a time.
+	 */
+	private interface RegionSource {
+
+		/**
+		 * This operation returns a buffer over a region of the file. Index
+		 * zero in the buffer is the start of the region.
+		 *
+		 * @param start
+		 *            The offset of the first byte in the region
+		 * @param end
+		 *            The offset one past the last byte in the region
+		 * @return The buffer
+		 * @throws IOException
+		 */
+		ByteBuffer getRegion(long start, long end) throws IOException;
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param delimiter
+	 *            The delimiter between cells. It must be an ASCII character
+	 *            that is not "#" or a line break.
+	 */
+	public DelimitedColumnReader(char delimiter) {
+		if (delimiter > 127 || delimiter == '#' || delimiter == '\n'
+				|| delimiter == '\r') {
+			throw new IllegalArgumentException(
+					"DelimitedColumnReader Error: Invalid delimiter '"
+							+ delimiter + "'.");
+		}
+		this.delimiter = (byte) delimiter;
+		whitespaceDelimited = (delimiter == ' ' || delimiter == '\t');
+	}
+
+	/**
+	 * This operation sets the types of the columns, starting with the first
+	 * column. Columns without a type, including null elements, hold doubles.
+	 *
+	 * @param types
+	 *            The column types
+	 */
+	public void setColumnTypes(ColumnType... types) {
+		columnTypes = (types != null) ? types.clone() : new ColumnType[0];
+	}
+
+	/**
+	 * This operation sets the largest number of chunks that will be parsed in
+	 * parallel. It is the number of available processors by default.
+	 *
+	 * @param parallelism
+	 *            The number of chunks. Values less than one are ignored.
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism > 0) {
+			this.parallelism = parallelism;
+		}
+	}
+
+	/**
+	 * This operation reads the columns of a file in the workspace. The file is
+	 * memory-mapped if it is on the local file system and streamed from its
+	 * contents otherwise.
+	 *
+	 * @param file
+	 *            The file
+	 * @return The columns of the file
+	 * @throws CoreException
+	 *             if the contents of the file could not be retrieved
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	public DelimitedColumns read(IFile file) throws CoreException, IOException {
+
+		// Map the file directly if it has a local location
+		IPath location = file.getLocation();
+		if (location != null) {
+			File localFile = location.toFile();
+			if (localFile.isFile()) {
+				return read(localFile.toPath());
+			}
+		}
+
+		// Otherwise buffer its contents
+		try (InputStream stream = file.getContents()) {
+			return read(stream);
+		}
+	}
+
+	/**
+	 * This operation reads the columns of a file on the local file system by
+	 * memory-mapping it.
+	 *
+	 * @param path
+	 *            The path of the file
+	 * @return The columns of the file
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	public DelimitedColumns read(Path path) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.READ)) {
+			return parse(channel.size(), new RegionSource() {
+				@Override
+				public ByteBuffer getRegion(long start, long end)
+						throws IOException {
+					return channel.map(MapMode.READ_ONLY, start, end - start);
+				}
+			});
+		}
+	}
+
+	/**
+	 * This operation reads the columns from a stream. The whole stream is read
+	 * into memory before it is parsed. The stream is not closed.
+	 *
+	 * @param stream
+	 *            The stream
+	 * @return The columns read from the stream
+	 * @throws IOException
+	 *             if the stream could not be read or is larger than 2 GB
+	 */
+	public DelimitedColumns read(InputStream stream) throws IOException {
+
+		// Read the whole stream, doubling the buffer as needed
+		byte[] bytes = new byte[READ_BUFFER_SIZE];
+		int length = 0;
+		int count;
+		while ((count = stream.read(bytes, length,
+				bytes.length - length)) != -1) {
+			length += count;
+			if (length == bytes.length) {
+				if (length > Integer.MAX_VALUE / 2) {
+					throw new IOException("DelimitedColumnReader Error: "
+							+ "Streams larger than 2 GB must be read from a "
+							+ "local file.");
+				}
+				bytes = Arrays.copyOf(bytes, 2 * length);
+			}
+		}
+
+		// Parse views of the buffer
+		final byte[] contents = bytes;
+		return parse(length, new RegionSource() {
+			@Override
+			public ByteBuffer getRegion(long start, long end) {
+				return ByteBuffer
+						.wrap(contents, (int) start, (int) (end - start))
+						.slice();
+			}
+		});
+	}
+
+	/**
+	 * This operation splits the source into chunks, parses them in parallel
+	 * and joins the results.
+	 *
+	 * @param size
+	 *            The number of bytes in the source
+	 * @param source
+	 *            The source
+	 * @return The columns
+	 * @throws IOException
+	 *             if a chunk could not be read
+	 */
+	private DelimitedColumns parse(long size, RegionSource source)
+			throws IOException {
+
+		// Local Declarations
+		int numChunks = (int) Math.max(
+				(size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE,
+				Math.max(1, Math.min(parallelism, size / MIN_CHUNK_SIZE)));
+		List<ChunkParser> parsers = new ArrayList<ChunkParser>(numChunks);
+		List<ColumnChunk> chunks = new ArrayList<ColumnChunk>(numChunks);
+
+		// Each chunk takes the lines that start in its share of the file
+		for (int i = 0; i < numChunks; i++) {
+			long start = size / numChunks * i;
+			long end = (i == numChunks - 1) ? size : size / numChunks * (i + 1);
+			parsers.add(new ChunkParser(source, start, end, size));
+		}
+
+		// Small files are parsed on this thread
+		if (numChunks == 1) {
+			chunks.add(parsers.get(0).parse());
+		} else {
+			try {
+				for (Future<ColumnChunk> future : ForkJoinPool.commonPool()
+						.invokeAll(parsers)) {
+					chunks.add(future.get());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(
+						"DelimitedColumnReader Error: Interrupted while "
+								+ "parsing.");
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof IOException) {
+					throw (IOException) e.getCause();
+				}
+				throw new IOException(e.getCause());
+			}
+		}
+
+		return join(chunks);
+	}
+
+	/**
+	 * This operation joins the chunks, in order, into one set of columns.
+	 * Columns that are missing from a chunk are filled with NaN or zero.
+	 *
+	 * @param chunks
+	 *            The parsed chunks
+	 * @return The columns
+	 * @throws IOException
+	 *             if there are too many rows to store in an array
+	 */
+	private DelimitedColumns join(List<ColumnChunk> chunks)
+			throws IOException {
+
+		// Size the columns
+		int numColumns = 0;
+		long numRows = 0;
+		for (ColumnChunk chunk : chunks) {
+			numColumns = Math.max(numColumns, chunk.numColumns);
+			numRows += chunk.numRows;
+		}
+		if (numRows > Integer.MAX_VALUE) {
+			throw new IOException("DelimitedColumnReader Error: The file has "
+					+ numRows + " rows, which is too many to store.");
+		}
+
+		// Allocate each column with its type
+		double[][] doubleColumns = new double[numColumns][];
+		long[][] longColumns = new long[numColumns][];
+		for (int i = 0; i < numColumns; i++) {
+			if (getColumnType(i) == ColumnType.LONG) {
+				longColumns[i] = new long[(int) numRows];
+			} else {
+				doubleColumns[i] = new double[(int) numRows];
+			}
+		}
+
+		// Copy the chunks
+		int row = 0;
+		for (ColumnChunk chunk : chunks) {
+			for (int i = 0; i < numColumns; i++) {
+				if (i < chunk.numColumns) {
+					if (longColumns[i] != null) {
+						System.arraycopy(chunk.longColumns[i], 0,
+								longColumns[i], row, chunk.numRows);
+					} else {
+						System.arraycopy(chunk.doubleColumns[i], 0,
+								doubleColumns[i], row, chunk.numRows);
+					}
+				} else if (doubleColumns[i] != null) {
+					Arrays.fill(doubleColumns[i], row, row + chunk.numRows,
+							Double.NaN);
+				}
+			}
+			row += chunk.numRows;
+		}
+
+		return new DelimitedColumns(doubleColumns, longColumns, (int) numRows);
+	}
+
+	/**
+	 * This operation returns the type of a column.
+	 *
+	 * @param column
+	 *            The index of the column
+	 * @return The type
+	 */
+	private ColumnType getColumnType(int column) {
+		return (column < columnTypes.length
+				&& columnTypes[column] == ColumnType.LONG) ? ColumnType.LONG
+						: ColumnType.DOUBLE;
+	}
+
+	/**
+	 * This operation determines whether a byte is a space, tab or carriage
+	 * return.
+	 *
+	 * @param b
+	 *            The byte
+	 * @return True if the byte is blank
+	 */
+	private static boolean isBlank(byte b) {
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+
+	/**
+	 * This class holds the columns parsed from one chunk of a file.
+	 */
+	private static class ColumnChunk {
+
+		/**
+		 * The double columns, with null elements for long columns.
+		 */
+		double[][] doubleColumns = new double[0][];
+
+		/**
+		 * The long columns, with null elements for double columns.
+		 */
+		long[][] longColumns = new long[0][];
+
+		/**
+		 * The number of columns.
+		 */
+		int numColumns;
+
+		/**
+		 * The number of rows in each column.
+		 */
+		int numRows;
+
+		/**
+		 * The number of rows allocated in each column.
+		 */
+		int capacity = INITIAL_ROWS;
+	}
+
+	/**
+	 * This class parses the lines that start in one chunk of a file. The last
+	 * line of the chunk may run past its end.
+	 */
+	private class ChunkParser implements Callable<ColumnChunk> {
+
+		/**
+		 * The source of the file.
+		 */
+		private final RegionSource source;
+
+		/**
+		 * The offset of the start of the chunk in the file.
+		 */
+		private final long start;
+
+		/**
+		 * The offset one past the end of the chunk in the file.
+		 */
+		private final long end;
+
+		/**
+		 * The size of the file.
+		 */
+		private final long size;
+
+		/**
+		 * The columns parsed so far.
+		 */
+		private final ColumnChunk chunk = new ColumnChunk();
+
+		/**
+		 * The double values of the cells in the current line.
+		 */
+		private double[] rowDoubles = new double[16];
+
+		/**
+		 * The long values of the cells in the current line.
+		 */
+		private long[] rowLongs = new long[16];
+
+		/**
+		 * True if the last cell parsed was a number.
+		 */
+		private boolean parsed;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param source
+		 *            The source of the file
+		 * @param start
+		 *            The offset of the start of the chunk
+		 * @param end
+		 *            The offset one past the end of the chunk
+		 * @param size
+		 *            The size of the file
+		 */
+		ChunkParser(RegionSource source, long start, long end, long size) {
+			this.source = source;
+			this.start = start;
+			this.end = end;
+			this.size = size;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public ColumnChunk call() throws IOException {
+			return parse();
+		}
+
+		/**
+		 * This operation parses the chunk.
+		 *
+		 * @return The columns of the chunk
+		 * @throws IOException
+		 *             if the chunk could not be read
+		 */
+		ColumnChunk parse() throws IOException {
+
+			// View the file from one byte before the chunk so that a line
+			// starting exactly at the chunk is recognized.
+			long regionStart = Math.max(0, start - 1);
+			long regionEnd = Math.min(size, regionStart + Integer.MAX_VALUE);
+			ByteBuffer buffer = source.getRegion(regionStart, regionEnd);
+			int limit = buffer.limit();
+			int chunkEnd = (int) (end - regionStart);
+
+			// Skip the partial line that belongs to the previous chunk
+			int lineStart = 0;
+			if (start > 0) {
+				while (lineStart < limit && buffer.get(lineStart) != '\n') {
+					lineStart++;
+				}
+				lineStart++;
+			}
+
+			// Parse every line that starts in the chunk
+			while (lineStart < chunkEnd && lineStart < limit) {
+				int lineEnd = lineStart;
+				while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+					lineEnd++;
+				}
+				parseLine(buffer, lineStart, lineEnd);
+				lineStart = lineEnd + 1;
+			}
+
+			return chunk;
+		}
+
+		/**
+		 * This operation parses one line and adds it to the columns if it has
+		 * at least one numeric cell.
+		 *
+		 * @param buffer
+		 *            The buffer holding the line
+		 * @param lineStart
+		 *            The index of the first byte of the line
+		 * @param lineEnd
+		 *            The index of the line break or end of the buffer
+		 */
+		private void parseLine(ByteBuffer buffer, int lineStart, int lineEnd) {
+
+			// Clip the line at the comment symbol
+			for (int i = lineStart; i < lineEnd; i++) {
+				if (buffer.get(i) == '#') {
+					lineEnd = i;
+					break;
+				}
+			}
+
+			// Split and parse the cells
+			int numCells = 0;
+			boolean numeric = false;
+			int i = lineStart;
+			while (true) {
+				// Skip leading blanks
+				while (i < lineEnd && isBlank(buffer.get(i))) {
+					i++;
+				}
+				if (whitespaceDelimited && i >= lineEnd) {
+					break;
+				}
+				// Find the end of the cell and trim it
+				int cellStart = i;
+				if (whitespaceDelimited) {
+					while (i < lineEnd && !isBlank(buffer.get(i))) {
+						i++;
+					}
+				} else {
+					while (i < lineEnd && buffer.get(i) != delimiter) {
+						i++;
+					}
+				}
+				int cellEnd = i;
+				while (cellEnd > cellStart && isBlank(buffer.get(cellEnd - 1))) {
+					cellEnd--;
+				}
+				numeric |= parseCell(buffer, cellStart, cellEnd, numCells++);
+				// Step over the delimiter
+				if (!whitespaceDelimited) {
+					if (i >= lineEnd) {
+						break;
+					}
+					i++;
+				}
+			}
+
+			if (numeric) {
+				addRow(numCells);
+			}
+		}
+
+		/**
+		 * This operation parses a cell into the values of the current line.
+		 *
+		 * @param buffer
+		 *            The buffer holding the cell
+		 * @param cellStart
+		 *            The index of the first byte of the cell
+		 * @param cellEnd
+		 *            The index one past the last byte of the cell
+		 * @param column
+		 *            The column of the cell
+		 * @return True if the cell is a number
+		 */
+		private boolean parseCell(ByteBuffer buffer, int cellStart,
+				int cellEnd, int column) {
+
+			// Make room for the cell
+			if (column == rowDoubles.length) {
+				rowDoubles = Arrays.copyOf(rowDoubles, 2 * column);
+				rowLongs = Arrays.copyOf(rowLongs, 2 * column);
+			}
+
+			parsed = (cellStart < cellEnd);
+			if (getColumnType(column) == ColumnType.LONG) {
+				rowLongs[column] = parsed
+						? parseLong(buffer, cellStart, cellEnd) : 0L;
+			} else {
+				rowDoubles[column] = parsed
+						? parseDouble(buffer, cellStart, cellEnd) : Double.NaN;
+			}
+
+			return parsed;
+		}
+
+		/**
+		 * This operation adds the values of the current line to the columns.
+		 *
+		 * @param numCells
+		 *            The number of cells in the line
+		 */
+		private void addRow(int numCells) {
+
+			// Add columns that are new in this line
+			if (numCells > chunk.numColumns) {
+				addColumns(numCells);
+			}
+
+			// Grow the columns if needed
+			if (chunk.numRows == chunk.capacity) {
+				chunk.capacity *= 2;
+				for (int i = 0; i < chunk.numColumns; i++) {
+					if (chunk.longColumns[i] != null) {
+						chunk.longColumns[i] = Arrays
+								.copyOf(chunk.longColumns[i], chunk.capacity);
+					} else {
+						chunk.doubleColumns[i] = Arrays
+								.copyOf(chunk.doubleColumns[i], chunk.capacity);
+					}
+				}
+			}
+
+			// Store the values, filling in missing cells
+			for (int i = 0; i < chunk.numColumns; i++) {
+				if (chunk.longColumns[i] != null) {
+					chunk.longColumns[i][chunk.numRows] = (i < numCells)
+							? rowLongs[i] : 0L;
+				} else {
+					chunk.doubleColumns[i][chunk.numRows] = (i < numCells)
+							? rowDoubles[i] : Double.NaN;
+				}
+			}
+			chunk.numRows++;
+		}
+
+		/**
+		 * This operation adds columns to the chunk. The earlier rows of the new
+		 * columns are missing.
+		 *
+		 * @param numColumns
+		 *            The new number of columns
+		 */
+		private void addColumns(int numColumns) {
+			chunk.doubleColumns = Arrays.copyOf(chunk.doubleColumns,
+					numColumns);
+			chunk.longColumns = Arrays.copyOf(chunk.longColumns, numColumns);
+			for (int i = chunk.numColumns; i < numColumns; i++) {
+				if (getColumnType(i) == ColumnType.LONG) {
+					chunk.longColumns[i] = new long[chunk.capacity];
+				} else {
+					chunk.doubleColumns[i] = new double[chunk.capacity];
+					Arrays.fill(chunk.doubleColumns[i], 0, chunk.numRows,
+							Double.NaN);
+				}
+			}
+			chunk.numColumns = numColumns;
+		}
+
+		/**
+		 * This operation parses a double. Plain decimal and scientific numbers
+		 * with up to 15 significant digits and small exponents are converted
+		 * directly, which is exact because both the mantissa and the power of
+		 * ten are exact doubles. Everything else falls back to
+		 * Double.parseDouble().
+		 *
+		 * @param buffer
+		 *            The buffer holding the cell
+		 * @param cellStart
+		 *            The index of the first byte of the cell
+		 * @param cellEnd
+		 *            The index one past the last byte of the cell
+		 * @return The value or NaN if the cell is not a number
+		 */
+		private double parseDouble(ByteBuffer buffer, int cellStart,
+				int cellEnd) {
+
+			// Local Declarations
+			int i = cellStart;
+			byte b = buffer.get(i);
+			boolean negative = (b == '-');
+			long mantissa = 0;
+			int digits = 0;
+			int exponent = 0;
+			boolean anyDigits = false;
+
+			// Sign
+			if (b == '-' || b == '+') {
+				i++;
+			}
+
+			// Integer part
+			while (i < cellEnd && (b = buffer.get(i)) >= '0' && b <= '9') {
+				mantissa = 10 * mantissa + (b - '0');
+				if (mantissa != 0 && ++digits > MAX_FAST_DIGITS) {
+					return parseSlowDouble(buffer, cellStart, cellEnd);
+				}
+				anyDigits = true;
+				i++;
+			}
+
+			// Fraction
+			if (i < cellEnd && buffer.get(i) == '.') {
+				i++;
+				while (i < cellEnd && (b = buffer.get(i)) >= '0' && b <= '9') {
+					mantissa = 10 * mantissa + (b - '0');
+					if (mantissa != 0 && ++digits > MAX_FAST_DIGITS) {
+						return parseSlowDouble(buffer, cellStart, cellEnd);
+					}
+					exponent--;
+					anyDigits = true;
+					i++;
+				}
+			}
+			if (!anyDigits) {
+				return parseSlowDouble(buffer, cellStart, cellEnd);
+			}
+
+			// Exponent
+			if (i < cellEnd && ((b = buffer.get(i)) == 'e' || b == 'E')) {
+				i++;
+				boolean negativeExponent = false;
+				if (i < cellEnd && ((b = buffer.get(i)) == '-' || b == '+')) {
+					negativeExponent = (b == '-');
+					i++;
+				}
+				int value = 0;
+				boolean anyExponentDigits = false;
+				while (i < cellEnd && (b = buffer.get(i)) >= '0' && b <= '9') {
+					value = 10 * value + (b - '0');
+					if (value > 1000) {
+						return parseSlowDouble(buffer, cellStart, cellEnd);
+					}
+					anyExponentDigits = true;
+					i++;
+				}
+				if (!anyExponentDigits) {
+					return parseSlowDouble(buffer, cellStart, cellEnd);
+				}
+				exponent += negativeExponent ? -value : value;
+			}
+
+			// Anything left over, such as a type suffix, needs the slow path
+			if (i != cellEnd || exponent > 22 || exponent < -22) {
+				return parseSlowDouble(buffer, cellStart, cellEnd);
+			}
+
+			double value = (exponent >= 0) ? mantissa * POWERS_OF_TEN[exponent]
+					: mantissa / POWERS_OF_TEN[-exponent];
+			return negative ? -value : value;
+		}
+
+		/**
+		 * This operation parses a long. Cells that are not plain integers fall
+		 * back to Long.parseLong() and then Double.parseDouble().
+		 *
+		 * @param buffer
+		 *            The buffer holding the cell
+		 * @param cellStart
+		 *            The index of the first byte of the cell
+		 * @param cellEnd
+		 *            The index one past the last byte of the cell
+		 * @return The value or zero if the cell is not a number
+		 */
+		private long parseLong(ByteBuffer buffer, int cellStart, int cellEnd) {
+
+			// Local Declarations
+			int i = cellStart;
+			byte b = buffer.get(i);
+			boolean negative = (b == '-');
+			long value = 0;
+
+			// Sign
+			if (b == '-' || b == '+') {
+				i++;
+			}
+
+			// Digits, leaving anything that might overflow to the slow path
+			if (i == cellEnd || cellEnd - i > 18) {
+				return parseSlowLong(buffer, cellStart, cellEnd);
+			}
+			for (; i < cellEnd; i++) {
+				b = buffer.get(i);
+				if (b < '0' || b > '9') {
+					return parseSlowLong(buffer, cellStart, cellEnd);
+				}
+				value = 10 * value + (b - '0');
+			}
+
+			return negative ? -value : value;
+		}
+
+		/**
+		 * This operation parses a double with Double.parseDouble().
+		 *
+		 * @param buffer
+		 *            The buffer holding the cell
+		 * @param cellStart
+		 *            The index of the first byte of the cell
+		 * @param cellEnd
+		 *            The index one past the last byte of the cell
+		 * @return The value or NaN if the cell is not a number
+		 */
+		private double parseSlowDouble(ByteBuffer buffer, int cellStart,
+				int cellEnd) {
+			try {
+				return Double.parseDouble(toString(buffer, cellStart, cellEnd));
+			} catch (NumberFormatException e) {
+				parsed = false;
+				return Double.NaN;
+			}
+		}
+
+		/**
+		 * This operation parses a long with Long.parseLong(), or truncates the
+		 * result of Double.parseDouble() if the cell is not an integer.
+		 *
+		 * @param buffer
+		 *            The buffer holding the cell
+		 * @param cellStart
+		 *            The index of the first byte of the cell
+		 * @param cellEnd
+		 *            The index one past the last byte of the cell
+		 * @return The value or zero if the cell is not a number
+		 */
+		private long parseSlowLong(ByteBuffer buffer, int cellStart,
+				int cellEnd) {
+			String cell = toString(buffer, cellStart, cellEnd);
+			try {
+				return Long.parseLong(cell);
+			} catch (NumberFormatException e) {
+				try {
+					return (long) Double.parseDouble(cell);
+				} catch (NumberFormatException e2) {
+					parsed = false;
+					return 0L;
+				}
+			}
+		}
+
+		/**
+		 * This operation copies a cell into a String.
+		 *
+		 * @param buffer
+		 *            The buffer holding the cell
+		 * @param cellStart
+		 *            The index of the first byte of the cell
+		 * @param cellEnd
+		 *            The index one past the last byte of the cell
+		 * @return The cell
+		 */
+		private String toString(ByteBuffer buffer, int cellStart,
+				int cellEnd) {
+			byte[] bytes = new byte[cellEnd - cellStart];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buffer.get(cellStart + i);
+			}
+			return new String(bytes, StandardCharsets.US_ASCII);
+		}
+	}
+
+}
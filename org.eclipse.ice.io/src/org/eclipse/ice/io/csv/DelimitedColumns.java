@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.io.csv;
+
+/**
+ * This class holds the numeric columns of a delimited file read by the
+ * DelimitedColumnReader. Each column is stored as a primitive array, either a
+ * double[] or a long[] depending on its ColumnType, and all of the columns
+ * have the same number of rows. Cells that were missing from a line are NaN
+ * in double columns and zero in long columns.
+ *
+ * The arrays are not copied when they are returned, so clients that modify
+ * them will modify the columns.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class DelimitedColumns {
+
+	/**
+	 * The types of values that a column can hold.
+	 */
+	public enum ColumnType {
+		/**
+		 * Floating point values stored as doubles.
+		 */
+		DOUBLE,
+		/**
+		 * Integer values stored as longs.
+		 */
+		LONG
+	}
+
+	/**
+	 * The double columns. An element is null if that column is a long column.
+	 */
+	private final double[][] doubleColumns;
+
+	/**
+	 * The long columns. An element is null if that column is a double column.
+	 */
+	private final long[][] longColumns;
+
+	/**
+	 * The number of rows in each column.
+	 */
+	private final int numRows;
+
+	/**
+	 * The constructor. Exactly one of the two arrays must be set for each
+	 * column.
+	 *
+	 * @param doubleColumns
+	 *            The double columns
+	 * @param longColumns
+	 *            The long columns
+	 * @param numRows
+	 *            The number of rows in each column
+	 */
+	DelimitedColumns(double[][] doubleColumns, long[][] longColumns,
+			int numRows) {
+		this.doubleColumns = doubleColumns;
+		this.longColumns = longColumns;
+		this.numRows = numRows;
+	}
+
+	/**
+	 * This operation returns the number of columns.
+	 *
+	 * @return The number of columns
+	 */
+	public int getNumberOfColumns() {
+		return doubleColumns.length;
+	}
+
+	/**
+	 * This operation returns the number of rows in each column.
+	 *
+	 * @return The number of rows
+	 */
+	public int getNumberOfRows() {
+		return numRows;
+	}
+
+	/**
+	 * This operation returns the type of a column.
+	 *
+	 * @param column
+	 *            The index of the column
+	 * @return The type of the column or null if there is no such column
+	 */
+	public ColumnType getColumnType(int column) {
+		if (column < 0 || column >= doubleColumns.length) {
+			return null;
+		}
+		return (longColumns[column] != null) ? ColumnType.LONG
+				: ColumnType.DOUBLE;
+	}
+
+	/**
+	 * This operation returns a column as doubles. Long columns are converted,
+	 * so the array is a copy for them.
+	 *
+	 * @param column
+	 *            The index of the column
+	 * @return The values or null if there is no such column
+	 */
+	public double[] getDoubleColumn(int column) {
+
+		// Local Declarations
+		double[] values = null;
+
+		if (column >= 0 && column < doubleColumns.length) {
+			values = doubleColumns[column];
+			// Convert the longs if needed
+			if (values == null) {
+				long[] longs = longColumns[column];
+				values = new double[longs.length];
+				for (int i = 0; i < longs.length; i++) {
+					values[i] = longs[i];
+				}
+			}
+		}
+
+		return values;
+	}
+
+	/**
+	 * This operation returns a long column.
+	 *
+	 * @param column
+	 *            The index of the column
+	 * @return The values or null if there is no such column or it is not a
+	 *         long column
+	 */
+	public long[] getLongColumn(int column) {
+		return (column >= 0 && column < longColumns.length)
+				? longColumns[column] : null;
+	}
+
+}
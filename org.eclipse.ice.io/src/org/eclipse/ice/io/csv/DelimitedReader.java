@@ -23,6 +23,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.ICEObject.ListComponent;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.io.csv.DelimitedColumns.ColumnType;
 import org.eclipse.ice.io.serializable.IReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,10 @@ import org.slf4j.LoggerFactory;
  *
  * Comments are ignored and begin with the "#" character.
  *
+ * Clients that only need numbers should call readColumns() instead, which
+ * reads the file with a DelimitedColumnReader into primitive arrays without
+ * creating a String for every cell.
+ *
  * The delimiter must be set by subclasses during construction. It is a " " by
  * default. Likewise, the type name must be specified too.
  *
@@ -121,6 +126,36 @@ public class DelimitedReader implements IReader {
 		return form;
 	}
 
+	/**
+	 * This operation reads the numeric columns of a file with a
+	 * DelimitedColumnReader that uses this reader's delimiter.
+	 *
+	 * @param file
+	 *            The file to read
+	 * @param columnTypes
+	 *            The types of the columns, starting with the first. Columns
+	 *            without a type hold doubles.
+	 * @return The columns or null if the file could not be read
+	 */
+	public DelimitedColumns readColumns(IFile file,
+			ColumnType... columnTypes) {
+
+		// Local Declarations
+		DelimitedColumns columns = null;
+		DelimitedColumnReader columnReader = new DelimitedColumnReader(
+				delimiter.charAt(0));
+
+		columnReader.setColumnTypes(columnTypes);
+		try {
+			columns = columnReader.read(file);
+		} catch (CoreException | IOException e) {
+			// Complain
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+
+		return columns;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -28,6 +28,7 @@ import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Objects;
 
 import javax.xml.bind.annotation.XmlAnyElement;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -377,6 +378,26 @@ public class Item
 	 */
 	protected HashMap<String, ArrayList<Component>> componentMap;
 
+	/**
+	 * The Form whose Entries were last registered with the Registry by
+	 * registerUpdateables().
+	 */
+	private Form registeredForm;
+
+	/**
+	 * The Components of the registered Form when it was registered. The
+	 * Registry is only rebuilt by reviewEntries() if these change.
+	 */
+	private ArrayList<Component> registeredComponents = new ArrayList<Component>();
+
+	/**
+	 * The Entries that were registered and their names when they were
+	 * registered, in the same order. The Registry is keyed by name, so it is
+	 * rebuilt by reviewEntries() if an Entry is replaced or renamed.
+	 */
+	private ArrayList<IEntry> registeredEntries = new ArrayList<IEntry>();
+	private ArrayList<String> registeredNames = new ArrayList<String>();
+
 	/**
 	 * The unique identification number of the Item.
 	 */
@@ -1153,7 +1174,11 @@ public class Item
 		FormStatus retStatus = FormStatus.InfoError;
 		boolean updateStatus = true;
 
-		registerUpdateables();
+		// The Registry keeps its dependencies between reviews, so they only
+		// need to be registered again if the Form has changed shape.
+		if (!isRegistrationCurrent()) {
+			registerUpdateables();
+		}
 
 		// Update the values of the Entries in the Registry
 		for (IEntry entry : entryList) {
@@ -1226,6 +1251,57 @@ public class Item
 		// can mark themselves ready.
 		registry.dispatch();
 
+		// Remember what was registered
+		registeredForm = form;
+		registeredComponents = new ArrayList<Component>(form.getComponents());
+		registeredEntries = new ArrayList<IEntry>(entryList);
+		registeredNames.clear();
+		for (IEntry entry : entryList) {
+			registeredNames.add(entry.getName());
+		}
+
+	}
+
+	/**
+	 * This operation determines whether or not the Entries registered by the
+	 * last call to registerUpdateables() still match the Item's Form.
+	 * 
+	 * @return True if the Form, its Components and its Entries are the same
+	 *         objects and the Entries have the same names as they did at the
+	 *         last registration, false otherwise.
+	 */
+	private boolean isRegistrationCurrent() {
+
+		// Local Declarations
+		int index = 0;
+
+		// Check the Form and its Components
+		if (form == null || form != registeredForm
+				|| form.getNumberOfComponents() != registeredComponents
+						.size()) {
+			return false;
+		}
+		for (int i = 0; i < registeredComponents.size(); i++) {
+			if (form.getComponents().get(i) != registeredComponents.get(i)) {
+				return false;
+			}
+		}
+
+		// Check the Entries and their names in the order they were registered
+		for (Component component : componentMap.get("data")) {
+			for (IEntry entry : ((DataComponent) component)
+					.retrieveAllEntries()) {
+				if (index >= registeredEntries.size()
+						|| entry != registeredEntries.get(index)
+						|| !Objects.equals(entry.getName(),
+								registeredNames.get(index))) {
+					return false;
+				}
+				index++;
+			}
+		}
+
+		return index == registeredEntries.size();
 	}
 
 	/**
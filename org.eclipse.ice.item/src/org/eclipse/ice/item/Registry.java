@@ -14,8 +14,17 @@ package org.eclipse.ice.item;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
+import org.eclipse.ice.datastructures.entry.IEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * <p>
@@ -24,6 +33,17 @@ import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
  * Registry and it will call their update method when the value of a key is
  * initially set or changed.
  * </p>
+ * <p>
+ * The Registry only dispatches keys that have changed since the last dispatch.
+ * If a registrant is itself an IEntry whose name is a key in the Registry, the
+ * Registry treats that key as depending on the key that the Entry is
+ * registered against. Changes to the Entry's value made during its update are
+ * then dispatched in the same pass, and keys are always dispatched after the
+ * keys that they depend on. The dependency graph is kept between dispatches
+ * and is only sorted again when a registration changes it. Keys that depend on
+ * each other in a cycle are dispatched once per pass in the order in which
+ * they were added and the cycle is logged.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -47,6 +67,36 @@ public class Registry {
 	 */
 	private HashMap<String, String> keysAndValues;
 
+	/**
+	 * The keys that depend on each key because an Entry registered against
+	 * the key publishes its value under the dependent key. The order of the
+	 * map is the order in which keys were added.
+	 */
+	private LinkedHashMap<String, LinkedHashSet<String>> dependentKeys;
+
+	/**
+	 * The keys in the order in which they should be dispatched or null if the
+	 * dependency graph has changed and must be sorted again.
+	 */
+	private List<String> dispatchOrder;
+
+	/**
+	 * The position of each key in the dispatch order.
+	 */
+	private HashMap<String, Integer> dispatchPositions;
+
+	/**
+	 * The keys whose values have been set or changed, or that have new
+	 * registrants, since the last dispatch.
+	 */
+	private LinkedHashSet<String> dirtyKeys;
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(Registry.class);
+
 	/**
 	 * <p>
 	 * The constructor.
@@ -55,6 +105,9 @@ public class Registry {
 	public Registry() {
 		keysAndValues = new HashMap<String, String>();
 		keysAndComponents = new HashMap<String, ArrayList<IUpdateable>>();
+		dependentKeys = new LinkedHashMap<String, LinkedHashSet<String>>();
+		dispatchPositions = new HashMap<String, Integer>();
+		dirtyKeys = new LinkedHashSet<String>();
 	}
 
 	/**
@@ -94,14 +147,32 @@ public class Registry {
 			// Create a a dummy list for the Entries
 			ArrayList<IUpdateable> dummyList = new ArrayList<IUpdateable>();
 			dummyList.add(registrant);
-			// Put the key and the list into the map
+			// Put the key and the list into the map. Keep the value if the key
+			// was already set.
 			keysAndComponents.put(key, dummyList);
-			keysAndValues.put(key, null);
+			if (!keysAndValues.containsKey(key)) {
+				keysAndValues.put(key, null);
+			}
 			// Set the return value by checking for the keys
 			retVal = keysAndComponents.containsKey(key)
 					|| keysAndValues.containsKey(key);
 		}
 
+		// Add the key to the dependency graph. Entries publish their values
+		// under their names, so the key for their name depends on this one.
+		addKey(key);
+		if (registrant instanceof IEntry) {
+			String dependentKey = ((IEntry) registrant).getName();
+			if (dependentKey != null && !dependentKey.equals(key)) {
+				addKey(dependentKey);
+				dependentKeys.get(key).add(dependentKey);
+				dispatchOrder = null;
+			}
+		}
+
+		// The new registrant needs the current value on the next dispatch
+		dirtyKeys.add(key);
+
 		return retVal;
 	}
 
@@ -109,29 +180,221 @@ public class Registry {
 	 * <p>
 	 * The dispatch operation directs the Registry to call the update operation
 	 * on all of the Entries that are registered against keys with updated
-	 * values.
+	 * values. Keys are dispatched in dependency order and Entries whose values
+	 * change during their updates have their own keys dispatched in the same
+	 * pass.
 	 * </p>
 	 */
 	public void dispatch() {
 
-		// Loop over all the keys and update the ones that need it.
-		for (String aKey : keysAndValues.keySet()) {
-			// Debug info
-			// Only do the update for keys that have registrants
-			if (keysAndComponents.containsKey(aKey)) {
-				for (IUpdateable registrant : keysAndComponents.get(aKey)) {
-					registrant.update(aKey, keysAndValues.get(aKey));
-					// Debug information
+		// Local Declarations
+		TreeSet<Integer> pending = new TreeSet<Integer>();
+		LinkedHashSet<String> newKeys = new LinkedHashSet<String>(dirtyKeys);
+		List<String> order;
+
+		// Dispatch until no new keys are found. Entries that were renamed
+		// after they were registered publish their values under keys that are
+		// not yet in the dispatch order, so the order is sorted again for
+		// them once the keys that are already sorted have been dispatched.
+		while (!newKeys.isEmpty()) {
+
+			// Queue the changed keys by their position in the dispatch order
+			order = getDispatchOrder();
+			for (String aKey : newKeys) {
+				pending.add(dispatchPositions.get(aKey));
+				dirtyKeys.remove(aKey);
+			}
+			newKeys.clear();
+
+			// Update the registrants of each key. Dependent keys always come
+			// later in the order, so each key is dispatched at most once.
+			while (!pending.isEmpty()) {
+				int position = pending.pollFirst();
+				String aKey = order.get(position);
+				String value = keysAndValues.get(aKey);
+				// Only do the update for keys that have registrants
+				if (keysAndComponents.containsKey(aKey)) {
+					for (IUpdateable registrant : keysAndComponents
+							.get(aKey)) {
+						registrant.update(aKey, value);
+						// Queue the Entry's own key if its value changed
+						if (registrant instanceof IEntry) {
+							queueDependentKey((IEntry) registrant, aKey,
+									position, pending, newKeys);
+						}
+					}
 				}
 			}
 		}
 
-		// This is debug information only - print the registered keys and the
-		// hashcodes
+		return;
+	}
+
+	/**
+	 * This operation publishes the value of an Entry under its name after the
+	 * Entry has been updated for a key and queues the name for dispatch if
+	 * the value changed. If the Entry was renamed after it was registered,
+	 * its new name is added to the dependency graph and left for the caller
+	 * to sort. Keys in a cycle that
+	 * were already dispatched are left for the next pass.
+	 * 
+	 * @param entry
+	 *            The Entry that was updated
+	 * @param key
+	 *            The key for which it was updated
+	 * @param position
+	 *            The position of the key in the dispatch order
+	 * @param pending
+	 *            The positions of the keys waiting to be dispatched
+	 * @param newKeys
+	 *            The changed keys that are not in the dispatch order
+	 */
+	private void queueDependentKey(IEntry entry, String key, int position,
+			TreeSet<Integer> pending, Set<String> newKeys) {
+
+		// Local Declarations
+		String dependentKey = entry.getName();
+
+		if (dependentKey != null && !dependentKey.equals(key)
+				&& setChangedValue(dependentKey, entry.getValue())) {
+			Integer dependentPosition = dispatchPositions.get(dependentKey);
+			if (dependentKeys.get(key).add(dependentKey)
+					|| dependentPosition == null) {
+				// The Entry was renamed, so its new name depends on the key
+				// and must be sorted before it is dispatched
+				dispatchOrder = null;
+				newKeys.add(dependentKey);
+			} else if (dependentPosition > position) {
+				dirtyKeys.remove(dependentKey);
+				pending.add(dependentPosition);
+			}
+		}
 
 		return;
 	}
 
+	/**
+	 * This operation adds a key to the dependency graph if it is not already
+	 * there.
+	 * 
+	 * @param key
+	 *            The key
+	 */
+	private void addKey(String key) {
+		if (!dependentKeys.containsKey(key)) {
+			dependentKeys.put(key, new LinkedHashSet<String>());
+			dispatchOrder = null;
+		}
+	}
+
+	/**
+	 * This operation sets the value of a key and marks the key as changed if
+	 * it is new or the value differs from the current one.
+	 * 
+	 * @param key
+	 *            The key
+	 * @param value
+	 *            The new value
+	 * @return True if the key was marked as changed, false otherwise
+	 */
+	private boolean setChangedValue(String key, String value) {
+
+		// Local Declarations
+		boolean changed = !keysAndValues.containsKey(key)
+				|| !equals(keysAndValues.get(key), value);
+
+		// Set the value and mark it
+		keysAndValues.put(key, value);
+		addKey(key);
+		if (changed) {
+			dirtyKeys.add(key);
+		}
+
+		return changed;
+	}
+
+	/**
+	 * This operation compares two values, either of which may be null.
+	 * 
+	 * @param value
+	 *            The first value
+	 * @param otherValue
+	 *            The second value
+	 * @return True if they are equal, false otherwise
+	 */
+	private static boolean equals(String value, String otherValue) {
+		return (value == null) ? otherValue == null : value.equals(otherValue);
+	}
+
+	/**
+	 * This operation returns the keys in the order in which they should be
+	 * dispatched, sorting the dependency graph again if it has changed since
+	 * the last dispatch. Every key comes after the keys that it depends on
+	 * unless they are part of a cycle.
+	 * 
+	 * @return The ordered keys
+	 */
+	private List<String> getDispatchOrder() {
+
+		if (dispatchOrder == null) {
+			// Local Declarations
+			List<String> order = new ArrayList<String>(dependentKeys.size());
+			Map<String, Integer> inDegrees = new HashMap<String, Integer>();
+			List<String> ready = new ArrayList<String>();
+
+			// Count the keys that each key depends on
+			for (String key : dependentKeys.keySet()) {
+				inDegrees.put(key, 0);
+			}
+			for (Set<String> dependents : dependentKeys.values()) {
+				for (String dependent : dependents) {
+					inDegrees.put(dependent, inDegrees.get(dependent) + 1);
+				}
+			}
+			for (String key : dependentKeys.keySet()) {
+				if (inDegrees.get(key) == 0) {
+					ready.add(key);
+				}
+			}
+
+			// Sort the keys with Kahn's algorithm
+			for (int i = 0; i < ready.size(); i++) {
+				String key = ready.get(i);
+				order.add(key);
+				for (String dependent : dependentKeys.get(key)) {
+					int inDegree = inDegrees.get(dependent) - 1;
+					inDegrees.put(dependent, inDegree);
+					if (inDegree == 0) {
+						ready.add(dependent);
+					}
+				}
+			}
+
+			// Any keys that are left depend on each other in a cycle
+			if (order.size() < dependentKeys.size()) {
+				List<String> cycle = new ArrayList<String>();
+				for (String key : dependentKeys.keySet()) {
+					if (inDegrees.get(key) > 0) {
+						cycle.add(key);
+					}
+				}
+				logger.error("Registry Message: The keys " + cycle
+						+ " depend on each other in a cycle. They will only "
+						+ "be dispatched once per pass.");
+				order.addAll(cycle);
+			}
+
+			// Store the positions for the dispatch queue
+			dispatchPositions.clear();
+			for (int i = 0; i < order.size(); i++) {
+				dispatchPositions.put(order.get(i), i);
+			}
+			dispatchOrder = order;
+		}
+
+		return dispatchOrder;
+	}
+
 	/**
 	 * <p>
 	 * The setValue operations sets the value for a certain key.
@@ -152,8 +415,8 @@ public class Registry {
 	public boolean setValue(String key, String value) {
 		boolean retVal = false;
 
-		// Set the value against the key
-		keysAndValues.put(key, value);
+		// Set the value against the key and mark it if it changed
+		setChangedValue(key, value);
 		// Set the return value by making sure it actually made it into the map
 		retVal = keysAndValues.containsKey(key);
 
@@ -208,7 +471,7 @@ public class Registry {
 
 		// Update the value if it is in the map
 		if (keysAndValues.containsKey(key)) {
-			keysAndValues.put(key, value);
+			setChangedValue(key, value);
 			retVal = true;
 		}
 
@@ -248,6 +248,12 @@ public class ExecutionHelper {
 		header += "# Command Executed: " + fullCMD.replace("\n", ";") + "\n";
 		// Add the working directory
 		header += "# Working directory: " + execDictionary.get("localJobLaunchDirectory") + "\n";
+		// Add the staging results if the files were staged locally
+		if (execDictionary.get(LocalFileStager.STAGED_FILES_KEY) != null) {
+			header += "# Staged files: " + execDictionary.get(LocalFileStager.STAGED_FILES_KEY) + " files, "
+					+ execDictionary.get(LocalFileStager.STAGED_BYTES_KEY) + " bytes in "
+					+ execDictionary.get(LocalFileStager.STAGING_TIME_KEY) + " ms\n";
+		}
 		// Add an empty line
 		header += "\n";
 
@@ -12,14 +12,12 @@
  *******************************************************************************/
 package org.eclipse.ice.item.action;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.text.SimpleDateFormat;
@@ -30,6 +28,8 @@ import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -45,6 +45,7 @@ import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.item.action.LocalFileStager.StagingReport;
 import org.eclipse.remote.core.IRemoteConnection;
 import org.eclipse.remote.core.IRemoteConnectionHostService;
 import org.eclipse.remote.core.IRemoteConnectionType;
@@ -704,8 +705,7 @@ public class JobLaunchAction extends Action implements Runnable {
 			}
 			// Launch the current stage of the job
 			launchStatus = launchStageLocally(splitCMD.get(i), stdOut, stdErr);
-			monitorJob();
-			if (launchStatus.equals(FormStatus.InfoError)) {
+			if (!monitorJob() || launchStatus.equals(FormStatus.InfoError)) {
 				// Look for abnormal launches
 				// // Look for still running jobs and watch them
 				// Otherwise something has gone really wrong and the launch
@@ -782,7 +782,6 @@ public class JobLaunchAction extends Action implements Runnable {
 		// Log the output
 		stdOutStream = job.getInputStream();
 		stdErrStream = job.getErrorStream();
-		logOutput(stdOutStream, stdErrStream);
 		if (logOutput(stdOutStream, stdErrStream).equals(FormStatus.InfoError)) {
 			// Throw an error if the streaming fails
 			return FormStatus.InfoError;
@@ -813,47 +812,36 @@ public class JobLaunchAction extends Action implements Runnable {
 	 * rely on global variables, but since IRemoteProcess and Process are not
 	 * part of the same inheritance hierarchy, there is no better way to deal
 	 * with it.
+	 *
+	 * @return True if the job exited, false if the wait for it was interrupted
+	 *         or failed and the exit value is unknown
 	 */
-	protected void monitorJob() {
+	protected boolean monitorJob() {
 
 		// Local Declarations
 		int exitValue = -32; // Totally arbitrary
 
-		// Wait until the job exits. By convention an exit code of
-		// zero means that the job has succeeded. Watch it until it
-		// finishes.
-		while (exitValue != 0) {
-			// Try to get the exit value of the job
-			try {
-				exitValue = (isLocal.get()) ? job.exitValue() : remoteJob.exitValue();
-			} catch (IllegalThreadStateException e) {
-				// Complain, but keep watching
-				logger.error(getClass().getName() + " Exception!", e);
-			}
-			// Give it a second
-			try {
-				Thread.currentThread();
-				Thread.sleep(1000);
-			} catch (InterruptedException e) {
-				// Complain
-				logger.error(getClass().getName() + " Exception!", e);
-			}
-
-			// If for some reason the job has failed,
-			// it shouldn't be alive and we should break;
-			if (isLocal.get()) {
-				if (!job.isAlive()) {
-					break;
-				}
-			} else {
-				if (remoteJob.isCompleted()) {
-					break;
-				}
-			}
+		// Wait until the job exits. The shared monitor completes the future
+		// as soon as it sees that the job has ended. By convention an exit
+		// code of zero means that the job has succeeded.
+		CompletableFuture<Integer> exit = (isLocal.get())
+				? JobMonitor.getDefault().watch(job)
+				: JobMonitor.getDefault().watch(remoteJob);
+		try {
+			exitValue = exit.get();
+		} catch (InterruptedException e) {
+			// Complain and restore the interrupt for the caller
+			logger.error(getClass().getName() + " Exception!", e);
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			// Complain
+			logger.error(getClass().getName() + " Exception!", e);
+			return false;
 		}
 		logger.info("JobLaunchAction Message: Exit value = " + exitValue);
 
-		return;
+		return true;
 	}
 
 	/**
@@ -866,45 +854,8 @@ public class JobLaunchAction extends Action implements Runnable {
 	 * @return The status of the logging activities
 	 */
 	protected FormStatus logOutput(InputStream output, InputStream errors) {
-
-		// Local Declarations
-		InputStreamReader stdOutStreamReader, stdErrStreamReader;
-		BufferedReader stdOutReader, stdErrReader;
-		String nextLine;
-
-		// Setup the BufferedReader that will get stdout from the process.
-		stdOutStreamReader = new InputStreamReader(output);
-		stdOutReader = new BufferedReader(stdOutStreamReader);
-		// Setup the BufferedReader that will get stderr from the process.
-		stdErrStreamReader = new InputStreamReader(errors);
-		stdErrReader = new BufferedReader(stdErrStreamReader);
-
-		// Catch the stdout and stderr output
-		try {
-			// Write to the stdOut file
-			while ((nextLine = stdOutReader.readLine()) != null) {
-				//logger.info(nextLine);
-				stdOut.write(nextLine);
-				// MUST put a new line for this type of writer. "\r\n" works on
-				// Windows and Unix-based systems.
-				stdOut.write("\r\n");
-				stdOut.flush();
-			}
-			// Write to the stdErr file
-			while ((nextLine = stdErrReader.readLine()) != null) {
-				stdErr.write(nextLine);
-				// MUST put a new line for this type of writer. "\r\n" works on
-				// Windows and Unix-based systems.
-				stdErr.write("\r\n");
-				stdErr.flush();
-			}
-		} catch (IOException e) {
-			// Or fail and complain about it.
-			logger.error(getClass().getName() + " Exception!", e);
-			return FormStatus.InfoError;
-		}
-
-		return FormStatus.Processing;
+		// Read both streams at once so that neither pipe can fill up
+		return new OutputPump(stdOut, stdErr).pump(output, errors);
 	}
 
 	/**
@@ -1086,7 +1037,10 @@ public class JobLaunchAction extends Action implements Runnable {
 			// !========== JOB MONITORING ============!
 			
 			// Monitor the job
-			monitorJob();
+			if (!monitorJob()) {
+				status = FormStatus.InfoError;
+				return;
+			}
 
 			// !=========== DOWNLOAD FILES ===========!
 
@@ -1413,6 +1367,23 @@ public class JobLaunchAction extends Action implements Runnable {
 		// Set the command to execute.
 		fullCMD = fixExecutableName();
 
+		// Stage all files needed in the local launch directory. This is done
+		// before the logs are opened so that the headers can report it.
+		LocalFileStager stager = new LocalFileStager();
+		stager.setHardLinksAllowed("true".equals(execDictionary.get("stagingHardLinks")));
+		try {
+			logger.info("JobLaunchAction staging " + fileMap.keySet() + " in local job launch folder: "
+					+ localLaunchFolder.getLocation().toOSString() + ".");
+			StagingReport report = stager.stage(project.getLocation().toFile().toPath(), fileMap.keySet(),
+					localLaunchFolder.getLocation().toFile().toPath());
+			report.addTo(execDictionary);
+			localLaunchFolder.refreshLocal(IResource.DEPTH_INFINITE, null);
+		} catch (IOException | CoreException e) {
+			logger.error("JobLaunchAction Error - Could not copy files from the project space to the job folder.", e);
+			status = FormStatus.InfoError;
+			return;
+		}
+
 		// Setup the output streams, stdout first
 		stdOutFileName = execDictionary.get("stdOutFileName");
 		stdOut = getBufferedWriter(stdOutFileName);
@@ -1432,19 +1403,6 @@ public class JobLaunchAction extends Action implements Runnable {
 			logger.error(getClass().getName() + " Exception!", e);
 		}
 
-		// Copy all files needed to the local launch directory
-		try {
-			for (String fileName : fileMap.keySet()) {
-				logger.info("JobLaunchAction copying " + fileName + " to local job launch folder: " + localLaunchFolder.getLocation().toOSString() + ".");
-				IFile newFile = localLaunchFolder.getFile(fileName);
-				newFile.create(project.getFile(fileName).getContents(), true, null);
-			}
-		} catch (CoreException e) {
-			logger.error("JobLaunchAction Error - Could not copy files from the project space to the job folder.", e);
-			status = FormStatus.InfoError;
-			return;
-		}
-
 		// Determine where to launch
 		if (isLocal.get()) {
 			// Launch on the local machine
@@ -1508,6 +1466,12 @@ public class JobLaunchAction extends Action implements Runnable {
 		}
 		// Add the working directory
 		header += "# Working directory: " + execDictionary.get("workingDir") + "\n";
+		// Add the staging results
+		if (execDictionary.get(LocalFileStager.STAGED_FILES_KEY) != null) {
+			header += "# Staged files: " + execDictionary.get(LocalFileStager.STAGED_FILES_KEY) + " files, "
+					+ execDictionary.get(LocalFileStager.STAGED_BYTES_KEY) + " bytes in "
+					+ execDictionary.get(LocalFileStager.STAGING_TIME_KEY) + " ms\n";
+		}
 		// Add an empty line
 		header += "\n";
 
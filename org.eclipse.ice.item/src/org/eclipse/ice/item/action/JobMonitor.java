@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.item.action;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.item.Item;
+import org.eclipse.remote.core.IRemoteProcess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class watches running jobs, both local Processes and IRemoteProcesses,
+ * and completes a future with the exit value of each job as soon as it ends.
+ * All of the jobs are watched by a single, shared scheduler thread instead of
+ * by a sleeping thread per job.
+ * <p>
+ * Java 8 Processes cannot report their own exit, so each job is checked on
+ * the scheduler thread. A new job is checked after a few milliseconds and the
+ * interval grows with the age of the job up to a quarter of a second, so short
+ * jobs are noticed almost immediately and long jobs cost little to watch.
+ * </p>
+ * <p>
+ * Items that process in the background do not report when they are done
+ * either, so they can be watched in the same way until their status is no
+ * longer Processing or NeedsInfo. Code that depends on the end of any job can
+ * also block in awaitJobEnd() instead of sleeping.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class JobMonitor {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(JobMonitor.class);
+
+	/**
+	 * The delay in milliseconds before a new job is checked for the first
+	 * time.
+	 */
+	private static final long MIN_DELAY = 5;
+
+	/**
+	 * The longest delay in milliseconds between two checks of the same job.
+	 */
+	private static final long MAX_DELAY = 250;
+
+	/**
+	 * The shared instance.
+	 */
+	private static final JobMonitor defaultMonitor = new JobMonitor();
+
+	/**
+	 * The scheduler on which all of the jobs are checked.
+	 */
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * The number of jobs that have ended. It is used to wake threads waiting
+	 * in awaitJobEnd().
+	 */
+	private long endedJobs = 0;
+
+	/**
+	 * This interface adapts the different kinds of processes so that they can
+	 * be watched in the same way.
+	 */
+	private interface WatchedJob {
+
+		/**
+		 * @return True if the job has ended
+		 */
+		boolean isDone();
+
+		/**
+		 * @return The exit value of the job. This is only called after the
+		 *         job has ended.
+		 */
+		int exitValue();
+	}
+
+	/**
+	 * The Constructor
+	 */
+	public JobMonitor() {
+		scheduler = Executors
+				.newSingleThreadScheduledExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "ICE Job Monitor");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+	}
+
+	/**
+	 * This operation returns the monitor shared by all of the job launch
+	 * Actions.
+	 *
+	 * @return The shared monitor
+	 */
+	public static JobMonitor getDefault() {
+		return defaultMonitor;
+	}
+
+	/**
+	 * This operation starts watching a local job.
+	 *
+	 * @param job
+	 *            The job
+	 * @return A future that is completed with the exit value of the job when
+	 *         it ends
+	 */
+	public CompletableFuture<Integer> watch(final Process job) {
+		return watch(new WatchedJob() {
+			@Override
+			public boolean isDone() {
+				return !job.isAlive();
+			}
+
+			@Override
+			public int exitValue() {
+				return job.exitValue();
+			}
+		});
+	}
+
+	/**
+	 * This operation starts watching a remote job.
+	 *
+	 * @param job
+	 *            The job
+	 * @return A future that is completed with the exit value of the job when
+	 *         it ends
+	 */
+	public CompletableFuture<Integer> watch(final IRemoteProcess job) {
+		return watch(new WatchedJob() {
+			@Override
+			public boolean isDone() {
+				return job.isCompleted();
+			}
+
+			@Override
+			public int exitValue() {
+				return job.exitValue();
+			}
+		});
+	}
+
+	/**
+	 * This operation starts watching an Item that is processing in the
+	 * background.
+	 *
+	 * @param item
+	 *            The Item
+	 * @return A future that is completed with the status of the Item when it
+	 *         is no longer Processing or NeedsInfo, or with
+	 *         FormStatus.InfoError if the status could not be checked
+	 */
+	public CompletableFuture<FormStatus> watch(final Item item) {
+
+		// Local Declarations
+		final CompletableFuture<FormStatus> finalStatus = new CompletableFuture<FormStatus>();
+
+		// Watch the status and keep it once processing is over
+		watch(new WatchedJob() {
+			@Override
+			public boolean isDone() {
+				FormStatus status = item.getStatus();
+				boolean done = !FormStatus.Processing.equals(status)
+						&& !FormStatus.NeedsInfo.equals(status);
+				if (done) {
+					finalStatus.complete(status);
+				}
+				return done;
+			}
+
+			@Override
+			public int exitValue() {
+				return 0;
+			}
+		}).whenComplete(new BiConsumer<Integer, Throwable>() {
+			@Override
+			public void accept(Integer exitValue, Throwable exception) {
+				if (exception != null) {
+					finalStatus.complete(FormStatus.InfoError);
+				}
+			}
+		});
+
+		return finalStatus;
+	}
+
+	/**
+	 * This operation schedules the first check of a job.
+	 *
+	 * @param job
+	 *            The job
+	 * @return The future for the exit value
+	 */
+	private CompletableFuture<Integer> watch(WatchedJob job) {
+		CompletableFuture<Integer> exitValue = new CompletableFuture<Integer>();
+		// Jobs that have already ended do not need to wait for the scheduler
+		if (job.isDone()) {
+			end(job, exitValue);
+		} else {
+			schedule(job, exitValue, MIN_DELAY);
+		}
+		return exitValue;
+	}
+
+	/**
+	 * This operation schedules a check of a job, which reschedules itself with
+	 * a longer delay until the job ends.
+	 *
+	 * @param job
+	 *            The job
+	 * @param exitValue
+	 *            The future for the exit value
+	 * @param delay
+	 *            The delay in milliseconds before the check
+	 */
+	private void schedule(final WatchedJob job,
+			final CompletableFuture<Integer> exitValue, final long delay) {
+		scheduler.schedule(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					if (exitValue.isDone()) {
+						// Cancelled by the caller, so stop watching.
+						return;
+					} else if (job.isDone()) {
+						end(job, exitValue);
+					} else {
+						schedule(job, exitValue,
+								Math.min(delay * 2, MAX_DELAY));
+					}
+				} catch (RuntimeException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+					exitValue.completeExceptionally(e);
+				}
+			}
+		}, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * This operation completes the future of a job that has ended and wakes
+	 * any threads waiting for a job to end.
+	 *
+	 * @param job
+	 *            The job
+	 * @param exitValue
+	 *            The future for the exit value
+	 */
+	private void end(WatchedJob job, CompletableFuture<Integer> exitValue) {
+		exitValue.complete(job.exitValue());
+		synchronized (this) {
+			endedJobs++;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * This operation blocks until any watched job ends or the timeout
+	 * elapses, whichever comes first.
+	 *
+	 * @param timeout
+	 *            The longest time to wait
+	 * @param unit
+	 *            The unit of the timeout
+	 * @return True if a job ended while waiting, false if the timeout elapsed
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while waiting
+	 */
+	public synchronized boolean awaitJobEnd(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		long start = endedJobs;
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		long remaining = unit.toNanos(timeout);
+		while (endedJobs == start && remaining > 0) {
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			remaining = deadline - System.nanoTime();
+		}
+		return endedJobs != start;
+	}
+
+}
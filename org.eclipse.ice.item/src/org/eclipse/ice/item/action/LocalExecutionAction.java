@@ -11,14 +11,14 @@
  *******************************************************************************/
 package org.eclipse.ice.item.action;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Dictionary;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.resources.IFolder;
@@ -298,8 +298,10 @@ public class LocalExecutionAction extends Action {
 				return status;
 			}
 
-			// Return successful FormStatus flag.
-			status = FormStatus.Processed;
+			// Return successful FormStatus flag if the launch worked.
+			if (status != FormStatus.InfoError) {
+				status = FormStatus.Processed;
+			}
 			return status;
 		} else {
 			logger.error(
@@ -356,8 +358,7 @@ public class LocalExecutionAction extends Action {
 			}
 			// Launch the current stage of the job
 			launchStatus = launchStageLocally(splitCMD.get(i), stdOut, stdErr);
-			monitorJob();
-			if (launchStatus.equals(FormStatus.InfoError)) {
+			if (!monitorJob() || launchStatus.equals(FormStatus.InfoError)) {
 				// Look for abnormal launches
 				// // Look for still running jobs and watch them
 				// Otherwise something has gone really wrong and the launch
@@ -482,7 +483,6 @@ public class LocalExecutionAction extends Action {
 		// Log the output
 		stdOutStream = job.getInputStream();
 		stdErrStream = job.getErrorStream();
-		logOutput(stdOutStream, stdErrStream);
 		if (logOutput(stdOutStream, stdErrStream)
 				.equals(FormStatus.InfoError)) {
 			// Throw an error if the streaming fails
@@ -514,41 +514,35 @@ public class LocalExecutionAction extends Action {
 	 * rely on global variables, but since IRemoteProcess and Process are not
 	 * part of the same inheritance hierarchy, there is no better way to deal
 	 * with it.
+	 *
+	 * @return True if the job exited, false if the wait for it was interrupted
+	 *         or failed and the exit value is unknown
 	 */
-	protected void monitorJob() {
+	protected boolean monitorJob() {
 
 		// Local Declarations
 		int exitValue = -32; // Totally arbitrary
 
-		// Wait until the job exits. By convention an exit code of
-		// zero means that the job has succeeded. Watch it until it
-		// finishes.
-		while (exitValue != 0) {
-			// Try to get the exit value of the job
-			try {
-				exitValue = job.exitValue();
-			} catch (IllegalThreadStateException e) {
-				// Complain, but keep watching
-				logger.error(getClass().getName() + " Exception!", e);
-			}
-			// Give it a second
-			try {
-				Thread.currentThread();
-				Thread.sleep(1000);
-			} catch (InterruptedException e) {
-				// Complain
-				logger.error(getClass().getName() + " Exception!", e);
-			}
-
-			// If for some reason the job has failed,
-			// it shouldn't be alive and we should break;
-			if (!job.isAlive()) {
-				break;
-			}
+		// Wait until the job exits. The shared monitor completes the future
+		// as soon as it sees that the job has ended. By convention an exit
+		// code of zero means that the job has succeeded.
+		CompletableFuture<Integer> exit = JobMonitor.getDefault()
+				.watch(job);
+		try {
+			exitValue = exit.get();
+		} catch (InterruptedException e) {
+			// Complain and restore the interrupt for the caller
+			logger.error(getClass().getName() + " Exception!", e);
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			// Complain
+			logger.error(getClass().getName() + " Exception!", e);
+			return false;
 		}
 		logger.info("LocalExecutionAction Message: Exit value = " + exitValue);
 
-		return;
+		return true;
 	}
 
 	/**
@@ -561,45 +555,14 @@ public class LocalExecutionAction extends Action {
 	 * @return The status of the logging activities
 	 */
 	protected FormStatus logOutput(InputStream output, InputStream errors) {
-
-		// Local Declarations
-		InputStreamReader stdOutStreamReader, stdErrStreamReader;
-		BufferedReader stdOutReader, stdErrReader;
-		String nextLine;
-
-		// Setup the BufferedReader that will get stdout from the process.
-		stdOutStreamReader = new InputStreamReader(output);
-		stdOutReader = new BufferedReader(stdOutStreamReader);
-		// Setup the BufferedReader that will get stderr from the process.
-		stdErrStreamReader = new InputStreamReader(errors);
-		stdErrReader = new BufferedReader(stdErrStreamReader);
-
-		// Catch the stdout and stderr output
-		try {
-			// Write to the stdOut file
-			while ((nextLine = stdOutReader.readLine()) != null) {
-				// logger.info(nextLine);
-				stdOut.write(nextLine);
-				// MUST put a new line for this type of writer. "\r\n" works on
-				// Windows and Unix-based systems.
-				stdOut.write("\r\n");
-				postConsoleText(nextLine);
-				stdOut.flush();
-			}
-			// Write to the stdErr file
-			while ((nextLine = stdErrReader.readLine()) != null) {
-				stdErr.write(nextLine);
-				// MUST put a new line for this type of writer. "\r\n" works on
-				// Windows and Unix-based systems.
-				stdErr.write("\r\n");
-				stdErr.flush();
-			}
-		} catch (IOException e) {
-			// Or fail and complain about it.
-			logger.error(getClass().getName() + " Exception!", e);
-			return FormStatus.InfoError;
-		}
-
-		return FormStatus.Processing;
+		// Read both streams at once so that neither pipe can fill up and
+		// show both of them in the console as they arrive
+		return new OutputPump(stdOut, stdErr)
+				.setTailListener(new OutputPump.TailListener() {
+					@Override
+					public void lineRead(String line, boolean isError) {
+						postConsoleText(line);
+					}
+				}).pump(output, errors);
 	}
 }
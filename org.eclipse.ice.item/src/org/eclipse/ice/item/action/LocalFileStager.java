@@ -0,0 +1,502 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.item.action;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Dictionary;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class stages the input files of a local job into its launch folder.
+ * The method used for each file is chosen by its size. Small files are copied
+ * with FileChannel.transferTo(), which lets the operating system move the
+ * bytes without passing them through the JVM. Large files are first cloned
+ * with a copy-on-write reflink if the file system supports it, then hard
+ * linked if that is allowed and the files are on the same file system, and
+ * only copied if neither works. Several files are staged at once on a bounded
+ * pool of threads.
+ * <p>
+ * Hard links share their contents with the original file, so a job that
+ * modifies a hard-linked input in place also modifies the file in the
+ * project. They are only used if a client turns them on with
+ * {@link #setHardLinksAllowed(boolean)} for jobs that do not modify their
+ * inputs.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class LocalFileStager {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(LocalFileStager.class);
+
+	/**
+	 * The dictionary key for the number of files staged.
+	 */
+	public static final String STAGED_FILES_KEY = "stagedFiles";
+
+	/**
+	 * The dictionary key for the number of bytes staged.
+	 */
+	public static final String STAGED_BYTES_KEY = "stagedBytes";
+
+	/**
+	 * The dictionary key for the time that staging took in milliseconds.
+	 */
+	public static final String STAGING_TIME_KEY = "stagingTime";
+
+	/**
+	 * The default size, in bytes, at or above which files are linked instead
+	 * of copied.
+	 */
+	public static final long DEFAULT_LINK_THRESHOLD = 16L * 1024L * 1024L;
+
+	/**
+	 * The default number of files that are staged at once.
+	 */
+	public static final int DEFAULT_MAX_THREADS = 4;
+
+	/**
+	 * Whether or not files can be cloned from one file store to another,
+	 * keyed by the source and target file stores. Pairs that have not been
+	 * tried are not in the map.
+	 */
+	private static final Map<List<FileStore>, Boolean> reflinkSupport = new ConcurrentHashMap<List<FileStore>, Boolean>();
+
+	/**
+	 * The ways in which a file can be staged.
+	 */
+	public enum Method {
+		/**
+		 * A copy-on-write clone of the file.
+		 */
+		REFLINK,
+		/**
+		 * A hard link to the file.
+		 */
+		HARD_LINK,
+		/**
+		 * A copy made with FileChannel.transferTo().
+		 */
+		TRANSFER
+	}
+
+	/**
+	 * This class holds the results of staging a set of files.
+	 */
+	public static class StagingReport {
+
+		/**
+		 * The method used for each file, keyed by name.
+		 */
+		private final Map<String, Method> methods = new ConcurrentHashMap<String, Method>();
+
+		/**
+		 * The number of bytes staged.
+		 */
+		private final AtomicLong bytes = new AtomicLong();
+
+		/**
+		 * The number of bytes that were actually copied.
+		 */
+		private final AtomicLong copiedBytes = new AtomicLong();
+
+		/**
+		 * The time that staging took, in nanoseconds.
+		 */
+		private long elapsedTime;
+
+		/**
+		 * This operation returns the method used to stage a file.
+		 *
+		 * @param name
+		 *            The name of the file
+		 * @return The method or null if the file was not staged
+		 */
+		public Method getMethod(String name) {
+			return methods.get(name);
+		}
+
+		/**
+		 * This operation returns the number of files that were staged.
+		 *
+		 * @return The number of files
+		 */
+		public int getNumberOfFiles() {
+			return methods.size();
+		}
+
+		/**
+		 * This operation returns the total size of the files that were
+		 * staged.
+		 *
+		 * @return The number of bytes
+		 */
+		public long getBytesStaged() {
+			return bytes.get();
+		}
+
+		/**
+		 * This operation returns the number of bytes that were copied instead
+		 * of linked.
+		 *
+		 * @return The number of bytes
+		 */
+		public long getBytesCopied() {
+			return copiedBytes.get();
+		}
+
+		/**
+		 * This operation returns the time that staging took.
+		 *
+		 * @return The time in milliseconds
+		 */
+		public long getElapsedTime() {
+			return elapsedTime / 1000000L;
+		}
+
+		/**
+		 * This operation records the results in a dictionary of job
+		 * parameters so that they can be written in the headers of the job's
+		 * logs.
+		 *
+		 * @param dictionary
+		 *            The dictionary
+		 */
+		public void addTo(Dictionary<String, String> dictionary) {
+			dictionary.put(STAGED_FILES_KEY,
+					Integer.toString(getNumberOfFiles()));
+			dictionary.put(STAGED_BYTES_KEY, Long.toString(getBytesStaged()));
+			dictionary.put(STAGING_TIME_KEY, Long.toString(getElapsedTime()));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return getNumberOfFiles() + " files with " + getBytesStaged()
+					+ " bytes staged in " + getElapsedTime() + " ms. "
+					+ getBytesCopied() + " bytes were copied.";
+		}
+	}
+
+	/**
+	 * The size, in bytes, at or above which files are linked instead of
+	 * copied.
+	 */
+	private long linkThreshold = DEFAULT_LINK_THRESHOLD;
+
+	/**
+	 * True if large files may be hard linked. This is false by default.
+	 */
+	private boolean hardLinksAllowed = false;
+
+	/**
+	 * The largest number of files that are staged at once.
+	 */
+	private int maxThreads = DEFAULT_MAX_THREADS;
+
+	/**
+	 * This operation sets the size at or above which files are linked
+	 * instead of copied.
+	 *
+	 * @param linkThreshold
+	 *            The size in bytes
+	 */
+	public void setLinkThreshold(long linkThreshold) {
+		this.linkThreshold = linkThreshold;
+	}
+
+	/**
+	 * This operation sets whether or not large files may be hard linked when
+	 * they can not be cloned. Hard links are not used by default.
+	 *
+	 * @param allowed
+	 *            True if hard links may be used, false otherwise
+	 */
+	public void setHardLinksAllowed(boolean allowed) {
+		hardLinksAllowed = allowed;
+	}
+
+	/**
+	 * This operation sets the largest number of files that are staged at
+	 * once.
+	 *
+	 * @param maxThreads
+	 *            The number of files, which must be at least one
+	 */
+	public void setMaxThreads(int maxThreads) {
+		if (maxThreads > 0) {
+			this.maxThreads = maxThreads;
+		}
+	}
+
+	/**
+	 * This operation stages files from one directory into another. Existing
+	 * files in the target directory are replaced.
+	 *
+	 * @param sourceDirectory
+	 *            The directory that holds the files
+	 * @param names
+	 *            The paths of the files relative to the source directory,
+	 *            which are also their paths relative to the target directory
+	 * @param targetDirectory
+	 *            The directory to stage the files into
+	 * @return The report of what was staged
+	 * @throws IOException
+	 *             An exception indicating that a file could not be staged
+	 */
+	public StagingReport stage(final Path sourceDirectory,
+			Collection<String> names, final Path targetDirectory)
+			throws IOException {
+
+		// Local Declarations
+		final StagingReport report = new StagingReport();
+		long start = System.nanoTime();
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+		IOException failure = null;
+
+		// Nothing to do
+		if (names.isEmpty()) {
+			return report;
+		}
+
+		// Create a pool that is no larger than it needs to be
+		ExecutorService pool = Executors.newFixedThreadPool(
+				Math.min(maxThreads, names.size()), new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"ICE Local File Stager");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		// Stage the files and keep the first failure
+		try {
+			for (final String name : names) {
+				futures.add(pool.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws IOException {
+						stageFile(sourceDirectory.resolve(name),
+								targetDirectory.resolve(name), name, report);
+						return null;
+					}
+				}));
+			}
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = (e.getCause() instanceof IOException)
+								? (IOException) e.getCause()
+								: new IOException(e.getCause());
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure = new IOException("Staging was interrupted.", e);
+		} finally {
+			pool.shutdownNow();
+			report.elapsedTime = System.nanoTime() - start;
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+
+		logger.info("LocalFileStager Message: Staged into " + targetDirectory
+				+ ". " + report);
+
+		return report;
+	}
+
+	/**
+	 * This operation stages a single file with the best method available for
+	 * its size.
+	 *
+	 * @param source
+	 *            The file
+	 * @param target
+	 *            The path of the staged file
+	 * @param name
+	 *            The name used for the file in the report
+	 * @param report
+	 *            The report
+	 * @throws IOException
+	 *             An exception indicating that the file could not be staged
+	 */
+	private void stageFile(Path source, Path target, String name,
+			StagingReport report) throws IOException {
+
+		// Local Declarations
+		long size = Files.size(source);
+		Method method = null;
+
+		// Clear the way
+		Files.createDirectories(target.getParent());
+		Files.deleteIfExists(target);
+
+		// Try to link large files
+		if (size >= linkThreshold) {
+			FileStore sourceStore = Files.getFileStore(source);
+			FileStore targetStore = Files.getFileStore(target.getParent());
+			if (reflink(source, target, sourceStore, targetStore)) {
+				method = Method.REFLINK;
+			} else if (hardLinksAllowed && targetStore.equals(sourceStore)) {
+				try {
+					Files.createLink(target, source);
+					method = Method.HARD_LINK;
+				} catch (IOException | UnsupportedOperationException e) {
+					logger.info("LocalFileStager Message: Could not link "
+							+ name + ". It will be copied.");
+				}
+			}
+		}
+
+		// Copy everything else
+		if (method == null) {
+			transfer(source, target, size);
+			method = Method.TRANSFER;
+			report.copiedBytes.addAndGet(size);
+		}
+
+		report.methods.put(name, method);
+		report.bytes.addAndGet(size);
+
+		return;
+	}
+
+	/**
+	 * This operation tries to clone a file with a copy-on-write reflink. It
+	 * remembers the pairs of file stores between which files can not be
+	 * cloned so that they are only tried once.
+	 *
+	 * @param source
+	 *            The file
+	 * @param target
+	 *            The path of the clone
+	 * @param sourceStore
+	 *            The file store of the source
+	 * @param targetStore
+	 *            The file store of the target
+	 * @return True if the file was cloned, false otherwise
+	 */
+	private boolean reflink(Path source, Path target, FileStore sourceStore,
+			FileStore targetStore) {
+
+		// Local Declarations
+		boolean cloned = false;
+		String os = System.getProperty("os.name").toLowerCase();
+		List<FileStore> stores = Arrays.asList(sourceStore, targetStore);
+		ProcessBuilder builder;
+
+		// Only Linux and Mac OS X can clone files from the command line
+		if (Boolean.FALSE.equals(reflinkSupport.get(stores))) {
+			return false;
+		} else if (os.contains("linux")) {
+			builder = new ProcessBuilder("cp", "--reflink=always",
+					source.toString(), target.toString());
+		} else if (os.contains("mac")) {
+			builder = new ProcessBuilder("cp", "-c", source.toString(),
+					target.toString());
+		} else {
+			return false;
+		}
+
+		// Clone it. A failure is expected on most file systems, so the
+		// complaint is thrown away.
+		try {
+			Process process = builder.redirectErrorStream(true)
+					.redirectOutput(ProcessBuilder.Redirect
+							.appendTo(new File("/dev/null")))
+					.start();
+			cloned = process.waitFor(60, TimeUnit.SECONDS)
+					&& process.exitValue() == 0;
+			if (!cloned) {
+				process.destroy();
+				Files.deleteIfExists(target);
+			}
+		} catch (IOException e) {
+			cloned = false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			cloned = false;
+		}
+
+		// Remember the answer
+		reflinkSupport.put(stores, cloned);
+
+		return cloned;
+	}
+
+	/**
+	 * This operation copies a file with FileChannel.transferTo().
+	 *
+	 * @param source
+	 *            The file
+	 * @param target
+	 *            The path of the copy
+	 * @param size
+	 *            The size of the file
+	 * @throws IOException
+	 *             An exception indicating that the file could not be copied
+	 */
+	private void transfer(Path source, Path target, long size)
+			throws IOException {
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(target,
+						StandardOpenOption.CREATE_NEW,
+						StandardOpenOption.WRITE)) {
+			long position = 0;
+			while (position < size) {
+				long transferred = in.transferTo(position, size - position,
+						out);
+				if (transferred <= 0) {
+					break;
+				}
+				position += transferred;
+			}
+		}
+	}
+
+}
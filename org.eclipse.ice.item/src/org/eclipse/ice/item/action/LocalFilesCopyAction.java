@@ -11,13 +11,15 @@
  *******************************************************************************/
 package org.eclipse.ice.item.action;
 
+import java.io.IOException;
 import java.util.Dictionary;
 
-import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.item.action.LocalFileStager.StagingReport;
 
 /**
  * The LocalFilesCopyAction is a subclass of Action that copies files 
@@ -193,7 +195,26 @@ import org.eclipse.ice.datastructures.form.FormStatus;
 * </p>
 * </td>
 * </tr>
+ * <tr>
+ * <td>
+ * <p>
+ * stagingHardLinks
+ * </p>
+ * </td>
+ * <td>
+ * <p>
+ * "true" if large files may be hard linked into the job folder when they can
+ * not be cloned (optional). Only jobs that never modify their input files in
+ * place should set this.
+ * </p>
+ * </td>
+ * </tr>
  * </table>
+ * <p>
+ * The files are staged by the LocalFileStager, which links large files and
+ * copies small ones. The number of files, bytes and the time it took are added
+ * to the dictionary so that they are written in the headers of the job's logs.
+ * </p>
  *
  * @author Alex McCaskey
  *
@@ -239,20 +260,28 @@ public class LocalFilesCopyAction extends Action {
 			// files we need copied.
 			helper.fixExecutableName();
 
-			// Copy all files needed to the local launch directory
+			// Stage all files needed in the local launch directory
+			LocalFileStager stager = new LocalFileStager();
+			stager.setHardLinksAllowed(
+					"true".equals(dictionary.get("stagingHardLinks")));
 			try {
-				for (String fileName : helper.getInputFileMap().keySet()) {
-					logger.info("LocalFilesCopyAction copying " + fileName + " to local job launch folder: "
-							+ localLaunchFolder.getLocation().toOSString() + ".");
-					IFile newFile = localLaunchFolder.getFile(fileName);
-					newFile.create(project.getFile(fileName).getContents(), true, null);
-				}
-			} catch (CoreException e) {
+				logger.info("LocalFilesCopyAction staging "
+						+ helper.getInputFileMap().keySet()
+						+ " in local job launch folder: "
+						+ localLaunchFolder.getLocation().toOSString() + ".");
+				StagingReport report = stager.stage(
+						project.getLocation().toFile().toPath(),
+						helper.getInputFileMap().keySet(),
+						localLaunchFolder.getLocation().toFile().toPath());
+				report.addTo(dictionary);
+				// Let the workspace know about the new files
+				localLaunchFolder.refreshLocal(IResource.DEPTH_INFINITE, null);
+			} catch (IOException | CoreException e) {
 				return actionError(
 						"LocalExecutionAction Error - Could not copy files from the project space to the job folder.",
 						e);
 			}
-			
+
 			status = FormStatus.Processed;
 			return status;
 		} else {
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.item.action;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class copies the standard output and standard error streams of a
+ * launched job into Writers. Both streams are read at the same time on their
+ * own threads, so a job that fills one pipe while the other is being read
+ * cannot block.
+ * <p>
+ * Lines are collected in a batch for each stream and written out when the
+ * batch reaches the flush size or when the flush interval elapses, whichever
+ * comes first, so the Writers are not flushed for every line and the output
+ * files are never more than one interval behind the job. Each batch is
+ * bounded by the flush size, so the pump holds at most one batch per stream
+ * in memory.
+ * </p>
+ * <p>
+ * A TailListener can be set to see each line as soon as it is read, for
+ * example to show the output of the job in the console.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class OutputPump {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(OutputPump.class);
+
+	/**
+	 * The default number of characters collected before a batch is written.
+	 */
+	public static final int DEFAULT_FLUSH_SIZE = 8192;
+
+	/**
+	 * The default number of milliseconds after which a partial batch is
+	 * written.
+	 */
+	public static final long DEFAULT_FLUSH_INTERVAL = 250;
+
+	/**
+	 * The threads that read the streams. They are shared by all pumps.
+	 */
+	private static final ExecutorService readers = Executors
+			.newCachedThreadPool(new PumpThreadFactory("ICE Output Pump"));
+
+	/**
+	 * The thread that writes partial batches when the flush interval elapses.
+	 * It is shared by all pumps.
+	 */
+	private static final ScheduledExecutorService flusher = Executors
+			.newSingleThreadScheduledExecutor(
+					new PumpThreadFactory("ICE Output Flusher"));
+
+	/**
+	 * This interface is implemented by clients that want to see the output
+	 * of a job as it is read.
+	 */
+	public interface TailListener {
+
+		/**
+		 * This operation is called on a pump thread for every line read.
+		 *
+		 * @param line
+		 *            The line, without its line separator
+		 * @param isError
+		 *            True if the line was read from standard error
+		 */
+		void lineRead(String line, boolean isError);
+	}
+
+	/**
+	 * The Writer for standard output.
+	 */
+	private final Writer outputWriter;
+
+	/**
+	 * The Writer for standard error.
+	 */
+	private final Writer errorWriter;
+
+	/**
+	 * The number of characters collected before a batch is written.
+	 */
+	private int flushSize = DEFAULT_FLUSH_SIZE;
+
+	/**
+	 * The number of milliseconds after which a partial batch is written.
+	 */
+	private long flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+	/**
+	 * The line separator written after each line. "\r\n" works on Windows
+	 * and Unix-based systems.
+	 */
+	private String lineSeparator = "\r\n";
+
+	/**
+	 * The listener that sees each line or null if there is none.
+	 */
+	private TailListener tailListener;
+
+	/**
+	 * The Constructor
+	 *
+	 * @param outputWriter
+	 *            The Writer for standard output
+	 * @param errorWriter
+	 *            The Writer for standard error
+	 */
+	public OutputPump(Writer outputWriter, Writer errorWriter) {
+		this.outputWriter = outputWriter;
+		this.errorWriter = errorWriter;
+	}
+
+	/**
+	 * This operation sets the number of characters collected before a batch
+	 * is written.
+	 *
+	 * @param flushSize
+	 *            The size. It must be positive.
+	 * @return This pump
+	 */
+	public OutputPump setFlushSize(int flushSize) {
+		if (flushSize > 0) {
+			this.flushSize = flushSize;
+		}
+		return this;
+	}
+
+	/**
+	 * This operation sets the time after which a partial batch is written.
+	 *
+	 * @param flushInterval
+	 *            The interval in milliseconds. It must be positive.
+	 * @return This pump
+	 */
+	public OutputPump setFlushInterval(long flushInterval) {
+		if (flushInterval > 0) {
+			this.flushInterval = flushInterval;
+		}
+		return this;
+	}
+
+	/**
+	 * This operation sets the line separator written after each line.
+	 *
+	 * @param lineSeparator
+	 *            The separator
+	 * @return This pump
+	 */
+	public OutputPump setLineSeparator(String lineSeparator) {
+		if (lineSeparator != null) {
+			this.lineSeparator = lineSeparator;
+		}
+		return this;
+	}
+
+	/**
+	 * This operation sets the listener that sees each line as it is read.
+	 *
+	 * @param tailListener
+	 *            The listener or null to remove it
+	 * @return This pump
+	 */
+	public OutputPump setTailListener(TailListener tailListener) {
+		this.tailListener = tailListener;
+		return this;
+	}
+
+	/**
+	 * This operation copies both streams to the Writers and blocks until both
+	 * streams are exhausted. The Writers are flushed, but not closed.
+	 *
+	 * @param output
+	 *            The standard output stream of the job
+	 * @param errors
+	 *            The standard error stream of the job
+	 * @return FormStatus.Processing if the streams were copied or
+	 *         FormStatus.InfoError if either could not be copied
+	 */
+	public FormStatus pump(InputStream output, InputStream errors) {
+
+		// Start a sink for each stream
+		CountDownLatch done = new CountDownLatch(2);
+		Sink outputSink = new Sink(output, outputWriter, false, done);
+		Sink errorSink = new Sink(errors, errorWriter, true, done);
+		readers.execute(outputSink);
+		readers.execute(errorSink);
+
+		// Write partial batches on time
+		ScheduledFuture<?> flushTask = flusher.scheduleWithFixedDelay(
+				new Runnable() {
+					@Override
+					public void run() {
+						outputSink.flushBatch();
+						errorSink.flushBatch();
+					}
+				}, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+
+		// Wait for both streams to end
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return FormStatus.InfoError;
+		} finally {
+			flushTask.cancel(false);
+		}
+
+		return (outputSink.failed || errorSink.failed) ? FormStatus.InfoError
+				: FormStatus.Processing;
+	}
+
+	/**
+	 * This class reads one stream and writes it to one Writer in batches.
+	 */
+	private class Sink implements Runnable {
+
+		/**
+		 * The stream to read.
+		 */
+		private final InputStream stream;
+
+		/**
+		 * The Writer to which the stream is copied.
+		 */
+		private final Writer writer;
+
+		/**
+		 * True if the stream is standard error.
+		 */
+		private final boolean isError;
+
+		/**
+		 * The latch that is counted down when the stream is exhausted.
+		 */
+		private final CountDownLatch done;
+
+		/**
+		 * The lines that have been read but not yet written. It is guarded by
+		 * the Sink.
+		 */
+		private final StringBuilder batch;
+
+		/**
+		 * True if the stream could not be read or written.
+		 */
+		private volatile boolean failed = false;
+
+		/**
+		 * The Constructor
+		 */
+		private Sink(InputStream stream, Writer writer, boolean isError,
+				CountDownLatch done) {
+			this.stream = stream;
+			this.writer = writer;
+			this.isError = isError;
+			this.done = done;
+			batch = new StringBuilder(flushSize + 256);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+
+			String line;
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(stream))) {
+				while ((line = reader.readLine()) != null) {
+					if (tailListener != null) {
+						tailListener.lineRead(line, isError);
+					}
+					synchronized (this) {
+						batch.append(line).append(lineSeparator);
+						if (batch.length() >= flushSize) {
+							writeBatch();
+						}
+					}
+				}
+			} catch (IOException e) {
+				failed = true;
+				logger.error(getClass().getName() + " Exception!", e);
+			} finally {
+				flushBatch();
+				done.countDown();
+			}
+
+			return;
+		}
+
+		/**
+		 * This operation writes and flushes the current batch.
+		 */
+		private synchronized void flushBatch() {
+			try {
+				writeBatch();
+			} catch (IOException e) {
+				failed = true;
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+
+		/**
+		 * This operation writes and flushes the current batch. It must be
+		 * called while holding the lock on the Sink.
+		 *
+		 * @throws IOException
+		 */
+		private void writeBatch() throws IOException {
+			if (batch.length() > 0) {
+				writer.write(batch.toString());
+				writer.flush();
+				batch.setLength(0);
+			}
+		}
+	}
+
+	/**
+	 * This class creates the daemon threads used by the pumps so that they do
+	 * not keep the platform from shutting down.
+	 */
+	private static class PumpThreadFactory implements ThreadFactory {
+
+		/**
+		 * The name of the threads.
+		 */
+		private final String name;
+
+		/**
+		 * The Constructor
+		 *
+		 * @param name
+		 *            The name of the threads
+		 */
+		private PumpThreadFactory(String name) {
+			this.name = name;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+		 */
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+}
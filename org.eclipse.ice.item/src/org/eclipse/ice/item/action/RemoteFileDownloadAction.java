@@ -15,7 +15,6 @@ import java.util.Dictionary;
 import java.util.List;
 
 import org.eclipse.core.filesystem.EFS;
-import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.form.FormStatus;
@@ -82,7 +81,36 @@ import org.eclipse.remote.core.exception.RemoteConnectionException;
  * </p>
  * </td>
  * </tr>
+ * <tr>
+ * <td>
+ * <p>
+ * downloadPattern
+ * </p>
+ * </td>
+ * <td>
+ * <p>
+ * A regular expression that the names of the downloaded files must match
+ * (optional).
+ * </p>
+ * </td>
+ * </tr>
+ * <tr>
+ * <td>
+ * <p>
+ * downloadModifiedSince
+ * </p>
+ * </td>
+ * <td>
+ * <p>
+ * The time, in milliseconds since the epoch, after which the downloaded files
+ * must have been modified (optional).
+ * </p>
+ * </td>
+ * </tr>
  * </table>
+ * 
+ * Files are downloaded with a RemoteFileStager, so files whose local copies
+ * have the same size and modification time are skipped.
  *
  * 
  * @author Alex McCaskey
@@ -98,10 +126,16 @@ public class RemoteFileDownloadAction extends RemoteAction {
 	 */
 	private long maxFileSize;
 
+	/**
+	 * The stager that downloads the files.
+	 */
+	private RemoteFileStager stager;
+
 	/**
 	 * The Constructor
 	 */
 	public RemoteFileDownloadAction() {
+		stager = new RemoteFileStager();
 		// Get the maxFileSize from the system properties
 		String fileSize = System.getProperty("max_download_size");
 		if (fileSize != null) {
@@ -206,46 +240,29 @@ public class RemoteFileDownloadAction extends RemoteAction {
 		IFileStore downloadFileStore = fileManager.getResource(userHome
 				+ remoteSeparator + "ICEJobs" + remoteSeparator + localDir);
 
-		// Try to download the files.
-		try {
-			// Get the children
-			IFileStore[] remoteStores = downloadFileStore.childStores(EFS.NONE,
-					null);
-			// Download all of the children
-			for (IFileStore remoteFile : remoteStores) {
-				// Get the information about the current child
-				IFileInfo fileInfo = remoteFile.fetchInfo();
-				if (fileInfo.getLength() < maxFileSize) {
-
-					// Print some debug information about the download
-					String msg = "Remote File Download - " + "Downloading "
-							+ fileInfo.getName() + " with length "
-							+ fileInfo.getLength() + ".";
-					logger.info(msg);
-					postConsoleText(msg);
-					// Get a handle to the local file. Note that it may
-					// not exist yet.
-					IFileStore childStore = localDirectory
-							.getChild(remoteFile.getName());
-
-					// Copy the file from the remote machine to the
-					// local machine.
-					remoteFile.copy(childStore, EFS.OVERWRITE, null);
-				} else {
-					long sizeDiff = fileInfo.getLength() - maxFileSize;
-					// Print a debug note saying that the file is too
-					// big to
-					// download.
-					String msg = "RemoteFileDownloadAction Message: "
-							+ "File exceeds download limit. "
-							+ "File with size " + fileInfo.getLength() + " is "
-							+ sizeDiff + " bytes over the " + maxFileSize
-							+ " byte limit.";
-					postConsoleText(msg);
-					logger.info(msg);
-				}
+		// Get the filters
+		String pattern = dictionary.get("downloadPattern");
+		String since = dictionary.get("downloadModifiedSince");
+		long modifiedSince = (since != null) ? Long.parseLong(since) : 0;
 
+		// Try to download the files that pass the filters and changed.
+		postConsoleText("Remote File Download - Downloading files from "
+				+ hostName + ":" + downloadFileStore.getName() + ".");
+		stager.setListener(new RemoteFileStager.StagingListener() {
+			@Override
+			public void fileStaged(String name, long bytes, boolean skipped) {
+				postConsoleText("Remote File Download - "
+						+ (skipped ? "Skipped unchanged " + name
+								: "Downloaded " + name + " with length "
+										+ bytes)
+						+ ".");
 			}
+		});
+		try {
+			RemoteFileStager.StagingReport report = stager.download(
+					downloadFileStore, localDirectory, pattern, modifiedSince,
+					maxFileSize);
+			postConsoleText("Remote File Download - " + report);
 		} catch (CoreException e) {
 			return actionError(getClass().getName()
 					+ " Exception! Error in downloading the files.", e);
@@ -262,6 +279,7 @@ public class RemoteFileDownloadAction extends RemoteAction {
 	 */
 	@Override
 	public FormStatus cancel() {
+		stager.cancel();
 		return null;
 	}
 
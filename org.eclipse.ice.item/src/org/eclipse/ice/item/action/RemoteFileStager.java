@@ -0,0 +1,969 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.item.action;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class stages files between the local machine and a remote directory
+ * for the remote Actions. It works on IFileStores, so the remote side can be
+ * any EFS file system, including the local one.
+ * <p>
+ * Uploads are recorded in a manifest in the remote directory that holds the
+ * size, modification time and checksum of every file that was sent. A file is
+ * skipped if the remote copy has the recorded size and either the local size
+ * and modification time or, failing that, its checksum match the manifest.
+ * Downloads skip files whose local copies have the same size and modification
+ * time as the remote ones and can be filtered by name and by modification
+ * time.
+ * </p>
+ * <p>
+ * Each job is launched in a new remote directory, so jobs are uploaded through
+ * a cache directory that is kept on the remote host for each host and project.
+ * The manifest and the partial files live in the cache, so re-launching a job
+ * only sends the files that changed and resumes interrupted transfers. The
+ * files are then copied from the cache into the job directory by
+ * {@link #copyFromCache(IFileStore, List, IFileStore)}, which subclasses can
+ * override to copy them on the remote host itself.
+ * </p>
+ * <p>
+ * Several files are transferred at once on a bounded pool of threads. Each
+ * file is written to a partial file next to its destination and renamed when
+ * it is complete, and a partial file left by an interrupted transfer of the
+ * same content is resumed instead of started again.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class RemoteFileStager {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(RemoteFileStager.class);
+
+	/**
+	 * The name of the manifest of uploaded files in the remote directory.
+	 */
+	public static final String MANIFEST_NAME = ".iceStagingManifest";
+
+	/**
+	 * The name of the directory, under the remote ICEJobs directory, that
+	 * holds the cache directories of each host and project.
+	 */
+	public static final String CACHE_DIRECTORY_NAME = ".iceStagingCache";
+
+	/**
+	 * The extension of partially transferred files.
+	 */
+	public static final String PARTIAL_EXTENSION = ".part";
+
+	/**
+	 * The default number of files that are transferred at once.
+	 */
+	public static final int DEFAULT_MAX_TRANSFERS = 4;
+
+	/**
+	 * The size of the buffer used to copy files.
+	 */
+	private static final int BUFFER_SIZE = 65536;
+
+	/**
+	 * The locks that keep two uploads in this process from writing to the
+	 * same cache directory at the same time, keyed by the URI of the cache.
+	 */
+	private static final ConcurrentHashMap<URI, Object> cacheLocks = new ConcurrentHashMap<URI, Object>();
+
+	/**
+	 * This interface is implemented by clients that want to know when each
+	 * file has been staged.
+	 */
+	public interface StagingListener {
+
+		/**
+		 * This operation is called on a staging thread when a file has been
+		 * transferred or skipped.
+		 *
+		 * @param name
+		 *            The name of the file
+		 * @param bytes
+		 *            The number of bytes transferred, which is zero if the
+		 *            file was skipped
+		 * @param skipped
+		 *            True if the file was unchanged and was not transferred
+		 */
+		void fileStaged(String name, long bytes, boolean skipped);
+	}
+
+	/**
+	 * This class holds the results of staging a set of files.
+	 */
+	public static class StagingReport {
+
+		/**
+		 * The names of the files that were transferred.
+		 */
+		private final List<String> transferred = Collections
+				.synchronizedList(new ArrayList<String>());
+
+		/**
+		 * The names of the files that were skipped because they had not
+		 * changed.
+		 */
+		private final List<String> skipped = Collections
+				.synchronizedList(new ArrayList<String>());
+
+		/**
+		 * The number of bytes transferred.
+		 */
+		private final AtomicLong bytes = new AtomicLong();
+
+		/**
+		 * The time that staging took, in nanoseconds.
+		 */
+		private long elapsedTime;
+
+		/**
+		 * This operation returns the names of the files that were
+		 * transferred.
+		 *
+		 * @return The names
+		 */
+		public List<String> getTransferredFiles() {
+			return transferred;
+		}
+
+		/**
+		 * This operation returns the names of the files that were skipped
+		 * because they had not changed.
+		 *
+		 * @return The names
+		 */
+		public List<String> getSkippedFiles() {
+			return skipped;
+		}
+
+		/**
+		 * This operation returns the number of bytes transferred, not
+		 * counting those already sent by resumed transfers.
+		 *
+		 * @return The number of bytes
+		 */
+		public long getBytesTransferred() {
+			return bytes.get();
+		}
+
+		/**
+		 * This operation returns the time that staging took.
+		 *
+		 * @return The time in milliseconds
+		 */
+		public long getElapsedTime() {
+			return elapsedTime / 1000000L;
+		}
+
+		/**
+		 * This operation returns the rate at which the files were
+		 * transferred.
+		 *
+		 * @return The throughput in bytes per second
+		 */
+		public double getThroughput() {
+			return (elapsedTime > 0) ? bytes.get() * 1.0e9 / elapsedTime : 0.0;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return transferred.size() + " files transferred and "
+					+ skipped.size() + " unchanged files skipped. "
+					+ bytes.get() + " bytes in " + getElapsedTime() + " ms ("
+					+ String.format("%.1f", getThroughput() / 1024.0)
+					+ " KB/s).";
+		}
+	}
+
+	/**
+	 * The largest number of files that are transferred at once.
+	 */
+	private int maxTransfers = DEFAULT_MAX_TRANSFERS;
+
+	/**
+	 * The listener that is notified as files are staged or null if there is
+	 * none.
+	 */
+	private StagingListener listener;
+
+	/**
+	 * The flag that is set to stop staging.
+	 */
+	private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+	/**
+	 * This operation sets the largest number of files that are transferred at
+	 * once.
+	 *
+	 * @param maxTransfers
+	 *            The number of files, which must be at least one
+	 */
+	public void setMaxTransfers(int maxTransfers) {
+		if (maxTransfers > 0) {
+			this.maxTransfers = maxTransfers;
+		}
+	}
+
+	/**
+	 * This operation sets the listener that is notified as files are staged.
+	 *
+	 * @param listener
+	 *            The listener or null to remove it
+	 */
+	public void setListener(StagingListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * This operation stops staging. Transfers that have started are left as
+	 * partial files that are resumed the next time they are staged.
+	 */
+	public void cancel() {
+		cancelled.set(true);
+	}
+
+	/**
+	 * This operation uploads local files to a remote directory, skipping
+	 * those that have not changed since they were last uploaded. The remote
+	 * directory is created if it does not exist.
+	 *
+	 * @param files
+	 *            The local files
+	 * @param remoteDirectory
+	 *            The remote directory
+	 * @return The report of what was transferred
+	 * @throws CoreException
+	 *             An exception indicating that a file could not be uploaded
+	 */
+	public StagingReport upload(List<File> files, IFileStore remoteDirectory)
+			throws CoreException {
+
+		// Local Declarations
+		final StagingReport report = new StagingReport();
+		final IFileStore remoteDir = remoteDirectory;
+		long start = System.nanoTime();
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+
+		// Make the directory and find out what is already there
+		remoteDir.mkdir(EFS.NONE, null);
+		final Map<String, IFileInfo> remoteInfos = getChildInfos(remoteDir);
+		final Properties manifest = readManifest(remoteDir);
+
+		// Queue a transfer for each file
+		for (final File file : files) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					uploadFile(file, remoteDir, remoteInfos.get(file.getName()),
+							manifest, report);
+					return null;
+				}
+			});
+		}
+
+		// Transfer the files and record them even if some of them failed so
+		// that they are not sent again
+		try {
+			run(tasks);
+		} finally {
+			writeManifest(remoteDir, manifest);
+			report.elapsedTime = System.nanoTime() - start;
+			logger.info("RemoteFileStager Message: Uploaded to "
+					+ remoteDir.getName() + ". " + report);
+		}
+
+		return report;
+	}
+
+	/**
+	 * This operation uploads local files to a remote job directory through a
+	 * cache directory on the same host. The files are uploaded to the cache,
+	 * skipping those that have not changed since they were last uploaded
+	 * there, and are then copied from the cache into the job directory. Both
+	 * directories are created if they do not exist.
+	 *
+	 * @param files
+	 *            The local files
+	 * @param remoteDirectory
+	 *            The remote job directory
+	 * @param cacheDirectory
+	 *            The remote cache directory of the host and project
+	 * @return The report of what was transferred to the cache
+	 * @throws CoreException
+	 *             An exception indicating that a file could not be uploaded
+	 *             or copied
+	 */
+	public StagingReport upload(List<File> files, IFileStore remoteDirectory,
+			IFileStore cacheDirectory) throws CoreException {
+
+		// Local Declarations
+		StagingReport report = null;
+		List<String> names = new ArrayList<String>();
+		URI cacheURI = cacheDirectory.toURI();
+
+		// Get the lock of the cache
+		cacheLocks.putIfAbsent(cacheURI, new Object());
+		Object lock = cacheLocks.get(cacheURI);
+
+		// Update the cache and copy the files to the job directory before
+		// another upload can change them
+		synchronized (lock) {
+			report = upload(files, cacheDirectory);
+			if (!cancelled.get()) {
+				for (File file : files) {
+					names.add(file.getName());
+				}
+				remoteDirectory.mkdir(EFS.NONE, null);
+				copyFromCache(cacheDirectory, names, remoteDirectory);
+			}
+		}
+
+		return report;
+	}
+
+	/**
+	 * This operation copies files from the cache directory into a job
+	 * directory. It copies them through EFS on a bounded pool of threads.
+	 * Subclasses may override it to copy them on the remote host without
+	 * sending them back and forth.
+	 *
+	 * @param cacheDirectory
+	 *            The cache directory
+	 * @param names
+	 *            The names of the files to copy
+	 * @param remoteDirectory
+	 *            The job directory
+	 * @throws CoreException
+	 *             An exception indicating that a file could not be copied
+	 */
+	protected void copyFromCache(final IFileStore cacheDirectory,
+			List<String> names, final IFileStore remoteDirectory)
+			throws CoreException {
+
+		// Local Declarations
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+
+		// Queue a copy of each file
+		for (final String name : names) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					if (!cancelled.get()) {
+						cacheDirectory.getChild(name).copy(
+								remoteDirectory.getChild(name), EFS.OVERWRITE,
+								null);
+					}
+					return null;
+				}
+			});
+		}
+
+		// Copy them
+		run(tasks);
+
+		return;
+	}
+
+	/**
+	 * This operation downloads the files in a remote directory to a local
+	 * directory, skipping those whose local copies are current. The manifest
+	 * and partial files are never downloaded.
+	 *
+	 * @param remoteDirectory
+	 *            The remote directory
+	 * @param localDirectory
+	 *            The local directory
+	 * @param namePattern
+	 *            A regular expression that the names of the files must match
+	 *            or null to download files with any name
+	 * @param modifiedSince
+	 *            The time, in milliseconds since the epoch, after which the
+	 *            files must have been modified or zero to download files
+	 *            modified at any time
+	 * @param maxFileSize
+	 *            The largest file that will be downloaded, in bytes
+	 * @return The report of what was transferred
+	 * @throws CoreException
+	 *             An exception indicating that a file could not be downloaded
+	 */
+	public StagingReport download(IFileStore remoteDirectory,
+			IFileStore localDirectory, String namePattern, long modifiedSince,
+			long maxFileSize) throws CoreException {
+
+		// Local Declarations
+		final StagingReport report = new StagingReport();
+		final IFileStore localDir = localDirectory;
+		long start = System.nanoTime();
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		Pattern pattern = (namePattern != null) ? Pattern.compile(namePattern)
+				: null;
+
+		// Find out what is already here
+		localDir.mkdir(EFS.NONE, null);
+		final Map<String, IFileInfo> localInfos = getChildInfos(localDir);
+
+		// Queue a transfer for each remote file that passes the filters
+		for (final IFileStore remoteFile : remoteDirectory
+				.childStores(EFS.NONE, null)) {
+			final IFileInfo info = remoteFile.fetchInfo();
+			String name = info.getName();
+			if (info.isDirectory() || MANIFEST_NAME.equals(name)
+					|| name.endsWith(PARTIAL_EXTENSION)
+					|| (pattern != null && !pattern.matcher(name).matches())
+					|| info.getLastModified() < modifiedSince) {
+				continue;
+			} else if (info.getLength() >= maxFileSize) {
+				logger.info("RemoteFileStager Message: " + name + " with size "
+						+ info.getLength() + " is over the " + maxFileSize
+						+ " byte download limit.");
+				continue;
+			}
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					downloadFile(remoteFile, info, localDir,
+							localInfos.get(info.getName()), report);
+					return null;
+				}
+			});
+		}
+
+		// Transfer the files
+		try {
+			run(tasks);
+		} finally {
+			report.elapsedTime = System.nanoTime() - start;
+			logger.info("RemoteFileStager Message: Downloaded from "
+					+ remoteDirectory.getName() + ". " + report);
+		}
+
+		return report;
+	}
+
+	/**
+	 * This operation uploads a single file unless the manifest shows that the
+	 * remote copy is current.
+	 *
+	 * @param file
+	 *            The local file
+	 * @param remoteDirectory
+	 *            The remote directory
+	 * @param remoteInfo
+	 *            The information about the remote copy or null if there is
+	 *            none
+	 * @param manifest
+	 *            The manifest, which is updated after the transfer
+	 * @param report
+	 *            The report
+	 * @throws CoreException
+	 *             An exception indicating that the file could not be uploaded
+	 */
+	private void uploadFile(File file, IFileStore remoteDirectory,
+			IFileInfo remoteInfo, Properties manifest, StagingReport report)
+			throws CoreException {
+
+		// Local Declarations
+		String name = file.getName();
+		long size = file.length(), modified = file.lastModified();
+		String checksum = null;
+		String[] recorded = null;
+
+		// Get what was recorded the last time
+		synchronized (manifest) {
+			String entry = manifest.getProperty(name);
+			if (entry != null) {
+				recorded = entry.split(",");
+			}
+		}
+
+		// Skip the file if it has not changed. The checksum is only computed
+		// if the size matches but the modification time does not.
+		if (recorded != null && recorded.length == 3 && remoteInfo != null
+				&& remoteInfo.exists() && remoteInfo.getLength() == size
+				&& Long.toString(size).equals(recorded[0])) {
+			if (Long.toString(modified).equals(recorded[1])) {
+				skipped(name, report);
+				return;
+			}
+			checksum = getChecksum(file);
+			if (checksum.equals(recorded[2])) {
+				recordUpload(manifest, name, size, modified, checksum);
+				skipped(name, report);
+				return;
+			}
+		}
+
+		// Send it
+		if (checksum == null) {
+			checksum = getChecksum(file);
+		}
+		IFileStore localStore = EFS.getLocalFileSystem().fromLocalFile(file);
+		long bytes = transfer(localStore, remoteDirectory, name, checksum);
+		if (bytes >= 0) {
+			recordUpload(manifest, name, size, modified, checksum);
+			transferred(name, bytes, report);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation downloads a single file unless the local copy has the
+	 * same size and modification time as the remote one.
+	 *
+	 * @param remoteFile
+	 *            The remote file
+	 * @param remoteInfo
+	 *            The information about the remote file
+	 * @param localDirectory
+	 *            The local directory
+	 * @param localInfo
+	 *            The information about the local copy or null if there is
+	 *            none
+	 * @param report
+	 *            The report
+	 * @throws CoreException
+	 *             An exception indicating that the file could not be
+	 *             downloaded
+	 */
+	private void downloadFile(IFileStore remoteFile, IFileInfo remoteInfo,
+			IFileStore localDirectory, IFileInfo localInfo,
+			StagingReport report) throws CoreException {
+
+		// Local Declarations
+		String name = remoteInfo.getName();
+
+		// Skip the file if the local copy is current
+		if (localInfo != null && localInfo.exists()
+				&& localInfo.getLength() == remoteInfo.getLength()
+				&& localInfo.getLastModified() == remoteInfo
+						.getLastModified()) {
+			skipped(name, report);
+			return;
+		}
+
+		// Get it and give the local copy the remote modification time so
+		// that it is skipped next time
+		long bytes = transfer(remoteFile, localDirectory, name,
+				remoteInfo.getLength() + "-" + remoteInfo.getLastModified());
+		if (bytes >= 0) {
+			IFileInfo info = EFS.createFileInfo();
+			info.setLastModified(remoteInfo.getLastModified());
+			localDirectory.getChild(name).putInfo(info, EFS.SET_LAST_MODIFIED,
+					null);
+			transferred(name, bytes, report);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation copies a file into a directory through a partial file
+	 * that is renamed when the copy is complete. If a partial file from an
+	 * earlier transfer of the same content exists, the copy resumes where it
+	 * stopped.
+	 *
+	 * @param source
+	 *            The file to copy
+	 * @param targetDirectory
+	 *            The directory to copy it to
+	 * @param name
+	 *            The name of the copy
+	 * @param signature
+	 *            A string that identifies the content of the source, used to
+	 *            name the partial file
+	 * @return The number of bytes copied or -1 if the copy was cancelled
+	 * @throws CoreException
+	 *             An exception indicating that the file could not be copied
+	 */
+	private long transfer(IFileStore source, IFileStore targetDirectory,
+			String name, String signature) throws CoreException {
+
+		// Local Declarations
+		IFileStore partial = targetDirectory.getChild(name + "."
+				+ Integer.toHexString(signature.hashCode())
+				+ PARTIAL_EXTENSION);
+		long offset = 0, copied = 0;
+		byte[] buffer = new byte[BUFFER_SIZE];
+
+		// Don't start anything new after a cancellation
+		if (cancelled.get()) {
+			return -1;
+		}
+
+		// Resume the partial file if there is one, unless it is somehow
+		// longer than the source
+		IFileInfo partialInfo = partial.fetchInfo();
+		if (partialInfo.exists()) {
+			offset = partialInfo.getLength();
+			if (offset > source.fetchInfo().getLength()) {
+				partial.delete(EFS.NONE, null);
+				offset = 0;
+			}
+		}
+
+		// Copy whatever is left
+		InputStream input = source.openInputStream(EFS.NONE, null);
+		try {
+			skip(input, offset);
+			OutputStream output = partial.openOutputStream(
+					(offset > 0) ? EFS.APPEND : EFS.NONE, null);
+			try {
+				int read;
+				while ((read = input.read(buffer)) > 0) {
+					if (cancelled.get()) {
+						return -1;
+					}
+					output.write(buffer, 0, read);
+					copied += read;
+				}
+			} finally {
+				output.close();
+			}
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR,
+					"org.eclipse.ice.item", "Could not stage " + name, e));
+		} finally {
+			close(input);
+		}
+
+		// Replace the old copy
+		partial.move(targetDirectory.getChild(name), EFS.OVERWRITE, null);
+
+		return copied;
+	}
+
+	/**
+	 * This operation runs transfers on a bounded pool of threads and waits
+	 * for all of them to finish.
+	 *
+	 * @param tasks
+	 *            The transfers
+	 * @throws CoreException
+	 *             The first exception thrown by a transfer
+	 */
+	private void run(List<Callable<Void>> tasks) throws CoreException {
+
+		// Local Declarations
+		CoreException failure = null;
+
+		// Nothing to do
+		if (tasks.isEmpty()) {
+			return;
+		}
+
+		// Create a pool that is no larger than it needs to be
+		ExecutorService pool = Executors.newFixedThreadPool(
+				Math.min(maxTransfers, tasks.size()), new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"ICE Remote File Stager");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		// Run the transfers and keep the first failure
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (Callable<Void> task : tasks) {
+				futures.add(pool.submit(task));
+			}
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = (e.getCause() instanceof CoreException)
+								? (CoreException) e.getCause()
+								: new CoreException(new Status(IStatus.ERROR,
+										"org.eclipse.ice.item",
+										"Could not stage a file.",
+										e.getCause()));
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			cancel();
+			Thread.currentThread().interrupt();
+		} finally {
+			pool.shutdownNow();
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the information about the children of a
+	 * directory, keyed by name.
+	 *
+	 * @param directory
+	 *            The directory
+	 * @return The information about the children
+	 * @throws CoreException
+	 *             An exception indicating that the directory could not be
+	 *             read
+	 */
+	private Map<String, IFileInfo> getChildInfos(IFileStore directory)
+			throws CoreException {
+		Map<String, IFileInfo> infos = new HashMap<String, IFileInfo>();
+		for (IFileInfo info : directory.childInfos(EFS.NONE, null)) {
+			infos.put(info.getName(), info);
+		}
+		return infos;
+	}
+
+	/**
+	 * This operation reads the manifest from a remote directory.
+	 *
+	 * @param remoteDirectory
+	 *            The remote directory
+	 * @return The manifest, which is empty if it does not exist or can not be
+	 *         read
+	 */
+	private Properties readManifest(IFileStore remoteDirectory) {
+
+		// Local Declarations
+		Properties manifest = new Properties();
+		IFileStore store = remoteDirectory.getChild(MANIFEST_NAME);
+
+		// Load it if it exists. A bad manifest just means that every file is
+		// sent again.
+		if (store.fetchInfo().exists()) {
+			InputStream input = null;
+			try {
+				input = store.openInputStream(EFS.NONE, null);
+				manifest.load(input);
+			} catch (CoreException | IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+				manifest.clear();
+			} finally {
+				close(input);
+			}
+		}
+
+		return manifest;
+	}
+
+	/**
+	 * This operation writes the manifest to a remote directory.
+	 *
+	 * @param remoteDirectory
+	 *            The remote directory
+	 * @param manifest
+	 *            The manifest
+	 * @throws CoreException
+	 *             An exception indicating that the manifest could not be
+	 *             written
+	 */
+	private void writeManifest(IFileStore remoteDirectory,
+			Properties manifest) throws CoreException {
+		OutputStream output = remoteDirectory.getChild(MANIFEST_NAME)
+				.openOutputStream(EFS.NONE, null);
+		try {
+			synchronized (manifest) {
+				manifest.store(output, "Files staged by ICE");
+			}
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		} finally {
+			close(output);
+		}
+	}
+
+	/**
+	 * This operation records an uploaded file in the manifest.
+	 *
+	 * @param manifest
+	 *            The manifest
+	 * @param name
+	 *            The name of the file
+	 * @param size
+	 *            The size of the file
+	 * @param modified
+	 *            The modification time of the file
+	 * @param checksum
+	 *            The checksum of the file
+	 */
+	private void recordUpload(Properties manifest, String name, long size,
+			long modified, String checksum) {
+		synchronized (manifest) {
+			manifest.setProperty(name, size + "," + modified + "," + checksum);
+		}
+	}
+
+	/**
+	 * This operation adds a transferred file to the report and notifies the
+	 * listener.
+	 *
+	 * @param name
+	 *            The name of the file
+	 * @param bytes
+	 *            The number of bytes transferred
+	 * @param report
+	 *            The report
+	 */
+	private void transferred(String name, long bytes, StagingReport report) {
+		report.transferred.add(name);
+		report.bytes.addAndGet(bytes);
+		if (listener != null) {
+			listener.fileStaged(name, bytes, false);
+		}
+	}
+
+	/**
+	 * This operation adds a skipped file to the report and notifies the
+	 * listener.
+	 *
+	 * @param name
+	 *            The name of the file
+	 * @param report
+	 *            The report
+	 */
+	private void skipped(String name, StagingReport report) {
+		report.skipped.add(name);
+		if (listener != null) {
+			listener.fileStaged(name, 0, true);
+		}
+	}
+
+	/**
+	 * This operation computes the SHA-1 checksum of a local file.
+	 *
+	 * @param file
+	 *            The file
+	 * @return The checksum as a hexadecimal string
+	 * @throws CoreException
+	 *             An exception indicating that the file could not be read
+	 */
+	private String getChecksum(File file) throws CoreException {
+
+		// Local Declarations
+		StringBuilder checksum = new StringBuilder();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		InputStream input = null;
+
+		// Digest the file
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			input = new FileInputStream(file);
+			int read;
+			while ((read = input.read(buffer)) > 0) {
+				digest.update(buffer, 0, read);
+			}
+			for (byte b : digest.digest()) {
+				checksum.append(Character.forDigit((b >> 4) & 0xF, 16));
+				checksum.append(Character.forDigit(b & 0xF, 16));
+			}
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new CoreException(new Status(IStatus.ERROR,
+					"org.eclipse.ice.item",
+					"Could not compute the checksum of " + file.getName(), e));
+		} finally {
+			close(input);
+		}
+
+		return checksum.toString();
+	}
+
+	/**
+	 * This operation skips bytes in a stream, reading them if the stream
+	 * will not skip them.
+	 *
+	 * @param input
+	 *            The stream
+	 * @param count
+	 *            The number of bytes to skip
+	 * @throws IOException
+	 *             An exception indicating that the stream ended first
+	 */
+	private void skip(InputStream input, long count) throws IOException {
+		while (count > 0) {
+			long skipped = input.skip(count);
+			if (skipped <= 0) {
+				if (input.read() < 0) {
+					throw new IOException("The source is shorter than the "
+							+ "partial file.");
+				}
+				skipped = 1;
+			}
+			count -= skipped;
+		}
+	}
+
+	/**
+	 * This operation closes a stream and logs any failure.
+	 *
+	 * @param stream
+	 *            The stream or null
+	 */
+	private void close(Closeable stream) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+	}
+
+}
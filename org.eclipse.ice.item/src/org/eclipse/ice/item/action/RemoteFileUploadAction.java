@@ -14,14 +14,13 @@ package org.eclipse.ice.item.action;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
@@ -33,9 +32,11 @@ import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
+import org.eclipse.ice.datastructures.jaxbclassprovider.JAXBContextRegistry;
 import org.eclipse.remote.core.IRemoteConnection;
 import org.eclipse.remote.core.IRemoteConnectionType;
 import org.eclipse.remote.core.IRemoteFileService;
+import org.eclipse.remote.core.IRemoteProcess;
 import org.eclipse.remote.core.IRemoteProcessService;
 import org.eclipse.remote.core.IRemoteServicesManager;
 import org.eclipse.remote.core.exception.RemoteConnectionException;
@@ -113,7 +114,25 @@ import org.eclipse.remote.core.exception.RemoteConnectionException;
  * </p>
  * </td>
  * </tr>
+ * <tr>
+ * <td>
+ * <p>
+ * maxTransfers
+ * </p>
+ * </td>
+ * <td>
+ * <p>
+ * The largest number of files that are uploaded at once (optional).
+ * </p>
+ * </td>
+ * </tr>
  * </table>
+ * 
+ * Files are uploaded with a RemoteFileStager through a cache directory on the
+ * remote host, $HOME/ICEJobs/.iceStagingCache/hostname/project, so files that
+ * have not changed since they were last uploaded for the same host and
+ * project are skipped even though each job has its own directory. The files
+ * are copied from the cache into the job directory on the remote host.
  *
  * @author Alex McCaskey
  *
@@ -136,12 +155,29 @@ public class RemoteFileUploadAction extends RemoteAction {
 	 */
 	private IFileStore remoteDirectory;
 
+	/**
+	 * The stager that uploads the files.
+	 */
+	private RemoteFileStager stager;
+
 	/**
 	 * The nullary constructor
 	 */
 	public RemoteFileUploadAction() {
 		filesToUpload = new ArrayList<File>();
 		cancelled = new AtomicBoolean(false);
+		stager = new RemoteFileStager() {
+			@Override
+			protected void copyFromCache(IFileStore cacheDirectory,
+					List<String> names, IFileStore remoteDirectory)
+					throws CoreException {
+				// Copy them through EFS if they can't be copied on the host
+				if (!copyOnHost(cacheDirectory, names, remoteDirectory)) {
+					super.copyFromCache(cacheDirectory, names,
+							remoteDirectory);
+				}
+			}
+		};
 	}
 
 	/*
@@ -287,52 +323,43 @@ public class RemoteFileUploadAction extends RemoteAction {
 		processService.setWorkingDirectory(userHome + remoteSeparator
 				+ "ICEJobs" + remoteSeparator + localFilesDir);
 
-		// Get the working directory
+		// Get the working directory and the cache of the host and project
+		IFileStore cacheDirectory = null;
 		try {
 			remoteDirectory = EFS.getStore(
 					fileManager.toURI(processService.getWorkingDirectory()));
+			cacheDirectory = EFS.getStore(fileManager.toURI(userHome
+					+ remoteSeparator + "ICEJobs" + remoteSeparator
+					+ RemoteFileStager.CACHE_DIRECTORY_NAME + remoteSeparator
+					+ hostName + remoteSeparator + project.getName()));
 		} catch (CoreException e1) {
 			return actionError(
 					"Remote File Upload could not get a reference to the remote working directory.",
 					e1);
 		}
 
-		// Create the remote working directory and upload required files.
-		try {
-			// Make that directory if necessary
-			remoteDirectory.mkdir(EFS.NONE, null);
-			logger.info("RemoteFileUploadAction Message: "
-					+ "Created directory on remote system, "
-					+ remoteDirectory.getName());
-
-			// Loop over all of the files in the file table and upload them
-			for (File file : filesToUpload) {
-
-				// Check to see if the job should be cancelled.
-				if (cancelled.get()) {
-					break;
-				}
-
-				// Get a handle where the input file will be stored
-				// remotely
-				IFileStore remoteFileStore = remoteDirectory
-						.getChild(file.getName());
-
-				// Get a file store handle to the local copy of the
-				// input file
-				IFileStore localFileStore = EFS.getLocalFileSystem()
-						.fromLocalFile(file);
-
-				// Copy the local file to the remote file
-				localFileStore.copy(remoteFileStore, EFS.OVERWRITE, null);
-				postConsoleText("Remote File Upload - Uploaded "
-						+ file.getName() + " to " + hostName + ":" + userHome
-						+ remoteSeparator + "ICEJobs" + remoteSeparator
-						+ localFilesDir + ".");
-				logger.info("RemoteFileUploadAction Message: "
-						+ "Uploaded file " + file.getName());
+		// Create the remote working directory and upload the files that
+		// changed since the last upload, several at a time.
+		final String remotePath = hostName + ":" + userHome + remoteSeparator
+				+ "ICEJobs" + remoteSeparator + localFilesDir;
+		String maxTransfers = dictionary.get("maxTransfers");
+		if (maxTransfers != null) {
+			stager.setMaxTransfers(Integer.parseInt(maxTransfers));
+		}
+		postConsoleText("Remote File Upload - Uploading "
+				+ filesToUpload.size() + " files to " + remotePath + ".");
+		stager.setListener(new RemoteFileStager.StagingListener() {
+			@Override
+			public void fileStaged(String name, long bytes, boolean skipped) {
+				postConsoleText("Remote File Upload - "
+						+ (skipped ? "Skipped unchanged " : "Uploaded ") + name
+						+ " to " + remotePath + ".");
 			}
-
+		});
+		try {
+			RemoteFileStager.StagingReport report = stager
+					.upload(filesToUpload, remoteDirectory, cacheDirectory);
+			postConsoleText("Remote File Upload - " + report);
 		} catch (CoreException e) {
 			// Print diagnostic information and fail
 			return actionError("Remote File Upload could not upload file.", e);
@@ -344,6 +371,64 @@ public class RemoteFileUploadAction extends RemoteAction {
 		return status;
 	}
 
+	/**
+	 * This operation copies files from the cache directory into the job
+	 * directory by running cp on the remote host, so that they are not sent
+	 * over the connection again.
+	 * 
+	 * @param cacheDirectory
+	 *            The cache directory
+	 * @param names
+	 *            The names of the files to copy
+	 * @param remoteDirectory
+	 *            The job directory
+	 * @return True if the files were copied, false otherwise
+	 */
+	private boolean copyOnHost(IFileStore cacheDirectory, List<String> names,
+			IFileStore remoteDirectory) {
+
+		// Local Declarations
+		List<String> command = new ArrayList<String>();
+		IRemoteFileService fileManager = connection
+				.getService(IRemoteFileService.class);
+		IRemoteProcessService processService = connection
+				.getService(IRemoteProcessService.class);
+		String separator = connection
+				.getProperty(IRemoteConnection.FILE_SEPARATOR_PROPERTY);
+
+		// Nothing to copy
+		if (names.isEmpty()) {
+			return true;
+		}
+
+		// Copy them all at once, keeping their modification times
+		command.add("cp");
+		command.add("-p");
+		command.add("-f");
+		String cachePath = fileManager.toPath(cacheDirectory.toURI());
+		for (String name : names) {
+			command.add(cachePath + separator + name);
+		}
+		command.add(fileManager.toPath(remoteDirectory.toURI()));
+		try {
+			IRemoteProcess process = processService.getProcessBuilder(command)
+					.start();
+			if (process.waitFor() == 0) {
+				return true;
+			}
+			logger.info("Remote File Upload - cp exited with "
+					+ process.exitValue() + ". Copying the files through "
+					+ "the connection instead.");
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		} catch (InterruptedException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			Thread.currentThread().interrupt();
+		}
+
+		return false;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -351,8 +436,9 @@ public class RemoteFileUploadAction extends RemoteAction {
 	 */
 	@Override
 	public FormStatus cancel() {
-		// Throw the flag
+		// Throw the flag and stop any transfers
 		cancelled.set(true);
+		stager.cancel();
 		return FormStatus.ReadyToProcess;
 	}
 
@@ -381,21 +467,14 @@ public class RemoteFileUploadAction extends RemoteAction {
 		T comp = null;
 		// Make an array to store the class list of registered Items
 		ArrayList<Class> classList = new ArrayList<Class>();
-		Class[] classArray = {};
 		classList.addAll(new ICEJAXBClassProvider().getClasses());
-		// Create new JAXB class context and unmarshaller
-		JAXBContext context = null;
-		try {
-			context = JAXBContext.newInstance(classList.toArray(classArray));
-		} catch (JAXBException e1) {
-			actionError("Remote File Upload could not get JAXBContext.", e1);
-		}
+		// Get the shared JAXB context registry
+		JAXBContextRegistry registry = JAXBContextRegistry.getInstance();
 
 		try {
-			// Create the unmarshaller and load the item
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			comp = (T) unmarshaller
-					.unmarshal(new ByteArrayInputStream(xmlForm.getBytes()));
+			// Load the item with a pooled unmarshaller
+			comp = (T) registry.unmarshal(classList,
+					new ByteArrayInputStream(xmlForm.getBytes()));
 		} catch (JAXBException e) {
 			// Complain
 			actionError("Remote File Upload error in unmarshalling XML data.",
@@ -1,16 +1,17 @@
 package org.eclipse.ice.item.jobLauncher;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Properties;
 
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.ice.item.action.OutputPump;
 import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,26 +64,32 @@ public class DockerClientFactory {
 					scriptExec = new String[] { "cmd.exe", "/C", script.getAbsolutePath() };
 				}
 
-				// Execute the script to get the DOCKER vars.
+				// Execute the script to get the DOCKER vars. Read both of its
+				// streams while it runs so that it cannot block on a full pipe.
 				Process process = new ProcessBuilder(scriptExec).start();
+				StringWriter processOutput = new StringWriter();
+				StringWriter processErrors = new StringWriter();
+				new OutputPump(processOutput, processErrors)
+						.setLineSeparator(System.lineSeparator())
+						.pump(process.getInputStream(), process.getErrorStream());
 				process.waitFor();
 				int exitValue = process.exitValue();
 				if (exitValue == 0) {
 
 					// Read them into a Properties object
-					InputStream processInputStream = process.getInputStream();
 					Properties dockerSettings = new Properties();
 					// Properties.load screws up windows path separators
 					// so if windows, just get the string from the stream
 					if (Platform.getOS().equals(Platform.OS_WIN32)) {
-						String result = streamToString(processInputStream).trim();
+						String result = processOutput.toString().trim();
 						String[] dockerEnvs = result.split(System.lineSeparator());
 						for (String s : dockerEnvs) {
 							String[] env = s.split("=");
 							dockerSettings.put(env[0], env[1]);
 						}
 					} else {
-						dockerSettings.load(processInputStream);
+						dockerSettings
+								.load(new StringReader(processOutput.toString()));
 					}
 					
 					// Create the Builder object that wil build the DockerClient
@@ -115,8 +122,7 @@ public class DockerClientFactory {
 				} else {
 					// log what happened if the process did not end as expected
 					// an exit value of 1 should indicate no connection found
-					InputStream processErrorStream = process.getErrorStream();
-					String errorMessage = streamToString(processErrorStream);
+					String errorMessage = processErrors.toString().trim();
 					logger.error("Error in getting DOCKER variables: " + errorMessage);
 				}
 			} else {
@@ -164,25 +170,4 @@ public class DockerClientFactory {
 		return script;
 	}
 
-	/**
-	 * Private utility for getting string from InputStream.
-	 * 
-	 * @param stream
-	 * @return
-	 */
-	private String streamToString(InputStream stream) {
-		BufferedReader buff = new BufferedReader(new InputStreamReader(stream));
-		StringBuffer res = new StringBuffer();
-		String line = ""; //$NON-NLS-1$
-		try {
-			while ((line = buff.readLine()) != null) {
-				res.append(System.getProperty("line.separator"));
-				res.append(line);
-			}
-			buff.close();
-		} catch (IOException e) {
-		}
-		return res.length() > 0 ? res.substring(1) : "";
-	}
-
 }
@@ -23,11 +23,14 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +42,9 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.entry.FileEntry;
 import org.eclipse.ice.datastructures.entry.IEntry;
@@ -53,6 +59,7 @@ import org.eclipse.ice.item.IActionFactory;
 import org.eclipse.ice.item.Item;
 import org.eclipse.ice.item.ItemType;
 import org.eclipse.ice.item.action.Action;
+import org.eclipse.ice.item.jobLauncher.JobScheduler.ScheduledJob;
 import org.eclipse.remote.core.IRemoteConnection;
 import org.eclipse.remote.core.IRemoteConnectionHostService;
 import org.eclipse.remote.core.IRemoteConnectionType;
@@ -243,6 +250,24 @@ public class JobLauncher extends Item {
 	@XmlTransient()
 	private ICEJob launchJob;
 
+	/**
+	 * The handle for the launch in the JobScheduler.
+	 */
+	@XmlTransient()
+	private ScheduledJob scheduledJob;
+
+	/**
+	 * The priority of launches in the JobScheduler.
+	 */
+	@XmlTransient()
+	private int schedulingPriority = JobScheduler.DEFAULT_PRIORITY;
+
+	/**
+	 * The memory in megabytes that a launch needs from its host.
+	 */
+	@XmlTransient()
+	private long requiredMemory = 0;
+
 	/**
 	 * Reference to the job IFolder containing the job launch files.
 	 */
@@ -1006,27 +1031,16 @@ public class JobLauncher extends Item {
 				// Create the Eclipse Job for this Job Launch!
 				launchJob = createICEJob(actionList);
 
-				// Schedule it for execution,
-				// Give the Item a little time to
-				// return the Processing status
-				launchJob.schedule();
-
-				// Set the status to Processing
+				// Set the status to Processing. It stays that way while the
+				// job waits for the scheduler.
 				status = FormStatus.Processing;
 
 				// Invoke the output streaming thread
 				writeOutputData();
 
-				// Monitor the Action's status
-				monitorActionStatus();
-
-				// Sleep the thread for a second to give
-				// the Action time to do its thing
-				try {
-					Thread.sleep(1000);
-				} catch (InterruptedException e) {
-					logger.error(getClass().getName() + " Exception!", e);
-				}
+				// Queue it with the scheduler, which will schedule the Eclipse
+				// Job when the host has room for it
+				scheduledJob = scheduleLaunch(launchJob);
 
 				// Return the new status
 				return status;
@@ -1058,35 +1072,64 @@ public class JobLauncher extends Item {
 	}
 
 	/**
-	 * This private operation kicks off a thread that monitors the status of
-	 * running Actions, and stops when the status reports Processed.
+	 * This private operation submits the Eclipse Job for a launch to the
+	 * JobScheduler. The job asks for the cores and MPI ranks from the parallel
+	 * settings in the action data map. The status of the launcher is set from
+	 * the ICEJob when the Eclipse Job is done, which also releases the
+	 * resources.
+	 *
+	 * @param job
+	 *            The Eclipse Job for the launch
+	 * @return The handle for the scheduled job
 	 */
-	private void monitorActionStatus() {
-		// Keep the status in sync
-		if (status.equals(FormStatus.Processing)) {
-			Thread statusThread = new Thread(new Runnable() {
-				@Override
-				public void run() {
-					while (!status.equals(FormStatus.Processed)) {
-						// Sleep for a bit
-						Thread.currentThread();
-						try {
-							Thread.sleep(100);
-						} catch (InterruptedException e) {
-							logger.error(getClass().getName() + " Exception!",
-									e);
-						}
+	private ScheduledJob scheduleLaunch(final ICEJob job) {
 
-						// Set the status
-						status = launchJob.getStatus();
-					}
+		// Local Declarations
+		final CompletableFuture<FormStatus> launchCompletion = new CompletableFuture<FormStatus>();
+		String hostname = actionDataMap.get("hostname");
+		int numProcs = 1, numThreads = 1;
+
+		// Get the parallel settings. They are always at least 1.
+		if (actionDataMap.get("numProcs") != null) {
+			numProcs = Math.max(1,
+					Integer.parseInt(actionDataMap.get("numProcs")));
+		}
+		if (actionDataMap.get("numTBBThreads") != null) {
+			numThreads = Math.max(1,
+					Integer.parseInt(actionDataMap.get("numTBBThreads")));
+		}
 
-					return;
+		// Keep the status in sync when the Eclipse Job is done. A job that
+		// was cancelled did not succeed, even if it was cancelled before it
+		// ran and is still Processing.
+		job.addJobChangeListener(new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				FormStatus jobStatus = job.getStatus();
+				if (event.getResult() != null && event.getResult()
+						.getSeverity() == IStatus.CANCEL) {
+					status = FormStatus.InfoError;
+				} else {
+					status = FormStatus.Processing.equals(jobStatus)
+							? FormStatus.Processed : jobStatus;
 				}
-			});
+				launchCompletion.complete(status);
+			}
+		});
 
-			statusThread.start();
-		}
+		// Submit it
+		return JobScheduler.getDefault().submit(getName(),
+				isLocalhost(hostname) ? JobScheduler.LOCALHOST : hostname,
+				new JobScheduler.Resources(numProcs * numThreads,
+						requiredMemory, numProcs),
+				schedulingPriority, Collections.<ScheduledJob> emptyList(),
+				new JobScheduler.Task() {
+					@Override
+					public CompletionStage<FormStatus> start() {
+						job.schedule();
+						return launchCompletion;
+					}
+				});
 	}
 
 	/**
@@ -1192,9 +1235,15 @@ public class JobLauncher extends Item {
 	 */
 	@Override
 	public FormStatus cancelProcess() {
-		// Cancel the running Eclipse Job and the
-		// currently executing Action
-		status = launchJob.cancelICEJob();
+		// Take the job out of the scheduler's queue if it has not started.
+		// Otherwise, cancel the running Eclipse Job and the currently
+		// executing Action. A cancelled job did not succeed.
+		if (scheduledJob != null
+				&& JobScheduler.getDefault().cancel(scheduledJob)) {
+			status = FormStatus.InfoError;
+		} else {
+			status = launchJob.cancelICEJob();
+		}
 		return status;
 	}
 
@@ -1818,6 +1867,8 @@ public class JobLauncher extends Item {
 		this.tbbEnabled = otherLauncher.tbbEnabled;
 		this.remoteDownloadDir = otherLauncher.remoteDownloadDir;
 		this.actionDataMap = otherLauncher.actionDataMap;
+		this.schedulingPriority = otherLauncher.schedulingPriority;
+		this.requiredMemory = otherLauncher.requiredMemory;
 
 		return;
 	}
@@ -2003,6 +2054,39 @@ public class JobLauncher extends Item {
 		uploadInput = flag;
 	}
 
+	/**
+	 * This operation sets the priority of this launcher's jobs in the
+	 * JobScheduler. Higher priorities start first.
+	 *
+	 * @param priority
+	 *            The priority
+	 */
+	public void setSchedulingPriority(int priority) {
+		schedulingPriority = priority;
+	}
+
+	/**
+	 * This operation sets the memory that this launcher's jobs need from
+	 * their host. The JobScheduler will not start a job on a host that does
+	 * not have this much memory free.
+	 *
+	 * @param megabytes
+	 *            The memory in megabytes
+	 */
+	public void setRequiredMemory(long megabytes) {
+		requiredMemory = megabytes;
+	}
+
+	/**
+	 * This operation returns the handle for the last launch in the
+	 * JobScheduler. Its completion can be used to wait for the launch to end.
+	 *
+	 * @return The handle or null if the job has not been launched
+	 */
+	public ScheduledJob getScheduledJob() {
+		return scheduledJob;
+	}
+
 	/**
 	 * This method returns the working directory for the job launch.
 	 * 
@@ -0,0 +1,899 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.item.jobLauncher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class limits how many jobs run at once on each host. Launchers submit
+ * a task with the resources that the job needs, which are the cores, memory
+ * and MPI ranks from their parallel settings. The scheduler starts the task
+ * when the host has enough free resources and releases them when the
+ * CompletionStage returned by the task completes.
+ * <p>
+ * Jobs that are ready are started in order of priority, highest first, and
+ * in the order that they were submitted for the same priority. A job that
+ * does not fit on its host blocks the jobs behind it on that host so that
+ * large jobs are not starved by small ones. A job that needs more than a host
+ * has in total is started when nothing else is running on that host.
+ * </p>
+ * <p>
+ * A job may depend on other jobs. It is not queued until all of them have
+ * finished with FormStatus.Processed, and it is cancelled with the same
+ * status as a dependency that fails or is cancelled. Jobs that are only used
+ * to order other jobs can ask for no resources.
+ * </p>
+ * <p>
+ * Every change to the state of a job is reported to the registered
+ * {@link Listener}s and each job has a future that completes with its final
+ * status, so clients do not need to poll.
+ * </p>
+ * <p>
+ * Only the local host is limited by default, to the number of processors
+ * available to the JVM. The limits of other hosts must be set with
+ * {@link #setHostLimits(String, Resources)}.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class JobScheduler {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(JobScheduler.class);
+
+	/**
+	 * The name of the local host.
+	 */
+	public static final String LOCALHOST = "localhost";
+
+	/**
+	 * The default priority of a job.
+	 */
+	public static final int DEFAULT_PRIORITY = 0;
+
+	/**
+	 * The shared instance.
+	 */
+	private static final JobScheduler defaultScheduler = new JobScheduler();
+
+	/**
+	 * The states of a scheduled job.
+	 */
+	public enum State {
+		/**
+		 * The job is waiting for its dependencies to finish.
+		 */
+		WAITING,
+		/**
+		 * The job is waiting for resources on its host.
+		 */
+		QUEUED,
+		/**
+		 * The job is running.
+		 */
+		RUNNING,
+		/**
+		 * The job has finished.
+		 */
+		FINISHED,
+		/**
+		 * The job was cancelled before it started.
+		 */
+		CANCELLED
+	}
+
+	/**
+	 * This interface is implemented by the work that is scheduled.
+	 */
+	public interface Task {
+
+		/**
+		 * This operation starts the job. It is called on one of the
+		 * scheduler's threads.
+		 *
+		 * @return A stage that completes with the final status of the job when
+		 *         it ends. The resources of the job are held until then.
+		 */
+		CompletionStage<FormStatus> start();
+	}
+
+	/**
+	 * This interface is implemented by clients that want to be notified when
+	 * the state of a job changes.
+	 */
+	public interface Listener {
+
+		/**
+		 * This operation is called after the state of a job changes. It is
+		 * called on the thread that caused the change and must not block.
+		 *
+		 * @param job
+		 *            The job
+		 */
+		void jobChanged(ScheduledJob job);
+	}
+
+	/**
+	 * This class holds the resources needed by a job or available on a host.
+	 */
+	public static class Resources {
+
+		/**
+		 * A set of resources with no limits.
+		 */
+		public static final Resources UNLIMITED = new Resources(
+				Integer.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+
+		/**
+		 * A set of resources that is empty.
+		 */
+		public static final Resources NONE = new Resources(0, 0, 0);
+
+		/**
+		 * The number of cores.
+		 */
+		private final int cores;
+
+		/**
+		 * The memory in megabytes.
+		 */
+		private final long memory;
+
+		/**
+		 * The number of MPI ranks.
+		 */
+		private final int ranks;
+
+		/**
+		 * The Constructor
+		 *
+		 * @param cores
+		 *            The number of cores
+		 * @param memory
+		 *            The memory in megabytes
+		 * @param ranks
+		 *            The number of MPI ranks
+		 */
+		public Resources(int cores, long memory, int ranks) {
+			this.cores = Math.max(cores, 0);
+			this.memory = Math.max(memory, 0L);
+			this.ranks = Math.max(ranks, 0);
+		}
+
+		/**
+		 * @return The number of cores
+		 */
+		public int getCores() {
+			return cores;
+		}
+
+		/**
+		 * @return The memory in megabytes
+		 */
+		public long getMemory() {
+			return memory;
+		}
+
+		/**
+		 * @return The number of MPI ranks
+		 */
+		public int getRanks() {
+			return ranks;
+		}
+
+		/**
+		 * @return True if there are no resources, false otherwise
+		 */
+		public boolean isEmpty() {
+			return cores == 0 && memory == 0L && ranks == 0;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return cores + " cores, " + memory + " MB, " + ranks + " ranks";
+		}
+	}
+
+	/**
+	 * This class is the handle for a job that was submitted to the scheduler.
+	 */
+	public static class ScheduledJob {
+
+		/**
+		 * The name of the job.
+		 */
+		private final String name;
+
+		/**
+		 * The host on which the job runs.
+		 */
+		private final String host;
+
+		/**
+		 * The resources needed by the job.
+		 */
+		private final Resources resources;
+
+		/**
+		 * The priority of the job.
+		 */
+		private final int priority;
+
+		/**
+		 * The order in which the job was submitted.
+		 */
+		private final long sequence;
+
+		/**
+		 * The work to do.
+		 */
+		private final Task task;
+
+		/**
+		 * The jobs that depend on this one.
+		 */
+		private final List<ScheduledJob> dependents = new ArrayList<ScheduledJob>();
+
+		/**
+		 * The number of dependencies that have not finished.
+		 */
+		private int pendingDependencies = 0;
+
+		/**
+		 * The state of the job.
+		 */
+		private volatile State state = State.WAITING;
+
+		/**
+		 * The final status of the job, which is set when it finishes or is
+		 * cancelled.
+		 */
+		private FormStatus finalStatus;
+
+		/**
+		 * The future that completes with the final status of the job.
+		 */
+		private final CompletableFuture<FormStatus> completion = new CompletableFuture<FormStatus>();
+
+		/**
+		 * The Constructor
+		 *
+		 * @param name
+		 *            The name of the job
+		 * @param host
+		 *            The host on which the job runs
+		 * @param resources
+		 *            The resources needed by the job
+		 * @param priority
+		 *            The priority of the job
+		 * @param sequence
+		 *            The order in which the job was submitted
+		 * @param task
+		 *            The work to do
+		 */
+		private ScheduledJob(String name, String host, Resources resources,
+				int priority, long sequence, Task task) {
+			this.name = name;
+			this.host = host;
+			this.resources = resources;
+			this.priority = priority;
+			this.sequence = sequence;
+			this.task = task;
+		}
+
+		/**
+		 * @return The name of the job
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return The host on which the job runs
+		 */
+		public String getHost() {
+			return host;
+		}
+
+		/**
+		 * @return The resources needed by the job
+		 */
+		public Resources getResources() {
+			return resources;
+		}
+
+		/**
+		 * @return The priority of the job
+		 */
+		public int getPriority() {
+			return priority;
+		}
+
+		/**
+		 * @return The state of the job
+		 */
+		public State getState() {
+			return state;
+		}
+
+		/**
+		 * This operation returns the future that completes with the final
+		 * status of the job, either when it ends or when it is cancelled.
+		 *
+		 * @return The future
+		 */
+		public CompletableFuture<FormStatus> getCompletion() {
+			return completion;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return name + " on " + host + " (" + state + ")";
+		}
+	}
+
+	/**
+	 * The resources in use on a host.
+	 */
+	private static class Usage {
+
+		/**
+		 * The number of running jobs.
+		 */
+		int jobs;
+
+		/**
+		 * The number of cores.
+		 */
+		long cores;
+
+		/**
+		 * The memory in megabytes.
+		 */
+		long memory;
+
+		/**
+		 * The number of MPI ranks.
+		 */
+		long ranks;
+	}
+
+	/**
+	 * The limits of each host, keyed by name.
+	 */
+	private final Map<String, Resources> hostLimits = new HashMap<String, Resources>();
+
+	/**
+	 * The resources in use on each host, keyed by name.
+	 */
+	private final Map<String, Usage> hostUsage = new HashMap<String, Usage>();
+
+	/**
+	 * The jobs that are ready to start, in the order that they should start.
+	 */
+	private final LinkedList<ScheduledJob> queue = new LinkedList<ScheduledJob>();
+
+	/**
+	 * The jobs that have been submitted and have not finished or been
+	 * cancelled.
+	 */
+	private final Set<ScheduledJob> activeJobs = new HashSet<ScheduledJob>();
+
+	/**
+	 * The listeners.
+	 */
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+	/**
+	 * The threads on which tasks are started.
+	 */
+	private final ExecutorService launchPool;
+
+	/**
+	 * The number of jobs that have been submitted.
+	 */
+	private long submittedJobs = 0;
+
+	/**
+	 * The Constructor
+	 */
+	public JobScheduler() {
+		launchPool = Executors.newCachedThreadPool(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "ICE Job Scheduler");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		int processors = Runtime.getRuntime().availableProcessors();
+		hostLimits.put(LOCALHOST,
+				new Resources(processors, Long.MAX_VALUE, processors));
+	}
+
+	/**
+	 * This operation returns the scheduler shared by all of the launchers.
+	 *
+	 * @return The shared scheduler
+	 */
+	public static JobScheduler getDefault() {
+		return defaultScheduler;
+	}
+
+	/**
+	 * This operation sets the resources available on a host.
+	 *
+	 * @param host
+	 *            The name of the host
+	 * @param limits
+	 *            The resources or null to remove the limits
+	 */
+	public void setHostLimits(String host, Resources limits) {
+		List<ScheduledJob> started;
+		synchronized (this) {
+			if (limits == null) {
+				hostLimits.remove(host);
+			} else {
+				hostLimits.put(host, limits);
+			}
+			started = dispatch();
+		}
+		start(started);
+	}
+
+	/**
+	 * This operation returns the resources available on a host.
+	 *
+	 * @param host
+	 *            The name of the host
+	 * @return The resources, which are unlimited if none were set
+	 */
+	public synchronized Resources getHostLimits(String host) {
+		Resources limits = hostLimits.get(host);
+		return (limits != null) ? limits : Resources.UNLIMITED;
+	}
+
+	/**
+	 * This operation registers a listener for changes to the state of jobs.
+	 *
+	 * @param listener
+	 *            The listener
+	 */
+	public void addListener(Listener listener) {
+		if (listener != null && !listeners.contains(listener)) {
+			listeners.add(listener);
+		}
+	}
+
+	/**
+	 * This operation unregisters a listener.
+	 *
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * This operation submits a job with the default priority and no
+	 * dependencies.
+	 *
+	 * @param name
+	 *            The name of the job
+	 * @param host
+	 *            The host on which the job runs
+	 * @param resources
+	 *            The resources needed by the job
+	 * @param task
+	 *            The work to do
+	 * @return The handle for the job
+	 */
+	public ScheduledJob submit(String name, String host, Resources resources,
+			Task task) {
+		return submit(name, host, resources, DEFAULT_PRIORITY,
+				Collections.<ScheduledJob> emptyList(), task);
+	}
+
+	/**
+	 * This operation submits a job.
+	 *
+	 * @param name
+	 *            The name of the job
+	 * @param host
+	 *            The host on which the job runs
+	 * @param resources
+	 *            The resources needed by the job
+	 * @param priority
+	 *            The priority of the job. Higher priorities start first.
+	 * @param dependencies
+	 *            The jobs that must finish successfully before this one is
+	 *            queued
+	 * @param task
+	 *            The work to do
+	 * @return The handle for the job
+	 */
+	public ScheduledJob submit(String name, String host, Resources resources,
+			int priority, Collection<ScheduledJob> dependencies, Task task) {
+
+		// Local Declarations
+		ScheduledJob job;
+		ScheduledJob failedDependency = null;
+		List<ScheduledJob> started = Collections.emptyList();
+		List<ScheduledJob> cancelled = Collections.emptyList();
+
+		synchronized (this) {
+			job = new ScheduledJob(name, host,
+					(resources != null) ? resources : Resources.NONE, priority,
+					submittedJobs++, task);
+			activeJobs.add(job);
+			// Wait for the dependencies that have not finished
+			for (ScheduledJob dependency : dependencies) {
+				if (dependency.state == State.FINISHED
+						&& FormStatus.Processed.equals(dependency.finalStatus)) {
+					continue;
+				} else if (dependency.state == State.FINISHED
+						|| dependency.state == State.CANCELLED) {
+					failedDependency = dependency;
+				} else {
+					dependency.dependents.add(job);
+					job.pendingDependencies++;
+				}
+			}
+			// Cancel it if a dependency has already failed, otherwise queue it
+			// if it does not need to wait
+			if (failedDependency != null) {
+				cancelled = cancel(job, failedDependency.finalStatus);
+			} else if (job.pendingDependencies == 0) {
+				enqueue(job);
+				started = dispatch();
+			}
+		}
+
+		logger.info("JobScheduler Message: Submitted " + name + " on " + host
+				+ " needing " + job.resources + ".");
+
+		// Publish the changes
+		fireChanged(job);
+		complete(cancelled);
+		start(started);
+
+		return job;
+	}
+
+	/**
+	 * This operation cancels a job that has not started. Jobs that depend on
+	 * it are also cancelled. They all complete with FormStatus.InfoError so
+	 * that a cancelled job is never mistaken for one that succeeded. Running
+	 * jobs must be stopped by whatever started them.
+	 *
+	 * @param job
+	 *            The job
+	 * @return True if the job was cancelled, false if it had already started
+	 */
+	public boolean cancel(ScheduledJob job) {
+
+		// Local Declarations
+		List<ScheduledJob> cancelled = Collections.emptyList();
+		List<ScheduledJob> started = Collections.emptyList();
+
+		synchronized (this) {
+			if (job.state == State.WAITING || job.state == State.QUEUED) {
+				queue.remove(job);
+				cancelled = cancel(job, FormStatus.InfoError);
+				// Jobs behind it may fit now
+				started = dispatch();
+			}
+		}
+
+		complete(cancelled);
+		start(started);
+
+		return !cancelled.isEmpty();
+	}
+
+	/**
+	 * This operation returns the number of submitted jobs in a given state.
+	 * Only jobs that have not finished or been cancelled are counted.
+	 *
+	 * @param state
+	 *            The state
+	 * @return The number of jobs
+	 */
+	public synchronized int getNumberOfJobs(State state) {
+		int count = 0;
+		for (ScheduledJob job : activeJobs) {
+			if (job.state == state) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * This operation adds a ready job to the queue behind the jobs with the
+	 * same or higher priority. The caller must hold the lock.
+	 *
+	 * @param job
+	 *            The job
+	 */
+	private void enqueue(ScheduledJob job) {
+		int index = 0;
+		for (ScheduledJob queuedJob : queue) {
+			if (queuedJob.priority < job.priority
+					|| (queuedJob.priority == job.priority
+							&& queuedJob.sequence > job.sequence)) {
+				break;
+			}
+			index++;
+		}
+		queue.add(index, job);
+		job.state = State.QUEUED;
+	}
+
+	/**
+	 * This operation marks a job and all of the jobs that depend on it as
+	 * cancelled. The caller must hold the lock.
+	 *
+	 * @param job
+	 *            The job
+	 * @param status
+	 *            The final status of the jobs
+	 * @return The jobs that were cancelled, which must be completed with
+	 *         {@link #complete(List)} after the lock is released
+	 */
+	private List<ScheduledJob> cancel(ScheduledJob job, FormStatus status) {
+		List<ScheduledJob> cancelled = new ArrayList<ScheduledJob>();
+		LinkedList<ScheduledJob> jobs = new LinkedList<ScheduledJob>();
+		jobs.add(job);
+		while (!jobs.isEmpty()) {
+			ScheduledJob nextJob = jobs.removeFirst();
+			if (nextJob.state == State.WAITING
+					|| nextJob.state == State.QUEUED) {
+				queue.remove(nextJob);
+				nextJob.state = State.CANCELLED;
+				nextJob.finalStatus = status;
+				activeJobs.remove(nextJob);
+				cancelled.add(nextJob);
+				jobs.addAll(nextJob.dependents);
+			}
+		}
+		return cancelled;
+	}
+
+	/**
+	 * This operation starts every queued job that fits on its host. The
+	 * caller must hold the lock.
+	 *
+	 * @return The jobs that should be started with {@link #start(List)} after
+	 *         the lock is released
+	 */
+	private List<ScheduledJob> dispatch() {
+
+		// Local Declarations
+		List<ScheduledJob> started = new ArrayList<ScheduledJob>();
+		Set<String> blockedHosts = new HashSet<String>();
+		Iterator<ScheduledJob> iterator = queue.iterator();
+
+		while (iterator.hasNext()) {
+			ScheduledJob job = iterator.next();
+			// Jobs that need nothing are never blocked and never block others
+			boolean needsResources = !job.resources.isEmpty();
+			if (needsResources && blockedHosts.contains(job.host)) {
+				continue;
+			}
+			// Get the usage of the host
+			Usage usage = hostUsage.get(job.host);
+			if (usage == null) {
+				usage = new Usage();
+				hostUsage.put(job.host, usage);
+			}
+			// Start it if it fits or if the host is idle
+			if (!needsResources || usage.jobs == 0 || fits(job.resources, usage,
+					getHostLimits(job.host))) {
+				iterator.remove();
+				if (needsResources) {
+					usage.jobs++;
+					usage.cores += job.resources.cores;
+					usage.memory += job.resources.memory;
+					usage.ranks += job.resources.ranks;
+				}
+				job.state = State.RUNNING;
+				started.add(job);
+			} else {
+				// Nothing else on this host may pass it
+				blockedHosts.add(job.host);
+			}
+		}
+
+		return started;
+	}
+
+	/**
+	 * This operation checks whether or not a job fits on a host.
+	 *
+	 * @param resources
+	 *            The resources needed by the job
+	 * @param usage
+	 *            The resources in use on the host
+	 * @param limits
+	 *            The resources available on the host
+	 * @return True if the job fits, false otherwise
+	 */
+	private boolean fits(Resources resources, Usage usage, Resources limits) {
+		return usage.cores + resources.cores <= limits.cores
+				&& usage.memory + resources.memory <= limits.memory
+				&& usage.ranks + resources.ranks <= limits.ranks;
+	}
+
+	/**
+	 * This operation starts the tasks of jobs on the launch pool. It must be
+	 * called without the lock.
+	 *
+	 * @param jobs
+	 *            The jobs
+	 */
+	private void start(List<ScheduledJob> jobs) {
+		for (final ScheduledJob job : jobs) {
+			logger.info("JobScheduler Message: Starting " + job.name + " on "
+					+ job.host + ".");
+			fireChanged(job);
+			launchPool.execute(new Runnable() {
+				@Override
+				public void run() {
+					// Start the task, treating any failure as an error
+					CompletionStage<FormStatus> stage;
+					try {
+						stage = job.task.start();
+					} catch (RuntimeException e) {
+						logger.error(getClass().getName() + " Exception!", e);
+						stage = CompletableFuture
+								.completedFuture(FormStatus.InfoError);
+					}
+					if (stage == null) {
+						stage = CompletableFuture
+								.completedFuture(FormStatus.InfoError);
+					}
+					// Release the resources when it ends
+					stage.whenComplete(new BiConsumer<FormStatus, Throwable>() {
+						@Override
+						public void accept(FormStatus status,
+								Throwable exception) {
+							if (exception != null) {
+								logger.error(getClass().getName()
+										+ " Exception!", exception);
+							}
+							finish(job, (exception == null && status != null)
+									? status : FormStatus.InfoError);
+						}
+					});
+				}
+			});
+		}
+	}
+
+	/**
+	 * This operation releases the resources of a job that has ended, queues
+	 * or cancels the jobs that depend on it and starts any jobs that now fit.
+	 *
+	 * @param job
+	 *            The job
+	 * @param status
+	 *            The final status of the job
+	 */
+	private void finish(ScheduledJob job, FormStatus status) {
+
+		// Local Declarations
+		List<ScheduledJob> started;
+		List<ScheduledJob> cancelled = new ArrayList<ScheduledJob>();
+
+		synchronized (this) {
+			// Release the resources
+			if (!job.resources.isEmpty()) {
+				Usage usage = hostUsage.get(job.host);
+				usage.jobs--;
+				usage.cores -= job.resources.cores;
+				usage.memory -= job.resources.memory;
+				usage.ranks -= job.resources.ranks;
+			}
+			job.state = State.FINISHED;
+			job.finalStatus = status;
+			activeJobs.remove(job);
+			// Release or cancel the jobs that depend on it
+			for (ScheduledJob dependent : job.dependents) {
+				if (!FormStatus.Processed.equals(status)) {
+					cancelled.addAll(cancel(dependent, status));
+				} else if (--dependent.pendingDependencies == 0
+						&& dependent.state == State.WAITING) {
+					enqueue(dependent);
+				}
+			}
+			started = dispatch();
+		}
+
+		logger.info("JobScheduler Message: Finished " + job.name + " on "
+				+ job.host + " with status " + status + ".");
+
+		// Publish the changes
+		job.completion.complete(status);
+		fireChanged(job);
+		complete(cancelled);
+		start(started);
+
+		return;
+	}
+
+	/**
+	 * This operation completes the futures of cancelled jobs and notifies the
+	 * listeners. It must be called without the lock.
+	 *
+	 * @param jobs
+	 *            The cancelled jobs
+	 */
+	private void complete(List<ScheduledJob> jobs) {
+		for (ScheduledJob job : jobs) {
+			logger.info("JobScheduler Message: Cancelled " + job.name + " on "
+					+ job.host + ".");
+			job.completion.complete(job.finalStatus);
+			fireChanged(job);
+		}
+	}
+
+	/**
+	 * This operation notifies the listeners that the state of a job changed.
+	 *
+	 * @param job
+	 *            The job
+	 */
+	private void fireChanged(ScheduledJob job) {
+		for (Listener listener : listeners) {
+			try {
+				listener.jobChanged(job);
+			} catch (RuntimeException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+	}
+
+}
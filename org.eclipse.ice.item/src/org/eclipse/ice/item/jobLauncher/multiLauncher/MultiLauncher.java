@@ -14,8 +14,11 @@ package org.eclipse.ice.item.jobLauncher.multiLauncher;
 
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -30,7 +33,11 @@ import org.eclipse.ice.datastructures.form.MasterDetailsPair;
 import org.eclipse.ice.datastructures.form.ResourceComponent;
 import org.eclipse.ice.datastructures.resource.ICEResource;
 import org.eclipse.ice.item.Item;
+import org.eclipse.ice.item.action.JobMonitor;
+import org.eclipse.ice.item.jobLauncher.JobLauncher;
 import org.eclipse.ice.item.jobLauncher.JobLauncherForm;
+import org.eclipse.ice.item.jobLauncher.JobScheduler;
+import org.eclipse.ice.item.jobLauncher.JobScheduler.ScheduledJob;
 
 /**
  * <p>
@@ -55,25 +62,24 @@ import org.eclipse.ice.item.jobLauncher.JobLauncherForm;
  * details. (See the JobLauncherForm for reference.)
  * </p>
  * <p>
- * When jobs are launched in sequential mode, the MultiLauncher launches a
- * thread and monitors each job launcher until it finishes, then launches the
- * next or breaks out if there was an error. When jobs are launched in parallel,
- * the job launchers are processed asynchronously.
+ * The jobs are launched through the shared JobScheduler, which limits how many
+ * of them run at once on each host. Each job is submitted as a task that needs
+ * no resources of its own and launches its JobLauncher, which then waits for
+ * room on its host. When jobs are launched in sequential mode, each task
+ * depends on the one before it, so the next job is only launched, with its
+ * input chained to the output of the last one, after the last one finishes.
+ * An error cancels the rest of the chain. When jobs are launched in parallel,
+ * the tasks have no dependencies.
  * </p>
  * <p>
- * This class implements Runnable and uses itself as the thread. The run()
- * operation works overtime: it handles all updates to the ResourceComponent
- * from the launchers, it handles all job launch for the sequential launch and
- * it polls the running jobs constantly to update the status if it is launched
- * in parallel. This is implemented with two blocks. The first handles the
- * sequential execution if it is required and the second updates both the
- * parallel execution status and the ResourceComponent. I think, ideally, this
- * would be separated out to a couple of separate threads.
+ * The status of the MultiLauncher is updated when the jobs complete instead
+ * of by polling them. The output from all of the jobs is collected when the
+ * last one finishes.
  * </p>
  * 
  * @author Jay Jay Billings
  */
-public class MultiLauncher extends Item implements Runnable {
+public class MultiLauncher extends Item {
 	/**
 	 * <p>
 	 * The set of JobLaunchers that are available to the MultiLauncher.
@@ -124,15 +130,6 @@ public class MultiLauncher extends Item implements Runnable {
 	 */
 	private AtomicReference<FormStatus> multiLaunchStatus;
 
-	/**
-	 * <p>
-	 * An AtomicBoolean that evaluates to true if the launch is being performed
-	 * sequentially and false if not.
-	 * </p>
-	 * 
-	 */
-	private AtomicBoolean isSequential;
-
 	/**
 	 * <p>
 	 * The foremost launcher whose status is FormStatus.NeedsInfo.
@@ -158,8 +155,6 @@ public class MultiLauncher extends Item implements Runnable {
 		super(projectSpace);
 
 		// Setup the atomics
-		isSequential = new AtomicBoolean();
-		isSequential.set(false);
 		multiLaunchStatus = new AtomicReference<FormStatus>();
 		multiLaunchStatus.set(FormStatus.InfoError);
 
@@ -307,18 +302,8 @@ public class MultiLauncher extends Item implements Runnable {
 				// Figure out whether to launch sequentially or in parallel
 				boolean isParallel = Boolean.parseBoolean(executionModeComp
 						.retrieveEntry("Enable Parallel Execution").getValue());
-				// Set the atomic boolean so that this can be tracked on other
-				// threads. Make sure to flip the boolean since this one is for
-				// sequential mode not parallel mode.
-				isSequential.set(!isParallel);
 				// Launch the jobs
-				if (isParallel) {
-					// In parallel
-					launcherStatus = launchInParallel();
-				} else {
-					// In sequence
-					launcherStatus = launchSequentially();
-				}
+				launcherStatus = launchJobs(isParallel);
 			}
 		} else if (!(runningLaunchers.isEmpty())) {
 			// Return "Processing" if the MultiLauncher is already working.
@@ -352,6 +337,17 @@ public class MultiLauncher extends Item implements Runnable {
 		// Get the status
 		launcherStatus = multiLaunchStatus.get();
 
+		// Running jobs may need more information
+		if (launcherStatus.equals(FormStatus.Processing)) {
+			for (int i = 0; i < runningLaunchers.size(); i++) {
+				if (runningLaunchers.get(i).getStatus()
+						.equals(FormStatus.NeedsInfo)) {
+					launcherStatus = FormStatus.NeedsInfo;
+					break;
+				}
+			}
+		}
+
 		return launcherStatus;
 	}
 
@@ -450,72 +446,136 @@ public class MultiLauncher extends Item implements Runnable {
 
 	/**
 	 * <p>
-	 * This operation launches the jobs sequentially. It starts the
-	 * MultiLauncher thread to do this.
+	 * This operation launches the jobs through the JobScheduler, either in
+	 * parallel or as a chain in which each job depends on the one before it.
+	 * The launches happen on the scheduler's threads, so this operation does
+	 * not block.
 	 * </p>
 	 * 
-	 * @return <p>
+	 * @param isParallel
+	 *            <p>
+	 *            True if the jobs should be launched in parallel, false if
+	 *            they should be launched sequentially.
+	 *            </p>
+	 * @return
+	 *         <p>
 	 *         The launch status.
 	 *         </p>
 	 */
-	private FormStatus launchSequentially() {
+	private FormStatus launchJobs(boolean isParallel) {
 
 		// Local Declarations
-		Thread launchThread = new Thread(this);
+		JobScheduler scheduler = JobScheduler.getDefault();
+		final List<CompletableFuture<FormStatus>> completions = new ArrayList<CompletableFuture<FormStatus>>();
+		ScheduledJob lastScheduledJob = null;
+		Item lastJob = null;
 
 		// Set the status flag
 		multiLaunchStatus.set(FormStatus.Processing);
 
-		// Launch the thread
-		launchThread.start();
+		// Submit a task for each job
+		for (int i = 0; i < runningLaunchers.size(); i++) {
+			final Item job = runningLaunchers.get(i);
+			final Item chainedJob = isParallel ? null : lastJob;
+			final int jobNumber = i + 1;
+			List<ScheduledJob> dependencies = new ArrayList<ScheduledJob>();
+			// Sequential jobs depend on the one before them
+			if (chainedJob != null) {
+				dependencies.add(lastScheduledJob);
+			}
+			lastScheduledJob = scheduler.submit(job.getName(),
+					JobScheduler.LOCALHOST, JobScheduler.Resources.NONE,
+					JobScheduler.DEFAULT_PRIORITY, dependencies,
+					new JobScheduler.Task() {
+						@Override
+						public CompletionStage<FormStatus> start() {
+							return launchJob(job, chainedJob, jobNumber);
+						}
+					});
+			lastJob = job;
+			// Fail at once if any job fails
+			CompletableFuture<FormStatus> completion = lastScheduledJob
+					.getCompletion();
+			completion.thenAccept(new Consumer<FormStatus>() {
+				@Override
+				public void accept(FormStatus jobStatus) {
+					if (FormStatus.InfoError.equals(jobStatus)) {
+						multiLaunchStatus.set(FormStatus.InfoError);
+					}
+				}
+			});
+			completions.add(completion);
+		}
+
+		// Finish when all of the jobs are done
+		CompletableFuture
+				.allOf(completions
+						.toArray(new CompletableFuture[completions.size()]))
+				.thenRun(new Runnable() {
+					@Override
+					public void run() {
+						finishLaunch(completions);
+					}
+				});
 
 		return FormStatus.Processing;
 	}
 
 	/**
 	 * <p>
-	 * This operation launches the jobs in parallel. They jobs are launched
-	 * asynchronously on their own threads, which they manage, so that this
-	 * operation need not be threaded.
+	 * This operation launches one job. It is called on a scheduler thread.
 	 * </p>
 	 * 
-	 * @return <p>
-	 *         The launch status.
+	 * @param job
+	 *            <p>
+	 *            The job to launch.
+	 *            </p>
+	 * @param chainedJob
+	 *            <p>
+	 *            The job whose output should be used as the input of this one
+	 *            or null if the job is not chained.
+	 *            </p>
+	 * @param jobNumber
+	 *            <p>
+	 *            The number of the job, starting at 1, for logging.
+	 *            </p>
+	 * @return
+	 *         <p>
+	 *         A future that completes with the final status of the job.
 	 *         </p>
 	 */
-	private FormStatus launchInParallel() {
+	private CompletableFuture<FormStatus> launchJob(final Item job,
+			Item chainedJob, int jobNumber) {
 
 		// Local Declarations
-		FormStatus retVal = FormStatus.InfoError;
-		Thread launchThread = new Thread(this);
+		FormStatus launchStatus = FormStatus.InfoError;
+		final CompletableFuture<FormStatus> completion = new CompletableFuture<FormStatus>();
 
-		// Launch each job
-		for (Item job : runningLaunchers) {
-			// Launch the job if the Form is ready to process
-			if (job.getStatus().equals(FormStatus.ReadyToProcess)) {
-				logger.info("MultiLauncher Message: "
-						+ "Launching parallel job " + job.getName()
-						+ " with id " + job.getId());
-				// Launch it
-				retVal = job.process("Launch the Job");
-			} else {
-				logger.info("MultiLauncher Message: "
-						+ "Unable to launch parallel job!");
-				logger.info("MultiLauncher Message: " + "Failed job name = "
-						+ job.getName());
-				logger.info("MultiLauncher Message: " + "Failed job id = "
-						+ job.getId());
-				break; // Otherwise throw the error.
-			}
-		}
+		logger.info("MultiLauncher Message: " + "Launching job #" + jobNumber
+				+ ", " + job.getName() + " with id " + job.getId());
 
-		// Set the status flag
-		multiLaunchStatus.set(FormStatus.Processing);
+		// Set the input file to the output file of the last job if it is
+		// necessary.
+		if (chainedJob != null) {
+			setupChainedInput(getOutputFilename(chainedJob), job);
+		}
 
-		// Launch the thread
-		launchThread.start();
+		// Launch the job
+		launchStatus = job.process("Launch the Job");
+
+		// JobLaunchers report their own end. Other Items are watched by the
+		// shared JobMonitor until they stop processing.
+		if (!launchStatus.equals(FormStatus.Processing)
+				&& !launchStatus.equals(FormStatus.NeedsInfo)) {
+			completion.complete(launchStatus);
+		} else if (job instanceof JobLauncher
+				&& ((JobLauncher) job).getScheduledJob() != null) {
+			return ((JobLauncher) job).getScheduledJob().getCompletion();
+		} else {
+			return JobMonitor.getDefault().watch(job);
+		}
 
-		return retVal;
+		return completion;
 	}
 
 	/**
@@ -698,108 +758,29 @@ public class MultiLauncher extends Item implements Runnable {
 	}
 
 	/**
-	 * (non-Javadoc)
+	 * <p>
+	 * This operation sets the final status of the MultiLauncher after all of
+	 * the jobs are done and collects their output if they all succeeded.
+	 * </p>
 	 * 
-	 * @see Runnable#run()
+	 * @param completions
+	 *            <p>
+	 *            The completed futures of the jobs.
+	 *            </p>
 	 */
-	@Override
-	public void run() {
+	private void finishLaunch(List<CompletableFuture<FormStatus>> completions) {
 
 		// Local Declarations
-		Item job = null;
-		FormStatus launchStatus = FormStatus.InfoError;
-		String lastFilename = null;
-		boolean checkStatus = true;
-		ArrayList<FormStatus> runningLauncherStatuses = new ArrayList<FormStatus>();
+		FormStatus launchStatus = FormStatus.Processed;
 
-		/*----- Read the documentation on the class before editing this! -----*/
-
-		// Sequential launch block. Make sure we are in the correct mode.
-		if (isSequential.get()) {
-			// Loop over all of the launchers
-			for (int i = 0; i < runningLaunchers.size(); i++) {
-				// Get and launch the job
-				job = runningLaunchers.get(i);
-				logger.info("MultiLauncher Message: "
-						+ "Launching sequential job #" + (i + 1) + ", "
-						+ job.getName());
-				// Set the input file to the output file of the last code it is
-				// necessary.
-				if (i > 0) {
-					setupChainedInput(lastFilename, job);
-				}
-				job.process("Launch the Job");
-				// Launch the job
-				launchStatus = job.getStatus();
-				// Start the status checking loop
-				multiLaunchStatus.set(launchStatus);
-				while (launchStatus.equals(FormStatus.Processing)
-						|| launchStatus.equals(FormStatus.NeedsInfo)) {
-					// The thread shouldn't poll the job continuously. Let it
-					// sleep some.
-					try {
-						Thread.sleep(100);
-					} catch (InterruptedException e) {
-						// TODO Auto-generated catch block
-						logger.error(getClass().getName() + " Exception!",e);
-					}
-					// Update the status
-					launchStatus = job.getStatus();
-					multiLaunchStatus.set(launchStatus);
-				}
-				// Break if there is some kind of error
-				if (multiLaunchStatus.get().equals(FormStatus.InfoError)) {
-					break;
-				}
-				// Get the name of the last output file
-				lastFilename = getOutputFilename(job);
-			}
-		}
-
-		// Setup the list of launcher statuses before going into the update
-		// block.
-		for (Item launcher : runningLaunchers) {
-			runningLauncherStatuses.add(launcher.getStatus());
-		}
-
-		// Status update block.
-		while (checkStatus) {
-			// Loop over all of the launchers and get their statuses.
-			for (int i = 0; i < runningLaunchers.size(); i++) {
-				Item launcher = runningLaunchers.get(i);
-				runningLauncherStatuses.set(i, launcher.getStatus());
-			}
-			// Check the status. This switch works by checking if an instance of
-			// any of the launchers is in a particular state and setting the
-			// status of the MultiLauncher to that state. First, quit if there
-			// is an error.
-			if (runningLauncherStatuses.contains(FormStatus.InfoError)) {
+		// Any job that did not finish fails the whole launch
+		for (CompletableFuture<FormStatus> completion : completions) {
+			if (!FormStatus.Processed.equals(completion.join())) {
 				launchStatus = FormStatus.InfoError;
-				checkStatus = false;
-			} else if (runningLauncherStatuses.contains(FormStatus.NeedsInfo)) {
-				// Else look for a launcher that needs more information
-				launchStatus = FormStatus.NeedsInfo;
-			} else if (runningLauncherStatuses.contains(FormStatus.Processing)) {
-				// Else look for a launcher that is still processing
-				launchStatus = FormStatus.Processing;
-			} else {
-				// We're processed! Since all of the other statuses except
-				// Processed are covered in the process() operation, break out
-				// of the thread.
-				launchStatus = FormStatus.Processed;
-				checkStatus = false;
-			}
-			// Update the status on the thread.
-			multiLaunchStatus.set(launchStatus);
-			// The thread shouldn't poll the jobs continuously. Let it
-			// sleep some.
-			try {
-				Thread.sleep(100);
-			} catch (InterruptedException e) {
-				// TODO Auto-generated catch block
-				logger.error(getClass().getName() + " Exception!",e);
+				break;
 			}
 		}
+
 		// Add the output if the status does not indicate an error
 		if (launchStatus.equals(FormStatus.Processed)) {
 			// Get the ResourceComponent for the MultiLauncher and clear its
@@ -821,6 +802,10 @@ public class MultiLauncher extends Item implements Runnable {
 			runningLaunchers.clear();
 		}
 
+		// Update the status
+		multiLaunchStatus.set(launchStatus);
+
+		return;
 	}
 
 	/**
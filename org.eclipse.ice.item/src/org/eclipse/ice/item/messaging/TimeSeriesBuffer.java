@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.item.messaging;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class collects the points of one or more named time series, such as
+ * the postprocessors of a running simulation, in memory and hands them to a
+ * FlushListener in batches. A series is flushed when it holds the maximum
+ * number of points or when the flush interval has elapsed since its first
+ * unflushed point was added, whichever comes first, so points are written a
+ * batch at a time instead of one at a time and are never more than one
+ * interval late.
+ * <p>
+ * The points of each series are stored in primitive arrays and the batches of
+ * each series are always flushed in the order in which they were added. The
+ * listener is never called by more than one thread at a time.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class TimeSeriesBuffer {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(TimeSeriesBuffer.class);
+
+	/**
+	 * The default number of points in a series that triggers a flush.
+	 */
+	public static final int DEFAULT_MAX_POINTS = 256;
+
+	/**
+	 * The default number of milliseconds after which unflushed points are
+	 * flushed.
+	 */
+	public static final long DEFAULT_FLUSH_INTERVAL = 500;
+
+	/**
+	 * The thread that flushes the buffers on time. It is shared by all
+	 * buffers.
+	 */
+	private static final ScheduledExecutorService flusher = Executors
+			.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable,
+							"ICE Time Series Flusher");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	/**
+	 * This interface is implemented by clients that write the flushed points,
+	 * for example to a CSV file.
+	 */
+	public interface FlushListener {
+
+		/**
+		 * This operation is called with the next batch of points of a series.
+		 * The arrays belong to the caller and must not be kept.
+		 *
+		 * @param series
+		 *            The name of the series
+		 * @param times
+		 *            The times of the points
+		 * @param values
+		 *            The values of the points
+		 * @param count
+		 *            The number of points in the arrays
+		 */
+		void flush(String series, double[] times, double[] values, int count);
+	}
+
+	/**
+	 * The points of a single series that have not been flushed.
+	 */
+	private static class Series {
+
+		/**
+		 * The name of the series.
+		 */
+		private final String name;
+
+		/**
+		 * The times of the points.
+		 */
+		private double[] times;
+
+		/**
+		 * The values of the points.
+		 */
+		private double[] values;
+
+		/**
+		 * The number of points.
+		 */
+		private int count = 0;
+
+		/**
+		 * The Constructor
+		 *
+		 * @param name
+		 *            The name of the series
+		 * @param capacity
+		 *            The initial number of points that can be held
+		 */
+		private Series(String name, int capacity) {
+			this.name = name;
+			times = new double[capacity];
+			values = new double[capacity];
+		}
+	}
+
+	/**
+	 * The listener that writes the flushed points.
+	 */
+	private final FlushListener listener;
+
+	/**
+	 * The series, keyed by name in the order in which they were first added.
+	 * It is guarded by the buffer.
+	 */
+	private final Map<String, Series> seriesMap = new LinkedHashMap<String, Series>();
+
+	/**
+	 * The lock that keeps flushes in order.
+	 */
+	private final Object flushLock = new Object();
+
+	/**
+	 * The number of points in a series that triggers a flush.
+	 */
+	private volatile int maxPoints = DEFAULT_MAX_POINTS;
+
+	/**
+	 * The number of milliseconds after which unflushed points are flushed.
+	 */
+	private volatile long flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+	/**
+	 * True if a timed flush has been scheduled and has not run yet. It is
+	 * guarded by the buffer.
+	 */
+	private boolean flushScheduled = false;
+
+	/**
+	 * The Constructor
+	 *
+	 * @param listener
+	 *            The listener that writes the flushed points
+	 */
+	public TimeSeriesBuffer(FlushListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * This operation sets the number of points in a series that triggers a
+	 * flush.
+	 *
+	 * @param maxPoints
+	 *            The number of points. It must be positive.
+	 * @return This buffer
+	 */
+	public TimeSeriesBuffer setMaxPoints(int maxPoints) {
+		if (maxPoints > 0) {
+			this.maxPoints = maxPoints;
+		}
+		return this;
+	}
+
+	/**
+	 * This operation sets the time after which unflushed points are flushed.
+	 *
+	 * @param flushInterval
+	 *            The interval in milliseconds. It must be positive.
+	 * @return This buffer
+	 */
+	public TimeSeriesBuffer setFlushInterval(long flushInterval) {
+		if (flushInterval > 0) {
+			this.flushInterval = flushInterval;
+		}
+		return this;
+	}
+
+	/**
+	 * This operation adds a point to a series. The series is flushed on the
+	 * calling thread if it is full.
+	 *
+	 * @param series
+	 *            The name of the series
+	 * @param time
+	 *            The time of the point
+	 * @param value
+	 *            The value of the point
+	 */
+	public void add(String series, double time, double value) {
+
+		boolean full;
+		synchronized (this) {
+			// Get the series, creating it if needed
+			Series points = seriesMap.get(series);
+			if (points == null) {
+				points = new Series(series, Math.min(maxPoints, 64));
+				seriesMap.put(series, points);
+			}
+
+			// Grow the arrays if needed and add the point
+			if (points.count == points.times.length) {
+				int capacity = Math.max(points.count * 2, 1);
+				double[] times = new double[capacity];
+				double[] values = new double[capacity];
+				System.arraycopy(points.times, 0, times, 0, points.count);
+				System.arraycopy(points.values, 0, values, 0, points.count);
+				points.times = times;
+				points.values = values;
+			}
+			points.times[points.count] = time;
+			points.values[points.count] = value;
+			points.count++;
+			full = points.count >= maxPoints;
+
+			// Make sure the point is flushed on time
+			if (!full && !flushScheduled) {
+				flushScheduled = true;
+				flusher.schedule(new Runnable() {
+					@Override
+					public void run() {
+						synchronized (TimeSeriesBuffer.this) {
+							flushScheduled = false;
+						}
+						flush();
+					}
+				}, flushInterval, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		// Flush everything if the series is full. Flushing all of the series
+		// keeps them in step with each other.
+		if (full) {
+			flush();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation flushes the unflushed points of every series to the
+	 * listener.
+	 */
+	public void flush() {
+
+		synchronized (flushLock) {
+			// Take the points out of the buffer so that new points can be
+			// added while these are written
+			List<Series> batches = new ArrayList<Series>();
+			synchronized (this) {
+				for (Series points : seriesMap.values()) {
+					if (points.count > 0) {
+						Series batch = new Series(points.name, 0);
+						batch.times = points.times;
+						batch.values = points.values;
+						batch.count = points.count;
+						batches.add(batch);
+						points.times = new double[batch.times.length];
+						points.values = new double[batch.values.length];
+						points.count = 0;
+					}
+				}
+			}
+
+			// Write them
+			for (Series batch : batches) {
+				try {
+					listener.flush(batch.name, batch.times, batch.values,
+							batch.count);
+				} catch (RuntimeException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
+			}
+		}
+
+		return;
+	}
+
+}
@@ -22,9 +22,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Dictionary;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -44,6 +42,7 @@ import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.datastructures.form.TreeComposite;
 import org.eclipse.ice.datastructures.form.iterator.BreadthFirstTreeCompositeIterator;
 import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
+import org.eclipse.ice.datastructures.jaxbclassprovider.JAXBContextRegistry;
 import org.eclipse.ice.item.action.RemoteAction;
 import org.eclipse.ice.item.utilities.moose.MOOSEFileHandler;
 import org.eclipse.remote.core.IRemoteConnection;
@@ -402,21 +401,14 @@ public class CheckMooseInputAction extends RemoteAction {
 		T comp = null;
 		// Make an array to store the class list of registered Items
 		ArrayList<Class> classList = new ArrayList<Class>();
-		Class[] classArray = {};
 		classList.addAll(new ICEJAXBClassProvider().getClasses());
-		// Create new JAXB class context and unmarshaller
-		JAXBContext context = null;
-		try {
-			context = JAXBContext.newInstance(classList.toArray(classArray));
-		} catch (JAXBException e1) {
-			e1.printStackTrace();
-			logger.error("Could not get JAXBContext.", e1);
-		}
+		// Get the shared JAXB context registry
+		JAXBContextRegistry registry = JAXBContextRegistry.getInstance();
 
 		try {
-			// Create the unmarshaller and load the item
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			comp = (T) unmarshaller.unmarshal(new ByteArrayInputStream(xmlForm.getBytes()));
+			// Load the item with a pooled unmarshaller
+			comp = (T) registry.unmarshal(classList,
+					new ByteArrayInputStream(xmlForm.getBytes()));
 		} catch (JAXBException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
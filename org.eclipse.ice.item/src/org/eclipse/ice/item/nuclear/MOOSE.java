@@ -27,9 +27,7 @@ import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
@@ -52,11 +50,13 @@ import org.eclipse.ice.datastructures.form.TableComponent;
 import org.eclipse.ice.datastructures.form.TreeComposite;
 import org.eclipse.ice.datastructures.form.iterator.BreadthFirstTreeCompositeIterator;
 import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
+import org.eclipse.ice.datastructures.jaxbclassprovider.JAXBContextRegistry;
 import org.eclipse.ice.datastructures.resource.ICEResource;
 import org.eclipse.ice.item.Item;
 import org.eclipse.ice.item.action.Action;
 import org.eclipse.ice.item.jobLauncher.JobLauncherForm;
 import org.eclipse.ice.item.messaging.Message;
+import org.eclipse.ice.item.messaging.TimeSeriesBuffer;
 import org.eclipse.ice.item.utilities.moose.MOOSEFileHandler;
 import org.eclipse.remote.core.IRemoteConnection;
 import org.eclipse.remote.core.IRemoteConnectionHostService;
@@ -120,6 +120,14 @@ public class MOOSE extends Item {
 	@XmlTransient()
 	private boolean registered = false;
 
+	/**
+	 * The buffer that collects the real-time Postprocessor values posted by
+	 * the ICE Updater until they are written to their CSV files. It is
+	 * created when the first value is posted.
+	 */
+	@XmlTransient()
+	private volatile TimeSeriesBuffer postprocessorBuffer;
+
 	/**
 	 * Nullary constructor.
 	 */
@@ -454,20 +462,16 @@ public class MOOSE extends Item {
 	private <T> String writeComponentToXML(T comp) throws JAXBException {
 		// Get the XML
 		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		// Create the marshaller and write the item
-		Marshaller marshaller;
 		
 		// Make an array to store the class list of registered Items
 		ArrayList<Class> classList = new ArrayList<Class>();
-		Class[] classArray = {};
 		classList.addAll(new ICEJAXBClassProvider().getClasses());
-		// Create new JAXB class context and unmarshaller
-		JAXBContext context = JAXBContext.newInstance(classList.toArray(classArray));
+		// Get the shared JAXB context registry
+		JAXBContextRegistry registry = JAXBContextRegistry.getInstance();
 
 		try {
-			marshaller = context.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			marshaller.marshal(comp, outputStream);
+			// Write the item with a pooled marshaller
+			registry.marshal(comp, classList, outputStream);
 		} catch (JAXBException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
@@ -811,8 +815,8 @@ public class MOOSE extends Item {
 			// be of the format pp_name:time:value
 			String[] data = text.split(":");
 			String name = data[0];
-			Double time = Double.valueOf(data[1]);
-			Double value = Double.valueOf(data[2]);
+			double time = Double.parseDouble(data[1]);
+			double value = Double.parseDouble(data[2]);
 
 			// We need the jobLaunch directory to create new VizResources
 			IFolder directory = mooseLauncher.getJobLaunchFolder();
@@ -821,41 +825,109 @@ public class MOOSE extends Item {
 				return false;
 			}
 
-			// Refresh the project space
-			refreshProjectSpace();
+			// Buffer the value. It is written to the Postprocessor's CSV file
+			// with the values around it.
+			getPostprocessorBuffer().add(name, time, value);
 
-			// Grab the new Postprocessor CSV file
-			IFile dataFile = directory.getFile(name + ".csv");
+		} else if ("UPDATER_STOPPED".equals(type)) {
+			// Write out anything that is left now that the job is done
+			TimeSeriesBuffer buffer = postprocessorBuffer;
+			if (buffer != null) {
+				buffer.flush();
+			}
+		}
 
-			// Get a reference to the ResourceComponent
-			ResourceComponent comp = (ResourceComponent) form.getComponent(3);
+		return true;
+	}
 
-			try {
+	/**
+	 * This operation returns the buffer for real-time Postprocessor values,
+	 * creating it if needed.
+	 * 
+	 * @return The buffer
+	 */
+	private synchronized TimeSeriesBuffer getPostprocessorBuffer() {
+		if (postprocessorBuffer == null) {
+			postprocessorBuffer = new TimeSeriesBuffer(
+					new TimeSeriesBuffer.FlushListener() {
+						@Override
+						public void flush(String series, double[] times,
+								double[] values, int count) {
+							writePostprocessorData(series, times, values,
+									count);
+						}
+					});
+		}
+		return postprocessorBuffer;
+	}
+
+	/**
+	 * This operation appends a batch of real-time values to the CSV file of a
+	 * Postprocessor in the job launch directory. The file is created, and
+	 * added to the ResourceComponent so that it can be plotted, the first
+	 * time the Postprocessor is written.
+	 * 
+	 * @param name
+	 *            The name of the Postprocessor
+	 * @param times
+	 *            The times of the values
+	 * @param values
+	 *            The values
+	 * @param count
+	 *            The number of values to write
+	 */
+	private void writePostprocessorData(String name, double[] times,
+			double[] values, int count) {
 
-				if (!dataFile.exists()) {
-					// If the file hasn't been created yet, we need to create
-					// it and start filling it with post processor data
-					String initialData = "Time," + name + "\n" + time + "," + value + "\n";
-					dataFile.create(new ByteArrayInputStream(initialData.getBytes()), true, null);// .createNewFile();
+		// We need the jobLaunch directory to create new VizResources
+		IFolder directory = mooseLauncher.getJobLaunchFolder();
+		if (directory == null || !directory.exists()) {
+			logger.info("MOOSE Job Launch directory was null or did not exist. Cannot show real-time plots.");
+			return;
+		}
 
-					// Create the VizResource, and add it to the
-					// ResourceComponent
-					ICEResource resource = getResource(dataFile.getLocation().toOSString());
-					comp.add(resource);
+		// Build the lines of the batch
+		StringBuilder data = new StringBuilder(count * 32);
+		for (int i = 0; i < count; i++) {
+			data.append(times[i]).append(',').append(values[i]).append('\n');
+		}
 
-				} else {
+		// Grab the Postprocessor CSV file
+		IFile dataFile = directory.getFile(name + ".csv");
 
-					// Write the data to the existing resource
-					dataFile.appendContents(new ByteArrayInputStream(new String(time + "," + value + "\n").getBytes()),
-							IResource.FORCE, null);
-				}
+		// Get a reference to the ResourceComponent
+		ResourceComponent comp = (ResourceComponent) form.getComponent(3);
+
+		try {
+
+			// Only refresh the launch directory, and only if the file is not
+			// known yet, in case something else created it
+			if (!dataFile.exists()) {
+				directory.refreshLocal(IResource.DEPTH_ONE, null);
+			}
+
+			if (!dataFile.exists()) {
+				// If the file hasn't been created yet, we need to create
+				// it and start filling it with post processor data
+				String initialData = "Time," + name + "\n" + data;
+				dataFile.create(new ByteArrayInputStream(initialData.getBytes()), true, null);
+
+				// Create the VizResource, and add it to the
+				// ResourceComponent
+				ICEResource resource = getResource(dataFile.getLocation().toOSString());
+				comp.add(resource);
+
+			} else {
 
-			} catch (IOException | CoreException e) {
-				logger.error(getClass().getName() + " Exception!", e);
+				// Write the data to the existing resource
+				dataFile.appendContents(new ByteArrayInputStream(data.toString().getBytes()), IResource.FORCE, null);
 			}
+
+		} catch (IOException | CoreException e) {
+			logger.error(getClass().getName() + " Exception!", e);
 		}
 
-		return true;
+		return;
 	}
 
 	/**
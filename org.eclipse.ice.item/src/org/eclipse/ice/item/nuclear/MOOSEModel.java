@@ -15,6 +15,8 @@ package org.eclipse.ice.item.nuclear;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -31,6 +33,7 @@ import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
 import java.util.Stack;
 
@@ -391,6 +394,8 @@ public class MOOSEModel extends Item {
 			// Create the URI from the user's application path
 			URI uri = mooseSpecFileEntry.getExecutableURI();
 			IFile yamlFile = null, syntaxFile = null;
+			File execFile = null, stampFile = null;
+			boolean specCurrent = false, specGenerated = false;
 
 			if ("ssh".equals(uri.getScheme())) {
 
@@ -420,11 +425,20 @@ public class MOOSEModel extends Item {
 			} else {
 
 				// Create a File so we can easily get its file name
-				File execFile = new File(uri);
+				execFile = new File(uri);
 
 				// Get the YAML and Syntax files file.
 				yamlFile = mooseFolder.getFile(execFile.getName().toLowerCase() + ".yaml");
 				syntaxFile = mooseFolder.getFile(execFile.getName().toLowerCase() + ".syntax");
+				stampFile = mooseFolder.getFile(execFile.getName().toLowerCase() + ".stamp").getLocation().toFile();
+
+				// Skip running the executable if the files were already
+				// generated from this build of it
+				specCurrent = isSpecCurrent(execFile, stampFile) && yamlFile.getLocation().toFile().isFile()
+						&& syntaxFile.getLocation().toFile().isFile();
+			}
+
+			if (execFile != null && !specCurrent) {
 
 				// Create the yaml and syntax exec strings
 				String[] yamlCmd = { "/bin/sh", "-c",
@@ -443,14 +457,22 @@ public class MOOSEModel extends Item {
 						throw new Exception("Error in creating the YAML/Syntax files. Job return codes were " + code1
 								+ " and " + code2);
 					}
+					specGenerated = true;
 				} catch (Exception e) {
 					logger.error(getClass().getName() + " Exception!",e);
 				}
 			}
 
-			// Clean up the comments in the files
-			createCleanMOOSEFile(yamlFile.getName());
-			createCleanMOOSEFile(syntaxFile.getName());
+			if (!specCurrent) {
+				// Clean up the comments in the files
+				createCleanMOOSEFile(yamlFile.getName());
+				createCleanMOOSEFile(syntaxFile.getName());
+
+				// Remember which build of the executable the files came from
+				if (specGenerated) {
+					writeSpecStamp(execFile, stampFile);
+				}
+			}
 
 			// Refresh the space
 			refreshProjectSpace();
@@ -485,6 +507,65 @@ public class MOOSEModel extends Item {
 		return;
 	}
 
+	/**
+	 * This operation checks whether or not the YAML and action syntax files in
+	 * the MOOSE folder were generated from the current build of a local MOOSE
+	 * executable. The stamp file records the path, size and modification time
+	 * of the executable that the files were generated from.
+	 *
+	 * @param execFile
+	 *            The MOOSE executable
+	 * @param stampFile
+	 *            The stamp file in the MOOSE folder
+	 * @return True if the stamp matches the executable, false otherwise
+	 */
+	private boolean isSpecCurrent(File execFile, File stampFile) {
+
+		// Local Declarations
+		Properties stamp = new Properties();
+		boolean current = false;
+
+		if (stampFile.isFile()) {
+			try (FileInputStream stream = new FileInputStream(stampFile)) {
+				stamp.load(stream);
+				current = execFile.getAbsolutePath().equals(stamp.getProperty("executable"))
+						&& String.valueOf(execFile.length()).equals(stamp.getProperty("length"))
+						&& String.valueOf(execFile.lastModified()).equals(stamp.getProperty("lastModified"));
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+
+		return current;
+	}
+
+	/**
+	 * This operation writes the stamp file that records which build of a
+	 * local MOOSE executable the YAML and action syntax files were generated
+	 * from.
+	 *
+	 * @param execFile
+	 *            The MOOSE executable
+	 * @param stampFile
+	 *            The stamp file in the MOOSE folder
+	 */
+	private void writeSpecStamp(File execFile, File stampFile) {
+
+		// Local Declarations
+		Properties stamp = new Properties();
+
+		stamp.setProperty("executable", execFile.getAbsolutePath());
+		stamp.setProperty("length", String.valueOf(execFile.length()));
+		stamp.setProperty("lastModified", String.valueOf(execFile.lastModified()));
+		try (FileOutputStream stream = new FileOutputStream(stampFile)) {
+			stamp.store(stream, "MOOSE executable used to generate the YAML and action syntax files");
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+
+		return;
+	}
+
 	/**
 	 * This method returns an IRemoteConnection stored in the Remote Preferences
 	 * that corresponds to the provided hostname.
@@ -751,65 +832,11 @@ public class MOOSEModel extends Item {
 
 		// Local declarations
 		Map<String, TreeComposite> inputMap = new HashMap<String, TreeComposite>();
-		ArrayList<TreeComposite> children = new ArrayList<TreeComposite>();
-		TreeComposite tree = null;
-		String treeName = "";
-		int prevNameIndex = -1;
-
-		// Create an empty stack for TreeComposites
-		Stack<TreeComposite> treeStack = new Stack<TreeComposite>();
-		treeStack.push(null);
 
-		// Push the top level TreeComposites from the input file
-		// first on top
+		// Walk down from each of the top level TreeComposites from the input
+		// file
 		for (TreeComposite topLevelTree : topLevelInputTrees) {
-			treeStack.push(topLevelTree);
-		}
-
-		// Pop one of the top-level trees off to start.
-		tree = treeStack.pop();
-
-		while (tree != null) {
-
-			// Append to the tree name
-			treeName += "/" + tree.getName();
-			// Put the tree in the Map, keyed on path name
-			inputMap.put((treeName.startsWith("/") ? treeName.substring(1, treeName.length()) : treeName), tree);
-
-			// Clear the children list in case there are any
-			// from a previous tree
-			children.clear();
-
-			// Check if this tree has children
-			if (tree.getNumberOfChildren() > 0) {
-
-				// Construct the list of this node's children
-				for (int i = 0; i < tree.getNumberOfChildren(); i++) {
-					children.add(tree.getChildAtIndex(i));
-				}
-
-				// Push children to the top of the tree stack
-				for (int i = (children.size() - 1); i >= 0; i--) {
-					treeStack.push(children.get(i));
-				}
-			}
-
-			// If the next tree in the stack is a top-level tree,
-			// clear the path name
-			if (topLevelInputTrees.contains(treeStack.peek())) {
-				treeName = "";
-			}
-
-			// Otherwise, if the current tree didn't have children
-			// to push onto the stack, remove the last "part" of the
-			// path name, as we'll be going back up one level
-			else if (children.isEmpty()) {
-				prevNameIndex = treeName.lastIndexOf("/" + tree.getName());
-				treeName = treeName.substring(0, prevNameIndex);
-			}
-
-			// Pop the next tree off the stack
-			tree = treeStack.pop();
+			putTrees(topLevelTree, "", false, inputMap);
 		}
 
 		return inputMap;
@@ -831,73 +858,53 @@ public class MOOSEModel extends Item {
 	private Map<String, TreeComposite> buildExemplarMap(TreeComposite yamlTree) {
 
 		// Local declarations
-		ArrayList<TreeComposite> childExemplars;
 		HashMap<String, TreeComposite> exemplarMap = new HashMap<String, TreeComposite>();
-		TreeComposite tree = null, oneUpTree = null;
-		String treeName = "";
-		int prevNameIndex = -1;
 
-		// Create an empty stack for TreeComposites
-		Stack<TreeComposite> treeStack = new Stack<TreeComposite>();
-		treeStack.push(null);
-
-		// Push the top level TreeComposites from the YAML ArrayList
-		// first on top
+		// Walk down from each of the top level TreeComposites from the YAML
+		// spec
 		for (TreeComposite topLevelYamlTree : topLevelYamlTrees) {
-			treeStack.push(topLevelYamlTree);
+			putTrees(topLevelYamlTree, "", true, exemplarMap);
 		}
 
-		// Pop one of the top-level trees off to start.
-		tree = treeStack.pop();
-		while (tree != null) {
-
-			// Append to the tree name
-			treeName += "/" + tree.getName();
-			// Put the tree in the Map, keyed on path name
-			exemplarMap.put((treeName.startsWith("/") ? treeName.substring(1, treeName.length()) : treeName), tree);
+		return exemplarMap;
+	}
 
-			// Push child exemplars to the top of the tree stack
-			childExemplars = tree.getChildExemplars();
-			for (int i = (childExemplars.size() - 1); i >= 0; i--) {
-				treeStack.push(childExemplars.get(i));
-			}
+	/**
+	 * This utility method puts a tree and all of its children or child
+	 * exemplars, at any depth, into a Map keyed on their pathnames relative to
+	 * the root. The trees are visited in pre-order, so the pathname of every
+	 * tree is known when it is visited and the whole tree is only walked once.
+	 *
+	 * @param tree
+	 *            The tree to add
+	 * @param parentPath
+	 *            The pathname of the tree's parent, or an empty String if it is
+	 *            a top-level tree
+	 * @param exemplars
+	 *            True if the child exemplars should be walked, false if the
+	 *            children should be walked
+	 * @param treeMap
+	 *            The Map of trees keyed on pathname
+	 */
+	private void putTrees(TreeComposite tree, String parentPath, boolean exemplars,
+			Map<String, TreeComposite> treeMap) {
 
-			// While we're here, append a blank exemplar to the tree (so the
-			// user can create custom blocks)
-			//addBlankChildExemplar(tree);
+		// Put the tree in the Map, keyed on path name
+		String path = parentPath.isEmpty() ? tree.getName() : parentPath + "/" + tree.getName();
+		treeMap.put(path, tree);
 
-			// If the next tree in the stack is a top-level tree,
-			// clear the path name
-			if (topLevelYamlTrees.contains(treeStack.peek())) {
-				treeName = "";
+		// Walk down to the next level
+		if (exemplars) {
+			for (TreeComposite childExemplar : tree.getChildExemplars()) {
+				putTrees(childExemplar, path, exemplars, treeMap);
 			}
-
-			// Otherwise, if the current tree didn't have child
-			// exemplars to push onto the stack, remove the last
-			// "part" of the path name, as we'll be going back up
-			// one level
-			else if (childExemplars.isEmpty()) {
-
-				// Get the name of the tree one level up
-				prevNameIndex = treeName.lastIndexOf("/" + tree.getName());
-				treeName = treeName.substring(0, prevNameIndex);
-
-				// Go up another level if the next tree in the stack isn't
-				// a child exemplar of the current tree referenced by treeName
-				oneUpTree = exemplarMap.get(treeName.substring(1));
-				if (oneUpTree != null && !oneUpTree.getChildExemplars().contains(treeStack.peek())) {
-					prevNameIndex = treeName.lastIndexOf("/");
-					treeName = ((prevNameIndex == 0 || prevNameIndex == -1) ? treeName
-							: treeName.substring(0, prevNameIndex));
-				}
-
+		} else {
+			for (int i = 0; i < tree.getNumberOfChildren(); i++) {
+				putTrees(tree.getChildAtIndex(i), path, exemplars, treeMap);
 			}
-
-			// Pop the next tree off the stack
-			tree = treeStack.pop();
 		}
 
-		return exemplarMap;
+		return;
 	}
 
 	/**
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.item.persistence;
+
+import org.eclipse.ice.item.Item;
+
+/**
+ * This interface is implemented by clients that want to receive Items from an
+ * IPersistenceProvider as they are loaded instead of waiting for the whole set
+ * to be loaded. It is used with
+ * {@link IPersistenceProvider#loadItems(IItemLoadListener)}.
+ *
+ * Providers call these operations on the thread that requested the load, one
+ * at a time, so implementations do not need to be thread-safe.
+ *
+ * @author Jay Jay Billings
+ */
+public interface IItemLoadListener {
+
+	/**
+	 * This operation is called when an Item has been loaded.
+	 *
+	 * @param item
+	 *            The Item that was loaded. It is never null.
+	 */
+	public void itemLoaded(Item item);
+
+	/**
+	 * This operation is called when an Item could not be loaded. The provider
+	 * will continue to load the remaining Items.
+	 *
+	 * @param source
+	 *            A description of the source of the Item, usually the file
+	 *            name.
+	 * @param exception
+	 *            The exception that caused the failure, if any. It may be
+	 *            null.
+	 */
+	public void itemLoadFailed(String source, Exception exception);
+
+}
@@ -110,6 +110,49 @@ public interface IPersistenceProvider {
 	 */
 	public ArrayList<Item> loadItems();
 
+	/**
+	 * Loads all the Items in the persistence piece and hands each one to the
+	 * listener as soon as it is available. Failures are reported to the
+	 * listener for each Item and do not abort the rest of the load. This
+	 * operation blocks until all of the Items have been processed.
+	 * 
+	 * The default implementation simply delegates to {@link #loadItems()}.
+	 * Providers that can load Items concurrently should override it.
+	 * 
+	 * @param listener
+	 *            The listener that should receive the Items.
+	 */
+	public default void loadItems(IItemLoadListener listener) {
+		if (listener != null) {
+			ArrayList<Item> items = loadItems();
+			if (items != null) {
+				for (Item item : items) {
+					if (item != null) {
+						listener.itemLoaded(item);
+					} else {
+						listener.itemLoadFailed("unknown", null);
+					}
+				}
+			}
+		}
+		return;
+	}
+
+	/**
+	 * Returns summaries of all the Items in the persistence piece without
+	 * loading the Items themselves. Clients can use the summaries to list the
+	 * Items and load each one with {@link #loadItem(int)} when it is needed.
+	 *
+	 * The default implementation returns null to indicate that the provider
+	 * cannot summarize Items cheaply, in which case clients should call
+	 * {@link #loadItems(IItemLoadListener)} instead.
+	 *
+	 * @return The list of summaries or null if summaries are not supported.
+	 */
+	public default ArrayList<ItemSummary> loadItemSummaries() {
+		return null;
+	}
+
 	/**
 	 * Attempts to load the IResource as an Item. Returns the item, or null if
 	 * an error was encountered.
@@ -122,7 +165,17 @@ public interface IPersistenceProvider {
 	public Item loadItem(IResource itemResource) throws IOException;
 
 	/**
-	 * This operation retrieves the persistence from the ExtensionRegistry.
+	 * The name of the system property that selects the persistence provider.
+	 * Its value is the id of the extension, such as "xmlPersistenceProvider"
+	 * or "binaryPersistenceProvider", that should be used. The first available
+	 * provider is used if it is not set or no extension matches.
+	 */
+	public static final String PROVIDER_PROPERTY = "org.eclipse.ice.persistence.provider";
+
+	/**
+	 * This operation retrieves the persistence from the ExtensionRegistry. The
+	 * provider can be selected with the {@link #PROVIDER_PROPERTY} system
+	 * property.
 	 * 
 	 * @return The provider 
 	 * @throws CoreException
@@ -149,6 +202,19 @@ public interface IPersistenceProvider {
 			IConfigurationElement[] elements = point.getConfigurationElements();
 			if (elements.length > 0) {
 				IConfigurationElement element = elements[0];
+				// Use the requested provider if there is one
+				String requestedID = System.getProperty(PROVIDER_PROPERTY);
+				if (requestedID != null) {
+					for (IConfigurationElement candidate : elements) {
+						String id = candidate.getDeclaringExtension()
+								.getUniqueIdentifier();
+						if (id != null && (id.equals(requestedID)
+								|| id.endsWith("." + requestedID))) {
+							element = candidate;
+							break;
+						}
+					}
+				}
 				provider = (IPersistenceProvider) element
 						.createExecutableExtension("class");
 			} else {
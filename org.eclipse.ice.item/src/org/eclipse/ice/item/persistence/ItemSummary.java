@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.item.persistence;
+
+/**
+ * This class describes a persisted Item without loading it. It holds the
+ * information that an IPersistenceProvider can read cheaply from the metadata
+ * of the stored Item, which is enough to list the Item and to find its builder
+ * when the full Item is needed. It is returned by
+ * {@link IPersistenceProvider#loadItemSummaries()}.
+ *
+ * Summaries are immutable.
+ *
+ * @author Jay Jay Billings
+ */
+public class ItemSummary {
+
+	/**
+	 * The id of the Item.
+	 */
+	private final int id;
+
+	/**
+	 * The name of the Item.
+	 */
+	private final String name;
+
+	/**
+	 * The description of the Item.
+	 */
+	private final String description;
+
+	/**
+	 * The name of the ItemBuilder that created the Item.
+	 */
+	private final String builderName;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param id
+	 *            The id of the Item
+	 * @param name
+	 *            The name of the Item
+	 * @param description
+	 *            The description of the Item
+	 * @param builderName
+	 *            The name of the ItemBuilder that created the Item. It may be
+	 *            null if it is not known.
+	 */
+	public ItemSummary(int id, String name, String description,
+			String builderName) {
+		this.id = id;
+		this.name = name;
+		this.description = description;
+		this.builderName = builderName;
+	}
+
+	/**
+	 * This operation returns the id of the Item.
+	 *
+	 * @return The id
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * This operation returns the name of the Item.
+	 *
+	 * @return The name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * This operation returns the description of the Item.
+	 *
+	 * @return The description
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * This operation returns the name of the ItemBuilder that created the
+	 * Item.
+	 *
+	 * @return The name of the builder or null if it is not known
+	 */
+	public String getBuilderName() {
+		return builderName;
+	}
+
+}
@@ -28,6 +28,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import javax.naming.OperationNotSupportedException;
 
@@ -86,6 +88,44 @@ public class MOOSEFileHandler implements IReader, IWriter {
 	 */
 	private static boolean debugFlag = false;
 
+	/**
+	 * The YAML specifications that have been loaded, keyed by the absolute
+	 * path of the YAML file. They are shared by all handlers so that a large
+	 * specification is only parsed once per session.
+	 */
+	private static final Map<String, LoadedSpec> loadedSpecs = new ConcurrentHashMap<String, LoadedSpec>();
+
+	/**
+	 * This class holds the configured TreeComposites of a YAML specification
+	 * along with the signature of the files they were loaded from.
+	 */
+	private static class LoadedSpec {
+
+		/**
+		 * The signature of the files that the trees were loaded from.
+		 */
+		final String signature;
+
+		/**
+		 * The top-level trees. They are never handed out directly.
+		 */
+		final ArrayList<TreeComposite> trees;
+
+		/**
+		 * The constructor.
+		 * 
+		 * @param signature
+		 *            The signature of the files that the trees were loaded
+		 *            from
+		 * @param trees
+		 *            The top-level trees
+		 */
+		LoadedSpec(String signature, ArrayList<TreeComposite> trees) {
+			this.signature = signature;
+			this.trees = trees;
+		}
+	}
+
 	/**
 	 * Set the debug flag
 	 */
@@ -325,70 +365,39 @@ public class MOOSEFileHandler implements IReader, IWriter {
 	 * files available in the project to any File Entries.
 	 * 
 	 * @param block
-	 * @param projectDir
+	 * @param availableFiles
+	 *            The files available in the project space, as returned by
+	 *            {@link #getAvailableFiles(String)}
 	 */
-	private void setFileEntries(Block block, String projectDir) {
-		// Local Declarations
-		String availableFiles = "";
-
-		// Search the block with no children
-		if (block.getSubblocks().isEmpty()) {
-			for (Parameter p : block.getParameters()) {
-				if (p.getCpp_type().contains("FileName")) {
-					File[] files = new File(projectDir).listFiles();
-					for (File file : files) {
-						if (!file.isHidden() && !file.isDirectory()) {
-							// If it is a mesh file, only add exodus extensions
-							if (p.getCpp_type().contains("Mesh")) {
-								String extension = FilenameUtils.getExtension(file.getName());
-								if (extension.equals("e") || extension.equals("exo")) {
-									availableFiles += file.getName() + " ";
-								}
-							} else {
-								availableFiles += file.getName() + " ";
-							}
-						}
-					}
+	private void setFileEntries(Block block, String[] availableFiles) {
 
-					p.setOptions(availableFiles);
-				}
-			}
-		} else {
-			// else loop over all sub blocks
-			for (Block subBlock : block.getSubblocks()) {
-				setFileEntries(subBlock, projectDir);
-			}
-
-			// Once we're through that, we still have to check
-			// the top level block
-			for (Parameter p : block.getParameters()) {
-				if (p.getCpp_type().contains("FileName")) {
-					File[] files = new File(projectDir).listFiles();
-					for (File file : files) {
-						if (!file.isHidden() && !file.isDirectory()) {
-							// If it is a mesh file, only add exodus extensions
-							if (p.getCpp_type().contains("Mesh")) {
-								String extension = FilenameUtils.getExtension(file.getName());
-								if (extension.equals("e") || extension.equals("exo")) {
-									availableFiles += file.getName() + " ";
-								}
-							} else {
-								availableFiles += file.getName() + " ";
-							}
-						}
-					}
+		// Loop over all sub blocks first
+		for (Block subBlock : block.getSubblocks()) {
+			setFileEntries(subBlock, availableFiles);
+		}
 
-					p.setOptions(availableFiles);
-				}
+		// Then check this block. Only Exodus files are offered to mesh file
+		// parameters.
+		String options = "";
+		for (Parameter p : block.getParameters()) {
+			if (p.getCpp_type().contains("FileName")) {
+				options += p.getCpp_type().contains("Mesh") ? availableFiles[1] : availableFiles[0];
+				p.setOptions(options);
 			}
 		}
 
+		return;
 	}
 
 	/**
 	 * This operations loads a MOOSE YAML file at the specified path and returns
 	 * a fully-configured set of ICE TreeComposites.
 	 * 
+	 * The specification is only parsed the first time that it is loaded.
+	 * Afterwards, clones of the configured TreeComposites are returned until
+	 * the YAML file, the action syntax file or the set of files in the project
+	 * space changes.
+	 * 
 	 * @param filePath
 	 *            The file path from which the MOOSE blocks written in YAML
 	 *            should be read. If the path is null or empty, the operation
@@ -403,31 +412,46 @@ public class MOOSEFileHandler implements IReader, IWriter {
 	public ArrayList<TreeComposite> loadYAML(String filePath) throws IOException {
 
 		// Local Declarations
-		InputStream input = null;
 		String syntaxFilePath, treeName;
 		ArrayList<String> hardPathsList = null;
 		ArrayList<TreeComposite> trees = new ArrayList<TreeComposite>();
 		Map<String, TreeComposite> treeMap = null;
-		TreeComposite oneUpTree = null;
+		ArrayList<?> list = null;
 
 		// Quit if the path is boned
 		if (filePath == null || filePath.isEmpty()) {
 			return null;
 		}
 
-		// Get a handle on the YAML file
+		// Get a handle on the YAML file and the action syntax file
 		File yamlFile = new File(filePath);
-		input = new FileInputStream(yamlFile);
+		int yamlIndex = filePath.indexOf(".yaml");
+		syntaxFilePath = filePath.substring(0, yamlIndex) + ".syntax";
 
-		// Get the project space directory string
+		// Get the project space directory string and the files in it that
+		// can be offered to file parameters
 		String projectDir = new File(yamlFile.getParent()).getParent();
+		String[] availableFiles = getAvailableFiles(projectDir);
+
+		// Return the cached specification if nothing that it depends on has
+		// changed
+		String signature = getSpecSignature(yamlFile, new File(syntaxFilePath), availableFiles);
+		LoadedSpec cachedSpec = loadedSpecs.get(yamlFile.getAbsolutePath());
+		if (cachedSpec != null && cachedSpec.signature.equals(signature)) {
+			if (debugFlag) {
+				logger.info("MOOSEFileHandler Message: Reusing YAML file " + filePath);
+			}
+			return cloneTrees(cachedSpec.trees);
+		}
 
 		// Load the YAML tree
 		if (debugFlag) {
 			logger.info("MOOSEFileHandler Message: Loading YAML file " + filePath.toString());
 		}
-		Yaml yaml = new Yaml();
-		ArrayList<?> list = (ArrayList<?>) yaml.load(input);
+		try (InputStream input = new FileInputStream(yamlFile)) {
+			Yaml yaml = new Yaml();
+			list = (ArrayList<?>) yaml.load(input);
+		}
 		if (debugFlag) {
 			logger.info("MOOSEFileHandler Message: File loaded.");
 		}
@@ -439,26 +463,21 @@ public class MOOSEFileHandler implements IReader, IWriter {
 		}
 
 		// Load the block list. Use YAMLBlocks so that they can be converted to
-		// TreeComposites appropriately.
-		for (int i = 0; i < list.size(); i++) {
+		// TreeComposites appropriately. The top-level blocks are independent,
+		// so they are converted in parallel and collected in order.
+		final ArrayList<?> blockMaps = list;
+		TreeComposite[] blockTrees = IntStream.range(0, blockMaps.size()).parallel().mapToObj(i -> {
 			Block block = new YAMLBlock();
-			block.loadFromMap((Map<String, Object>) list.get(i));
+			block.loadFromMap((Map<String, Object>) blockMaps.get(i));
 
 			// Recursively add Files to any File Entries in
 			// this block
-			setFileEntries(block, projectDir);
+			setFileEntries(block, availableFiles);
 
 			block.active = true;
-			trees.add(block.toTreeComposite());
-		}
-
-		// Close the files
-		try {
-			input.close();
-		} catch (IOException e) {
-			// Complain
-			logger.error(getClass().getName() + " Exception!", e);
-		}
+			return block.toTreeComposite();
+		}).toArray(TreeComposite[]::new);
+		trees.addAll(Arrays.asList(blockTrees));
 
 		// Put all the names of top-level nodes into a list (we use this later)
 		ArrayList<String> topLevelNodes = new ArrayList<String>();
@@ -468,67 +487,9 @@ public class MOOSEFileHandler implements IReader, IWriter {
 		// Instantiate a HashMap that all TreeComposites and their exemplar
 		// children trees can be added to, keyed by absolute path name
 		treeMap = new HashMap<String, TreeComposite>();
-
-		// Create empty stack for TreeComposites
-		Stack<TreeComposite> treeStack = new Stack<TreeComposite>();
-		treeStack.push(null);
-
-		// Push the top level TreeComposites from the ArrayList first on first
 		for (TreeComposite tree : trees) {
-			treeStack.push(tree);
+			putExemplars(tree, "", treeMap);
 		}
-		// Pop one of the top-level trees off to start.
-		TreeComposite tree = treeStack.pop();
-		ArrayList<TreeComposite> childExemplars;
-		treeName = "";
-		int prevNameIndex;
-		while (tree != null) {
-
-			// Append to the tree name
-			treeName += "/" + tree.getName();
-
-			// Put the tree in the Map, keyed on path name
-			treeMap.put((treeName.startsWith("/") ? treeName.substring(1) : treeName), tree);
-
-			// Push child exemplars to the top of the tree stack
-			childExemplars = tree.getChildExemplars();
-			for (int i = (childExemplars.size() - 1); i >= 0; i--) {
-				treeStack.push(childExemplars.get(i));
-			}
-
-			// If the next tree in the stack is a top-level tree, clear the
-			// path name
-			if (trees.contains(treeStack.peek())) {
-				treeName = "";
-			}
-
-			// Otherwise, if the current tree didn't have child exemplars to
-			// push onto the stack, remove the last "part" of the path name, as
-			// we'll be going back up one level
-			else if (childExemplars.isEmpty()) {
-
-				// Get the name of the tree one level up
-				prevNameIndex = treeName.lastIndexOf("/" + tree.getName());
-				treeName = treeName.substring(0, prevNameIndex);
-
-				// Go up another level if the next tree in the stack isn't
-				// a child exemplar of the current tree referenced by treeName
-				oneUpTree = treeMap.get(treeName.substring(1));
-				if (oneUpTree != null && !oneUpTree.getChildExemplars().contains(treeStack.peek())) {
-					prevNameIndex = treeName.lastIndexOf("/");
-					treeName = ((prevNameIndex == 0 || prevNameIndex == -1) ? treeName
-							: treeName.substring(0, prevNameIndex));
-				}
-
-			}
-
-			// Pop the next tree off the stack
-			tree = treeStack.pop();
-		}
-
-		// Define the file path of the action syntax file
-		int yamlIndex = filePath.indexOf(".yaml");
-		syntaxFilePath = filePath.substring(0, yamlIndex) + ".syntax";
 
 		// Load the list of all "hard" paths from the action syntax file
 		try {
@@ -541,7 +502,7 @@ public class MOOSEFileHandler implements IReader, IWriter {
 		// "hard" paths from the action syntax file
 		TreeComposite currTree;
 		boolean hasType = false;
-		int typeIndex = -1;
+		int typeIndex = -1, prevNameIndex;
 		String cleanPath;
 		ArrayList<TreeComposite> types, currChildExemplars;
 		DataComponent typeParameters = null, treeParameters = null;
@@ -654,7 +615,101 @@ public class MOOSEFileHandler implements IReader, IWriter {
 			newTrees.add(treeMap.get(nodeName));
 		}
 
-		return newTrees;
+		// Keep the configured trees for the next load and hand out clones
+		loadedSpecs.put(yamlFile.getAbsolutePath(), new LoadedSpec(signature, newTrees));
+
+		return cloneTrees(newTrees);
+	}
+
+	/**
+	 * This operation puts a tree and all of its child exemplars, at any depth,
+	 * into a map keyed by their path names relative to the root.
+	 * 
+	 * @param tree
+	 *            The tree to add
+	 * @param parentPath
+	 *            The path name of the tree's parent, or an empty string if it
+	 *            is a top-level tree
+	 * @param treeMap
+	 *            The map of trees keyed by path name
+	 */
+	private void putExemplars(TreeComposite tree, String parentPath, Map<String, TreeComposite> treeMap) {
+
+		String path = parentPath.isEmpty() ? tree.getName() : parentPath + "/" + tree.getName();
+		treeMap.put(path, tree);
+		for (TreeComposite exemplar : tree.getChildExemplars()) {
+			putExemplars(exemplar, path, treeMap);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation creates deep copies of a list of trees.
+	 * 
+	 * @param trees
+	 *            The trees to copy
+	 * @return The copies, in the same order
+	 */
+	private ArrayList<TreeComposite> cloneTrees(ArrayList<TreeComposite> trees) {
+
+		ArrayList<TreeComposite> clones = new ArrayList<TreeComposite>(trees.size());
+		for (TreeComposite tree : trees) {
+			clones.add((TreeComposite) tree.clone());
+		}
+
+		return clones;
+	}
+
+	/**
+	 * This operation returns a signature of everything that a loaded
+	 * specification depends on: the sizes and modification times of the YAML
+	 * and action syntax files and the files that are offered to file
+	 * parameters.
+	 * 
+	 * @param yamlFile
+	 *            The YAML file
+	 * @param syntaxFile
+	 *            The action syntax file
+	 * @param availableFiles
+	 *            The files available in the project space, as returned by
+	 *            {@link #getAvailableFiles(String)}
+	 * @return The signature
+	 */
+	private String getSpecSignature(File yamlFile, File syntaxFile, String[] availableFiles) {
+		return yamlFile.length() + ":" + yamlFile.lastModified() + ":" + syntaxFile.length() + ":"
+				+ syntaxFile.lastModified() + ":" + availableFiles[0];
+	}
+
+	/**
+	 * This operation lists the files in the project space that can be offered
+	 * to file parameters.
+	 * 
+	 * @param projectDir
+	 *            The project space directory
+	 * @return The space-delimited names of all of the visible files at index
+	 *         0 and of the Exodus mesh files at index 1
+	 */
+	private String[] getAvailableFiles(String projectDir) {
+
+		// Local Declarations
+		StringBuilder allFiles = new StringBuilder(), meshFiles = new StringBuilder();
+		File[] files = (projectDir != null) ? new File(projectDir).listFiles() : null;
+
+		if (files != null) {
+			for (File file : files) {
+				if (!file.isHidden() && !file.isDirectory()) {
+					allFiles.append(file.getName()).append(" ");
+					// Only Exodus files can be meshes
+					String extension = FilenameUtils.getExtension(file.getName());
+					if (extension.equals("e") || extension.equals("exo")) {
+						meshFiles.append(file.getName()).append(" ");
+					}
+				}
+			}
+		}
+
+		return new String[] { allFiles.toString(), meshFiles.toString() };
 	}
 
 	/**
@@ -833,8 +888,10 @@ public class MOOSEFileHandler implements IReader, IWriter {
 				// a Root TreeComposite to return
 				if (blocks != null) {
 					for (TreeComposite block : blocks) {
-						// Clone the block
-						TreeComposite blockClone = (TreeComposite) block.clone();
+						// Clone the block. The YAML blocks are already copies
+						// of the cached specification.
+						TreeComposite blockClone = fileExt.toLowerCase().equals("yaml") ? block
+								: (TreeComposite) block.clone();
 
 						// Don't want to do this if the file is a YAML file.
 						if (!fileExt.toLowerCase().equals("yaml")) {
@@ -13,9 +13,10 @@
 package org.eclipse.ice.nek5000;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -157,20 +158,31 @@ public class NekReader {
 		// Read lines into an ArrayList of Strings
 		ArrayList<String> lines = readFileLines(reaFile);
 
+		// Find all of the sections in one pass over the lines
+		ReaSections sections = indexSections(lines);
+
 		// Load the input components
-		DataComponent parameters = loadParameters(lines);
-		DataComponent passiveScalarData = loadPassiveScalarData(lines);
-		DataComponent switches = loadLogicalSwitches(lines);
-		DataComponent preNekAxes = loadPreNekAxes(lines);
-		MeshComponent mesh = loadMesh(lines);
+		DataComponent parameters = loadParameters(lines, sections.parameters);
+		DataComponent passiveScalarData = loadPassiveScalarData(lines,
+				sections.passiveScalarData);
+		DataComponent switches = loadLogicalSwitches(lines,
+				sections.logicalSwitches);
+		DataComponent preNekAxes = loadPreNekAxes(lines, sections.preNekAxes);
+		MeshComponent mesh = loadMesh(lines, sections);
 		MeshComponent curvedSideData = loadCurvedSideData(lines);
-		DataComponent presolveRestartOpts = loadPresolveRestartOpts(lines);
-		DataComponent initialConditions = loadInitialConditions(lines);
-		DataComponent driveForceData = loadDriveForceData(lines);
-		DataComponent varPropertyData = loadVarPropertyData(lines);
-		DataComponent histIntegralData = loadHistoryIntegralData(lines);
-		DataComponent outputFieldSpec = loadOutputFieldSpec(lines);
-		DataComponent objectSpec = loadObjectSpec(lines);
+		DataComponent presolveRestartOpts = loadPresolveRestartOpts(lines,
+				sections.presolveRestart);
+		DataComponent initialConditions = loadInitialConditions(lines,
+				sections.initialConditions);
+		DataComponent driveForceData = loadDriveForceData(lines,
+				sections.driveForce);
+		DataComponent varPropertyData = loadVarPropertyData(lines,
+				sections.varProperty);
+		DataComponent histIntegralData = loadHistoryIntegralData(lines,
+				sections.historyIntegral);
+		DataComponent outputFieldSpec = loadOutputFieldSpec(lines,
+				sections.outputField);
+		DataComponent objectSpec = loadObjectSpec(lines, sections.objectSpec);
 
 		// Add the components to the ArrayList
 		components.add(parameters);
@@ -206,43 +218,149 @@ public class NekReader {
 	 * @throws FileNotFoundException
 	 *             Thrown when input file cannot be found
 	 * @throws IOException
-	 *             Thrown when the FileInputStream cannot be read or closed
+	 *             Thrown when the file cannot be read
 	 */
 	public ArrayList<String> readFileLines(File file)
 			throws FileNotFoundException, IOException {
 
-		// Convert to FileInputStream
-		FileInputStream fileStream = null;
-		fileStream = new FileInputStream(file);
-
-		// Read the FileInputStream and append to a StringBuffer
-		StringBuffer buffer = new StringBuffer();
-		int fileByte;
-		while ((fileByte = fileStream.read()) != -1) {
-			buffer.append((char) fileByte);
+		// Make sure the file exists before reading it
+		if (!file.isFile()) {
+			throw new FileNotFoundException(file.getPath());
 		}
 
-		// Close the stream
-		fileStream.close();
+		// Read the whole file at once. Each byte is one character, just as
+		// the file has always been read.
+		String contents = new String(Files.readAllBytes(file.toPath()),
+				StandardCharsets.ISO_8859_1);
 
-		// Break up the StringBuffer at each newline character
-		String[] bufferSplit = (buffer.toString()).split("\n");
+		// Break up the contents at each newline character
+		String[] bufferSplit = contents.split("\n");
 		ArrayList<String> fileLines = new ArrayList<String>(
 				Arrays.asList(bufferSplit));
 
 		return fileLines;
 	}
 
+	/**
+	 * Finds the first header line of each section of a reafile in a single
+	 * pass over its lines. The lines of the mesh and of the fluid and thermal
+	 * boundary conditions, which make up almost all of a large reafile, are
+	 * jumped over instead of searched when their sizes can be read.
+	 * 
+	 * @param reaLines
+	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @return The locations of the sections in the reafile.
+	 */
+	private ReaSections indexSections(ArrayList<String> reaLines) {
+
+		ReaSections sections = new ReaSections();
+		int numLines = reaLines.size();
+
+		// The sizes of the mesh, or -1 until they are read
+		int numElements = -1, numFluid = -1;
+
+		String line;
+		for (int i = 0; i < numLines; i++) {
+			line = reaLines.get(i);
+
+			if (sections.parameters < 0 && i + 3 < numLines
+					&& line.contains("****** PARAMETERS *****")
+					&& reaLines.get(i + 1).contains("NEKTON VERSION")
+					&& reaLines.get(i + 2).contains("DIMENSIONAL RUN")
+					&& reaLines.get(i + 3).contains("PARAMETERS FOLLOW")) {
+				sections.parameters = i;
+			} else if (sections.passiveScalarData < 0
+					&& line.contains("Lines of passive scalar data")) {
+				sections.passiveScalarData = i;
+			} else if (sections.logicalSwitches < 0
+					&& line.contains("LOGICAL SWITCHES FOLLOW")) {
+				sections.logicalSwitches = i;
+			} else if (sections.preNekAxes < 0
+					&& line.contains("XFAC,YFAC,XZERO,YZERO")) {
+				sections.preNekAxes = i;
+			} else if (sections.mesh < 0 && i + 1 < numLines
+					&& (line.contains("**MESH DATA**")
+							|| line.contains("*** MESH DATA ***"))
+					&& reaLines.get(i + 1).contains("NEL,NDIM,NELV")) {
+				sections.mesh = i;
+				// Jump over the elements, which are each 1 header line and
+				// one line per dimension
+				try {
+					ArrayList<String> numbersLine = (ArrayList<String>) parseLine(
+							String.class, reaLines.get(i + 1));
+					numElements = Integer.parseInt(numbersLine.get(0));
+					int dimensions = Integer.parseInt(numbersLine.get(1));
+					numFluid = Integer.parseInt(numbersLine.get(2));
+					i = Math.min(i + 1 + numElements * (dimensions + 1),
+							numLines - 1);
+				} catch (NumberFormatException e) {
+					numElements = -1;
+					numFluid = -1;
+				}
+			} else if (sections.fluidBoundaryConditions < 0 && line
+					.contains("***** FLUID   BOUNDARY CONDITIONS *****")) {
+				sections.fluidBoundaryConditions = i;
+				// Jump over the 4 sides of each fluid element
+				if (numFluid > 0) {
+					i = Math.min(i + numFluid * 4, numLines - 1);
+				}
+			} else if (sections.thermalBoundaryConditions < 0 && line
+					.contains("***** THERMAL BOUNDARY CONDITIONS *****")) {
+				sections.thermalBoundaryConditions = i;
+				// Jump over the 4 sides of each thermal element
+				if (numElements > 0) {
+					i = Math.min(i + numElements * 4, numLines - 1);
+				}
+			} else if (sections.passiveScalarBoundaryConditions < 0
+					&& line.contains("***** PASSIVE SCALAR           "
+							+ "1 BOUNDARY CONDITIONS *****")) {
+				sections.passiveScalarBoundaryConditions = i;
+			} else if (sections.presolveRestart < 0
+					&& line.contains("PRESOLVE/RESTART OPTIONS")) {
+				sections.presolveRestart = i;
+			} else if (sections.initialConditions < 0
+					&& line.contains("INITIAL CONDITIONS")) {
+				sections.initialConditions = i;
+			} else if (sections.driveForce < 0 && i + 1 < numLines
+					&& line.contains("***** DRIVE FORCE DATA *****")
+					&& reaLines.get(i + 1)
+							.contains("Lines of Drive force data follow")) {
+				sections.driveForce = i;
+			} else if (sections.varProperty < 0 && i + 1 < numLines
+					&& line.contains("***** Variable Property Data ****")
+					&& reaLines.get(i + 1).contains("Lines follow")) {
+				sections.varProperty = i;
+			} else if (sections.historyIntegral < 0 && i + 1 < numLines
+					&& line.contains("***** HISTORY AND INTEGRAL DATA *****")
+					&& reaLines.get(i + 1).contains("POINTS")) {
+				sections.historyIntegral = i;
+			} else if (sections.outputField < 0 && i + 1 < numLines
+					&& line.contains("***** OUTPUT FIELD SPECIFICATION *****")
+					&& reaLines.get(i + 1).contains("SPECIFICATIONS FOLLOW")) {
+				sections.outputField = i;
+			} else if (sections.objectSpec < 0
+					&& line.contains("***** OBJECT SPECIFICATION *****")) {
+				sections.objectSpec = i;
+			}
+		}
+
+		return sections;
+	}
+
 	/**
 	 * Loads the PARAMETERS section of a reafile and returns the contents as a
 	 * DataComponent of Entries. Each line is set as an IEntry.
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         PARAMETERS section.
 	 */
-	private DataComponent loadParameters(ArrayList<String> reaLines) {
+	private DataComponent loadParameters(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a parameters component to add entries
 		DataComponent parameters = new DataComponent();
@@ -252,66 +370,60 @@ public class NekReader {
 		parameters.setId(2);
 
 		IEntry entry;
-		// Begin reading in the lines
-		for (int i = 0; i < reaLines.size(); i++) {
-
-			// Search for the parameters heading and 3 lines below indicating
-			// how many lines the parameters section is
-			if (reaLines.get(i).contains("****** PARAMETERS *****")
-					&& reaLines.get(i + 1).contains("NEKTON VERSION")
-					&& reaLines.get(i + 2).contains("DIMENSIONAL RUN")
-					&& reaLines.get(i + 3).contains("PARAMETERS FOLLOW")) {
-
-				// Grab the number indicating the length of the parameters
-				// section (number of lines)
-				int strIndex = reaLines.get(i + 3).indexOf("PARAMETERS FOLLOW");
-				String numLinesStr = reaLines.get(i + 3)
-						.substring(0, strIndex - 1).trim();
-				int numLines = Integer.parseInt(numLinesStr);
+		// Start at the parameters heading and 3 lines below indicating
+		// how many lines the parameters section is
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the number indicating the length of the parameters
+			// section (number of lines)
+			int strIndex = reaLines.get(i + 3).indexOf("PARAMETERS FOLLOW");
+			String numLinesStr = reaLines.get(i + 3)
+					.substring(0, strIndex - 1).trim();
+			int numLines = Integer.parseInt(numLinesStr);
+
+			// Jump the iterator 4 lines ahead (from the header) and begin
+			// reading in Entries
+			i += 4;
+			String currLine;
+			String currDesc;
+			String[] splitLine = null;
+			for (int j = 0; j < numLines; j++) {
 
-				// Jump the iterator 4 lines ahead (from the header) and begin
-				// reading in Entries
-				i += 4;
-				String currLine;
-				String currDesc;
-				String[] splitLine = null;
-				for (int j = 0; j < numLines; j++) {
-
-					// Grab the current line
-					currLine = reaLines.get(i + j);
-					splitLine = currLine.trim().split("\\s+");
-
-					// If the current parameter is NPSCAL, define the value of
-					// numPassiveScalars
-					if (currLine.contains("NPSCAL")) {
-						ArrayList<String> npscalArray = (ArrayList<String>) parseLine(
-								String.class, currLine);
-						numPassiveScalars = Integer
-								.parseInt(npscalArray.get(0).substring(0, 1));
-					}
+				// Grab the current line
+				currLine = reaLines.get(i + j);
+				splitLine = currLine.trim().split("\\s+");
 
-					// Create a Nek IEntry
-					entry = makeNekEntry(false);
+				// If the current parameter is NPSCAL, define the value of
+				// numPassiveScalars
+				if (currLine.contains("NPSCAL")) {
+					ArrayList<String> npscalArray = (ArrayList<String>) parseLine(
+							String.class, currLine);
+					numPassiveScalars = Integer
+							.parseInt(npscalArray.get(0).substring(0, 1));
+				}
 
-					// Construct the parameter description
-					currDesc = "";
-					for (int k = 2; k < splitLine.length; k++) {
-						currDesc += splitLine[k] + " ";
-					}
+				// Create a Nek IEntry
+				entry = makeNekEntry(false);
 
-					// Set name, description, value, and ID
-					entry.setValue(splitLine[0]);
-					if ((j + 1) < 100) {
-						entry.setName(String.format("p%02d", (j + 1)));
-					} else {
-						entry.setName(String.format("p%3d", (j + 1)));
-					}
-					entry.setDescription(currDesc);
-					entry.setId(j + 1);
+				// Construct the parameter description
+				currDesc = "";
+				for (int k = 2; k < splitLine.length; k++) {
+					currDesc += splitLine[k] + " ";
+				}
 
-					// Append to DataComponent
-					parameters.addEntry(entry);
+				// Set name, description, value, and ID
+				entry.setValue(splitLine[0]);
+				if ((j + 1) < 100) {
+					entry.setName(String.format("p%02d", (j + 1)));
+				} else {
+					entry.setName(String.format("p%3d", (j + 1)));
 				}
+				entry.setDescription(currDesc);
+				entry.setId(j + 1);
+
+				// Append to DataComponent
+				parameters.addEntry(entry);
 			}
 		}
 
@@ -326,10 +438,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         PASSIVE SCALAR DATA section.
 	 */
-	private DataComponent loadPassiveScalarData(ArrayList<String> reaLines) {
+	private DataComponent loadPassiveScalarData(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a passive scalar component to add entries
 		DataComponent passiveScalarData = new DataComponent();
@@ -342,54 +458,52 @@ public class NekReader {
 		if (numPassiveScalars > 0) {
 
 			IEntry entry;
-			for (int i = 0; i < reaLines.size(); i++) {
-
-				// Search for the passive scalar heading
-				if (reaLines.get(i).contains("Lines of passive scalar data")) {
-
-					// Grab the number indicating the length of the Passive
-					// Scalar Data section (number of lines)
-					int strIndex = reaLines.get(i)
-							.indexOf("Lines of passive scalar data");
-					String numLinesStr = reaLines.get(i)
-							.substring(0, strIndex - 1).trim();
-					int numLines = Integer.parseInt(numLinesStr);
-
-					// Jump the iterator 1 line ahead (from the header) and
-					// begin
-					// reading in Entries
-					i += 1;
-					String currLine;
-					String[] splitLine;
-					String currValue;
-					for (int j = 0; j < numLines; j++) {
+			// Start at the passive scalar heading
+			int i = start;
+			if (i >= 0) {
+
+				// Grab the number indicating the length of the Passive
+				// Scalar Data section (number of lines)
+				int strIndex = reaLines.get(i)
+						.indexOf("Lines of passive scalar data");
+				String numLinesStr = reaLines.get(i)
+						.substring(0, strIndex - 1).trim();
+				int numLines = Integer.parseInt(numLinesStr);
 
-						// Grab the current line
-						currLine = reaLines.get(i + j);
-						splitLine = currLine.trim().split("\\s+");
+				// Jump the iterator 1 line ahead (from the header) and
+				// begin
+				// reading in Entries
+				i += 1;
+				String currLine;
+				String[] splitLine;
+				String currValue;
+				for (int j = 0; j < numLines; j++) {
 
-						// Create a Nek IEntry
-						entry = makeNekEntry(false);
+					// Grab the current line
+					currLine = reaLines.get(i + j);
+					splitLine = currLine.trim().split("\\s+");
 
-						// Construct the current value
-						currValue = "";
-						for (int k = 0; k < splitLine.length; k++) {
-							if (k != splitLine.length - 1) {
-								currValue += splitLine[k] + " ";
-							} else {
-								currValue += splitLine[k];
-							}
+					// Create a Nek IEntry
+					entry = makeNekEntry(false);
+
+					// Construct the current value
+					currValue = "";
+					for (int k = 0; k < splitLine.length; k++) {
+						if (k != splitLine.length - 1) {
+							currValue += splitLine[k] + " ";
+						} else {
+							currValue += splitLine[k];
 						}
+					}
 
-						// Set the name, description, value, and ID
-						entry.setName("Passive Scalar " + (j + 1));
-						entry.setDescription("");
-						entry.setValue(currValue);
-						entry.setId(j + 1);
+					// Set the name, description, value, and ID
+					entry.setName("Passive Scalar " + (j + 1));
+					entry.setDescription("");
+					entry.setValue(currValue);
+					entry.setId(j + 1);
 
-						// Append to the DataComponent
-						passiveScalarData.addEntry(entry);
-					}
+					// Append to the DataComponent
+					passiveScalarData.addEntry(entry);
 				}
 			}
 		}
@@ -404,10 +518,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         LOGICAL SWITCHES section.
 	 */
-	private DataComponent loadLogicalSwitches(ArrayList<String> reaLines) {
+	private DataComponent loadLogicalSwitches(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a switches component to add entries
 		DataComponent switches = new DataComponent();
@@ -417,110 +535,108 @@ public class NekReader {
 		switches.setId(4);
 
 		IEntry entry;
-		for (int i = 0; i < reaLines.size(); i++) {
-
-			// Search for the logical switches heading indicating how many
-			// lines follow
-			if (reaLines.get(i).contains("LOGICAL SWITCHES FOLLOW")) {
+		// Start at the logical switches heading indicating how many
+		// lines follow
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the number indicating the length of the switches
+			// section (number of lines)
+			int strIndex = reaLines.get(i).indexOf("LOGICAL SWITCHES");
+			String numLinesStr = reaLines.get(i).substring(0, strIndex - 1)
+					.trim();
+			int numLines = Integer.parseInt(numLinesStr);
+
+			// Jump the iterator 1 lines ahead and begin reading in Entries
+			i += 1;
+			String currLine;
+			String[] splitLine;
+			String currValue;
+			String currName;
+			String currDesc;
+			for (int j = 0; j < numLines; j++) {
 
-				// Grab the number indicating the length of the switches
-				// section (number of lines)
-				int strIndex = reaLines.get(i).indexOf("LOGICAL SWITCHES");
-				String numLinesStr = reaLines.get(i).substring(0, strIndex - 1)
-						.trim();
-				int numLines = Integer.parseInt(numLinesStr);
+				// Grab the current line
+				currLine = reaLines.get(i + j);
+				splitLine = currLine.trim().split("\\s+");
 
-				// Jump the iterator 1 lines ahead and begin reading in Entries
-				i += 1;
-				String currLine;
-				String[] splitLine;
-				String currValue;
-				String currName;
-				String currDesc;
-				for (int j = 0; j < numLines; j++) {
+				currValue = "";
+				currName = "";
+				currDesc = "";
+				// Check if line contains passive scalar flags (ie. >1 flag)
+				if (splitLine.length > 2) {
 
-					// Grab the current line
-					currLine = reaLines.get(i + j);
-					splitLine = currLine.trim().split("\\s+");
+					// Create a NekEntry
+					entry = makeNekEntry(false);
 
-					currValue = "";
-					currName = "";
-					currDesc = "";
-					// Check if line contains passive scalar flags (ie. >1 flag)
-					if (splitLine.length > 2) {
-
-						// Create a NekEntry
-						entry = makeNekEntry(false);
-
-						// Define the current entry name depending on which line
-						// it is
-						if (currLine.contains("IFNAV & IFADVC")) {
-
-							currName = "IFNAV && IFADVC"; // Eclipse form bug
-															// where single
-															// ampersands shows
-															// up as a space
-							currValue = String.format(
-									"%s %s %s %s %s %s %s " + "%s %s %s %s",
-									splitLine[0], splitLine[1], splitLine[2],
-									splitLine[3], splitLine[4], splitLine[5],
-									splitLine[6], splitLine[7], splitLine[8],
-									splitLine[9], splitLine[10]);
-
-							for (int k = 14; k < splitLine.length; k++) {
-								if (k != splitLine.length - 1) {
-									currDesc += splitLine[k] + " ";
-								} else {
-									currDesc += splitLine[k];
-								}
+					// Define the current entry name depending on which line
+					// it is
+					if (currLine.contains("IFNAV & IFADVC")) {
+
+						currName = "IFNAV && IFADVC"; // Eclipse form bug
+														// where single
+														// ampersands shows
+														// up as a space
+						currValue = String.format(
+								"%s %s %s %s %s %s %s " + "%s %s %s %s",
+								splitLine[0], splitLine[1], splitLine[2],
+								splitLine[3], splitLine[4], splitLine[5],
+								splitLine[6], splitLine[7], splitLine[8],
+								splitLine[9], splitLine[10]);
+
+						for (int k = 14; k < splitLine.length; k++) {
+							if (k != splitLine.length - 1) {
+								currDesc += splitLine[k] + " ";
+							} else {
+								currDesc += splitLine[k];
 							}
-						} else if (currLine.contains("IFTMSH")) {
-
-							currName = "IFTMSH";
-							currValue = String.format(
-									"%s %s %s %s %s %s %s " + "%s %s %s %s %s",
-									splitLine[0], splitLine[1], splitLine[2],
-									splitLine[3], splitLine[4], splitLine[5],
-									splitLine[6], splitLine[7], splitLine[8],
-									splitLine[9], splitLine[10], splitLine[11]);
-							for (int k = 13; k < splitLine.length; k++) {
-								if (k != splitLine.length - 1) {
-									currDesc += splitLine[k] + " ";
-								} else {
-									currDesc += splitLine[k];
-								}
+						}
+					} else if (currLine.contains("IFTMSH")) {
+
+						currName = "IFTMSH";
+						currValue = String.format(
+								"%s %s %s %s %s %s %s " + "%s %s %s %s %s",
+								splitLine[0], splitLine[1], splitLine[2],
+								splitLine[3], splitLine[4], splitLine[5],
+								splitLine[6], splitLine[7], splitLine[8],
+								splitLine[9], splitLine[10], splitLine[11]);
+						for (int k = 13; k < splitLine.length; k++) {
+							if (k != splitLine.length - 1) {
+								currDesc += splitLine[k] + " ";
+							} else {
+								currDesc += splitLine[k];
 							}
 						}
-
 					}
 
-					// Otherwise it only contains one flag
-					else {
+				}
 
-						// Create a NekEntry
-						entry = makeNekEntry(true);
+				// Otherwise it only contains one flag
+				else {
 
-						// Set the name and value
-						currValue = ("T".equals(splitLine[0]) ? "YES" : "NO");
-						currName = splitLine[1];
+					// Create a NekEntry
+					entry = makeNekEntry(true);
 
-						// Flag if there are heat/fluid solutions
-						if (currLine.contains("IFFLOW")) {
-							ifFlow = ("T".equals(splitLine[0]) ? true : false);
-						}
-						if (currLine.contains("IFHEAT")) {
-							ifHeat = ("T".equals(splitLine[0]) ? true : false);
-						}
+					// Set the name and value
+					currValue = ("T".equals(splitLine[0]) ? "YES" : "NO");
+					currName = splitLine[1];
+
+					// Flag if there are heat/fluid solutions
+					if (currLine.contains("IFFLOW")) {
+						ifFlow = ("T".equals(splitLine[0]) ? true : false);
+					}
+					if (currLine.contains("IFHEAT")) {
+						ifHeat = ("T".equals(splitLine[0]) ? true : false);
 					}
+				}
 
-					// Set the name, value, and ID
-					entry.setName(currName);
-					entry.setValue(currValue);
-					entry.setId(j + 1);
+				// Set the name, value, and ID
+				entry.setName(currName);
+				entry.setValue(currValue);
+				entry.setId(j + 1);
 
-					// Append to the DataComponent
-					switches.addEntry(entry);
-				}
+				// Append to the DataComponent
+				switches.addEntry(entry);
 			}
 		}
 
@@ -535,10 +651,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         PRE-NEK AXES section.
 	 */
-	private DataComponent loadPreNekAxes(ArrayList<String> reaLines) {
+	private DataComponent loadPreNekAxes(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a PreNek Axes component to add entries
 		DataComponent preNekAxes = new DataComponent();
@@ -551,41 +671,39 @@ public class NekReader {
 		String[] splitLine;
 		String currValue;
 		String currName;
-		for (int i = 0; i < reaLines.size(); i++) {
-
-			// Search for the Pre-Nek axes line
-			if (reaLines.get(i).contains("XFAC,YFAC,XZERO,YZERO")) {
-
-				// Grab the current line
-				String currLine = reaLines.get(i);
-				splitLine = currLine.trim().split("\\s+");
-
-				// Create a Nek IEntry
-				entry = makeNekEntry(false);
-
-				// Construct the current value and name
-				currValue = "";
-				currName = "";
-				currValue = String.format("%-13s %-13s %-13s %-13s",
-						splitLine[0], splitLine[1], splitLine[2], splitLine[3]);
-
-				for (int j = 4; j < splitLine.length; j++) {
-					if (j != splitLine.length - 1) {
-						currName += splitLine[j] + " ";
-					} else {
-						currName += splitLine[j];
-					}
+		// Start at the Pre-Nek axes line
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the current line
+			String currLine = reaLines.get(i);
+			splitLine = currLine.trim().split("\\s+");
+
+			// Create a Nek IEntry
+			entry = makeNekEntry(false);
+
+			// Construct the current value and name
+			currValue = "";
+			currName = "";
+			currValue = String.format("%-13s %-13s %-13s %-13s",
+					splitLine[0], splitLine[1], splitLine[2], splitLine[3]);
+
+			for (int j = 4; j < splitLine.length; j++) {
+				if (j != splitLine.length - 1) {
+					currName += splitLine[j] + " ";
+				} else {
+					currName += splitLine[j];
 				}
+			}
 
-				// Set the name, value and ID
-				entry.setName(currName);
-				entry.setValue(currValue);
-				entry.setId(1); // There's only one Pre-Nek axes line
-				entry.setReady(false); // Don't need to expose this to user
+			// Set the name, value and ID
+			entry.setName(currName);
+			entry.setValue(currValue);
+			entry.setId(1); // There's only one Pre-Nek axes line
+			entry.setReady(false); // Don't need to expose this to user
 
-				// Append to the DataComponent
-				preNekAxes.addEntry(entry);
-			}
+			// Append to the DataComponent
+			preNekAxes.addEntry(entry);
 		}
 
 		return preNekAxes;
@@ -605,15 +723,17 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param sections
+	 *            The locations of the sections in the reafile.
 	 * @return MeshComponent containing the definition of all mesh elements()
 	 *         defined in the problem, with a set of BoundaryConditions
 	 *         associated to each Quad.
 	 **/
-	private MeshComponent loadMesh(ArrayList<String> reaLines) {
+	private MeshComponent loadMesh(ArrayList<String> reaLines,
+			ReaSections sections) {
 
 		// Local declarations for file reading
 		String currLine;
-		ArrayList<Float> nextLine = null;
 		ArrayList<String> numbersLine = null;
 
 		// Local declarations for quad building
@@ -642,271 +762,276 @@ public class NekReader {
 		HashMap<Integer, BoundaryCondition> thermalBoundaryConditions = null;
 		ArrayList<HashMap<Integer, BoundaryCondition>> scalarBoundaryConditions = null;
 
-		// Begin reading the input file lines
-		for (int i = 0; i < reaLines.size(); i++) {
+		// Start at the mesh data heading
+		int i = sections.mesh;
+		if (i >= 0) {
+
+			// Grab the numbers on the next line (NEL,NDIM,NELV)
+			numbersLine = (ArrayList<String>) parseLine(String.class,
+					reaLines.get(i + 1));
+
+			// NEL = number of (thermal) elements used
+			// NDIM = number of dimensions
+			// NELV = number of fluid elements used (doesn't have to be same
+			// as number of thermal elements
+
+			numThermalElements = Integer.parseInt(numbersLine.get(0));
+			numDimensions = Integer.parseInt(numbersLine.get(1));
+			numFluidElements = Integer.parseInt(numbersLine.get(2));
+
+			// Start ID counters for quads, edges and vertices, all IDs
+			// must be unique
+			int edgeId = 1;
+			int vertexId = 1;
+			int quadId = 1;
+
+			// Load boundary conditions that will be assigned to
+			// element/quad edges
+			boundaryConditions = loadBoundaryConditions(reaLines, sections);
+
+			// Determine what position the fluid, thermal and passive scalar
+			// boundary conditions are in the loaded boundaryConditions list
+			int fluidPosition = 0, thermalPosition = 0,
+					passiveScalPosition = 0;
+			if (ifFlow) {
+				fluidPosition = 0;
+			}
+			if (ifFlow && ifHeat) {
+				thermalPosition = 1;
+			} else if (!ifFlow && ifHeat) {
+				thermalPosition = 0;
+			}
+			if (numPassiveScalars > 0) {
+				passiveScalPosition = thermalPosition + 1;
+			}
+			if (ifFlow) {
+				fluidBoundaryConditions = (HashMap<Integer, BoundaryCondition>) boundaryConditions
+						.get(fluidPosition);
+			}
+			if (ifHeat) {
+				thermalBoundaryConditions = (HashMap<Integer, BoundaryCondition>) boundaryConditions
+						.get(thermalPosition);
+			}
 
-			// Search for the mesh data heading
-			if ((reaLines.get(i).contains("**MESH DATA**")
-					|| reaLines.get(i).contains("*** MESH DATA ***"))
-					&& reaLines.get(i + 1).contains("NEL,NDIM,NELV")) {
+			if (numPassiveScalars > 0) {
+				scalarBoundaryConditions = (ArrayList<HashMap<Integer, BoundaryCondition>>) boundaryConditions
+						.get(passiveScalPosition);
+			}
 
-				// Grab the numbers on the next line (NEL,NDIM,NELV)
-				numbersLine = (ArrayList<String>) parseLine(String.class,
-						reaLines.get(i + 1));
-
-				// NEL = number of (thermal) elements used
-				// NDIM = number of dimensions
-				// NELV = number of fluid elements used (doesn't have to be same
-				// as number of thermal elements
-
-				numThermalElements = Integer.parseInt(numbersLine.get(0));
-				numDimensions = Integer.parseInt(numbersLine.get(1));
-				numFluidElements = Integer.parseInt(numbersLine.get(2));
-
-				// Start ID counters for quads, edges and vertices, all IDs
-				// must be unique
-				int edgeId = 1;
-				int vertexId = 1;
-				int quadId = 1;
-
-				// Load boundary conditions that will be assigned to
-				// element/quad edges
-				boundaryConditions = loadBoundaryConditions(reaLines);
-
-				// Determine what position the fluid, thermal and passive scalar
-				// boundary conditions are in the loaded boundaryConditions list
-				int fluidPosition = 0, thermalPosition = 0,
-						passiveScalPosition = 0;
-				if (ifFlow) {
-					fluidPosition = 0;
-				}
-				if (ifFlow && ifHeat) {
-					thermalPosition = 1;
-				} else if (!ifFlow && ifHeat) {
-					thermalPosition = 0;
-				}
-				if (numPassiveScalars > 0) {
-					passiveScalPosition = thermalPosition + 1;
-				}
-				if (ifFlow) {
-					fluidBoundaryConditions = (HashMap<Integer, BoundaryCondition>) boundaryConditions
-							.get(fluidPosition);
-				}
-				if (ifHeat) {
-					thermalBoundaryConditions = (HashMap<Integer, BoundaryCondition>) boundaryConditions
-							.get(thermalPosition);
-				}
+			// Jump the iterator 2 lines ahead and begin reading in
+			// elements/quads
+			i += 2;
 
-				if (numPassiveScalars > 0) {
-					scalarBoundaryConditions = (ArrayList<HashMap<Integer, BoundaryCondition>>) boundaryConditions
-							.get(passiveScalPosition);
-				}
+			String materialId;
+			int groupNum;
+			String[] splitLine;
+			int numVertices;
 
-				// Jump the iterator 2 lines ahead and begin reading in
-				// elements/quads
-				i += 2;
+			// The coordinates of the current element, one row per dimension.
+			// They are reused for every element.
+			float[][] coordinates = new float[numDimensions][8];
 
-				String materialId;
-				int groupNum;
-				String[] splitLine;
-				int j = 0;
-				while (j < numThermalElements * (numDimensions + 1)) { // Each
-																		// element
-																		// is (1
-																		// header
-																		// + #
-																		// dimensions)
-																		// lines
+			int j = 0;
+			while (j < numThermalElements * (numDimensions + 1)) { // Each
+																	// element
+																	// is (1
+																	// header
+																	// + #
+																	// dimensions)
+																	// lines
 
-					// Grab the current line
-					currLine = reaLines.get(i + j);
+				// Grab the current line
+				currLine = reaLines.get(i + j);
 
-					// If current line is the beginning of a new element
-					if (currLine.contains("ELEMENT")) {
+				// If current line is the beginning of a new element
+				if (currLine.contains("ELEMENT")) {
 
-						// Grab the material ID and group number
-						splitLine = currLine.trim().split("\\s+");
-						if (splitLine[3]
-								.charAt(splitLine[3].length() - 1) == ']') {
-							materialId = splitLine[3].substring(0,
-									splitLine[3].length() - 1);
-							groupNum = Integer.parseInt(splitLine[5]);
-						} else {
-							materialId = splitLine[3];
-							groupNum = Integer.parseInt(splitLine[6]);
-						}
+					// Grab the material ID and group number
+					splitLine = currLine.trim().split("\\s+");
+					if (splitLine[3]
+							.charAt(splitLine[3].length() - 1) == ']') {
+						materialId = splitLine[3].substring(0,
+								splitLine[3].length() - 1);
+						groupNum = Integer.parseInt(splitLine[5]);
+					} else {
+						materialId = splitLine[3];
+						groupNum = Integer.parseInt(splitLine[6]);
+					}
 
-						// Create a new current element
-						ArrayList<ArrayList<Float>> currElement = new ArrayList<ArrayList<Float>>();
+					// Jump to the next line and parse as many lines as
+					// there
+					// are dimensions (ie. 2 dimensions = 2 lines of coords)
+					numVertices = 0;
+					for (int k = 0; k < numDimensions; k++) {
+
+						// Parse line into the coordinates of the current
+						// element, growing the row if the line is longer
+						currLine = reaLines.get(i + j + k + 1);
+						int count = parseFloats(currLine, 0, coordinates[k]);
+						if (count > coordinates[k].length) {
+							coordinates[k] = new float[count];
+							parseFloats(currLine, 0, coordinates[k]);
+						}
+						if (k == 0) {
+							numVertices = count;
+						}
+					}
 
-						// Jump to the next line and parse as many lines as
-						// there
-						// are dimensions (ie. 2 dimensions = 2 lines of coords)
-						for (int k = 0; k < numDimensions; k++) {
+					// Construct a set of vertices
+					float x, y, z;
+					vertices = new ArrayList<VertexController>(numVertices);
+
+					for (int k = 0; k < numVertices; k++) {
+
+						// Define the x,y,z coordinates
+						x = coordinates[0][k];
+						y = coordinates[1][k];
+						z = 0f;
+
+						// Create new vertex and add to vertices ArrayList
+						Vertex vertexComponent = new Vertex(x, y,
+								z);
+						vertex = (VertexController) factory
+								.createProvider(vertexComponent)
+								.createController(vertexComponent);
+						vertex.setProperty(MeshProperty.NAME, "Vertex");
+						vertex.setProperty(MeshProperty.ID,
+								Integer.toString(vertexId)); // Set unique
+																// ID
+						vertices.add(vertex);
+
+						vertexId++;
+					}
 
-							// Parse line into an ArrayList and add to current
-							// element
-							nextLine = (ArrayList<Float>) parseLine(Float.class,
-									reaLines.get(i + j + k + 1));
-							currElement.add(nextLine);
+					// Construct combinations of vertices
+					edges = new ArrayList<EdgeController>();
+					edgeIdList = new ArrayList<Integer>();
+
+					for (int k = 0; k < 4; k++) {
+
+						vertexCombo = new ArrayList<VertexController>();
+
+						// Edge 1 = Vertices 1 + 2
+						// Edge 2 = Vertices 2 + 3
+						// Edge 3 = Vertices 3 + 4
+						// Edge 4 = Vertices 4 + 1
+
+						// Create one of four possible combinations of
+						// vertices
+						switch (k) {
+						case 0:
+							vertexCombo.add(vertices.get(0));
+							vertexCombo.add(vertices.get(1));
+							break;
+						case 1:
+							vertexCombo.add(vertices.get(1));
+							vertexCombo.add(vertices.get(2));
+							break;
+						case 2:
+							vertexCombo.add(vertices.get(2));
+							vertexCombo.add(vertices.get(3));
+							break;
+						case 3:
+							vertexCombo.add(vertices.get(3));
+							vertexCombo.add(vertices.get(0));
+							break;
+						default:
+							break;
 						}
 
-						// Construct a set of vertices
-						float x, y, z;
-						vertices = new ArrayList<VertexController>();
-
-						for (int k = 0; k < currElement.get(0).size(); k++) {
-
-							// Define the x,y,z coordinates
-							x = currElement.get(0).get(k);
-							y = currElement.get(1).get(k);
-							z = 0f;
-
-							// Create new vertex and add to vertices ArrayList
-							Vertex vertexComponent = new Vertex(x, y,
-									z);
-							vertex = (VertexController) factory
-									.createProvider(vertexComponent)
-									.createController(vertexComponent);
-							vertex.setProperty(MeshProperty.NAME, "Vertex");
-							vertex.setProperty(MeshProperty.ID,
-									Integer.toString(vertexId)); // Set unique
-																	// ID
-							vertices.add(vertex);
-
-							vertexId++;
-						}
+						// Create a new edge and add to edges ArrayList
+						Edge edgeComponent = new Edge(
+								vertexCombo.get(0), vertexCombo.get(1));
+						edge = (EdgeController) factory
+								.createProvider(edgeComponent)
+								.createController(edgeComponent);
+						edge.setProperty(MeshProperty.NAME, "Edge");
+						edge.setProperty(MeshProperty.ID,
+								Integer.toString(edgeId)); // Set
+						// unique
+						// edge
+						// ID
+						edges.add(edge);
 
-						// Construct combinations of vertices
-						edges = new ArrayList<EdgeController>();
-						edgeIdList = new ArrayList<Integer>();
-
-						for (int k = 0; k < 4; k++) {
-
-							vertexCombo = new ArrayList<VertexController>();
-
-							// Edge 1 = Vertices 1 + 2
-							// Edge 2 = Vertices 2 + 3
-							// Edge 3 = Vertices 3 + 4
-							// Edge 4 = Vertices 4 + 1
-
-							// Create one of four possible combinations of
-							// vertices
-							switch (k) {
-							case 0:
-								vertexCombo.add(vertices.get(0));
-								vertexCombo.add(vertices.get(1));
-								break;
-							case 1:
-								vertexCombo.add(vertices.get(1));
-								vertexCombo.add(vertices.get(2));
-								break;
-							case 2:
-								vertexCombo.add(vertices.get(2));
-								vertexCombo.add(vertices.get(3));
-								break;
-							case 3:
-								vertexCombo.add(vertices.get(3));
-								vertexCombo.add(vertices.get(0));
-								break;
-							default:
-								break;
-							}
+						edgeIdList.add(edgeId);
 
-							// Create a new edge and add to edges ArrayList
-							Edge edgeComponent = new Edge(
-									vertexCombo.get(0), vertexCombo.get(1));
-							edge = (EdgeController) factory
-									.createProvider(edgeComponent)
-									.createController(edgeComponent);
-							edge.setProperty(MeshProperty.NAME, "Edge");
-							edge.setProperty(MeshProperty.ID,
-									Integer.toString(edgeId)); // Set
-							// unique
-							// edge
-							// ID
-							edges.add(edge);
-
-							edgeIdList.add(edgeId);
-
-							edgeId++;
-						}
+						edgeId++;
+					}
 
-						// Create new quad, add it to the MeshComponent
-						NekPolygon quadComponent = new NekPolygon();
-						quad = (NekPolygonController) factory
-								.createProvider(quadComponent)
-								.createController(quadComponent);
+					// Create new quad, add it to the MeshComponent
+					NekPolygon quadComponent = new NekPolygon();
+					quad = (NekPolygonController) factory
+							.createProvider(quadComponent)
+							.createController(quadComponent);
 
-						for (EdgeController e : edges) {
-							quad.addEntityToCategory(e, MeshCategory.EDGES);
-						}
+					for (EdgeController e : edges) {
+						quad.addEntityToCategory(e, MeshCategory.EDGES);
+					}
 
-						quad.setPolygonProperties(materialId, groupNum);
-						
+					quad.setPolygonProperties(materialId, groupNum);
+					
 
-						// Set the boundary conditions of the quad by edge ID
-						int currEdgeId;
-						for (int k = 0; k < 4; k++) { // k < 6 for
-														// three-dimensional
-														// cases
+					// Set the boundary conditions of the quad by edge ID
+					int currEdgeId;
+					for (int k = 0; k < 4; k++) { // k < 6 for
+													// three-dimensional
+													// cases
 
-							// Grab the ID of one of the edges contained in the
-							// quad
-							currEdgeId = edgeIdList.get(k);
+						// Grab the ID of one of the edges contained in the
+						// quad
+						currEdgeId = edgeIdList.get(k);
 
-							// Set the fluid boundary condition for that edge
-							if (ifFlow) {
-								quad.setFluidBoundaryCondition(currEdgeId,
-										fluidBoundaryConditions
-												.get(currEdgeId));
-							}
+						// Set the fluid boundary condition for that edge
+						if (ifFlow) {
+							quad.setFluidBoundaryCondition(currEdgeId,
+									fluidBoundaryConditions
+											.get(currEdgeId));
+						}
 
-							// Set the thermal boundary condition for that edge
-							if (ifHeat) {
-								quad.setThermalBoundaryCondition(currEdgeId,
-										thermalBoundaryConditions
-												.get(currEdgeId));
-							}
+						// Set the thermal boundary condition for that edge
+						if (ifHeat) {
+							quad.setThermalBoundaryCondition(currEdgeId,
+									thermalBoundaryConditions
+											.get(currEdgeId));
+						}
 
-							// Set the passive scalar boundary condition(s) for
-							// that edge (if any)
-							if (numPassiveScalars > 0) {
+						// Set the passive scalar boundary condition(s) for
+						// that edge (if any)
+						if (numPassiveScalars > 0) {
 
-								HashMap<Integer, BoundaryCondition> currSetScalars = new HashMap<Integer, BoundaryCondition>();
+							HashMap<Integer, BoundaryCondition> currSetScalars = new HashMap<Integer, BoundaryCondition>();
 
-								for (int ii = 1; ii <= numPassiveScalars; ii++) {
+							for (int ii = 1; ii <= numPassiveScalars; ii++) {
 
-									// Define the current set of scalar boundary
-									// conditions
-									currSetScalars = scalarBoundaryConditions
-											.get(ii);
+								// Define the current set of scalar boundary
+								// conditions
+								currSetScalars = scalarBoundaryConditions
+										.get(ii);
 
-									// Set the passive scalar boundary condition
-									// for the current edge
-									quad.setOtherBoundaryCondition(currEdgeId,
-											ii, currSetScalars.get(currEdgeId));
-								}
+								// Set the passive scalar boundary condition
+								// for the current edge
+								quad.setOtherBoundaryCondition(currEdgeId,
+										ii, currSetScalars.get(currEdgeId));
 							}
 						}
+					}
 
-						quad.setProperty(MeshProperty.ID,
-								Integer.toString(quadId)); // Set
-						// unique
-						// quad
-						// ID
-						mesh.addPolygon(quad); // Add the quad to the mesh
-						edgeIdList.clear(); // Clear the quad edge list
+					quad.setProperty(MeshProperty.ID,
+							Integer.toString(quadId)); // Set
+					// unique
+					// quad
+					// ID
+					mesh.addPolygon(quad); // Add the quad to the mesh
+					edgeIdList.clear(); // Clear the quad edge list
 
-						quadId++;
+					quadId++;
 
-						// Jump ahead to the next element/quad (if there is one)
-						j += (numDimensions + 1);
-					}
+					// Jump ahead to the next element/quad (if there is one)
+					j += (numDimensions + 1);
+				}
 
-					else {
-						j++;
-					}
+				else {
+					j++;
 				}
 			}
 		}
@@ -953,6 +1078,8 @@ public class NekReader {
 	 * 
 	 * @param realLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param sections
+	 *            The locations of the sections in the reafile.
 	 * @return An ArrayList of BoundaryCondition HashMaps keyed on unique Edge
 	 *         IDs. Elements 0 and 1 are fluid and thermal boundary condition
 	 *         maps respecively. Elements 2 is an ArrayList of N HashMaps of
@@ -960,7 +1087,7 @@ public class NekReader {
 	 *         in the PARAMETERS section (ie. this.numPassiveScalars)
 	 **/
 	private ArrayList<Object> loadBoundaryConditions(
-			ArrayList<String> reaLines) {
+			ArrayList<String> reaLines, ReaSections sections) {
 
 		// Local declarations
 		ArrayList<Object> currCondition;
@@ -977,111 +1104,108 @@ public class NekReader {
 		// boundary conditions (to return)
 		ArrayList<Object> allBoundaryConditions = new ArrayList<Object>();
 
-		// Begin reading the input file lines
-		for (int i = 0; i < reaLines.size(); i++) {
+		/** --- Load FLUID boundary conditions --- **/
 
-			/** --- Load FLUID boundary conditions --- **/
+		// Start at the fluid boundary conditions header
+		int i = sections.fluidBoundaryConditions;
+		if (i >= 0) {
 
-			// Search for the fluid boundary conditions header
-			if (reaLines.get(i)
-					.contains("***** FLUID   BOUNDARY CONDITIONS *****")) {
+			// Jump the iterator 1 line ahead and begin reading in boundary
+			// conditions
+			i += 1;
 
-				// Jump the iterator 1 line ahead and begin reading in boundary
-				// conditions
-				i += 1;
-
-				for (int j = 0; j < numFluidElements * 4; j++) {
+			for (int j = 0; j < numFluidElements * 4; j++) {
 
-					// Create the current boundary condition object
-					currCondition = buildBoundaryConditionPair(reaLines, i, j);
+				// Create the current boundary condition object
+				currCondition = buildBoundaryConditionPair(reaLines, i, j);
 
-					// Plug it (along with the unique edge ID it corresponds to)
-					// into the thermal boundary conditions HashMap
-					fluidBoundaryConditions.put((Integer) currCondition.get(0),
-							(BoundaryCondition) currCondition.get(1));
-				}
-
-				allBoundaryConditions.add(fluidBoundaryConditions);
+				// Plug it (along with the unique edge ID it corresponds to)
+				// into the thermal boundary conditions HashMap
+				fluidBoundaryConditions.put((Integer) currCondition.get(0),
+						(BoundaryCondition) currCondition.get(1));
 			}
 
-			/** --- Load THERMAL boundary conditions --- **/
+			allBoundaryConditions.add(fluidBoundaryConditions);
+		}
 
-			// Search for the thermal boundary conditions header
-			if (reaLines.get(i)
-					.contains("***** THERMAL BOUNDARY CONDITIONS *****")) {
+		/** --- Load THERMAL boundary conditions --- **/
 
-				// Jump the iterator 1 line ahead and begin reading in boundary
-				// conditions
-				i += 1;
+		// Start at the thermal boundary conditions header
+		i = sections.thermalBoundaryConditions;
+		if (i >= 0) {
 
-				for (int j = 0; j < numThermalElements * 4; j++) {
+			// Jump the iterator 1 line ahead and begin reading in boundary
+			// conditions
+			i += 1;
 
-					// Create the current boundary condition object
-					currCondition = buildBoundaryConditionPair(reaLines, i, j);
+			for (int j = 0; j < numThermalElements * 4; j++) {
 
-					// Plug it (along with the unique edge ID it corresponds to)
-					// into the thermal boundary conditions HashMap
-					thermalBoundaryConditions.put(
-							(Integer) currCondition.get(0),
-							(BoundaryCondition) currCondition.get(1));
-				}
+				// Create the current boundary condition object
+				currCondition = buildBoundaryConditionPair(reaLines, i, j);
 
-				allBoundaryConditions.add(thermalBoundaryConditions);
+				// Plug it (along with the unique edge ID it corresponds to)
+				// into the thermal boundary conditions HashMap
+				thermalBoundaryConditions.put(
+						(Integer) currCondition.get(0),
+						(BoundaryCondition) currCondition.get(1));
 			}
 
-			/** --- Load PASSIVE SCALAR boundary conditions (if any) --- **/
-			// Find the beginning of the passive scalar BC section
-			if (numPassiveScalars > 0 && reaLines.get(i)
-					.contains("***** PASSIVE SCALAR           "
-							+ "1 BOUNDARY CONDITIONS *****")) {
+			allBoundaryConditions.add(thermalBoundaryConditions);
+		}
 
-				// Repeat the following for as many sets of passive scalar
-				// BCs as there are
-				for (int currScalarNum = 1; currScalarNum <= numPassiveScalars; currScalarNum++) {
-
-					// Search for the current scalar header
-					String passiveScalarHeader = "***** PASSIVE SCALAR           "
-							+ currScalarNum + " BOUNDARY CONDITIONS *****";
-					if (reaLines.get(i).contains(passiveScalarHeader)) {
-
-						// Create a HashMap for the current passive scalar
-						// boundary
-						// conditions
-						HashMap<Integer, BoundaryCondition> scalarBoundaryCondition = new HashMap<Integer, BoundaryCondition>();
-
-						// Jump the iterator 1 line ahead and begin reading
-						// in boundary
-						// conditions
-						i += 1;
-
-						for (int j = 0; j < numThermalElements * 4; j++) {
-
-							// Create the current boundary condition object
-							currCondition = buildBoundaryConditionPair(reaLines,
-									i, j);
-
-							// Plug it (along with the unique edge ID it
-							// corresponds to)
-							// into the passive scalar boundary conditions
-							// HashMap
-							scalarBoundaryCondition.put(
-									(Integer) currCondition.get(0),
-									(BoundaryCondition) currCondition.get(1));
-						}
+		/** --- Load PASSIVE SCALAR boundary conditions (if any) --- **/
+		// Start at the beginning of the passive scalar BC section
+		i = sections.passiveScalarBoundaryConditions;
+		if (numPassiveScalars > 0 && i >= 0) {
+
+			// Repeat the following for as many sets of passive scalar
+			// BCs as there are
+			for (int currScalarNum = 1; currScalarNum <= numPassiveScalars; currScalarNum++) {
+
+				// Search for the current scalar header
+				String passiveScalarHeader = "***** PASSIVE SCALAR           "
+						+ currScalarNum + " BOUNDARY CONDITIONS *****";
+				if (reaLines.get(i).contains(passiveScalarHeader)) {
+
+					// Create a HashMap for the current passive scalar
+					// boundary
+					// conditions
+					HashMap<Integer, BoundaryCondition> scalarBoundaryCondition = new HashMap<Integer, BoundaryCondition>();
+
+					// Jump the iterator 1 line ahead and begin reading
+					// in boundary
+					// conditions
+					i += 1;
 
-						// Append the HashMap to the list of all passive
-						// scalar
-						// boundary conditions
-						scalarBoundaryConditions.add(scalarBoundaryCondition);
+					for (int j = 0; j < numThermalElements * 4; j++) {
+
+						// Create the current boundary condition object
+						currCondition = buildBoundaryConditionPair(reaLines,
+								i, j);
+
+						// Plug it (along with the unique edge ID it
+						// corresponds to)
+						// into the passive scalar boundary conditions
+						// HashMap
+						scalarBoundaryCondition.put(
+								(Integer) currCondition.get(0),
+								(BoundaryCondition) currCondition.get(1));
 					}
 
-					// Append the list of all passive scalar boundary
-					// condition
-					// sets to the list of all boundary conditions
-					allBoundaryConditions.add(scalarBoundaryConditions);
+					// Append the HashMap to the list of all passive
+					// scalar
+					// boundary conditions
+					scalarBoundaryConditions.add(scalarBoundaryCondition);
 				}
+
+				// Append the list of all passive scalar boundary
+				// condition
+				// sets to the list of all boundary conditions
+				allBoundaryConditions.add(scalarBoundaryConditions);
 			}
 		}
+	
+
 
 		return allBoundaryConditions;
 	}
@@ -1092,10 +1216,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         PRESOLVE/RESTART OPTIONS section.
 	 */
-	private DataComponent loadPresolveRestartOpts(ArrayList<String> reaLines) {
+	private DataComponent loadPresolveRestartOpts(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a presolve/restart component to add entries
 		DataComponent presolveRestart = new DataComponent();
@@ -1105,51 +1233,49 @@ public class NekReader {
 		presolveRestart.setId(8);
 
 		IEntry entry;
-		for (int i = 0; i < reaLines.size(); i++) {
-
-			// Search for the presolve/restart options heading
-			if (reaLines.get(i).contains("PRESOLVE/RESTART OPTIONS")) {
+		// Start at the presolve/restart options heading
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the number indicating the length of the presolve/restart
+			// options section (number of lines)
+			int strIndex = reaLines.get(i).indexOf("PRESOLVE/RESTART");
+			String numLinesStr = reaLines.get(i).substring(0, strIndex - 1)
+					.trim();
+			int numLines = Integer.parseInt(numLinesStr);
+
+			// Jump the iterator 1 line ahead (from the header) and begin
+			// reading in Entries
+			i += 1;
+			String currLine;
+			String[] splitLine;
+			String currValue;
+			for (int j = 0; j < numLines; j++) {
 
-				// Grab the number indicating the length of the presolve/restart
-				// options section (number of lines)
-				int strIndex = reaLines.get(i).indexOf("PRESOLVE/RESTART");
-				String numLinesStr = reaLines.get(i).substring(0, strIndex - 1)
-						.trim();
-				int numLines = Integer.parseInt(numLinesStr);
-
-				// Jump the iterator 1 line ahead (from the header) and begin
-				// reading in Entries
-				i += 1;
-				String currLine;
-				String[] splitLine;
-				String currValue;
-				for (int j = 0; j < numLines; j++) {
-
-					// Grab the current line
-					currLine = reaLines.get(i + j);
-					splitLine = currLine.trim().split("\\s+");
+				// Grab the current line
+				currLine = reaLines.get(i + j);
+				splitLine = currLine.trim().split("\\s+");
 
-					// Create a Nek IEntry
-					entry = makeNekEntry(false);
+				// Create a Nek IEntry
+				entry = makeNekEntry(false);
 
-					// Construct the current value
-					currValue = "";
-					for (int k = 0; k < splitLine.length; k++) {
-						if (k != splitLine.length - 1) {
-							currValue += splitLine[k] + " ";
-						} else {
-							currValue += splitLine[k];
-						}
+				// Construct the current value
+				currValue = "";
+				for (int k = 0; k < splitLine.length; k++) {
+					if (k != splitLine.length - 1) {
+						currValue += splitLine[k] + " ";
+					} else {
+						currValue += splitLine[k];
 					}
+				}
 
-					// Set the name, value and ID
-					entry.setName("Restart Option " + (j + 1));
-					entry.setValue(currValue);
-					entry.setId(j + 1);
+				// Set the name, value and ID
+				entry.setName("Restart Option " + (j + 1));
+				entry.setValue(currValue);
+				entry.setId(j + 1);
 
-					// Append to the DataComponent
-					presolveRestart.addEntry(entry);
-				}
+				// Append to the DataComponent
+				presolveRestart.addEntry(entry);
 			}
 		}
 
@@ -1164,10 +1290,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         INITIAL CONDITIONS section.
 	 */
-	private DataComponent loadInitialConditions(ArrayList<String> reaLines) {
+	private DataComponent loadInitialConditions(ArrayList<String> reaLines,
+			int start) {
 
 		// Create an initial conditions component to add entries
 		DataComponent initialConditions = new DataComponent();
@@ -1177,39 +1307,37 @@ public class NekReader {
 		initialConditions.setId(9);
 
 		IEntry entry;
-		for (int i = 0; i < reaLines.size(); i++) {
+		// Start at the initial conditions heading
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the number indicating the length of the initial
+			// conditions section (number of lines)
+			int strIndex = reaLines.get(i).indexOf("INITIAL");
+			String numLinesStr = reaLines.get(i).substring(0, strIndex - 1)
+					.trim();
+			int numLines = Integer.parseInt(numLinesStr);
+
+			// Jump the iterator 1 line ahead (from the header) and begin
+			// reading in Entries
+			i += 1;
+			String currLine;
+			for (int j = 0; j < numLines; j++) {
 
-			// Search for the initial conditions heading
-			if (reaLines.get(i).contains("INITIAL CONDITIONS")) {
-
-				// Grab the number indicating the length of the initial
-				// conditions section (number of lines)
-				int strIndex = reaLines.get(i).indexOf("INITIAL");
-				String numLinesStr = reaLines.get(i).substring(0, strIndex - 1)
-						.trim();
-				int numLines = Integer.parseInt(numLinesStr);
-
-				// Jump the iterator 1 line ahead (from the header) and begin
-				// reading in Entries
-				i += 1;
-				String currLine;
-				for (int j = 0; j < numLines; j++) {
-
-					// Grab the current line
-					currLine = reaLines.get(i + j);
+				// Grab the current line
+				currLine = reaLines.get(i + j);
 
-					// Create a Nek IEntry
-					entry = makeNekEntry(false);
+				// Create a Nek IEntry
+				entry = makeNekEntry(false);
 
-					// Set the name, value and ID
-					entry.setName("Initial Condition " + (j + 1));
-					entry.setValue(currLine);
-					entry.setId(j + 1);
-					entry.setReady(false); // Don't need to expose to user
+				// Set the name, value and ID
+				entry.setName("Initial Condition " + (j + 1));
+				entry.setValue(currLine);
+				entry.setId(j + 1);
+				entry.setReady(false); // Don't need to expose to user
 
-					// Append to the DataComponent
-					initialConditions.addEntry(entry);
-				}
+				// Append to the DataComponent
+				initialConditions.addEntry(entry);
 			}
 		}
 
@@ -1222,10 +1350,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the DRIVE
 	 *         FORCE DATA section.
 	 */
-	private DataComponent loadDriveForceData(ArrayList<String> reaLines) {
+	private DataComponent loadDriveForceData(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a drive force data component to add entries
 		DataComponent driveForceData = new DataComponent();
@@ -1235,42 +1367,38 @@ public class NekReader {
 		driveForceData.setId(10);
 
 		IEntry entry;
-		for (int i = 0; i < reaLines.size(); i++) {
-
-			// Search for the drive force data heading
-			if (reaLines.get(i).contains("***** DRIVE FORCE DATA *****")
-					&& reaLines.get(i + 1)
-							.contains("Lines of Drive force data follow")) {
-
-				// Grab the number on the next line indicating the length of the
-				// drive force data section (number of lines)
-				int strIndex = reaLines.get(i + 1)
-						.indexOf("Lines of Drive force data follow");
-				String numLinesStr = reaLines.get(i + 1)
-						.substring(0, strIndex - 1).trim();
-				int numLines = Integer.parseInt(numLinesStr);
+		// Start at the drive force data heading
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the number on the next line indicating the length of the
+			// drive force data section (number of lines)
+			int strIndex = reaLines.get(i + 1)
+					.indexOf("Lines of Drive force data follow");
+			String numLinesStr = reaLines.get(i + 1)
+					.substring(0, strIndex - 1).trim();
+			int numLines = Integer.parseInt(numLinesStr);
+
+			// Jump the iterator 2 lines ahead (from the header) and begin
+			// reading in Entries
+			i += 2;
+			String currLine;
+			for (int j = 0; j < numLines; j++) {
 
-				// Jump the iterator 2 lines ahead (from the header) and begin
-				// reading in Entries
-				i += 2;
-				String currLine;
-				for (int j = 0; j < numLines; j++) {
-
-					// Grab the current line
-					currLine = reaLines.get(i + j);
+				// Grab the current line
+				currLine = reaLines.get(i + j);
 
-					// Create a Nek IEntry
-					entry = makeNekEntry(false);
+				// Create a Nek IEntry
+				entry = makeNekEntry(false);
 
-					// Set the name, value and ID
-					entry.setName("Drive Force Data " + (j + 1));
-					entry.setValue(currLine);
-					entry.setId(j + 1);
-					entry.setReady(false); // Don't need to expose to user
+				// Set the name, value and ID
+				entry.setName("Drive Force Data " + (j + 1));
+				entry.setValue(currLine);
+				entry.setId(j + 1);
+				entry.setReady(false); // Don't need to expose to user
 
-					// Append to the DataComponent
-					driveForceData.addEntry(entry);
-				}
+				// Append to the DataComponent
+				driveForceData.addEntry(entry);
 			}
 		}
 
@@ -1283,10 +1411,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         VARIABLE PROPERTY DATA section.
 	 */
-	private DataComponent loadVarPropertyData(ArrayList<String> reaLines) {
+	private DataComponent loadVarPropertyData(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a variable property data component to add entries
 		DataComponent varPropertyData = new DataComponent();
@@ -1296,39 +1428,36 @@ public class NekReader {
 		varPropertyData.setId(11);
 
 		IEntry entry;
-		for (int i = 0; i < reaLines.size(); i++) {
+		// Start at the variable property data heading
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the number on the next line indicating the length of the
+			// variable property data section (number of lines)
+			int strIndex = reaLines.get(i + 1).indexOf("Lines follow");
+			String numLinesStr = reaLines.get(i + 1)
+					.substring(0, strIndex - 1).trim();
+			int numLines = Integer.parseInt(numLinesStr);
+
+			// Jump the iterator 2 lines ahead (from the header) and begin
+			// reading in Entries
+			i += 2;
+			String currLine;
+			for (int j = 0; j < numLines; j++) {
 
-			// Search for the initial conditions heading
-			if (reaLines.get(i).contains("***** Variable Property Data ****")
-					&& reaLines.get(i + 1).contains("Lines follow")) {
-
-				// Grab the number on the next line indicating the length of the
-				// variable property data section (number of lines)
-				int strIndex = reaLines.get(i + 1).indexOf("Lines follow");
-				String numLinesStr = reaLines.get(i + 1)
-						.substring(0, strIndex - 1).trim();
-				int numLines = Integer.parseInt(numLinesStr);
-
-				// Jump the iterator 2 lines ahead (from the header) and begin
-				// reading in Entries
-				i += 2;
-				String currLine;
-				for (int j = 0; j < numLines; j++) {
-
-					// Grab the current line
-					currLine = reaLines.get(i + j);
+				// Grab the current line
+				currLine = reaLines.get(i + j);
 
-					// Create a Nek IEntry
-					entry = makeNekEntry(false);
+				// Create a Nek IEntry
+				entry = makeNekEntry(false);
 
-					// Set the name, value and ID
-					entry.setName("Variable Property Data " + (j + 1));
-					entry.setValue(currLine);
-					entry.setId(j + 1);
+				// Set the name, value and ID
+				entry.setName("Variable Property Data " + (j + 1));
+				entry.setValue(currLine);
+				entry.setId(j + 1);
 
-					// Append to the DataComponent
-					varPropertyData.addEntry(entry);
-				}
+				// Append to the DataComponent
+				varPropertyData.addEntry(entry);
 			}
 		}
 
@@ -1341,10 +1470,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         HISTORY AND INTEGRAL DATA section.
 	 */
-	private DataComponent loadHistoryIntegralData(ArrayList<String> reaLines) {
+	private DataComponent loadHistoryIntegralData(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a history and integral data component to add entries
 		DataComponent historyIntegralData = new DataComponent();
@@ -1354,56 +1487,50 @@ public class NekReader {
 		historyIntegralData.setId(12);
 
 		IEntry entry;
-		for (int i = 0; i < reaLines.size(); i++) {
-
-			// Search for the initial conditions heading
-			if (reaLines.get(i)
-					.contains("***** HISTORY AND INTEGRAL DATA *****")
-					&& reaLines.get(i + 1).contains("POINTS")) {
-
-				// Grab the number on the next line indicating the length of the
-				// History & Integral data section (number of lines)
-				int strIndex = reaLines.get(i + 1).indexOf("POINTS");
-				String numLinesStr = reaLines.get(i + 1)
-						.substring(0, strIndex - 1).trim();
-				int numLines = Integer.parseInt(numLinesStr);
-
-				// Jump the iterator 2 lines ahead (from the header) and begin
-				// reading in Entries
-				i += 2;
-				String currLine;
-				for (int j = 0; j < numLines; j++) {
+		// Start at the history and integral data heading
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the number on the next line indicating the length of the
+			// History & Integral data section (number of lines)
+			int strIndex = reaLines.get(i + 1).indexOf("POINTS");
+			String numLinesStr = reaLines.get(i + 1)
+					.substring(0, strIndex - 1).trim();
+			int numLines = Integer.parseInt(numLinesStr);
+
+			// Jump the iterator 2 lines ahead (from the header) and begin
+			// reading in Entries
+			i += 2;
+			String currLine;
+			for (int j = 0; j < numLines; j++) {
 
-					// Grab the current line
-					currLine = reaLines.get(i + j);
+				// Grab the current line
+				currLine = reaLines.get(i + j);
 
-					// Create a Nek IEntry
-					entry = makeNekEntry(false);
+				// Create a Nek IEntry
+				entry = makeNekEntry(false);
 
-					/*
-					 * Format string for history and integral data points:
-					 * 
-					 * < 100,000 elements (1x, 11a1, 1x, 4i5) => 100,000
-					 * elements (1x, 11a1, 1x, 3i5, i10)
-					 * 
-					 * FIXME are no hist/int points for conj_ht example so this
-					 * doesn't matter for now, but the history/integral section
-					 * is formatting-sensitive and we will need to later figure
-					 * out a way so that it's not up to the user to get the
-					 * format correct
-					 */
-
-					// Set the name, value and ID
-					entry.setName("Point " + (j + 1));
-					entry.setValue(currLine);
-					entry.setId(j + 1);
+				/*
+				 * Format string for history and integral data points:
+				 * 
+				 * < 100,000 elements (1x, 11a1, 1x, 4i5) => 100,000
+				 * elements (1x, 11a1, 1x, 3i5, i10)
+				 * 
+				 * FIXME are no hist/int points for conj_ht example so this
+				 * doesn't matter for now, but the history/integral section
+				 * is formatting-sensitive and we will need to later figure
+				 * out a way so that it's not up to the user to get the
+				 * format correct
+				 */
 
-					// Append to the DataComponent
-					historyIntegralData.addEntry(entry);
-				}
+				// Set the name, value and ID
+				entry.setName("Point " + (j + 1));
+				entry.setValue(currLine);
+				entry.setId(j + 1);
 
+				// Append to the DataComponent
+				historyIntegralData.addEntry(entry);
 			}
-
 		}
 
 		return historyIntegralData;
@@ -1415,10 +1542,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         OUTPUT FIELD SPECIFICATION section.
 	 */
-	private DataComponent loadOutputFieldSpec(ArrayList<String> reaLines) {
+	private DataComponent loadOutputFieldSpec(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a output field spec component to add entries
 		DataComponent outputFieldSpec = new DataComponent();
@@ -1429,66 +1560,60 @@ public class NekReader {
 
 		IEntry entry;
 		boolean isDiscrete;
-		for (int i = 0; i < reaLines.size(); i++) {
+		// Start at the output field specification heading
+		int i = start;
+		if (i >= 0) {
+
+			// Grab the number on the next line indicating the length of the
+			// Output Field Specification section (number of lines)
+			int strIndex = reaLines.get(i + 1)
+					.indexOf("SPECIFICATIONS FOLLOW");
+			String numLinesStr = reaLines.get(i + 1)
+					.substring(0, strIndex - 1).trim();
+			int numLines = Integer.parseInt(numLinesStr);
+
+			// Jump the iterator 2 lines ahead (from the header) and begin
+			// reading in Entries
+			i += 2;
+			String currLine;
+			String[] splitLine;
+			String currValue;
+			String currName;
+			for (int j = 0; j < numLines; j++) {
 
-			// Search for the initial conditions heading
-			if (reaLines.get(i)
-					.contains("***** OUTPUT FIELD SPECIFICATION *****")
-					&& reaLines.get(i + 1).contains("SPECIFICATIONS FOLLOW")) {
-
-				// Grab the number on the next line indicating the length of the
-				// Output Field Specification section (number of lines)
-				int strIndex = reaLines.get(i + 1)
-						.indexOf("SPECIFICATIONS FOLLOW");
-				String numLinesStr = reaLines.get(i + 1)
-						.substring(0, strIndex - 1).trim();
-				int numLines = Integer.parseInt(numLinesStr);
-
-				// Jump the iterator 2 lines ahead (from the header) and begin
-				// reading in Entries
-				i += 2;
-				String currLine;
-				String[] splitLine;
-				String currValue;
-				String currName;
-				for (int j = 0; j < numLines; j++) {
-
-					// Grab the current line
-					currLine = reaLines.get(i + j);
-					splitLine = currLine.trim().split("\\s+");
+				// Grab the current line
+				currLine = reaLines.get(i + j);
+				splitLine = currLine.trim().split("\\s+");
 
-					// Determine if the entry will have discrete values or not
-					isDiscrete = (currLine.contains("COORDINATES")
-							|| currLine.contains("VELOCITY")
-							|| currLine.contains("PRESSURE")
-							|| currLine.contains("TEMPERATURE"));
+				// Determine if the entry will have discrete values or not
+				isDiscrete = (currLine.contains("COORDINATES")
+						|| currLine.contains("VELOCITY")
+						|| currLine.contains("PRESSURE")
+						|| currLine.contains("TEMPERATURE"));
 
-					// Create a Nek IEntry
-					entry = makeNekEntry(isDiscrete);
+				// Create a Nek IEntry
+				entry = makeNekEntry(isDiscrete);
 
-					// Define the name and value
-					currValue = ("T".equals(splitLine[0]) ? "YES"
-							: ("F".equals(splitLine[0]) ? "NO" : splitLine[0]));
-					currName = "";
-					for (int k = 1; k < splitLine.length; k++) {
-						if (k != splitLine.length - 1) {
-							currName += splitLine[k] + " ";
-						} else {
-							currName += splitLine[k];
-						}
+				// Define the name and value
+				currValue = ("T".equals(splitLine[0]) ? "YES"
+						: ("F".equals(splitLine[0]) ? "NO" : splitLine[0]));
+				currName = "";
+				for (int k = 1; k < splitLine.length; k++) {
+					if (k != splitLine.length - 1) {
+						currName += splitLine[k] + " ";
+					} else {
+						currName += splitLine[k];
 					}
-
-					// Set the name, value and ID
-					entry.setName(currName);
-					entry.setValue(currValue);
-					entry.setId(j + 1);
-
-					// Append to the DataComponent
-					outputFieldSpec.addEntry(entry);
 				}
 
-			}
+				// Set the name, value and ID
+				entry.setName(currName);
+				entry.setValue(currValue);
+				entry.setId(j + 1);
 
+				// Append to the DataComponent
+				outputFieldSpec.addEntry(entry);
+			}
 		}
 
 		return outputFieldSpec;
@@ -1500,10 +1625,14 @@ public class NekReader {
 	 * 
 	 * @param reaLines
 	 *            Lines of the reafile as an ArrayList of Strings.
+	 * @param start
+	 *            The index of the first header line of the section or -1 if
+	 *            the reafile does not have the section.
 	 * @return A DataComponent of Entries representing the contents of the
 	 *         OBJECT SPECIFICATION section.
 	 */
-	private DataComponent loadObjectSpec(ArrayList<String> reaLines) {
+	private DataComponent loadObjectSpec(ArrayList<String> reaLines,
+			int start) {
 
 		// Create a object specification component to add entries
 		DataComponent objectSpec = new DataComponent();
@@ -1513,40 +1642,37 @@ public class NekReader {
 		objectSpec.setId(14);
 
 		IEntry entry;
-		// Begin reading in the lines
-		for (int i = 0; i < reaLines.size(); i++) {
+		// Start at the object specification heading
+		int i = start;
+		if (i >= 0) {
+
+			// Jump the iterator 1 line ahead (from the header) and begin
+			// reading in Entries
+			i += 1;
+			String currLine;
+			String[] splitLine;
+			String currValue;
+			String currName;
+			for (int j = 0; j < 4; j++) {
 
-			// Search for the object specification heading
-			if (reaLines.get(i).contains("***** OBJECT SPECIFICATION *****")) {
-
-				// Jump the iterator 1 line ahead (from the header) and begin
-				// reading in Entries
-				i += 1;
-				String currLine;
-				String[] splitLine;
-				String currValue;
-				String currName;
-				for (int j = 0; j < 4; j++) {
-
-					// Grab the current line
-					currLine = reaLines.get(i + j);
-					splitLine = currLine.trim().split("\\s+");
+				// Grab the current line
+				currLine = reaLines.get(i + j);
+				splitLine = currLine.trim().split("\\s+");
 
-					// Create a Nek IEntry
-					entry = makeNekEntry(false);
+				// Create a Nek IEntry
+				entry = makeNekEntry(false);
 
-					// Specify the name and value
-					currValue = splitLine[0];
-					currName = splitLine[1];
+				// Specify the name and value
+				currValue = splitLine[0];
+				currName = splitLine[1];
 
-					// Set the name, value and ID
-					entry.setName(currName);
-					entry.setValue(currValue);
-					entry.setId(j + 1);
+				// Set the name, value and ID
+				entry.setName(currName);
+				entry.setValue(currValue);
+				entry.setId(j + 1);
 
-					// Append to the DataComponent
-					objectSpec.addEntry(entry);
-				}
+				// Append to the DataComponent
+				objectSpec.addEntry(entry);
 			}
 		}
 
@@ -1641,6 +1767,81 @@ public class NekReader {
 		return returnArray;
 	}
 
+	/**
+	 * Utility method to parse the whitespace-separated numbers in a line
+	 * directly into an array of floats. Unlike parseLine(), it does not split
+	 * the line with a regular expression or box the numbers, so it can be
+	 * called for every line of the mesh without creating much garbage.
+	 * 
+	 * @param line
+	 *            The line to parse.
+	 * @param skip
+	 *            The number of leading tokens to skip before the numbers.
+	 * @param values
+	 *            The array into which the numbers are parsed. Numbers that do
+	 *            not fit are counted but not stored.
+	 * @return The number of numbers in the line after the skipped tokens.
+	 */
+	private static int parseFloats(String line, int skip, float[] values) {
+
+		int count = 0;
+		int length = line.length();
+		int position = 0;
+		int tokenStart;
+
+		while (position < length) {
+
+			// Skip the whitespace before the next token
+			while (position < length && line.charAt(position) <= ' ') {
+				position++;
+			}
+			if (position == length) {
+				break;
+			}
+
+			// Find the end of the token
+			tokenStart = position;
+			while (position < length && line.charAt(position) > ' ') {
+				position++;
+			}
+
+			// Parse the token if it is not skipped and fits
+			if (skip > 0) {
+				skip--;
+			} else {
+				if (count < values.length) {
+					values[count] = Float
+							.parseFloat(line.substring(tokenStart, position));
+				}
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Utility method to get the first whitespace-separated token of a line.
+	 * 
+	 * @param line
+	 *            The line to read.
+	 * @return The first token or an empty String if the line is blank.
+	 */
+	private static String firstToken(String line) {
+
+		int length = line.length();
+		int start = 0;
+		while (start < length && line.charAt(start) <= ' ') {
+			start++;
+		}
+		int end = start;
+		while (end < length && line.charAt(end) > ' ') {
+			end++;
+		}
+
+		return line.substring(start, end);
+	}
+
 	/**
 	 * Creates a pairing of a BoundaryCondition to its unique Edge ID, returned
 	 * as an ArrayList of Objects (edge ID and BoundaryCondition are mixed type,
@@ -1663,7 +1864,7 @@ public class NekReader {
 
 		// Local declarations
 		String currLine;
-		ArrayList<Float> currBoundaryValues = new ArrayList<Float>();
+		float[] currBoundaryValues = new float[7];
 
 		int edgeId;
 		ArrayList<Float> values;
@@ -1673,30 +1874,28 @@ public class NekReader {
 		// Grab the current line
 		currLine = reaLines.get(i + j);
 
-		// Extract values from current boundary condition
-		String[] splitLine;
-		splitLine = currLine.trim().split("\\s+");
-
-		for (int k = 1; k <= 7; k++) {
-			currBoundaryValues.add(Float.parseFloat(splitLine[k]));
+		// Extract values from current boundary condition, skipping its type
+		if (parseFloats(currLine, 1, currBoundaryValues) < 7) {
+			throw new IllegalArgumentException(
+					"Incomplete boundary condition: " + currLine);
 		}
 
 		// Get the edge ID
-		edgeId = (int) (4 * (currBoundaryValues.get(0) - 1)
-				+ currBoundaryValues.get(1));
+		edgeId = (int) (4 * (currBoundaryValues[0] - 1)
+				+ currBoundaryValues[1]);
 
 		// Create the boundary condition object
 		condition = new BoundaryCondition();
 
 		// Set the boundary condition type
-		String rawType = splitLine[0];
+		String rawType = firstToken(currLine);
 		type = BoundaryConditionType.fromId(rawType);
 		condition.setType(type);
 
 		// Set the boundary condition values
-		values = new ArrayList<Float>();
+		values = new ArrayList<Float>(5);
 		for (int k = 2; k < 7; k++) {
-			values.add(currBoundaryValues.get(k));
+			values.add(currBoundaryValues[k]);
 		}
 		condition.setValues(values);
 
@@ -1730,4 +1929,27 @@ public class NekReader {
 		this.factory = factory;
 	}
 
+	/**
+	 * The line indices of the first header line of each section of a reafile,
+	 * as found by indexSections(). A section that is not in the reafile has
+	 * an index of -1.
+	 */
+	private static class ReaSections {
+		int parameters = -1;
+		int passiveScalarData = -1;
+		int logicalSwitches = -1;
+		int preNekAxes = -1;
+		int mesh = -1;
+		int fluidBoundaryConditions = -1;
+		int thermalBoundaryConditions = -1;
+		int passiveScalarBoundaryConditions = -1;
+		int presolveRestart = -1;
+		int initialConditions = -1;
+		int driveForce = -1;
+		int varProperty = -1;
+		int historyIntegral = -1;
+		int outputField = -1;
+		int objectSpec = -1;
+	}
+
 }
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * This class converts documents between the XML format written by the
+ * XMLPersistenceProvider and the binary format written by the
+ * BinaryPersistenceProvider. The conversion copies elements, namespaces,
+ * attributes and text, so a document survives a round trip through both
+ * formats unchanged except for comments, processing instructions and the XML
+ * declaration, which are not part of the persisted data.
+ *
+ * @author Jay Jay Billings
+ */
+public class BinaryFormatConverter {
+
+	/**
+	 * The factory used to parse XML.
+	 */
+	private final XMLInputFactory inputFactory;
+
+	/**
+	 * The factory used to write XML.
+	 */
+	private final XMLOutputFactory outputFactory;
+
+	/**
+	 * The Constructor
+	 */
+	public BinaryFormatConverter() {
+		inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		outputFactory = XMLOutputFactory.newInstance();
+	}
+
+	/**
+	 * This operation converts an XML document to the binary format.
+	 *
+	 * @param xmlStream
+	 *            The XML document
+	 * @param binaryStream
+	 *            The stream to which the binary document is written
+	 * @throws XMLStreamException
+	 */
+	public void toBinary(InputStream xmlStream, OutputStream binaryStream)
+			throws XMLStreamException {
+		XMLStreamReader reader = inputFactory.createXMLStreamReader(xmlStream);
+		XMLStreamWriter writer = new BinaryXMLStreamWriter(binaryStream);
+		try {
+			copy(reader, writer);
+		} finally {
+			reader.close();
+			writer.close();
+		}
+	}
+
+	/**
+	 * This operation converts a binary document to XML.
+	 *
+	 * @param binaryStream
+	 *            The binary document
+	 * @param xmlStream
+	 *            The stream to which the XML document is written
+	 * @throws XMLStreamException
+	 */
+	public void toXML(InputStream binaryStream, OutputStream xmlStream)
+			throws XMLStreamException {
+		XMLStreamReader reader = new BinaryXMLStreamReader(binaryStream);
+		XMLStreamWriter writer = outputFactory.createXMLStreamWriter(xmlStream,
+				"UTF-8");
+		try {
+			writer.writeStartDocument("UTF-8", "1.0");
+			copy(reader, writer);
+		} finally {
+			reader.close();
+			writer.close();
+		}
+	}
+
+	/**
+	 * This operation converts an XML file to a binary file.
+	 *
+	 * @param xmlFile
+	 *            The XML file
+	 * @param binaryFile
+	 *            The binary file. It is created if it does not exist.
+	 * @throws CoreException
+	 * @throws XMLStreamException
+	 * @throws IOException
+	 */
+	public void toBinary(IFile xmlFile, IFile binaryFile)
+			throws CoreException, XMLStreamException, IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (InputStream inputStream = xmlFile.getContents()) {
+			toBinary(inputStream, outputStream);
+		}
+		writeFile(binaryFile, outputStream);
+	}
+
+	/**
+	 * This operation converts a binary file to an XML file.
+	 *
+	 * @param binaryFile
+	 *            The binary file
+	 * @param xmlFile
+	 *            The XML file. It is created if it does not exist.
+	 * @throws CoreException
+	 * @throws XMLStreamException
+	 * @throws IOException
+	 */
+	public void toXML(IFile binaryFile, IFile xmlFile)
+			throws CoreException, XMLStreamException, IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (InputStream inputStream = binaryFile.getContents()) {
+			toXML(inputStream, outputStream);
+		}
+		writeFile(xmlFile, outputStream);
+	}
+
+	/**
+	 * This operation writes the contents of a buffer to a file, creating the
+	 * file if needed.
+	 *
+	 * @param file
+	 *            The file
+	 * @param outputStream
+	 *            The buffer
+	 * @throws CoreException
+	 */
+	private void writeFile(IFile file, ByteArrayOutputStream outputStream)
+			throws CoreException {
+		ByteArrayInputStream inputStream = new ByteArrayInputStream(
+				outputStream.toByteArray());
+		if (file.exists()) {
+			file.setContents(inputStream, IResource.FORCE, null);
+		} else {
+			file.create(inputStream, IResource.FORCE, null);
+		}
+	}
+
+	/**
+	 * This operation copies the events of a reader to a writer.
+	 *
+	 * @param reader
+	 *            The reader, positioned at the start of the document
+	 * @param writer
+	 *            The writer
+	 * @throws XMLStreamException
+	 */
+	private void copy(XMLStreamReader reader, XMLStreamWriter writer)
+			throws XMLStreamException {
+
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				writer.writeStartElement(fixNull(reader.getPrefix()),
+						reader.getLocalName(),
+						fixNull(reader.getNamespaceURI()));
+				for (int i = 0; i < reader.getNamespaceCount(); i++) {
+					String prefix = fixNull(reader.getNamespacePrefix(i));
+					String uri = fixNull(reader.getNamespaceURI(i));
+					if (prefix.isEmpty()) {
+						writer.writeDefaultNamespace(uri);
+					} else {
+						writer.writeNamespace(prefix, uri);
+					}
+				}
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					writer.writeAttribute(fixNull(reader.getAttributePrefix(i)),
+							fixNull(reader.getAttributeNamespace(i)),
+							reader.getAttributeLocalName(i),
+							reader.getAttributeValue(i));
+				}
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+			case XMLStreamConstants.CDATA:
+				writer.writeCharacters(reader.getText());
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				writer.writeEndElement();
+				break;
+			case XMLStreamConstants.END_DOCUMENT:
+				writer.writeEndDocument();
+				break;
+			default:
+				// Comments, processing instructions and DTDs are dropped.
+				break;
+			}
+		}
+		writer.flush();
+
+		return;
+	}
+
+	/**
+	 * This operation replaces null strings with empty strings.
+	 *
+	 * @param value
+	 *            The string
+	 * @return The string or an empty string if it was null
+	 */
+	private static String fixNull(String value) {
+		return (value != null) ? value : "";
+	}
+
+}
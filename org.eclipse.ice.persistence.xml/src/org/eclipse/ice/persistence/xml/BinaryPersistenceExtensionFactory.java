@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IExecutableExtensionFactory;
+
+/**
+ * This class is responsible for creating the BinaryPersistenceProvider as part
+ * of the Extension Registry and as a singleton. It starts the provider the
+ * same way that the XMLPersistenceExtensionFactory starts the
+ * XMLPersistenceProvider.
+ *
+ * @author Jay Jay Billings
+ */
+public class BinaryPersistenceExtensionFactory
+		implements IExecutableExtensionFactory {
+
+	/**
+	 * The BinaryPersistenceProvider.
+	 */
+	private static BinaryPersistenceProvider provider;
+
+	/**
+	 * The constructor
+	 */
+	public BinaryPersistenceExtensionFactory() {
+		// Nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.core.runtime.IExecutableExtensionFactory#create()
+	 */
+	@Override
+	public Object create() throws CoreException {
+
+		// Create the provider if it doesn't exist already
+		if (provider == null) {
+			provider = new BinaryPersistenceProvider();
+			XMLPersistenceExtensionFactory.startProvider(provider);
+		}
+
+		return provider;
+	}
+
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.eclipse.core.resources.IProject;
+
+/**
+ * This class is a persistence provider that stores Items in the compact binary
+ * encoding of XML written by the BinaryXMLStreamWriter instead of in text XML.
+ * It uses the same JAXB bindings as the XMLPersistenceProvider, so every Item
+ * that can be persisted as XML can be persisted in the binary format, and it
+ * behaves exactly like the XMLPersistenceProvider except that Items are stored
+ * in files with the extension "iceb". Binary files can be converted to and from
+ * XML with the BinaryFormatConverter.
+ * <p>
+ * This provider is registered with the persistence provider extension point
+ * as "binaryPersistenceProvider". It can be selected instead of the XML
+ * provider by setting the system property
+ * org.eclipse.ice.persistence.provider to that id.
+ * </p>
+ * <p>
+ * The incremental change log, when enabled, still stores its fragments as
+ * XML.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class BinaryPersistenceProvider extends XMLPersistenceProvider {
+
+	/**
+	 * The extension of the files written by this provider.
+	 */
+	public static final String FILE_EXTENSION = "iceb";
+
+	/**
+	 * The default constructor.
+	 */
+	public BinaryPersistenceProvider() {
+		super();
+	}
+
+	/**
+	 * An alternative constructor that allows the provider to be created for a
+	 * specific project.
+	 *
+	 * @param projectSpace
+	 *            The Eclipse project where files should be stored and from
+	 *            which they should be retrieved.
+	 */
+	public BinaryPersistenceProvider(IProject projectSpace) {
+		super(projectSpace);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.ice.persistence.xml.XMLPersistenceProvider#marshal(java.
+	 * lang.Object, java.io.OutputStream)
+	 */
+	@Override
+	protected void marshal(Object obj, OutputStream stream)
+			throws JAXBException {
+		Marshaller marshaller = context.createMarshaller();
+		XMLStreamWriter writer = new BinaryXMLStreamWriter(stream);
+		marshaller.marshal(obj, writer);
+		try {
+			writer.writeEndDocument();
+			writer.close();
+		} catch (XMLStreamException e) {
+			throw new JAXBException(e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.persistence.xml.XMLPersistenceProvider#unmarshal(java.io.
+	 * InputStream)
+	 */
+	@Override
+	protected Object unmarshal(InputStream stream) throws JAXBException {
+		try {
+			return getUnmarshaller()
+					.unmarshal(new BinaryXMLStreamReader(stream));
+		} catch (XMLStreamException e) {
+			throw new JAXBException(e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.ice.persistence.xml.XMLPersistenceProvider#
+	 * createStreamReader(java.io.InputStream)
+	 */
+	@Override
+	protected XMLStreamReader createStreamReader(InputStream stream)
+			throws XMLStreamException {
+		return new BinaryXMLStreamReader(stream);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.persistence.xml.XMLPersistenceProvider#getFileExtension()
+	 */
+	@Override
+	protected String getFileExtension() {
+		return FILE_EXTENSION;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.ice.io.serializable.IWriter#getWriterType()
+	 */
+	@Override
+	public String getWriterType() {
+		return FILE_EXTENSION;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.ice.io.serializable.IReader#getReaderType()
+	 */
+	@Override
+	public String getReaderType() {
+		return FILE_EXTENSION;
+	}
+
+}
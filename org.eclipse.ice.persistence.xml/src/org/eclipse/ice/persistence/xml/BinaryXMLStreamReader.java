@@ -0,0 +1,712 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * This class is an XMLStreamReader that reads documents written by the
+ * BinaryXMLStreamWriter. JAXB can unmarshal directly from it. See the
+ * BinaryXMLStreamWriter for a description of the format.
+ * <p>
+ * The reader checks the header when it is created and throws an
+ * XMLStreamException if the stream is not a binary document or if it was
+ * written with a newer version of the format.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class BinaryXMLStreamReader implements XMLStreamReader {
+
+	/**
+	 * A namespace declaration or attribute of the current element.
+	 */
+	private static class Attribute {
+
+		/**
+		 * The prefix of the attribute.
+		 */
+		private final String prefix;
+
+		/**
+		 * The namespace URI of the attribute.
+		 */
+		private final String namespaceURI;
+
+		/**
+		 * The local name of the attribute.
+		 */
+		private final String localName;
+
+		/**
+		 * The value of the attribute.
+		 */
+		private final String value;
+
+		/**
+		 * The Constructor
+		 */
+		private Attribute(String prefix, String namespaceURI,
+				String localName, String value) {
+			this.prefix = prefix;
+			this.namespaceURI = namespaceURI;
+			this.localName = localName;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * An open element and the namespaces that it declares.
+	 */
+	private static class Element {
+
+		/**
+		 * The name of the element.
+		 */
+		private final QName name;
+
+		/**
+		 * The namespaces declared on the element.
+		 */
+		private final List<Attribute> namespaces;
+
+		/**
+		 * The Constructor
+		 */
+		private Element(QName name, List<Attribute> namespaces) {
+			this.name = name;
+			this.namespaces = namespaces;
+		}
+	}
+
+	/**
+	 * The stream from which the tokens are read.
+	 */
+	private final DataInputStream input;
+
+	/**
+	 * The names that have been read, in order of their indices.
+	 */
+	private final List<String> names = new ArrayList<>();
+
+	/**
+	 * The open elements. The current element is first.
+	 */
+	private final Deque<Element> elements = new ArrayDeque<>();
+
+	/**
+	 * The current event type.
+	 */
+	private int eventType = START_DOCUMENT;
+
+	/**
+	 * The token type that was read ahead while collecting the attributes of a
+	 * start tag or -1 if there is none.
+	 */
+	private int lookahead = -1;
+
+	/**
+	 * The name of the current START_ELEMENT or END_ELEMENT.
+	 */
+	private QName name;
+
+	/**
+	 * The attributes of the current START_ELEMENT.
+	 */
+	private List<Attribute> attributes = new ArrayList<>();
+
+	/**
+	 * The namespaces declared by the current START_ELEMENT or going out of
+	 * scope with the current END_ELEMENT.
+	 */
+	private List<Attribute> namespaces = new ArrayList<>();
+
+	/**
+	 * The text of the current CHARACTERS event.
+	 */
+	private String text;
+
+	/**
+	 * The namespace context presented to clients.
+	 */
+	private final NamespaceContext namespaceContext = new NamespaceContext() {
+
+		@Override
+		public String getNamespaceURI(String prefix) {
+			return BinaryXMLStreamReader.this.getNamespaceURI(prefix);
+		}
+
+		@Override
+		public String getPrefix(String namespaceURI) {
+			for (Element element : elements) {
+				for (Attribute namespace : element.namespaces) {
+					if (namespace.namespaceURI.equals(namespaceURI)
+							&& namespaceURI.equals(BinaryXMLStreamReader.this
+									.getNamespaceURI(namespace.prefix))) {
+						return namespace.prefix;
+					}
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public Iterator<String> getPrefixes(String namespaceURI) {
+			List<String> prefixes = new ArrayList<>();
+			String prefix = getPrefix(namespaceURI);
+			if (prefix != null) {
+				prefixes.add(prefix);
+			}
+			return prefixes.iterator();
+		}
+	};
+
+	/**
+	 * The Constructor
+	 *
+	 * @param stream
+	 *            The stream from which the binary document is read. It is
+	 *            buffered by the reader.
+	 * @throws XMLStreamException
+	 *             The stream does not start with a supported header
+	 */
+	public BinaryXMLStreamReader(InputStream stream)
+			throws XMLStreamException {
+		input = new DataInputStream(new BufferedInputStream(stream));
+		try {
+			byte[] magic = new byte[BinaryXMLStreamWriter.MAGIC.length];
+			input.readFully(magic);
+			for (int i = 0; i < magic.length; i++) {
+				if (magic[i] != BinaryXMLStreamWriter.MAGIC[i]) {
+					throw new XMLStreamException("BinaryXMLStreamReader Error: "
+							+ "The stream is not a binary ICE document.");
+				}
+			}
+			int version = input.readUnsignedByte();
+			if (version > BinaryXMLStreamWriter.FORMAT_VERSION) {
+				throw new XMLStreamException("BinaryXMLStreamReader Error: "
+						+ "Format version " + version
+						+ " is not supported. The newest supported version is "
+						+ BinaryXMLStreamWriter.FORMAT_VERSION + ".");
+			}
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	/**
+	 * This operation reads an unsigned variable-length integer.
+	 *
+	 * @return The value
+	 * @throws IOException
+	 */
+	private int readVarInt() throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			if (shift > 28) {
+				throw new IOException("BinaryXMLStreamReader Error: "
+						+ "Malformed integer.");
+			}
+			b = input.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	/**
+	 * This operation reads a string.
+	 *
+	 * @return The string
+	 * @throws IOException
+	 */
+	private String readString() throws IOException {
+		byte[] bytes = new byte[readVarInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * This operation reads a name using the name table.
+	 *
+	 * @return The name
+	 * @throws IOException
+	 */
+	private String readName() throws IOException {
+		int index = readVarInt();
+		String value;
+		if (index == 0) {
+			value = readString();
+			names.add(value);
+		} else if (index <= names.size()) {
+			value = names.get(index - 1);
+		} else {
+			throw new IOException("BinaryXMLStreamReader Error: "
+					+ "Invalid name reference " + index + ".");
+		}
+		return value;
+	}
+
+	/**
+	 * This operation reads the next token type. The end of the stream is
+	 * treated as the end of the document.
+	 *
+	 * @return The token type
+	 * @throws IOException
+	 */
+	private int readTokenType() throws IOException {
+		if (lookahead >= 0) {
+			int token = lookahead;
+			lookahead = -1;
+			return token;
+		}
+		int token = input.read();
+		return (token < 0) ? BinaryXMLStreamWriter.END_DOCUMENT : token;
+	}
+
+	@Override
+	public int next() throws XMLStreamException {
+
+		if (eventType == END_DOCUMENT) {
+			throw new NoSuchElementException("BinaryXMLStreamReader Error: "
+					+ "The end of the document has been reached.");
+		}
+
+		// Close the scope of the element that just ended
+		if (eventType == END_ELEMENT) {
+			elements.pop();
+		}
+
+		attributes = new ArrayList<>();
+		namespaces = new ArrayList<>();
+		text = null;
+
+		try {
+			int token = readTokenType();
+			switch (token) {
+			case BinaryXMLStreamWriter.START_ELEMENT:
+				String prefix = readName();
+				String uri = readName();
+				name = new QName(uri, readName(), prefix);
+				// Collect the namespaces and attributes of the start tag
+				token = readTokenType();
+				while (token == BinaryXMLStreamWriter.NAMESPACE
+						|| token == BinaryXMLStreamWriter.ATTRIBUTE) {
+					if (token == BinaryXMLStreamWriter.NAMESPACE) {
+						String nsPrefix = readName();
+						namespaces.add(
+								new Attribute(nsPrefix, readName(), null, null));
+					} else {
+						String attrPrefix = readName();
+						String attrURI = readName();
+						String attrName = readName();
+						attributes.add(new Attribute(attrPrefix, attrURI,
+								attrName, readString()));
+					}
+					token = readTokenType();
+				}
+				lookahead = token;
+				elements.push(new Element(name, namespaces));
+				eventType = START_ELEMENT;
+				break;
+			case BinaryXMLStreamWriter.CHARACTERS:
+				text = readString();
+				eventType = CHARACTERS;
+				break;
+			case BinaryXMLStreamWriter.END_ELEMENT:
+				if (elements.isEmpty()) {
+					throw new XMLStreamException("BinaryXMLStreamReader Error: "
+							+ "Unbalanced end element.");
+				}
+				name = elements.peek().name;
+				namespaces = elements.peek().namespaces;
+				eventType = END_ELEMENT;
+				break;
+			case BinaryXMLStreamWriter.END_DOCUMENT:
+				if (!elements.isEmpty()) {
+					throw new XMLStreamException("BinaryXMLStreamReader Error: "
+							+ "Unexpected end of document.");
+				}
+				eventType = END_DOCUMENT;
+				break;
+			default:
+				throw new XMLStreamException("BinaryXMLStreamReader Error: "
+						+ "Unknown token type " + token + ".");
+			}
+		} catch (EOFException e) {
+			throw new XMLStreamException("BinaryXMLStreamReader Error: "
+					+ "Unexpected end of stream.", e);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+
+		return eventType;
+	}
+
+	@Override
+	public Object getProperty(String name) throws IllegalArgumentException {
+		return null;
+	}
+
+	@Override
+	public void require(int type, String namespaceURI, String localName)
+			throws XMLStreamException {
+		if (type != eventType) {
+			throw new XMLStreamException("BinaryXMLStreamReader Error: "
+					+ "Expected event " + type + " but found " + eventType
+					+ ".");
+		} else if (namespaceURI != null
+				&& !namespaceURI.equals(getNamespaceURI())) {
+			throw new XMLStreamException("BinaryXMLStreamReader Error: "
+					+ "Expected namespace " + namespaceURI + ".");
+		} else if (localName != null && !localName.equals(getLocalName())) {
+			throw new XMLStreamException("BinaryXMLStreamReader Error: "
+					+ "Expected element " + localName + ".");
+		}
+	}
+
+	@Override
+	public String getElementText() throws XMLStreamException {
+		if (eventType != START_ELEMENT) {
+			throw new XMLStreamException("BinaryXMLStreamReader Error: "
+					+ "The current event is not a start element.");
+		}
+		StringBuilder builder = new StringBuilder();
+		while (next() != END_ELEMENT) {
+			if (eventType == CHARACTERS) {
+				builder.append(text);
+			} else {
+				throw new XMLStreamException("BinaryXMLStreamReader Error: "
+						+ "Element text may not contain elements.");
+			}
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public int nextTag() throws XMLStreamException {
+		next();
+		while (eventType == CHARACTERS && isWhiteSpace()) {
+			next();
+		}
+		if (eventType != START_ELEMENT && eventType != END_ELEMENT) {
+			throw new XMLStreamException("BinaryXMLStreamReader Error: "
+					+ "Expected a start or end element.");
+		}
+		return eventType;
+	}
+
+	@Override
+	public boolean hasNext() throws XMLStreamException {
+		return eventType != END_DOCUMENT;
+	}
+
+	@Override
+	public void close() throws XMLStreamException {
+		// The underlying stream belongs to the caller.
+	}
+
+	@Override
+	public String getNamespaceURI(String prefix) {
+		String key = (prefix != null) ? prefix : "";
+		if (XMLConstants.XML_NS_PREFIX.equals(key)) {
+			return XMLConstants.XML_NS_URI;
+		} else if (XMLConstants.XMLNS_ATTRIBUTE.equals(key)) {
+			return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+		}
+		for (Element element : elements) {
+			for (Attribute namespace : element.namespaces) {
+				if (namespace.prefix.equals(key)) {
+					return namespace.namespaceURI;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isStartElement() {
+		return eventType == START_ELEMENT;
+	}
+
+	@Override
+	public boolean isEndElement() {
+		return eventType == END_ELEMENT;
+	}
+
+	@Override
+	public boolean isCharacters() {
+		return eventType == CHARACTERS;
+	}
+
+	@Override
+	public boolean isWhiteSpace() {
+		return eventType == CHARACTERS && text.trim().isEmpty();
+	}
+
+	/**
+	 * This operation checks that the current event is a start element before
+	 * its attributes are read.
+	 */
+	private void checkAttributes() {
+		if (eventType != START_ELEMENT) {
+			throw new IllegalStateException("BinaryXMLStreamReader Error: "
+					+ "Attributes are only available on start elements.");
+		}
+	}
+
+	@Override
+	public String getAttributeValue(String namespaceURI, String localName) {
+		checkAttributes();
+		for (Attribute attribute : attributes) {
+			if (attribute.localName.equals(localName) && (namespaceURI == null
+					|| namespaceURI.equals(attribute.namespaceURI))) {
+				return attribute.value;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public int getAttributeCount() {
+		checkAttributes();
+		return attributes.size();
+	}
+
+	@Override
+	public QName getAttributeName(int index) {
+		checkAttributes();
+		Attribute attribute = attributes.get(index);
+		return new QName(attribute.namespaceURI, attribute.localName,
+				attribute.prefix);
+	}
+
+	@Override
+	public String getAttributeNamespace(int index) {
+		checkAttributes();
+		return attributes.get(index).namespaceURI;
+	}
+
+	@Override
+	public String getAttributeLocalName(int index) {
+		checkAttributes();
+		return attributes.get(index).localName;
+	}
+
+	@Override
+	public String getAttributePrefix(int index) {
+		checkAttributes();
+		return attributes.get(index).prefix;
+	}
+
+	@Override
+	public String getAttributeType(int index) {
+		checkAttributes();
+		return "CDATA";
+	}
+
+	@Override
+	public String getAttributeValue(int index) {
+		checkAttributes();
+		return attributes.get(index).value;
+	}
+
+	@Override
+	public boolean isAttributeSpecified(int index) {
+		checkAttributes();
+		return true;
+	}
+
+	@Override
+	public int getNamespaceCount() {
+		return (eventType == START_ELEMENT || eventType == END_ELEMENT)
+				? namespaces.size() : 0;
+	}
+
+	@Override
+	public String getNamespacePrefix(int index) {
+		return namespaces.get(index).prefix;
+	}
+
+	@Override
+	public String getNamespaceURI(int index) {
+		return namespaces.get(index).namespaceURI;
+	}
+
+	@Override
+	public NamespaceContext getNamespaceContext() {
+		return namespaceContext;
+	}
+
+	@Override
+	public int getEventType() {
+		return eventType;
+	}
+
+	@Override
+	public String getText() {
+		if (eventType != CHARACTERS) {
+			throw new IllegalStateException("BinaryXMLStreamReader Error: "
+					+ "The current event does not have text.");
+		}
+		return text;
+	}
+
+	@Override
+	public char[] getTextCharacters() {
+		return getText().toCharArray();
+	}
+
+	@Override
+	public int getTextCharacters(int sourceStart, char[] target,
+			int targetStart, int length) throws XMLStreamException {
+		String value = getText();
+		int count = Math.max(0,
+				Math.min(length, value.length() - sourceStart));
+		value.getChars(sourceStart, sourceStart + count, target, targetStart);
+		return count;
+	}
+
+	@Override
+	public int getTextStart() {
+		return 0;
+	}
+
+	@Override
+	public int getTextLength() {
+		return getText().length();
+	}
+
+	@Override
+	public String getEncoding() {
+		return null;
+	}
+
+	@Override
+	public boolean hasText() {
+		return eventType == CHARACTERS;
+	}
+
+	@Override
+	public Location getLocation() {
+		return new Location() {
+
+			@Override
+			public int getLineNumber() {
+				return -1;
+			}
+
+			@Override
+			public int getColumnNumber() {
+				return -1;
+			}
+
+			@Override
+			public int getCharacterOffset() {
+				return -1;
+			}
+
+			@Override
+			public String getPublicId() {
+				return null;
+			}
+
+			@Override
+			public String getSystemId() {
+				return null;
+			}
+		};
+	}
+
+	@Override
+	public QName getName() {
+		if (!hasName()) {
+			throw new IllegalStateException("BinaryXMLStreamReader Error: "
+					+ "The current event does not have a name.");
+		}
+		return name;
+	}
+
+	@Override
+	public String getLocalName() {
+		return getName().getLocalPart();
+	}
+
+	@Override
+	public boolean hasName() {
+		return eventType == START_ELEMENT || eventType == END_ELEMENT;
+	}
+
+	@Override
+	public String getNamespaceURI() {
+		if (!hasName()) {
+			return null;
+		}
+		String uri = name.getNamespaceURI();
+		return uri.isEmpty() ? null : uri;
+	}
+
+	@Override
+	public String getPrefix() {
+		return hasName() ? name.getPrefix() : null;
+	}
+
+	@Override
+	public String getVersion() {
+		return "1.0";
+	}
+
+	@Override
+	public boolean isStandalone() {
+		return true;
+	}
+
+	@Override
+	public boolean standaloneSet() {
+		return false;
+	}
+
+	@Override
+	public String getCharacterEncodingScheme() {
+		return null;
+	}
+
+	@Override
+	public String getPITarget() {
+		return null;
+	}
+
+	@Override
+	public String getPIData() {
+		return null;
+	}
+
+}
@@ -0,0 +1,609 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * This class is an XMLStreamWriter that writes the compact binary encoding of
+ * XML used by the BinaryPersistenceProvider. JAXB can marshal directly to it,
+ * so every class that can be persisted as XML by ICE can also be persisted in
+ * the binary format.
+ * <p>
+ * The format starts with the four bytes "ICEB" and a one byte format version.
+ * The rest of the stream is a sequence of tokens, each of which starts with a
+ * one byte token type:
+ * </p>
+ * <ul>
+ * <li>START_ELEMENT: prefix, namespace URI and local name as names</li>
+ * <li>NAMESPACE: prefix and namespace URI as names</li>
+ * <li>ATTRIBUTE: prefix, namespace URI and local name as names followed by
+ * the value as a string</li>
+ * <li>CHARACTERS: the text as a string</li>
+ * <li>END_ELEMENT: no payload</li>
+ * <li>END_DOCUMENT: no payload</li>
+ * </ul>
+ * <p>
+ * Strings are written as a variable-length unsigned integer byte count
+ * followed by UTF-8 bytes. Names are interned in a table that is built as the
+ * stream is written: a name is written as a variable-length integer that is
+ * zero for a new name, in which case the name follows as a string and is
+ * added to the table, or the index of the name in the table plus one. Since
+ * element and attribute names repeat constantly in ICE Forms, almost every
+ * name costs one or two bytes.
+ * </p>
+ * <p>
+ * NAMESPACE and ATTRIBUTE tokens always directly follow the START_ELEMENT to
+ * which they belong. Empty elements are written as a START_ELEMENT followed
+ * by an END_ELEMENT.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class BinaryXMLStreamWriter implements XMLStreamWriter {
+
+	/**
+	 * The bytes that start every binary document.
+	 */
+	static final byte[] MAGIC = { 'I', 'C', 'E', 'B' };
+
+	/**
+	 * The version of the format written by this class. Readers reject
+	 * documents with newer versions.
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	/**
+	 * The END_DOCUMENT token type.
+	 */
+	static final int END_DOCUMENT = 0;
+
+	/**
+	 * The START_ELEMENT token type.
+	 */
+	static final int START_ELEMENT = 1;
+
+	/**
+	 * The NAMESPACE token type.
+	 */
+	static final int NAMESPACE = 2;
+
+	/**
+	 * The ATTRIBUTE token type.
+	 */
+	static final int ATTRIBUTE = 3;
+
+	/**
+	 * The CHARACTERS token type.
+	 */
+	static final int CHARACTERS = 4;
+
+	/**
+	 * The END_ELEMENT token type.
+	 */
+	static final int END_ELEMENT = 5;
+
+	/**
+	 * The stream to which the tokens are written.
+	 */
+	private final DataOutputStream output;
+
+	/**
+	 * The table of names that have been written, mapped to their indices.
+	 */
+	private final Map<String, Integer> names = new HashMap<>();
+
+	/**
+	 * The namespace bindings for each open element. The first scope holds the
+	 * bindings made before the root element.
+	 */
+	private final Deque<Map<String, String>> scopes = new ArrayDeque<>();
+
+	/**
+	 * True if the header has been written.
+	 */
+	private boolean headerWritten = false;
+
+	/**
+	 * True if the last element started was empty and must be ended before the
+	 * next token that is not a NAMESPACE or ATTRIBUTE.
+	 */
+	private boolean closeEmptyElement = false;
+
+	/**
+	 * True if the document has been ended.
+	 */
+	private boolean documentEnded = false;
+
+	/**
+	 * The namespace context set by the client with setNamespaceContext() or
+	 * null if there is none. Its bindings are used, without being declared,
+	 * for prefixes and namespaces that are not bound in the open scopes.
+	 */
+	private NamespaceContext rootContext;
+
+	/**
+	 * The namespace context presented to clients.
+	 */
+	private final NamespaceContext namespaceContext = new NamespaceContext() {
+
+		@Override
+		public String getNamespaceURI(String prefix) {
+			return lookupNamespace(prefix);
+		}
+
+		@Override
+		public String getPrefix(String namespaceURI) {
+			return lookupPrefix(namespaceURI);
+		}
+
+		@Override
+		public Iterator<String> getPrefixes(String namespaceURI) {
+			List<String> prefixes = new ArrayList<>();
+			String prefix = lookupPrefix(namespaceURI);
+			if (prefix != null) {
+				prefixes.add(prefix);
+			}
+			return prefixes.iterator();
+		}
+	};
+
+	/**
+	 * The Constructor
+	 *
+	 * @param stream
+	 *            The stream to which the binary document is written. It is
+	 *            buffered by the writer.
+	 */
+	public BinaryXMLStreamWriter(OutputStream stream) {
+		output = new DataOutputStream(new BufferedOutputStream(stream));
+		scopes.push(new HashMap<String, String>());
+	}
+
+	/**
+	 * This operation writes the header if it has not been written yet.
+	 *
+	 * @throws IOException
+	 */
+	private void writeHeader() throws IOException {
+		if (!headerWritten) {
+			output.write(MAGIC);
+			output.writeByte(FORMAT_VERSION);
+			headerWritten = true;
+		}
+	}
+
+	/**
+	 * This operation prepares the stream for a new token. It writes the
+	 * header and ends a pending empty element unless the token belongs to the
+	 * current start tag.
+	 *
+	 * @param partOfStartTag
+	 *            True if the token is a NAMESPACE or ATTRIBUTE
+	 * @throws IOException
+	 */
+	private void beginToken(boolean partOfStartTag) throws IOException {
+		writeHeader();
+		if (closeEmptyElement && !partOfStartTag) {
+			closeEmptyElement = false;
+			output.writeByte(END_ELEMENT);
+			scopes.pop();
+		}
+	}
+
+	/**
+	 * This operation writes an unsigned variable-length integer.
+	 *
+	 * @param value
+	 *            The value, which must not be negative
+	 * @throws IOException
+	 */
+	private void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+
+	/**
+	 * This operation writes a string as a byte count and UTF-8 bytes.
+	 *
+	 * @param value
+	 *            The string. Null is written as an empty string.
+	 * @throws IOException
+	 */
+	private void writeString(String value) throws IOException {
+		byte[] bytes = (value != null) ? value.getBytes(StandardCharsets.UTF_8)
+				: new byte[0];
+		writeVarInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * This operation writes a name using the name table.
+	 *
+	 * @param name
+	 *            The name. Null is written as an empty string.
+	 * @throws IOException
+	 */
+	private void writeName(String name) throws IOException {
+		String key = (name != null) ? name : "";
+		Integer index = names.get(key);
+		if (index != null) {
+			writeVarInt(index + 1);
+		} else {
+			writeVarInt(0);
+			writeString(key);
+			names.put(key, names.size());
+		}
+	}
+
+	/**
+	 * This operation finds the namespace bound to a prefix.
+	 *
+	 * @param prefix
+	 *            The prefix
+	 * @return The namespace URI or null if it is not bound
+	 */
+	private String lookupNamespace(String prefix) {
+		String key = (prefix != null) ? prefix : "";
+		if (XMLConstants.XML_NS_PREFIX.equals(key)) {
+			return XMLConstants.XML_NS_URI;
+		}
+		for (Map<String, String> scope : scopes) {
+			String uri = scope.get(key);
+			if (uri != null) {
+				return uri;
+			}
+		}
+		if (rootContext != null) {
+			String uri = rootContext.getNamespaceURI(key);
+			if (uri != null && !uri.isEmpty()) {
+				return uri;
+			}
+		}
+		return key.isEmpty() ? XMLConstants.NULL_NS_URI : null;
+	}
+
+	/**
+	 * This operation finds a prefix bound to a namespace.
+	 *
+	 * @param uri
+	 *            The namespace URI
+	 * @return The prefix or null if it is not bound
+	 */
+	private String lookupPrefix(String uri) {
+		if (uri == null) {
+			return null;
+		}
+		for (Map<String, String> scope : scopes) {
+			for (Map.Entry<String, String> binding : scope.entrySet()) {
+				if (uri.equals(binding.getValue())
+						&& uri.equals(lookupNamespace(binding.getKey()))) {
+					return binding.getKey();
+				}
+			}
+		}
+		if (rootContext != null) {
+			// Only use the prefix if an open scope does not rebind it
+			String prefix = rootContext.getPrefix(uri);
+			if (prefix != null && uri.equals(lookupNamespace(prefix))) {
+				return prefix;
+			}
+		}
+		return uri.isEmpty() ? XMLConstants.DEFAULT_NS_PREFIX : null;
+	}
+
+	/**
+	 * This operation writes a START_ELEMENT token and opens a new scope.
+	 *
+	 * @param prefix
+	 *            The prefix
+	 * @param localName
+	 *            The local name
+	 * @param namespaceURI
+	 *            The namespace URI
+	 * @param empty
+	 *            True if the element is empty
+	 * @throws XMLStreamException
+	 */
+	private void startElement(String prefix, String localName,
+			String namespaceURI, boolean empty) throws XMLStreamException {
+		try {
+			beginToken(false);
+			output.writeByte(START_ELEMENT);
+			writeName(prefix);
+			writeName(namespaceURI);
+			writeName(localName);
+			scopes.push(new HashMap<String, String>());
+			closeEmptyElement = empty;
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeStartElement(String localName) throws XMLStreamException {
+		startElement("", localName, lookupNamespace(""), false);
+	}
+
+	@Override
+	public void writeStartElement(String namespaceURI, String localName)
+			throws XMLStreamException {
+		String prefix = lookupPrefix(namespaceURI);
+		startElement((prefix != null) ? prefix : "", localName, namespaceURI,
+				false);
+	}
+
+	@Override
+	public void writeStartElement(String prefix, String localName,
+			String namespaceURI) throws XMLStreamException {
+		startElement(prefix, localName, namespaceURI, false);
+	}
+
+	@Override
+	public void writeEmptyElement(String namespaceURI, String localName)
+			throws XMLStreamException {
+		String prefix = lookupPrefix(namespaceURI);
+		startElement((prefix != null) ? prefix : "", localName, namespaceURI,
+				true);
+	}
+
+	@Override
+	public void writeEmptyElement(String prefix, String localName,
+			String namespaceURI) throws XMLStreamException {
+		startElement(prefix, localName, namespaceURI, true);
+	}
+
+	@Override
+	public void writeEmptyElement(String localName) throws XMLStreamException {
+		startElement("", localName, lookupNamespace(""), true);
+	}
+
+	@Override
+	public void writeEndElement() throws XMLStreamException {
+		try {
+			beginToken(false);
+			output.writeByte(END_ELEMENT);
+			if (scopes.size() > 1) {
+				scopes.pop();
+			}
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeEndDocument() throws XMLStreamException {
+		try {
+			beginToken(false);
+			// Close anything that is still open
+			while (scopes.size() > 1) {
+				output.writeByte(END_ELEMENT);
+				scopes.pop();
+			}
+			if (!documentEnded) {
+				output.writeByte(END_DOCUMENT);
+				documentEnded = true;
+			}
+			output.flush();
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void close() throws XMLStreamException {
+		flush();
+	}
+
+	@Override
+	public void flush() throws XMLStreamException {
+		try {
+			output.flush();
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeAttribute(String localName, String value)
+			throws XMLStreamException {
+		writeAttribute("", "", localName, value);
+	}
+
+	@Override
+	public void writeAttribute(String prefix, String namespaceURI,
+			String localName, String value) throws XMLStreamException {
+		try {
+			beginToken(true);
+			output.writeByte(ATTRIBUTE);
+			writeName(prefix);
+			writeName(namespaceURI);
+			writeName(localName);
+			writeString(value);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeAttribute(String namespaceURI, String localName,
+			String value) throws XMLStreamException {
+		String prefix = lookupPrefix(namespaceURI);
+		writeAttribute((prefix != null) ? prefix : "", namespaceURI, localName,
+				value);
+	}
+
+	@Override
+	public void writeNamespace(String prefix, String namespaceURI)
+			throws XMLStreamException {
+		String key = (prefix != null) ? prefix : "";
+		if (XMLConstants.XMLNS_ATTRIBUTE.equals(key)) {
+			key = "";
+		}
+		try {
+			beginToken(true);
+			output.writeByte(NAMESPACE);
+			writeName(key);
+			writeName(namespaceURI);
+			scopes.peek().put(key, (namespaceURI != null) ? namespaceURI : "");
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeDefaultNamespace(String namespaceURI)
+			throws XMLStreamException {
+		writeNamespace("", namespaceURI);
+	}
+
+	@Override
+	public void writeComment(String data) throws XMLStreamException {
+		// Comments are not part of the data and are dropped.
+	}
+
+	@Override
+	public void writeProcessingInstruction(String target)
+			throws XMLStreamException {
+		// Processing instructions are not part of the data and are dropped.
+	}
+
+	@Override
+	public void writeProcessingInstruction(String target, String data)
+			throws XMLStreamException {
+		// Processing instructions are not part of the data and are dropped.
+	}
+
+	@Override
+	public void writeCData(String data) throws XMLStreamException {
+		writeCharacters(data);
+	}
+
+	@Override
+	public void writeDTD(String dtd) throws XMLStreamException {
+		// DTDs are not supported and are dropped.
+	}
+
+	@Override
+	public void writeEntityRef(String name) throws XMLStreamException {
+		throw new XMLStreamException("BinaryXMLStreamWriter Error: "
+				+ "Entity references are not supported.");
+	}
+
+	@Override
+	public void writeStartDocument() throws XMLStreamException {
+		try {
+			writeHeader();
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeStartDocument(String version) throws XMLStreamException {
+		writeStartDocument();
+	}
+
+	@Override
+	public void writeStartDocument(String encoding, String version)
+			throws XMLStreamException {
+		writeStartDocument();
+	}
+
+	@Override
+	public void writeCharacters(String text) throws XMLStreamException {
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		try {
+			beginToken(false);
+			output.writeByte(CHARACTERS);
+			writeString(text);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeCharacters(char[] text, int start, int len)
+			throws XMLStreamException {
+		writeCharacters(new String(text, start, len));
+	}
+
+	@Override
+	public String getPrefix(String uri) throws XMLStreamException {
+		return lookupPrefix(uri);
+	}
+
+	@Override
+	public void setPrefix(String prefix, String uri)
+			throws XMLStreamException {
+		scopes.peek().put((prefix != null) ? prefix : "",
+				(uri != null) ? uri : "");
+	}
+
+	@Override
+	public void setDefaultNamespace(String uri) throws XMLStreamException {
+		setPrefix("", uri);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.xml.stream.XMLStreamWriter#setNamespaceContext(javax.xml.
+	 * namespace.NamespaceContext)
+	 *
+	 * As required by XMLStreamWriter, the context may only be set before the
+	 * document is started. Its bindings sit below those made with setPrefix()
+	 * and writeNamespace() and are not written to the stream.
+	 */
+	@Override
+	public void setNamespaceContext(NamespaceContext context)
+			throws XMLStreamException {
+		if (headerWritten) {
+			throw new XMLStreamException("BinaryXMLStreamWriter Error: "
+					+ "The namespace context can only be set before the "
+					+ "document is started.");
+		}
+		rootContext = context;
+	}
+
+	@Override
+	public NamespaceContext getNamespaceContext() {
+		return namespaceContext;
+	}
+
+	@Override
+	public Object getProperty(String name) throws IllegalArgumentException {
+		throw new IllegalArgumentException("BinaryXMLStreamWriter Error: "
+				+ "Property " + name + " is not supported.");
+	}
+
+}
@@ -0,0 +1,409 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class is a bounded queue of tasks that collapses tasks with the same key
+ * and optionally delays (debounces) them. It is used by the
+ * XMLPersistenceProvider to schedule its persistence tasks.
+ * <p>
+ * Tasks are submitted with a key. If a task with the same key is already
+ * pending, the new task replaces it instead of being added to the queue and,
+ * if the task is debounced, its due time is pushed back by the debounce
+ * window. A task is never pushed back further than the maximum delay after it
+ * was first submitted, so a steady stream of updates still gets written.
+ * Tasks that are not debounced are due immediately. Tasks are handed out in
+ * order of their due times and, for equal due times, in the order in which
+ * they were first submitted.
+ * </p>
+ * <p>
+ * The queue is bounded. Submitting a new task while the queue is full blocks
+ * until space is available instead of dropping the task. Replacing a pending
+ * task never blocks.
+ * </p>
+ *
+ * @param <T>
+ *            The type of the tasks
+ *
+ * @author Jay Jay Billings
+ */
+public class CoalescingTaskQueue<T> {
+
+	/**
+	 * A pending task and its scheduling information.
+	 *
+	 * @param <T>
+	 *            The type of the task
+	 */
+	private static class PendingTask<T> implements Comparable<PendingTask<T>> {
+
+		/**
+		 * The key of the task or null if it cannot be coalesced.
+		 */
+		private final String key;
+
+		/**
+		 * The task.
+		 */
+		private T task;
+
+		/**
+		 * The order in which the task was first submitted.
+		 */
+		private final long sequence;
+
+		/**
+		 * The time, in nanoseconds, when the task was first submitted.
+		 */
+		private final long firstSubmitted;
+
+		/**
+		 * The time, in nanoseconds, when the task is due.
+		 */
+		private long due;
+
+		/**
+		 * The Constructor
+		 */
+		private PendingTask(String key, T task, long sequence, long now,
+				long due) {
+			this.key = key;
+			this.task = task;
+			this.sequence = sequence;
+			this.firstSubmitted = now;
+			this.due = due;
+		}
+
+		@Override
+		public int compareTo(PendingTask<T> other) {
+			int retVal = Long.compare(due, other.due);
+			if (retVal == 0) {
+				retVal = Long.compare(sequence, other.sequence);
+			}
+			return retVal;
+		}
+	}
+
+	/**
+	 * The maximum number of tasks that may be pending at once.
+	 */
+	private final int capacity;
+
+	/**
+	 * The debounce window in nanoseconds.
+	 */
+	private volatile long debounceNanos;
+
+	/**
+	 * The maximum time in nanoseconds that a debounced task may be delayed
+	 * after it was first submitted.
+	 */
+	private volatile long maxDelayNanos;
+
+	/**
+	 * The pending tasks, ordered by due time.
+	 */
+	private final TreeSet<PendingTask<T>> schedule = new TreeSet<PendingTask<T>>();
+
+	/**
+	 * The pending tasks with keys, indexed by their keys.
+	 */
+	private final HashMap<String, PendingTask<T>> index = new HashMap<String, PendingTask<T>>();
+
+	/**
+	 * The next sequence number.
+	 */
+	private long nextSequence = 0;
+
+	/**
+	 * The number of tasks that were collapsed into pending tasks.
+	 */
+	private long coalescedCount = 0;
+
+	/**
+	 * The lock that protects the queue.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * The condition signaled when the queue changes in a way that might make
+	 * a task available sooner.
+	 */
+	private final Condition changed = lock.newCondition();
+
+	/**
+	 * The condition signaled when space becomes available.
+	 */
+	private final Condition notFull = lock.newCondition();
+
+	/**
+	 * The Constructor
+	 *
+	 * @param capacity
+	 *            The maximum number of pending tasks. It must be positive.
+	 * @param debounceMillis
+	 *            The debounce window in milliseconds
+	 * @param maxDelayMillis
+	 *            The maximum time in milliseconds that a debounced task may be
+	 *            delayed after it was first submitted
+	 */
+	public CoalescingTaskQueue(int capacity, long debounceMillis,
+			long maxDelayMillis) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException(
+					"CoalescingTaskQueue Error: Capacity must be positive.");
+		}
+		this.capacity = capacity;
+		setDebounceWindow(debounceMillis, maxDelayMillis);
+	}
+
+	/**
+	 * This operation sets the debounce window and maximum delay. It only
+	 * affects tasks submitted after the call. Negative values are treated as
+	 * zero and the maximum delay is never less than the debounce window.
+	 *
+	 * @param debounceMillis
+	 *            The debounce window in milliseconds
+	 * @param maxDelayMillis
+	 *            The maximum delay in milliseconds
+	 */
+	public void setDebounceWindow(long debounceMillis, long maxDelayMillis) {
+		long debounce = Math.max(0L, debounceMillis);
+		debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounce);
+		maxDelayNanos = TimeUnit.MILLISECONDS
+				.toNanos(Math.max(debounce, maxDelayMillis));
+	}
+
+	/**
+	 * This operation submits a task. If a task with the same key is pending it
+	 * is replaced. Otherwise the task is added to the queue, blocking while
+	 * the queue is full.
+	 *
+	 * @param key
+	 *            The key used to coalesce the task or null if it should never
+	 *            be coalesced
+	 * @param task
+	 *            The task
+	 * @param debounce
+	 *            True if the task should be delayed by the debounce window,
+	 *            false if it is due immediately
+	 * @return True if the task replaced a pending task, false if it was added
+	 * @throws InterruptedException
+	 *             The thread was interrupted while waiting for space
+	 */
+	public boolean submit(String key, T task, boolean debounce)
+			throws InterruptedException {
+
+		lock.lockInterruptibly();
+		try {
+			long now = System.nanoTime();
+			long delay = debounce ? debounceNanos : 0L;
+
+			// Replace the pending task if there is one
+			PendingTask<T> pending = (key != null) ? index.get(key) : null;
+			if (pending != null) {
+				pending.task = task;
+				schedule.remove(pending);
+				// Push debounced tasks back, but not past the maximum delay.
+				// Tasks that are not debounced are due now.
+				if (debounce) {
+					pending.due = Math.min(
+							pending.firstSubmitted + maxDelayNanos,
+							now + delay);
+				} else {
+					pending.due = Math.min(pending.due, now);
+				}
+				schedule.add(pending);
+				coalescedCount++;
+				changed.signalAll();
+				return true;
+			}
+
+			// Otherwise wait for space and add it
+			while (schedule.size() >= capacity) {
+				notFull.await();
+			}
+			pending = new PendingTask<T>(key, task, nextSequence++, now,
+					now + delay);
+			schedule.add(pending);
+			if (key != null) {
+				index.put(key, pending);
+			}
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+
+		return false;
+	}
+
+	/**
+	 * This operation removes the pending task with the given key, if any.
+	 *
+	 * @param key
+	 *            The key of the task
+	 * @return The task that was removed or null if there was none
+	 */
+	public T remove(String key) {
+
+		T task = null;
+
+		lock.lock();
+		try {
+			PendingTask<T> pending = (key != null) ? index.remove(key) : null;
+			if (pending != null) {
+				schedule.remove(pending);
+				task = pending.task;
+				notFull.signalAll();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		return task;
+	}
+
+	/**
+	 * This operation makes the pending task with the given key due
+	 * immediately. It keeps its place relative to the tasks that were
+	 * submitted after it.
+	 *
+	 * @param key
+	 *            The key of the task
+	 */
+	public void expedite(String key) {
+
+		lock.lock();
+		try {
+			PendingTask<T> pending = (key != null) ? index.get(key) : null;
+			if (pending != null) {
+				schedule.remove(pending);
+				pending.due = Math.min(pending.due, System.nanoTime());
+				schedule.add(pending);
+				changed.signalAll();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation makes all of the pending tasks due immediately while
+	 * preserving their submission order.
+	 */
+	public void flush() {
+
+		lock.lock();
+		try {
+			long now = System.nanoTime();
+			List<PendingTask<T>> tasks = new ArrayList<PendingTask<T>>(
+					schedule);
+			schedule.clear();
+			for (PendingTask<T> pending : tasks) {
+				pending.due = Math.min(pending.due, now);
+				schedule.add(pending);
+			}
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation retrieves and removes the next task that is due, waiting
+	 * up to the specified time for one to become due.
+	 *
+	 * @param timeout
+	 *            The maximum time to wait
+	 * @param unit
+	 *            The unit of the timeout
+	 * @return The task or null if no task became due in time
+	 * @throws InterruptedException
+	 *             The thread was interrupted while waiting
+	 */
+	public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+
+		long remaining = unit.toNanos(timeout);
+
+		lock.lockInterruptibly();
+		try {
+			while (true) {
+				if (schedule.isEmpty()) {
+					if (remaining <= 0L) {
+						return null;
+					}
+					remaining = changed.awaitNanos(remaining);
+				} else {
+					PendingTask<T> first = schedule.first();
+					long delay = first.due - System.nanoTime();
+					if (delay <= 0L) {
+						// Hand out the task
+						schedule.pollFirst();
+						if (first.key != null) {
+							index.remove(first.key);
+						}
+						notFull.signalAll();
+						return first.task;
+					} else if (remaining <= 0L) {
+						return null;
+					}
+					// Wait for it to become due or for something to change
+					long waitTime = Math.min(delay, remaining);
+					remaining -= waitTime - changed.awaitNanos(waitTime);
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * This operation returns the number of pending tasks.
+	 *
+	 * @return The queue depth
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return schedule.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * This operation returns the number of submitted tasks that were collapsed
+	 * into an already pending task since the queue was created.
+	 *
+	 * @return The number of coalesced tasks
+	 */
+	public long getCoalescedCount() {
+		lock.lock();
+		try {
+			return coalescedCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+}
@@ -0,0 +1,770 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlTransient;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
+import org.eclipse.ice.datastructures.ICEObject.Identifiable;
+import org.eclipse.ice.datastructures.ICEObject.NotificationDispatcher;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.item.Item;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class manages an append-only change log that sits next to the XML
+ * snapshot of an Item. It lets the XMLPersistenceProvider write only the
+ * Components of an Item's Form that changed since the last write instead of
+ * rewriting the whole Item.
+ * <p>
+ * The log for <code>name.xml</code> is stored in <code>name.xml.log</code>.
+ * It is a sequence of records, each of which holds the id of a Component and
+ * the XML of that Component. Records are applied in order over the snapshot
+ * when the Item is loaded, so the last record for a Component wins. The file
+ * name does not match the pattern used to find persisted Items, so the log is
+ * never mistaken for an Item.
+ * </p>
+ * <p>
+ * The log registers with every Component that it has written and marks a
+ * Component dirty when the Component notifies its listeners. Only dirty
+ * Components, Components that were replaced in the Form and one other
+ * Component, chosen in turn, are marshalled on each write, and a record is
+ * only written if the digest of the Component's XML changed. The extra
+ * Component catches changes that were made without a notification. If
+ * notifications are still being delivered when the Item is written, every
+ * Component is checked instead.
+ * </p>
+ * <p>
+ * The log also keeps a signature of everything else that is stored in the
+ * snapshot. It is built from the JAXB-bound fields and properties of the Item
+ * (including those of its subclass) and its Form and the ids and types of the
+ * Components. A change to the signature, an Item that has not been seen since
+ * the provider started, or a log that has reached the compaction threshold
+ * all require a full snapshot, after which the log is deleted.
+ * </p>
+ * <p>
+ * This class is not thread-safe. The XMLPersistenceProvider only uses it for
+ * writing from its event loop. The static replay() operation may be called
+ * from any thread.
+ * </p>
+ *
+ * @author Jay Jay Billings
+ */
+public class ItemChangeLog {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(ItemChangeLog.class);
+
+	/**
+	 * The name of the field in which a Form stores its Components.
+	 */
+	private static final String COMPONENT_LIST = "componentList";
+
+	/**
+	 * The name of the field in which an Item stores its Form.
+	 */
+	private static final String FORM = "form";
+
+	/**
+	 * The extension added to the snapshot file name to get the log file name.
+	 */
+	public static final String EXTENSION = ".log";
+
+	/**
+	 * The state of an Item as it was last written by the log.
+	 */
+	private static class LoggedState {
+
+		/**
+		 * The signature of the non-Component contents of the Item.
+		 */
+		private String signature;
+
+		/**
+		 * The Components that were written, keyed by Component id.
+		 */
+		private Map<Integer, Component> components = new HashMap<>();
+
+		/**
+		 * The digests of the Components, keyed by Component id.
+		 */
+		private Map<Integer, byte[]> digests = new HashMap<>();
+
+		/**
+		 * The number of records appended since the last snapshot.
+		 */
+		private int recordCount;
+
+		/**
+		 * The index of the Component that will be checked on the next write
+		 * even if it is not dirty.
+		 */
+		private int nextCheck;
+	}
+
+	/**
+	 * The states of the Items that have been written, keyed by the key used by
+	 * the provider.
+	 */
+	private final Map<String, LoggedState> states = new HashMap<>();
+
+	/**
+	 * The states computed by the last call to append() that required a
+	 * snapshot. They are committed by snapshotWritten().
+	 */
+	private final Map<String, LoggedState> pendingStates = new HashMap<>();
+
+	/**
+	 * The Components of the committed states and whether or not each has
+	 * changed since it was last written. They are keyed by identity since
+	 * Components override equals() and hashCode() with mutable state. Access
+	 * must be synchronized on the map since it is updated by the tracker.
+	 */
+	private final Map<IUpdateable, Boolean> trackedComponents = new IdentityHashMap<>();
+
+	/**
+	 * The listener that marks Components dirty when they are updated.
+	 */
+	private final IUpdateableListener tracker = new IUpdateableListener() {
+		@Override
+		public void update(IUpdateable component) {
+			synchronized (trackedComponents) {
+				if (trackedComponents.containsKey(component)) {
+					trackedComponents.put(component, Boolean.TRUE);
+				}
+			}
+		}
+	};
+
+	/**
+	 * The JAXB-bound fields and properties of the classes that have been
+	 * signed, keyed by class.
+	 */
+	private final Map<Class<?>, List<AccessibleObject>> boundMembers = new HashMap<>();
+
+	/**
+	 * The number of records after which the log is compacted into a snapshot.
+	 */
+	private int compactionThreshold;
+
+	/**
+	 * The context used to marshal Components.
+	 */
+	private final JAXBContext context;
+
+	/**
+	 * The marshaller used to write Components. It is created lazily.
+	 */
+	private Marshaller marshaller;
+
+	/**
+	 * The Constructor
+	 *
+	 * @param context
+	 *            The JAXBContext used to marshal the Components
+	 * @param compactionThreshold
+	 *            The number of records after which a full snapshot is written
+	 */
+	public ItemChangeLog(JAXBContext context, int compactionThreshold) {
+		this.context = context;
+		this.compactionThreshold = Math.max(1, compactionThreshold);
+	}
+
+	/**
+	 * This operation returns the log file for the snapshot file.
+	 *
+	 * @param snapshotFile
+	 *            The XML snapshot of the Item
+	 * @return The log file, which may not exist
+	 */
+	public static IFile getLogFile(IFile snapshotFile) {
+		return snapshotFile.getParent()
+				.getFile(new Path(snapshotFile.getName() + EXTENSION));
+	}
+
+	/**
+	 * This operation tries to record the changes to the Item in the log for
+	 * its snapshot file. If the Item cannot be written as a set of Component
+	 * changes, nothing is written and false is returned. The caller must then
+	 * write a full snapshot and call {@link #snapshotWritten(String, IFile)}.
+	 *
+	 * @param key
+	 *            The key that identifies the Item
+	 * @param item
+	 *            The Item to persist
+	 * @param snapshotFile
+	 *            The XML snapshot of the Item
+	 * @return True if the changes were appended to the log, false if a full
+	 *         snapshot is required
+	 * @throws JAXBException
+	 *             The Item could not be signed or a Component could not be
+	 *             marshalled
+	 * @throws CoreException
+	 *             The log could not be written
+	 */
+	public boolean append(String key, Item item, IFile snapshotFile)
+			throws JAXBException, CoreException {
+
+		// Local Declarations
+		LoggedState state = states.get(key);
+		String signature = getSignature(item);
+		ArrayList<Component> components = item.getForm().getComponents();
+
+		// Figure out if a snapshot is needed and, if so, record the state
+		// that it will write
+		if (state == null || !state.signature.equals(signature)
+				|| state.recordCount >= compactionThreshold
+				|| !snapshotFile.exists()) {
+			LoggedState newState = new LoggedState();
+			newState.signature = signature;
+			for (Component component : components) {
+				int id = ((Identifiable) component).getId();
+				clearDirty(component);
+				newState.components.put(id, component);
+				newState.digests.put(id, digest(marshal(component)));
+			}
+			pendingStates.put(key, newState);
+			return false;
+		}
+
+		// Check every Component if updates are still in flight since their
+		// notifications may not have reached the tracker yet
+		boolean checkAll = !NotificationDispatcher.getInstance().isIdle();
+		int checkIndex = (components.isEmpty()) ? -1
+				: state.nextCheck % components.size();
+
+		// Write a record for each Component that changed
+		Map<Integer, byte[]> newDigests = new HashMap<>();
+		Map<Integer, Component> newComponents = new HashMap<>();
+		ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+		int numRecords = 0;
+		try (DataOutputStream recordStream = new DataOutputStream(
+				byteStream)) {
+			for (int i = 0; i < components.size(); i++) {
+				Component component = components.get(i);
+				int id = ((Identifiable) component).getId();
+				boolean replaced = state.components.get(id) != component;
+				if (clearDirty(component) || replaced || checkAll
+						|| i == checkIndex) {
+					byte[] fragment = marshal(component);
+					byte[] digest = digest(fragment);
+					if (!Arrays.equals(digest, state.digests.get(id))) {
+						recordStream.writeInt(id);
+						recordStream.writeInt(fragment.length);
+						recordStream.write(fragment);
+						numRecords++;
+					}
+					newDigests.put(id, digest);
+				}
+				if (replaced) {
+					newComponents.put(id, component);
+				}
+			}
+		} catch (IOException e) {
+			// This can't happen with a byte array, but complain anyway.
+			logger.error(getClass().getName() + " Exception!", e);
+			forget(key);
+			return false;
+		}
+
+		// Append the records to the log. Forget the Item if this fails since
+		// the dirty marks have already been cleared.
+		if (numRecords > 0) {
+			IFile logFile = getLogFile(snapshotFile);
+			ByteArrayInputStream inputStream = new ByteArrayInputStream(
+					byteStream.toByteArray());
+			try {
+				if (logFile.exists()) {
+					logFile.appendContents(inputStream, IResource.FORCE, null);
+				} else {
+					logFile.create(inputStream, IResource.FORCE, null);
+				}
+			} catch (CoreException e) {
+				forget(key);
+				throw e;
+			}
+		}
+
+		// Update the state, tracking any Components that were replaced
+		for (Map.Entry<Integer, Component> replacement : newComponents
+				.entrySet()) {
+			untrack(state.components.put(replacement.getKey(),
+					replacement.getValue()));
+			track(replacement.getValue());
+		}
+		state.digests.putAll(newDigests);
+		state.recordCount += numRecords;
+		state.nextCheck = checkIndex + 1;
+
+		return true;
+	}
+
+	/**
+	 * This operation must be called after a full snapshot of the Item has been
+	 * written. It deletes the log and records the state of the Item that was
+	 * computed by the last call to append().
+	 *
+	 * @param key
+	 *            The key that identifies the Item
+	 * @param snapshotFile
+	 *            The XML snapshot of the Item
+	 * @throws CoreException
+	 *             The log could not be deleted
+	 */
+	public void snapshotWritten(String key, IFile snapshotFile)
+			throws CoreException {
+
+		// Delete the log since the snapshot is up to date
+		IFile logFile = getLogFile(snapshotFile);
+		if (logFile.exists()) {
+			logFile.delete(true, null);
+		}
+
+		// Commit the state and track its Components. Those that are still in
+		// the Form keep their dirty marks since they may have changed after
+		// they were digested.
+		LoggedState state = pendingStates.remove(key);
+		LoggedState oldState = (state != null) ? states.put(key, state)
+				: states.remove(key);
+		if (state != null) {
+			for (Component component : state.components.values()) {
+				track(component);
+			}
+		}
+		if (oldState != null) {
+			for (Component component : oldState.components.values()) {
+				if (state == null || state.components
+						.get(((Identifiable) component).getId()) != component) {
+					untrack(component);
+				}
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation forgets everything that the log knows about the Item so
+	 * that the next write is a full snapshot.
+	 *
+	 * @param key
+	 *            The key that identifies the Item
+	 */
+	public void forget(String key) {
+		LoggedState state = states.remove(key);
+		if (state != null) {
+			for (Component component : state.components.values()) {
+				untrack(component);
+			}
+		}
+		pendingStates.remove(key);
+	}
+
+	/**
+	 * This operation replays the log for the snapshot file, if one exists,
+	 * over an Item that was loaded from the snapshot. Records for Components
+	 * that are not in the Form are ignored. A truncated record at the end of
+	 * the log, which can happen if the log is read while it is being written,
+	 * is ignored.
+	 *
+	 * @param snapshotFile
+	 *            The XML snapshot from which the Item was loaded
+	 * @param item
+	 *            The Item loaded from the snapshot
+	 * @param unmarshaller
+	 *            The unmarshaller used to read the Components
+	 * @throws CoreException
+	 *             The log could not be read
+	 * @throws JAXBException
+	 *             A Component could not be unmarshalled
+	 * @throws IOException
+	 *             The log could not be read
+	 */
+	public static void replay(IFile snapshotFile, Item item,
+			Unmarshaller unmarshaller)
+			throws CoreException, JAXBException, IOException {
+
+		IFile logFile = getLogFile(snapshotFile);
+		if (item == null || item.getForm() == null || !logFile.exists()) {
+			return;
+		}
+
+		// Read all of the complete records
+		List<Integer> ids = new ArrayList<>();
+		List<byte[]> fragments = new ArrayList<>();
+		try (DataInputStream recordStream = new DataInputStream(
+				new BufferedInputStream(logFile.getContents(true)))) {
+			while (true) {
+				int id = recordStream.readInt();
+				byte[] fragment = new byte[recordStream.readInt()];
+				recordStream.readFully(fragment);
+				ids.add(id);
+				fragments.add(fragment);
+			}
+		} catch (EOFException e) {
+			// This is the normal end of the log
+		}
+
+		// Apply them to the Form in order
+		Form form = item.getForm();
+		ArrayList<Component> components = form.getComponents();
+		for (int i = 0; i < ids.size(); i++) {
+			int id = ids.get(i);
+			for (int j = 0; j < components.size(); j++) {
+				if (((Identifiable) components.get(j)).getId() == id) {
+					Component component = (Component) unmarshaller.unmarshal(
+							new ByteArrayInputStream(fragments.get(i)));
+					components.set(j, component);
+					break;
+				}
+			}
+		}
+
+		logger.debug("ItemChangeLog Message: Replayed " + ids.size()
+				+ " changes for " + snapshotFile.getName());
+
+		return;
+	}
+
+	/**
+	 * This operation sets the number of records after which the log is
+	 * compacted into a snapshot.
+	 *
+	 * @param threshold
+	 *            The threshold. Values less than one are ignored.
+	 */
+	public void setCompactionThreshold(int threshold) {
+		if (threshold > 0) {
+			compactionThreshold = threshold;
+		}
+	}
+
+	/**
+	 * This operation starts tracking a Component if it is not already
+	 * tracked. A newly tracked Component is clean.
+	 *
+	 * @param component
+	 *            The Component
+	 */
+	private void track(Component component) {
+		synchronized (trackedComponents) {
+			if (trackedComponents.containsKey(component)) {
+				return;
+			}
+			trackedComponents.put(component, Boolean.FALSE);
+		}
+		component.register(tracker);
+	}
+
+	/**
+	 * This operation stops tracking a Component.
+	 *
+	 * @param component
+	 *            The Component, which may be null
+	 */
+	private void untrack(Component component) {
+		if (component != null) {
+			component.unregister(tracker);
+			synchronized (trackedComponents) {
+				trackedComponents.remove(component);
+			}
+		}
+	}
+
+	/**
+	 * This operation clears the dirty mark of a tracked Component.
+	 *
+	 * @param component
+	 *            The Component
+	 * @return True if the Component was dirty, false if it was clean or is
+	 *         not tracked
+	 */
+	private boolean clearDirty(Component component) {
+		synchronized (trackedComponents) {
+			if (Boolean.TRUE.equals(trackedComponents.get(component))) {
+				trackedComponents.put(component, Boolean.FALSE);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This operation marshals an object without formatting.
+	 *
+	 * @param object
+	 *            The object, usually a Component
+	 * @return The XML of the object
+	 * @throws JAXBException
+	 *             The object could not be marshalled
+	 */
+	private byte[] marshal(Object object) throws JAXBException {
+		if (marshaller == null) {
+			marshaller = context.createMarshaller();
+		}
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		marshaller.marshal(object, outputStream);
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * This operation computes the digest of a Component's XML.
+	 *
+	 * @param fragment
+	 *            The XML
+	 * @return The digest
+	 */
+	private byte[] digest(byte[] fragment) {
+		try {
+			return MessageDigest.getInstance("MD5").digest(fragment);
+		} catch (NoSuchAlgorithmException e) {
+			// Every JVM has MD5, but fall back to the bytes if it is missing.
+			return fragment;
+		}
+	}
+
+	/**
+	 * This operation computes a signature of everything in the Item's
+	 * snapshot that is not inside one of its Components. It is built from the
+	 * values of the JAXB-bound fields and properties of the Item, including
+	 * those added by its subclass, and of its Form, followed by the types and
+	 * ids of the Components. Nothing is marshalled unless one of those values
+	 * is an object other than a simple value, a collection or a Component of
+	 * the Form.
+	 *
+	 * @param item
+	 *            The Item
+	 * @return The signature
+	 * @throws JAXBException
+	 *             A value could not be read or marshalled
+	 */
+	private String getSignature(Item item) throws JAXBException {
+
+		// Local Declarations
+		StringBuilder builder = new StringBuilder();
+		Form form = item.getForm();
+		Set<Component> components = Collections
+				.newSetFromMap(new IdentityHashMap<Component, Boolean>());
+		components.addAll(form.getComponents());
+
+		// Add the bound values of the Item and the Form
+		appendMembers(builder, item, FORM, components);
+		builder.append('|');
+		appendMembers(builder, form, COMPONENT_LIST, components);
+
+		// Add the types and ids of the Components
+		for (Component component : form.getComponents()) {
+			builder.append('|').append(component.getClass().getName())
+					.append(':').append(((Identifiable) component).getId());
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * This operation appends the names and values of the JAXB-bound fields
+	 * and properties of an object to a signature.
+	 *
+	 * @param builder
+	 *            The signature
+	 * @param object
+	 *            The object
+	 * @param skippedField
+	 *            The name of a field that should be left out
+	 * @param components
+	 *            The Components of the Form, which are written by id
+	 * @throws JAXBException
+	 *             A value could not be read or marshalled
+	 */
+	private void appendMembers(StringBuilder builder, Object object,
+			String skippedField, Set<Component> components)
+			throws JAXBException {
+
+		builder.append(object.getClass().getName());
+		for (AccessibleObject member : getBoundMembers(object.getClass())) {
+			String name = ((Member) member).getName();
+			if (member instanceof Field && name.equals(skippedField)) {
+				continue;
+			}
+			try {
+				Object value = (member instanceof Field)
+						? ((Field) member).get(object)
+						: ((Method) member).invoke(object);
+				builder.append(';').append(name).append('=');
+				appendValue(builder, value, components);
+			} catch (IllegalAccessException | InvocationTargetException e) {
+				throw new JAXBException(e);
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation appends a value to a signature. Simple values are
+	 * written as strings, collections and maps are written element by
+	 * element, Components of the Form are written by id since they are
+	 * tracked separately and anything else is marshalled and digested.
+	 *
+	 * @param builder
+	 *            The signature
+	 * @param value
+	 *            The value
+	 * @param components
+	 *            The Components of the Form
+	 * @throws JAXBException
+	 *             The value could not be marshalled
+	 */
+	private void appendValue(StringBuilder builder, Object value,
+			Set<Component> components) throws JAXBException {
+
+		if (value == null || value instanceof CharSequence
+				|| value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum) {
+			builder.append(value);
+		} else if (value instanceof Collection) {
+			builder.append('[');
+			for (Object element : (Collection<?>) value) {
+				appendValue(builder, element, components);
+				builder.append(',');
+			}
+			builder.append(']');
+		} else if (value instanceof Map) {
+			builder.append('{');
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				appendValue(builder, entry.getKey(), components);
+				builder.append('=');
+				appendValue(builder, entry.getValue(), components);
+				builder.append(',');
+			}
+			builder.append('}');
+		} else if (components.contains(value)) {
+			builder.append('#').append(((Identifiable) value).getId());
+		} else {
+			for (byte part : digest(marshal(value))) {
+				builder.append(String.format("%02x", part));
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the JAXB-bound fields and properties of a class
+	 * and its superclasses. A field is bound if it is annotated for JAXB or if
+	 * its class uses field access or it is public. A property is bound if its
+	 * getter is annotated for JAXB. Anything marked XmlTransient is left out.
+	 *
+	 * @param type
+	 *            The class
+	 * @return The bound fields and getters, which are accessible
+	 */
+	private List<AccessibleObject> getBoundMembers(Class<?> type) {
+
+		List<AccessibleObject> members = boundMembers.get(type);
+		if (members == null) {
+			members = new ArrayList<>();
+			for (Class<?> current = type; current != null
+					&& current != Object.class; current = current
+							.getSuperclass()) {
+				XmlAccessorType accessorType = current
+						.getAnnotation(XmlAccessorType.class);
+				boolean fieldAccess = accessorType != null
+						&& accessorType.value() == XmlAccessType.FIELD;
+				for (Field field : current.getDeclaredFields()) {
+					int modifiers = field.getModifiers();
+					if (!Modifier.isStatic(modifiers)
+							&& !Modifier.isTransient(modifiers)
+							&& !field.isAnnotationPresent(XmlTransient.class)
+							&& (fieldAccess || Modifier.isPublic(modifiers)
+									|| isBound(field))) {
+						field.setAccessible(true);
+						members.add(field);
+					}
+				}
+				for (Method method : current.getDeclaredMethods()) {
+					if (!Modifier.isStatic(method.getModifiers())
+							&& method.getParameterTypes().length == 0
+							&& method.getReturnType() != void.class
+							&& !method.isAnnotationPresent(XmlTransient.class)
+							&& isBound(method)) {
+						method.setAccessible(true);
+						members.add(method);
+					}
+				}
+			}
+			boundMembers.put(type, members);
+		}
+
+		return members;
+	}
+
+	/**
+	 * This operation determines whether a field or method carries a JAXB
+	 * annotation.
+	 *
+	 * @param member
+	 *            The field or method
+	 * @return True if it is annotated for JAXB, false otherwise
+	 */
+	private boolean isBound(AccessibleObject member) {
+		for (Annotation annotation : member.getAnnotations()) {
+			if (annotation.annotationType().getName()
+					.startsWith("javax.xml.bind.annotation.")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
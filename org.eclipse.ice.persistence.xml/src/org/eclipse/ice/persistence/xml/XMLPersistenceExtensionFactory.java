@@ -61,28 +61,43 @@ public class XMLPersistenceExtensionFactory
 		// Create the provider if it doesn't exist already
 		if (provider == null) {
 			provider = new XMLPersistenceProvider();
-			// Load all the Item Builders
-			for (ItemBuilder builder : ItemBuilder.getItemBuilders()) {
-				provider.addBuilder(builder);
-			}
-			// Load all the JAXB providers if and only if they are available.
-			IJAXBClassProvider[] jaxbProviders = IJAXBClassProvider
-					.getJAXBProviders();
-			if (jaxbProviders != null && jaxbProviders.length > 0) {
-				for (IJAXBClassProvider jaxbProvider : jaxbProviders) {
-					provider.registerClassProvider(jaxbProvider);
-				}
-			}
-			try {
-				provider.start();
-				// Start the service
-			} catch (JAXBException e) {
-				// Complain
-				logger.error("Unable to start XMLPersistenceProvider", e);
-			}
+			startProvider(provider);
 		}
 
 		return provider;
 	}
 
+	/**
+	 * This operation registers all of the available ItemBuilders and JAXB
+	 * class providers with a newly created provider and starts it.
+	 *
+	 * @param newProvider
+	 *            The provider to start
+	 * @throws CoreException
+	 *             The provider could not be started
+	 */
+	protected static void startProvider(XMLPersistenceProvider newProvider)
+			throws CoreException {
+		// Load all the Item Builders
+		for (ItemBuilder builder : ItemBuilder.getItemBuilders()) {
+			newProvider.addBuilder(builder);
+		}
+		// Load all the JAXB providers if and only if they are available.
+		IJAXBClassProvider[] jaxbProviders = IJAXBClassProvider
+				.getJAXBProviders();
+		if (jaxbProviders != null && jaxbProviders.length > 0) {
+			for (IJAXBClassProvider jaxbProvider : jaxbProviders) {
+				newProvider.registerClassProvider(jaxbProvider);
+			}
+		}
+		try {
+			newProvider.start();
+			// Start the service
+		} catch (JAXBException e) {
+			// Complain
+			logger.error("Unable to start "
+					+ newProvider.getClass().getSimpleName(), e);
+		}
+	}
+
 }
@@ -12,22 +12,41 @@
  *******************************************************************************/
 package org.eclipse.ice.persistence.xml;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.naming.OperationNotSupportedException;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -40,7 +59,9 @@ import org.eclipse.ice.io.serializable.IReader;
 import org.eclipse.ice.io.serializable.IWriter;
 import org.eclipse.ice.item.Item;
 import org.eclipse.ice.item.ItemBuilder;
+import org.eclipse.ice.item.persistence.IItemLoadListener;
 import org.eclipse.ice.item.persistence.IPersistenceProvider;
+import org.eclipse.ice.item.persistence.ItemSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +81,20 @@ import org.slf4j.LoggerFactory;
  * Items are handled on a separate, non-blocking thread. Loading operations are
  * blocking.
  *
+ * Persistence tasks are scheduled with a CoalescingTaskQueue. Repeated
+ * persists or updates of the same Item (and repeated writes to the same file)
+ * are collapsed into a single write of the latest state, which is delayed by a
+ * configurable debounce window so that rapid edits produce one write. If the
+ * queue fills, submitting a task blocks until there is space instead of
+ * dropping it. The queue depth and write times are available from the
+ * provider for monitoring.
+ *
+ * The provider can optionally write updates incrementally. When the change log
+ * is enabled, only the Components of an Item's Form that changed are appended
+ * to a log next to the Item's XML file and the log is compacted into a new
+ * snapshot periodically. Loading an Item replays its log over the snapshot. See
+ * ItemChangeLog.
+ *
  * Items that are loaded by the provider are not constructed with a project.
  *
  * This provider should always be started AFTER all of the Items are registered
@@ -122,10 +157,60 @@ public class XMLPersistenceProvider
 	}
 
 	/**
-	 * The blocking queue that holds all of the persistence tasks that are left
-	 * to be processed.
+	 * The default debounce window for persistence tasks in milliseconds.
+	 */
+	public static final long DEFAULT_DEBOUNCE_WINDOW = 250L;
+
+	/**
+	 * The default maximum time in milliseconds that a debounced persistence
+	 * task may be delayed.
+	 */
+	public static final long DEFAULT_MAX_DELAY = 2000L;
+
+	/**
+	 * The coalescing queue that holds all of the persistence tasks that are
+	 * left to be processed.
+	 */
+	CoalescingTaskQueue<QueuedTask> taskQueue = new CoalescingTaskQueue<>(
+			1024, DEFAULT_DEBOUNCE_WINDOW, DEFAULT_MAX_DELAY);
+
+	/**
+	 * The change log used to write incremental updates of Items. It is created
+	 * when the provider starts.
+	 */
+	private ItemChangeLog changeLog;
+
+	/**
+	 * True if incremental updates should be written to the change log instead
+	 * of rewriting the whole Item.
+	 */
+	private volatile boolean useChangeLog = false;
+
+	/**
+	 * The number of Component changes after which a change log is compacted
+	 * into a full snapshot.
+	 */
+	private int compactionThreshold = 100;
+
+	/**
+	 * The number of files written by the provider.
+	 */
+	private final AtomicLong writeCount = new AtomicLong();
+
+	/**
+	 * The total time in nanoseconds spent writing files.
 	 */
-	ArrayBlockingQueue<QueuedTask> taskQueue = new ArrayBlockingQueue<>(1024);
+	private final AtomicLong totalWriteTime = new AtomicLong();
+
+	/**
+	 * The longest time in nanoseconds spent writing a single file.
+	 */
+	private final AtomicLong maxWriteTime = new AtomicLong();
+
+	/**
+	 * The time in nanoseconds spent writing the most recent file.
+	 */
+	private final AtomicLong lastWriteTime = new AtomicLong();
 
 	/**
 	 * A private thread on which the event loop is run. The runnable for this
@@ -165,6 +250,26 @@ public class XMLPersistenceProvider
 	 */
 	JAXBContext context;
 
+	/**
+	 * The Unmarshallers created from the context for each thread that loads
+	 * Items. JAXB Unmarshallers are not thread-safe, but they can be reused by
+	 * the same thread, which is much cheaper than creating one per file.
+	 */
+	private final ThreadLocal<Unmarshaller> unmarshallers = new ThreadLocal<>();
+
+	/**
+	 * The number of threads used to load Items in parallel by loadItems().
+	 */
+	private int loadThreadCount = Math.max(1,
+			Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The factory used to create the streaming readers that read the summaries
+	 * of Items without unmarshalling them. It is created the first time it is
+	 * needed.
+	 */
+	private XMLInputFactory inputFactory;
+
 	/**
 	 * Default constructor.
 	 */
@@ -219,8 +324,9 @@ public class XMLPersistenceProvider
 				// Only add the resources that are xml files with the format
 				// that we expect. This uses a regular expression that checks
 				// for <itemName>_<itemId>.xml.
-				if (resource.getType() == IResource.FILE && resource.getName()
-						.matches("^[a-zA-Z0-9_\\-]*_\\d+\\.xml$")) {
+				if (resource.getType() == IResource.FILE
+						&& resource.getName().matches("^[a-zA-Z0-9_\\-]*_\\d+\\."
+								+ getFileExtension() + "$")) {
 					names.add(resource.getName());
 				}
 			}
@@ -312,6 +418,7 @@ public class XMLPersistenceProvider
 
 		// Create the JAXB context
 		createJAXBContext();
+		changeLog = new ItemChangeLog(context, compactionThreshold);
 
 		// Start the event loop
 		runFlag.set(true);
@@ -339,6 +446,9 @@ public class XMLPersistenceProvider
 
 		// Shut down the thread if it was started
 		if (eventLoop != null) {
+			// Make all of the pending tasks due so that they are written
+			// before the thread exits.
+			taskQueue.flush();
 			// Thrown the flag to shut down the thread
 			runFlag.set(false);
 			// Watch the thread until it shuts down or for one minute,
@@ -403,13 +513,9 @@ public class XMLPersistenceProvider
 	private ByteArrayOutputStream createXMLStream(Object obj) {
 		// Get the XML
 		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		// Create the marshaller and write the item
-		Marshaller marshaller;
+		// Write the item
 		try {
-			marshaller = context.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,
-					Boolean.TRUE);
-			marshaller.marshal(obj, outputStream);
+			marshal(obj, outputStream);
 		} catch (JAXBException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
@@ -419,6 +525,49 @@ public class XMLPersistenceProvider
 		return outputStream;
 	}
 
+	/**
+	 * This operation marshals an object to a stream in the format stored by
+	 * this provider. Subclasses that store a different format should override
+	 * this operation, unmarshal() and getFileExtension().
+	 *
+	 * @param obj
+	 *            the object to write to the stream
+	 * @param stream
+	 *            the stream
+	 * @throws JAXBException
+	 *             the object could not be marshalled
+	 */
+	protected void marshal(Object obj, OutputStream stream)
+			throws JAXBException {
+		Marshaller marshaller = context.createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+		marshaller.marshal(obj, stream);
+	}
+
+	/**
+	 * This operation unmarshals an object from a stream in the format stored
+	 * by this provider.
+	 *
+	 * @param stream
+	 *            the stream
+	 * @return the object
+	 * @throws JAXBException
+	 *             the object could not be unmarshalled
+	 */
+	protected Object unmarshal(InputStream stream) throws JAXBException {
+		return getUnmarshaller().unmarshal(stream);
+	}
+
+	/**
+	 * This operation returns the extension, without the dot, of the files in
+	 * which Items are stored by this provider.
+	 *
+	 * @return the file extension
+	 */
+	protected String getFileExtension() {
+		return "xml";
+	}
+
 	/**
 	 * This operation writes the specified object to the file in XML.
 	 *
@@ -428,6 +577,7 @@ public class XMLPersistenceProvider
 	 *            The file to where it should be written
 	 */
 	private void writeFile(Object obj, IFile file) {
+		long startTime = System.nanoTime();
 		// Create an output stream containing the XML.
 		ByteArrayOutputStream outputStream = createXMLStream(obj);
 		// Convert it to an input stream so it can be pushed to file
@@ -445,9 +595,109 @@ public class XMLPersistenceProvider
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
 		}
+		// Record the write time
+		recordWriteTime(startTime);
 		return;
 	}
 
+	/**
+	 * This operation updates the write time metrics for a write that started
+	 * at the given time.
+	 *
+	 * @param startTime
+	 *            The value of System.nanoTime() when the write started
+	 */
+	private void recordWriteTime(long startTime) {
+		long writeTime = System.nanoTime() - startTime;
+		writeCount.incrementAndGet();
+		totalWriteTime.addAndGet(writeTime);
+		lastWriteTime.set(writeTime);
+		long currentMax = maxWriteTime.get();
+		while (writeTime > currentMax
+				&& !maxWriteTime.compareAndSet(currentMax, writeTime)) {
+			currentMax = maxWriteTime.get();
+		}
+		return;
+	}
+
+	/**
+	 * This operation persists an Item to its snapshot file. If the change log
+	 * is enabled, only the Components that changed since the last write are
+	 * appended to the log and a full snapshot is only written when required.
+	 * Otherwise the full snapshot is written and any stale log is removed.
+	 *
+	 * @param item
+	 *            The Item to persist
+	 * @param file
+	 *            The snapshot file for the Item
+	 * @throws CoreException
+	 *             The log could not be written or deleted
+	 */
+	private void persistItemToFile(Item item, IFile file)
+			throws CoreException {
+
+		String key = getPersistKey(item);
+
+		// Try to append the changes to the log
+		if (changeLog != null && useChangeLog) {
+			long startTime = System.nanoTime();
+			try {
+				if (changeLog.append(key, item, file)) {
+					recordWriteTime(startTime);
+					return;
+				}
+			} catch (JAXBException e) {
+				// Complain and fall back to a full snapshot
+				logger.error(getClass().getName() + " Exception!", e);
+				changeLog.forget(key);
+			}
+			// Write the snapshot and reset the log
+			writeFile(item, file);
+			changeLog.snapshotWritten(key, file);
+		} else {
+			// Write the snapshot and make sure an old log can't be replayed
+			// over it.
+			writeFile(item, file);
+			IFile logFile = ItemChangeLog.getLogFile(file);
+			if (logFile.exists()) {
+				logFile.delete(true, null);
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation enables or disables the incremental change log. When it
+	 * is enabled, updates to an Item append the Components of its Form that
+	 * changed to a log next to the Item's XML file instead of rewriting the
+	 * whole file, and the log is periodically compacted into a new snapshot.
+	 * It is disabled by default.
+	 *
+	 * @param enabled
+	 *            True if the change log should be used, false otherwise
+	 */
+	public void setChangeLogEnabled(boolean enabled) {
+		useChangeLog = enabled;
+	}
+
+	/**
+	 * This operation sets the number of Component changes that may be
+	 * appended to an Item's change log before it is compacted into a full
+	 * snapshot.
+	 *
+	 * @param threshold
+	 *            The threshold. Values less than one are ignored.
+	 */
+	public void setChangeLogCompactionThreshold(int threshold) {
+		if (threshold > 0) {
+			compactionThreshold = threshold;
+			if (changeLog != null) {
+				changeLog.setCompactionThreshold(threshold);
+			}
+		}
+	}
+
 	/**
 	 * A utility operation for processing tasks in the event loop.
 	 *
@@ -468,7 +718,7 @@ public class XMLPersistenceProvider
 						|| "delete".equals(currentTask.task)) {
 					// Setup the file name
 					name = currentTask.item.getName().replaceAll("\\s+", "_")
-							+ ".xml";
+							+ "." + getFileExtension();
 					// Get the file from the project registered with the Item.
 					// This may change depending on whether or not this Item was
 					// created in the default project.
@@ -477,19 +727,24 @@ public class XMLPersistenceProvider
 				// Process persists
 				if ("persist".equals(currentTask.task)) {
 					// Send the Item off to be written to the file
-					writeFile(currentTask.item, file);
+					persistItemToFile(currentTask.item, file);
 					// Update the item id map
 					itemIdMap.put(currentTask.item.getId(), file.getName());
 				} else if ("delete".equals(currentTask.task)) {
 					// Handle deletes
 					// Make sure it exists, the platform may have deleted it
 					// first
-					// Sleep for a bit to let the platform delete if it wants
-					Thread.currentThread();
-					Thread.sleep(100);
 					if (file.exists()) {
 						file.delete(true, null);
 					}
+					// Remove its change log too
+					IFile logFile = ItemChangeLog.getLogFile(file);
+					if (logFile.exists()) {
+						logFile.delete(true, null);
+					}
+					if (changeLog != null) {
+						changeLog.forget(getPersistKey(currentTask.item));
+					}
 					// Update the item id map
 					itemIdMap.remove(currentTask.item.getId());
 				} else if ("write".equals(currentTask.task)) {
@@ -502,11 +757,6 @@ public class XMLPersistenceProvider
 						itemIdMap.put(currentTask.item.getId(),
 								currentTask.file.getName());
 
-						// Sleep for a bit to let the platform delete if it
-						// wants
-						Thread.currentThread();
-						Thread.sleep(1000);
-
 						IProject project = currentTask.item.getProject();
 						IFile oldFileHandle = project.getFile(oldFile);
 						if (oldFileHandle.exists()) {
@@ -514,16 +764,20 @@ public class XMLPersistenceProvider
 									currentTask.file.getProjectRelativePath(),
 									true, null);
 						}
+						// Move the change log with it
+						IFile oldLogHandle = ItemChangeLog
+								.getLogFile(oldFileHandle);
+						if (oldLogHandle.exists()) {
+							oldLogHandle.move(ItemChangeLog
+									.getLogFile(currentTask.file)
+									.getProjectRelativePath(), true, null);
+						}
 
 					}
 
 				}
-			} else {
-				// Otherwise sleep for a bit
-				Thread.currentThread();
-				Thread.sleep(1000);
 			}
-		} catch (InterruptedException | CoreException e) {
+		} catch (CoreException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
 		}
@@ -540,10 +794,10 @@ public class XMLPersistenceProvider
 	public void run() {
 
 		// While the provider is set to run, just process tasks from the
-		// queue
-		while (runFlag.get()) {
+		// queue. Keep going after it is stopped until the queue is drained.
+		while (runFlag.get() || taskQueue.size() > 0) {
 			try {
-				// Grab the next task
+				// Grab the next task. This waits until one is due.
 				QueuedTask currentTask = taskQueue.poll(2, TimeUnit.SECONDS);
 				// Process it
 				processTask(currentTask);
@@ -564,7 +818,8 @@ public class XMLPersistenceProvider
 	 */
 	@Override
 	public void renameItem(Item item, String newName) {
-		IFile newFile = item.getProject().getFile(newName + ".xml");
+		IFile newFile = item.getProject()
+				.getFile(newName + "." + getFileExtension());
 		submitTask(item, "rename", item.getForm(), newFile);
 		return;
 	}
@@ -600,10 +855,24 @@ public class XMLPersistenceProvider
 			}
 			// Submit the task
 			try {
-				taskQueue.add(task);
-			} catch (Exception exception) {
+				String persistKey = getPersistKey(item);
+				if ("persist".equals(taskName)) {
+					// Collapse persists of the same Item
+					taskQueue.submit(persistKey, task, true);
+				} else if ("delete".equals(taskName)) {
+					// There is no reason to write an Item that is about to be
+					// deleted.
+					taskQueue.remove(persistKey);
+					taskQueue.submit(null, task, false);
+				} else {
+					// Renames must see the latest version of the file
+					taskQueue.expedite(persistKey);
+					taskQueue.submit(null, task, false);
+				}
+			} catch (InterruptedException exception) {
 				// Complain
-				exception.printStackTrace();
+				logger.error(getClass().getName() + " Exception!", exception);
+				Thread.currentThread().interrupt();
 				retVal = false;
 			}
 		} else if (form != null && file != null) {
@@ -612,12 +881,13 @@ public class XMLPersistenceProvider
 			task.task = taskName;
 			task.form = form;
 			task.file = file;
-			// Submit the task
+			// Submit the task, collapsing writes to the same file
 			try {
-				taskQueue.add(task);
-			} catch (Exception exception) {
+				taskQueue.submit("write:" + file.getFullPath(), task, true);
+			} catch (InterruptedException exception) {
 				// Complain
-				exception.printStackTrace();
+				logger.error(getClass().getName() + " Exception!", exception);
+				Thread.currentThread().interrupt();
 				retVal = false;
 			}
 		} else {
@@ -627,6 +897,92 @@ public class XMLPersistenceProvider
 		return retVal;
 	}
 
+	/**
+	 * This operation returns the key used to collapse persistence tasks for
+	 * the Item in the task queue.
+	 *
+	 * @param item
+	 *            The Item
+	 * @return The key
+	 */
+	private String getPersistKey(Item item) {
+		String projectName = (item.getProject() != null)
+				? item.getProject().getName() : "";
+		return "persist:" + projectName + ":" + item.getId();
+	}
+
+	/**
+	 * This operation sets the debounce window used for persistence tasks.
+	 * Repeated persists of the same Item within the window are collapsed into
+	 * a single write, but no write is delayed by more than the maximum delay.
+	 *
+	 * @param debounceMillis
+	 *            The debounce window in milliseconds
+	 * @param maxDelayMillis
+	 *            The maximum delay for a single write in milliseconds
+	 */
+	public void setDebounceWindow(long debounceMillis, long maxDelayMillis) {
+		taskQueue.setDebounceWindow(debounceMillis, maxDelayMillis);
+	}
+
+	/**
+	 * This operation returns the number of persistence tasks that are waiting
+	 * to be processed.
+	 *
+	 * @return The queue depth
+	 */
+	public int getQueueDepth() {
+		return taskQueue.size();
+	}
+
+	/**
+	 * This operation returns the number of persistence tasks that were
+	 * collapsed into pending tasks instead of being written separately.
+	 *
+	 * @return The number of coalesced tasks
+	 */
+	public long getCoalescedTaskCount() {
+		return taskQueue.getCoalescedCount();
+	}
+
+	/**
+	 * This operation returns the number of files written by the provider.
+	 *
+	 * @return The number of writes
+	 */
+	public long getWriteCount() {
+		return writeCount.get();
+	}
+
+	/**
+	 * This operation returns the average time spent writing a file.
+	 *
+	 * @return The average write time in milliseconds or zero if nothing has
+	 *         been written
+	 */
+	public double getAverageWriteTime() {
+		long count = writeCount.get();
+		return (count > 0) ? totalWriteTime.get() / (count * 1.0e6) : 0.0;
+	}
+
+	/**
+	 * This operation returns the longest time spent writing a single file.
+	 *
+	 * @return The maximum write time in milliseconds
+	 */
+	public double getMaxWriteTime() {
+		return maxWriteTime.get() / 1.0e6;
+	}
+
+	/**
+	 * This operation returns the time spent writing the most recent file.
+	 *
+	 * @return The last write time in milliseconds
+	 */
+	public double getLastWriteTime() {
+		return lastWriteTime.get() / 1.0e6;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -640,6 +996,51 @@ public class XMLPersistenceProvider
 		return submitTask(item, "persist", null, null);
 	}
 
+	/**
+	 * This operation returns the Unmarshaller for the calling thread, creating
+	 * it from the shared JAXBContext if needed.
+	 *
+	 * @return The Unmarshaller
+	 * @throws JAXBException
+	 *             An exception indicating that the Unmarshaller could not be
+	 *             created.
+	 */
+	protected Unmarshaller getUnmarshaller() throws JAXBException {
+		Unmarshaller unmarshaller = unmarshallers.get();
+		if (unmarshaller == null) {
+			unmarshaller = context.createUnmarshaller();
+			unmarshallers.set(unmarshaller);
+		}
+		return unmarshaller;
+	}
+
+	/**
+	 * This operation unmarshals an Item from an IFile resource, replays its
+	 * change log if it has one, and lets any exceptions propagate to the
+	 * caller.
+	 *
+	 * @param file
+	 *            The IFile that should be loaded as an Item from XML.
+	 * @return the Item
+	 * @throws CoreException
+	 *             The file could not be read.
+	 * @throws JAXBException
+	 *             The file could not be unmarshalled.
+	 * @throws IOException
+	 *             The file stream could not be closed.
+	 */
+	private Item unmarshalItem(IFile file)
+			throws CoreException, JAXBException, IOException {
+		Item item = null;
+		try (InputStream stream = new BufferedInputStream(
+				file.getContents())) {
+			item = (Item) unmarshal(stream);
+		}
+		// Apply any incremental changes written after the snapshot
+		ItemChangeLog.replay(file, item, getUnmarshaller());
+		return item;
+	}
+
 	/**
 	 * This operation loads an Item from an IFile resource.
 	 *
@@ -652,10 +1053,9 @@ public class XMLPersistenceProvider
 		Item item = null;
 
 		try {
-			// Create the unmarshaller and load the item
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			item = (Item) unmarshaller.unmarshal(file.getContents());
-		} catch (CoreException | JAXBException e) {
+			// Load the item with this thread's unmarshaller
+			item = unmarshalItem(file);
+		} catch (CoreException | JAXBException | IOException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
 			// Null out the Item so that it can't be returned uninitialized
@@ -678,7 +1078,7 @@ public class XMLPersistenceProvider
 		String fileName = itemIdMap.get(itemID);
 
 		// Delegate the load to the IFile version of this call
-		return loadItem(project.getFile(fileName));
+		return (fileName != null) ? loadItem(project.getFile(fileName)) : null;
 	}
 
 	/*
@@ -738,19 +1138,273 @@ public class XMLPersistenceProvider
 	public ArrayList<Item> loadItems() {
 
 		// Local Declarations
-		ArrayList<Item> items = new ArrayList<>();
-		Set<Integer> keys = itemIdMap.keySet();
-		Item item = null;
+		final ArrayList<Item> items = new ArrayList<>();
 
-		// Load them all
-		for (int id : keys) {
-			item = loadItem(id);
-			items.add(item);
-		}
+		// Load them all in parallel and collect the ones that loaded.
+		loadItems(new IItemLoadListener() {
+			@Override
+			public void itemLoaded(Item item) {
+				items.add(item);
+			}
+
+			@Override
+			public void itemLoadFailed(String source, Exception exception) {
+				// Already logged by the provider
+			}
+		});
+
+		// Sort them by id so that the order is predictable
+		Collections.sort(items, new Comparator<Item>() {
+			@Override
+			public int compare(Item first, Item second) {
+				return Integer.compare(first.getId(), second.getId());
+			}
+		});
 
 		return items;
 	}
 
+	/**
+	 * This operation loads all of the Items that this provider can find in
+	 * parallel. Each file is unmarshalled on a pool of loadThreadCount threads
+	 * using a per-thread Unmarshaller and the Items are handed to the listener
+	 * on the calling thread in the order that they finish. Files that cannot
+	 * be loaded are reported to the listener and logged, but they do not stop
+	 * the rest of the load.
+	 *
+	 * @param listener
+	 *            The listener that should receive the Items.
+	 */
+	@Override
+	public void loadItems(IItemLoadListener listener) {
+
+		// Make sure there is something to do
+		if (listener == null || project == null) {
+			return;
+		}
+
+		// Take a snapshot of the files since the event loop may modify the map
+		final List<String> fileNames = new ArrayList<>(itemIdMap.values());
+		if (fileNames.isEmpty()) {
+			return;
+		}
+
+		// Create the pool that will load the Items. Don't create more threads
+		// than there are files.
+		final AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService loadPool = Executors.newFixedThreadPool(
+				Math.min(loadThreadCount, fileNames.size()),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"XMLPersistenceProvider Loader "
+										+ threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		CompletionService<Item> loadService = new ExecutorCompletionService<>(
+				loadPool);
+		Map<Future<Item>, String> sources = new HashMap<>();
+
+		long startTime = System.currentTimeMillis();
+		int numLoaded = 0;
+
+		try {
+			// Submit all of the files
+			for (final String fileName : fileNames) {
+				Future<Item> future = loadService.submit(new Callable<Item>() {
+					@Override
+					public Item call() throws Exception {
+						return unmarshalItem(project.getFile(fileName));
+					}
+				});
+				sources.put(future, fileName);
+			}
+
+			// Hand the Items to the listener as they finish
+			for (int i = 0; i < fileNames.size(); i++) {
+				Future<Item> future = loadService.take();
+				String fileName = sources.get(future);
+				try {
+					Item item = future.get();
+					if (item != null) {
+						listener.itemLoaded(item);
+						numLoaded++;
+					} else {
+						listener.itemLoadFailed(fileName, null);
+					}
+				} catch (ExecutionException e) {
+					logger.error("XMLPersistenceProvider Message: "
+							+ "Unable to load Item from " + fileName, e);
+					Exception cause = (e.getCause() instanceof Exception)
+							? (Exception) e.getCause() : e;
+					listener.itemLoadFailed(fileName, cause);
+				}
+			}
+		} catch (InterruptedException e) {
+			// Complain and restore the interrupt
+			logger.error(getClass().getName() + " Exception!", e);
+			Thread.currentThread().interrupt();
+		} finally {
+			loadPool.shutdownNow();
+		}
+
+		logger.info("XMLPersistenceProvider Message: Loaded " + numLoaded
+				+ " of " + fileNames.size() + " Items in "
+				+ (System.currentTimeMillis() - startTime) + " ms.");
+
+		return;
+	}
+
+	/**
+	 * This operation sets the number of threads that loadItems() uses to
+	 * unmarshal Items.
+	 *
+	 * @param numThreads
+	 *            The number of threads. Values less than one are ignored.
+	 */
+	public void setLoadThreadCount(int numThreads) {
+		if (numThreads > 0) {
+			loadThreadCount = numThreads;
+		}
+	}
+
+	/**
+	 * This operation reads the summaries of all of the Items that this
+	 * provider can find. Only the attributes of the root element of each file
+	 * are read, so this is much cheaper than loadItems(). Files with a change
+	 * log are fully loaded since the log may change the Item after the
+	 * snapshot was written. Files that cannot be read are logged and skipped.
+	 *
+	 * @return The list of summaries sorted by id
+	 */
+	@Override
+	public ArrayList<ItemSummary> loadItemSummaries() {
+
+		// Local Declarations
+		ArrayList<ItemSummary> summaries = new ArrayList<>();
+
+		// Make sure there is something to do
+		if (project == null) {
+			return summaries;
+		}
+
+		long startTime = System.currentTimeMillis();
+
+		// Take a snapshot of the map since the event loop may modify it
+		Map<Integer, String> fileNames = new HashMap<>(itemIdMap);
+		for (Map.Entry<Integer, String> entry : fileNames.entrySet()) {
+			IFile file = project.getFile(entry.getValue());
+			try {
+				ItemSummary summary = null;
+				if (!ItemChangeLog.getLogFile(file).exists()) {
+					summary = readSummary(file, entry.getKey());
+				}
+				// Fall back to the full Item if the summary is not available
+				if (summary == null) {
+					Item item = unmarshalItem(file);
+					summary = new ItemSummary(item.getId(), item.getName(),
+							item.getDescription(), item.getItemBuilderName());
+				}
+				summaries.add(summary);
+			} catch (CoreException | JAXBException | XMLStreamException
+					| IOException e) {
+				logger.error("XMLPersistenceProvider Message: "
+						+ "Unable to read Item from " + entry.getValue(), e);
+			}
+		}
+
+		// Sort them by id so that the order is predictable
+		Collections.sort(summaries, new Comparator<ItemSummary>() {
+			@Override
+			public int compare(ItemSummary first, ItemSummary second) {
+				return Integer.compare(first.getId(), second.getId());
+			}
+		});
+
+		logger.info("XMLPersistenceProvider Message: Read " + summaries.size()
+				+ " of " + fileNames.size() + " Item summaries in "
+				+ (System.currentTimeMillis() - startTime) + " ms.");
+
+		return summaries;
+	}
+
+	/**
+	 * This operation reads the summary of an Item from the attributes of the
+	 * root element of its file without reading the rest of the file.
+	 *
+	 * @param file
+	 *            The file that holds the Item
+	 * @param fileId
+	 *            The id of the Item from the name of the file, which is used if
+	 *            the root element does not have one
+	 * @return The summary or null if the root element does not have the name
+	 *         of the Item
+	 * @throws CoreException
+	 *             The file could not be read.
+	 * @throws XMLStreamException
+	 *             The file could not be parsed.
+	 * @throws IOException
+	 *             The file stream could not be closed.
+	 */
+	private ItemSummary readSummary(IFile file, int fileId)
+			throws CoreException, XMLStreamException, IOException {
+
+		ItemSummary summary = null;
+
+		try (InputStream stream = new BufferedInputStream(
+				file.getContents())) {
+			XMLStreamReader reader = createStreamReader(stream);
+			try {
+				// Find the root element
+				while (reader.hasNext()
+						&& reader.next() != XMLStreamReader.START_ELEMENT) {
+					continue;
+				}
+				String name = reader.isStartElement()
+						? reader.getAttributeValue(null, "name") : null;
+				if (name != null) {
+					String idString = reader.getAttributeValue(null, "id");
+					int id = (idString != null) ? Integer.parseInt(idString)
+							: fileId;
+					summary = new ItemSummary(id, name,
+							reader.getAttributeValue(null, "description"),
+							reader.getAttributeValue(null, "builderName"));
+				}
+			} catch (NumberFormatException e) {
+				throw new XMLStreamException(e);
+			} finally {
+				reader.close();
+			}
+		}
+
+		return summary;
+	}
+
+	/**
+	 * This operation creates a streaming reader for the contents of a file
+	 * written by this provider. It is used to read Item summaries.
+	 *
+	 * @param stream
+	 *            the stream
+	 * @return the reader
+	 * @throws XMLStreamException
+	 *             the reader could not be created
+	 */
+	protected XMLStreamReader createStreamReader(InputStream stream)
+			throws XMLStreamException {
+		XMLInputFactory factory;
+		synchronized (this) {
+			if (inputFactory == null) {
+				inputFactory = XMLInputFactory.newInstance();
+			}
+			factory = inputFactory;
+		}
+		return factory.createXMLStreamReader(stream);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -803,10 +1457,8 @@ public class XMLPersistenceProvider
 		Form form = null;
 
 		try {
-			// Create the marshaller
-			Unmarshaller unmarshaller = context.createUnmarshaller();
 			// Grab the form
-			form = (Form) unmarshaller.unmarshal(file.getContents());
+			form = (Form) unmarshal(file.getContents());
 		} catch (JAXBException e) {
 			// TODO Auto-generated catch block
 			logger.error(getClass().getName() + " Exception!", e);
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.reflectivity;
+
+import org.eclipse.ice.datastructures.form.Material;
+
+/**
+ * This class represents one free parameter of a reflectivity fit: a property
+ * of one slab in the stack that the ReflectivityFitter may vary between a
+ * lower and an upper bound.
+ *
+ * In the ReflectivityModel, a Material property is marked as free by giving
+ * the Material two more properties with the suffixes MIN_SUFFIX and
+ * MAX_SUFFIX, such as "Thickness (A) Min" and "Thickness (A) Max", where the
+ * maximum is greater than the minimum.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class FitParameter {
+
+	/**
+	 * The suffix of the Material property that holds the lower bound.
+	 */
+	public static final String MIN_SUFFIX = " Min";
+
+	/**
+	 * The suffix of the Material property that holds the upper bound.
+	 */
+	public static final String MAX_SUFFIX = " Max";
+
+	/**
+	 * The slab properties that can be fit.
+	 */
+	public enum Property {
+
+		/**
+		 * The thickness of the slab.
+		 */
+		THICKNESS("Thickness (A)"),
+
+		/**
+		 * The interfacial width, or roughness, of the slab.
+		 */
+		ROUGHNESS("Roughness (A)"),
+
+		/**
+		 * The scattering length density of the slab.
+		 */
+		SCATTERING_LENGTH_DENSITY(Material.SCAT_LENGTH_DENSITY);
+
+		/**
+		 * The name of the Material property.
+		 */
+		private final String materialProperty;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param materialProperty
+		 *            The name of the Material property
+		 */
+		private Property(String materialProperty) {
+			this.materialProperty = materialProperty;
+		}
+
+		/**
+		 * This operation returns the name of the Material property that holds
+		 * this slab property.
+		 *
+		 * @return The property name
+		 */
+		public String getMaterialProperty() {
+			return materialProperty;
+		}
+	}
+
+	/**
+	 * The index of the slab in the stack.
+	 */
+	private final int slabIndex;
+
+	/**
+	 * The property of the slab.
+	 */
+	private final Property property;
+
+	/**
+	 * The lower bound.
+	 */
+	private final double min;
+
+	/**
+	 * The upper bound.
+	 */
+	private final double max;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param slabIndex
+	 *            The index of the slab in the stack
+	 * @param property
+	 *            The property of the slab to fit
+	 * @param min
+	 *            The lower bound
+	 * @param max
+	 *            The upper bound, which must be greater than the lower bound
+	 */
+	public FitParameter(int slabIndex, Property property, double min,
+			double max) {
+		if (!(max > min)) {
+			throw new IllegalArgumentException("FitParameter Error: The "
+					+ "upper bound must be greater than the lower bound.");
+		}
+		this.slabIndex = slabIndex;
+		this.property = property;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * This operation returns the index of the slab in the stack.
+	 *
+	 * @return The index
+	 */
+	public int getSlabIndex() {
+		return slabIndex;
+	}
+
+	/**
+	 * This operation returns the property of the slab that is fit.
+	 *
+	 * @return The property
+	 */
+	public Property getProperty() {
+		return property;
+	}
+
+	/**
+	 * This operation returns the lower bound.
+	 *
+	 * @return The lower bound
+	 */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * This operation returns the upper bound.
+	 *
+	 * @return The upper bound
+	 */
+	public double getMax() {
+		return max;
+	}
+
+	/**
+	 * This operation clamps a value to the bounds.
+	 *
+	 * @param value
+	 *            The value
+	 * @return The value, moved to the nearest bound if it is outside of them
+	 */
+	public double clamp(double value) {
+		return Math.max(min, Math.min(max, value));
+	}
+
+	/**
+	 * This operation returns the value of the parameter in a stack of slabs.
+	 *
+	 * @param slabs
+	 *            The slabs
+	 * @return The value
+	 */
+	public double getValue(Slab[] slabs) {
+
+		// Local Declarations
+		Slab slab = slabs[slabIndex];
+		double value;
+
+		switch (property) {
+		case THICKNESS:
+			value = slab.thickness;
+			break;
+		case ROUGHNESS:
+			value = slab.interfaceWidth;
+			break;
+		default:
+			value = slab.scatteringLength;
+			break;
+		}
+
+		return value;
+	}
+
+	/**
+	 * This operation sets the value of the parameter in a stack of slabs.
+	 *
+	 * @param slabs
+	 *            The slabs
+	 * @param value
+	 *            The new value
+	 */
+	public void setValue(Slab[] slabs, double value) {
+
+		// Local Declarations
+		Slab slab = slabs[slabIndex];
+
+		switch (property) {
+		case THICKNESS:
+			slab.thickness = value;
+			break;
+		case ROUGHNESS:
+			slab.interfaceWidth = value;
+			break;
+		default:
+			slab.scatteringLength = value;
+			break;
+		}
+
+		return;
+	}
+
+}
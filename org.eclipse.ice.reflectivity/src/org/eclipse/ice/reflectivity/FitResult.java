@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.reflectivity;
+
+/**
+ * This class stores the best result of a ReflectivityFitter. Like the
+ * ReflectivityProfile, it is a plain holder with public fields.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class FitResult {
+
+	// The fitted value of each free parameter, in the order the parameters
+	// were given to the fitter.
+	public double[] values;
+
+	// The reduced chi squared, sum(((R - RData)/error)^2)/(N - P), at the
+	// fitted values.
+	public double chiSquared;
+
+	// The index of the start that found the fitted values.
+	public int start;
+
+	// The number of accepted steps taken by that start.
+	public int iterations;
+
+}
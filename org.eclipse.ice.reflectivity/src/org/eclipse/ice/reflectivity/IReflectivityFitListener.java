@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.reflectivity;
+
+/**
+ * This interface is implemented by clients that want to follow the progress
+ * of a ReflectivityFitter. The starts of a fit run in parallel, so it may be
+ * called from several threads at once.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public interface IReflectivityFitListener {
+
+	/**
+	 * This operation is called after each accepted Levenberg-Marquardt step.
+	 *
+	 * @param start
+	 *            The index of the start that took the step
+	 * @param iteration
+	 *            The number of steps taken by that start so far
+	 * @param chiSquared
+	 *            The reduced chi squared of that start after the step
+	 * @param bestChiSquared
+	 *            The lowest reduced chi squared found by any start so far
+	 */
+	public void fitProgressed(int start, int iteration, double chiSquared,
+			double bestChiSquared);
+
+}
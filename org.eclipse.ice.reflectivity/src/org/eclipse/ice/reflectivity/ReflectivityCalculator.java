@@ -13,8 +13,13 @@
  *******************************************************************************/
 package org.eclipse.ice.reflectivity;
 
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.apache.commons.math.MathException;
-import org.apache.commons.math.complex.Complex;
 import org.apache.commons.math.special.Erf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +31,17 @@ import org.slf4j.LoggerFactory;
  * method described in Parratt, Phys. Rev. 95, 359(1954). It has been corrected
  * to incorporate incoherent and true absorption.
  *
+ * The recursion is carried out on primitive real and imaginary parts instead
+ * of Complex objects, so it does not allocate anything per layer or per wave
+ * vector point. Reflectivities for many wave vector points are computed in
+ * parallel on a shared fork-join pool.
+ *
+ * Interfacial profiles are computed once for each number of layers of
+ * roughness and shared by all calculators. Each calculator also keeps the tiles
+ * generated by its last call to getReflectivityProfile() and only regenerates
+ * the tiles of the slabs that changed, so a calculator should be reused for
+ * repeated calculations on the same stack of slabs.
+ *
  * @author Jay Jay Billings, John Ankner
  *
  */
@@ -53,6 +69,30 @@ public class ReflectivityCalculator {
 	 */
 	private static final double cE = 1.665;
 
+	/**
+	 * The number of layer updates, points times layers, below which a range
+	 * of wave vector points is computed on one thread instead of being split.
+	 */
+	private static final int minLayerUpdatesPerTask = 1 << 14;
+
+	/**
+	 * The pool that computes reflectivities in parallel. It is shared by all
+	 * calculators.
+	 */
+	private static final ForkJoinPool pool = new ForkJoinPool();
+
+	/**
+	 * The interfacial profiles that have been computed, keyed by the number
+	 * of layers of roughness. Each value holds zInt at index 0 and rufInt at
+	 * index 1.
+	 */
+	private static final ConcurrentMap<Integer, double[][]> interfacialProfiles = new ConcurrentHashMap<Integer, double[][]>();
+
+	/**
+	 * The tiles generated by the last call to getReflectivityProfile().
+	 */
+	private final TileCache tileCache = new TileCache();
+
 	/**
 	 * This operation returns the value of the squared modulus of the specular
 	 * reflectivity for a single wave vector Q.
@@ -73,61 +113,280 @@ public class ReflectivityCalculator {
 		double modSqrdSpecRef = 0.0;
 
 		if (wavelength > 0.0) {
-			// Variables only needed if we are going to do the work, i.e. -
-			// wavelength > 0.0.
-			Tile tile;
-			Complex aNm1Sq, fNm1N, rNm1N = new Complex(0.0, 0.0), one = new Complex(
-					1.0, 0.0), qN = new Complex(0.0, 0.0), rNNp1 = new Complex(
-					0.0, 0.0);
-			// Get the bottom tile
-			int nLayers = tiles.length;
-			tile = tiles[nLayers - 1];
-			// Starting point--no reflected beam in bottom-most (bulk) layer
-			double qCSq = 16.0 * Math.PI * tile.scatteringLength;
-			double muLAbs = tile.trueAbsLength;
-			double mulInc = tile.incAbsLength;
-			double thickness = tile.thickness;
-			// Setup other values for the problem
-			double betaNm1 = 4.0 * Math.PI * (muLAbs + mulInc / wavelength);
-			Complex qNm1 = new Complex(waveVectorQ * waveVectorQ - qCSq, -2.0
-					* betaNm1);
-			qNm1 = qNm1.sqrt();
-			// Loop through to calculate recursion formula described in Parratt.
-			// Start at the bottom and work up.
-			for (int i = nLayers - 1; i > 0; i--) {
-				// Get the tile above tile[i] (started at the bottom
-				tile = tiles[i - 1];
-				// Calculate the normal component of Q for layer and layer-1
-				qN = qNm1;
-				qCSq = 16.0 * Math.PI * tile.scatteringLength;
-				muLAbs = tile.trueAbsLength;
-				mulInc = tile.incAbsLength;
-				thickness = tile.thickness;
-				betaNm1 = 4.0 * Math.PI * (muLAbs + mulInc / wavelength);
-				qNm1 = new Complex(waveVectorQ * waveVectorQ - qCSq, -2.0
-						* betaNm1);
-				qNm1 = qNm1.sqrt();
-				// Calculate phase factor, e^(-0.5*d*qNm1)
-				aNm1Sq = (new Complex(qNm1.getImaginary(), qNm1.getReal())
-						.multiply(-0.5 * thickness)).exp();
-				// CDiv(qNm1-qN,qNm1+qN)
-				fNm1N = qNm1.subtract(qN).divide(qNm1.add(qN));
-				// Calculate the reflectivity amplitude.
-				// CMult(aNm1Sq, CMult(aNm1Sq, CDiv(CAdd(rNNp1, fNm1N),
-				// CAdd(CMult(rNNp1, fNm1N), CReal(1)))))
-				Complex y = rNNp1.multiply(fNm1N).add(one);
-				Complex z = rNNp1.add(fNm1N);
-				rNm1N = aNm1Sq.multiply(aNm1Sq).multiply(z.divide((y)));
-				// Carry over to the next iteration
-				rNNp1 = rNm1N;
-			}
-			modSqrdSpecRef = rNm1N.getReal() * rNm1N.getReal()
-					+ rNm1N.getImaginary() * rNm1N.getImaginary();
+			LayerParameters layers = new LayerParameters(tiles, wavelength);
+			modSqrdSpecRef = getModSqrdSpecRef(waveVectorQ, layers);
+		}
+
+		return modSqrdSpecRef;
+	}
+
+	/**
+	 * This operation returns the squared modulus of the specular reflectivity
+	 * for every point of a wave vector. The points are computed in parallel.
+	 *
+	 * @param waveVector
+	 *            the values of the wave vector
+	 * @param wavelength
+	 *            the wavelength of the incident neutrons
+	 * @param tiles
+	 *            the list of Tiles that contains the physical parameters needed
+	 *            for the calculation, including the scattering densities,
+	 *            absorption parameters and thicknesses.
+	 * @return the squared modulus of the specular reflectivity at each point
+	 */
+	public double[] getModSqrdSpecRef(double[] waveVector, double wavelength,
+			Tile[] tiles) {
+
+		double[] modSqrdSpecRef = new double[waveVector.length];
+
+		if (wavelength > 0.0 && waveVector.length > 0) {
+			LayerParameters layers = new LayerParameters(tiles, wavelength);
+			pool.invoke(new SpecularReflectivityTask(waveVector,
+					modSqrdSpecRef, layers, 0, waveVector.length));
 		}
 
 		return modSqrdSpecRef;
 	}
 
+	/**
+	 * This operation computes the squared modulus of the specular reflectivity
+	 * for a single wave vector Q with the recursion formula described in
+	 * Parratt. It starts at the bottom (bulk) layer, where there is no
+	 * reflected beam, and works up. Complex values are kept as pairs of
+	 * doubles and the complex square root and division follow Commons Math.
+	 *
+	 * @param waveVectorQ
+	 *            the value of the wave vector
+	 * @param layers
+	 *            the parameters of the layers
+	 * @return the squared modulus of the specular reflectivity
+	 */
+	private static double getModSqrdSpecRef(double waveVectorQ,
+			LayerParameters layers) {
+
+		// Local Declarations
+		double qSq = waveVectorQ * waveVectorQ;
+		double[] qCSq = layers.qCSq, twoBeta = layers.twoBeta,
+				thickness = layers.thickness;
+		// The normal component of Q in the layer below and the reflectivity
+		// amplitude at its top
+		double qNRe = 0.0, qNIm = 0.0, rRe = 0.0, rIm = 0.0;
+
+		for (int i = qCSq.length - 1; i >= 0; i--) {
+			// Calculate the normal component of Q for this layer,
+			// qNm1 = sqrt(Q^2 - qCSq - 2i*beta)
+			double re = qSq - qCSq[i], im = -twoBeta[i];
+			double qNm1Re = 0.0, qNm1Im = 0.0;
+			if (re != 0.0 || im != 0.0) {
+				double t = Math.sqrt((Math.abs(re) + modulus(re, im)) / 2.0);
+				if (re >= 0.0) {
+					qNm1Re = t;
+					qNm1Im = im / (2.0 * t);
+				} else {
+					qNm1Re = Math.abs(im) / (2.0 * t);
+					qNm1Im = (im >= 0.0) ? t : -t;
+				}
+			}
+
+			// The bottom layer only starts the recursion
+			if (i < qCSq.length - 1) {
+				// fNm1N = (qNm1 - qN) / (qNm1 + qN)
+				double nRe = qNm1Re - qNRe, nIm = qNm1Im - qNIm;
+				double dRe = qNm1Re + qNRe, dIm = qNm1Im + qNIm;
+				double fRe, fIm;
+				if (Math.abs(dRe) < Math.abs(dIm)) {
+					double q = dRe / dIm, denominator = dRe * q + dIm;
+					fRe = (nRe * q + nIm) / denominator;
+					fIm = (nIm * q - nRe) / denominator;
+				} else {
+					double q = dIm / dRe, denominator = dIm * q + dRe;
+					fRe = (nIm * q + nRe) / denominator;
+					fIm = (nIm - nRe * q) / denominator;
+				}
+				// w = (rNNp1 + fNm1N) / (rNNp1 * fNm1N + 1)
+				nRe = rRe + fRe;
+				nIm = rIm + fIm;
+				dRe = rRe * fRe - rIm * fIm + 1.0;
+				dIm = rRe * fIm + rIm * fRe;
+				double wRe, wIm;
+				if (Math.abs(dRe) < Math.abs(dIm)) {
+					double q = dRe / dIm, denominator = dRe * q + dIm;
+					wRe = (nRe * q + nIm) / denominator;
+					wIm = (nIm * q - nRe) / denominator;
+				} else {
+					double q = dIm / dRe, denominator = dIm * q + dRe;
+					wRe = (nIm * q + nRe) / denominator;
+					wIm = (nIm - nRe * q) / denominator;
+				}
+				// The squared phase factor, aNm1Sq^2 = e^(-d*(Im qNm1 + i Re
+				// qNm1)), is evaluated as one exponential.
+				double magnitude = Math.exp(-thickness[i] * qNm1Im);
+				double phase = -thickness[i] * qNm1Re;
+				double aRe = magnitude * Math.cos(phase);
+				double aIm = magnitude * Math.sin(phase);
+				// rNm1N = aNm1Sq^2 * w, carried over to the next layer up
+				rRe = aRe * wRe - aIm * wIm;
+				rIm = aRe * wIm + aIm * wRe;
+			}
+
+			qNRe = qNm1Re;
+			qNIm = qNm1Im;
+		}
+
+		return rRe * rRe + rIm * rIm;
+	}
+
+	/**
+	 * This operation returns the modulus of a complex number without
+	 * overflowing, as Complex.abs() does.
+	 *
+	 * @param re
+	 *            the real part
+	 * @param im
+	 *            the imaginary part
+	 * @return the modulus
+	 */
+	private static double modulus(double re, double im) {
+		if (Math.abs(re) < Math.abs(im)) {
+			double q = re / im;
+			return Math.abs(im) * Math.sqrt(1.0 + q * q);
+		} else if (re == 0.0) {
+			return Math.abs(im);
+		}
+		double q = im / re;
+		return Math.abs(re) * Math.sqrt(1.0 + q * q);
+	}
+
+	/**
+	 * This class holds the per-layer quantities of the Parratt recursion that
+	 * do not depend on the wave vector so that they are computed only once for
+	 * all of the points.
+	 */
+	private static class LayerParameters {
+
+		/**
+		 * The squared critical wave vector, 16*pi*scatteringLength, of each
+		 * layer.
+		 */
+		final double[] qCSq;
+
+		/**
+		 * Twice the absorption, 8*pi*(trueAbsLength + incAbsLength /
+		 * wavelength), of each layer.
+		 */
+		final double[] twoBeta;
+
+		/**
+		 * The thickness of each layer.
+		 */
+		final double[] thickness;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param tiles
+		 *            the tiles that define the layers
+		 * @param wavelength
+		 *            the wavelength of the incident neutrons
+		 */
+		LayerParameters(Tile[] tiles, double wavelength) {
+			qCSq = new double[tiles.length];
+			twoBeta = new double[tiles.length];
+			thickness = new double[tiles.length];
+			for (int i = 0; i < tiles.length; i++) {
+				Tile tile = tiles[i];
+				qCSq[i] = 16.0 * Math.PI * tile.scatteringLength;
+				twoBeta[i] = 2.0 * (4.0 * Math.PI * (tile.trueAbsLength
+						+ tile.incAbsLength / wavelength));
+				thickness[i] = tile.thickness;
+			}
+		}
+	}
+
+	/**
+	 * This class computes the squared modulus of the specular reflectivity for
+	 * a range of wave vector points, splitting the range in half until each
+	 * piece is small enough to compute directly.
+	 */
+	private static class SpecularReflectivityTask extends RecursiveAction {
+
+		/**
+		 * The serial version ID required by RecursiveAction.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The wave vector.
+		 */
+		private final double[] waveVector;
+
+		/**
+		 * The output array for the squared moduli.
+		 */
+		private final double[] modSqrdSpecRef;
+
+		/**
+		 * The parameters of the layers.
+		 */
+		private final LayerParameters layers;
+
+		/**
+		 * The first point in the range.
+		 */
+		private final int from;
+
+		/**
+		 * One past the last point in the range.
+		 */
+		private final int to;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param waveVector
+		 *            the wave vector
+		 * @param modSqrdSpecRef
+		 *            the output array
+		 * @param layers
+		 *            the parameters of the layers
+		 * @param from
+		 *            the first point in the range
+		 * @param to
+		 *            one past the last point in the range
+		 */
+		SpecularReflectivityTask(double[] waveVector, double[] modSqrdSpecRef,
+				LayerParameters layers, int from, int to) {
+			this.waveVector = waveVector;
+			this.modSqrdSpecRef = modSqrdSpecRef;
+			this.layers = layers;
+			this.from = from;
+			this.to = to;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if (to - from < 2 || (long) (to - from)
+					* layers.qCSq.length <= minLayerUpdatesPerTask) {
+				for (int i = from; i < to; i++) {
+					modSqrdSpecRef[i] = getModSqrdSpecRef(waveVector[i],
+							layers);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(
+						new SpecularReflectivityTask(waveVector, modSqrdSpecRef,
+								layers, from, middle),
+						new SpecularReflectivityTask(waveVector, modSqrdSpecRef,
+								layers, middle, to));
+			}
+		}
+	}
+
 	/**
 	 * This operation convolutes the data in refFit with a Gaussian resolution
 	 * function in q, calculated from theta, delThe, and delLamOLam.
@@ -163,7 +422,7 @@ public class ReflectivityCalculator {
 
 		double ln2 = Math.log(2.0);
 		double qEff = 0.0, qRes = 0.0, rExp = 0.0, rNorm = 0.0;
-		double[] refTemp = new double[maxPoints];
+		double[] refTemp = new double[numPoints];
 		int nStep = 0;
 		boolean lFinish = false, hFinish = false;
 
@@ -401,125 +660,349 @@ public class ReflectivityCalculator {
 			double[] rufInt) throws MathException {
 
 		// Local Declarations
-		int nGlay = 0;
-		double totalThickness = 0.0, gDMid = 0.0, step = 0.0, dist = 0.0;
-		// The number of slabs was not defined in the original code. I computed
-		// it by counting up the loops. This formula is currently off a little
-		// bit.
-		int numSlabs = 2 + 2 * (numRough / 2 + 1) + (slabs.length - 2)
-				* (2 + numRough);
-		Tile[] generatedSlabs = new Tile[numSlabs];
-		// Create the slabs
-		for (int i = 0; i < numSlabs; i++) {
-			generatedSlabs[i] = new Slab();
-		}
-
-		// Evaluate the first half of the vacuum interface. Create the first
-		// slab.
-		Tile tmpSlab = generatedSlabs[0];
-		Slab refSlab = slabs[0], secondRefSlab = slabs[1], thirdRefSlab;
-		tmpSlab.scatteringLength = refSlab.scatteringLength;
-		tmpSlab.trueAbsLength = refSlab.trueAbsLength;
-		tmpSlab.incAbsLength = refSlab.incAbsLength;
-		tmpSlab.thickness = refSlab.thickness;
-		++nGlay;
-		// Create the other slabs for this half
-		for (int i = 0; i < numRough / 2 + 1; i++) {
-			tmpSlab = generatedSlabs[nGlay + i];
-			updateTileByInterface(tmpSlab, refSlab, secondRefSlab, zInt[i],
-					rufInt[i]);
-		}
-		nGlay += numRough / 2 + 1;
-
-		// Evaluate the total normalized thickness of the surface
+		Tile[][] segments = new Tile[slabs.length][];
+		double totalThickness = getTotalThickness(numRough, zInt);
+
+		// Generate the tiles for each slab and stack them up
+		for (int i = 0; i < slabs.length; i++) {
+			segments[i] = generateSlabTiles(slabs, i, numRough, zInt, rufInt,
+					totalThickness);
+		}
+
+		return stackTiles(segments);
+	}
+
+	/**
+	 * This operation evaluates the total normalized thickness of an interface.
+	 *
+	 * @param numRough
+	 *            the number of ordinate steps
+	 * @param zInt
+	 *            the step widths of the interfacial profile
+	 * @return the total normalized thickness
+	 */
+	private double getTotalThickness(int numRough, double[] zInt) {
+		double totalThickness = 0.0;
 		for (int i = 0; i < numRough + 1; i++) {
 			totalThickness += zInt[i];
 		}
+		return totalThickness;
+	}
 
-		// Calculate gradation of layers. Using slabs.length - 1 because the
-		// last layer is at index 4.
-		for (int i = 1; i < slabs.length - 1; i++) {
-			refSlab = slabs[i];
-			secondRefSlab = slabs[i + 1];
-			thirdRefSlab = slabs[i - 1];
+	/**
+	 * This operation generates the tiles that belong to a single slab. The
+	 * first slab gets its own tile and the upper half of the interface below
+	 * it, the last slab gets the lower half of the interface above it and its
+	 * own tile, and every other slab gets the lower half of the interface above
+	 * it, its bulk and the upper half of the interface below it. The tiles of a
+	 * slab only depend on that slab and its neighbors.
+	 *
+	 * @param slabs
+	 *            the slabs of materials that define the system
+	 * @param index
+	 *            the index of the slab for which tiles should be generated
+	 * @param numRough
+	 *            the number of ordinate steps
+	 * @param zInt
+	 *            the step widths of the interfacial profile
+	 * @param rufInt
+	 *            the error function values of the interfacial profile
+	 * @param totalThickness
+	 *            the total normalized thickness of an interface
+	 * @return the tiles of the slab
+	 * @throws MathException
+	 *             Thrown if the error function cannot be calculated
+	 */
+	private Tile[] generateSlabTiles(Slab[] slabs, int index, int numRough,
+			double[] zInt, double[] rufInt, double totalThickness)
+			throws MathException {
+
+		// Local Declarations
+		int halfRough = numRough / 2 + 1, nGlay = 0;
+		double gDMid = 0.0, step = 0.0, dist = 0.0;
+		Slab refSlab = slabs[index], secondRefSlab, thirdRefSlab;
+		Tile[] tiles;
+
+		if (index == 0) {
+			// Evaluate the first half of the vacuum interface. Create the first
+			// tile.
+			tiles = createTiles(1 + halfRough);
+			secondRefSlab = slabs[1];
+			copySlab(refSlab, tiles[nGlay++]);
+			// Create the other tiles for this half
+			for (int i = 0; i < halfRough; i++) {
+				updateTileByInterface(tiles[nGlay++], refSlab, secondRefSlab,
+						zInt[i], rufInt[i]);
+			}
+		} else if (index == slabs.length - 1) {
+			// Evaluate substrate gradation
+			tiles = createTiles(halfRough + 1);
+			secondRefSlab = slabs[index - 1];
+			for (int i = halfRough; i < numRough + 1; i++) {
+				updateTileByInterface(tiles[nGlay++], secondRefSlab, refSlab,
+						zInt[i], rufInt[i]);
+			}
+			// Handle the last layer
+			copySlab(refSlab, tiles[nGlay++]);
+		} else {
+			// Calculate gradation of the layer
+			secondRefSlab = slabs[index + 1];
+			thirdRefSlab = slabs[index - 1];
 			// FIXME! Review gDMid calculation with John because it can be
 			// negative.
 			gDMid = refSlab.thickness - 0.5 * totalThickness
 					* (refSlab.interfaceWidth + secondRefSlab.interfaceWidth);
 			if (gDMid <= 1.0e-10) {
 				// The interfaces are overlapping. Step through the entire slab
+				tiles = createTiles(numRough + 2);
 				step = refSlab.thickness / (numRough + 1);
 				// Take the first half step
-				tmpSlab = generatedSlabs[nGlay];
-				tmpSlab.thickness = step / 2.0;
+				tiles[nGlay].thickness = step / 2.0;
 				dist = step / 4.0;
-				updateTileByLayer(tmpSlab, thirdRefSlab, refSlab,
+				updateTileByLayer(tiles[nGlay++], thirdRefSlab, refSlab,
 						secondRefSlab, dist);
-				++nGlay;
 				dist += 0.75 * step;
 				// Take the remaining steps
 				for (int j = 0; j < numRough; j++) {
-					tmpSlab = generatedSlabs[nGlay + j];
-					tmpSlab.thickness = step;
-					updateTileByLayer(tmpSlab, thirdRefSlab, refSlab,
+					tiles[nGlay].thickness = step;
+					updateTileByLayer(tiles[nGlay++], thirdRefSlab, refSlab,
 							secondRefSlab, dist);
 					dist += step;
 				}
-				nGlay += numRough;
 				// Take final half step
-				tmpSlab = generatedSlabs[nGlay];
-				tmpSlab.thickness = step / 2.0;
+				tiles[nGlay].thickness = step / 2.0;
 				dist = refSlab.thickness - step / 4.0;
-				updateTileByLayer(tmpSlab, thirdRefSlab, refSlab,
+				updateTileByLayer(tiles[nGlay++], thirdRefSlab, refSlab,
 						secondRefSlab, dist);
-				++nGlay;
 			} else {
 				// Evaluate contributions from interfaces separately.
+				tiles = createTiles(2 * halfRough + 1);
 				// Top interface
-				for (int j = numRough / 2 + 1; j < numRough + 1; j++) {
-					// Get the next slab and update it by considering the
-					// interface contribution.
-					tmpSlab = generatedSlabs[nGlay + j - numRough / 2 - 1];
-					updateTileByInterface(tmpSlab, thirdRefSlab, refSlab,
-							zInt[j], rufInt[j]);
+				for (int j = halfRough; j < numRough + 1; j++) {
+					updateTileByInterface(tiles[nGlay++], thirdRefSlab,
+							refSlab, zInt[j], rufInt[j]);
 				}
-				nGlay += numRough / 2 + 1;
 				// Central, bulk-like portion
-				tmpSlab = generatedSlabs[nGlay];
-				tmpSlab.scatteringLength = refSlab.scatteringLength;
-				tmpSlab.thickness = gDMid;
-				tmpSlab.trueAbsLength = refSlab.trueAbsLength;
-				tmpSlab.incAbsLength = refSlab.incAbsLength;
-				++nGlay;
+				copySlab(refSlab, tiles[nGlay]);
+				tiles[nGlay++].thickness = gDMid;
 				// Bottom interface
-				for (int j = 0; j < numRough / 2 + 1; j++) {
-					tmpSlab = generatedSlabs[nGlay + j];
-					updateTileByInterface(tmpSlab, refSlab, secondRefSlab,
-							zInt[j], rufInt[j]);
+				for (int j = 0; j < halfRough; j++) {
+					updateTileByInterface(tiles[nGlay++], refSlab,
+							secondRefSlab, zInt[j], rufInt[j]);
 				}
-				nGlay += numRough / 2 + 1;
 			}
 		}
 
-		// Evaluate substrate gradation
-		refSlab = slabs[slabs.length - 1];
-		secondRefSlab = slabs[slabs.length - 2];
-		for (int i = numRough / 2 + 1; i < numRough + 1; i++) {
-			tmpSlab = generatedSlabs[nGlay + i - numRough / 2 - 1];
-			updateTileByInterface(tmpSlab, secondRefSlab, refSlab, zInt[i],
-					rufInt[i]);
-		}
-		nGlay += numRough / 2 + 1;
-		// Handle the last layer
-		refSlab = slabs[slabs.length - 1];
-		tmpSlab = generatedSlabs[nGlay];
-		tmpSlab.scatteringLength = refSlab.scatteringLength;
-		tmpSlab.trueAbsLength = refSlab.trueAbsLength;
-		tmpSlab.incAbsLength = refSlab.incAbsLength;
-		tmpSlab.thickness = refSlab.thickness;
-		++nGlay;
-
-		return generatedSlabs;
+		return tiles;
+	}
+
+	/**
+	 * This operation creates an array of empty tiles.
+	 *
+	 * @param numTiles
+	 *            the number of tiles
+	 * @return the tiles
+	 */
+	private Tile[] createTiles(int numTiles) {
+		Tile[] tiles = new Tile[numTiles];
+		for (int i = 0; i < numTiles; i++) {
+			tiles[i] = new Slab();
+		}
+		return tiles;
+	}
+
+	/**
+	 * This operation copies the scattering length, absorption lengths and
+	 * thickness of a slab into a tile.
+	 *
+	 * @param slab
+	 *            the slab
+	 * @param tile
+	 *            the tile to update
+	 */
+	private void copySlab(Slab slab, Tile tile) {
+		tile.scatteringLength = slab.scatteringLength;
+		tile.trueAbsLength = slab.trueAbsLength;
+		tile.incAbsLength = slab.incAbsLength;
+		tile.thickness = slab.thickness;
+	}
+
+	/**
+	 * This operation stacks the tiles of each slab into a single array, from
+	 * the top of the system to the bottom.
+	 *
+	 * @param segments
+	 *            the tiles of each slab
+	 * @return the tiles of the system
+	 */
+	private Tile[] stackTiles(Tile[][] segments) {
+		int numTiles = 0;
+		for (Tile[] segment : segments) {
+			numTiles += segment.length;
+		}
+		Tile[] tiles = new Tile[numTiles];
+		int nGlay = 0;
+		for (Tile[] segment : segments) {
+			System.arraycopy(segment, 0, tiles, nGlay, segment.length);
+			nGlay += segment.length;
+		}
+		return tiles;
+	}
+
+	/**
+	 * This operation returns the tiles for a set of slabs that have already
+	 * been corrected for the incident medium. The tiles of the last set of
+	 * slabs are kept and only the slabs that changed since then, along with
+	 * their neighbors, are tiled again, so a sweep over one parameter of one
+	 * slab only regenerates a handful of tiles. The returned tiles are shared
+	 * with the cache and must not be modified.
+	 *
+	 * @param slabs
+	 *            the corrected slabs
+	 * @param numRough
+	 *            the number of ordinate steps, which must be odd
+	 * @param profile
+	 *            the interfacial profile, zInt and rufInt, for the number of
+	 *            layers of roughness requested by the caller
+	 * @return the tiles of the system
+	 * @throws MathException
+	 *             Thrown if the error function cannot be calculated
+	 */
+	private Tile[] getCachedTiles(Slab[] slabs, int numRough,
+			double[][] profile) throws MathException {
+
+		// Local Declarations
+		double[] zInt = profile[0], rufInt = profile[1];
+		double[][] slabValues = new double[slabs.length][];
+		boolean[] changed = new boolean[slabs.length];
+
+		synchronized (tileCache) {
+			// Anything cached for a different stack or profile is useless
+			boolean sameStack = tileCache.profile == profile
+					&& tileCache.segments != null
+					&& tileCache.segments.length == slabs.length;
+			boolean anyChanged = !sameStack;
+			for (int i = 0; i < slabs.length; i++) {
+				Slab slab = slabs[i];
+				slabValues[i] = new double[] { slab.scatteringLength,
+						slab.trueAbsLength, slab.incAbsLength, slab.thickness,
+						slab.interfaceWidth };
+				changed[i] = !sameStack || !Arrays.equals(slabValues[i],
+						tileCache.slabValues[i]);
+				anyChanged |= changed[i];
+			}
+
+			// Regenerate the tiles of every slab that changed or has a
+			// neighbor that changed
+			if (anyChanged) {
+				Tile[][] segments = sameStack ? tileCache.segments
+						: new Tile[slabs.length][];
+				double totalThickness = getTotalThickness(numRough, zInt);
+				for (int i = 0; i < slabs.length; i++) {
+					if (changed[i] || (i > 0 && changed[i - 1])
+							|| (i < slabs.length - 1 && changed[i + 1])) {
+						segments[i] = generateSlabTiles(slabs, i, numRough,
+								zInt, rufInt, totalThickness);
+					}
+				}
+				tileCache.profile = profile;
+				tileCache.slabValues = slabValues;
+				tileCache.segments = segments;
+				tileCache.tiles = stackTiles(segments);
+				tileCache.scatteringProfile = null;
+			}
+
+			return tileCache.tiles;
+		}
+	}
+
+	/**
+	 * This operation returns the interfacial profile for a number of layers of
+	 * roughness. Profiles are computed once and shared by all calculators, so
+	 * the arrays must not be modified.
+	 *
+	 * @param numRough
+	 *            the number of ordinate steps
+	 * @return the interfacial profile with zInt at index 0 and rufInt at index
+	 *         1
+	 * @throws MathException
+	 *             Thrown if the error function cannot be calculated
+	 */
+	private double[][] getCachedInterfacialProfile(int numRough)
+			throws MathException {
+
+		double[][] profile = interfacialProfiles.get(numRough);
+		if (profile == null) {
+			double[] zInt = new double[ReflectivityCalculator.maxRoughSize];
+			double[] rufInt = new double[ReflectivityCalculator.maxRoughSize];
+			getInterfacialProfile(numRough, zInt, rufInt);
+			profile = new double[][] { zInt, rufInt };
+			double[][] existingProfile = interfacialProfiles.putIfAbsent(
+					numRough, profile);
+			if (existingProfile != null) {
+				profile = existingProfile;
+			}
+		}
+
+		return profile;
+	}
+
+	/**
+	 * This operation returns the scattering density profile for a set of
+	 * tiles, reusing the last one if the tiles came from the cache and have
+	 * not changed since it was computed.
+	 *
+	 * @param tiles
+	 *            the set of tiles that define the material
+	 * @return The neutron scattering density profile.
+	 */
+	private ScatteringDensityProfile getCachedScatteringDensityProfile(
+			Tile[] tiles) {
+
+		synchronized (tileCache) {
+			if (tiles != tileCache.tiles) {
+				return getScatteringDensityProfile(tiles);
+			}
+			if (tileCache.scatteringProfile == null) {
+				tileCache.scatteringProfile = getScatteringDensityProfile(tiles);
+			}
+			return tileCache.scatteringProfile;
+		}
+	}
+
+	/**
+	 * This class holds the tiles generated for the last set of slabs passed
+	 * to getReflectivityProfile() along with the slab values they were
+	 * generated from.
+	 */
+	private static class TileCache {
+
+		/**
+		 * The interfacial profile used to generate the tiles.
+		 */
+		double[][] profile;
+
+		/**
+		 * The corrected scattering length, absorption lengths, thickness and
+		 * interface width of each slab.
+		 */
+		double[][] slabValues;
+
+		/**
+		 * The tiles of each slab.
+		 */
+		Tile[][] segments;
+
+		/**
+		 * The tiles of all of the slabs, stacked.
+		 */
+		Tile[] tiles;
+
+		/**
+		 * The scattering density profile of the tiles, or null if it has not
+		 * been computed.
+		 */
+		ScatteringDensityProfile scatteringProfile;
 	}
 
 	/**
@@ -633,8 +1116,34 @@ public class ReflectivityCalculator {
 	public double[] convoluteReflectivity(double deltaQ0, double deltaQ1ByQ,
 			double wavelength, boolean getRQ4, double[] waveVector, Tile[] tiles) {
 
+		double[] reflectivity = convoluteReflectivity(deltaQ0, deltaQ1ByQ,
+				wavelength, waveVector, tiles);
+
+		// Calculate RQ^4 if needed.
+		return getRQ4 ? getRQ4(waveVector, reflectivity) : reflectivity;
+	}
+
+	/**
+	 * This operation computes the convolution of the reflectivity with a
+	 * variable Gaussian resolution function. The perfect-resolution
+	 * reflectivity on the extended wave vector is computed in parallel.
+	 *
+	 * @param deltaQ0
+	 *            the zeroth order term of the Q resolution Taylor expansion
+	 * @param deltaQ1ByQ
+	 *            the first order term of the Q resolution Taylor expansion
+	 * @param wavelength
+	 *            the wavelength of the incident neutrons
+	 * @param waveVector
+	 *            the wave vector
+	 * @param tiles
+	 *            The tiles that define the layered structure of the materials.
+	 * @return the reflectivity
+	 */
+	private double[] convoluteReflectivity(double deltaQ0, double deltaQ1ByQ,
+			double wavelength, double[] waveVector, Tile[] tiles) {
+
 		// Local Declarations
-		double qEff = 0.0;
 		int numPoints = waveVector.length, numLowPoints = 0, numHighPoints = 0;
 		double[] reflectivity = new double[numPoints];
 
@@ -661,40 +1170,43 @@ public class ReflectivityCalculator {
 					+ waveVecStep * (i);
 		}
 
-		// Create a temporary array to hold the extended reflectivity.
-		double[] tempReflectivity = new double[numPoints + numLowPoints
-				+ numHighPoints];
-		// Generate reflectivity values for convolution.
-		// Calculate perfect-resolution reflectivity on extended wave vector
-		for (int i = 0; i < numPoints + numLowPoints + numHighPoints; i++) {
-			if (tempWaveVector[i] < 1.0e-10) {
-				qEff = 1.0e-10;
-			} else {
-				qEff = tempWaveVector[i];
-			}
-			tempReflectivity[i] = getModSqrdSpecRef(qEff, wavelength, tiles);
+		// Generate reflectivity values for convolution. Calculate the
+		// perfect-resolution reflectivity on the extended wave vector, with Q
+		// bounded away from zero.
+		double[] qEff = new double[tempWaveVector.length];
+		for (int i = 0; i < qEff.length; i++) {
+			qEff[i] = Math.max(tempWaveVector[i], 1.0e-10);
 		}
+		double[] tempReflectivity = getModSqrdSpecRef(qEff, wavelength, tiles);
 
 		// Convolve with instrumental resolution
 		convolute(tempWaveVector, deltaQ0, deltaQ1ByQ, wavelength, numPoints,
 				numLowPoints, numHighPoints, tempReflectivity);
 
 		// Transfer the results to the reflectivity array.
-		for (int i = 0; i < numPoints; i++) {
-			reflectivity[i] = tempReflectivity[i];
-		}
-		// Calculate RQ^4 if needed. FIXME! This is not covered by the current
-		// tests and should actually be a separate function!
-		if (getRQ4) {
-			for (int i = 0; i < numPoints; i++) {
-				reflectivity[i] = Math.pow(waveVector[i], 4.0)
-						* reflectivity[i];
-			}
-		}
+		System.arraycopy(tempReflectivity, 0, reflectivity, 0, numPoints);
 
 		return reflectivity;
 	}
 
+	/**
+	 * This operation scales a reflectivity by the fourth power of the wave
+	 * vector.
+	 *
+	 * @param waveVector
+	 *            the wave vector
+	 * @param reflectivity
+	 *            the reflectivity at each point of the wave vector
+	 * @return RQ^4 at each point of the wave vector
+	 */
+	private double[] getRQ4(double[] waveVector, double[] reflectivity) {
+		double[] rq4 = new double[reflectivity.length];
+		for (int i = 0; i < rq4.length; i++) {
+			rq4[i] = Math.pow(waveVector[i], 4.0) * reflectivity[i];
+		}
+		return rq4;
+	}
+
 	/**
 	 * This operation computes the neutron scattering density profile for a set
 	 * of tiles.
@@ -761,13 +1273,48 @@ public class ReflectivityCalculator {
 			int numRough, double deltaQ0, double deltaQ1ByQ, double wavelength,
 			double[] waveVector, boolean getRQ4) {
 
+		ReflectivityProfile profile = getReflectivityProfile(slabs, numRough,
+				deltaQ0, deltaQ1ByQ, wavelength, waveVector);
+
+		// Report RQ^4 as the reflectivity if it was requested
+		if (profile != null && getRQ4) {
+			profile.reflectivity = profile.rq4;
+		}
+
+		return profile;
+	}
+
+	/**
+	 * This operation returns the reflectivity profile for the given wave vector
+	 * and set of slabs that define the material. The reflectivity is computed
+	 * once and the profile holds both R and RQ^4.
+	 *
+	 * @param slabs
+	 *            the slabs that define the material
+	 * @param numRough
+	 *            the number of layers of roughness
+	 * @param deltaQ0
+	 *            the zeroth order term of the Q resolution Taylor expansion
+	 * @param deltaQ1ByQ
+	 *            the first order term of the Q resolution Taylor expansion
+	 * @param wavelength
+	 *            the wavelength of the incident neutrons
+	 * @param waveVector
+	 *            the wave vector
+	 * @return The reflectivity profile with both the reflectivity and RQ^4 as
+	 *         functions of the wave vector and the neutron scattering density
+	 *         as a function of depth, or null if the interfacial profile could
+	 *         not be generated.
+	 */
+	public ReflectivityProfile getReflectivityProfile(Slab[] slabs,
+			int numRough, double deltaQ0, double deltaQ1ByQ, double wavelength,
+			double[] waveVector) {
+
 		ReflectivityProfile profile = new ReflectivityProfile();
 
 		try {
-			// Generate the interfacial profile
-			double[] zInt = new double[ReflectivityCalculator.maxRoughSize];
-			double[] rufInt = new double[ReflectivityCalculator.maxRoughSize];
-			getInterfacialProfile(numRough, zInt, rufInt);
+			// Get the interfacial profile
+			double[][] interfacialProfile = getCachedInterfacialProfile(numRough);
 
 			// Correct the refractive indices for incident medium
 			double qCCorr = slabs[0].scatteringLength;
@@ -791,8 +1338,8 @@ public class ReflectivityCalculator {
 				tiles = slabs;
 			} else {
 				// Use the regular stepping function to generate the interfacial
-				// tiled layers
-				tiles = generateTiles(slabs, numRough, zInt, rufInt);
+				// tiled layers, reusing those of the slabs that did not change
+				tiles = getCachedTiles(slabs, numRough, interfacialProfile);
 			}
 
 			// Un-correct the refractive indices for incident medium
@@ -802,14 +1349,15 @@ public class ReflectivityCalculator {
 
 			// Calculate the reflectivities
 			double[] reflectivity = convoluteReflectivity(deltaQ0, deltaQ1ByQ,
-					wavelength, getRQ4, waveVector, tiles);
+					wavelength, waveVector, tiles);
 
 			// Get the scattering profile
-			ScatteringDensityProfile scatteringProfile = getScatteringDensityProfile(tiles);
+			ScatteringDensityProfile scatteringProfile = getCachedScatteringDensityProfile(tiles);
 
 			// Put everything into the reflectivity profile
 			profile.depth = scatteringProfile.depth;
 			profile.reflectivity = reflectivity;
+			profile.rq4 = getRQ4(waveVector, reflectivity);
 			profile.waveVector = waveVector;
 			profile.scatteringDensity = scatteringProfile.scatteringDensity;
 
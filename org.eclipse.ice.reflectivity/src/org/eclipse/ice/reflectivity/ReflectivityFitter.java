@@ -0,0 +1,632 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.reflectivity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class fits the free parameters of a stack of slabs to measured
+ * reflectivity data by minimizing the weighted sum of squares
+ * sum(((R - RData)/error)^2) with the Levenberg-Marquardt method. Parameters
+ * are kept within their bounds by projecting each step onto them.
+ *
+ * Because the least-squares surface of a reflectivity curve has many local
+ * minima, the fit is run from several starts at once. The first start is the
+ * current state of the slabs and the rest are drawn uniformly from the bounds
+ * with a fixed seed, so fits are repeatable. Each start runs on its own
+ * thread and the reflectivity for each trial runs in parallel across the wave
+ * vector on the ReflectivityCalculator's pool.
+ *
+ * Partial derivatives are taken by forward differences because the tiling of
+ * the interfaces and the resolution convolution have no convenient analytic
+ * form. The Jacobian is computed once per accepted step and reused while the
+ * damping is increased after rejected steps.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class ReflectivityFitter {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(ReflectivityFitter.class);
+
+	/**
+	 * The initial damping factor.
+	 */
+	private static final double initialLambda = 1.0e-3;
+
+	/**
+	 * The damping factor above which a start gives up on finding a better
+	 * step.
+	 */
+	private static final double maxLambda = 1.0e10;
+
+	/**
+	 * The relative size of the finite difference step.
+	 */
+	private static final double relativeStep = 1.0e-6;
+
+	/**
+	 * The slabs at the start of the fit. They are never modified.
+	 */
+	private final Slab[] slabs;
+
+	/**
+	 * The number of layers of roughness.
+	 */
+	private final int numRough;
+
+	/**
+	 * The zeroth order term of the Q resolution.
+	 */
+	private final double deltaQ0;
+
+	/**
+	 * The first order term of the Q resolution.
+	 */
+	private final double deltaQ1ByQ;
+
+	/**
+	 * The wavelength of the incident neutrons.
+	 */
+	private final double wavelength;
+
+	/**
+	 * The wave vector of the data.
+	 */
+	private final double[] waveVector;
+
+	/**
+	 * The measured reflectivity.
+	 */
+	private final double[] data;
+
+	/**
+	 * The weight, 1/error, of each measured point. Points without a positive
+	 * error have a weight of one.
+	 */
+	private final double[] weights;
+
+	/**
+	 * The number of starts.
+	 */
+	private int numStarts = 8;
+
+	/**
+	 * The largest number of accepted steps per start.
+	 */
+	private int maxIterations = 100;
+
+	/**
+	 * A start stops when an accepted step lowers its chi squared by less than
+	 * this fraction.
+	 */
+	private static final double tolerance = 1.0e-6;
+
+	/**
+	 * The seed for the random starts.
+	 */
+	private long seed = 0L;
+
+	/**
+	 * The listeners that follow the progress of the fit.
+	 */
+	private final List<IReflectivityFitListener> listeners = new CopyOnWriteArrayList<IReflectivityFitListener>();
+
+	/**
+	 * The lowest reduced chi squared found by any start of the current fit.
+	 */
+	private double bestChiSquared;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param slabs
+	 *            the slabs that define the material, with the starting values
+	 *            of the free parameters. They are copied.
+	 * @param numRough
+	 *            the number of layers of roughness
+	 * @param deltaQ0
+	 *            the zeroth order term of the Q resolution Taylor expansion
+	 * @param deltaQ1ByQ
+	 *            the first order term of the Q resolution Taylor expansion
+	 * @param wavelength
+	 *            the wavelength of the incident neutrons
+	 * @param waveVector
+	 *            the wave vector of the measured data
+	 * @param data
+	 *            the measured reflectivity at each point of the wave vector
+	 * @param error
+	 *            the error of each measured point
+	 */
+	public ReflectivityFitter(Slab[] slabs, int numRough, double deltaQ0,
+			double deltaQ1ByQ, double wavelength, double[] waveVector,
+			double[] data, double[] error) {
+		this.slabs = copy(slabs);
+		this.numRough = numRough;
+		this.deltaQ0 = deltaQ0;
+		this.deltaQ1ByQ = deltaQ1ByQ;
+		this.wavelength = wavelength;
+		this.waveVector = waveVector;
+		this.data = data;
+		weights = new double[error.length];
+		for (int i = 0; i < error.length; i++) {
+			weights[i] = (error[i] > 0.0) ? 1.0 / error[i] : 1.0;
+		}
+	}
+
+	/**
+	 * This operation sets the number of starts. The default is eight.
+	 *
+	 * @param numStarts
+	 *            the number of starts, which must be at least one
+	 */
+	public void setNumberOfStarts(int numStarts) {
+		if (numStarts > 0) {
+			this.numStarts = numStarts;
+		}
+	}
+
+	/**
+	 * This operation sets the largest number of accepted steps that each start
+	 * may take. The default is 100.
+	 *
+	 * @param maxIterations
+	 *            the number of steps, which must be at least one
+	 */
+	public void setMaxIterations(int maxIterations) {
+		if (maxIterations > 0) {
+			this.maxIterations = maxIterations;
+		}
+	}
+
+	/**
+	 * This operation sets the seed used to draw the random starts.
+	 *
+	 * @param seed
+	 *            the seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * This operation registers a listener for the progress of the fit.
+	 *
+	 * @param listener
+	 *            the listener
+	 */
+	public void addListener(IReflectivityFitListener listener) {
+		if (listener != null) {
+			listeners.add(listener);
+		}
+	}
+
+	/**
+	 * This operation unregisters a listener.
+	 *
+	 * @param listener
+	 *            the listener
+	 */
+	public void removeListener(IReflectivityFitListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * This operation fits the free parameters to the data.
+	 *
+	 * @param parameters
+	 *            the free parameters
+	 * @return the best result of all of the starts, or null if there are no
+	 *         parameters or no start could evaluate the reflectivity
+	 */
+	public FitResult fit(List<FitParameter> parameters) {
+
+		// Local Declarations
+		final FitParameter[] params = parameters
+				.toArray(new FitParameter[parameters.size()]);
+		FitResult best = null;
+
+		if (params.length == 0 || waveVector.length <= params.length) {
+			return null;
+		}
+		bestChiSquared = Double.MAX_VALUE;
+
+		// Choose the starting points
+		Random random = new Random(seed);
+		List<Callable<FitResult>> starts = new ArrayList<Callable<FitResult>>();
+		for (int i = 0; i < numStarts; i++) {
+			final int start = i;
+			final double[] values = new double[params.length];
+			for (int j = 0; j < params.length; j++) {
+				values[j] = (i == 0) ? params[j].clamp(params[j].getValue(slabs))
+						: params[j].getMin() + random.nextDouble()
+								* (params[j].getMax() - params[j].getMin());
+			}
+			starts.add(new Callable<FitResult>() {
+				@Override
+				public FitResult call() {
+					return fit(params, values, start);
+				}
+			});
+		}
+
+		// Run them all and keep the best
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(numStarts,
+				Runtime.getRuntime().availableProcessors()));
+		try {
+			for (Future<FitResult> future : pool.invokeAll(starts)) {
+				FitResult result = future.get();
+				if (result != null
+						&& (best == null || result.chiSquared < best.chiSquared)) {
+					best = result;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error(getClass().getName() + " Exception!", e);
+		} catch (ExecutionException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return best;
+	}
+
+	/**
+	 * This operation runs the Levenberg-Marquardt method from one start.
+	 *
+	 * @param params
+	 *            the free parameters
+	 * @param values
+	 *            the starting values of the parameters. This array is
+	 *            updated.
+	 * @param start
+	 *            the index of the start
+	 * @return the result of this start or null if the reflectivity could not
+	 *         be evaluated at the starting values
+	 */
+	private FitResult fit(FitParameter[] params, double[] values, int start) {
+
+		// Local Declarations
+		Slab[] trial = copy(slabs);
+		// Each start keeps its own calculator so that its tile cache only
+		// regenerates the slabs touched by the parameter that moved
+		ReflectivityCalculator calculator = new ReflectivityCalculator();
+		int numParams = params.length, numPoints = waveVector.length;
+		double[] residuals = getResiduals(calculator, trial, params, values);
+		double[][] jacobian = new double[numParams][];
+		double[][] alpha = new double[numParams][numParams];
+		double[] beta = new double[numParams];
+		double[] newValues = new double[numParams];
+		double lambda = initialLambda;
+		int iteration = 0;
+
+		if (residuals == null) {
+			return null;
+		}
+		double sumOfSquares = getSumOfSquares(residuals);
+
+		while (iteration < maxIterations) {
+
+			// Compute the Jacobian at the current values. Each column is the
+			// forward difference of the residuals for one parameter, stepping
+			// back instead if the forward step would leave the bounds.
+			for (int j = 0; j < numParams; j++) {
+				double h = relativeStep * Math.max(Math.abs(values[j]),
+						params[j].getMax() - params[j].getMin());
+				if (values[j] + h > params[j].getMax()) {
+					h = -h;
+				}
+				double saved = values[j];
+				values[j] += h;
+				double[] stepped = getResiduals(calculator, trial, params,
+						values);
+				values[j] = saved;
+				if (stepped == null) {
+					return getResult(values, sumOfSquares, start, iteration);
+				}
+				jacobian[j] = stepped;
+				for (int i = 0; i < numPoints; i++) {
+					jacobian[j][i] = (stepped[i] - residuals[i]) / h;
+				}
+			}
+
+			// Form the normal equations, alpha = J^T J and beta = -J^T r
+			for (int j = 0; j < numParams; j++) {
+				for (int k = 0; k <= j; k++) {
+					double sum = 0.0;
+					for (int i = 0; i < numPoints; i++) {
+						sum += jacobian[j][i] * jacobian[k][i];
+					}
+					alpha[j][k] = sum;
+					alpha[k][j] = sum;
+				}
+				double sum = 0.0;
+				for (int i = 0; i < numPoints; i++) {
+					sum -= jacobian[j][i] * residuals[i];
+				}
+				beta[j] = sum;
+			}
+
+			// Increase the damping until a step lowers the sum of squares,
+			// reusing the Jacobian for every try.
+			double[] newResiduals = null;
+			double newSumOfSquares = sumOfSquares;
+			while (lambda < maxLambda) {
+				double[] step = solveDamped(alpha, beta, lambda);
+				for (int j = 0; j < numParams; j++) {
+					newValues[j] = params[j].clamp(values[j] + step[j]);
+				}
+				newResiduals = getResiduals(calculator, trial, params,
+						newValues);
+				if (newResiduals != null) {
+					newSumOfSquares = getSumOfSquares(newResiduals);
+					if (newSumOfSquares < sumOfSquares) {
+						break;
+					}
+				}
+				lambda *= 10.0;
+			}
+
+			// Stop if no step helped
+			if (lambda >= maxLambda) {
+				break;
+			}
+
+			// Accept the step
+			double improvement = sumOfSquares - newSumOfSquares;
+			System.arraycopy(newValues, 0, values, 0, numParams);
+			residuals = newResiduals;
+			sumOfSquares = newSumOfSquares;
+			lambda = Math.max(lambda / 10.0, 1.0e-12);
+			iteration++;
+			notifyListeners(start, iteration, sumOfSquares, numParams);
+
+			// Stop if the step barely helped
+			if (improvement <= tolerance * sumOfSquares) {
+				break;
+			}
+		}
+
+		return getResult(values, sumOfSquares, start, iteration);
+	}
+
+	/**
+	 * This operation computes the weighted residuals, (R - RData)/error, of
+	 * the model with the given parameter values.
+	 *
+	 * @param calculator
+	 *            the calculator for this start
+	 * @param trial
+	 *            the slabs to configure and use for the calculation
+	 * @param params
+	 *            the free parameters
+	 * @param values
+	 *            the values of the free parameters
+	 * @return the residuals or null if the reflectivity could not be computed
+	 */
+	private double[] getResiduals(ReflectivityCalculator calculator,
+			Slab[] trial, FitParameter[] params, double[] values) {
+
+		// Local Declarations
+		double[] residuals = null;
+
+		// Configure the slabs
+		for (int i = 0; i < slabs.length; i++) {
+			copy(slabs[i], trial[i]);
+		}
+		for (int j = 0; j < params.length; j++) {
+			params[j].setValue(trial, values[j]);
+		}
+
+		// Compute the reflectivity
+		ReflectivityProfile profile = calculator.getReflectivityProfile(trial,
+				numRough, deltaQ0, deltaQ1ByQ, wavelength, waveVector);
+		if (profile != null) {
+			residuals = new double[waveVector.length];
+			for (int i = 0; i < residuals.length; i++) {
+				residuals[i] = (profile.reflectivity[i] - data[i]) * weights[i];
+			}
+		}
+
+		return residuals;
+	}
+
+	/**
+	 * This operation solves the damped normal equations, (alpha + lambda *
+	 * diag(alpha)) x = beta, by Gaussian elimination with partial pivoting.
+	 *
+	 * @param alpha
+	 *            the approximate Hessian, J^T J
+	 * @param beta
+	 *            the negative gradient, -J^T r
+	 * @param lambda
+	 *            the damping factor
+	 * @return the step
+	 */
+	private double[] solveDamped(double[][] alpha, double[] beta,
+			double lambda) {
+
+		// Local Declarations
+		int n = beta.length;
+		double[][] a = new double[n][n + 1];
+
+		// Build the augmented matrix. Parameters that do not change the
+		// residuals get a tiny diagonal so the system stays solvable.
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(alpha[i], 0, a[i], 0, n);
+			a[i][i] += lambda * Math.max(alpha[i][i], 1.0e-30);
+			a[i][n] = beta[i];
+		}
+
+		// Eliminate
+		for (int col = 0; col < n; col++) {
+			int pivot = col;
+			for (int row = col + 1; row < n; row++) {
+				if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+					pivot = row;
+				}
+			}
+			double[] swap = a[col];
+			a[col] = a[pivot];
+			a[pivot] = swap;
+			for (int row = col + 1; row < n; row++) {
+				double factor = a[row][col] / a[col][col];
+				for (int k = col; k <= n; k++) {
+					a[row][k] -= factor * a[col][k];
+				}
+			}
+		}
+
+		// Substitute back
+		double[] x = new double[n];
+		for (int row = n - 1; row >= 0; row--) {
+			double sum = a[row][n];
+			for (int k = row + 1; k < n; k++) {
+				sum -= a[row][k] * x[k];
+			}
+			x[row] = sum / a[row][row];
+		}
+
+		return x;
+	}
+
+	/**
+	 * This operation returns the sum of the squares of the residuals.
+	 *
+	 * @param residuals
+	 *            the residuals
+	 * @return the sum of squares
+	 */
+	private double getSumOfSquares(double[] residuals) {
+		double sum = 0.0;
+		for (double residual : residuals) {
+			sum += residual * residual;
+		}
+		return sum;
+	}
+
+	/**
+	 * This operation packages the result of a start.
+	 *
+	 * @param values
+	 *            the final parameter values
+	 * @param sumOfSquares
+	 *            the final sum of squares
+	 * @param start
+	 *            the index of the start
+	 * @param iterations
+	 *            the number of accepted steps
+	 * @return the result
+	 */
+	private FitResult getResult(double[] values, double sumOfSquares,
+			int start, int iterations) {
+		FitResult result = new FitResult();
+		result.values = values.clone();
+		result.chiSquared = getReducedChiSquared(sumOfSquares, values.length);
+		result.start = start;
+		result.iterations = iterations;
+		return result;
+	}
+
+	/**
+	 * This operation converts a sum of squares to a reduced chi squared.
+	 *
+	 * @param sumOfSquares
+	 *            the sum of squares
+	 * @param numParams
+	 *            the number of free parameters
+	 * @return the reduced chi squared
+	 */
+	private double getReducedChiSquared(double sumOfSquares, int numParams) {
+		return sumOfSquares / (waveVector.length - numParams);
+	}
+
+	/**
+	 * This operation notifies the listeners that a start took a step.
+	 *
+	 * @param start
+	 *            the index of the start
+	 * @param iteration
+	 *            the number of steps taken by the start
+	 * @param sumOfSquares
+	 *            the sum of squares after the step
+	 * @param numParams
+	 *            the number of free parameters
+	 */
+	private void notifyListeners(int start, int iteration,
+			double sumOfSquares, int numParams) {
+
+		// Local Declarations
+		double chiSquared = getReducedChiSquared(sumOfSquares, numParams);
+		double best;
+
+		synchronized (this) {
+			bestChiSquared = Math.min(bestChiSquared, chiSquared);
+			best = bestChiSquared;
+		}
+		for (IReflectivityFitListener listener : listeners) {
+			listener.fitProgressed(start, iteration, chiSquared, best);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation copies an array of slabs.
+	 *
+	 * @param source
+	 *            the slabs to copy
+	 * @return the copies
+	 */
+	private static Slab[] copy(Slab[] source) {
+		Slab[] copies = new Slab[source.length];
+		for (int i = 0; i < source.length; i++) {
+			copies[i] = new Slab();
+			copy(source[i], copies[i]);
+		}
+		return copies;
+	}
+
+	/**
+	 * This operation copies the values of one slab into another.
+	 *
+	 * @param source
+	 *            the slab to copy
+	 * @param destination
+	 *            the slab that receives the values
+	 */
+	private static void copy(Slab source, Slab destination) {
+		destination.scatteringLength = source.scatteringLength;
+		destination.trueAbsLength = source.trueAbsLength;
+		destination.incAbsLength = source.incAbsLength;
+		destination.thickness = source.thickness;
+		destination.interfaceWidth = source.interfaceWidth;
+	}
+
+}
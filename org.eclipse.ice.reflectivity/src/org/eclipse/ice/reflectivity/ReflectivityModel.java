@@ -16,8 +16,10 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -33,6 +35,9 @@ import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.datastructures.form.Material;
 import org.eclipse.ice.datastructures.form.ResourceComponent;
 import org.eclipse.ice.datastructures.resource.VizResource;
+import org.eclipse.ice.io.csv.DelimitedColumns;
+import org.eclipse.ice.io.csv.DelimitedReader;
+import org.eclipse.ice.io.serializable.IReader;
 import org.eclipse.ice.item.model.Model;
 import org.eclipse.ice.materials.IMaterialsDatabase;
 import org.eclipse.ice.materials.MaterialWritableTableFormat;
@@ -56,6 +61,12 @@ public class ReflectivityModel extends Model {
 	 */
 	private final String processActionName = "Calculate Reflectivity";
 
+	/**
+	 * The process action name for fitting the free material properties to the
+	 * data.
+	 */
+	private final String fitActionName = "Fit Reflectivity";
+
 	/**
 	 * The name for the wave vector entry.
 	 */
@@ -91,6 +102,35 @@ public class ReflectivityModel extends Model {
 	 */
 	private static final String ChiSquaredRQ4EntryName = "RQ^4 Chi Squared";
 
+	/**
+	 * The entry name for the number of fit starts.
+	 */
+	private static final String FitStartsEntryName = "Fit Starts";
+
+	/**
+	 * The entry name for the largest number of steps per fit start.
+	 */
+	private static final String FitIterationsEntryName = "Max Fit Iterations";
+
+	/**
+	 * The entry name for the progress of the fit.
+	 */
+	private static final String FitStatusEntryName = "Fit Status";
+
+	/**
+	 * The entry name for the reduced chi squared of the fit.
+	 */
+	private static final String FitChiSquaredEntryName = "Fit Chi Squared";
+
+	/**
+	 * The calculator used to process the Form. It is kept between calls so
+	 * that repeated calculations only regenerate the tiles of the layers that
+	 * changed. It is not persisted to XML because it only matters during
+	 * runtime.
+	 */
+	@XmlTransient
+	private final ReflectivityCalculator calculator = new ReflectivityCalculator();
+
 	/**
 	 * Identification number for the component that contains the parameters.
 	 */
@@ -149,24 +189,8 @@ public class ReflectivityModel extends Model {
 
 		if (actionName.equals(processActionName)) {
 
-			// Get the material list from the form.
-			ListComponent<Material> matList = (ListComponent<Material>) form
-					.getComponent(matListId);
-			ArrayList<Slab> slabs = new ArrayList<Slab>();
-
 			// Create the slabs from the materials
-			for (Material mat : matList) {
-				Slab slab = new Slab();
-				slab.thickness = mat.getProperty("Thickness (A)");
-				slab.interfaceWidth = mat.getProperty("Roughness (A)");
-				slab.scatteringLength = mat
-						.getProperty(Material.SCAT_LENGTH_DENSITY);
-				slab.trueAbsLength = mat
-						.getProperty(Material.MASS_ABS_COHERENT);
-				slab.incAbsLength = mat
-						.getProperty(Material.MASS_ABS_INCOHERENT);
-				slabs.add(slab);
-			}
+			Slab[] slabs = getSlabs();
 
 			// Get the roughness from the form.
 			int numRough = Integer
@@ -189,58 +213,26 @@ public class ReflectivityModel extends Model {
 							.retrieveEntry(WaveLengthEntryName).getValue());
 
 			// Get the wave vector, r data, and error bars from the file picker
-			// in the paramters
-			// component.
-			double[] waveVector;
-			double[] rData;
-			double[] error;
-			String fileName = ((DataComponent) form.getComponent(paramsCompId))
-					.retrieveEntry(WaveEntryName).getValue();
-
-			if (!fileName.isEmpty() && project.getFile(fileName).exists()) {
-
-				// Get the file that should have been pulled into the local
-				// project.
-				IFile userDataFile = project.getFile(fileName);
-
-				// Get the reader and read in the values.
-				Form dataForm = getIOService().getReader("space-delimited")
-						.read(userDataFile);
-				ListComponent<String[]> userData = (ListComponent<String[]>) dataForm
-						.getComponent(1);
-
-				// Pull the data from the form into an array.
-				waveVector = new double[userData.size()];
-				rData = new double[userData.size()];
-				error = new double[userData.size()];
-				for (int i = 0; i < userData.size(); i++) {
-					String[] dataLine = userData.get(i);
-					double waveDataPoint = Double.parseDouble(dataLine[0]);
-					waveVector[i] = waveDataPoint;
-					double rDataPoint = Double.parseDouble(dataLine[1]);
-					rData[i] = rDataPoint;
-					double errorDataPoint = Double.parseDouble(dataLine[2]);
-					error[i] = errorDataPoint;
-				}
+			// in the paramters component.
+			double[][] userData = readUserData();
 
-				// Calculate the reflectivity - first is regular R calculation
-				ReflectivityCalculator calculator = new ReflectivityCalculator();
-				ReflectivityProfile profile = calculator.getReflectivityProfile(
-						slabs.toArray(new Slab[slabs.size()]), numRough,
-						deltaQ0, deltaQ1ByQ, wavelength, waveVector, false);
+			if (userData != null) {
 
-				// The second profile is for the QR^4 data model
-				ReflectivityProfile rq4Profile = calculator
-						.getReflectivityProfile(
-								slabs.toArray(new Slab[slabs.size()]), numRough,
-								deltaQ0, deltaQ1ByQ, wavelength, waveVector,
-								true);
+				double[] waveVector = userData[0];
+				double[] rData = userData[1];
+				double[] error = userData[2];
+
+				// Calculate the reflectivity. The profile holds both R and the
+				// RQ^4 data model.
+				ReflectivityProfile profile = calculator.getReflectivityProfile(
+						slabs, numRough, deltaQ0, deltaQ1ByQ, wavelength,
+						waveVector);
 
 				// Get the data from the profile
 				double[] reflectivity = profile.reflectivity;
 				double[] scatDensity = profile.scatteringDensity;
 				double[] depth = profile.depth;
-				double[] rq4 = rq4Profile.reflectivity;
+				double[] rq4 = profile.rq4;
 				double[] rq4Data = new double[rq4.length];
 
 				// Get the chi squared analysis from the data and calculate rq4
@@ -433,6 +425,12 @@ public class ReflectivityModel extends Model {
 				}
 				retVal = FormStatus.Processed;
 			}
+		} else if (actionName.equals(fitActionName)) {
+			// Fit the free properties, then recalculate with the results
+			retVal = fit();
+			if (retVal.equals(FormStatus.Processed)) {
+				retVal = process(processActionName);
+			}
 			// Some other process action.
 		} else {
 			retVal = super.process(actionName);
@@ -442,6 +440,267 @@ public class ReflectivityModel extends Model {
 		return retVal;
 	}
 
+	/**
+	 * This operation fits the properties of the materials that are marked as
+	 * free to the user's data with a ReflectivityFitter. The progress of the
+	 * fit is streamed into the output component and the fitted values are
+	 * written back to the materials.
+	 *
+	 * @return Processed if the fit finished, InfoError otherwise
+	 */
+	private FormStatus fit() {
+
+		// Local Declarations
+		DataComponent params = (DataComponent) form.getComponent(paramsCompId);
+		final DataComponent output = (DataComponent) form
+				.getComponent(outputCompId);
+		ListComponent<Material> matList = (ListComponent<Material>) form
+				.getComponent(matListId);
+		List<FitParameter> fitParams = getFitParameters(matList);
+		double[][] userData = readUserData();
+
+		// Forms saved before fitting was added do not have the fit entries
+		if (params.retrieveEntry(FitStartsEntryName) == null
+				|| output.retrieveEntry(FitStatusEntryName) == null) {
+			logger.error("ReflectivityModel Error: This Form does not have "
+					+ "the entries needed for fitting.");
+			return FormStatus.InfoError;
+		}
+
+		// Make sure there is something to fit
+		if (fitParams.isEmpty() || userData == null) {
+			output.retrieveEntry(FitStatusEntryName).setValue(
+					"No free properties or no data. Give a property bounds by "
+							+ "setting its" + FitParameter.MIN_SUFFIX + " and"
+							+ FitParameter.MAX_SUFFIX + " columns.");
+			return FormStatus.InfoError;
+		}
+
+		// Read the settings of the fit. Report bad values in the status
+		// instead of failing.
+		int numRough, numStarts, maxIterations;
+		String entryName = RoughnessEntryName;
+		try {
+			numRough = getWholeNumber(params, entryName);
+			entryName = FitStartsEntryName;
+			numStarts = getWholeNumber(params, entryName);
+			entryName = FitIterationsEntryName;
+			maxIterations = getWholeNumber(params, entryName);
+		} catch (NumberFormatException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			output.retrieveEntry(FitStatusEntryName).setValue("The value of "
+					+ entryName + " must be a whole number, but it is \""
+					+ params.retrieveEntry(entryName).getValue() + "\".");
+			return FormStatus.InfoError;
+		}
+
+		// Configure the fitter
+		ReflectivityFitter fitter = new ReflectivityFitter(getSlabs(),
+				numRough,
+				Double.parseDouble(
+						params.retrieveEntry(deltaQ0EntryName).getValue()),
+				Double.parseDouble(
+						params.retrieveEntry(deltaQ1ByQEntryName).getValue()),
+				Double.parseDouble(
+						params.retrieveEntry(WaveLengthEntryName).getValue()),
+				userData[0], userData[1], userData[2]);
+		fitter.setNumberOfStarts(numStarts);
+		fitter.setMaxIterations(maxIterations);
+
+		// Stream the progress into the output component
+		fitter.addListener(new IReflectivityFitListener() {
+			@Override
+			public void fitProgressed(int start, int iteration,
+					double chiSquared, double bestChiSquared) {
+				output.retrieveEntry(FitStatusEntryName)
+						.setValue("Start " + (start + 1) + ", step "
+								+ iteration + ": chi squared = " + chiSquared);
+				output.retrieveEntry(FitChiSquaredEntryName)
+						.setValue(Double.toString(bestChiSquared));
+			}
+		});
+
+		// Fit
+		FitResult result = fitter.fit(fitParams);
+		if (result == null) {
+			output.retrieveEntry(FitStatusEntryName)
+					.setValue("The fit failed.");
+			return FormStatus.InfoError;
+		}
+
+		// Write the fitted values back to the materials
+		for (int i = 0; i < fitParams.size(); i++) {
+			FitParameter fitParam = fitParams.get(i);
+			matList.get(fitParam.getSlabIndex()).setProperty(
+					fitParam.getProperty().getMaterialProperty(),
+					result.values[i]);
+		}
+		output.retrieveEntry(FitStatusEntryName)
+				.setValue("Finished after " + result.iterations
+						+ " steps from start " + (result.start + 1) + ".");
+		output.retrieveEntry(FitChiSquaredEntryName)
+				.setValue(Double.toString(result.chiSquared));
+
+		return FormStatus.Processed;
+	}
+
+	/**
+	 * This operation reads a whole number from an entry. The entries that
+	 * hold counts are ContinuousEntries, so values like "10.0" are allowed
+	 * and rounded to the nearest whole number.
+	 *
+	 * @param params
+	 *            the component that holds the entry
+	 * @param entryName
+	 *            the name of the entry
+	 * @return the value of the entry, rounded
+	 * @throws NumberFormatException
+	 *             the value of the entry is not a number
+	 */
+	private static int getWholeNumber(DataComponent params, String entryName) {
+		double value = Double
+				.parseDouble(params.retrieveEntry(entryName).getValue());
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			throw new NumberFormatException(
+					entryName + " is not a finite number.");
+		}
+		return (int) Math.round(value);
+	}
+
+	/**
+	 * This operation creates the slabs from the materials on the Form.
+	 *
+	 * @return the slabs, one per material
+	 */
+	private Slab[] getSlabs() {
+
+		// Get the material list from the form.
+		ListComponent<Material> matList = (ListComponent<Material>) form
+				.getComponent(matListId);
+		Slab[] slabs = new Slab[matList.size()];
+
+		// Create the slabs from the materials
+		for (int i = 0; i < slabs.length; i++) {
+			Material mat = matList.get(i);
+			Slab slab = new Slab();
+			slab.thickness = mat.getProperty("Thickness (A)");
+			slab.interfaceWidth = mat.getProperty("Roughness (A)");
+			slab.scatteringLength = mat
+					.getProperty(Material.SCAT_LENGTH_DENSITY);
+			slab.trueAbsLength = mat.getProperty(Material.MASS_ABS_COHERENT);
+			slab.incAbsLength = mat.getProperty(Material.MASS_ABS_INCOHERENT);
+			slabs[i] = slab;
+		}
+
+		return slabs;
+	}
+
+	/**
+	 * This operation finds the material properties that are free to be fit.
+	 * A property is free if its maximum is greater than its minimum.
+	 *
+	 * @param matList
+	 *            the materials, one per slab
+	 * @return the free parameters
+	 */
+	private List<FitParameter> getFitParameters(
+			ListComponent<Material> matList) {
+
+		List<FitParameter> fitParams = new ArrayList<FitParameter>();
+
+		for (int i = 0; i < matList.size(); i++) {
+			Material mat = matList.get(i);
+			for (FitParameter.Property property : FitParameter.Property
+					.values()) {
+				String name = property.getMaterialProperty();
+				double min = mat.getProperty(name + FitParameter.MIN_SUFFIX);
+				double max = mat.getProperty(name + FitParameter.MAX_SUFFIX);
+				if (max > min) {
+					fitParams.add(new FitParameter(i, property, min, max));
+				}
+			}
+		}
+
+		return fitParams;
+	}
+
+	/**
+	 * This operation reads the wave vector, reflectivity and error columns of
+	 * the user's data file.
+	 *
+	 * @return the three columns or null if the file does not exist or could
+	 *         not be read
+	 */
+	private double[][] readUserData() {
+
+		// Local Declarations
+		double[] waveVector;
+		double[] rData;
+		double[] error;
+		String fileName = ((DataComponent) form.getComponent(paramsCompId))
+				.retrieveEntry(WaveEntryName).getValue();
+
+		if (fileName.isEmpty() || !project.getFile(fileName).exists()) {
+			return null;
+		}
+
+		// Get the file that should have been pulled into the local project.
+		IFile userDataFile = project.getFile(fileName);
+
+		// Get the reader and read the columns straight into arrays.
+		IReader reader = getIOService().getReader("space-delimited");
+		if (reader instanceof DelimitedReader) {
+			DelimitedColumns userData = ((DelimitedReader) reader)
+					.readColumns(userDataFile);
+			if (userData == null || userData.getNumberOfColumns() < 3) {
+				return null;
+			}
+			waveVector = userData.getDoubleColumn(0);
+			rData = userData.getDoubleColumn(1);
+			error = userData.getDoubleColumn(2);
+		} else {
+			Form dataForm = reader.read(userDataFile);
+			ListComponent<String[]> userData = (ListComponent<String[]>) dataForm
+					.getComponent(1);
+
+			// Pull the data from the form into an array.
+			waveVector = new double[userData.size()];
+			rData = new double[userData.size()];
+			error = new double[userData.size()];
+			for (int i = 0; i < userData.size(); i++) {
+				String[] dataLine = userData.get(i);
+				waveVector[i] = Double.parseDouble(dataLine[0]);
+				rData[i] = Double.parseDouble(dataLine[1]);
+				error[i] = Double.parseDouble(dataLine[2]);
+			}
+		}
+
+		return new double[][] { waveVector, rData, error };
+	}
+
+	/**
+	 * This operation returns the names of the material properties shown in the
+	 * table, including the bounds of the properties that can be fit.
+	 *
+	 * @return the property names
+	 */
+	private ArrayList<String> getMaterialPropertyNames() {
+
+		ArrayList<String> names = new ArrayList<String>();
+		names.add("Material ID");
+		names.add("Thickness (A)");
+		names.add("Roughness (A)");
+		names.add(Material.SCAT_LENGTH_DENSITY);
+		names.add(Material.MASS_ABS_COHERENT);
+		names.add(Material.MASS_ABS_INCOHERENT);
+		for (FitParameter.Property property : FitParameter.Property.values()) {
+			names.add(property.getMaterialProperty() + FitParameter.MIN_SUFFIX);
+			names.add(property.getMaterialProperty() + FitParameter.MAX_SUFFIX);
+		}
+
+		return names;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -510,17 +769,29 @@ public class ReflectivityModel extends Model {
 		waveEntry.setDescription("The wavelength of the neutron beam.");
 		paramComponent.addEntry(waveEntry);
 
-		// Configure a list of property names for the materials
-		ArrayList<String> names = new ArrayList<String>();
-		names.add("Material ID");
-		names.add("Thickness (A)");
-		names.add("Roughness (A)");
-		names.add(Material.SCAT_LENGTH_DENSITY);
-		names.add(Material.MASS_ABS_COHERENT);
-		names.add(Material.MASS_ABS_INCOHERENT);
+		// Add an entry for the number of fit starts
+		IEntry fitStartsEntry = new ContinuousEntry("1", "64");
+		fitStartsEntry.setDefaultValue("8");
+		fitStartsEntry.setValue("8");
+		fitStartsEntry.setId(6);
+		fitStartsEntry.setName(FitStartsEntryName);
+		fitStartsEntry.setDescription("The number of starting points, run in "
+				+ "parallel, used when fitting the free material properties.");
+		paramComponent.addEntry(fitStartsEntry);
+
+		// Add an entry for the number of fit steps
+		IEntry fitIterationsEntry = new ContinuousEntry("1", "10000");
+		fitIterationsEntry.setDefaultValue("100");
+		fitIterationsEntry.setValue("100");
+		fitIterationsEntry.setId(7);
+		fitIterationsEntry.setName(FitIterationsEntryName);
+		fitIterationsEntry.setDescription(
+				"The largest number of steps taken from each starting point.");
+		paramComponent.addEntry(fitIterationsEntry);
+
 		// Create the writable format to be used by the list
 		MaterialWritableTableFormat format = new MaterialWritableTableFormat(
-				names);
+				getMaterialPropertyNames());
 
 		// Create the list that will contain all of the material information
 		ListComponent<Material> matList = new ListComponent<Material>();
@@ -565,11 +836,27 @@ public class ReflectivityModel extends Model {
 				"The chi squared analysis for the rq^4 reflectivity profile.");
 		output.addEntry(chiSquaredrq4);
 
+		// Add an entry for the progress of the fit
+		IEntry fitStatus = new StringEntry();
+		fitStatus.setId(3);
+		fitStatus.setName(FitStatusEntryName);
+		fitStatus.setDescription("The progress of the fit.");
+		output.addEntry(fitStatus);
+
+		// Add an entry for the chi squared of the fit
+		IEntry fitChiSquared = new StringEntry();
+		fitChiSquared.setId(4);
+		fitChiSquared.setName(FitChiSquaredEntryName);
+		fitChiSquared.setDescription("The reduced chi squared, weighted by "
+				+ "the error bars, of the best fit so far.");
+		output.addEntry(fitChiSquared);
+
 		form.addComponent(output);
 
 		// Put the action name in the form so that the reflectivity can be
 		// calculated.
 		allowedActions.add(0, processActionName);
+		allowedActions.add(1, fitActionName);
 
 		return;
 	}
@@ -711,17 +998,9 @@ public class ReflectivityModel extends Model {
 		ListComponent<Material> matList = (ListComponent<Material>) form
 				.getComponent(matListId);
 
-		// Configure a list of property names for the materials
-		ArrayList<String> names = new ArrayList<String>();
-		names.add("Material ID");
-		names.add("Thickness (A)");
-		names.add("Roughness (A)");
-		names.add(Material.SCAT_LENGTH_DENSITY);
-		names.add(Material.MASS_ABS_COHERENT);
-		names.add(Material.MASS_ABS_INCOHERENT);
 		// Create the writable format to be used by the list
 		MaterialWritableTableFormat format = new MaterialWritableTableFormat(
-				names);
+				getMaterialPropertyNames());
 
 		// Set the table format
 		matList.setTableFormat(format);
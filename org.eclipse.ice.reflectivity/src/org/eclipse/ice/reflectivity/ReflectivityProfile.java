@@ -33,4 +33,7 @@ public class ReflectivityProfile extends ScatteringDensityProfile {
 	// The reflectivity at each point in the waveVector array.
 	public double[] reflectivity;
 
+	// The reflectivity scaled by Q^4 at each point in the waveVector array.
+	public double[] rq4;
+
 }
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemListener;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
@@ -502,6 +503,29 @@ public class FakeCore implements ICore {
 		return null;
 	}
 
+	@Override
+	public String postUpdateMessages(String messages) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public boolean subscribe(int itemId, IItemListener listener) {
+		// The FakeCore does not publish changes, so clients must poll it.
+		return false;
+	}
+
+	@Override
+	public void unsubscribe(int itemId, IItemListener listener) {
+		// TODO Auto-generated method stub
+	}
+
+	@Override
+	public String pollItemEvents(int itemId, String status, long offset) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
 	@Override
 	public String createItem(String itemType, IProject project) {
 		// TODO Auto-generated method stub
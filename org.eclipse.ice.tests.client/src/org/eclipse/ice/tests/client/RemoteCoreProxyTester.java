@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.eclipse.ice.client.internal.RemoteCoreProxy;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the RemoteCoreProxy against a small
+ * fake server.
+ *
+ * @author Jay Jay Billings
+ */
+public class RemoteCoreProxyTester {
+
+	/**
+	 * The fake server.
+	 */
+	private FakeServer server;
+
+	/**
+	 * The proxy under test, connected to the fake server.
+	 */
+	private RemoteCoreProxy proxy;
+
+	/**
+	 * This operation starts the server and connects the proxy to it.
+	 *
+	 * @throws IOException
+	 */
+	@Before
+	public void setUp() throws IOException {
+
+		server = new FakeServer();
+		server.start();
+
+		proxy = new RemoteCoreProxy();
+		proxy.setHost("localhost");
+		proxy.setPort(server.getPort());
+		assertEquals("1", proxy.connect());
+
+		return;
+	}
+
+	/**
+	 * This operation stops the server.
+	 *
+	 * @throws IOException
+	 */
+	@After
+	public void tearDown() throws IOException {
+		proxy.disconnect(1);
+		server.stop();
+	}
+
+	/**
+	 * This operation checks that a proxy that is not connected does not make
+	 * requests.
+	 */
+	@Test
+	public void checkDisconnected() {
+
+		RemoteCoreProxy disconnectedProxy = new RemoteCoreProxy();
+		assertNull(disconnectedProxy.getHost());
+		assertEquals(-1, disconnectedProxy.getPort());
+		assertEquals("-1", disconnectedProxy.connect());
+		assertNull(disconnectedProxy.getItem(1));
+		assertNull(disconnectedProxy.getItemStatus(1));
+		assertNull(disconnectedProxy.processItem(1, "Process", 1));
+		assertFalse(disconnectedProxy.subscribe(1, null));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that Forms are cached by their ETags and that
+	 * the cached copy is used as long as the server says it is current.
+	 *
+	 * @throws JAXBException
+	 */
+	@Test
+	public void checkFormCaching() throws JAXBException {
+
+		// Serve a Form
+		Form form = new Form();
+		form.setName("Remote Form");
+		form.setDescription("A Form served by the fake server");
+		form.setId(1);
+		server.setForm(form);
+
+		// The first request has no tag and gets the Form
+		Form firstForm = proxy.getItem(1);
+		assertNotNull(firstForm);
+		assertEquals(form, firstForm);
+		assertNull(server.lastTag);
+		assertEquals(200, server.lastStatus);
+
+		// The second sends the tag, gets 304 and returns a copy of the cache
+		Form secondForm = proxy.getItem(1);
+		assertEquals(server.tag, server.lastTag);
+		assertEquals(304, server.lastStatus);
+		assertEquals(form, secondForm);
+		assertFalse(firstForm == secondForm);
+
+		// Changing the copy that was returned must not change the cache
+		secondForm.setDescription("Changed by the client");
+		assertEquals(form, proxy.getItem(1));
+
+		// Once the Form changes on the server, the new Form is returned
+		String oldTag = server.tag;
+		form.setDescription("Changed on the server");
+		server.setForm(form);
+		Form thirdForm = proxy.getItem(1);
+		assertEquals(oldTag, server.lastTag);
+		assertEquals(200, server.lastStatus);
+		assertEquals(form, thirdForm);
+
+		// Unknown Items are null
+		assertNull(proxy.getItem(2));
+
+		return;
+	}
+
+	/**
+	 * This operation checks the requests that return a FormStatus.
+	 */
+	@Test
+	public void checkStatusRequests() {
+
+		assertEquals(FormStatus.Processed, proxy.getItemStatus(1));
+
+		// Bad statuses and failed requests are null
+		assertNull(proxy.processItem(1, "Process", 1));
+		assertNull(proxy.getItemStatus(2));
+
+		return;
+	}
+
+	/**
+	 * A fake ICE server that answers a few requests on one thread, closing
+	 * the connection after every response.
+	 */
+	private static class FakeServer implements Runnable {
+
+		/**
+		 * The socket of the server.
+		 */
+		private final ServerSocket serverSocket;
+
+		/**
+		 * The XML of the Form served for Item 1.
+		 */
+		private volatile byte[] formXML;
+
+		/**
+		 * The ETag of the Form served for Item 1.
+		 */
+		private volatile String tag;
+
+		/**
+		 * The If-None-Match header of the last request for Item 1.
+		 */
+		private volatile String lastTag;
+
+		/**
+		 * The status of the last response for Item 1.
+		 */
+		private volatile int lastStatus;
+
+		/**
+		 * The Constructor
+		 *
+		 * @throws IOException
+		 */
+		private FakeServer() throws IOException {
+			serverSocket = new ServerSocket(0);
+		}
+
+		/**
+		 * This operation returns the port of the server.
+		 *
+		 * @return The port
+		 */
+		private int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		/**
+		 * This operation sets the Form served for Item 1 and tags it.
+		 *
+		 * @param form
+		 *            The Form
+		 * @throws JAXBException
+		 */
+		private void setForm(Form form) throws JAXBException {
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			JAXBContext.newInstance(Form.class).createMarshaller()
+					.marshal(form, stream);
+			formXML = stream.toByteArray();
+			tag = "\"" + Integer.toHexString(form.getDescription().hashCode())
+					+ "\"";
+		}
+
+		/**
+		 * This operation starts the server thread.
+		 */
+		private void start() {
+			Thread thread = new Thread(this, "Fake ICE Server");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		/**
+		 * This operation stops the server.
+		 *
+		 * @throws IOException
+		 */
+		private void stop() throws IOException {
+			serverSocket.close();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			while (!serverSocket.isClosed()) {
+				try (Socket socket = serverSocket.accept()) {
+					handle(socket);
+				} catch (IOException e) {
+					// The server was stopped or the client went away
+				}
+			}
+		}
+
+		/**
+		 * This operation answers a single request.
+		 *
+		 * @param socket
+		 *            The connection to the client
+		 * @throws IOException
+		 */
+		private void handle(Socket socket) throws IOException {
+
+			// Read the request line and the headers
+			BufferedReader reader = new BufferedReader(new InputStreamReader(
+					socket.getInputStream(), StandardCharsets.US_ASCII));
+			String requestLine = reader.readLine();
+			if (requestLine == null) {
+				return;
+			}
+			String path = requestLine.split(" ")[1];
+			int queryStart = path.indexOf('?');
+			if (queryStart >= 0) {
+				path = path.substring(0, queryStart);
+			}
+			String clientTag = null;
+			String line;
+			while ((line = reader.readLine()) != null && !line.isEmpty()) {
+				int colon = line.indexOf(':');
+				if (colon > 0 && "If-None-Match"
+						.equalsIgnoreCase(line.substring(0, colon).trim())) {
+					clientTag = line.substring(colon + 1).trim();
+				}
+			}
+
+			// Answer it
+			OutputStream stream = socket.getOutputStream();
+			if ("/ice".equals(path)) {
+				respond(stream, 200, "text/plain", null, bytes("1"));
+			} else if ("/ice/items/1".equals(path) && formXML != null) {
+				lastTag = clientTag;
+				if (tag.equals(clientTag)) {
+					lastStatus = 304;
+					respond(stream, 304, null, tag, null);
+				} else {
+					lastStatus = 200;
+					respond(stream, 200, "application/xml", tag, formXML);
+				}
+			} else if ("/ice/items/1/status".equals(path)) {
+				respond(stream, 200, "text/plain", null, bytes("Processed"));
+			} else if ("/ice/items/1/process".equals(path)) {
+				respond(stream, 200, "text/plain", null, bytes("Finished"));
+			} else {
+				respond(stream, 404, null, null, null);
+			}
+
+			return;
+		}
+
+		/**
+		 * This operation writes a response.
+		 *
+		 * @param stream
+		 *            The stream to the client
+		 * @param status
+		 *            The status code
+		 * @param type
+		 *            The content type or null if there is no body
+		 * @param eTag
+		 *            The ETag or null if the response is not tagged
+		 * @param body
+		 *            The body or null if there is none
+		 * @throws IOException
+		 */
+		private void respond(OutputStream stream, int status, String type,
+				String eTag, byte[] body) throws IOException {
+			StringBuilder headers = new StringBuilder();
+			headers.append("HTTP/1.1 ").append(status).append(" Fake\r\n");
+			if (type != null) {
+				headers.append("Content-Type: ").append(type).append("\r\n");
+			}
+			if (eTag != null) {
+				headers.append("ETag: ").append(eTag).append("\r\n");
+			}
+			headers.append("Content-Length: ")
+					.append(body != null ? body.length : 0).append("\r\n");
+			headers.append("Connection: close\r\n\r\n");
+			stream.write(bytes(headers.toString()));
+			if (body != null) {
+				stream.write(body);
+			}
+			stream.flush();
+		}
+
+		/**
+		 * This operation returns the ASCII bytes of a string.
+		 *
+		 * @param string
+		 *            The string
+		 * @return The bytes
+		 */
+		private static byte[] bytes(String string) {
+			return string.getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+}
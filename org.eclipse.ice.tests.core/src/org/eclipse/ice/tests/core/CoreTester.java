@@ -572,8 +572,18 @@ public class CoreTester {
 
 		// Make sure posting a valid message works
 		assertEquals("OK", iCECore.postUpdateMessage(msg));
-		// Get the FakeItem and make sure it was updated
-		assertTrue(fakeGeometryBuilder.getLastFakeItem().wasUpdated());
+		// Get the FakeItem and make sure it was updated. The update is
+		// delivered asynchronously, so give it some time.
+		FakeItem fakeItem = fakeGeometryBuilder.getLastFakeItem();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!fakeItem.wasUpdated() && System.currentTimeMillis() < deadline) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				fail();
+			}
+		}
+		assertTrue(fakeItem.wasUpdated());
 
 		// Make sure posting a null message fails
 		assertNull(iCECore.postUpdateMessage(null));
@@ -581,6 +591,18 @@ public class CoreTester {
 		// Make sure posting a message without json content fails
 		assertNull(iCECore.postUpdateMessage("not&realContent"));
 
+		// Make sure posting a batch of posts and points as plain json works
+		String batch = "{\"item_id\":\"" + id + "\", "
+				+ "\"posts\":[{\"type\":\"UPDATER_STARTED\",\"message\":\"\"}], "
+				+ "\"points\":[{\"name\":\"pp\",\"time\":0.1,\"value\":2.0},"
+				+ "{\"name\":\"pp\",\"time\":0.2,\"value\":3.0}]}";
+		assertEquals("OK", iCECore.postUpdateMessages(batch));
+
+		// Make sure posting an empty or invalid batch fails
+		assertNull(iCECore.postUpdateMessages(null));
+		assertNull(iCECore.postUpdateMessages("{\"item_id\":\"" + id + "\"}"));
+		assertNull(iCECore.postUpdateMessages("not json"));
+
 		return;
 	}
 
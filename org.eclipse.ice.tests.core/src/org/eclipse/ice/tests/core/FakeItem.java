@@ -77,7 +77,7 @@ public class FakeItem extends Item {
 	 * </p>
 	 *
 	 */
-	private boolean updated = false;
+	private volatile boolean updated = false;
 
 	/**
 	 * <p>
@@ -19,6 +19,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.ice.item.Item;
 import org.eclipse.ice.item.persistence.IPersistenceProvider;
+import org.eclipse.ice.item.persistence.ItemSummary;
 
 /**
  * This is a fake implementation of the persistence interface and it is used for
@@ -58,6 +59,17 @@ public class FakePersistenceProvider implements IPersistenceProvider {
 	private volatile boolean deleted = false;
 
 	private volatile boolean renamed = false;
+
+	/**
+	 * True if the provider should summarize its Items instead of loading them
+	 * in bulk, false otherwise.
+	 */
+	private volatile boolean summarize = false;
+
+	/**
+	 * The number of individual Items loaded by id.
+	 */
+	private volatile int numItemsLoaded = 0;
 	
 	/**
 	 * <p>
@@ -86,7 +98,29 @@ public class FakePersistenceProvider implements IPersistenceProvider {
 		updated = false;
 		deleted = false;
 		renamed = false;
+		numItemsLoaded = 0;
+
+	}
 
+	/**
+	 * This operation directs the provider to summarize its Items instead of
+	 * loading them in bulk.
+	 *
+	 * @param enabled
+	 *            True if the Items should be summarized, false otherwise.
+	 */
+	public void setSummariesEnabled(boolean enabled) {
+		summarize = enabled;
+	}
+
+	/**
+	 * This operation returns the number of individual Items that were loaded
+	 * by id since the last reset.
+	 *
+	 * @return The number of Items loaded by id
+	 */
+	public int getNumItemsLoaded() {
+		return numItemsLoaded;
 	}
 
 	/**
@@ -136,8 +170,17 @@ public class FakePersistenceProvider implements IPersistenceProvider {
 	 */
 	@Override
 	public Item loadItem(int itemID) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Only the summarized Items can be loaded
+		FakeItem item = null;
+		if (summarize && (itemID == 1 || itemID == 3)) {
+			item = new FakeItem(null);
+			item.setId(itemID);
+			item.setName("Fake " + itemID);
+			numItemsLoaded++;
+		}
+
+		return item;
 	}
 
 	/**
@@ -192,6 +235,28 @@ public class FakePersistenceProvider implements IPersistenceProvider {
 		return items;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see IPersistenceProvider#loadItemSummaries()
+	 */
+	@Override
+	public ArrayList<ItemSummary> loadItemSummaries() {
+
+		// Local Declarations
+		ArrayList<ItemSummary> summaries = null;
+
+		// Describe the same Items that loadItems() returns
+		if (summarize) {
+			summaries = new ArrayList<ItemSummary>();
+			summaries.add(new ItemSummary(1, "Fake 1", null, null));
+			summaries.add(new ItemSummary(3, "Fake 3", null, null));
+			loaded = true;
+		}
+
+		return summaries;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 *
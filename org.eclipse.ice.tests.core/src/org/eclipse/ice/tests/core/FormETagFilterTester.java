@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.eclipse.ice.core.internal.FormETagFilter;
+import org.eclipse.ice.datastructures.form.Form;
+import org.junit.Test;
+
+import com.sun.jersey.core.header.InBoundHeaders;
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerResponse;
+
+/**
+ * This class is responsible for testing the FormETagFilter.
+ *
+ * @author Jay Jay Billings
+ */
+public class FormETagFilterTester {
+
+	/**
+	 * The filter under test.
+	 */
+	private final FormETagFilter filter = new FormETagFilter();
+
+	/**
+	 * This operation checks that a Form is tagged, that a request with the
+	 * same tag gets 304 Not Modified and that the tag changes with the Form.
+	 *
+	 * @throws JAXBException
+	 */
+	@Test
+	public void checkTagging() throws JAXBException {
+
+		// Create a Form
+		Form form = new Form();
+		form.setName("ETag Form");
+		form.setDescription("A Form for the ETag test");
+		form.setId(1);
+
+		// Get it without a tag. It should be tagged and written as XML.
+		ContainerResponse response = filter(createRequest("GET", null), form);
+		assertEquals(200, response.getStatus());
+		String tag = getTag(response);
+		assertNotNull(tag);
+		assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+		assertEquals(MediaType.APPLICATION_XML_TYPE, response.getHttpHeaders()
+				.getFirst(HttpHeaders.CONTENT_TYPE));
+		assertTrue(response.getEntity() instanceof byte[]);
+		Form readForm = (Form) JAXBContext.newInstance(Form.class)
+				.createUnmarshaller().unmarshal(new ByteArrayInputStream(
+						(byte[]) response.getEntity()));
+		assertEquals(form, readForm);
+
+		// Getting it again should give the same tag
+		response = filter(createRequest("GET", null), form);
+		assertEquals(tag, getTag(response));
+
+		// A client with that tag should get 304 and no body
+		response = filter(createRequest("GET", tag), form);
+		assertEquals(304, response.getStatus());
+		assertNull(response.getEntity());
+		assertEquals(tag, getTag(response));
+
+		// Once the Form changes, the old tag should get the new Form
+		form.setDescription("A changed Form for the ETag test");
+		response = filter(createRequest("GET", tag), form);
+		assertEquals(200, response.getStatus());
+		String newTag = getTag(response);
+		assertNotNull(newTag);
+		assertFalse(tag.equals(newTag));
+		assertTrue(response.getEntity() instanceof byte[]);
+
+		// And the new tag should get 304 again
+		response = filter(createRequest("GET", newTag), form);
+		assertEquals(304, response.getStatus());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the filter leaves alone the responses that
+	 * are not successful GET requests for Forms.
+	 */
+	@Test
+	public void checkIgnoredResponses() {
+
+		Form form = new Form();
+		form.setName("Ignored Form");
+
+		// Other methods are not tagged
+		ContainerResponse response = filter(createRequest("PUT", null), form);
+		assertNull(getTag(response));
+		assertTrue(response.getEntity() == form);
+
+		// Other entities are not tagged
+		response = filter(createRequest("GET", null), "Processed");
+		assertNull(getTag(response));
+		assertEquals("Processed", response.getEntity());
+
+		// Failed requests are not tagged
+		ContainerRequest request = createRequest("GET", null);
+		response = new ContainerResponse(null, request, null);
+		response.setStatus(404);
+		response.setEntity(form);
+		response = filter.filter(request, response);
+		assertEquals(404, response.getStatus());
+		assertNull(getTag(response));
+
+		return;
+	}
+
+	/**
+	 * This operation creates a request for an Item's Form.
+	 *
+	 * @param method
+	 *            The HTTP method
+	 * @param tag
+	 *            The value of the If-None-Match header or null if it should
+	 *            not be set
+	 * @return The request
+	 */
+	private ContainerRequest createRequest(String method, String tag) {
+		InBoundHeaders headers = new InBoundHeaders();
+		if (tag != null) {
+			headers.putSingle(HttpHeaders.IF_NONE_MATCH, tag);
+		}
+		return new ContainerRequest(null, method,
+				URI.create("http://localhost:8080/ice/"),
+				URI.create("http://localhost:8080/ice/items/1"), headers,
+				new ByteArrayInputStream(new byte[0]));
+	}
+
+	/**
+	 * This operation runs a successful response with the entity through the
+	 * filter.
+	 *
+	 * @param request
+	 *            The request
+	 * @param entity
+	 *            The entity of the response
+	 * @return The filtered response
+	 */
+	private ContainerResponse filter(ContainerRequest request, Object entity) {
+		ContainerResponse response = new ContainerResponse(null, request,
+				null);
+		response.setStatus(200);
+		response.setEntity(entity);
+		return filter.filter(request, response);
+	}
+
+	/**
+	 * This operation returns the ETag of a response.
+	 *
+	 * @param response
+	 *            The response
+	 * @return The tag or null if the response is not tagged
+	 */
+	private String getTag(ContainerResponse response) {
+		Object tag = response.getHttpHeaders().getFirst(HttpHeaders.ETAG);
+		return (tag != null) ? tag.toString() : null;
+	}
+
+}
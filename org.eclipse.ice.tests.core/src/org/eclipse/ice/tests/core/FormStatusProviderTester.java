@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+
+import org.eclipse.ice.core.internal.FormStatusProvider;
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the FormStatusProvider.
+ *
+ * @author Jay Jay Billings
+ */
+public class FormStatusProviderTester {
+
+	/**
+	 * The provider under test.
+	 */
+	private final FormStatusProvider provider = new FormStatusProvider();
+
+	/**
+	 * No annotations, for the calls that require them.
+	 */
+	private final Annotation[] annotations = new Annotation[0];
+
+	/**
+	 * This operation checks that the provider only handles FormStatus.
+	 */
+	@Test
+	public void checkTypes() {
+		assertTrue(provider.isWriteable(FormStatus.class, FormStatus.class,
+				annotations, MediaType.TEXT_PLAIN_TYPE));
+		assertTrue(provider.isReadable(FormStatus.class, FormStatus.class,
+				annotations, MediaType.TEXT_PLAIN_TYPE));
+		assertFalse(provider.isWriteable(String.class, String.class,
+				annotations, MediaType.TEXT_PLAIN_TYPE));
+		assertFalse(provider.isReadable(String.class, String.class,
+				annotations, MediaType.TEXT_PLAIN_TYPE));
+	}
+
+	/**
+	 * This operation checks that every FormStatus is written as its name and
+	 * read back.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkReadingAndWriting() throws IOException {
+
+		for (FormStatus status : FormStatus.values()) {
+			// Write it
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			provider.writeTo(status, FormStatus.class, FormStatus.class,
+					annotations, MediaType.TEXT_PLAIN_TYPE, null, stream);
+			byte[] bytes = stream.toByteArray();
+			assertEquals(status.name(),
+					new String(bytes, StandardCharsets.US_ASCII));
+			assertEquals(bytes.length, provider.getSize(status,
+					FormStatus.class, FormStatus.class, annotations,
+					MediaType.TEXT_PLAIN_TYPE));
+
+			// Read it back
+			assertEquals(status, read(bytes));
+		}
+
+		// Surrounding whitespace should be ignored
+		assertEquals(FormStatus.Processed, read(" Processed\r\n"
+				.getBytes(StandardCharsets.US_ASCII)));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that reading something that is not a FormStatus
+	 * is rejected as a bad request.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkBadStatus() throws IOException {
+
+		try {
+			read("Finished".getBytes(StandardCharsets.US_ASCII));
+			fail("FormStatusProviderTester: A bad status was read.");
+		} catch (WebApplicationException e) {
+			assertEquals(400, e.getResponse().getStatus());
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation reads a FormStatus with the provider.
+	 *
+	 * @param bytes
+	 *            The body of the request
+	 * @return The FormStatus
+	 * @throws IOException
+	 */
+	private FormStatus read(byte[] bytes) throws IOException {
+		return provider.readFrom(FormStatus.class, FormStatus.class,
+				annotations, MediaType.TEXT_PLAIN_TYPE, null,
+				new ByteArrayInputStream(bytes));
+	}
+
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.core.iCore.IItemListener;
+import org.eclipse.ice.core.internal.ItemEventPublisher;
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the ItemEventPublisher.
+ *
+ * @author Jay Jay Billings
+ */
+public class ItemEventPublisherTester {
+
+	/**
+	 * An ItemSource with a single Item whose status can be changed.
+	 */
+	private static class FakeSource implements ItemEventPublisher.ItemSource {
+
+		/**
+		 * The status of the Item.
+		 */
+		private volatile FormStatus status = FormStatus.Processing;
+
+		/**
+		 * The output file of the Item.
+		 */
+		private final File outputFile;
+
+		/**
+		 * The Constructor
+		 *
+		 * @param outputFile
+		 *            The output file of the Item
+		 */
+		private FakeSource(File outputFile) {
+			this.outputFile = outputFile;
+		}
+
+		@Override
+		public FormStatus getStatus(int itemId) {
+			return (itemId == 1) ? status : null;
+		}
+
+		@Override
+		public File getOutputFile(int itemId) {
+			return (itemId == 1) ? outputFile : null;
+		}
+	}
+
+	/**
+	 * A listener that records the events that it is given as strings.
+	 */
+	private static class RecordingListener implements IItemListener {
+
+		/**
+		 * The events.
+		 */
+		private final List<String> events = new ArrayList<String>();
+
+		@Override
+		public synchronized void statusChanged(int itemId, FormStatus status) {
+			events.add("status:" + status);
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void outputAppended(int itemId, String text) {
+			events.add("output:" + text);
+			notifyAll();
+		}
+
+		/**
+		 * This operation waits until the listener has a number of events.
+		 *
+		 * @param count
+		 *            The number of events
+		 * @throws InterruptedException
+		 */
+		private synchronized void waitFor(int count)
+				throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while (events.size() < count
+					&& System.currentTimeMillis() < deadline) {
+				wait(50);
+			}
+		}
+	}
+
+	/**
+	 * This operation appends text to a file.
+	 *
+	 * @param file
+	 *            The file
+	 * @param text
+	 *            The text
+	 * @throws IOException
+	 */
+	private void append(File file, String text) throws IOException {
+		try (FileWriter writer = new FileWriter(file, true)) {
+			writer.write(text);
+		}
+	}
+
+	/**
+	 * This operation checks that subscribers are told the status and given the
+	 * output right away, that only whole lines are published while the Item is
+	 * running and that the rest is published before the final status.
+	 *
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkSubscription() throws IOException, InterruptedException {
+
+		File outputFile = File.createTempFile("itemEvents", ".txt");
+		outputFile.deleteOnExit();
+		append(outputFile, "line 1\n");
+		FakeSource source = new FakeSource(outputFile);
+		ItemEventPublisher publisher = new ItemEventPublisher(source);
+
+		// Subscribe and check the first events
+		RecordingListener listener = new RecordingListener();
+		publisher.subscribe(1, listener);
+		listener.waitFor(2);
+		synchronized (listener) {
+			assertEquals(2, listener.events.size());
+			assertEquals("output:line 1\n", listener.events.get(0));
+			assertEquals("status:Processing", listener.events.get(1));
+		}
+
+		// Write a line and a half. Only the whole line should be published.
+		append(outputFile, "line 2\nline");
+		publisher.poke(1);
+		listener.waitFor(3);
+		synchronized (listener) {
+			assertEquals(3, listener.events.size());
+			assertEquals("output:line 2\n", listener.events.get(2));
+		}
+
+		// Finish the Item. The rest of the line comes before the status.
+		append(outputFile, " 3");
+		source.status = FormStatus.Processed;
+		publisher.poke(1);
+		listener.waitFor(5);
+		synchronized (listener) {
+			assertEquals(5, listener.events.size());
+			assertEquals("output:line 3", listener.events.get(3));
+			assertEquals("status:Processed", listener.events.get(4));
+		}
+
+		// Unsubscribe and make sure nothing else is published
+		publisher.unsubscribe(1, listener);
+		source.status = FormStatus.ReadyToProcess;
+		publisher.poke(1);
+		Thread.sleep(100);
+		synchronized (listener) {
+			assertEquals(5, listener.events.size());
+		}
+
+		publisher.shutdown();
+
+		return;
+	}
+
+	/**
+	 * This operation checks that long-poll requests return the differences
+	 * from what the client has seen, or nothing when they time out.
+	 *
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkLongPoll() throws IOException, InterruptedException {
+
+		final File outputFile = File.createTempFile("itemEvents", ".txt");
+		outputFile.deleteOnExit();
+		append(outputFile, "first\n");
+		FakeSource source = new FakeSource(outputFile);
+		ItemEventPublisher publisher = new ItemEventPublisher(source);
+
+		// A client that has seen nothing gets everything right away
+		ItemEventPublisher.Update update = publisher.awaitUpdate(1, null, 0,
+				5000);
+		assertEquals(FormStatus.Processing, update.getStatus());
+		assertEquals(6, update.getOffset());
+		assertTrue(update.getOutput().startsWith("first\n"));
+
+		// A client that has seen everything times out with nothing
+		long start = System.currentTimeMillis();
+		update = publisher.awaitUpdate(1, FormStatus.Processing, 6, 200);
+		assertTrue(System.currentTimeMillis() - start >= 150);
+		assertEquals(FormStatus.Processing, update.getStatus());
+		assertEquals(6, update.getOffset());
+		assertEquals("", update.getOutput());
+
+		// A client that is waiting gets new output as soon as it is written
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(100);
+					append(outputFile, "second\n");
+				} catch (IOException | InterruptedException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		writer.start();
+		update = publisher.awaitUpdate(1, FormStatus.Processing, 6, 5000);
+		writer.join();
+		assertEquals(13, update.getOffset());
+		assertEquals("second\n", update.getOutput());
+
+		publisher.shutdown();
+
+		return;
+	}
+
+}
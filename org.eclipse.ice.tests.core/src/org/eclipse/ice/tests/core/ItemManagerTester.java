@@ -191,6 +191,17 @@ public class ItemManagerTester {
 		itemManager.unregisterBuilder(compositeBuilder);
 		assertEquals(1, itemManager.getAvailableBuilders().size());
 
+		// Builders without names should be rejected instead of failing
+		FakeModuleBuilder namelessBuilder = new FakeModuleBuilder() {
+			@Override
+			public String getItemName() {
+				return null;
+			}
+		};
+		itemManager.registerBuilder(namelessBuilder);
+		itemManager.unregisterBuilder(namelessBuilder);
+		assertEquals(1, itemManager.getAvailableBuilders().size());
+
 		return;
 	}
 
@@ -578,4 +589,58 @@ public class ItemManagerTester {
 
 	}
 
+	/**
+	 * This operation checks that the ItemManager only indexes the Items when
+	 * the persistence provider can summarize them and loads each Item the first
+	 * time it is needed.
+	 */
+	@Test
+	public void checkLazyItemLoading() {
+
+		// Direct the provider to summarize its Items
+		fakePersistenceProvider.reset();
+		fakePersistenceProvider.setSummariesEnabled(true);
+
+		// Index the Items. Nothing should be loaded yet.
+		itemManager.loadItems(null);
+		assertTrue(fakePersistenceProvider.allLoaded());
+		assertEquals(0, fakePersistenceProvider.getNumItemsLoaded());
+
+		// The indexed Items should be listed with their names
+		ArrayList<Identifiable> items = itemManager.retrieveItemList();
+		assertEquals(2, items.size());
+		for (Identifiable item : items) {
+			assertEquals("Fake " + item.getId(), item.getName());
+		}
+		assertEquals(0, fakePersistenceProvider.getNumItemsLoaded());
+
+		// New Items should not reuse the ids of the indexed Items
+		int itemId = itemManager.createItem(fakeGeometryBuilder.getItemName(),
+				null);
+		assertEquals(2, itemId);
+
+		// Retrieving an Item loads it once
+		Form form = itemManager.retrieveItem(3);
+		assertNotNull(form);
+		assertEquals(1, fakePersistenceProvider.getNumItemsLoaded());
+		assertNotNull(itemManager.retrieveItem(3));
+		assertEquals(1, fakePersistenceProvider.getNumItemsLoaded());
+
+		// Updating the Item should use the one that was already loaded
+		assertNotNull(itemManager.updateItem(form));
+		assertEquals(1, fakePersistenceProvider.getNumItemsLoaded());
+		assertNotNull(itemManager.retrieveItem(3));
+		assertEquals(1, fakePersistenceProvider.getNumItemsLoaded());
+
+		// Deleting an Item that was never loaded should still work
+		assertTrue(itemManager.deleteItem(1));
+		assertEquals(2, fakePersistenceProvider.getNumItemsLoaded());
+		assertNull(itemManager.retrieveItem(1));
+		assertEquals(2, itemManager.retrieveItemList().size());
+
+		fakePersistenceProvider.setSummariesEnabled(false);
+
+		return;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ice.core.internal.MessageRouter;
+import org.eclipse.ice.item.messaging.Message;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the MessageRouter.
+ *
+ * @author Jay Jay Billings
+ */
+public class MessageRouterTester {
+
+	/**
+	 * This operation creates a list of messages for an Item, numbered from 0.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param count
+	 *            The number of messages
+	 * @return The messages
+	 */
+	private List<Message> createMessages(int itemId, int count) {
+		List<Message> messages = new ArrayList<Message>();
+		for (int i = 0; i < count; i++) {
+			Message message = new Message();
+			message.setItemId(itemId);
+			message.setId(i);
+			messages.add(message);
+		}
+		return messages;
+	}
+
+	/**
+	 * This operation checks that the messages of each Item are delivered in
+	 * order even though several Items are served at the same time.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkOrderedDelivery() throws InterruptedException {
+
+		final int numItems = 8, numMessages = 500;
+		final List<List<Integer>> delivered = new ArrayList<List<Integer>>();
+		for (int i = 0; i < numItems; i++) {
+			delivered.add(new ArrayList<Integer>());
+		}
+		final CountDownLatch done = new CountDownLatch(numItems * numMessages);
+
+		MessageRouter router = new MessageRouter(
+				new MessageRouter.Destination() {
+					@Override
+					public void deliver(Message message) {
+						List<Integer> ids = delivered.get(message.getItemId());
+						synchronized (ids) {
+							ids.add(message.getId());
+						}
+						done.countDown();
+					}
+				}, 4, numItems * numMessages);
+
+		// Post the messages in small batches, interleaving the Items
+		for (int start = 0; start < numMessages; start += 50) {
+			for (int item = 0; item < numItems; item++) {
+				List<Message> batch = createMessages(item, numMessages)
+						.subList(start, start + 50);
+				assertEquals(MessageRouter.Status.ACCEPTED,
+						router.route(new ArrayList<Message>(batch)));
+			}
+		}
+
+		// Wait for them and check the order for each Item
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		for (List<Integer> ids : delivered) {
+			synchronized (ids) {
+				assertEquals(numMessages, ids.size());
+				for (int i = 0; i < numMessages; i++) {
+					assertEquals(i, (int) ids.get(i));
+				}
+			}
+		}
+		assertEquals(0, router.getPendingCount());
+
+		router.shutdown();
+		assertEquals(MessageRouter.Status.STOPPED,
+				router.route(createMessages(0, 1)));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that a batch that does not fit is refused as a
+	 * whole and that it is accepted once there is room.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkBackpressure() throws InterruptedException {
+
+		// A destination that blocks until it is released
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(6);
+		MessageRouter router = new MessageRouter(
+				new MessageRouter.Destination() {
+					@Override
+					public void deliver(Message message) {
+						try {
+							release.await();
+						} catch (InterruptedException e) {
+							e.printStackTrace();
+						}
+						done.countDown();
+					}
+				}, 1, 5);
+
+		// Fill the router and make sure the next batch is refused
+		assertEquals(MessageRouter.Status.ACCEPTED,
+				router.route(createMessages(1, 3)));
+		assertEquals(MessageRouter.Status.BUSY,
+				router.route(createMessages(2, 3)));
+		assertEquals(3, router.getPendingCount());
+
+		// Drain it and try again
+		release.countDown();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (router.getPendingCount() > 0
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(MessageRouter.Status.ACCEPTED,
+				router.route(createMessages(2, 3)));
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+
+		router.shutdown();
+
+		return;
+	}
+
+}
@@ -16,6 +16,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -223,6 +224,44 @@ public class DataComponentTester {
 			assertTrue(dataComponent.contains((entries.get(i)).getName()));
 		}
 
+		// Renaming an Entry should be picked up by the lookups
+		entries.get(3).setName("Renamed Entry");
+		assertFalse(dataComponent.contains("Test Entry 3"));
+		assertTrue(dataComponent.contains("Renamed Entry"));
+		assertEquals(entries.get(3),
+				dataComponent.retrieveEntry("Renamed Entry"));
+
+		// Deleting an Entry should remove it from the lookups
+		dataComponent.deleteEntry("Test Entry 4");
+		assertFalse(dataComponent.contains("Test Entry 4"));
+		assertNull(dataComponent.retrieveEntry("Test Entry 4"));
+
+		// So should removing it directly from the list
+		dataComponent.retrieveAllEntries().remove(entries.get(5));
+		assertFalse(dataComponent.contains("Test Entry 5"));
+
+		// The first of two Entries with the same name should be found
+		StringEntry duplicate = new StringEntry();
+		duplicate.setName("Test Entry 6");
+		dataComponent.addEntry(duplicate);
+		assertTrue(entries.get(6) == dataComponent
+				.retrieveEntry("Test Entry 6"));
+
+		// Renaming the first one should reveal the second
+		entries.get(6).setName("Renamed Entry 6");
+		assertTrue(duplicate == dataComponent.retrieveEntry("Test Entry 6"));
+		assertTrue(entries.get(6) == dataComponent
+				.retrieveEntry("Renamed Entry 6"));
+
+		// Renaming an Entry after it was removed should not change the
+		// lookups
+		entries.get(5).setName("Removed Entry");
+		assertFalse(dataComponent.contains("Removed Entry"));
+
+		// Null names are never found
+		assertFalse(dataComponent.contains(null));
+		assertNull(dataComponent.retrieveEntry(null));
+
 	}
 
 	/**
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Set;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.eclipse.ice.datastructures.form.TreeComposite;
+import org.eclipse.ice.datastructures.jaxbclassprovider.JAXBContextRegistry;
+import org.junit.Test;
+
+/**
+ * This class tests the JAXBContextRegistry.
+ *
+ * @author Jay Jay Billings
+ */
+public class JAXBContextRegistryTester {
+
+	/**
+	 * This operation checks that the registry only creates one context for
+	 * each set of classes.
+	 *
+	 * @throws JAXBException
+	 */
+	@Test
+	public void checkContexts() throws JAXBException {
+
+		JAXBContextRegistry registry = JAXBContextRegistry.getInstance();
+
+		// Create two lists with the same classes in a different order
+		ArrayList<Class> classList = new ArrayList<Class>();
+		classList.add(SimpleJAXBTestClass.class);
+		classList.add(DataComponent.class);
+		ArrayList<Class> otherList = new ArrayList<Class>();
+		otherList.add(DataComponent.class);
+		otherList.add(SimpleJAXBTestClass.class);
+		otherList.add(DataComponent.class);
+
+		// They should share a context
+		JAXBContext context = registry.getContext(classList);
+		assertNotNull(context);
+		assertSame(context, registry.getContext(otherList));
+
+		// A different set of classes should not
+		otherList.remove(DataComponent.class);
+		otherList.remove(DataComponent.class);
+		assertTrue(context != registry.getContext(otherList));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that objects can be written and read with the
+	 * pooled Marshallers and Unmarshallers, including when they are reused.
+	 *
+	 * @throws JAXBException
+	 */
+	@Test
+	public void checkMarshalling() throws JAXBException {
+
+		JAXBContextRegistry registry = JAXBContextRegistry.getInstance();
+		ArrayList<Class> classList = new ArrayList<Class>();
+		classList.add(SimpleJAXBTestClass.class);
+
+		// Write and read the object a few times so that the pools are used
+		for (int i = 0; i < 3; i++) {
+			SimpleJAXBTestClass object = new SimpleJAXBTestClass();
+			object.setInt(i);
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			registry.marshal(object, classList, outputStream);
+			assertEquals(
+					"<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+							+ "<SimpleJAXBTestClass int=\"" + i + "\"/>\n",
+					outputStream.toString());
+			SimpleJAXBTestClass readObject = (SimpleJAXBTestClass) registry
+					.unmarshal(classList, new ByteArrayInputStream(
+							outputStream.toByteArray()));
+			assertEquals(i, readObject.getInt());
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the provider classes include the data
+	 * structures and that they can be combined with other classes.
+	 *
+	 * @throws JAXBException
+	 */
+	@Test
+	public void checkProviderClasses() throws JAXBException {
+
+		JAXBContextRegistry registry = JAXBContextRegistry.getInstance();
+
+		// The data structures should always be there
+		Set<Class<?>> classes = registry.getProviderClasses();
+		assertTrue(classes.contains(TreeComposite.class));
+		assertTrue(classes.contains(DataComponent.class));
+
+		// The provider context should be the same one that is created for the
+		// same classes
+		JAXBContext context = registry
+				.getProviderContext(SimpleJAXBTestClass.class);
+		ArrayList<Class> classList = new ArrayList<Class>(classes);
+		classList.add(SimpleJAXBTestClass.class);
+		assertSame(context, registry.getContext(classList));
+
+		return;
+	}
+
+}
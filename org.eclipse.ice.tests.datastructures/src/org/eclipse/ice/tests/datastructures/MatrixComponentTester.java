@@ -2113,4 +2113,88 @@ public class MatrixComponentTester {
 		assertEquals(10.0, matrixComponent.getAllowedValues().get(3), 0.0);
 
 	}
-}
\ No newline at end of file
+
+	/**
+	 * <p>
+	 * This operation checks the operations that read and write many values at
+	 * once without boxing them, and that getColumn() returns the values of a
+	 * column.
+	 * </p>
+	 * 
+	 */
+	@Test
+	public void checkBulkOperations() {
+
+		// Create a 3x4 matrix
+		matrixComponent = new MatrixComponent();
+		matrixComponent.addColumn();
+		matrixComponent.addColumn();
+		matrixComponent.addColumn();
+		matrixComponent.addRow();
+		matrixComponent.addRow();
+
+		// Set all of the values and make sure listeners hear about it
+		testComponentListener = new TestComponentListener();
+		matrixComponent.register(testComponentListener);
+		double[] values = new double[12];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+		}
+		assertTrue(matrixComponent.setElementValues(values));
+		assertTrue(testComponentListener.wasNotified());
+		testComponentListener.reset();
+		assertFalse(matrixComponent.setElementValues(new double[11]));
+
+		// Check the rows and columns
+		assertEquals(6.0, matrixComponent.getElementValue(1, 2), 0.0);
+		double[] row = matrixComponent.getRowValues(2, null);
+		assertEquals(4, row.length);
+		assertEquals(8.0, row[0], 0.0);
+		assertEquals(11.0, row[3], 0.0);
+		double[] column = matrixComponent.getColumnValues(1, new double[10]);
+		assertEquals(10, column.length);
+		assertEquals(1.0, column[0], 0.0);
+		assertEquals(5.0, column[1], 0.0);
+		assertEquals(9.0, column[2], 0.0);
+		ArrayList<Double> columnList = matrixComponent.getColumn(1);
+		assertEquals(3, columnList.size());
+		assertEquals(9.0, columnList.get(2), 0.0);
+		assertNull(matrixComponent.getRowValues(3, null));
+		assertNull(matrixComponent.getColumnValues(-1, null));
+
+		// Set a row and a column
+		assertTrue(matrixComponent.setRowValues(0,
+				new double[] { -1.0, -2.0, -3.0, -4.0 }));
+		assertTrue(matrixComponent.setColumnValues(3,
+				new double[] { 7.0, 7.0, 7.0 }));
+		assertEquals(-3.0, matrixComponent.getElementValue(0, 2), 0.0);
+		assertEquals(7.0, matrixComponent.getElementValue(0, 3), 0.0);
+		assertEquals(7.0, matrixComponent.getElementValue(2, 3), 0.0);
+		assertFalse(matrixComponent.setRowValues(0, new double[3]));
+
+		// Resizing should keep the existing values in place
+		matrixComponent.addColumn();
+		assertEquals(5, matrixComponent.numberOfColumns());
+		assertEquals(6.0, matrixComponent.getElementValue(1, 2), 0.0);
+		assertEquals(0.0, matrixComponent.getElementValue(1, 4), 0.0);
+		matrixComponent.deleteColumn();
+		assertEquals(6.0, matrixComponent.getElementValue(1, 2), 0.0);
+		assertEquals(12, matrixComponent.getElementValues(null).length);
+
+		// Values outside of the allowed range should be rejected
+		ArrayList<Double> range = new ArrayList<Double>();
+		range.add(0.0);
+		range.add(1.0);
+		matrixComponent = new MatrixComponent(false,
+				AllowedValueType.Continuous);
+		assertFalse(matrixComponent.setElementValues(new double[] { 0.5 }));
+		matrixComponent.setAllowedValues(range);
+		matrixComponent.addRow();
+		assertFalse(
+				matrixComponent.setElementValues(new double[] { 0.5, 2.0 }));
+		assertTrue(matrixComponent.setElementValues(new double[] { 0.5, 1.0 }));
+		assertEquals(0.5, matrixComponent.getElementValue(0, 0), 0.0);
+
+		return;
+	}
+}
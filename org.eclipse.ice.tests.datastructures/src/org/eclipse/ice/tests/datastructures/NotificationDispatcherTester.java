@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ice.datastructures.ICEObject.ICEObject;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
+import org.eclipse.ice.datastructures.ICEObject.NotificationDispatcher;
+import org.eclipse.ice.datastructures.entry.StringEntry;
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the NotificationDispatcher.
+ *
+ * @author Jay Jay Billings
+ */
+public class NotificationDispatcherTester {
+
+	/**
+	 * This operation checks that notifications are delivered to a listener in
+	 * the order in which they were posted.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkOrdering() throws InterruptedException {
+
+		int numObjects = 50;
+		RecordingListener listener = new RecordingListener(numObjects);
+
+		// Create a set of objects and have each one notify the listener
+		List<ICEObject> objects = new ArrayList<ICEObject>();
+		for (int i = 0; i < numObjects; i++) {
+			ICEObject object = new ICEObject();
+			object.register(listener);
+			objects.add(object);
+		}
+		for (ICEObject object : objects) {
+			object.setDescription("Updated");
+		}
+
+		// Make sure they arrived in order
+		assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+		assertEquals(numObjects, listener.updates.size());
+		for (int i = 0; i < numObjects; i++) {
+			assertTrue(objects.get(i) == listener.updates.get(i));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation checks that notifications from the same source are
+	 * coalesced while one is still pending.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkCoalescing() throws InterruptedException {
+
+		// Create a listener that blocks on its first update
+		final CountDownLatch gate = new CountDownLatch(1);
+		final CountDownLatch started = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener(2) {
+			@Override
+			public void update(IUpdateable component) {
+				started.countDown();
+				try {
+					gate.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.update(component);
+			}
+		};
+
+		ICEObject object = new ICEObject();
+		object.register(listener);
+
+		// Post the first update and wait for it to block the listener
+		object.setName("First");
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		// All of these should collapse into a single pending update
+		for (int i = 0; i < 100; i++) {
+			object.setName("Name " + i);
+		}
+
+		// The dispatcher is busy until the pending update is delivered
+		assertFalse(NotificationDispatcher.getInstance().isIdle());
+		gate.countDown();
+
+		// Exactly two updates should arrive
+		assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+		Thread.sleep(200);
+		assertEquals(2, listener.updates.size());
+		assertTrue(NotificationDispatcher.getInstance().isIdle());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that suspending notifications results in a single
+	 * notification per source when they are resumed.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkSuspension() throws InterruptedException {
+
+		NotificationDispatcher dispatcher = NotificationDispatcher
+				.getInstance();
+		RecordingListener listener = new RecordingListener(1);
+		ICEObject object = new ICEObject();
+		object.register(listener);
+
+		// Make a lot of changes in a nested batch
+		assertFalse(dispatcher.isSuspended());
+		dispatcher.suspend();
+		dispatcher.suspend();
+		assertTrue(dispatcher.isSuspended());
+		for (int i = 0; i < 10; i++) {
+			object.setId(i);
+		}
+		dispatcher.resume();
+
+		// Nothing should have been delivered yet
+		assertFalse(listener.latch.await(200, TimeUnit.MILLISECONDS));
+		assertTrue(listener.updates.isEmpty());
+
+		// Closing the batch should deliver exactly one update
+		dispatcher.resume();
+		assertFalse(dispatcher.isSuspended());
+		assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+		Thread.sleep(200);
+		assertEquals(1, listener.updates.size());
+
+		// Bulk loading a DataComponent should also only notify once
+		RecordingListener componentListener = new RecordingListener(1);
+		DataComponent component = new DataComponent();
+		component.register(componentListener);
+		List<StringEntry> entries = new ArrayList<StringEntry>();
+		for (int i = 0; i < 10; i++) {
+			StringEntry entry = new StringEntry();
+			entry.setName("Entry " + i);
+			entries.add(entry);
+		}
+		component.addEntries(entries);
+		assertEquals(10, component.retrieveAllEntries().size());
+		assertTrue(componentListener.latch.await(5, TimeUnit.SECONDS));
+		Thread.sleep(200);
+		assertEquals(1, componentListener.updates.size());
+
+		return;
+	}
+
+	/**
+	 * A listener that records the sources of the updates it receives.
+	 */
+	private static class RecordingListener implements IUpdateableListener {
+
+		/**
+		 * The sources of the updates, in the order received.
+		 */
+		protected final List<IUpdateable> updates = Collections
+				.synchronizedList(new ArrayList<IUpdateable>());
+
+		/**
+		 * A latch that is released after the expected number of updates.
+		 */
+		protected final CountDownLatch latch;
+
+		/**
+		 * The Constructor
+		 *
+		 * @param expected
+		 *            The expected number of updates
+		 */
+		public RecordingListener(int expected) {
+			latch = new CountDownLatch(expected);
+		}
+
+		@Override
+		public void update(IUpdateable component) {
+			updates.add(component);
+			latch.countDown();
+		}
+	}
+}
@@ -569,6 +569,107 @@ public class TableComponentTester {
 		return;
 	}
 
+	/**
+	 * <p>
+	 * This operation checks the direct lookups of Entries, columns and rows in
+	 * the TableComponent.
+	 * </p>
+	 */
+	@Test
+	public void checkLookups() {
+
+		// Local Declarations
+		ArrayList<IEntry> template = new ArrayList<IEntry>();
+
+		// Create a table with three columns
+		tableComponent = new TableComponent();
+		for (int i = 1; i <= 3; i++) {
+			IEntry column = new StringEntry();
+			column.setName("Column" + i);
+			column.setId(i);
+			column.setValue("Value" + i);
+			template.add(column);
+		}
+
+		// Nothing can be found before the template is set
+		assertEquals(-1, tableComponent.getColumnIndex("Column1"));
+		assertNull(tableComponent.getEntry(0, 0));
+		tableComponent.setRowTemplate(template);
+
+		// Check the column indices
+		assertEquals(0, tableComponent.getColumnIndex("Column1"));
+		assertEquals(2, tableComponent.getColumnIndex("Column3"));
+		assertEquals(-1, tableComponent.getColumnIndex("Column4"));
+		assertEquals(-1, tableComponent.getColumnIndex(null));
+
+		// Add some rows and change one value in each
+		for (int i = 0; i < 4; i++) {
+			assertEquals(i, tableComponent.addRow());
+			tableComponent.getEntry(i, "Column2").setValue("Row" + i);
+		}
+
+		// The Entries should match the copied rows
+		for (int i = 0; i < 4; i++) {
+			ArrayList<IEntry> row = tableComponent.getRow(i);
+			for (int j = 0; j < 3; j++) {
+				assertTrue(row.get(j) == tableComponent.getEntry(i, j));
+			}
+			assertEquals("Row" + i,
+					tableComponent.getEntry(i, "Column2").getValue());
+		}
+
+		// Check the bounds
+		assertNull(tableComponent.getEntry(-1, 0));
+		assertNull(tableComponent.getEntry(4, 0));
+		assertNull(tableComponent.getEntry(0, -1));
+		assertNull(tableComponent.getEntry(0, 3));
+		assertNull(tableComponent.getEntry(0, "Column4"));
+
+		// Rows should be found by their ids, before and after a deletion
+		ArrayList<Integer> ids = tableComponent.getRowIds();
+		for (int i = 0; i < ids.size(); i++) {
+			assertEquals(tableComponent.getRow(i),
+					tableComponent.getRowById(ids.get(i)));
+		}
+		assertTrue(tableComponent.deleteRow(1));
+		ids = tableComponent.getRowIds();
+		for (int i = 0; i < ids.size(); i++) {
+			assertEquals(tableComponent.getRow(i),
+					tableComponent.getRowById(ids.get(i)));
+		}
+		assertNull(tableComponent.getRowById(-5));
+
+		// Rows added after a deletion should be found too
+		assertEquals(3, tableComponent.addRow());
+		ids = tableComponent.getRowIds();
+		assertEquals(tableComponent.getRow(0),
+				tableComponent.getRowById(ids.get(0)));
+		assertEquals(tableComponent.getRow(2),
+				tableComponent.getRowById(ids.get(2)));
+
+		// The uncopied rows should hold the same Entries and be read-only
+		for (int i = 0; i < 4; i++) {
+			assertEquals(tableComponent.getRow(i),
+					tableComponent.getRowEntries(i));
+		}
+		assertNull(tableComponent.getRowEntries(-1));
+		assertNull(tableComponent.getRowEntries(4));
+		try {
+			tableComponent.getRowEntries(0).clear();
+			fail("TableComponentTester: The row should not be modifiable.");
+		} catch (UnsupportedOperationException e) {
+			// Expected
+		}
+		assertEquals(3, tableComponent.getRowEntries(0).size());
+
+		// A copy should have the same lookups
+		TableComponent copy = (TableComponent) tableComponent.clone();
+		assertEquals(1, copy.getColumnIndex("Column2"));
+		assertEquals("Row2", copy.getEntry(1, "Column2").getValue());
+
+		return;
+	}
+
 	/**
 	 * <p>
 	 * This operation tests the TableComponent to insure that it can properly
@@ -996,6 +1097,11 @@ public class TableComponentTester {
 		tableComponent2 = (TableComponent) xmlHandler.read(classList, inputStream);
 		assertTrue(tableComponent.equals(tableComponent2));
 
+		// The lookups should be rebuilt after loading
+		assertEquals(1, tableComponent2.getColumnIndex("Column2"));
+		assertEquals("Entry5", tableComponent2.getEntry(1, "Column2").getName());
+		assertEquals(tableComponent2.getRow(1), tableComponent2.getRowById(1));
+
 		// check contents
 		// check row template, its entries, and columns
 		template = tableComponent2.getRowTemplate();
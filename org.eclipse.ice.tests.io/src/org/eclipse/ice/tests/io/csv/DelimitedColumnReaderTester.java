@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.io.csv;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+
+import org.eclipse.ice.io.csv.DelimitedColumnReader;
+import org.eclipse.ice.io.csv.DelimitedColumns;
+import org.eclipse.ice.io.csv.DelimitedColumns.ColumnType;
+import org.junit.Test;
+
+/**
+ * Test class for {@link org.eclipse.ice.io.csv.DelimitedColumnReader}.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class DelimitedColumnReaderTester {
+
+	/**
+	 * This operation reads a string with the given reader.
+	 *
+	 * @param reader
+	 *            The reader
+	 * @param contents
+	 *            The contents of the "file"
+	 * @return The columns
+	 * @throws IOException
+	 */
+	private DelimitedColumns read(DelimitedColumnReader reader,
+			String contents) throws IOException {
+		return reader.read(new ByteArrayInputStream(
+				contents.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	/**
+	 * This operation checks that comma delimited files are read into double
+	 * columns, skipping comments and header lines and filling missing cells
+	 * with NaN.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testReadCSV() throws IOException {
+
+		DelimitedColumnReader reader = new DelimitedColumnReader(',');
+		DelimitedColumns columns = read(reader,
+				"Q,R,RData\n#units,A-1,R\n" + "0.0074, 4.25 ,0.99985\r\n"
+						+ "2.07E-06,-4.7498147887E-11 # comment\n\n"
+						+ "1,,3,4\n");
+
+		// Check the shape
+		assertEquals(4, columns.getNumberOfColumns());
+		assertEquals(3, columns.getNumberOfRows());
+		assertEquals(ColumnType.DOUBLE, columns.getColumnType(0));
+		assertNull(columns.getColumnType(4));
+
+		// Check the values
+		assertArrayEquals(new double[] { 0.0074, 2.07E-06, 1.0 },
+				columns.getDoubleColumn(0), 0.0);
+		assertArrayEquals(new double[] { 4.25, -4.7498147887E-11, Double.NaN },
+				columns.getDoubleColumn(1), 0.0);
+		assertArrayEquals(new double[] { 0.99985, Double.NaN, 3.0 },
+				columns.getDoubleColumn(2), 0.0);
+		assertArrayEquals(new double[] { Double.NaN, Double.NaN, 4.0 },
+				columns.getDoubleColumn(3), 0.0);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that runs of spaces and tabs are a single
+	 * delimiter and that long columns are parsed as longs.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testReadSpaceDelimitedLongs() throws IOException {
+
+		DelimitedColumnReader reader = new DelimitedColumnReader(' ');
+		reader.setColumnTypes(ColumnType.LONG);
+		DelimitedColumns columns = read(reader,
+				"  9007199254740993   1.5\n-42\t\t2\n7.9 3e2\n");
+
+		assertEquals(2, columns.getNumberOfColumns());
+		assertEquals(3, columns.getNumberOfRows());
+		assertEquals(ColumnType.LONG, columns.getColumnType(0));
+		assertArrayEquals(new long[] { 9007199254740993L, -42L, 7L },
+				columns.getLongColumn(0));
+		assertArrayEquals(new double[] { 1.5, 2.0, 300.0 },
+				columns.getDoubleColumn(1), 0.0);
+		assertNull(columns.getLongColumn(1));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that a memory-mapped file split into many chunks
+	 * reads exactly the same values as Double.parseDouble(), in order.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testReadParallelChunks() throws IOException {
+
+		// Write a file that is large enough to be split into chunks
+		int numRows = 100000;
+		double[] expected = new double[2 * numRows];
+		StringBuilder contents = new StringBuilder("# x y\n");
+		Random random = new Random(42);
+		for (int i = 0; i < numRows; i++) {
+			String x = Double.toString(random.nextGaussian() * 1.0e-8);
+			String y = String.format(Locale.US, "%.10E",
+					random.nextDouble() * 1.0e12);
+			expected[2 * i] = Double.parseDouble(x);
+			expected[2 * i + 1] = Double.parseDouble(y);
+			contents.append(x).append(',').append(y).append('\n');
+		}
+		Path path = Files.createTempFile("delimitedColumns", ".csv");
+		try {
+			Files.write(path,
+					contents.toString().getBytes(StandardCharsets.US_ASCII));
+			assertTrue(Files.size(path) > 2 * 1024 * 1024);
+
+			// Read it
+			DelimitedColumnReader reader = new DelimitedColumnReader(',');
+			reader.setParallelism(8);
+			DelimitedColumns columns = reader.read(path);
+
+			// Check it
+			assertEquals(numRows, columns.getNumberOfRows());
+			double[] x = columns.getDoubleColumn(0);
+			double[] y = columns.getDoubleColumn(1);
+			for (int i = 0; i < numRows; i++) {
+				assertEquals(expected[2 * i], x[i], 0.0);
+				assertEquals(expected[2 * i + 1], y[i], 0.0);
+			}
+		} finally {
+			Files.delete(path);
+		}
+
+		return;
+	}
+
+}
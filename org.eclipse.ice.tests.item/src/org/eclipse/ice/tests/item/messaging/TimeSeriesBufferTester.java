@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.item.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.item.messaging.TimeSeriesBuffer;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the TimeSeriesBuffer.
+ *
+ * @author Jay Jay Billings
+ */
+public class TimeSeriesBufferTester {
+
+	/**
+	 * A FlushListener that records every point it is given as a line of the
+	 * form series,time,value and the size of every batch.
+	 */
+	private static class RecordingListener
+			implements TimeSeriesBuffer.FlushListener {
+
+		/**
+		 * The points that have been flushed.
+		 */
+		private final List<String> lines = new ArrayList<String>();
+
+		/**
+		 * The sizes of the batches that have been flushed.
+		 */
+		private final List<Integer> batches = new ArrayList<Integer>();
+
+		@Override
+		public synchronized void flush(String series, double[] times,
+				double[] values, int count) {
+			for (int i = 0; i < count; i++) {
+				lines.add(series + "," + times[i] + "," + values[i]);
+			}
+			batches.add(count);
+			notifyAll();
+		}
+	}
+
+	/**
+	 * This operation checks that full series are flushed right away, in
+	 * order, and that the rest can be flushed on demand.
+	 */
+	@Test
+	public void checkSizeFlush() {
+
+		RecordingListener listener = new RecordingListener();
+		TimeSeriesBuffer buffer = new TimeSeriesBuffer(listener)
+				.setMaxPoints(3).setFlushInterval(60000);
+
+		// Add two points to one series and three to another, which fills it
+		buffer.add("a", 0.0, 1.0);
+		buffer.add("a", 1.0, 2.0);
+		assertTrue(listener.lines.isEmpty());
+		buffer.add("b", 0.0, 5.0);
+		buffer.add("b", 1.0, 6.0);
+		buffer.add("b", 2.0, 7.0);
+
+		// Both series should have been flushed, in the order they were added
+		assertEquals(5, listener.lines.size());
+		assertEquals("a,0.0,1.0", listener.lines.get(0));
+		assertEquals("a,1.0,2.0", listener.lines.get(1));
+		assertEquals("b,2.0,7.0", listener.lines.get(4));
+
+		// Flushing an empty buffer should not call the listener
+		buffer.flush();
+		assertEquals(2, listener.batches.size());
+
+		// Add more points than the arrays start with and flush them
+		buffer.setMaxPoints(1000);
+		for (int i = 0; i < 500; i++) {
+			buffer.add("a", i, i);
+		}
+		buffer.flush();
+		assertEquals(505, listener.lines.size());
+		assertEquals("a,499.0,499.0", listener.lines.get(504));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that points are flushed when the flush interval
+	 * elapses even if the series never fills up.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkTimedFlush() throws InterruptedException {
+
+		RecordingListener listener = new RecordingListener();
+		TimeSeriesBuffer buffer = new TimeSeriesBuffer(listener)
+				.setMaxPoints(1000).setFlushInterval(20);
+
+		buffer.add("a", 0.0, 1.0);
+		buffer.add("a", 1.0, 2.0);
+
+		// Wait for the timed flush
+		long deadline = System.currentTimeMillis() + 5000;
+		synchronized (listener) {
+			while (listener.lines.size() < 2
+					&& System.currentTimeMillis() < deadline) {
+				listener.wait(100);
+			}
+		}
+		assertEquals(2, listener.lines.size());
+		assertEquals(1, listener.batches.size());
+
+		return;
+	}
+
+}
@@ -14,6 +14,7 @@ package org.eclipse.ice.tests.item.moose;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -89,6 +90,42 @@ public class MOOSEFileHandlerTester {
 
 	}
 
+	/**
+	 * This operation makes sure that loading the same YAML file again returns
+	 * an equal specification that does not share any trees with the first one.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void checkReloadingFromYAML() throws IOException {
+
+		// Local Declarations
+		String separator = System.getProperty("file.separator");
+		String userDir = System.getProperty("user.home") + separator + "ICETests" + separator + "itemData";
+		String filePath = userDir + separator + "moose_test.yaml";
+
+		// Load the specification with two different handlers
+		ArrayList<TreeComposite> blocks = new MOOSEFileHandler().loadYAML(filePath);
+		ArrayList<TreeComposite> reloadedBlocks = new MOOSEFileHandler().loadYAML(filePath);
+
+		// The specifications should be equal, but not the same
+		assertNotNull(blocks);
+		assertNotNull(reloadedBlocks);
+		assertEquals(blocks.size(), reloadedBlocks.size());
+		for (int i = 0; i < blocks.size(); i++) {
+			assertEquals(blocks.get(i), reloadedBlocks.get(i));
+			assertNotSame(blocks.get(i), reloadedBlocks.get(i));
+			assertEquals(blocks.get(i).getClass(), reloadedBlocks.get(i).getClass());
+		}
+
+		// Changing one of them should not change the next load
+		blocks.get(0).setName("Changed");
+		reloadedBlocks = new MOOSEFileHandler().loadYAML(filePath);
+		assertEquals("Adaptivity", reloadedBlocks.get(0).getName());
+
+		return;
+	}
+
 	/**
 	 * This method is responsible for checking that action syntax file is
 	 * correctly loaded.
@@ -678,6 +678,56 @@ public class ItemTester implements ItemListener {
 
 	}
 
+	/**
+	 * This operation checks that the Item only registers its Entries again
+	 * when the Entries of its Form are replaced or renamed.
+	 */
+	@Test
+	public void checkRegistrationRefresh() {
+
+		// Local Declarations
+		final int[] registrations = { 0 };
+
+		// Load an Item that counts its registrations
+		Item testItem = new Item(null) {
+			@Override
+			protected void registerUpdateables() {
+				super.registerUpdateables();
+				registrations[0]++;
+			}
+		};
+		try {
+			testItem.loadFromPSF(
+					new ByteArrayInputStream(psfItemString.getBytes()));
+		} catch (IOException e) {
+			// Fail if it can't load
+			fail();
+		}
+		Form form = testItem.getForm();
+		DataComponent dataComp = (DataComponent) form.getComponent(1);
+
+		// Reviewing the same Entries should not register them again
+		assertEquals(FormStatus.ReadyToProcess, testItem.submitForm(form));
+		int count = registrations[0];
+		assertEquals(FormStatus.ReadyToProcess, testItem.submitForm(form));
+		assertEquals(count, registrations[0]);
+
+		// Renaming an Entry should
+		IEntry entry = dataComp.retrieveEntry("Full Assembly Flag");
+		entry.setName("Renamed Flag");
+		assertEquals(FormStatus.ReadyToProcess, testItem.submitForm(form));
+		assertEquals(count + 1, registrations[0]);
+
+		// So should replacing one without changing the number of Entries
+		IEntry copy = (IEntry) entry.clone();
+		dataComp.deleteEntry(entry.getName());
+		dataComp.addEntry(copy);
+		assertEquals(FormStatus.ReadyToProcess, testItem.submitForm(form));
+		assertEquals(count + 2, registrations[0]);
+
+		return;
+	}
+
 	/**
 	 * This operation checks the Item to make sure that by default it offers two
 	 * actions, one for writing the Form to XML and another for writing the
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.tests.ice.item;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ice.item.action.JobMonitor;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the JobMonitor.
+ *
+ * @author Jay Jay Billings
+ */
+public class JobMonitorTester {
+
+	/**
+	 * A Process that ends when the test tells it to.
+	 */
+	private static class FakeProcess extends Process {
+
+		/**
+		 * The exit value or null if the process is still running.
+		 */
+		private volatile Integer exitValue = null;
+
+		/**
+		 * This operation ends the process.
+		 *
+		 * @param value
+		 *            The exit value
+		 */
+		public void end(int value) {
+			exitValue = value;
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return new ByteArrayOutputStream();
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public InputStream getErrorStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public int waitFor() throws InterruptedException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int exitValue() {
+			if (exitValue == null) {
+				throw new IllegalThreadStateException();
+			}
+			return exitValue;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return exitValue == null;
+		}
+
+		@Override
+		public void destroy() {
+			end(143);
+		}
+	}
+
+	/**
+	 * This operation checks that the monitor completes the futures of local
+	 * jobs with their exit values when, and only when, they end.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkLocalJobs() throws Exception {
+
+		JobMonitor monitor = new JobMonitor();
+
+		// A job that has already ended should be completed right away
+		FakeProcess endedJob = new FakeProcess();
+		endedJob.end(0);
+		assertEquals(0, (int) monitor.watch(endedJob).getNow(-1));
+
+		// Watch two running jobs
+		FakeProcess firstJob = new FakeProcess();
+		FakeProcess secondJob = new FakeProcess();
+		CompletableFuture<Integer> firstExit = monitor.watch(firstJob);
+		CompletableFuture<Integer> secondExit = monitor.watch(secondJob);
+		Thread.sleep(50);
+		assertFalse(firstExit.isDone());
+		assertFalse(secondExit.isDone());
+
+		// End the second one and make sure that only it is completed
+		secondJob.end(3);
+		assertEquals(3, (int) secondExit.get(2, TimeUnit.SECONDS));
+		assertFalse(firstExit.isDone());
+
+		// Destroying the first one should complete it too
+		firstJob.destroy();
+		assertEquals(143, (int) firstExit.get(2, TimeUnit.SECONDS));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that threads waiting for a job to end are woken
+	 * when one does and otherwise time out.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkAwaitJobEnd() throws Exception {
+
+		final JobMonitor monitor = new JobMonitor();
+
+		// Nothing is running, so the wait should time out
+		assertFalse(monitor.awaitJobEnd(10, TimeUnit.MILLISECONDS));
+
+		// End a job while waiting
+		final FakeProcess job = new FakeProcess();
+		monitor.watch(job);
+		Thread endThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+				}
+				job.end(0);
+			}
+		});
+		endThread.start();
+		assertTrue(monitor.awaitJobEnd(5, TimeUnit.SECONDS));
+		endThread.join();
+
+		return;
+	}
+
+}
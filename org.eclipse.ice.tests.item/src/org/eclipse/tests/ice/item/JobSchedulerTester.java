@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.tests.ice.item;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.item.jobLauncher.JobScheduler;
+import org.eclipse.ice.item.jobLauncher.JobScheduler.Resources;
+import org.eclipse.ice.item.jobLauncher.JobScheduler.ScheduledJob;
+import org.eclipse.ice.item.jobLauncher.JobScheduler.State;
+import org.junit.Test;
+
+/**
+ * This class tests the JobScheduler. Each test uses its own scheduler and its
+ * own host so that it does not depend on the machine.
+ *
+ * @author Jay Jay Billings
+ */
+public class JobSchedulerTester {
+
+	/**
+	 * The host used by the tests.
+	 */
+	private static final String host = "testHost";
+
+	/**
+	 * This class is a task that records when it starts and ends when the test
+	 * says so.
+	 */
+	private static class TestTask implements JobScheduler.Task {
+
+		/**
+		 * The names of the tasks in the order that they started.
+		 */
+		private final List<String> startOrder;
+
+		/**
+		 * The name of the task.
+		 */
+		private final String name;
+
+		/**
+		 * The future that ends the task.
+		 */
+		final CompletableFuture<FormStatus> end = new CompletableFuture<FormStatus>();
+
+		/**
+		 * The future that completes when the task starts.
+		 */
+		final CompletableFuture<Boolean> started = new CompletableFuture<Boolean>();
+
+		/**
+		 * The Constructor
+		 *
+		 * @param name
+		 *            The name of the task
+		 * @param startOrder
+		 *            The list of started tasks
+		 */
+		TestTask(String name, List<String> startOrder) {
+			this.name = name;
+			this.startOrder = startOrder;
+		}
+
+		@Override
+		public CompletionStage<FormStatus> start() {
+			startOrder.add(name);
+			started.complete(true);
+			return end;
+		}
+	}
+
+	/**
+	 * This operation checks that jobs only run when their host has room for
+	 * them.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkLimits() throws Exception {
+
+		// Local Declarations
+		JobScheduler scheduler = new JobScheduler();
+		List<String> startOrder = new CopyOnWriteArrayList<String>();
+		List<TestTask> tasks = new ArrayList<TestTask>();
+		List<ScheduledJob> jobs = new ArrayList<ScheduledJob>();
+
+		// The host has four cores and two ranks
+		scheduler.setHostLimits(host, new Resources(4, 1000, 2));
+
+		// Submit three jobs with two cores and one rank each
+		for (int i = 0; i < 3; i++) {
+			TestTask task = new TestTask("job" + i, startOrder);
+			tasks.add(task);
+			jobs.add(scheduler.submit("job" + i, host, new Resources(2, 100, 1),
+					task));
+		}
+
+		// Only two should fit
+		tasks.get(0).started.get(5, TimeUnit.SECONDS);
+		tasks.get(1).started.get(5, TimeUnit.SECONDS);
+		assertEquals(State.RUNNING, jobs.get(0).getState());
+		assertEquals(State.RUNNING, jobs.get(1).getState());
+		assertEquals(State.QUEUED, jobs.get(2).getState());
+		assertEquals(2, scheduler.getNumberOfJobs(State.RUNNING));
+		assertEquals(1, scheduler.getNumberOfJobs(State.QUEUED));
+
+		// Ending one should start the last
+		tasks.get(0).end.complete(FormStatus.Processed);
+		assertEquals(FormStatus.Processed,
+				jobs.get(0).getCompletion().get(5, TimeUnit.SECONDS));
+		tasks.get(2).started.get(5, TimeUnit.SECONDS);
+		assertEquals(State.FINISHED, jobs.get(0).getState());
+
+		// A job that is larger than the host runs alone
+		TestTask bigTask = new TestTask("big", startOrder);
+		ScheduledJob bigJob = scheduler.submit("big", host,
+				new Resources(8, 100, 1), bigTask);
+		tasks.get(1).end.complete(FormStatus.Processed);
+		assertFalse(bigTask.started.isDone());
+		tasks.get(2).end.complete(FormStatus.Processed);
+		bigTask.started.get(5, TimeUnit.SECONDS);
+		bigTask.end.complete(FormStatus.Processed);
+		assertEquals(FormStatus.Processed,
+				bigJob.getCompletion().get(5, TimeUnit.SECONDS));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that jobs start in order of priority and then in
+	 * the order that they were submitted and that queued jobs can be
+	 * cancelled.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkPriorities() throws Exception {
+
+		// Local Declarations
+		JobScheduler scheduler = new JobScheduler();
+		List<String> startOrder = new CopyOnWriteArrayList<String>();
+		Resources oneCore = new Resources(1, 0, 1);
+
+		// Only one job runs at a time
+		scheduler.setHostLimits(host, new Resources(1, 0, 1));
+		TestTask first = new TestTask("first", startOrder);
+		scheduler.submit("first", host, oneCore, first);
+		first.started.get(5, TimeUnit.SECONDS);
+
+		// Queue jobs with different priorities
+		TestTask low = new TestTask("low", startOrder);
+		TestTask high = new TestTask("high", startOrder);
+		TestTask normal1 = new TestTask("normal1", startOrder);
+		TestTask normal2 = new TestTask("normal2", startOrder);
+		TestTask cancelled = new TestTask("cancelled", startOrder);
+		List<ScheduledJob> none = Collections.emptyList();
+		scheduler.submit("low", host, oneCore, -1, none, low);
+		scheduler.submit("normal1", host, oneCore, 0, none, normal1);
+		ScheduledJob cancelledJob = scheduler.submit("cancelled", host,
+				oneCore, 0, none, cancelled);
+		scheduler.submit("normal2", host, oneCore, 0, none, normal2);
+		scheduler.submit("high", host, oneCore, 1, none, high);
+
+		// Cancel one of them
+		assertTrue(scheduler.cancel(cancelledJob));
+		assertEquals(State.CANCELLED, cancelledJob.getState());
+		assertTrue(cancelledJob.getCompletion().isDone());
+		assertEquals(FormStatus.InfoError, cancelledJob.getCompletion().get());
+
+		// Run them one at a time
+		first.end.complete(FormStatus.Processed);
+		for (TestTask task : Arrays.asList(high, normal1, normal2, low)) {
+			task.started.get(5, TimeUnit.SECONDS);
+			task.end.complete(FormStatus.Processed);
+		}
+		assertEquals(Arrays.asList("first", "high", "normal1", "normal2", "low"),
+				startOrder);
+		assertFalse(cancelled.started.isDone());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that jobs wait for their dependencies, that a
+	 * failure cancels the jobs that depend on it and that listeners are
+	 * notified.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkDependencies() throws Exception {
+
+		// Local Declarations
+		JobScheduler scheduler = new JobScheduler();
+		List<String> startOrder = new CopyOnWriteArrayList<String>();
+		final List<State> states = new CopyOnWriteArrayList<State>();
+		TestTask first = new TestTask("first", startOrder);
+		TestTask second = new TestTask("second", startOrder);
+		TestTask third = new TestTask("third", startOrder);
+
+		// Record the states of the second job
+		scheduler.addListener(new JobScheduler.Listener() {
+			@Override
+			public void jobChanged(ScheduledJob job) {
+				if ("second".equals(job.getName())) {
+					states.add(job.getState());
+				}
+			}
+		});
+
+		// Chain three jobs that need nothing
+		ScheduledJob firstJob = scheduler.submit("first", host, Resources.NONE,
+				first);
+		ScheduledJob secondJob = scheduler.submit("second", host,
+				Resources.NONE, 0, Arrays.asList(firstJob), second);
+		ScheduledJob thirdJob = scheduler.submit("third", host,
+				Resources.NONE, 0, Arrays.asList(secondJob), third);
+		first.started.get(5, TimeUnit.SECONDS);
+		assertEquals(State.WAITING, secondJob.getState());
+		assertEquals(State.WAITING, thirdJob.getState());
+
+		// The second starts after the first and its failure cancels the third
+		first.end.complete(FormStatus.Processed);
+		second.started.get(5, TimeUnit.SECONDS);
+		second.end.complete(FormStatus.InfoError);
+		assertEquals(FormStatus.InfoError,
+				thirdJob.getCompletion().get(5, TimeUnit.SECONDS));
+		assertEquals(State.CANCELLED, thirdJob.getState());
+		assertFalse(third.started.isDone());
+		assertEquals(Arrays.asList(State.WAITING, State.RUNNING,
+				State.FINISHED), states);
+
+		// Jobs that depend on a failed job are cancelled at once
+		ScheduledJob lateJob = scheduler.submit("late", host, Resources.NONE,
+				0, Arrays.asList(secondJob), new TestTask("late", startOrder));
+		assertEquals(State.CANCELLED, lateJob.getState());
+		assertEquals(Arrays.asList("first", "second"), startOrder);
+
+		return;
+	}
+
+}
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.tests.ice.item;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.ice.item.action.LocalFileStager;
+import org.eclipse.ice.item.action.LocalFileStager.Method;
+import org.eclipse.ice.item.action.LocalFileStager.StagingReport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the LocalFileStager.
+ *
+ * @author Jay Jay Billings
+ */
+public class LocalFileStagerTester {
+
+	/**
+	 * The directory that holds the test directories.
+	 */
+	private File root;
+
+	/**
+	 * The directory that holds the files that are staged.
+	 */
+	private Path sourceDirectory;
+
+	/**
+	 * The directory to which the files are staged.
+	 */
+	private Path targetDirectory;
+
+	/**
+	 * The names of the files that are staged.
+	 */
+	private List<String> names;
+
+	/**
+	 * This operation creates the files and the directories.
+	 *
+	 * @throws IOException
+	 */
+	@Before
+	public void setup() throws IOException {
+
+		root = Files.createTempDirectory("LocalFileStagerTester").toFile();
+		sourceDirectory = new File(root, "project").toPath();
+		targetDirectory = new File(root, "jobs/job").toPath();
+
+		// Create some files with random contents, including one in a
+		// subdirectory
+		names = new ArrayList<String>();
+		Random random = new Random(42);
+		for (int i = 0; i < 5; i++) {
+			byte[] bytes = new byte[1000 * (i + 1)];
+			random.nextBytes(bytes);
+			String name = (i == 4) ? "mesh/input4.e" : "input" + i + ".i";
+			Path file = sourceDirectory.resolve(name);
+			Files.createDirectories(file.getParent());
+			Files.write(file, bytes);
+			names.add(name);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation deletes the directories.
+	 */
+	@After
+	public void cleanup() {
+		delete(root);
+	}
+
+	/**
+	 * This operation checks that small files are copied and that the results
+	 * are reported.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkCopying() throws IOException {
+
+		// Nothing is large enough to link by default
+		LocalFileStager stager = new LocalFileStager();
+		stager.setMaxThreads(2);
+		StagingReport report = stager.stage(sourceDirectory, names,
+				targetDirectory);
+		assertEquals(5, report.getNumberOfFiles());
+		assertEquals(15000, report.getBytesStaged());
+		assertEquals(15000, report.getBytesCopied());
+		for (String name : names) {
+			assertEquals(Method.TRANSFER, report.getMethod(name));
+		}
+		checkTargetFiles();
+
+		// The results should be added to the dictionary
+		Dictionary<String, String> dictionary = new Hashtable<String, String>();
+		report.addTo(dictionary);
+		assertEquals("5", dictionary.get(LocalFileStager.STAGED_FILES_KEY));
+		assertEquals("15000", dictionary.get(LocalFileStager.STAGED_BYTES_KEY));
+		assertNotNull(dictionary.get(LocalFileStager.STAGING_TIME_KEY));
+
+		// Staging again should replace the files
+		Files.write(sourceDirectory.resolve(names.get(0)),
+				"changed".getBytes());
+		stager.stage(sourceDirectory, names, targetDirectory);
+		checkTargetFiles();
+
+		return;
+	}
+
+	/**
+	 * This operation checks that large files are linked when they can be and
+	 * copied when they can not.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkLinking() throws IOException {
+
+		// Only the two largest files are large enough to link
+		LocalFileStager stager = new LocalFileStager();
+		stager.setLinkThreshold(4000);
+		StagingReport report = stager.stage(sourceDirectory, names,
+				targetDirectory);
+		checkTargetFiles();
+		for (int i = 0; i < 3; i++) {
+			assertEquals(Method.TRANSFER, report.getMethod(names.get(i)));
+		}
+		assertTrue(report.getBytesCopied() >= 6000);
+
+		// Nothing should be hard linked unless it is allowed
+		for (String name : names) {
+			assertTrue(report.getMethod(name) != Method.HARD_LINK);
+			assertTrue(!Files.isSameFile(sourceDirectory.resolve(name),
+					targetDirectory.resolve(name)));
+		}
+
+		// Large files may be hard linked once it is
+		stager.setHardLinksAllowed(true);
+		report = stager.stage(sourceDirectory, names, targetDirectory);
+		checkTargetFiles();
+		for (int i = 3; i < 5; i++) {
+			Method method = report.getMethod(names.get(i));
+			assertNotNull(method);
+			// Hard links must be the same file, other methods must not be
+			assertEquals(method == Method.HARD_LINK,
+					Files.isSameFile(sourceDirectory.resolve(names.get(i)),
+							targetDirectory.resolve(names.get(i))));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the staged files match the originals.
+	 *
+	 * @throws IOException
+	 */
+	private void checkTargetFiles() throws IOException {
+		for (String name : names) {
+			assertArrayEquals(
+					Files.readAllBytes(sourceDirectory.resolve(name)),
+					Files.readAllBytes(targetDirectory.resolve(name)));
+		}
+	}
+
+	/**
+	 * This operation deletes a file or directory and everything in it.
+	 *
+	 * @param file
+	 *            The file or directory
+	 */
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.tests.ice.item;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.item.action.OutputPump;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the OutputPump.
+ *
+ * @author Jay Jay Billings
+ */
+public class OutputPumpTester {
+
+	/**
+	 * This operation checks that both streams are copied in full with the
+	 * configured line separator and that the tail listener sees every line.
+	 */
+	@Test
+	public void checkPump() {
+
+		// Create some output
+		StringBuilder outputText = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			outputText.append("Line ").append(i).append("\n");
+		}
+		String errorText = "Error 1\nError 2\n";
+
+		// Count the lines from each stream as they are read
+		final AtomicInteger outputLines = new AtomicInteger();
+		final AtomicInteger errorLines = new AtomicInteger();
+		StringWriter output = new StringWriter();
+		StringWriter errors = new StringWriter();
+		FormStatus status = new OutputPump(output, errors).setFlushSize(100)
+				.setLineSeparator("\n")
+				.setTailListener(new OutputPump.TailListener() {
+					@Override
+					public void lineRead(String line, boolean isError) {
+						(isError ? errorLines : outputLines).incrementAndGet();
+					}
+				}).pump(new ByteArrayInputStream(
+						outputText.toString().getBytes()),
+						new ByteArrayInputStream(errorText.getBytes()));
+
+		// Check the results
+		assertEquals(FormStatus.Processing, status);
+		assertEquals(outputText.toString(), output.toString());
+		assertEquals(errorText, errors.toString());
+		assertEquals(1000, outputLines.get());
+		assertEquals(2, errorLines.get());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that a job that fills its error pipe before it
+	 * closes its output pipe does not block the pump.
+	 *
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkFullErrorPipe() throws IOException, InterruptedException {
+
+		// Create small pipes that act like the pipes of a process
+		final PipedOutputStream jobOutput = new PipedOutputStream();
+		final PipedOutputStream jobErrors = new PipedOutputStream();
+		PipedInputStream output = new PipedInputStream(jobOutput, 64);
+		PipedInputStream errors = new PipedInputStream(jobErrors, 64);
+
+		// The job writes a lot of errors, then closes its streams
+		Thread job = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < 1000; i++) {
+						jobErrors.write(("Error " + i + "\n").getBytes());
+					}
+					jobErrors.close();
+					jobOutput.write("Done\n".getBytes());
+					jobOutput.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		job.start();
+
+		// Pump the output. This would hang if stdout was drained first.
+		StringWriter outputWriter = new StringWriter();
+		StringWriter errorWriter = new StringWriter();
+		FormStatus status = new OutputPump(outputWriter, errorWriter)
+				.pump(output, errors);
+		job.join();
+
+		assertEquals(FormStatus.Processing, status);
+		assertEquals("Done\r\n", outputWriter.toString());
+		assertTrue(errorWriter.toString().endsWith("Error 999\r\n"));
+
+		return;
+	}
+
+}
@@ -16,6 +16,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.item.Registry;
 import org.junit.Test;
@@ -145,4 +149,190 @@ public class RegistryTester {
 		assertEquals(value, dc1.getUpdatedValue());
 		assertEquals(value, dc2.getUpdatedValue());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * <p>
+	 * This operation checks that the Registry only dispatches keys that have
+	 * changed since the last dispatch.
+	 * </p>
+	 */
+	@Test
+	public void checkIncrementalDispatching() {
+
+		final List<String> updates = new ArrayList<String>();
+
+		// Create a Registry to test
+		registry = new Registry();
+
+		// Register two components that record their updates
+		FakeDataComponent dc1 = new FakeDataComponent() {
+			@Override
+			public void update(String key, String newValue) {
+				super.update(key, newValue);
+				updates.add(key);
+			}
+		};
+		FakeDataComponent dc2 = new FakeDataComponent() {
+			@Override
+			public void update(String key, String newValue) {
+				super.update(key, newValue);
+				updates.add(key);
+			}
+		};
+		assertTrue(registry.register(dc1, "Foo Fighters"));
+		assertTrue(registry.register(dc2, "Nirvana"));
+
+		// Both are updated the first time
+		registry.setValue("Foo Fighters", "Everlong");
+		registry.setValue("Nirvana", "Lithium");
+		registry.dispatch();
+		assertEquals(2, updates.size());
+		assertEquals("Everlong", dc1.getUpdatedValue());
+		assertEquals("Lithium", dc2.getUpdatedValue());
+
+		// Nothing is dispatched if nothing changed
+		updates.clear();
+		registry.updateValue("Foo Fighters", "Everlong");
+		registry.dispatch();
+		assertTrue(updates.isEmpty());
+
+		// Only the changed key is dispatched
+		registry.updateValue("Nirvana", "Breed");
+		registry.dispatch();
+		assertEquals(1, updates.size());
+		assertEquals("Nirvana", updates.get(0));
+		assertEquals("Breed", dc2.getUpdatedValue());
+
+		return;
+	}
+
+	/**
+	 * <p>
+	 * This operation checks that changes to Entries made during a dispatch
+	 * are dispatched in dependency order and that cycles do not prevent the
+	 * dispatch from finishing.
+	 * </p>
+	 */
+	@Test
+	public void checkDependencyDispatching() {
+
+		final List<String> updates = new ArrayList<String>();
+
+		// Create a Registry to test
+		registry = new Registry();
+
+		// Register a component against the child's key before the child is
+		// registered against the parent's key so that the order of
+		// registration is not the order of the dependencies.
+		FakeDataComponent dc = new FakeDataComponent() {
+			@Override
+			public void update(String key, String newValue) {
+				super.update(key, newValue);
+				updates.add(key);
+			}
+		};
+		assertTrue(registry.register(dc, "Child"));
+		StringEntry child = new StringEntry() {
+			@Override
+			public void update(String key, String newValue) {
+				updates.add(key);
+				setValue(newValue + " Jr.");
+			}
+		};
+		child.setName("Child");
+		assertTrue(registry.register(child, "Parent"));
+
+		// The parent's change should reach the component through the child
+		registry.setValue("Parent", "Ken Griffey");
+		registry.dispatch();
+		assertEquals("Ken Griffey Jr.", registry.getValue("Child"));
+		assertEquals("Ken Griffey Jr.", dc.getUpdatedValue());
+		assertEquals(2, updates.size());
+		assertEquals("Parent", updates.get(0));
+		assertEquals("Child", updates.get(1));
+
+		// Create a cycle between two Entries
+		registry = new Registry();
+		StringEntry first = new StringEntry() {
+			@Override
+			public void update(String key, String newValue) {
+				setValue(newValue + "1");
+			}
+		};
+		first.setName("First");
+		StringEntry second = new StringEntry() {
+			@Override
+			public void update(String key, String newValue) {
+				setValue(newValue + "2");
+			}
+		};
+		second.setName("Second");
+		assertTrue(registry.register(first, "Second"));
+		assertTrue(registry.register(second, "First"));
+
+		// The dispatch should finish with each key dispatched once, in the
+		// order in which they were added
+		registry.setValue("First", "a");
+		registry.setValue("Second", "b");
+		registry.dispatch();
+		assertEquals("b1", registry.getValue("First"));
+		assertEquals("b12", registry.getValue("Second"));
+
+		return;
+	}
+
+	/**
+	 * <p>
+	 * This operation checks that an Entry that is renamed after it was
+	 * registered publishes its value under its new name in the same dispatch.
+	 * </p>
+	 */
+	@Test
+	public void checkRenamedEntryDispatching() {
+
+		final List<String> updates = new ArrayList<String>();
+
+		// Create a Registry to test
+		registry = new Registry();
+
+		// Register a child against its parent's key
+		StringEntry child = new StringEntry() {
+			@Override
+			public void update(String key, String newValue) {
+				setValue(newValue + " Jr.");
+			}
+		};
+		child.setName("Child");
+		assertTrue(registry.register(child, "Parent"));
+		registry.setValue("Parent", "Ken Griffey");
+		registry.dispatch();
+		assertEquals("Ken Griffey Jr.", registry.getValue("Child"));
+
+		// Rename it and register a component against the new name
+		child.setName("Junior");
+		FakeDataComponent dc = new FakeDataComponent() {
+			@Override
+			public void update(String key, String newValue) {
+				super.update(key, newValue);
+				updates.add(key);
+			}
+		};
+		assertTrue(registry.register(dc, "Rookie"));
+
+		// The new name is not known to the Registry, but the change should
+		// still be published under it
+		registry.updateValue("Parent", "Cal Ripken");
+		registry.dispatch();
+		assertEquals("Cal Ripken Jr.", registry.getValue("Junior"));
+
+		// And reach the registrants of the new name in the same dispatch
+		child.setName("Rookie");
+		registry.updateValue("Parent", "Tim Raines");
+		registry.dispatch();
+		assertEquals("Tim Raines Jr.", registry.getValue("Rookie"));
+		assertEquals("Tim Raines Jr.", dc.getUpdatedValue());
+		assertEquals("Rookie", updates.get(updates.size() - 1));
+
+		return;
+	}
+}
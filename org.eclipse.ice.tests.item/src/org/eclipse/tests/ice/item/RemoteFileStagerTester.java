@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.tests.ice.item;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.ice.item.action.RemoteFileStager;
+import org.eclipse.ice.item.action.RemoteFileStager.StagingReport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the RemoteFileStager. The "remote" directory is a local
+ * directory reached through EFS, which exercises the same IFileStore
+ * operations as a remote connection.
+ *
+ * @author Jay Jay Billings
+ */
+public class RemoteFileStagerTester {
+
+	/**
+	 * The directory that holds the test directories.
+	 */
+	private File root;
+
+	/**
+	 * The local files that are uploaded.
+	 */
+	private List<File> files;
+
+	/**
+	 * The "remote" directory.
+	 */
+	private IFileStore remoteDirectory;
+
+	/**
+	 * This operation creates the local files and the directories.
+	 *
+	 * @throws IOException
+	 */
+	@Before
+	public void setup() throws IOException {
+
+		root = Files.createTempDirectory("RemoteFileStagerTester").toFile();
+		File localDir = new File(root, "local");
+		localDir.mkdir();
+		remoteDirectory = EFS.getLocalFileSystem()
+				.fromLocalFile(new File(root, "remote"));
+
+		// Create some files with random contents
+		files = new ArrayList<File>();
+		Random random = new Random(42);
+		for (int i = 0; i < 5; i++) {
+			byte[] bytes = new byte[10000 + i];
+			random.nextBytes(bytes);
+			File file = new File(localDir, "input" + i + ".i");
+			Files.write(file.toPath(), bytes);
+			files.add(file);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation deletes the directories.
+	 */
+	@After
+	public void cleanup() {
+		delete(root);
+	}
+
+	/**
+	 * This operation checks that only new and changed files are uploaded.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkUpload() throws Exception {
+
+		// Everything is sent the first time
+		RemoteFileStager stager = new RemoteFileStager();
+		stager.setMaxTransfers(2);
+		StagingReport report = stager.upload(files, remoteDirectory);
+		assertEquals(5, report.getTransferredFiles().size());
+		assertTrue(report.getSkippedFiles().isEmpty());
+		assertEquals(50010, report.getBytesTransferred());
+		assertTrue(report.getThroughput() > 0.0);
+		checkRemoteFiles(remoteDirectory);
+
+		// Nothing is sent the second time
+		report = new RemoteFileStager().upload(files, remoteDirectory);
+		assertTrue(report.getTransferredFiles().isEmpty());
+		assertEquals(5, report.getSkippedFiles().size());
+
+		// Touch one file without changing it and change another
+		files.get(1).setLastModified(files.get(1).lastModified() - 10000);
+		Files.write(files.get(3).toPath(), "changed".getBytes());
+		report = new RemoteFileStager().upload(files, remoteDirectory);
+		assertEquals(Arrays.asList("input3.i"), report.getTransferredFiles());
+		assertEquals(4, report.getSkippedFiles().size());
+		checkRemoteFiles(remoteDirectory);
+
+		// A file that is missing remotely is sent again
+		remoteDirectory.getChild("input0.i").delete(EFS.NONE, null);
+		report = new RemoteFileStager().upload(files, remoteDirectory);
+		assertEquals(Arrays.asList("input0.i"), report.getTransferredFiles());
+		checkRemoteFiles(remoteDirectory);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that uploads to different job directories through
+	 * the same cache only send the files that changed.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkCachedUpload() throws Exception {
+
+		// Local Declarations
+		IFileStore cacheDirectory = EFS.getLocalFileSystem()
+				.fromLocalFile(new File(root, "cache"));
+		IFileStore firstJob = remoteDirectory.getChild("job1");
+		IFileStore secondJob = remoteDirectory.getChild("job2");
+
+		// Everything is sent for the first job
+		StagingReport report = new RemoteFileStager().upload(files, firstJob,
+				cacheDirectory);
+		assertEquals(5, report.getTransferredFiles().size());
+		checkRemoteFiles(firstJob);
+		assertTrue(cacheDirectory.getChild(RemoteFileStager.MANIFEST_NAME)
+				.fetchInfo().exists());
+		assertFalse(firstJob.getChild(RemoteFileStager.MANIFEST_NAME)
+				.fetchInfo().exists());
+
+		// Only the changed file is sent for the second job, but the job
+		// still gets all of them
+		Files.write(files.get(3).toPath(), "changed".getBytes());
+		report = new RemoteFileStager().upload(files, secondJob,
+				cacheDirectory);
+		assertEquals(Arrays.asList("input3.i"), report.getTransferredFiles());
+		assertEquals(4, report.getSkippedFiles().size());
+		checkRemoteFiles(secondJob);
+
+		// The first job keeps the files it was given
+		assertEquals(10003, firstJob.getChild("input3.i").fetchInfo()
+				.getLength());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that a partial upload is resumed.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkResume() throws Exception {
+
+		// Leave the first half of a file where an interrupted upload would
+		File file = files.get(2);
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		remoteDirectory.mkdir(EFS.NONE, null);
+		String partialName = file.getName() + "."
+				+ Integer.toHexString(getChecksum(bytes).hashCode())
+				+ RemoteFileStager.PARTIAL_EXTENSION;
+		File partial = new File(remoteDirectory.toLocalFile(EFS.NONE, null),
+				partialName);
+		Files.write(partial.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+
+		// Only the rest of it should be sent
+		StagingReport report = new RemoteFileStager()
+				.upload(Arrays.asList(file), remoteDirectory);
+		assertEquals(bytes.length - bytes.length / 2,
+				report.getBytesTransferred());
+		assertFalse(partial.exists());
+		assertArrayEquals(bytes, Files.readAllBytes(
+				remoteDirectory.getChild(file.getName())
+						.toLocalFile(EFS.NONE, null).toPath()));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that downloads are filtered and skip unchanged
+	 * files.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkDownload() throws Exception {
+
+		IFileStore localDirectory = EFS.getLocalFileSystem()
+				.fromLocalFile(new File(root, "download"));
+		new RemoteFileStager().upload(files, remoteDirectory);
+
+		// Filter by name. The manifest is never downloaded.
+		StagingReport report = new RemoteFileStager().download(
+				remoteDirectory, localDirectory, "input[0-2]\\.i", 0,
+				Long.MAX_VALUE);
+		assertEquals(3, report.getTransferredFiles().size());
+		for (int i = 0; i < 3; i++) {
+			assertArrayEquals(Files.readAllBytes(files.get(i).toPath()),
+					Files.readAllBytes(localDirectory.getChild("input" + i + ".i")
+							.toLocalFile(EFS.NONE, null).toPath()));
+		}
+
+		// Files that were already downloaded are skipped and large files are
+		// left alone
+		report = new RemoteFileStager().download(remoteDirectory,
+				localDirectory, null, 0, 10004);
+		assertEquals(Arrays.asList("input3.i"), report.getTransferredFiles());
+		assertEquals(3, report.getSkippedFiles().size());
+		assertFalse(localDirectory.getChild(RemoteFileStager.MANIFEST_NAME)
+				.fetchInfo().exists());
+
+		// Filter by time
+		report = new RemoteFileStager().download(remoteDirectory,
+				localDirectory, null, System.currentTimeMillis() + 100000,
+				Long.MAX_VALUE);
+		assertTrue(report.getTransferredFiles().isEmpty());
+		assertTrue(report.getSkippedFiles().isEmpty());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the remote files match the local ones.
+	 *
+	 * @param directory
+	 *            The remote directory that holds the files
+	 * @throws Exception
+	 */
+	private void checkRemoteFiles(IFileStore directory) throws Exception {
+		for (File file : files) {
+			assertArrayEquals(Files.readAllBytes(file.toPath()),
+					Files.readAllBytes(directory.getChild(file.getName())
+							.toLocalFile(EFS.NONE, null).toPath()));
+		}
+	}
+
+	/**
+	 * This operation computes the SHA-1 checksum of some bytes as the stager
+	 * does.
+	 *
+	 * @param bytes
+	 *            The bytes
+	 * @return The checksum as a hexadecimal string
+	 * @throws Exception
+	 */
+	private String getChecksum(byte[] bytes) throws Exception {
+		StringBuilder checksum = new StringBuilder();
+		for (byte b : MessageDigest.getInstance("SHA-1").digest(bytes)) {
+			checksum.append(Character.forDigit((b >> 4) & 0xF, 16));
+			checksum.append(Character.forDigit(b & 0xF, 16));
+		}
+		return checksum.toString();
+	}
+
+	/**
+	 * This operation deletes a file or directory and everything in it.
+	 *
+	 * @param file
+	 *            The file or directory
+	 */
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
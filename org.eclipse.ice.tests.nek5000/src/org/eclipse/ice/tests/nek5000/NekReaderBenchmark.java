@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.nek5000;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.form.MeshComponent;
+import org.eclipse.ice.nek5000.NekReader;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * This class benchmarks NekReader.loadREAFile() on generated reafiles with
+ * increasing numbers of elements. Each reafile is a strip of 2D quads with a
+ * wall boundary condition on every side, written in the formats used by the
+ * NekWriter. It is not named like the other testers so that it is not run by
+ * the regular build, but it can be run as a JUnit Plug-in Test.
+ *
+ * @author Jay Jay Billings
+ */
+public class NekReaderBenchmark {
+
+	/**
+	 * The numbers of elements in the generated reafiles.
+	 */
+	private static final int[] NUM_ELEMENTS = { 100, 1000, 10000, 50000 };
+
+	/**
+	 * The number of times each reafile is loaded.
+	 */
+	private static final int NUM_LOADS = 3;
+
+	/**
+	 * The directory that holds the generated reafiles.
+	 */
+	private static File directory;
+
+	/**
+	 * The generated reafiles, one for each entry of NUM_ELEMENTS.
+	 */
+	private static File[] reaFiles;
+
+	/**
+	 * This operation writes the reafiles.
+	 */
+	@BeforeClass
+	public static void setup() {
+
+		try {
+			directory = File.createTempFile("nekReaderBenchmark", "");
+			directory.delete();
+			directory.mkdir();
+			reaFiles = new File[NUM_ELEMENTS.length];
+			for (int i = 0; i < NUM_ELEMENTS.length; i++) {
+				reaFiles[i] = new File(directory,
+						"strip_" + NUM_ELEMENTS[i] + ".rea");
+				writeREAFile(reaFiles[i], NUM_ELEMENTS[i]);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			fail();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation deletes the reafiles.
+	 */
+	@AfterClass
+	public static void teardown() {
+		for (File file : reaFiles) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * This operation writes a reafile that describes a strip of 2D quads.
+	 *
+	 * @param file
+	 *            The file to write
+	 * @param numElements
+	 *            The number of quads in the strip
+	 * @throws IOException
+	 */
+	private static void writeREAFile(File file, int numElements)
+			throws IOException {
+
+		try (BufferedWriter writer = new BufferedWriter(
+				new FileWriter(file))) {
+
+			// Parameters, with no passive scalars
+			writer.write(String.format(" ****** PARAMETERS *****\n"
+					+ "    %9s     NEKTON VERSION\n"
+					+ "            %d DIMENSIONAL RUN\n"
+					+ "          %3d PARAMETERS FOLLOW\n", "2.6100", 2, 1));
+			writer.write("   0.00000     p23 NPSCAL\n");
+			writer.write("      0  Lines of passive scalar data follows"
+					+ "2 CONDUCT; 2RHOCP\n");
+
+			// Logical switches
+			writer.write(String.format("         %3s  LOGICAL SWITCHES FOLLOW\n",
+					"2"));
+			writer.write("  T     IFFLOW\n");
+			writer.write("  T     IFHEAT\n");
+
+			// Mesh data
+			writer.write(String.format(
+					"  *** MESH DATA ***\n"
+							+ "      %3d      %3d      %3d           NEL,NDIM,NELV\n",
+					numElements, 2, numElements));
+			for (int i = 1; i <= numElements; i++) {
+				writer.write(String.format(
+						"           ELEMENT%6s [ %4s]  GROUP   %5s\n",
+						Integer.toString(i), "1a", "0"));
+				writer.write(String.format(" %9.6G     %9.6G     %9.6G     %9.6G\n",
+						(float) (i - 1), (float) i, (float) i,
+						(float) (i - 1)));
+				writer.write(String.format(" %9.6G     %9.6G     %9.6G     %9.6G\n",
+						0f, 0f, 1f, 1f));
+			}
+
+			// Curved sides and boundary conditions
+			writer.write("  ***** CURVED SIDE DATA *****\n");
+			writer.write("       0 Curved sides follow IEDGE,IEL,CURVE(I),"
+					+ "I=1,5, CCURVE\n");
+			writer.write("  ***** BOUNDARY CONDITIONS *****\n");
+			writer.write("  ***** FLUID   BOUNDARY CONDITIONS *****\n");
+			writeBoundaryConditions(writer, numElements);
+			writer.write("  ***** THERMAL BOUNDARY CONDITIONS *****\n");
+			writeBoundaryConditions(writer, numElements);
+
+			// Object specification
+			writer.write("  ***** OBJECT SPECIFICATION *****\n");
+			writer.write("       0 Surface Objects\n");
+			writer.write("       0 Volume  Objects\n");
+			writer.write("       0 Edge    Objects\n");
+			writer.write("       0 Point   Objects\n");
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation writes a wall boundary condition for each side of each
+	 * element.
+	 *
+	 * @param writer
+	 *            The writer for the reafile
+	 * @param numElements
+	 *            The number of elements
+	 * @throws IOException
+	 */
+	private static void writeBoundaryConditions(BufferedWriter writer,
+			int numElements) throws IOException {
+		for (int i = 1; i <= numElements; i++) {
+			for (int side = 1; side <= 4; side++) {
+				writer.write(String.format(
+						" %-3s%3d%3d%14.7G%14.7G%14.7G%14.7G%14.7G\n", "W", i,
+						side, 0f, 0f, 0f, 0f, 0f));
+			}
+		}
+	}
+
+	/**
+	 * This operation times loading each of the reafiles.
+	 */
+	@Test
+	public void benchmarkLoadREAFile() {
+
+		NekReader reader = new NekReader();
+		reader.setControllerFactory(new TestNekControllerFactory());
+
+		try {
+			// Warm up the reader so that the first measurement is fair
+			reader.loadREAFile(reaFiles[0]);
+
+			for (int i = 0; i < NUM_ELEMENTS.length; i++) {
+
+				// Load the file a few times and keep the best time
+				long bestTime = Long.MAX_VALUE;
+				ArrayList<Component> components = null;
+				for (int j = 0; j < NUM_LOADS; j++) {
+					long start = System.nanoTime();
+					components = reader.loadREAFile(reaFiles[i]);
+					bestTime = Math.min(bestTime, System.nanoTime() - start);
+				}
+
+				// Make sure that the whole mesh was read
+				assertNotNull(components);
+				MeshComponent mesh = (MeshComponent) components.get(4);
+				assertEquals(NUM_ELEMENTS[i], mesh.getPolygons().size());
+
+				System.out.println("NekReaderBenchmark Message: Loaded "
+						+ NUM_ELEMENTS[i] + " elements in "
+						+ bestTime / 1000000L + " ms.");
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			fail();
+		}
+
+		return;
+	}
+
+}
@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.persistence.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
+import org.eclipse.ice.item.Item;
+import org.eclipse.ice.item.nuclear.MOOSEModelBuilder;
+import org.eclipse.ice.persistence.xml.BinaryFormatConverter;
+import org.eclipse.ice.persistence.xml.BinaryPersistenceProvider;
+import org.eclipse.ice.persistence.xml.BinaryXMLStreamReader;
+import org.eclipse.ice.persistence.xml.BinaryXMLStreamWriter;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * This class tests the BinaryPersistenceProvider, the binary stream reader and
+ * writer and the BinaryFormatConverter.
+ *
+ * @author Jay Jay Billings
+ */
+public class BinaryPersistenceProviderTester {
+
+	/**
+	 * The Eclipse project used in the test.
+	 */
+	private static IProject project;
+
+	/**
+	 * The BinaryPersistenceProvider that will be tested.
+	 */
+	private static BinaryPersistenceProvider provider;
+
+	/**
+	 * The JAXB context used to check the converter.
+	 */
+	private static JAXBContext context;
+
+	/**
+	 * This operation creates the project and starts the provider.
+	 */
+	@BeforeClass
+	public static void setup() {
+
+		// Local Declarations
+		IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+		String separator = System.getProperty("file.separator");
+		String projectName = "binaryItemDB";
+		String projectPath = System.getProperty("user.home") + separator
+				+ "ICETests" + separator + "persistenceData" + separator
+				+ projectName;
+
+		try {
+			// Create and open the project
+			project = workspaceRoot.getProject(projectName);
+			if (!project.exists()) {
+				URI location = new File(projectPath).toURI();
+				IProjectDescription desc = ResourcesPlugin.getWorkspace()
+						.newProjectDescription(projectName);
+				desc.setLocationURI(location);
+				project.create(desc, null);
+			}
+			if (!project.isOpen()) {
+				project.open(null);
+			}
+
+			// Setup and start the provider
+			MOOSEModelBuilder builder = new MOOSEModelBuilder();
+			provider = new BinaryPersistenceProvider(project);
+			provider.addBuilder(builder);
+			provider.registerClassProvider(new ICEJAXBClassProvider());
+			provider.start();
+
+			// Create a context for the converter checks
+			ArrayList<Class> classes = new ArrayList<Class>();
+			classes.add(builder.build(project).getClass());
+			classes.addAll(new ICEJAXBClassProvider().getClasses());
+			context = JAXBContext
+					.newInstance(classes.toArray(new Class[classes.size()]));
+		} catch (CoreException | JAXBException e) {
+			e.printStackTrace();
+			fail();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation stops the provider and deletes the project.
+	 */
+	@AfterClass
+	public static void teardown() {
+		provider.stop();
+		try {
+			project.delete(true, null);
+		} catch (CoreException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * This operation checks that Items are persisted in binary files and
+	 * loaded from them intact.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkPersistAndLoad() throws InterruptedException {
+
+		// Create and persist a MOOSE item
+		Item item = new MOOSEModelBuilder().build(project);
+		item.setId(11);
+		item.setName("Binary Test");
+		assertTrue(provider.persistItem(item));
+
+		// Wait while the file is persisted
+		Thread.sleep(2000);
+
+		// The file should use the binary extension and start with the header
+		IFile file = project.getFile("Binary_Test.iceb");
+		assertTrue(file.exists());
+		assertEquals("iceb", provider.getWriterType());
+		assertEquals("iceb", provider.getReaderType());
+
+		// Load it and compare
+		Item loadedItem = provider.loadItem(11);
+		assertNotNull(loadedItem);
+		loadedItem.setProject(project);
+		assertEquals(item, loadedItem);
+
+		// Make sure that it shows up in the full list
+		ArrayList<Item> items = provider.loadItems();
+		assertEquals(1, items.size());
+		assertEquals(11, items.get(0).getId());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the converter produces documents that
+	 * unmarshal to the same Item in both directions.
+	 *
+	 * @throws JAXBException
+	 * @throws XMLStreamException
+	 */
+	@Test
+	public void checkConverter() throws JAXBException, XMLStreamException {
+
+		Item item = new MOOSEModelBuilder().build(project);
+		Marshaller marshaller = context.createMarshaller();
+		Unmarshaller unmarshaller = context.createUnmarshaller();
+		BinaryFormatConverter converter = new BinaryFormatConverter();
+
+		// Write the Item as XML and convert it to binary
+		ByteArrayOutputStream xmlStream = new ByteArrayOutputStream();
+		marshaller.marshal(item, xmlStream);
+		ByteArrayOutputStream binaryStream = new ByteArrayOutputStream();
+		converter.toBinary(new ByteArrayInputStream(xmlStream.toByteArray()),
+				binaryStream);
+
+		// The binary document should be smaller and should read back
+		assertTrue(binaryStream.size() < xmlStream.size());
+		Item binaryItem = (Item) unmarshaller
+				.unmarshal(new BinaryXMLStreamReader(
+						new ByteArrayInputStream(binaryStream.toByteArray())));
+		binaryItem.setProject(project);
+		assertEquals(item, binaryItem);
+
+		// Convert it back to XML and read that
+		ByteArrayOutputStream roundTripStream = new ByteArrayOutputStream();
+		converter.toXML(new ByteArrayInputStream(binaryStream.toByteArray()),
+				roundTripStream);
+		Item xmlItem = (Item) unmarshaller.unmarshal(
+				new ByteArrayInputStream(roundTripStream.toByteArray()));
+		xmlItem.setProject(project);
+		assertEquals(item, xmlItem);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that a namespace context set on the writer before
+	 * the document starts is used for the prefixes of the elements and can
+	 * not be replaced afterwards.
+	 *
+	 * @throws XMLStreamException
+	 */
+	@Test
+	public void checkNamespaceContext() throws XMLStreamException {
+
+		// Local Declarations
+		final String uri = "http://eclipse.org/ice";
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		BinaryXMLStreamWriter writer = new BinaryXMLStreamWriter(stream);
+
+		// Bind the prefix through a context
+		writer.setNamespaceContext(new NamespaceContext() {
+			@Override
+			public String getNamespaceURI(String prefix) {
+				return "ice".equals(prefix) ? uri : XMLConstants.NULL_NS_URI;
+			}
+
+			@Override
+			public String getPrefix(String namespaceURI) {
+				return uri.equals(namespaceURI) ? "ice" : null;
+			}
+
+			@Override
+			public Iterator<String> getPrefixes(String namespaceURI) {
+				return Collections.singletonList(getPrefix(namespaceURI))
+						.iterator();
+			}
+		});
+		assertEquals("ice", writer.getPrefix(uri));
+		assertEquals(uri, writer.getNamespaceContext().getNamespaceURI("ice"));
+
+		// Write an element in the namespace
+		writer.writeStartDocument();
+		writer.writeStartElement(uri, "item");
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+
+		// The context can not be replaced once the document has started
+		try {
+			writer.setNamespaceContext(null);
+			fail();
+		} catch (XMLStreamException e) {
+			// Expected
+		}
+
+		// The element should have the prefix and namespace of the context
+		BinaryXMLStreamReader reader = new BinaryXMLStreamReader(
+				new ByteArrayInputStream(stream.toByteArray()));
+		reader.nextTag();
+		assertEquals("ice", reader.getPrefix());
+		assertEquals(uri, reader.getNamespaceURI());
+		assertEquals("item", reader.getLocalName());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that documents with an unknown version or without
+	 * the header are rejected.
+	 */
+	@Test
+	public void checkVersioning() {
+
+		byte[] newer = { 'I', 'C', 'E', 'B',
+				(byte) (BinaryXMLStreamWriter.FORMAT_VERSION + 1) };
+		try {
+			new BinaryXMLStreamReader(new ByteArrayInputStream(newer));
+			fail();
+		} catch (XMLStreamException e) {
+			// Expected
+		}
+
+		byte[] notBinary = "<?xml version=\"1.0\"?><a/>".getBytes();
+		try {
+			new BinaryXMLStreamReader(new ByteArrayInputStream(notBinary));
+			fail();
+		} catch (XMLStreamException e) {
+			// Expected
+		}
+
+		return;
+	}
+
+}
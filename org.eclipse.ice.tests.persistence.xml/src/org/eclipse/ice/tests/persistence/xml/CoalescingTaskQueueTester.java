@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.persistence.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ice.persistence.xml.CoalescingTaskQueue;
+import org.junit.Test;
+
+/**
+ * This class tests the CoalescingTaskQueue used by the XMLPersistenceProvider.
+ *
+ * @author Jay Jay Billings
+ */
+public class CoalescingTaskQueueTester {
+
+	/**
+	 * This operation checks that tasks with the same key are collapsed into
+	 * the latest task and that other tasks keep their order.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkCoalescing() throws InterruptedException {
+
+		CoalescingTaskQueue<String> queue = new CoalescingTaskQueue<>(10, 0L,
+				0L);
+
+		// Submit several versions of the same task and a few others
+		assertFalse(queue.submit("a", "a1", true));
+		assertFalse(queue.submit(null, "b", false));
+		assertTrue(queue.submit("a", "a2", false));
+		assertTrue(queue.submit("a", "a3", false));
+		assertFalse(queue.submit("c", "c1", false));
+		assertEquals(3, queue.size());
+		assertEquals(2, queue.getCoalescedCount());
+
+		// The latest version of "a" should come out first
+		assertEquals("a3", queue.poll(1, TimeUnit.SECONDS));
+		assertEquals("b", queue.poll(1, TimeUnit.SECONDS));
+		assertEquals("c1", queue.poll(1, TimeUnit.SECONDS));
+		assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+
+		// Removing a task should drop it
+		queue.submit("d", "d1", false);
+		assertEquals("d1", queue.remove("d"));
+		assertNull(queue.remove("d"));
+		assertEquals(0, queue.size());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that debounced tasks are delayed, that they can be
+	 * expedited and that flush() makes everything due.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkDebouncing() throws InterruptedException {
+
+		CoalescingTaskQueue<String> queue = new CoalescingTaskQueue<>(10,
+				500L, 5000L);
+
+		// A debounced task should not be available right away, but a task
+		// that is due immediately should pass it.
+		queue.submit("a", "a1", true);
+		assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+		queue.submit(null, "b", false);
+		assertEquals("b", queue.poll(50, TimeUnit.MILLISECONDS));
+
+		// It should show up after the window
+		assertEquals("a1", queue.poll(2, TimeUnit.SECONDS));
+
+		// Expediting should make it due now
+		queue.submit("a", "a2", true);
+		queue.expedite("a");
+		assertEquals("a2", queue.poll(50, TimeUnit.MILLISECONDS));
+
+		// Flushing should preserve submission order
+		queue.submit("x", "x1", true);
+		queue.submit("y", "y1", true);
+		queue.flush();
+		assertEquals("x1", queue.poll(50, TimeUnit.MILLISECONDS));
+		assertEquals("y1", queue.poll(50, TimeUnit.MILLISECONDS));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that submitting to a full queue blocks instead of
+	 * dropping the task, but that replacing a pending task does not.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkBackpressure() throws InterruptedException {
+
+		final CoalescingTaskQueue<String> queue = new CoalescingTaskQueue<>(1,
+				0L, 0L);
+		queue.submit("a", "a1", false);
+		// Replacing should not block
+		queue.submit("a", "a2", false);
+
+		// Adding a new task should block until there is space
+		final CountDownLatch submitted = new CountDownLatch(1);
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				try {
+					queue.submit("b", "b1", false);
+					submitted.countDown();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		producer.start();
+		assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+
+		// Taking a task should release the producer
+		assertEquals("a2", queue.poll(1, TimeUnit.SECONDS));
+		assertTrue(submitted.await(1, TimeUnit.SECONDS));
+		assertEquals("b1", queue.poll(1, TimeUnit.SECONDS));
+
+		return;
+	}
+
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.persistence.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
+import org.eclipse.ice.item.Item;
+import org.eclipse.ice.item.nuclear.MOOSEModelBuilder;
+import org.eclipse.ice.persistence.xml.BinaryXMLStreamReader;
+import org.eclipse.ice.persistence.xml.BinaryXMLStreamWriter;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * This class compares the time needed to save and load a MOOSE Model Item in
+ * the XML format and in the binary format, along with the size of each
+ * document. It works in memory so that disk speed does not skew the results.
+ * It is not named like the other testers so that it is not run by the regular
+ * build, but it can be run as a JUnit Plug-in Test.
+ *
+ * @author Jay Jay Billings
+ */
+public class PersistenceFormatBenchmark {
+
+	/**
+	 * The number of times each operation is repeated for warm up and for
+	 * measurement.
+	 */
+	private static final int NUM_ITERATIONS = 200;
+
+	/**
+	 * The Item that is saved and loaded.
+	 */
+	private static Item item;
+
+	/**
+	 * The JAXB context for the Item.
+	 */
+	private static JAXBContext context;
+
+	/**
+	 * This operation creates the Item and the JAXB context.
+	 */
+	@BeforeClass
+	public static void setup() {
+		MOOSEModelBuilder builder = new MOOSEModelBuilder();
+		item = builder.build(null);
+		ArrayList<Class> classes = new ArrayList<Class>();
+		classes.add(item.getClass());
+		classes.addAll(new ICEJAXBClassProvider().getClasses());
+		try {
+			context = JAXBContext
+					.newInstance(classes.toArray(new Class[classes.size()]));
+		} catch (JAXBException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+
+	/**
+	 * This operation saves the Item in one of the formats.
+	 *
+	 * @param binary
+	 *            True if the binary format should be used
+	 * @return The document
+	 * @throws JAXBException
+	 * @throws XMLStreamException
+	 */
+	private byte[] save(boolean binary)
+			throws JAXBException, XMLStreamException {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		Marshaller marshaller = context.createMarshaller();
+		if (binary) {
+			XMLStreamWriter writer = new BinaryXMLStreamWriter(stream);
+			marshaller.marshal(item, writer);
+			writer.close();
+		} else {
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,
+					Boolean.TRUE);
+			marshaller.marshal(item, stream);
+		}
+		return stream.toByteArray();
+	}
+
+	/**
+	 * This operation loads the Item in one of the formats.
+	 *
+	 * @param document
+	 *            The document
+	 * @param binary
+	 *            True if the document is in the binary format
+	 * @return The Item
+	 * @throws JAXBException
+	 * @throws XMLStreamException
+	 */
+	private Item load(byte[] document, boolean binary)
+			throws JAXBException, XMLStreamException {
+		Unmarshaller unmarshaller = context.createUnmarshaller();
+		ByteArrayInputStream stream = new ByteArrayInputStream(document);
+		return (Item) (binary
+				? unmarshaller.unmarshal(new BinaryXMLStreamReader(stream))
+				: unmarshaller.unmarshal(stream));
+	}
+
+	/**
+	 * This operation times saving and loading in one format and prints the
+	 * results.
+	 *
+	 * @param binary
+	 *            True if the binary format should be measured
+	 * @throws JAXBException
+	 * @throws XMLStreamException
+	 */
+	private void measure(boolean binary)
+			throws JAXBException, XMLStreamException {
+
+		String format = binary ? "binary" : "XML";
+		byte[] document = save(binary);
+
+		// Warm up
+		for (int i = 0; i < NUM_ITERATIONS; i++) {
+			load(save(binary), binary);
+		}
+
+		// Time saving
+		long start = System.nanoTime();
+		for (int i = 0; i < NUM_ITERATIONS; i++) {
+			save(binary);
+		}
+		double saveTime = (System.nanoTime() - start) / 1.0e6 / NUM_ITERATIONS;
+
+		// Time loading
+		start = System.nanoTime();
+		for (int i = 0; i < NUM_ITERATIONS; i++) {
+			load(document, binary);
+		}
+		double loadTime = (System.nanoTime() - start) / 1.0e6 / NUM_ITERATIONS;
+
+		// Make sure the format actually works
+		assertEquals(item.getName(), load(document, binary).getName());
+
+		System.out.println("PersistenceFormatBenchmark Message: " + format
+				+ " documents are " + document.length + " bytes, take "
+				+ saveTime + " ms to save and " + loadTime + " ms to load.");
+
+		return;
+	}
+
+	/**
+	 * This operation benchmarks both formats.
+	 *
+	 * @throws JAXBException
+	 * @throws XMLStreamException
+	 */
+	@Test
+	public void benchmarkFormats() throws JAXBException, XMLStreamException {
+		measure(false);
+		measure(true);
+	}
+
+}
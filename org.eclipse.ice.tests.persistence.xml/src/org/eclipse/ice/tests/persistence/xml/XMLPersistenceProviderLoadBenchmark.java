@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.persistence.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
+import org.eclipse.ice.item.Item;
+import org.eclipse.ice.item.nuclear.MOOSEModelBuilder;
+import org.eclipse.ice.persistence.xml.XMLPersistenceProvider;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * This class benchmarks XMLPersistenceProvider.loadItems() on a synthetic
+ * project of 1,000 persisted MOOSE Model Items. It compares a load on a single
+ * thread to a load that uses one thread per core. It is not named like the
+ * other testers so that it is not run by the regular build, but it can be run
+ * as a JUnit Plug-in Test.
+ *
+ * @author Jay Jay Billings
+ */
+public class XMLPersistenceProviderLoadBenchmark {
+
+	/**
+	 * The number of Items in the synthetic project.
+	 */
+	private static final int NUM_ITEMS = 1000;
+
+	/**
+	 * The Eclipse project that holds the Items.
+	 */
+	private static IProject project;
+
+	/**
+	 * The XMLPersistenceProvider that will be benchmarked.
+	 */
+	private static XMLPersistenceProvider xmlpp;
+
+	/**
+	 * This operation creates the project and writes the Items to it directly
+	 * so that the persistence queue does not skew the setup.
+	 */
+	@BeforeClass
+	public static void setup() {
+
+		// Local Declarations
+		IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+		String separator = System.getProperty("file.separator");
+		String projectName = "loadBenchmarkItemDB";
+		String projectPath = System.getProperty("user.home") + separator
+				+ "ICETests" + separator + "persistenceData" + separator
+				+ projectName;
+
+		try {
+			// Create and open the project
+			project = workspaceRoot.getProject(projectName);
+			if (!project.exists()) {
+				URI location = new File(projectPath).toURI();
+				IProjectDescription desc = ResourcesPlugin.getWorkspace()
+						.newProjectDescription(projectName);
+				desc.setLocationURI(location);
+				project.create(desc, null);
+			}
+			if (!project.isOpen()) {
+				project.open(null);
+			}
+
+			// Create one Item and marshal it to a byte array for each id
+			MOOSEModelBuilder builder = new MOOSEModelBuilder();
+			Item item = builder.build(project);
+			ArrayList<Class> classes = new ArrayList<Class>();
+			classes.add(item.getClass());
+			classes.addAll(new ICEJAXBClassProvider().getClasses());
+			JAXBContext context = JAXBContext
+					.newInstance(classes.toArray(new Class[classes.size()]));
+			Marshaller marshaller = context.createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,
+					Boolean.TRUE);
+			for (int i = 1; i <= NUM_ITEMS; i++) {
+				item.setId(i);
+				item.setName("Benchmark Item");
+				ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+				marshaller.marshal(item, outputStream);
+				IFile file = project.getFile("Benchmark_Item_" + i + ".xml");
+				ByteArrayInputStream inputStream = new ByteArrayInputStream(
+						outputStream.toByteArray());
+				if (file.exists()) {
+					file.setContents(inputStream, IResource.FORCE, null);
+				} else {
+					file.create(inputStream, IResource.FORCE, null);
+				}
+			}
+
+			// Setup and start the provider
+			xmlpp = new XMLPersistenceProvider();
+			xmlpp.addBuilder(builder);
+			xmlpp.registerClassProvider(new ICEJAXBClassProvider());
+			xmlpp.start();
+			xmlpp.setDefaultProject(project);
+		} catch (CoreException | JAXBException e) {
+			e.printStackTrace();
+			fail();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation stops the provider and deletes the project.
+	 */
+	@AfterClass
+	public static void teardown() {
+		xmlpp.stop();
+		try {
+			project.delete(true, null);
+		} catch (CoreException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * This operation times a serial load and a parallel load of the project.
+	 */
+	@Test
+	public void benchmarkLoadItems() {
+
+		int numThreads = Runtime.getRuntime().availableProcessors();
+
+		// Warm up JAXB so that the first measurement is fair
+		xmlpp.setLoadThreadCount(numThreads);
+		assertEquals(NUM_ITEMS, xmlpp.loadItems().size());
+
+		// Time the serial load
+		xmlpp.setLoadThreadCount(1);
+		long start = System.nanoTime();
+		assertEquals(NUM_ITEMS, xmlpp.loadItems().size());
+		long serialTime = (System.nanoTime() - start) / 1000000L;
+
+		// Time the parallel load
+		xmlpp.setLoadThreadCount(numThreads);
+		start = System.nanoTime();
+		assertEquals(NUM_ITEMS, xmlpp.loadItems().size());
+		long parallelTime = (System.nanoTime() - start) / 1000000L;
+
+		System.out.println("XMLPersistenceProviderLoadBenchmark Message: "
+				+ "Loaded " + NUM_ITEMS + " Items in " + serialTime
+				+ " ms on 1 thread and " + parallelTime + " ms on "
+				+ numThreads + " threads.");
+
+		return;
+	}
+
+}
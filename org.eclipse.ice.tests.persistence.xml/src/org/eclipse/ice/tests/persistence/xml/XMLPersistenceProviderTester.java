@@ -36,9 +36,13 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.datastructures.ICEObject.ICEObject;
+import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
 import org.eclipse.ice.item.Item;
+import org.eclipse.ice.item.jobLauncher.JobLauncher;
+import org.eclipse.ice.item.nuclear.MOOSEModel;
 import org.eclipse.ice.item.nuclear.MOOSEModelBuilder;
 import org.eclipse.ice.persistence.xml.XMLPersistenceProvider;
 import org.eclipse.ice.vibe.launcher.VibeLauncherBuilder;
@@ -417,6 +421,121 @@ public class XMLPersistenceProviderTester {
 		return;
 	}
 
+	/**
+	 * This operation checks that the XMLPersistenceProvider can write updates
+	 * to the change log and replay them when the Item is loaded.
+	 */
+	@Test
+	public void checkChangeLog() {
+
+		// Create a MOOSE item
+		MOOSEModelBuilder builder = new MOOSEModelBuilder();
+		Item item = builder.build(project);
+		item.setId(7);
+		item.setName("Change Log Test");
+		String name = item.getName().replace(" ", "_") + ".xml";
+		IFile file = project.getFile(name);
+		IFile logFile = project.getFile(name + ".log");
+
+		// Turn on the log and persist the Item. The first write is always a
+		// full snapshot.
+		xmlpp.setChangeLogEnabled(true);
+		try {
+			assertTrue(xmlpp.persistItem(item));
+			pause(2);
+			assertTrue(file.exists());
+			assertFalse(logFile.exists());
+
+			// Change a Component and update the Item. This should only write
+			// to the log.
+			ICEObject component = (ICEObject) item.getForm().getComponents()
+					.get(0);
+			component.setDescription("Changed by the change log test");
+			assertTrue(xmlpp.updateItem(item));
+			pause(2);
+			assertTrue(logFile.exists());
+
+			// The loaded Item should include the change
+			Item loadedItem = xmlpp.loadItem(file);
+			assertNotNull(loadedItem);
+			loadedItem.setProject(project);
+			assertEquals(item, loadedItem);
+
+			// Change an Entry, which only reaches the log through the
+			// notifications of its DataComponent, and check it the same way
+			DataComponent dataComponent = (DataComponent) item.getForm()
+					.getComponent(MOOSEModel.fileDataComponentId);
+			dataComponent.retrieveAllEntries().get(0)
+					.setDescription("Changed through the DataComponent");
+			assertTrue(xmlpp.updateItem(item));
+			pause(2);
+			loadedItem = xmlpp.loadItem(file);
+			assertNotNull(loadedItem);
+			loadedItem.setProject(project);
+			assertEquals(item, loadedItem);
+
+			// Delete the Item. The log should go with it.
+			assertTrue(xmlpp.deleteItem(item));
+			pause(2);
+			assertFalse(file.exists());
+			assertFalse(logFile.exists());
+		} finally {
+			xmlpp.setChangeLogEnabled(false);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the change log does not lose changes to the
+	 * fields of an Item subclass that are stored outside of the Form's
+	 * Components.
+	 */
+	@Test
+	public void checkChangeLogSubclassFields() {
+
+		// Create a launcher
+		VibeLauncherBuilder builder = new VibeLauncherBuilder();
+		JobLauncher launcher = (JobLauncher) builder.build(project);
+		launcher.setId(8);
+		launcher.setName("Change Log Subclass Test");
+		String name = launcher.getName().replace(" ", "_") + ".xml";
+		IFile file = project.getFile(name);
+
+		xmlpp.setChangeLogEnabled(true);
+		try {
+			// Write the first snapshot
+			assertTrue(xmlpp.persistItem(launcher));
+			pause(2);
+			assertTrue(file.exists());
+
+			// Change the executable, which is only stored by the launcher, and
+			// a Component so that the change would otherwise be logged
+			Form form = launcher.getForm();
+			launcher.setExecutable(form.getName(), form.getDescription(),
+					"changedCommand ${inputFile}");
+			((ICEObject) form.getComponents().get(0))
+					.setDescription("Changed by the subclass test");
+			assertTrue(xmlpp.updateItem(launcher));
+			pause(2);
+
+			// The loaded launcher should have the new executable
+			Item loadedItem = xmlpp.loadItem(file);
+			assertNotNull(loadedItem);
+			loadedItem.setProject(project);
+			assertEquals(launcher, loadedItem);
+
+			// Clean up
+			assertTrue(xmlpp.deleteItem(launcher));
+			pause(2);
+			assertFalse(file.exists());
+		} finally {
+			xmlpp.setChangeLogEnabled(false);
+		}
+
+		return;
+	}
+
 	/**
 	 * This operation insures that IWriter interface is implemented as described
 	 * by the XML persistence provider and that the operations function.
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.reflectivity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.apache.commons.math.MathException;
+import org.apache.commons.math.complex.Complex;
+import org.eclipse.ice.reflectivity.ReflectivityCalculator;
+import org.eclipse.ice.reflectivity.Slab;
+import org.eclipse.ice.reflectivity.Tile;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * This class benchmarks ReflectivityCalculator.getModSqrdSpecRef() against
+ * the original implementation of the Parratt recursion, which used a Complex
+ * object for every intermediate value. The profile is a stack of 20 slabs
+ * tiled with 51 layers of roughness, which gives over a thousand tiles, and
+ * the wave vector has 4,000 points. It is not named like the other testers so
+ * that it is not run by the regular build, but it can be run as a JUnit
+ * Plug-in Test.
+ *
+ * @author Jay Jay Billings
+ */
+public class ReflectivityCalculatorBenchmark {
+
+	/**
+	 * The number of slabs in the profile.
+	 */
+	private static final int NUM_SLABS = 20;
+
+	/**
+	 * The number of layers of roughness at each interface.
+	 */
+	private static final int NUM_ROUGH = 51;
+
+	/**
+	 * The number of points in the wave vector.
+	 */
+	private static final int NUM_POINTS = 4000;
+
+	/**
+	 * The number of times each implementation is timed.
+	 */
+	private static final int NUM_RUNS = 5;
+
+	/**
+	 * The wavelength of the incident neutrons.
+	 */
+	private static final double WAVELENGTH = 4.25;
+
+	/**
+	 * The tiled profile.
+	 */
+	private static Tile[] tiles;
+
+	/**
+	 * The wave vector.
+	 */
+	private static double[] waveVector;
+
+	/**
+	 * This operation generates the tiles and the wave vector.
+	 */
+	@BeforeClass
+	public static void setup() {
+
+		// Alternate between nickel-like and silicon-like slabs under air
+		Slab[] slabs = new Slab[NUM_SLABS];
+		for (int i = 0; i < NUM_SLABS; i++) {
+			slabs[i] = new Slab();
+			slabs[i].thickness = (i == 0) ? 200.0 : 50.0 + i;
+			slabs[i].interfaceWidth = 5.0;
+			if (i > 0) {
+				slabs[i].scatteringLength = (i % 2 == 0) ? 9.31e-6 : 2.07e-6;
+				slabs[i].trueAbsLength = 2.27931868269305E-09;
+				slabs[i].incAbsLength = 4.74626235093697E-09;
+			}
+		}
+
+		// Tile them
+		ReflectivityCalculator calculator = new ReflectivityCalculator();
+		double[] zInt = new double[ReflectivityCalculator.maxRoughSize];
+		double[] rufInt = new double[ReflectivityCalculator.maxRoughSize];
+		try {
+			calculator.getInterfacialProfile(NUM_ROUGH, zInt, rufInt);
+			tiles = calculator.generateTiles(slabs, NUM_ROUGH, zInt, rufInt);
+		} catch (MathException e) {
+			e.printStackTrace();
+			fail();
+		}
+
+		// Create the wave vector
+		waveVector = new double[NUM_POINTS];
+		for (int i = 0; i < NUM_POINTS; i++) {
+			waveVector[i] = 0.005 + 1.0e-4 * i;
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation times both implementations and makes sure that they
+	 * agree.
+	 */
+	@Test
+	public void benchmarkGetModSqrdSpecRef() {
+
+		ReflectivityCalculator calculator = new ReflectivityCalculator();
+		double[] reference = new double[NUM_POINTS];
+		double[] result = null;
+
+		// Warm up both implementations
+		for (int i = 0; i < NUM_POINTS; i++) {
+			reference[i] = getComplexModSqrdSpecRef(waveVector[i], WAVELENGTH,
+					tiles);
+		}
+		calculator.getModSqrdSpecRef(waveVector, WAVELENGTH, tiles);
+
+		// Time the original implementation
+		long complexTime = Long.MAX_VALUE;
+		for (int j = 0; j < NUM_RUNS; j++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < NUM_POINTS; i++) {
+				reference[i] = getComplexModSqrdSpecRef(waveVector[i],
+						WAVELENGTH, tiles);
+			}
+			complexTime = Math.min(complexTime, System.nanoTime() - start);
+		}
+
+		// Time the primitive implementation
+		long primitiveTime = Long.MAX_VALUE;
+		for (int j = 0; j < NUM_RUNS; j++) {
+			long start = System.nanoTime();
+			result = calculator.getModSqrdSpecRef(waveVector, WAVELENGTH,
+					tiles);
+			primitiveTime = Math.min(primitiveTime, System.nanoTime() - start);
+		}
+
+		// Check the results
+		for (int i = 0; i < NUM_POINTS; i++) {
+			assertEquals(reference[i], result[i],
+					Math.abs(reference[i]) * 1.0e-9);
+		}
+
+		System.out.println("ReflectivityCalculatorBenchmark Message: "
+				+ tiles.length + " tiles and " + NUM_POINTS + " points took "
+				+ complexTime / 1000000L + " ms with Complex and "
+				+ primitiveTime / 1000000L + " ms with primitives.");
+
+		return;
+	}
+
+	/**
+	 * This operation is the original, Complex-based implementation of
+	 * ReflectivityCalculator.getModSqrdSpecRef(double, double, Tile[]).
+	 *
+	 * @param waveVectorQ
+	 *            the value of the wave vector
+	 * @param wavelength
+	 *            the wavelength of the incident neutrons
+	 * @param tiles
+	 *            the tiles
+	 * @return the squared modulus of the specular reflectivity
+	 */
+	private double getComplexModSqrdSpecRef(double waveVectorQ,
+			double wavelength, Tile[] tiles) {
+
+		Tile tile;
+		Complex aNm1Sq, fNm1N, rNm1N = new Complex(0.0, 0.0),
+				one = new Complex(1.0, 0.0), qN = new Complex(0.0, 0.0),
+				rNNp1 = new Complex(0.0, 0.0);
+		int nLayers = tiles.length;
+		tile = tiles[nLayers - 1];
+		double qCSq = 16.0 * Math.PI * tile.scatteringLength;
+		double betaNm1 = 4.0 * Math.PI
+				* (tile.trueAbsLength + tile.incAbsLength / wavelength);
+		Complex qNm1 = new Complex(waveVectorQ * waveVectorQ - qCSq,
+				-2.0 * betaNm1).sqrt();
+		for (int i = nLayers - 1; i > 0; i--) {
+			tile = tiles[i - 1];
+			qN = qNm1;
+			qCSq = 16.0 * Math.PI * tile.scatteringLength;
+			betaNm1 = 4.0 * Math.PI
+					* (tile.trueAbsLength + tile.incAbsLength / wavelength);
+			qNm1 = new Complex(waveVectorQ * waveVectorQ - qCSq,
+					-2.0 * betaNm1).sqrt();
+			aNm1Sq = (new Complex(qNm1.getImaginary(), qNm1.getReal())
+					.multiply(-0.5 * tile.thickness)).exp();
+			fNm1N = qNm1.subtract(qN).divide(qNm1.add(qN));
+			Complex y = rNNp1.multiply(fNm1N).add(one);
+			Complex z = rNNp1.add(fNm1N);
+			rNm1N = aNm1Sq.multiply(aNm1Sq).multiply(z.divide((y)));
+			rNNp1 = rNm1N;
+		}
+
+		return rNm1N.getReal() * rNm1N.getReal()
+				+ rNm1N.getImaginary() * rNm1N.getImaginary();
+	}
+
+}
@@ -11,7 +11,10 @@
  *******************************************************************************/
 package org.eclipse.ice.tests.reflectivity;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import org.apache.commons.math.MathException;
@@ -470,6 +473,41 @@ public class ReflectivityCalculatorTester {
 		return;
 	}
 
+	/**
+	 * This operation tests
+	 * {@link ReflectivityCalculator#getModSqrdSpecRef(double[], double, Tile[])}
+	 * and makes sure that the parallel computation matches the computation
+	 * of each point on its own.
+	 */
+	@Test
+	public void testGetSpecRefSqrdModArray() {
+
+		// Load the tiles
+		Form form = reader.read(project.getFile("getSpecRefSqrdMod_q841.csv"));
+		ListComponent<String[]> lines = (ListComponent<String[]>) form
+				.getComponent(1);
+		Tile[] tiles = loadTiles(lines);
+		double wavelength = Double.valueOf(lines.get(0)[1]);
+
+		// Create a dense wave vector
+		double[] waveVector = new double[5000];
+		for (int i = 0; i < waveVector.length; i++) {
+			waveVector[i] = 0.005 + 1.0e-4 * i;
+		}
+
+		// Compute it and check every point
+		ReflectivityCalculator calculator = new ReflectivityCalculator();
+		double[] specRefSqrd = calculator.getModSqrdSpecRef(waveVector,
+				wavelength, tiles);
+		assertEquals(waveVector.length, specRefSqrd.length);
+		for (int i = 0; i < waveVector.length; i++) {
+			assertEquals(calculator.getModSqrdSpecRef(waveVector[i],
+					wavelength, tiles), specRefSqrd[i], 0.0);
+		}
+
+		return;
+	}
+
 	/**
 	 * This operation tests
 	 * {@link ReflectivityCalculator#convoluteReflectivity()}.
@@ -641,6 +679,9 @@ public class ReflectivityCalculatorTester {
 			assertEquals(refReflectivity[i], profile.reflectivity[i],
 					Math.abs(refReflectivity[i]) * 0.04);
 			//System.out.println(profile.waveVector[i]+","+profile.reflectivity[i]);
+			// RQ^4 comes from the same reflectivity
+			assertEquals(Math.pow(waveVector[i], 4.0) * profile.reflectivity[i],
+					profile.rq4[i], 0.0);
 		}
 		//System.out.println("----- Dumping Scattering Density ----- ");
 		// Check the scattering density values
@@ -658,4 +699,54 @@ public class ReflectivityCalculatorTester {
 		return;
 	}
 
+	/**
+	 * This operation checks that a calculator that is reused for a sweep over
+	 * the thickness of one slab, which only regenerates the tiles near that
+	 * slab, computes exactly the same profiles as new calculators.
+	 */
+	@Test
+	public void testGetReflectivityProfileWithCachedTiles() {
+
+		// Create the wave vector
+		double[] waveVector = new double[200];
+		for (int i = 0; i < waveVector.length; i++) {
+			waveVector[i] = 0.005 + 0.001 * i;
+		}
+
+		// Sweep the thickness of the nickel layer
+		ReflectivityCalculator calc = new ReflectivityCalculator();
+		double thickness = slabs[2].thickness;
+		ReflectivityProfile profile = null;
+		try {
+			for (int i = 0; i < 4; i++) {
+				slabs[2].thickness = thickness + 5.0 * i;
+				ReflectivityProfile lastProfile = profile;
+				profile = calc.getReflectivityProfile(slabs, 41, 2.0e-4, 0.03,
+						4.25, waveVector);
+				ReflectivityProfile refProfile = new ReflectivityCalculator()
+						.getReflectivityProfile(slabs, 41, 2.0e-4, 0.03, 4.25,
+								waveVector);
+				assertArrayEquals(refProfile.reflectivity,
+						profile.reflectivity, 0.0);
+				assertArrayEquals(refProfile.depth, profile.depth, 0.0);
+				assertArrayEquals(refProfile.scatteringDensity,
+						profile.scatteringDensity, 0.0);
+				if (lastProfile != null) {
+					assertNotSame(lastProfile.depth, profile.depth);
+				}
+			}
+
+			// Nothing changed, so the scattering density profile is reused
+			ReflectivityProfile sameProfile = calc.getReflectivityProfile(
+					slabs, 41, 2.0e-4, 0.03, 4.25, waveVector);
+			assertSame(profile.depth, sameProfile.depth);
+			assertArrayEquals(profile.reflectivity, sameProfile.reflectivity,
+					0.0);
+		} finally {
+			slabs[2].thickness = thickness;
+		}
+
+		return;
+	}
+
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.tests.reflectivity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ice.reflectivity.FitParameter;
+import org.eclipse.ice.reflectivity.FitParameter.Property;
+import org.eclipse.ice.reflectivity.FitResult;
+import org.eclipse.ice.reflectivity.IReflectivityFitListener;
+import org.eclipse.ice.reflectivity.ReflectivityCalculator;
+import org.eclipse.ice.reflectivity.ReflectivityFitter;
+import org.eclipse.ice.reflectivity.Slab;
+import org.junit.Test;
+
+/**
+ * This class tests {@link org.eclipse.ice.reflectivity.ReflectivityFitter}.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class ReflectivityFitterTester {
+
+	/**
+	 * The number of layers of roughness used by the tests.
+	 */
+	private static final int numRough = 11;
+
+	/**
+	 * The wavelength used by the tests.
+	 */
+	private static final double wavelength = 4.25;
+
+	/**
+	 * This operation creates a stack of air, nickel, an oxide and silicon.
+	 *
+	 * @return the slabs
+	 */
+	private Slab[] createSlabs() {
+
+		Slab[] slabs = new Slab[4];
+		for (int i = 0; i < slabs.length; i++) {
+			slabs[i] = new Slab();
+			slabs[i].interfaceWidth = 8.0;
+		}
+		slabs[0].thickness = 200.0;
+		slabs[1].thickness = 120.0;
+		slabs[1].scatteringLength = 9.31e-6;
+		slabs[2].thickness = 60.0;
+		slabs[2].scatteringLength = 4.0e-6;
+		slabs[3].thickness = 100.0;
+		slabs[3].scatteringLength = 2.07e-6;
+
+		return slabs;
+	}
+
+	/**
+	 * This operation checks that the fitter recovers a thickness and a
+	 * scattering length density from noiseless data computed with known
+	 * values, and that it reports its progress.
+	 */
+	@Test
+	public void testFit() {
+
+		// Create the data from the true stack
+		double[] waveVector = new double[300];
+		for (int i = 0; i < waveVector.length; i++) {
+			waveVector[i] = 0.008 + 5.0e-4 * i;
+		}
+		double[] data = new ReflectivityCalculator().getReflectivityProfile(
+				createSlabs(), numRough, 2.0e-4, 0.03, wavelength,
+				waveVector).reflectivity;
+		double[] error = new double[data.length];
+		for (int i = 0; i < data.length; i++) {
+			error[i] = 0.05 * data[i];
+		}
+
+		// Move the free parameters away from the true values
+		Slab[] slabs = createSlabs();
+		slabs[1].thickness = 135.0;
+		slabs[2].scatteringLength = 3.0e-6;
+		List<FitParameter> params = new ArrayList<FitParameter>();
+		params.add(new FitParameter(1, Property.THICKNESS, 100.0, 150.0));
+		params.add(new FitParameter(2, Property.SCATTERING_LENGTH_DENSITY,
+				1.0e-6, 6.0e-6));
+
+		// Fit
+		ReflectivityFitter fitter = new ReflectivityFitter(slabs, numRough,
+				2.0e-4, 0.03, wavelength, waveVector, data, error);
+		fitter.setNumberOfStarts(4);
+		final AtomicInteger steps = new AtomicInteger();
+		fitter.addListener(new IReflectivityFitListener() {
+			@Override
+			public void fitProgressed(int start, int iteration,
+					double chiSquared, double bestChiSquared) {
+				steps.incrementAndGet();
+			}
+		});
+		FitResult result = fitter.fit(params);
+
+		// Check the result
+		assertNotNull(result);
+		assertEquals(120.0, result.values[0], 1.0e-3);
+		assertEquals(4.0e-6, result.values[1], 1.0e-10);
+		assertTrue(result.chiSquared < 1.0e-6);
+		assertTrue(steps.get() > 0);
+
+		// The starting slabs should not have been changed
+		assertEquals(135.0, slabs[1].thickness, 0.0);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the fitter does nothing without free
+	 * parameters.
+	 */
+	@Test
+	public void testFitWithoutParameters() {
+		double[] waveVector = { 0.01, 0.02, 0.03 };
+		ReflectivityFitter fitter = new ReflectivityFitter(createSlabs(),
+				numRough, 2.0e-4, 0.03, wavelength, waveVector, waveVector,
+				waveVector);
+		assertNull(fitter.fit(new ArrayList<FitParameter>()));
+	}
+
+}